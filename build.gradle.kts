@@ -8,12 +8,24 @@ plugins {
 
     // Runnable JAR support
     id("com.github.johnrengelman.shadow") version "8.1.1"
+
+    // Microbenchmarks
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 checkstyle {
     toolVersion = "10.24.0"
 }
 
+// Benchmarks run against the in-memory test persistence unit
+jmh {
+    includeTests.set(true)
+    jvmArgs.addAll(
+        "-Djava.util.logging.config.file=${project.projectDir}/src/test/resources/logging.properties",
+        "-Dorg.slf4j.simpleLogger.defaultLogLevel=off"
+    )
+}
+
 repositories {
     mavenCentral()
 }
@@ -42,10 +54,14 @@ dependencies {
     // Hibernate and persistence
     implementation("org.hibernate:hibernate-core:6.2.0.Final")
     implementation("org.hibernate.orm:hibernate-hikaricp:6.2.0.Final")
+    implementation("org.hibernate.orm:hibernate-jcache:6.2.0.Final")
     implementation("org.hibernate.validator:hibernate-validator:7.0.0.Final")
     implementation("jakarta.validation:jakarta.validation-api:3.0.2")
     implementation("org.glassfish:jakarta.el:4.0.2")
 
+    // Second-level cache provider
+    implementation("com.github.ben-manes.caffeine:jcache:3.1.8")
+
     // Database drivers
     implementation("mysql:mysql-connector-java:8.0.33")
     implementation("com.zaxxer:HikariCP:5.1.0")
@@ -0,0 +1,107 @@
+package it.unibo.wastemaster.benchmark;
+
+import it.unibo.wastemaster.domain.model.Collection;
+import it.unibo.wastemaster.domain.model.Customer;
+import it.unibo.wastemaster.domain.model.Invoice;
+import it.unibo.wastemaster.domain.model.Location;
+import it.unibo.wastemaster.domain.model.OneTimeSchedule;
+import it.unibo.wastemaster.domain.model.RecurringSchedule;
+import it.unibo.wastemaster.domain.model.RecurringSchedule.Frequency;
+import it.unibo.wastemaster.domain.model.Schedule;
+import it.unibo.wastemaster.domain.model.Waste;
+import it.unibo.wastemaster.domain.service.InvoiceManager;
+import it.unibo.wastemaster.infrastructure.pdf.InvoicePdfService;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Renders the PDF of an invoice of a commercial customer with many collections in
+ * a period, within a fixed heap of 128 MB: the collections table is flushed to the
+ * document as it grows, so a table built whole before being added would not fit.
+ * <p>
+ * The invoice is built in memory, spread over three months and three waste types,
+ * and written to a discarding stream. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx128m")
+public class InvoicePdfBenchmark {
+
+    private static final int MONTHS = 3;
+    private static final int DAYS_PER_MONTH = 28;
+    private static final List<String> WASTES = List.of("Plastica", "Vetro", "Carta");
+
+    @Param({"1000", "50000"})
+    private int rows;
+
+    private InvoicePdfService pdfService;
+    private Invoice invoice;
+
+    /**
+     * Builds the invoice.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Customer customer = new Customer("Mario", "Rossi",
+                new Location("Via Roma", "10", "Bologna", "40100"),
+                "mario.rossi@example.com", "+391234567890");
+        LocalDate first = LocalDate.now().withDayOfMonth(1).minusMonths(MONTHS);
+        List<Schedule> schedules = new ArrayList<>();
+        for (String name : WASTES) {
+            Waste waste = new Waste(name, true, false);
+            schedules.add(new RecurringSchedule(customer, waste, first,
+                    Frequency.WEEKLY));
+            schedules.add(new OneTimeSchedule(customer, waste, first));
+        }
+        List<Collection> collections = new ArrayList<>(rows);
+        int recurring = 0;
+        for (int i = 0; i < rows; i++) {
+            Schedule schedule = schedules.get(i % schedules.size());
+            Collection collection = new Collection(schedule);
+            collection.setCollectionDate(first.plusMonths(i % MONTHS)
+                    .plusDays(i / MONTHS % DAYS_PER_MONTH));
+            collections.add(collection);
+            if (schedule instanceof RecurringSchedule) {
+                collection.setBilledCents(InvoiceManager.getRecurringFeeCents());
+                recurring++;
+            } else {
+                collection.setBilledCents(InvoiceManager.getOneTimeFeeCents());
+            }
+        }
+        int oneTime = rows - recurring;
+        invoice = new Invoice(customer, collections,
+                recurring * InvoiceManager.getRecurringFeeCents(),
+                oneTime * InvoiceManager.getOneTimeFeeCents(), recurring, oneTime,
+                LocalDateTime.now());
+        pdfService = new InvoicePdfService();
+    }
+
+    /**
+     * Renders the whole invoice.
+     *
+     * @throws Exception if the PDF cannot be generated
+     */
+    @Benchmark
+    public void render() throws Exception {
+        pdfService.generateInvoicePdf(invoice, OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,72 @@
+package it.unibo.wastemaster.benchmark;
+
+import it.unibo.wastemaster.domain.model.GeoPoint;
+import it.unibo.wastemaster.domain.service.RouteSequence;
+import it.unibo.wastemaster.domain.service.RouteSequencer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long {@link RouteSequencer} takes to order the stops of one trip,
+ * to check that a route of 500 stops is sequenced well under 100 ms.
+ * <p>
+ * The stops are scattered at random, with a fixed seed, over an area about the
+ * size of a city. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteSequencerBenchmark {
+
+    private static final double LATITUDE = 44.49;
+    private static final double LONGITUDE = 11.34;
+    private static final double SPREAD = 0.1;
+    private static final long SEED = 42;
+
+    @Param({"50", "200", "500"})
+    private int stops;
+
+    private final RouteSequencer sequencer = new RouteSequencer();
+    private List<GeoPoint> points;
+
+    /**
+     * Scatters the stops.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(SEED);
+        points = new ArrayList<>(stops);
+        for (int i = 0; i < stops; i++) {
+            points.add(new GeoPoint(LATITUDE + (random.nextDouble() - 0.5) * SPREAD,
+                    LONGITUDE + (random.nextDouble() - 0.5) * SPREAD));
+        }
+    }
+
+    /**
+     * Orders the stops of a single route.
+     *
+     * @return the ordered route
+     */
+    @Benchmark
+    public RouteSequence<GeoPoint> sequence() {
+        return sequencer.sequence(points, Function.identity());
+    }
+}
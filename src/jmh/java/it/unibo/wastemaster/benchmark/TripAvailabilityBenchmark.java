@@ -0,0 +1,186 @@
+package it.unibo.wastemaster.benchmark;
+
+import it.unibo.wastemaster.domain.model.Employee;
+import it.unibo.wastemaster.domain.model.Employee.Licence;
+import it.unibo.wastemaster.domain.model.Location;
+import it.unibo.wastemaster.domain.model.Trip;
+import it.unibo.wastemaster.domain.model.Vehicle;
+import it.unibo.wastemaster.domain.repository.TripRepository;
+import it.unibo.wastemaster.domain.repository.impl.TripRepositoryImpl;
+import it.unibo.wastemaster.domain.service.AvailabilityIndex;
+import it.unibo.wastemaster.domain.service.TripManager;
+import it.unibo.wastemaster.infrastructure.dao.EmployeeDAO;
+import it.unibo.wastemaster.infrastructure.dao.GenericDAO;
+import it.unibo.wastemaster.infrastructure.dao.TripDAO;
+import it.unibo.wastemaster.infrastructure.dao.VehicleDAO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the availability lookups run by the trip dialogs on every change of
+ * their date, vehicle or driver fields: the correlated queries of {@link TripDAO}
+ * against the {@link AvailabilityIndex} used by {@link TripManager}.
+ * <p>
+ * The data lives in the in-memory test persistence unit: a fleet of vehicles and
+ * operators and the given number of active trips spread over the coming weeks, each
+ * with a vehicle and two operators. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TripAvailabilityBenchmark {
+
+    private static final int VEHICLES = 50;
+    private static final int OPERATORS = 150;
+    private static final int TRIP_HOURS = 6;
+    private static final int TRIPS_PER_DAY = 8;
+    private static final int REGISTRATION_YEAR = 2020;
+    private static final List<Licence> ALLOWED = List.of(Licence.C1, Licence.C);
+
+    @Param({"100", "1000", "10000"})
+    private int trips;
+
+    private EntityManagerFactory emf;
+    private EntityManager em;
+    private TripDAO tripDAO;
+    private TripRepository tripRepository;
+    private TripManager tripManager;
+    private AvailabilityIndex index;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    /**
+     * Populates the database and warms the index and the query cache up.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        emf = Persistence.createEntityManagerFactory("test-pu");
+        em = emf.createEntityManager();
+        em.getTransaction().begin();
+
+        Location location = new Location("Via Roma", "10", "Bologna", "40100");
+        new GenericDAO<>(em, Location.class).insert(location);
+        List<Vehicle> vehicles = new ArrayList<>();
+        for (int i = 0; i < VEHICLES; i++) {
+            vehicles.add(new Vehicle(String.format("BM%03dXX", i), "Iveco", "Daily",
+                    REGISTRATION_YEAR, Vehicle.RequiredLicence.C1,
+                    Vehicle.VehicleStatus.IN_SERVICE, 2));
+        }
+        new VehicleDAO(em).insertAll(vehicles);
+        List<Employee> operators = new ArrayList<>();
+        for (int i = 0; i < OPERATORS; i++) {
+            operators.add(new Employee("Op", "Erator", location,
+                    "operator" + i + "@example.com",
+                    String.format("+39%010d", i), Employee.Role.OPERATOR,
+                    i % 2 == 0 ? Licence.C1 : Licence.B));
+        }
+        new EmployeeDAO(em).insertAll(operators);
+
+        tripDAO = new TripDAO(em);
+        LocalDateTime first = LocalDateTime.now().plusDays(1).withHour(0)
+                .withMinute(0).withSecond(0).withNano(0);
+        List<Trip> planned = new ArrayList<>();
+        for (int i = 0; i < trips; i++) {
+            LocalDateTime departure = first.plusDays(i / TRIPS_PER_DAY)
+                    .plusHours(i % TRIPS_PER_DAY * 2L);
+            planned.add(new Trip("40100", vehicles.get(i % VEHICLES),
+                    new ArrayList<>(List.of(operators.get(2 * i % OPERATORS),
+                            operators.get((2 * i + 1) % OPERATORS))),
+                    departure, departure.plusHours(TRIP_HOURS), new ArrayList<>()));
+        }
+        tripDAO.insertAll(planned);
+        em.clear();
+
+        tripRepository = new TripRepositoryImpl(tripDAO);
+        // collections and schedules are not used by the availability lookups
+        tripManager = new TripManager(tripRepository, null, null);
+        index = new AvailabilityIndex(tripRepository::findActiveTripSlots);
+        start = first.plusDays(trips / TRIPS_PER_DAY / 2).plusHours(TRIP_HOURS);
+        end = start.plusHours(TRIP_HOURS);
+        tripManager.getAvailableVehicles(start, end);
+        tripManager.getQualifiedDrivers(start, end, ALLOWED);
+        index.findBusyEmployees(start, end, null);
+    }
+
+    /**
+     * Discards the database.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        em.getTransaction().rollback();
+        em.close();
+        emf.close();
+    }
+
+    /**
+     * Available vehicles through the correlated query.
+     *
+     * @return the available vehicles
+     */
+    @Benchmark
+    public List<Vehicle> vehiclesByQuery() {
+        return tripDAO.findAvailableVehicles(start, end);
+    }
+
+    /**
+     * Available vehicles through the index and the cached vehicles in service.
+     *
+     * @return the available vehicles
+     */
+    @Benchmark
+    public List<Vehicle> vehiclesByIndex() {
+        return tripManager.getAvailableVehicles(start, end);
+    }
+
+    /**
+     * Qualified drivers through the correlated query and the licence filter.
+     *
+     * @return the qualified drivers
+     */
+    @Benchmark
+    public List<Employee> driversByQuery() {
+        return tripRepository.findQualifiedDrivers(start, end, ALLOWED);
+    }
+
+    /**
+     * Qualified drivers through the index and the operators query.
+     *
+     * @return the qualified drivers
+     */
+    @Benchmark
+    public List<Employee> driversByIndex() {
+        return tripManager.getQualifiedDrivers(start, end, ALLOWED);
+    }
+
+    /**
+     * The index lookup alone, without reading any candidate.
+     *
+     * @return the ids of the busy employees
+     */
+    @Benchmark
+    public Set<Integer> busyEmployeesInIndex() {
+        return index.findBusyEmployees(start, end, null);
+    }
+}
@@ -1,17 +1,24 @@
 package it.unibo.wastemaster.application.context;
 
+import it.unibo.wastemaster.database.CacheStatistics;
+import it.unibo.wastemaster.database.SchemaMigrator;
 import it.unibo.wastemaster.domain.model.Account;
 import it.unibo.wastemaster.domain.model.Employee;
 import it.unibo.wastemaster.domain.model.Location;
+import it.unibo.wastemaster.domain.service.ChangeVersionPoller;
+import it.unibo.wastemaster.domain.service.GlobalSearchService;
+import it.unibo.wastemaster.domain.service.ScheduleRolloverJob;
 import it.unibo.wastemaster.infrastructure.di.ServiceFactory;
+import it.unibo.wastemaster.infrastructure.utils.UnitOfWork;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
+import java.util.List;
 import javafx.stage.Stage;
 
 /**
  * Application context class that manages global state and resources
- * such as the {@link EntityManager}, {@link ServiceFactory}, and
+ * such as the {@link EntityManagerFactory}, {@link ServiceFactory}, and
  * the current {@link Account}.
  * This class is {@code final} and provides only static utility methods.
  * It cannot be instantiated.
@@ -29,11 +36,6 @@ public final class AppContext {
      */
     private static EntityManagerFactory emf;
 
-    /**
-     * The shared {@link EntityManager} instance for the application.
-     */
-    private static EntityManager em;
-
     /**
      * The primary JavaFX stage (window) used as owner for dialogs.
      */
@@ -53,16 +55,42 @@ public final class AppContext {
 
     /**
      * Initializes the application context by creating the
-     * {@link EntityManagerFactory},
-     * the shared {@link EntityManager}, and the {@link ServiceFactory}.
-     * Also ensures that a default administrator account exists.
+     * {@link EntityManagerFactory}, applying pending schema migrations, binding it
+     * to the {@link UnitOfWork}, and creating the {@link ServiceFactory}. DAOs
+     * obtain a short-lived {@link EntityManager} from the current unit of work
+     * instead of sharing one for the whole application lifetime.
+     * Also ensures that a default administrator account exists, places the
+     * customers saved without coordinates and starts the
+     * background rollover of recurring schedules, the polling of the changes
+     * made by other instances of the application and the maintenance of the
+     * global search index.
      */
     public static void init() {
         emf = Persistence.createEntityManagerFactory("myJpaUnit");
-        em = emf.createEntityManager();
+        SchemaMigrator.migrate(emf);
+        UnitOfWork.init(emf);
 
-        serviceFactory = new ServiceFactory(em);
+        serviceFactory = new ServiceFactory(UnitOfWork::currentEntityManager);
         createDefaultAccount();
+        serviceFactory.getCustomerManager().placeCustomersWithoutCoordinates();
+        serviceFactory.getScheduleRolloverJob().start(ScheduleRolloverJob.DEFAULT_PERIOD);
+        serviceFactory.getChangeVersionPoller().start(ChangeVersionPoller.DEFAULT_PERIOD);
+        serviceFactory.getGlobalSearchService().start(GlobalSearchService.DEFAULT_PERIOD);
+    }
+
+    /**
+     * Stops the background jobs and closes the {@link EntityManagerFactory}.
+     * Does nothing if the context was never initialized.
+     */
+    public static void shutdown() {
+        if (serviceFactory != null) {
+            serviceFactory.getScheduleRolloverJob().stop();
+            serviceFactory.getChangeVersionPoller().stop();
+            serviceFactory.getGlobalSearchService().stop();
+        }
+        if (emf != null && emf.isOpen()) {
+            emf.close();
+        }
     }
 
     /**
@@ -75,12 +103,14 @@ public final class AppContext {
     }
 
     /**
-     * Gets the shared {@link EntityManager} instance.
+     * Gets the {@link EntityManager} of the unit of work active on the calling
+     * thread.
      *
      * @return the entity manager
+     * @throws IllegalStateException if no unit of work is active
      */
     public static EntityManager getEntityManager() {
-        return em;
+        return UnitOfWork.currentEntityManager();
     }
 
     /**
@@ -92,6 +122,15 @@ public final class AppContext {
         return emf;
     }
 
+    /**
+     * Gets the hit and miss statistics of the second-level cache regions.
+     *
+     * @return one snapshot per cache region
+     */
+    public static List<CacheStatistics> getCacheStatistics() {
+        return CacheStatistics.of(emf);
+    }
+
     /**
      * Gets the current JavaFX {@link Stage} set as owner for dialogs.
      *
@@ -74,7 +74,7 @@ public final class CollectionController {
     private TripManager tripManager;
     private VehicleManager vehicleManager;
     private String previousPage;
-    private List<Collection> collections;
+    private List<CollectionRow> collectionRows;
 
     /**
      * Sets the previous page identifier for navigation.
@@ -147,7 +147,17 @@ public final class CollectionController {
      * @param collections the list of collection entities to display
      */
     public void setCollections(final List<Collection> collections) {
-        this.collections = collections;
+        setCollectionRows(collections.stream().map(CollectionRow::new).toList());
+    }
+
+    /**
+     * Sets the rows of the collections to display, typically read with
+     * {@link CollectionRow#PROJECTION}, and refreshes the table and statistics.
+     *
+     * @param rows the collection rows to display
+     */
+    public void setCollectionRows(final List<CollectionRow> rows) {
+        this.collectionRows = rows;
         refresh();
     }
 
@@ -210,14 +220,11 @@ public final class CollectionController {
     }
 
     private void loadCollections() {
-        if (collections == null) {
+        if (collectionRows == null) {
             return;
         }
 
-        allSchedules.clear();
-        for (Collection c : collections) {
-            allSchedules.add(new CollectionRow(c));
-        }
+        allSchedules.setAll(collectionRows);
     }
 
     private void updateStatusCounts() {
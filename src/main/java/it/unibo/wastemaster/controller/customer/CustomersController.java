@@ -2,16 +2,18 @@ package it.unibo.wastemaster.controller.customer;
 
 import it.unibo.wastemaster.application.context.AppContext;
 import it.unibo.wastemaster.controller.main.MainLayoutController;
+import it.unibo.wastemaster.controller.utils.AsyncLoader;
 import it.unibo.wastemaster.controller.utils.AutoRefreshable;
 import it.unibo.wastemaster.controller.utils.DialogUtils;
+import it.unibo.wastemaster.controller.utils.PagedTableDataSource;
 import it.unibo.wastemaster.domain.model.Customer;
+import it.unibo.wastemaster.domain.repository.PageRequest;
 import it.unibo.wastemaster.domain.service.CustomerManager;
 import it.unibo.wastemaster.presentationdto.CustomerRow;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import javafx.animation.Animation;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import java.util.function.Function;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -23,7 +25,6 @@ import javafx.scene.control.CustomMenuItem;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
-import javafx.util.Duration;
 
 /**
  * Controller for managing the customers view, including search, filters and CRUD
@@ -37,14 +38,13 @@ public final class CustomersController implements AutoRefreshable {
     private static final String FILTER_LOCATION = "location";
     private static final String FIELD_CREATION_DATE = "creationDate";
     private static final String NAVIGATION_ERROR = "Navigation error";
-    private static final int REFRESH_SECONDS = 30;
-    private final ObservableList<CustomerRow> allCustomers =
-            FXCollections.observableArrayList();
     private final ObservableList<String> activeFilters =
             FXCollections.observableArrayList(FIELD_NAME, FIELD_SURNAME,
                     FIELD_EMAIL, FILTER_LOCATION);
+    private final AsyncLoader customerLoader = new AsyncLoader();
     private CustomerManager customerManager;
-    private Timeline refreshTimeline;
+    private PagedTableDataSource<CustomerRow, CustomerRow> customerPages;
+    private Runnable stopFollowingChanges;
     private ContextMenu filterMenu;
 
     @FXML
@@ -102,6 +102,22 @@ public final class CustomersController implements AutoRefreshable {
                 cellData.getValue().getFullLocation()));
         creationDateColumn.setCellValueFactory(
                 new PropertyValueFactory<>(FIELD_CREATION_DATE));
+        customerPages = new PagedTableDataSource<>(customerTable,
+                request -> customerManager.getActiveCustomerPage(request,
+                        CustomerRow.PROJECTION),
+                Function.identity());
+        customerPages.bindSortColumn(nameColumn, FIELD_NAME);
+        customerPages.bindSortColumn(surnameColumn, FIELD_SURNAME);
+        customerPages.bindSortColumn(emailColumn, FIELD_EMAIL);
+        customerPages.bindSortColumn(creationDateColumn, "createdDate");
+        customerPages.bindSearchAttribute(FIELD_NAME, CustomerRow::getName);
+        customerPages.bindSearchAttribute(FIELD_SURNAME, CustomerRow::getSurname);
+        customerPages.bindSearchAttribute(FIELD_EMAIL, CustomerRow::getEmail);
+        customerPages.bindSearchAttribute("location.street", CustomerRow::getStreet);
+        customerPages.bindSearchAttribute("location.civicNumber", CustomerRow::getCivic);
+        customerPages.bindSearchAttribute("location.city", CustomerRow::getCity);
+        customerPages.bindSearchAttribute("location.postalCode",
+                CustomerRow::getPostalCode);
         searchField.textProperty().addListener((obs, oldText, newText) -> handleSearch());
         customerTable.getSelectionModel().selectedItemProperty()
                 .addListener((obs, oldVal, newVal) -> {
@@ -119,45 +135,65 @@ public final class CustomersController implements AutoRefreshable {
     }
 
     /**
-     * Starts the automatic refresh of the customer table.
+     * Starts applying the changes published by the managers to the customer table,
+     * reloading only the rows that changed.
      */
     @Override
     public void startAutoRefresh() {
-        if (refreshTimeline != null) {
+        if (stopFollowingChanges != null) {
             return;
         }
-        refreshTimeline = new Timeline(new KeyFrame(
-                Duration.seconds(REFRESH_SECONDS),
-                event -> loadCustomers()));
-        refreshTimeline.setCycleCount(Animation.INDEFINITE);
-        refreshTimeline.play();
+        stopFollowingChanges = customerPages.followChanges(
+                AppContext.getServiceFactory().getEventBus(), Customer.class,
+                "customerId", CustomerRow::getCustomerId);
     }
 
     /**
-     * Stops the automatic refresh of the customer table.
+     * Stops applying the published changes to the customer table.
      */
     @Override
     public void stopAutoRefresh() {
-        if (refreshTimeline != null) {
-            refreshTimeline.stop();
-            refreshTimeline = null;
+        if (stopFollowingChanges != null) {
+            stopFollowingChanges.run();
+            stopFollowingChanges = null;
         }
     }
 
     /**
-     * Loads all customers from the database and updates the customer table.
+     * Shows only the given customer in the table and selects it, as when reaching it
+     * from the global search; resetting the search shows all the customers again.
+     *
+     * @param customerId the id of the customer to show
+     */
+    public void showCustomer(final int customerId) {
+        customerPages.show("customerId", customerId);
+    }
+
+    /**
+     * Loads the first page of customers matching the current search and updates the
+     * customer table; further pages are loaded while scrolling.
      */
     public void loadCustomers() {
-        List<Customer> customers = customerManager.getAllActiveCustomers();
-        allCustomers.clear();
-        for (Customer customer : customers) {
-            allCustomers.add(new CustomerRow(customer));
-        }
-        customerTable.setItems(FXCollections.observableArrayList(allCustomers));
+        customerPages.load(buildPageRequest());
+    }
 
-        if (!searchField.getText().isBlank()) {
-            handleSearch();
+    private PageRequest buildPageRequest() {
+        List<String> attributes = new ArrayList<>();
+        if (activeFilters.contains(FIELD_NAME)) {
+            attributes.add(FIELD_NAME);
+        }
+        if (activeFilters.contains(FIELD_SURNAME)) {
+            attributes.add(FIELD_SURNAME);
         }
+        if (activeFilters.contains(FIELD_EMAIL)) {
+            attributes.add(FIELD_EMAIL);
+        }
+        if (activeFilters.contains(FILTER_LOCATION)) {
+            attributes.addAll(List.of("location.street", "location.civicNumber",
+                    "location.city", "location.postalCode"));
+        }
+        return PageRequest.firstPage()
+                .search(searchField.getText(), attributes.toArray(new String[0]));
     }
 
     /**
@@ -183,11 +219,15 @@ public final class CustomersController implements AutoRefreshable {
     }
 
     /**
-     * Handles the action to delete the selected customer.
+     * Handles the action to delete the selected customer. The customer is looked up
+     * and deleted in the background.
      */
     @FXML
     private void handleDeleteCustomer() {
         CustomerRow selected = customerTable.getSelectionModel().getSelectedItem();
+        if (customerLoader.isLoading()) {
+            return;
+        }
         if (selected == null) {
             DialogUtils.showError("No Selection",
                     "Please select a customer to delete.", AppContext.getOwner());
@@ -203,30 +243,33 @@ public final class CustomersController implements AutoRefreshable {
             return;
         }
 
-        Optional<Customer> customerOpt =
-                customerManager.findCustomerByEmail(selected.getEmail());
-        if (customerOpt.isEmpty()) {
-            DialogUtils.showError("Not Found",
-                    "The selected customer could not be found.", AppContext.getOwner());
-            return;
-        }
-
-        var customer = customerOpt.get();
-        boolean success = customerManager.softDeleteCustomer(customer);
-        if (success) {
-            loadCustomers();
-        } else {
-            DialogUtils.showError("Deletion Failed",
-                    "Unable to delete the selected customer.", AppContext.getOwner());
-        }
+        String email = selected.getEmail();
+        customerLoader.load(() -> customerManager.findCustomerByEmail(email)
+                .map(customerManager::softDeleteCustomer), deleted -> {
+                    if (deleted.isEmpty()) {
+                        DialogUtils.showError("Not Found",
+                                "The selected customer could not be found.",
+                                AppContext.getOwner());
+                    } else if (deleted.get()) {
+                        loadCustomers();
+                    } else {
+                        DialogUtils.showError("Deletion Failed",
+                                "Unable to delete the selected customer.",
+                                AppContext.getOwner());
+                    }
+                });
     }
 
     /**
-     * Handles the action to edit the selected customer.
+     * Handles the action to edit the selected customer, opening the edit view once
+     * the customer is read in the background.
      */
     @FXML
     private void handleEditCustomer() {
         CustomerRow selected = customerTable.getSelectionModel().getSelectedItem();
+        if (customerLoader.isLoading()) {
+            return;
+        }
         if (selected == null) {
             DialogUtils.showError("No Selection",
                     "Please select a customer to edit.",
@@ -234,8 +277,12 @@ public final class CustomersController implements AutoRefreshable {
             return;
         }
 
-        Optional<Customer> customer =
-                customerManager.findCustomerByEmail(selected.getEmail());
+        String email = selected.getEmail();
+        customerLoader.load(() -> customerManager.findCustomerByEmail(email),
+                this::showEditCustomer);
+    }
+
+    private void showEditCustomer(final Optional<Customer> customer) {
         if (customer.isEmpty()) {
             DialogUtils.showError("Not Found", "Customer not found.",
                     AppContext.getOwner());
@@ -260,35 +307,12 @@ public final class CustomersController implements AutoRefreshable {
     }
 
     /**
-     * Handles the search action, filtering the customer table based on the query.
+     * Handles the search action, filtering the customer table by the query on the
+     * selected fields, from the loaded rows when possible.
      */
     @FXML
     private void handleSearch() {
-        String query = searchField.getText().toLowerCase().trim();
-
-        if (query.isEmpty()) {
-            customerTable.setItems(FXCollections.observableArrayList(allCustomers));
-            return;
-        }
-
-        ObservableList<CustomerRow> filtered = FXCollections.observableArrayList();
-        for (CustomerRow row : allCustomers) {
-            if (matchesQuery(row, query)) {
-                filtered.add(row);
-            }
-        }
-        customerTable.setItems(filtered);
-    }
-
-    private boolean matchesQuery(final CustomerRow row, final String query) {
-        return (activeFilters.contains(FIELD_NAME)
-                && row.getName().toLowerCase().contains(query))
-                || (activeFilters.contains(FIELD_SURNAME)
-                && row.getSurname().toLowerCase().contains(query))
-                || (activeFilters.contains(FIELD_EMAIL)
-                && row.getEmail().toLowerCase().contains(query))
-                || (activeFilters.contains(FILTER_LOCATION)
-                && row.getFullLocation().toLowerCase().contains(query));
+        customerPages.search(buildPageRequest());
     }
 
     /**
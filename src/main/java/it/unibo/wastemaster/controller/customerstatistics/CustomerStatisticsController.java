@@ -1,21 +1,25 @@
 package it.unibo.wastemaster.controller.customerstatistics;
 
-import it.unibo.wastemaster.domain.model.Collection;
+import it.unibo.wastemaster.controller.utils.AsyncLoader;
 import it.unibo.wastemaster.domain.model.Customer;
-import it.unibo.wastemaster.domain.model.Invoice;
+import it.unibo.wastemaster.domain.model.CustomerBalance;
+import it.unibo.wastemaster.domain.model.Money;
 import it.unibo.wastemaster.domain.service.CollectionManager;
 import it.unibo.wastemaster.domain.service.CustomerManager;
 import it.unibo.wastemaster.domain.service.InvoiceManager;
-import java.util.List;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
 
 /**
  * Controller for displaying statistics related to a specific customer,
- * such as total invoices, collections, and amounts.
+ * such as total invoices, collections, and amounts, read in the background.
  */
 public class CustomerStatisticsController {
 
+    private static final String LOADING = "...";
+
+    private final AsyncLoader loader = new AsyncLoader();
+
     @FXML
     private Label customerNameLabel;
 
@@ -90,36 +94,29 @@ public class CustomerStatisticsController {
      */
     private void updateStatistics() {
         if (customer == null) {
+            loader.cancel();
             clearStatistics();
             return;
         }
         customerNameLabel.setText(customer.getName() + " " + customer.getSurname());
+        for (Label label : new Label[] {totalInvoicesLabel, totalCollectionsLabel,
+                totalAmountLabel, unpaidAmountLabel, paidAmountLabel}) {
+            label.setText(LOADING);
+        }
+
+        Customer shown = customer;
+        loader.load(() -> new Statistics(invoiceManager.getCustomerBalance(shown),
+                collectionManager.countCollectionsByCustomer(shown)),
+                this::showStatistics);
+    }
 
-        List<Invoice> invoices = invoiceManager.getAllInvoices().stream()
-                .filter(inv -> inv.getCustomer().equals(customer))
-                .toList();
-
-        List<Collection> collections = collectionManager.getAllCollections().stream()
-                .filter(c -> c.getSchedule().getCustomer().equals(customer))
-                .toList();
-
-        totalInvoicesLabel.setText(String.valueOf(invoices.size()));
-        totalCollectionsLabel.setText(String.valueOf(collections.size()));
-        double totalAmount = invoices.stream().mapToDouble(Invoice::getAmount).sum();
-        totalAmountLabel.setText(String.format("%.2f €", totalAmount));
-
-        double unpaidAmount = invoices.stream()
-                .filter(inv -> !inv.getPaymentStatus().toString()
-                        .equalsIgnoreCase("PAID"))
-                .mapToDouble(Invoice::getAmount)
-                .sum();
-        double paidAmount = invoices.stream()
-                .filter(inv -> inv.getPaymentStatus().toString().equalsIgnoreCase("PAID"))
-                .mapToDouble(Invoice::getAmount)
-                .sum();
-
-        unpaidAmountLabel.setText(String.format("%.2f €", unpaidAmount));
-        paidAmountLabel.setText(String.format("%.2f €", paidAmount));
+    private void showStatistics(final Statistics statistics) {
+        CustomerBalance balance = statistics.balance();
+        totalInvoicesLabel.setText(String.valueOf(balance.getInvoiceCount()));
+        totalCollectionsLabel.setText(String.valueOf(statistics.collections()));
+        totalAmountLabel.setText(Money.format(balance.getBilledCents()) + " €");
+        unpaidAmountLabel.setText(Money.format(balance.getUnpaidCents()) + " €");
+        paidAmountLabel.setText(Money.format(balance.getPaidCents()) + " €");
     }
 
     /**
@@ -133,4 +130,13 @@ public class CustomerStatisticsController {
         unpaidAmountLabel.setText("-");
         paidAmountLabel.setText("-");
     }
+
+    /**
+     * The statistics of a customer, read in a single background request.
+     *
+     * @param balance the invoice totals of the customer
+     * @param collections the number of collections of the customer
+     */
+    private record Statistics(CustomerBalance balance, int collections) {
+    }
 }
@@ -1,17 +1,19 @@
 package it.unibo.wastemaster.controller.dashboard;
 
+import it.unibo.wastemaster.controller.utils.AsyncLoader;
 import it.unibo.wastemaster.domain.model.Collection;
-import it.unibo.wastemaster.domain.model.Invoice;
 import it.unibo.wastemaster.domain.model.Notification;
 import it.unibo.wastemaster.domain.service.CollectionManager;
 import it.unibo.wastemaster.domain.service.CustomerManager;
 import it.unibo.wastemaster.domain.service.InvoiceManager;
 import it.unibo.wastemaster.domain.service.NotificationManager;
 import it.unibo.wastemaster.domain.service.TripManager;
+import java.time.Month;
 import java.time.format.DateTimeFormatter;
 import java.time.format.TextStyle;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.scene.chart.StackedBarChart;
@@ -25,6 +27,8 @@ import javafx.scene.control.ListView;
  */
 public class DashboardController {
 
+    private static final String LOADING = "...";
+
     @FXML
     private Label totalCustomersLabel;
 
@@ -48,6 +52,7 @@ public class DashboardController {
     private InvoiceManager invoiceManager;
     private TripManager tripManager;
     private NotificationManager notificationManager;
+    private final AsyncLoader loader = new AsyncLoader();
 
     /**
      * Sets the customer manager used for statistics.
@@ -102,48 +107,72 @@ public class DashboardController {
     }
 
     /**
-     * Loads and updates all dashboard statistics, charts, and notifications.
+     * Loads all dashboard statistics, charts, and notifications in the background
+     * and updates the view once they are read. A reload discards the pending one.
      */
     public void initData() {
-        updateTotals();
-        updateCollectionsChart();
-        updateNotifications();
+        for (Label label : List.of(totalCustomersLabel, totalCollectionsLabel,
+                totalTripsLabel, invoicesToPayLabel)) {
+            label.setText(LOADING);
+        }
+        loader.load(this::readSnapshot, snapshot -> {
+            updateTotals(snapshot);
+            updateCollectionsChart(snapshot);
+            updateNotifications(snapshot);
+        });
     }
 
     /**
-     * Updates the total statistics labels for customers, collections, trips, and
-     * invoices to pay.
+     * Reads everything the dashboard shows. Runs on a background thread.
+     *
+     * @return the data to display
      */
-    private void updateTotals() {
+    private Snapshot readSnapshot() {
+        Snapshot snapshot = new Snapshot();
         if (customerManager != null) {
-            long activeCustomers = customerManager.getAllCustomers().stream()
-                    .filter(c -> !c.isDeleted())
-                    .count();
-            totalCustomersLabel.setText(String.valueOf(activeCustomers));
+            snapshot.activeCustomers = customerManager.countActiveCustomers();
         }
         if (collectionManager != null) {
-            long activeCollections = collectionManager.getAllCollections().stream()
-                    .filter(c -> c.getCollectionStatus()
-                            == Collection.CollectionStatus.ACTIVE)
-                    .count();
-            totalCollectionsLabel.setText(String.valueOf(activeCollections));
+            snapshot.activeCollections = collectionManager
+                    .countCollectionsByStatus(Collection.CollectionStatus.ACTIVE);
+            snapshot.monthlyCounts = collectionManager.getMonthlyCollectionCounts();
         }
         if (tripManager != null) {
-            totalTripsLabel.setText(String.valueOf(tripManager.countCompletedTrips()));
+            snapshot.completedTrips = tripManager.countCompletedTrips();
         }
         if (invoiceManager != null) {
-            long toPay = invoiceManager.getAllInvoices().stream()
-                    .filter(inv -> inv.getPaymentStatus() != Invoice.PaymentStatus.PAID)
-                    .count();
-            invoicesToPayLabel.setText(String.valueOf(toPay));
+            snapshot.unpaidInvoices = invoiceManager.countUnpaidInvoices();
+        }
+        if (notificationManager != null) {
+            snapshot.lastEvents = notificationManager.getLast5Events();
         }
+        return snapshot;
+    }
+
+    /**
+     * Updates the total statistics labels for customers, collections, trips, and
+     * invoices to pay.
+     *
+     * @param snapshot the data read
+     */
+    private void updateTotals(final Snapshot snapshot) {
+        totalCustomersLabel.setText(format(snapshot.activeCustomers));
+        totalCollectionsLabel.setText(format(snapshot.activeCollections));
+        totalTripsLabel.setText(format(snapshot.completedTrips));
+        invoicesToPayLabel.setText(format(snapshot.unpaidInvoices));
+    }
+
+    private static String format(final Integer value) {
+        return value != null ? String.valueOf(value) : "";
     }
 
     /**
      * Updates the monthly collections chart with cancelled, active, and completed series.
+     *
+     * @param snapshot the data read
      */
-    private void updateCollectionsChart() {
-        if (collectionsChart == null || collectionManager == null) {
+    private void updateCollectionsChart(final Snapshot snapshot) {
+        if (collectionsChart == null || snapshot.monthlyCounts == null) {
             return;
         }
 
@@ -156,33 +185,18 @@ public class DashboardController {
         XYChart.Series<String, Number> completedSeries = new XYChart.Series<>();
         completedSeries.setName("Completed");
 
-        List<String> monthOrder =
-                List.of("Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep",
-                        "Oct", "Nov",
-                        "Dec");
-
-        for (String month : monthOrder) {
-            long cancelled = collectionManager.getAllCollections().stream()
-                    .filter(c -> c.getCollectionDate().getMonth()
-                            .getDisplayName(TextStyle.SHORT, Locale.ENGLISH)
-                            .equals(month))
-                    .filter(c -> c.getCollectionStatus()
-                            == Collection.CollectionStatus.CANCELLED)
-                    .count();
-            long active = collectionManager.getAllCollections().stream()
-                    .filter(c -> c.getCollectionDate().getMonth()
-                            .getDisplayName(TextStyle.SHORT, Locale.ENGLISH)
-                            .equals(month))
-                    .filter(c -> c.getCollectionStatus()
-                            == Collection.CollectionStatus.ACTIVE)
-                    .count();
-            long completed = collectionManager.getAllCollections().stream()
-                    .filter(c -> c.getCollectionDate().getMonth()
-                            .getDisplayName(TextStyle.SHORT, Locale.ENGLISH)
-                            .equals(month))
-                    .filter(c -> c.getCollectionStatus()
-                            == Collection.CollectionStatus.COMPLETED)
-                    .count();
+        Map<Month, Map<Collection.CollectionStatus, Long>> monthlyCounts =
+                snapshot.monthlyCounts;
+
+        for (Month m : Month.values()) {
+            String month = m.getDisplayName(TextStyle.SHORT, Locale.ENGLISH);
+            Map<Collection.CollectionStatus, Long> counts =
+                    monthlyCounts.getOrDefault(m, Map.of());
+            long cancelled =
+                    counts.getOrDefault(Collection.CollectionStatus.CANCELLED, 0L);
+            long active = counts.getOrDefault(Collection.CollectionStatus.ACTIVE, 0L);
+            long completed =
+                    counts.getOrDefault(Collection.CollectionStatus.COMPLETED, 0L);
 
             cancelledSeries.getData().add(new XYChart.Data<>(month, cancelled));
             activeSeries.getData().add(new XYChart.Data<>(month, active));
@@ -194,15 +208,16 @@ public class DashboardController {
 
     /**
      * Updates the notifications list with the most recent events.
+     *
+     * @param snapshot the data read
      */
-    private void updateNotifications() {
+    private void updateNotifications(final Snapshot snapshot) {
         notificationsList.getItems().clear();
 
-        if (notificationManager != null) {
+        if (snapshot.lastEvents != null) {
             DateTimeFormatter tsFmt =
                     DateTimeFormatter.ofPattern("yyyy-MM-dd 'at' HH:mm");
-            List<Notification> lastEvents = notificationManager.getLast5Events();
-            List<String> displayNotifications = lastEvents.stream()
+            List<String> displayNotifications = snapshot.lastEvents.stream()
                     .map(n -> String.format("%s - %s", n.getMessage(),
                             n.getTimestamp().format(tsFmt)))
                     .toList();
@@ -210,4 +225,18 @@ public class DashboardController {
                     FXCollections.observableArrayList(displayNotifications));
         }
     }
+
+    /**
+     * The data shown by the dashboard, read in a single background request. Values
+     * whose manager is not set are left null.
+     */
+    private static final class Snapshot {
+
+        private Integer activeCustomers;
+        private Integer activeCollections;
+        private Integer completedTrips;
+        private Integer unpaidInvoices;
+        private Map<Month, Map<Collection.CollectionStatus, Long>> monthlyCounts;
+        private List<Notification> lastEvents;
+    }
 }
@@ -1,17 +1,20 @@
 package it.unibo.wastemaster.controller.employee;
 
+import it.unibo.wastemaster.application.context.AppContext;
 import it.unibo.wastemaster.controller.main.MainLayoutController;
 import it.unibo.wastemaster.controller.utils.AutoRefreshable;
 import it.unibo.wastemaster.controller.utils.DialogUtils;
+import it.unibo.wastemaster.controller.utils.PagedTableDataSource;
 import it.unibo.wastemaster.domain.model.Employee;
 import it.unibo.wastemaster.domain.model.Employee.Licence;
 import it.unibo.wastemaster.domain.model.Employee.Role;
+import it.unibo.wastemaster.domain.repository.PageRequest;
 import it.unibo.wastemaster.domain.service.EmployeeManager;
 import it.unibo.wastemaster.presentationdto.EmployeeRow;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import java.util.function.Function;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -26,7 +29,6 @@ import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.Stage;
-import javafx.util.Duration;
 
 /**
  * Controller for managing the employee view. Handles loading, filtering,
@@ -42,17 +44,15 @@ public final class EmployeeController implements AutoRefreshable {
     private static final String FILTER_LICENCE = "licence";
     private static final String FILTER_LOCATION = "location";
     private static final String FILTER_CREATION_DATE = "creationDate";
-    private static final int REFRESH_INTERVAL_SECONDS = 30;
     private static final String ERROR_NAVIGATION = "Navigation error";
-    private final ObservableList<EmployeeRow> allEmployees =
-            FXCollections.observableArrayList();
     private final ObservableList<String> activeFilters =
             FXCollections.observableArrayList(FILTER_NAME, FILTER_SURNAME,
                     FILTER_EMAIL, FILTER_ROLE, FILTER_LICENCE, FILTER_LOCATION);
-    private Timeline refreshTimeline;
+    private Runnable stopFollowingChanges;
     private ContextMenu filterMenu;
     private Stage owner;
     private EmployeeManager employeeManager;
+    private PagedTableDataSource<EmployeeRow, EmployeeRow> employeePages;
 
     @FXML
     private Button filterButton;
@@ -138,6 +138,26 @@ public final class EmployeeController implements AutoRefreshable {
         locationColumn.setCellValueFactory(cellData -> new SimpleStringProperty(
                 cellData.getValue().getFullLocation()));
 
+        employeePages = new PagedTableDataSource<>(employeeTable,
+                request -> employeeManager.getActiveEmployeePage(request,
+                        EmployeeRow.PROJECTION),
+                Function.identity());
+        employeePages.bindSortColumn(nameColumn, FILTER_NAME);
+        employeePages.bindSortColumn(surnameColumn, FILTER_SURNAME);
+        employeePages.bindSortColumn(emailColumn, FILTER_EMAIL);
+        employeePages.bindSortColumn(roleColumn, FILTER_ROLE);
+        employeePages.bindSortColumn(creationDateColumn, "createdDate");
+        employeePages.bindSearchAttribute(FILTER_NAME, EmployeeRow::getName);
+        employeePages.bindSearchAttribute(FILTER_SURNAME, EmployeeRow::getSurname);
+        employeePages.bindSearchAttribute(FILTER_EMAIL, EmployeeRow::getEmail);
+        employeePages.bindSearchAttribute(FILTER_ROLE, EmployeeRow::getRole);
+        employeePages.bindSearchAttribute(FILTER_LICENCE, EmployeeRow::getLicence);
+        employeePages.bindSearchAttribute("location.street", EmployeeRow::getStreet);
+        employeePages.bindSearchAttribute("location.civicNumber", EmployeeRow::getCivic);
+        employeePages.bindSearchAttribute("location.city", EmployeeRow::getCity);
+        employeePages.bindSearchAttribute("location.postalCode",
+                EmployeeRow::getPostalCode);
+
         editEmployeeButton.setDisable(true);
         deleteEmployeeButton.setDisable(true);
 
@@ -160,88 +180,71 @@ public final class EmployeeController implements AutoRefreshable {
     }
 
     /**
-     * Starts the automatic refresh of the employee table.
+     * Starts applying the changes published by the managers to the employee table,
+     * reloading only the rows that changed.
      */
     @Override
     public void startAutoRefresh() {
-        if (refreshTimeline != null || employeeManager == null) {
+        if (stopFollowingChanges != null || employeeManager == null) {
             return;
         }
-        refreshTimeline = new Timeline(new KeyFrame(
-                Duration.seconds(REFRESH_INTERVAL_SECONDS),
-                event -> loadEmployee()));
-        refreshTimeline.setCycleCount(javafx.animation.Animation.INDEFINITE);
-        refreshTimeline.play();
+        stopFollowingChanges = employeePages.followChanges(
+                AppContext.getServiceFactory().getEventBus(), Employee.class,
+                "employeeId", EmployeeRow::getEmployeeId);
     }
 
     /**
-     * Stops the automatic refresh of the employee table, if it is currently active.
-     * This is typically used when the view is being closed or refreshed manually.
+     * Stops applying the published changes to the employee table.
      */
     @Override
     public void stopAutoRefresh() {
-        if (refreshTimeline != null) {
-            refreshTimeline.stop();
-            refreshTimeline = null;
+        if (stopFollowingChanges != null) {
+            stopFollowingChanges.run();
+            stopFollowingChanges = null;
         }
     }
 
     /**
-     * Loads the employee data from the database and populates the employee table.
-     * This method retrieves all employee details, clears the existing list, and adds new
-     * rows to the table.
+     * Shows only the given employee in the table and selects it, as when reaching it
+     * from the global search; resetting the search shows all the employees again.
+     *
+     * @param employeeId the id of the employee to show
+     */
+    public void showEmployee(final int employeeId) {
+        employeePages.show("employeeId", employeeId);
+    }
+
+    /**
+     * Loads the first page of employees matching the current search and populates
+     * the employee table; further pages are loaded while scrolling.
      */
     public void loadEmployee() {
-        List<Employee> employees = employeeManager.getAllActiveEmployees();
-        allEmployees.clear();
+        employeePages.load(buildPageRequest());
+    }
 
-        for (Employee employee : employees) {
-            allEmployees.add(new EmployeeRow(employee));
+    private PageRequest buildPageRequest() {
+        List<String> attributes = new ArrayList<>();
+        for (String field : List.of(FILTER_NAME, FILTER_SURNAME, FILTER_EMAIL,
+                FILTER_ROLE, FILTER_LICENCE)) {
+            if (activeFilters.contains(field)) {
+                attributes.add(field);
+            }
         }
-
-        employeeTable.setItems(FXCollections.observableArrayList(allEmployees));
-
-        if (!searchField.getText().isBlank()) {
-            handleSearch();
+        if (activeFilters.contains(FILTER_LOCATION)) {
+            attributes.addAll(List.of("location.street", "location.civicNumber",
+                    "location.city", "location.postalCode"));
         }
+        return PageRequest.firstPage()
+                .search(searchField.getText(), attributes.toArray(new String[0]));
     }
 
     /**
-     * Handles the search action, filtering the employee table based on the query and
-     * active filters.
+     * Handles the search action, filtering the employee table by the query on the
+     * active filters, from the loaded rows when possible.
      */
     @FXML
     private void handleSearch() {
-        String query = searchField.getText().toLowerCase().trim();
-
-        if (query.isEmpty()) {
-            employeeTable.setItems(FXCollections.observableArrayList(allEmployees));
-            return;
-        }
-
-        ObservableList<EmployeeRow> filtered = FXCollections.observableArrayList();
-
-        for (EmployeeRow row : allEmployees) {
-            if ((activeFilters.contains(FILTER_NAME)
-                    && row.getName().toLowerCase().contains(query))
-                    || (activeFilters.contains(FILTER_SURNAME)
-                    && row.getSurname().toLowerCase().contains(query))
-                    || (activeFilters.contains(FILTER_EMAIL)
-                    && row.getEmail().toLowerCase().contains(query))
-                    || (activeFilters.contains(FILTER_ROLE)
-                    && formatEnumOrNone(row.getRole()).toLowerCase()
-                    .contains(query))
-                    || (activeFilters.contains(FILTER_LICENCE)
-                    && formatEnumOrNone(row.getLicence()).toLowerCase()
-                    .contains(query))
-                    || (activeFilters.contains(FILTER_LOCATION)
-                    && row.getFullLocation().toLowerCase().contains(query))) {
-
-                filtered.add(row);
-            }
-        }
-
-        employeeTable.setItems(filtered);
+        employeePages.search(buildPageRequest());
     }
 
     /**
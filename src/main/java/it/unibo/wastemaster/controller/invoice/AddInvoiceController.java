@@ -1,5 +1,6 @@
 package it.unibo.wastemaster.controller.invoice;
 
+import it.unibo.wastemaster.controller.utils.AsyncLoader;
 import it.unibo.wastemaster.domain.model.Collection;
 import it.unibo.wastemaster.domain.model.Customer;
 import it.unibo.wastemaster.domain.service.CollectionManager;
@@ -24,12 +25,15 @@ import javafx.scene.control.cell.CheckBoxTableCell;
 /**
  * Controller for the Add Invoice modal view. Handles selection of customer and
  * collections,
- * and creation of a new invoice.
+ * and creation of a new invoice. Customers and collections are read in the
+ * background.
  */
 public class AddInvoiceController {
 
     private final ObservableList<CollectionRow> availableCollections =
             FXCollections.observableArrayList();
+    private final AsyncLoader customerLoader = new AsyncLoader();
+    private final AsyncLoader collectionLoader = new AsyncLoader();
 
     @FXML
     private ComboBox<Customer> customerCombo;
@@ -112,8 +116,11 @@ public class AddInvoiceController {
     }
 
     private void setupCustomerCombo() {
-        List<Customer> activeCustomers = customerManager.getAllActiveCustomers();
-        customerCombo.setItems(FXCollections.observableArrayList(activeCustomers));
+        customerCombo.setDisable(true);
+        customerLoader.load(customerManager::getAllActiveCustomers, activeCustomers -> {
+            customerCombo.setItems(FXCollections.observableArrayList(activeCustomers));
+            customerCombo.setDisable(false);
+        });
         customerCombo.getSelectionModel().selectedItemProperty()
                 .addListener((obs, old, newCustomer) -> {
                     loadCollectionsForCustomer(newCustomer);
@@ -122,23 +129,29 @@ public class AddInvoiceController {
 
     private void loadCollectionsForCustomer(final Customer customer) {
         availableCollections.clear();
+        updateTotal();
+        updateSelectAllCheck();
 
-        if (customer != null) {
-            List<Collection> collections =
-                    collectionManager.getCompletedNotBilledCollections(customer);
-            for (Collection c : collections) {
-                CollectionRow row = new CollectionRow(c);
-                row.selectedProperty().addListener((obs, old, newVal) -> {
-                    updateTotal();
-                    if (!updatingFromSelectAll) {
-                        updateSelectAllCheck();
+        if (customer == null) {
+            collectionLoader.cancel();
+            return;
+        }
+        collectionLoader.load(() -> collectionManager
+                .getCompletedNotBilledCollections(customer).stream()
+                .map(CollectionRow::new)
+                .toList(), rows -> {
+                    for (CollectionRow row : rows) {
+                        row.selectedProperty().addListener((obs, old, newVal) -> {
+                            updateTotal();
+                            if (!updatingFromSelectAll) {
+                                updateSelectAllCheck();
+                            }
+                        });
                     }
+                    availableCollections.setAll(rows);
+                    updateTotal();
+                    updateSelectAllCheck();
                 });
-                availableCollections.add(row);
-            }
-        }
-        updateTotal();
-        updateSelectAllCheck();
     }
 
     private void updateSelectAllCheck() {
@@ -169,6 +182,7 @@ public class AddInvoiceController {
 
     private void setupCollectionsTable() {
         collectionsTable.setItems(availableCollections);
+        collectionsTable.disableProperty().bind(collectionLoader.loadingProperty());
 
         selectCol.setCellValueFactory(cell -> cell.getValue().selectedProperty());
         idCol.setCellValueFactory(
@@ -244,7 +258,12 @@ public class AddInvoiceController {
             return;
         }
 
-        invoiceManager.createInvoice(selectedCustomer, selectedCollections);
+        try {
+            invoiceManager.createInvoice(selectedCustomer, selectedCollections);
+        } catch (IllegalStateException e) {
+            showAlert(e.getMessage());
+            return;
+        }
         saveButton.getScene().getWindow().hide();
     }
 
@@ -5,9 +5,12 @@ import it.unibo.wastemaster.controller.customerstatistics.CustomerStatisticsCont
 import it.unibo.wastemaster.controller.main.MainLayoutController;
 import it.unibo.wastemaster.controller.utils.AutoRefreshable;
 import it.unibo.wastemaster.controller.utils.DialogUtils;
+import it.unibo.wastemaster.controller.utils.PagedTableDataSource;
 import it.unibo.wastemaster.domain.model.Collection;
 import it.unibo.wastemaster.domain.model.Customer;
 import it.unibo.wastemaster.domain.model.Invoice;
+import it.unibo.wastemaster.domain.model.Invoice.PaymentStatus;
+import it.unibo.wastemaster.domain.repository.PageRequest;
 import it.unibo.wastemaster.domain.service.CollectionManager;
 import it.unibo.wastemaster.domain.service.CustomerManager;
 import it.unibo.wastemaster.domain.service.InvoiceManager;
@@ -15,10 +18,12 @@ import it.unibo.wastemaster.presentationdto.CustomerRow;
 import it.unibo.wastemaster.presentationdto.InvoiceRow;
 import java.io.IOException;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import java.util.Set;
+import java.util.function.Function;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -33,7 +38,6 @@ import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.Stage;
-import javafx.util.Duration;
 
 /**
  * Controller for managing the invoices view, including filtering, searching,
@@ -41,7 +45,6 @@ import javafx.util.Duration;
  */
 public final class InvoiceController implements AutoRefreshable {
 
-    private static final int REFRESH_INTERVAL_SECONDS = 30;
 
     private static final String FILTER_ID = "id";
     private static final String FILTER_CUSTOMER = "customer";
@@ -53,14 +56,13 @@ public final class InvoiceController implements AutoRefreshable {
     private final ObservableList<String> activeFilters =
             FXCollections.observableArrayList(
                     FILTER_ID, FILTER_CUSTOMER, FILTER_STATUS);
-    private final ObservableList<InvoiceRow> allInvoices =
-            FXCollections.observableArrayList();
     private Stage owner;
     private InvoiceManager invoiceManager;
     private CollectionManager collectionManager;
     private CustomerManager customerManager;
+    private PagedTableDataSource<InvoiceRow, InvoiceRow> invoicePages;
 
-    private Timeline refreshTimeline;
+    private Runnable stopFollowingChanges;
 
     @FXML
     private Button markAsPaidButton;
@@ -174,6 +176,19 @@ public final class InvoiceController implements AutoRefreshable {
                 new PropertyValueFactory<>("totalAmounts"));
         isCancelledColumn.setCellValueFactory(new PropertyValueFactory<>("isCancelled"));
 
+        invoicePages = new PagedTableDataSource<>(invoiceTable,
+                request -> invoiceManager.getInvoicePage(request, InvoiceRow.PROJECTION),
+                Function.identity());
+        invoicePages.bindSortColumn(idColumn, "invoiceId");
+        invoicePages.bindSortColumn(invoiceAmountColumn, "amountCents");
+        invoicePages.bindSortColumn(dateColumn, "issueDate");
+        invoicePages.bindSearchAttribute("invoiceId", InvoiceRow::getInvoiceId);
+        invoicePages.bindSearchAttribute("customer.name", InvoiceRow::getCustomerName);
+        invoicePages.bindSearchAttribute("customer.surname",
+                InvoiceRow::getCustomerSurname);
+        invoicePages.bindSearchAttribute("paymentStatus", InvoiceRow::getPaymentStatus);
+        invoicePages.bindSearchAttribute("amountCents", InvoiceRow::getAmount);
+
         java.util.function.Function<String, String> fmt = s -> {
             if (s == null || s.isBlank()) {
                 return "";
@@ -274,44 +289,50 @@ public final class InvoiceController implements AutoRefreshable {
     }
 
     /**
-     * Starts the automatic refresh of the invoice table.
+     * Starts applying the changes published by the managers to the invoice table,
+     * reloading only the rows that changed.
      */
     @Override
     public void startAutoRefresh() {
-        if (refreshTimeline != null) {
+        if (stopFollowingChanges != null) {
             return;
         }
-        refreshTimeline = new Timeline(
-                new KeyFrame(Duration.seconds(REFRESH_INTERVAL_SECONDS),
-                        e -> loadInvoices()));
-        refreshTimeline.setCycleCount(Timeline.INDEFINITE);
-        refreshTimeline.play();
+        stopFollowingChanges = invoicePages.followChanges(
+                AppContext.getServiceFactory().getEventBus(), Invoice.class,
+                "invoiceId", InvoiceRow::getInvoiceId);
     }
 
     /**
-     * Stops the automatic refresh of the invoice table.
+     * Stops applying the published changes to the invoice table.
      */
     @Override
     public void stopAutoRefresh() {
-        if (refreshTimeline != null) {
-            refreshTimeline.stop();
-            refreshTimeline = null;
+        if (stopFollowingChanges != null) {
+            stopFollowingChanges.run();
+            stopFollowingChanges = null;
         }
     }
 
     /**
-     * Loads all invoices from the database and updates the invoice table.
+     * Shows only the given invoice in the table and selects it, as when reaching it
+     * from the global search; resetting the search shows all the invoices again.
+     *
+     * @param invoiceId the id of the invoice to show
+     */
+    public void showInvoice(final int invoiceId) {
+        invoicePages.show("invoiceId", invoiceId);
+    }
+
+    /**
+     * Loads the first page of invoices matching the search field and filter
+     * checkboxes and updates the invoice table; further pages are loaded while
+     * scrolling.
      */
     private void loadInvoices() {
         if (AppContext.getCurrentAccount() == null) {
             return;
         }
-        allInvoices.clear();
-        List<Invoice> invoices = invoiceManager.getAllInvoices();
-        for (Invoice invoice : invoices) {
-            allInvoices.add(new InvoiceRow(invoice));
-        }
-        handleSearch();
+        invoicePages.load(buildPageRequest());
     }
 
     /**
@@ -362,48 +383,44 @@ public final class InvoiceController implements AutoRefreshable {
 
     /**
      * Handles the search/filtering of invoices based on the search field and filter
-     * checkboxes.
+     * checkboxes, from the loaded rows when possible.
      */
     @FXML
     private void handleSearch() {
-        String query = searchField.getText().toLowerCase().trim();
+        if (AppContext.getCurrentAccount() != null) {
+            invoicePages.search(buildPageRequest());
+        }
+    }
 
+    private PageRequest buildPageRequest() {
         boolean showDeleted =
                 showDeletedCheckBox != null && showDeletedCheckBox.isSelected();
-        boolean showPaid = showPaidCheckBox == null || showPaidCheckBox.isSelected();
-        boolean showUnpaid =
-                showNotPaidCheckBox == null || showNotPaidCheckBox.isSelected();
-
-        boolean anyStatusSelected = showPaid || showUnpaid;
-
-        ObservableList<InvoiceRow> filtered = FXCollections.observableArrayList();
-
-        for (InvoiceRow row : allInvoices) {
-            boolean matchesQuery = query.isEmpty()
-                    || (activeFilters.contains(FILTER_ID) && row.getId().toLowerCase()
-                    .contains(query))
-                    || (activeFilters.contains(FILTER_CUSTOMER) && row.getCustomer()
-                    .toLowerCase().contains(query))
-                    || (activeFilters.contains(FILTER_STATUS) && row.getStatus()
-                    .toLowerCase().contains(query))
-                    || (activeFilters.contains(FILTER_AMOUNT) && row.getAmount()
-                    .toLowerCase().contains(query));
-
-            boolean isCancelled = "Yes".equalsIgnoreCase(row.getIsCancelled());
-            String status = row.getStatus();
-
-            boolean matchesCancelled = showDeleted == isCancelled;
-
-            boolean matchesStatus =
-                    (showPaid && "PAID".equalsIgnoreCase(status))
-                            || (showUnpaid && "UNPAID".equalsIgnoreCase(status));
+        Set<PaymentStatus> statuses = EnumSet.noneOf(PaymentStatus.class);
+        if (showPaidCheckBox == null || showPaidCheckBox.isSelected()) {
+            statuses.add(PaymentStatus.PAID);
+        }
+        if (showNotPaidCheckBox == null || showNotPaidCheckBox.isSelected()) {
+            statuses.add(PaymentStatus.UNPAID);
+        }
 
-            if (matchesQuery && matchesCancelled && matchesStatus) {
-                filtered.add(row);
-            }
+        List<String> attributes = new ArrayList<>();
+        if (activeFilters.contains(FILTER_ID)) {
+            attributes.add("invoiceId");
+        }
+        if (activeFilters.contains(FILTER_CUSTOMER)) {
+            attributes.addAll(List.of("customer.name", "customer.surname"));
+        }
+        if (activeFilters.contains(FILTER_STATUS)) {
+            attributes.add("paymentStatus");
+        }
+        if (activeFilters.contains(FILTER_AMOUNT)) {
+            attributes.add("amountCents");
         }
 
-        invoiceTable.setItems(filtered);
+        return PageRequest.firstPage()
+                .where("isDeleted", showDeleted)
+                .where("paymentStatus", statuses)
+                .search(searchField.getText(), attributes.toArray(new String[0]));
     }
 
     /**
@@ -476,8 +493,7 @@ public final class InvoiceController implements AutoRefreshable {
             return;
         }
         Optional<Invoice> invoiceOpt =
-                invoiceManager.findInvoiceById(selected.getInvoice()
-                        .getInvoiceId());
+                invoiceManager.findInvoiceWithCollections(selected.getInvoiceId());
         if (invoiceOpt.isEmpty()) {
             DialogUtils.showError("Not Found", "Invoice not found.",
                     AppContext.getOwner());
@@ -515,8 +531,7 @@ public final class InvoiceController implements AutoRefreshable {
                     "Please select an invoice to mark as paid.", AppContext.getOwner());
             return;
         }
-        boolean success = invoiceManager.markInvoiceAsPaid(selected.getInvoice()
-                .getInvoiceId());
+        boolean success = invoiceManager.markInvoiceAsPaid(selected.getInvoiceId());
         if (success) {
             DialogUtils.showSuccess("Invoice marked as paid.", AppContext.getOwner());
             loadInvoices();
@@ -539,7 +554,7 @@ public final class InvoiceController implements AutoRefreshable {
         }
 
         Optional<Invoice> invoiceOpt =
-                invoiceManager.findInvoiceById(selected.getInvoice().getInvoiceId());
+                invoiceManager.findInvoiceForPdf(selected.getInvoiceId());
         if (invoiceOpt.isEmpty()) {
             DialogUtils.showError("Not Found", "Invoice not found.",
                     AppContext.getOwner());
@@ -589,8 +604,7 @@ public final class InvoiceController implements AutoRefreshable {
         if (!confirmed) {
             return;
         }
-        boolean success = invoiceManager.deleteInvoice(selected.getInvoice()
-                .getInvoiceId());
+        boolean success = invoiceManager.deleteInvoice(selected.getInvoiceId());
         if (success) {
             DialogUtils.showSuccess("Invoice deleted successfully.",
                     AppContext.getOwner());
@@ -615,7 +629,14 @@ public final class InvoiceController implements AutoRefreshable {
                     AppContext.getOwner());
             return;
         }
-        Customer customer = selectedRow.getInvoice().getCustomer();
+        Optional<Invoice> invoiceOpt =
+                invoiceManager.findInvoiceById(selectedRow.getInvoiceId());
+        if (invoiceOpt.isEmpty()) {
+            DialogUtils.showError("Not Found", "Invoice not found.",
+                    AppContext.getOwner());
+            return;
+        }
+        Customer customer = invoiceOpt.get().getCustomer();
 
         try {
             Optional<CustomerStatisticsController> controllerOpt =
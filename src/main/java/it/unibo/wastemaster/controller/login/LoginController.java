@@ -1,6 +1,7 @@
 package it.unibo.wastemaster.controller.login;
 
 import it.unibo.wastemaster.application.context.AppContext;
+import it.unibo.wastemaster.controller.utils.AsyncLoader;
 import it.unibo.wastemaster.domain.model.Account;
 import it.unibo.wastemaster.domain.service.LoginManager;
 import java.util.Objects;
@@ -34,6 +35,7 @@ public class LoginController {
     private final SVGPath eyeIcon = new SVGPath();
     private final SVGPath eyeOffIcon = new SVGPath();
     private final Rectangle clickArea = new Rectangle(24, 24);
+    private final AsyncLoader loginLoader = new AsyncLoader(this::showLoginFailure);
 
     @FXML
     private TextField emailField;
@@ -138,11 +140,17 @@ public class LoginController {
 
         emailField.setOnAction(this::handleFieldAction);
         passwordField.setOnAction(this::handleFieldAction);
+
+        emailField.disableProperty().bind(loginLoader.loadingProperty());
+        passwordField.disableProperty().bind(loginLoader.loadingProperty());
+        passwordTextField.disableProperty().bind(loginLoader.loadingProperty());
     }
 
     /**
      * Handles the login button action.
-     * Authenticates the user and loads the main UI on success.
+     * Authenticates the user in the background, since checking the password hash
+     * is deliberately slow, and loads the main UI on success. The fields are
+     * disabled meanwhile and further attempts are ignored.
      * Shows error message on failure or exception.
      */
     @FXML
@@ -155,8 +163,17 @@ public class LoginController {
             errorLabel.setVisible(true);
             return;
         }
+        if (loginLoader.isLoading()) {
+            return;
+        }
 
-        Optional<Account> authenticated = loginManager.authenticate(email, password);
+        errorLabel.setText("Signing in...");
+        errorLabel.setVisible(true);
+        loginLoader.load(() -> loginManager.authenticate(email, password),
+                this::completeLogin);
+    }
+
+    private void completeLogin(final Optional<Account> authenticated) {
         if (authenticated.isPresent()) {
             Account account = authenticated.get();
             AppContext.setCurrentAccount(account);
@@ -189,6 +206,13 @@ public class LoginController {
         }
     }
 
+    private void showLoginFailure(final Throwable error) {
+        errorLabel.setText("Internal error occurred.");
+        errorLabel.setVisible(true);
+        Logger.getLogger(LoginController.class.getName())
+                .log(Level.SEVERE, null, error);
+    }
+
     @FXML
     private void togglePasswordVisibility() {
         if (passwordVisible) {
@@ -10,21 +10,34 @@ import it.unibo.wastemaster.controller.utils.AutoRefreshable;
 import it.unibo.wastemaster.controller.utils.DialogUtils;
 import it.unibo.wastemaster.controller.vehicle.VehicleController;
 import it.unibo.wastemaster.controller.waste.WasteController;
+import it.unibo.wastemaster.domain.model.Customer;
 import it.unibo.wastemaster.domain.model.Employee;
+import it.unibo.wastemaster.domain.model.Invoice;
+import it.unibo.wastemaster.domain.model.Trip;
+import it.unibo.wastemaster.domain.model.Vehicle;
+import it.unibo.wastemaster.domain.service.SearchHit;
 import java.io.IOException;
 import java.net.URL;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javafx.animation.PauseTransition;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
+import javafx.geometry.Side;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.ContextMenu;
 import javafx.scene.control.Hyperlink;
 import javafx.scene.control.Label;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.TextField;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 /**
  * Controller for the main layout of the application.
@@ -47,11 +60,16 @@ public final class MainLayoutController {
     private static final String SCHEDULE_MANAGEMENT = "Schedule Management";
     private static final String TRIP_MANAGEMENT = "Trip Management";
     private static final String INVOICE_MANAGEMENT = "Invoice Management";
+    private static final int SEARCH_HIT_LIMIT = 10;
+    private static final Duration SEARCH_DELAY = Duration.millis(150);
 
     private static MainLayoutController instance;
     private Object currentController;
     private String previousTitle;
     private boolean firstDashboardLoad = true;
+    private final ContextMenu searchHitsMenu = new ContextMenu();
+    private final PauseTransition searchDelay = new PauseTransition(SEARCH_DELAY);
+    private Map<Class<?>, Hyperlink> searchTargets;
 
     @FXML
     private StackPane rootPane;
@@ -86,6 +104,9 @@ public final class MainLayoutController {
     @FXML
     private Hyperlink invoicesLink;
 
+    @FXML
+    private TextField globalSearchField;
+
     /**
      * Returns the singleton instance of this controller.
      *
@@ -112,6 +133,7 @@ public final class MainLayoutController {
         MainLayoutController.setInstance(this);
         centerPane.setPrefWidth(CENTER_PANE_PREF_WIDTH);
         centerPane.setPrefHeight(CENTER_PANE_PREF_HEIGHT);
+        setUpGlobalSearch();
         Employee.Role role = AppContext.getCurrentAccount().getEmployee().getRole();
         switch (role) {
             case OFFICE_WORKER -> {
@@ -344,6 +366,106 @@ public final class MainLayoutController {
         }
     }
 
+    /**
+     * Sets up the search box finding customers, employees, vehicles, trips and
+     * invoices through the global search index. Hits are listed below the box once
+     * the user pauses typing, and pressing Enter opens the first one.
+     */
+    private void setUpGlobalSearch() {
+        searchTargets = Map.of(Customer.class, customersLink,
+                Employee.class, employeesLink, Vehicle.class, vehiclesLink,
+                Trip.class, tripsLink, Invoice.class, invoicesLink);
+        searchDelay.setOnFinished(event -> showSearchHits());
+        globalSearchField.textProperty()
+                .addListener((obs, oldText, newText) -> searchDelay.playFromStart());
+        globalSearchField.setOnAction(event -> {
+            searchDelay.stop();
+            List<SearchHit> hits = findSearchHits();
+            if (!hits.isEmpty()) {
+                openSearchHit(hits.get(0));
+            }
+        });
+    }
+
+    /**
+     * Finds the hits of the text typed in the search box, leaving out the entities
+     * whose view the current user cannot open.
+     *
+     * @return the hits, most relevant first
+     */
+    private List<SearchHit> findSearchHits() {
+        return AppContext.getServiceFactory().getGlobalSearchService()
+                .search(globalSearchField.getText(), SEARCH_HIT_LIMIT * 2).stream()
+                .filter(hit -> {
+                    Hyperlink link = searchTargets.get(hit.getEntityType());
+                    return link != null && !link.isDisable();
+                })
+                .limit(SEARCH_HIT_LIMIT)
+                .toList();
+    }
+
+    /**
+     * Lists the hits of the search box below it, or hides the list if there are
+     * none.
+     */
+    private void showSearchHits() {
+        List<SearchHit> hits = findSearchHits();
+        if (hits.isEmpty()) {
+            searchHitsMenu.hide();
+            return;
+        }
+        searchHitsMenu.getItems().clear();
+        for (SearchHit hit : hits) {
+            String label = hit.getEntityType().getSimpleName() + ": " + hit.getTitle();
+            MenuItem item = new MenuItem(hit.getDetail().isEmpty() ? label
+                    : label + " — " + hit.getDetail());
+            item.setOnAction(event -> openSearchHit(hit));
+            searchHitsMenu.getItems().add(item);
+        }
+        if (!searchHitsMenu.isShowing()) {
+            searchHitsMenu.show(globalSearchField, Side.BOTTOM, 0, 0);
+        }
+    }
+
+    /**
+     * Opens the view of the entity of a hit, showing only its row.
+     *
+     * @param hit the hit to open
+     */
+    private void openSearchHit(final SearchHit hit) {
+        searchHitsMenu.hide();
+        globalSearchField.clear();
+        searchDelay.stop();
+        int id = hit.getEntityId();
+        Class<?> type = hit.getEntityType();
+        if (type == Customer.class) {
+            handleCustomers();
+            if (currentController instanceof CustomersController controller) {
+                controller.showCustomer(id);
+            }
+        } else if (type == Employee.class) {
+            handleEmployee();
+            if (currentController instanceof EmployeeController controller) {
+                controller.showEmployee(id);
+            }
+        } else if (type == Vehicle.class) {
+            handleVehicle();
+            if (currentController instanceof VehicleController controller) {
+                controller.showVehicle(id);
+            }
+        } else if (type == Trip.class) {
+            handleTrip();
+            if (currentController instanceof TripController controller) {
+                controller.showTrip(id);
+            }
+        } else if (type == Invoice.class) {
+            handleInvoice();
+            if (currentController instanceof InvoiceController controller) {
+                controller.showInvoice(id);
+            }
+        }
+    }
+
     /**
      * Sets the page title label.
      *
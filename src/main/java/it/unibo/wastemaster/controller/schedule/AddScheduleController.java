@@ -1,6 +1,7 @@
 package it.unibo.wastemaster.controller.schedule;
 
 import it.unibo.wastemaster.application.context.AppContext;
+import it.unibo.wastemaster.controller.utils.AsyncLoader;
 import it.unibo.wastemaster.controller.utils.DialogUtils;
 import it.unibo.wastemaster.domain.model.Customer;
 import it.unibo.wastemaster.domain.model.RecurringSchedule.Frequency;
@@ -26,11 +27,13 @@ import javafx.util.StringConverter;
 
 /**
  * Controller for the Add Schedule modal form. Manages input validation and scheduling
- * creation logic.
+ * creation logic. Customers and wastes are read in the background.
  */
 public final class AddScheduleController {
 
     private final ContextMenu suggestionsMenu = new ContextMenu();
+    private final AsyncLoader customerLoader = new AsyncLoader();
+    private final AsyncLoader wasteLoader = new AsyncLoader();
     private boolean isRecurring;
 
     @FXML
@@ -63,7 +66,7 @@ public final class AddScheduleController {
     private OneTimeScheduleManager oneTimeScheduleManager;
     private RecurringScheduleManager recurringScheduleManager;
     private WasteManager wasteManager;
-    private List<Customer> allCustomers;
+    private List<Customer> allCustomers = List.of();
 
     /**
      * Sets the customer manager used to retrieve customers.
@@ -122,7 +125,11 @@ public final class AddScheduleController {
     }
 
     private void setupCustomerAutocomplete() {
-        allCustomers = customerManager.getAllCustomers();
+        customerField.setDisable(true);
+        customerLoader.load(customerManager::getAllCustomers, customers -> {
+            allCustomers = customers;
+            customerField.setDisable(false);
+        });
         customerField.textProperty().addListener((obs, oldText, newText) -> {
             if (newText == null || newText.isBlank()) {
                 suggestionsMenu.hide();
@@ -160,29 +167,30 @@ public final class AddScheduleController {
     }
 
     private void setupWasteComboBox() {
-        List<Waste> wasteList = wasteManager.getActiveWastes();
-
-        if (wasteList.isEmpty()) {
-            wasteComboBox.setDisable(true);
-            wasteDetailsTitle.setText("No Waste available");
-        } else {
-            wasteComboBox.setItems(FXCollections.observableArrayList(wasteList));
-            wasteDetailsInfo.setText("No Waste selected.");
-            wasteDetailsTitle.setText("Waste Details:");
-
-            wasteComboBox.valueProperty().addListener((obs, oldWaste, newWaste) -> {
-                if (newWaste != null) {
-                    wasteDetailsInfo.setText(String.format(
-                            "Name: %s%nRecyclable: %s%nDangerous: %s",
-                            newWaste.getWasteName(),
-                            newWaste.getIsRecyclable() ? "Yes" : "No",
-                            newWaste.getIsDangerous() ? "Yes" : "No"
-                    ));
-                } else {
-                    wasteDetailsInfo.setText("No Waste selected.");
-                }
-            });
-        }
+        wasteComboBox.setDisable(true);
+        wasteLoader.load(wasteManager::getActiveWastes, wasteList -> {
+            if (wasteList.isEmpty()) {
+                wasteDetailsTitle.setText("No Waste available");
+            } else {
+                wasteComboBox.setItems(FXCollections.observableArrayList(wasteList));
+                wasteComboBox.setDisable(false);
+                wasteDetailsInfo.setText("No Waste selected.");
+                wasteDetailsTitle.setText("Waste Details:");
+            }
+        });
+
+        wasteComboBox.valueProperty().addListener((obs, oldWaste, newWaste) -> {
+            if (newWaste != null) {
+                wasteDetailsInfo.setText(String.format(
+                        "Name: %s%nRecyclable: %s%nDangerous: %s",
+                        newWaste.getWasteName(),
+                        newWaste.getIsRecyclable() ? "Yes" : "No",
+                        newWaste.getIsDangerous() ? "Yes" : "No"
+                ));
+            } else {
+                wasteDetailsInfo.setText("No Waste selected.");
+            }
+        });
 
         wasteComboBox.setConverter(new StringConverter<Waste>() {
             @Override
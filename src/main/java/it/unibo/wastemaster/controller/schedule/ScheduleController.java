@@ -5,24 +5,28 @@ import it.unibo.wastemaster.controller.collection.CollectionController;
 import it.unibo.wastemaster.controller.main.MainLayoutController;
 import it.unibo.wastemaster.controller.utils.AutoRefreshable;
 import it.unibo.wastemaster.controller.utils.DialogUtils;
-import it.unibo.wastemaster.domain.model.Collection;
+import it.unibo.wastemaster.controller.utils.PagedTableDataSource;
 import it.unibo.wastemaster.domain.model.OneTimeSchedule;
 import it.unibo.wastemaster.domain.model.RecurringSchedule;
 import it.unibo.wastemaster.domain.model.RecurringSchedule.Frequency;
 import it.unibo.wastemaster.domain.model.Schedule;
 import it.unibo.wastemaster.domain.model.Schedule.ScheduleCategory;
 import it.unibo.wastemaster.domain.model.Schedule.ScheduleStatus;
+import it.unibo.wastemaster.domain.repository.PageRequest;
 import it.unibo.wastemaster.domain.service.CollectionManager;
 import it.unibo.wastemaster.domain.service.OneTimeScheduleManager;
 import it.unibo.wastemaster.domain.service.RecurringScheduleManager;
 import it.unibo.wastemaster.domain.service.ScheduleManager;
+import it.unibo.wastemaster.presentationdto.CollectionRow;
 import it.unibo.wastemaster.presentationdto.ScheduleRow;
 import java.io.IOException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import java.util.Set;
+import java.util.function.Function;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -35,7 +39,6 @@ import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.Stage;
-import javafx.util.Duration;
 
 /**
  * Controller for managing schedules in the WasteMaster application.
@@ -44,21 +47,19 @@ import javafx.util.Duration;
  */
 public final class ScheduleController implements AutoRefreshable {
 
-    private static final int REFRESH_INTERVAL_SECONDS = 30;
     private static final String FILTER_WASTE_TYPE = "wasteType";
     private static final String FILTER_FREQUENCY = "frequency";
     private static final String FILTER_CUSTOMER = "customer";
     private static final String TITLE_NO_SELECTION = "No Selection";
     private final ObservableList<String> activeFilters = FXCollections
             .observableArrayList(FILTER_WASTE_TYPE, FILTER_FREQUENCY, FILTER_CUSTOMER);
-    private final ObservableList<ScheduleRow> allSchedules =
-            FXCollections.observableArrayList();
 
     private CollectionManager collectionManager;
     private OneTimeScheduleManager oneTimeScheduleManager;
     private RecurringScheduleManager recurringScheduleManager;
     private ScheduleManager scheduleManager;
-    private Timeline refreshTimeline;
+    private PagedTableDataSource<ScheduleRow, ScheduleRow> schedulePages;
+    private Runnable stopFollowingChanges;
 
     @FXML
     private CheckBox oneTimeCheckBox;
@@ -174,6 +175,13 @@ public final class ScheduleController implements AutoRefreshable {
         statusColumn.setCellValueFactory(new PropertyValueFactory<>("status"));
         customerColumn.setCellValueFactory(new PropertyValueFactory<>(FILTER_CUSTOMER));
 
+        schedulePages = new PagedTableDataSource<>(scheduleTable,
+                request -> scheduleManager.getSchedulePage(request,
+                        ScheduleRow.PROJECTION),
+                Function.identity());
+        schedulePages.bindSortColumn(wasteNameColumn, "waste.name");
+        schedulePages.bindSortColumn(customerColumn, "customer.surname");
+
         oneTimeCheckBox.setSelected(true);
         recurringCheckBox.setSelected(true);
         showDeletedCheckBox.setSelected(false);
@@ -201,12 +209,11 @@ public final class ScheduleController implements AutoRefreshable {
     }
 
     /**
-     * Refreshes the schedule table by reloading schedules and applying the current
-     * search filter.
+     * Refreshes the schedule table by reloading schedules with the current search
+     * and filter checkboxes.
      */
     public void refresh() {
         loadSchedules();
-        handleSearch();
     }
 
     /**
@@ -298,72 +305,72 @@ public final class ScheduleController implements AutoRefreshable {
     }
 
     /**
-     * Starts the automatic refresh of the schedule table.
+     * Starts applying the changes published by the managers to the schedule table,
+     * reloading only the rows that changed.
      */
     @Override
     public void startAutoRefresh() {
-        if (refreshTimeline != null || scheduleManager == null) {
+        if (stopFollowingChanges != null || scheduleManager == null) {
             return;
         }
-        refreshTimeline = new Timeline(new KeyFrame(
-                Duration.seconds(REFRESH_INTERVAL_SECONDS),
-                e -> loadSchedules()));
-        refreshTimeline.setCycleCount(javafx.animation.Animation.INDEFINITE);
-        refreshTimeline.play();
+        stopFollowingChanges = schedulePages.followChanges(
+                AppContext.getServiceFactory().getEventBus(), Schedule.class,
+                "id", ScheduleRow::getId);
     }
 
     /**
-     * Stops the auto-refresh timeline if it is running.
+     * Stops applying the published changes to the schedule table.
      */
     @Override
     public void stopAutoRefresh() {
-        if (refreshTimeline != null) {
-            refreshTimeline.stop();
-            refreshTimeline = null;
+        if (stopFollowingChanges != null) {
+            stopFollowingChanges.run();
+            stopFollowingChanges = null;
         }
     }
 
     private void loadSchedules() {
-        allSchedules.clear();
-        List<Schedule> all = scheduleManager.findAllSchedule();
-
-        for (Schedule s : all) {
-            if (shouldIncludeSchedule(s)) {
-                ScheduleCategory scheduleType = s.getScheduleCategory();
-                if (scheduleType == ScheduleCategory.ONE_TIME) {
-                    allSchedules.add(new ScheduleRow((OneTimeSchedule) s));
-                } else if (scheduleType == ScheduleCategory.RECURRING) {
-                    allSchedules.add(new ScheduleRow((RecurringSchedule) s));
-                }
-            }
-        }
-
-        scheduleTable.setItems(FXCollections.observableArrayList(allSchedules));
+        schedulePages.load(buildPageRequest());
     }
 
-    private boolean shouldIncludeSchedule(final Schedule s) {
-        if (s == null || s.getCustomer() == null || s.getWaste() == null
-                || s.getScheduleStatus() == null) {
-            return false;
+    private PageRequest buildPageRequest() {
+        Set<ScheduleCategory> categories = EnumSet.noneOf(ScheduleCategory.class);
+        if (oneTimeCheckBox.isSelected()) {
+            categories.add(ScheduleCategory.ONE_TIME);
+        }
+        if (recurringCheckBox.isSelected()) {
+            categories.add(ScheduleCategory.RECURRING);
         }
 
-        ScheduleCategory scheduleType = s.getScheduleCategory();
-        ScheduleStatus status = s.getScheduleStatus();
-
-        boolean isOneTime =
-                oneTimeCheckBox.isSelected() && scheduleType == ScheduleCategory.ONE_TIME;
-        boolean isRecurring = recurringCheckBox.isSelected()
-                && scheduleType == ScheduleCategory.RECURRING;
-        boolean matchesType = isOneTime || isRecurring;
+        Set<ScheduleStatus> statuses = EnumSet.noneOf(ScheduleStatus.class);
+        if (showDeletedCheckBox.isSelected()) {
+            statuses.add(ScheduleStatus.CANCELLED);
+        }
+        if (showActiveCheckBox.isSelected()) {
+            statuses.add(ScheduleStatus.ACTIVE);
+        }
+        if (showPausedCheckBox.isSelected()) {
+            statuses.add(ScheduleStatus.PAUSED);
+        }
+        if (showCompletedCheckBox.isSelected()) {
+            statuses.add(ScheduleStatus.COMPLETED);
+        }
 
-        boolean matchesStatus = (status == ScheduleStatus.CANCELLED
-                && showDeletedCheckBox.isSelected())
-                || (status == ScheduleStatus.ACTIVE && showActiveCheckBox.isSelected())
-                || (status == ScheduleStatus.PAUSED && showPausedCheckBox.isSelected())
-                || (status == ScheduleStatus.COMPLETED
-                && showCompletedCheckBox.isSelected());
+        List<String> attributes = new ArrayList<>();
+        if (activeFilters.contains(FILTER_WASTE_TYPE)) {
+            attributes.add("waste.name");
+        }
+        if (activeFilters.contains(FILTER_FREQUENCY)) {
+            attributes.add(FILTER_FREQUENCY);
+        }
+        if (activeFilters.contains(FILTER_CUSTOMER)) {
+            attributes.addAll(List.of("customer.name", "customer.surname"));
+        }
 
-        return matchesType && matchesStatus;
+        return PageRequest.firstPage()
+                .where("scheduleCategory", categories)
+                .where("status", statuses)
+                .search(searchField.getText(), attributes.toArray(new String[0]));
     }
 
     /**
@@ -520,32 +527,11 @@ public final class ScheduleController implements AutoRefreshable {
 
     /**
      * Handles the search/filtering of schedules based on the search field and active
-     * filters.
+     * filters, reloading the table from the database.
      */
     @FXML
     private void handleSearch() {
-        String query = searchField.getText().toLowerCase().trim();
-
-        if (query.isEmpty()) {
-            scheduleTable.setItems(FXCollections.observableArrayList(allSchedules));
-            return;
-        }
-
-        ObservableList<ScheduleRow> filtered = FXCollections.observableArrayList();
-
-        for (ScheduleRow row : allSchedules) {
-            if ((activeFilters.contains(FILTER_WASTE_TYPE)
-                    && row.getWasteName().toLowerCase().contains(query))
-                    || (activeFilters.contains(FILTER_FREQUENCY)
-                    && row.getFrequency() != null
-                    && row.getFrequency().name().toLowerCase().contains(query))
-                    || (activeFilters.contains(FILTER_CUSTOMER)
-                    && row.getCustomer().toLowerCase().contains(query))) {
-                filtered.add(row);
-            }
-        }
-
-        scheduleTable.setItems(filtered);
+        loadSchedules();
     }
 
     /**
@@ -590,8 +576,8 @@ public final class ScheduleController implements AutoRefreshable {
         }
 
         Schedule schedule = scheduleOpt.get();
-        List<Collection> collections =
-                collectionManager.getAllCollectionBySchedule(schedule);
+        List<CollectionRow> collections = collectionManager
+                .getCollectionRowsBySchedule(schedule, CollectionRow.PROJECTION);
 
         try {
             MainLayoutController.getInstance().setPageTitle("Associated Collections");
@@ -602,7 +588,7 @@ public final class ScheduleController implements AutoRefreshable {
             controller.setScheduleManager(scheduleManager);
             controller.setOneTimeScheduleManager(oneTimeScheduleManager);
             controller.setRecurringScheduleManager(recurringScheduleManager);
-            controller.setCollections(collections);
+            controller.setCollectionRows(collections);
         } catch (Exception e) {
             DialogUtils.showError("Navigation error",
                     "Could not load Associated Collections view.", AppContext.getOwner());
@@ -4,6 +4,7 @@ import static it.unibo.wastemaster.controller.utils.DialogUtils.closeModal;
 import static it.unibo.wastemaster.controller.utils.DialogUtils.showError;
 
 import it.unibo.wastemaster.application.context.AppContext;
+import it.unibo.wastemaster.controller.utils.AsyncLoader;
 import it.unibo.wastemaster.domain.model.Collection;
 import it.unibo.wastemaster.domain.model.Employee;
 import it.unibo.wastemaster.domain.model.Vehicle;
@@ -37,6 +38,9 @@ import javafx.scene.control.cell.CheckBoxTableCell;
 /**
  * Controller for the Add Trip modal form.
  * Handles input validation, crew selection, and trip creation logic.
+ * The available vehicles, postal codes, drivers and operators are read in the
+ * background; each choice stays disabled while its options are loading, and
+ * changing the dates discards the lookups still pending.
  */
 public class AddTripController {
 
@@ -47,6 +51,10 @@ public class AddTripController {
             FXCollections.observableArrayList();
     private final Map<Integer, BooleanProperty> selectedById = new HashMap<>();
     private final IntegerProperty seatCapacity = new SimpleIntegerProperty(0);
+    private final AsyncLoader vehicleLoader = new AsyncLoader();
+    private final AsyncLoader postalCodeLoader = new AsyncLoader();
+    private final AsyncLoader driverLoader = new AsyncLoader();
+    private final AsyncLoader operatorLoader = new AsyncLoader();
 
     @FXML
     private ComboBox<String> postalCodeCombo;
@@ -151,6 +159,7 @@ public class AddTripController {
 
         operatorsTable.setItems(operatorItems);
         operatorsTable.setEditable(true);
+        operatorsTable.disableProperty().bind(operatorLoader.loadingProperty());
 
         departureDate.valueProperty()
                 .addListener((obs, oldVal, newVal) -> resetControls());
@@ -170,6 +179,7 @@ public class AddTripController {
             if (newVal != null) {
                 updateDriverInfo(newVal);
             } else {
+                driverLoader.cancel();
                 driverCombo.setDisable(true);
             }
             operatorsTable.getItems().clear();
@@ -187,6 +197,10 @@ public class AddTripController {
     }
 
     private void resetControls() {
+        vehicleLoader.cancel();
+        postalCodeLoader.cancel();
+        driverLoader.cancel();
+        operatorLoader.cancel();
         vehicleCombo.getSelectionModel().clearSelection();
         driverCombo.getSelectionModel().clearSelection();
         operatorsTable.getItems().clear();
@@ -207,9 +221,6 @@ public class AddTripController {
 
         if (depDate != null && retDate != null && depHour != null && retHour != null
                 && !retDate.isBefore(depDate)) {
-            vehicleCombo.setDisable(false);
-            postalCodeCombo.setDisable(false);
-
             updateAvailableVehicles(depDate, retDate, depHour, retHour);
             updateAvailablePostalCodes(depDate);
         }
@@ -223,17 +234,24 @@ public class AddTripController {
         if (tripManager == null) {
             return;
         }
-        vehicleCombo.setItems(FXCollections.observableArrayList(
-                tripManager.getAvailableVehicles(dep.atTime(depHour, 0),
-                        ret.atTime(retHour, 0))));
+        vehicleLoader.load(() -> tripManager.getAvailableVehicles(
+                        dep.atTime(depHour, 0), ret.atTime(retHour, 0)),
+                vehicles -> {
+                    vehicleCombo.setItems(FXCollections.observableArrayList(vehicles));
+                    vehicleCombo.setDisable(false);
+                });
     }
 
     private void updateAvailablePostalCodes(final LocalDate dep) {
         if (tripManager == null) {
             return;
         }
-        postalCodeCombo.setItems(FXCollections.observableArrayList(
-                tripManager.getAvailablePostalCodes(dep)));
+        postalCodeLoader.load(() -> tripManager.getAvailablePostalCodes(dep),
+                postalCodes -> {
+                    postalCodeCombo.setItems(
+                            FXCollections.observableArrayList(postalCodes));
+                    postalCodeCombo.setDisable(false);
+                });
     }
 
     private void updateDriverInfo(final Vehicle vehicle) {
@@ -243,6 +261,7 @@ public class AddTripController {
         Integer retHour = returnTime.getValue();
 
         if (depDate == null || retDate == null || depHour == null || retHour == null) {
+            driverLoader.cancel();
             driverCombo.getItems().clear();
             driverCombo.setDisable(true);
             requiredLicence.setVisible(false);
@@ -252,16 +271,20 @@ public class AddTripController {
         LocalDateTime depDateTime = depDate.atTime(depHour, 0);
         LocalDateTime retDateTime = retDate.atTime(retHour, 0);
 
-        List<Employee.Licence> allowedLicences =
-                vehicleManager.getAllowedLicences(vehicle);
-        List<Employee> drivers = tripManager.getQualifiedDrivers(depDateTime, retDateTime,
-                allowedLicences);
-
-        driverCombo.setItems(FXCollections.observableArrayList(drivers));
-        driverCombo.setDisable(drivers.isEmpty());
-        requiredLicence.setText("Min licence to drive: " + vehicle.getRequiredLicence());
-        requiredLicence.setVisible(!drivers.isEmpty());
-        refreshHint();
+        driverCombo.setDisable(true);
+        driverLoader.load(() -> {
+            List<Employee.Licence> allowedLicences =
+                    vehicleManager.getAllowedLicences(vehicle);
+            return tripManager.getQualifiedDrivers(depDateTime, retDateTime,
+                    allowedLicences);
+        }, drivers -> {
+            driverCombo.setItems(FXCollections.observableArrayList(drivers));
+            driverCombo.setDisable(drivers.isEmpty());
+            requiredLicence.setText(
+                    "Min licence to drive: " + vehicle.getRequiredLicence());
+            requiredLicence.setVisible(!drivers.isEmpty());
+            refreshHint();
+        });
     }
 
     private void updateAvailableOperators() {
@@ -274,17 +297,20 @@ public class AddTripController {
             LocalDateTime depDateTime = depDate.atTime(depHour, 0);
             LocalDateTime retDateTime = retDate.atTime(retHour, 0);
 
-            var list = tripManager.getAvailableOperatorsExcludeDriver(
-                    depDateTime, retDateTime, driverCombo.getValue());
+            Employee driver = driverCombo.getValue();
 
-            operatorItems.setAll(list);
-            selectedById.clear();
-            for (Employee e : list) {
-                selectedById.put(e.getEmployeeId(), new SimpleBooleanProperty(false));
-            }
-            enforceSeatLimit();
-            refreshHint();
-            operatorsTable.refresh();
+            operatorLoader.load(() -> tripManager.getAvailableOperatorsExcludeDriver(
+                    depDateTime, retDateTime, driver), list -> {
+                operatorItems.setAll(list);
+                selectedById.clear();
+                for (Employee e : list) {
+                    selectedById.put(e.getEmployeeId(),
+                            new SimpleBooleanProperty(false));
+                }
+                enforceSeatLimit();
+                refreshHint();
+                operatorsTable.refresh();
+            });
         }
     }
 
@@ -438,6 +464,9 @@ public class AddTripController {
         } catch (jakarta.persistence.PersistenceException e) {
             showError("Database error", "Could not save trip: " + e.getMessage(),
                     AppContext.getOwner());
+        } catch (IllegalArgumentException e) {
+            showError("Resources no longer available", e.getMessage(),
+                    AppContext.getOwner());
         }
     }
 
@@ -1,6 +1,7 @@
 package it.unibo.wastemaster.controller.trip;
 
 import it.unibo.wastemaster.application.context.AppContext;
+import it.unibo.wastemaster.controller.utils.AsyncLoader;
 import it.unibo.wastemaster.controller.utils.DialogUtils;
 import it.unibo.wastemaster.domain.model.Employee;
 import it.unibo.wastemaster.domain.model.Trip;
@@ -15,6 +16,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ReadOnlyStringWrapper;
@@ -33,6 +36,8 @@ import javafx.scene.control.cell.CheckBoxTableCell;
 /**
  * Controller for editing an existing trip.
  * Handles form population, crew selection, validation, and saving of updated trip data.
+ * Vehicles, drivers and operators are looked up, and the trip saved, in the
+ * background.
  */
 public final class EditTripController {
 
@@ -40,6 +45,10 @@ public final class EditTripController {
             FXCollections.observableArrayList();
     private final Map<Integer, BooleanProperty> selectedById = new HashMap<>();
     private final IntegerProperty seatCapacity = new SimpleIntegerProperty(0);
+    private final AsyncLoader vehicleLoader = new AsyncLoader();
+    private final AsyncLoader driverLoader = new AsyncLoader();
+    private final AsyncLoader operatorLoader = new AsyncLoader();
+    private final AsyncLoader saveLoader = new AsyncLoader(this::showSaveFailure);
     private Trip tripToEdit;
     private TripController tripController;
     private TripManager tripManager;
@@ -138,6 +147,8 @@ public final class EditTripController {
 
         operatorsTable.setItems(operatorItems);
         operatorsTable.setEditable(true);
+        operatorsTable.disableProperty().bind(operatorLoader.loadingProperty());
+        driverCombo.disableProperty().bind(driverLoader.loadingProperty());
 
         refreshHint();
     }
@@ -170,37 +181,17 @@ public final class EditTripController {
             vehicleCombo.setValue(currentVehicle);
         }
         seatCapacity.set(getSeatCount(currentVehicle));
-        refreshHint();
-
-        Employee currentDriver = null;
-        if (!tripToEdit.getOperators().isEmpty()) {
-            currentDriver = tripToEdit.getOperators().get(0);
-        }
 
-        updateAvailableDrivers();
-
-        if (currentDriver != null && driverCombo.getItems().contains(currentDriver)) {
-            driverCombo.setValue(currentDriver);
-        } else if (!driverCombo.getItems().isEmpty()) {
-            driverCombo.setValue(driverCombo.getItems().get(0));
+        // The previous crew stays selected once the lookups return it.
+        List<Employee> crew = tripToEdit.getOperators();
+        selectedById.clear();
+        for (Employee op : crew.subList(Math.min(1, crew.size()), crew.size())) {
+            selectedById.put(op.getEmployeeId(), new SimpleBooleanProperty(true));
         }
-
-        updateAvailableOperators();
-
-        selectedById.values().forEach(p -> p.set(false));
-        if (tripToEdit.getOperators().size() > 1) {
-            List<Employee> previousOperators = tripToEdit.getOperators()
-                    .subList(1, tripToEdit.getOperators().size());
-            for (Employee op : previousOperators) {
-                BooleanProperty prop = selectedById.get(op.getEmployeeId());
-                if (prop != null) {
-                    prop.set(true);
-                }
-            }
+        if (!crew.isEmpty()) {
+            driverCombo.setValue(crew.get(0));
         }
-        enforceSeatLimit();
         refreshHint();
-        operatorsTable.refresh();
     }
 
     private void updateAvailableVehicles(final LocalDate dep, final LocalDate ret,
@@ -211,23 +202,20 @@ public final class EditTripController {
         }
 
         Vehicle currentVehicle = tripToEdit.getAssignedVehicle();
-        List<Vehicle> allVehicles =
-                tripManager.getAvailableVehicles(dep.atTime(depHour, 0),
-                        ret.atTime(retHour, 0));
-        List<Vehicle> filteredVehicles = new ArrayList<>();
-        for (Vehicle v : allVehicles) {
-            if (v.getRequiredLicence().equals(currentVehicle.getRequiredLicence())
-                    && v.getRequiredOperators()
-                    == currentVehicle.getRequiredOperators()) {
-                filteredVehicles.add(v);
-            }
-        }
-        vehicleCombo.setItems(FXCollections.observableArrayList(filteredVehicles));
-
-        if (currentVehicle != null) {
-            seatCapacity.set(getSeatCount(currentVehicle));
-            refreshHint();
-        }
+        vehicleLoader.load(() -> tripManager.getAvailableVehicles(
+                dep.atTime(depHour, 0), ret.atTime(retHour, 0)), allVehicles -> {
+                    List<Vehicle> filteredVehicles = new ArrayList<>();
+                    for (Vehicle v : allVehicles) {
+                        if (v.getRequiredLicence()
+                                .equals(currentVehicle.getRequiredLicence())
+                                && v.getRequiredOperators()
+                                == currentVehicle.getRequiredOperators()) {
+                            filteredVehicles.add(v);
+                        }
+                    }
+                    vehicleCombo.setItems(
+                            FXCollections.observableArrayList(filteredVehicles));
+                });
     }
 
     private void updateAvailableOperators() {
@@ -243,23 +231,25 @@ public final class EditTripController {
             return;
         }
 
-        List<Employee> availableOperators = tripManager
-                .getAvailableOperatorsExcludeDriverToEdit(depDateTime, retDateTime,
-                        selectedDriver, tripToEdit);
-
-        operatorItems.setAll(availableOperators);
-        Map<Integer, Boolean> oldSelections = new HashMap<>();
-        selectedById.forEach((k, v) -> oldSelections.put(k, v.get()));
-
-        selectedById.clear();
-        for (Employee e : availableOperators) {
-            boolean wasSelected = oldSelections.getOrDefault(e.getEmployeeId(), false);
-            selectedById.put(e.getEmployeeId(), new SimpleBooleanProperty(wasSelected));
-        }
-
-        enforceSeatLimit();
-        refreshHint();
-        operatorsTable.refresh();
+        operatorLoader.load(() -> tripManager.getAvailableOperatorsExcludeDriverToEdit(
+                depDateTime, retDateTime, selectedDriver, tripToEdit),
+                availableOperators -> {
+                    operatorItems.setAll(availableOperators);
+                    Map<Integer, Boolean> oldSelections = new HashMap<>();
+                    selectedById.forEach((k, v) -> oldSelections.put(k, v.get()));
+
+                    selectedById.clear();
+                    for (Employee e : availableOperators) {
+                        boolean wasSelected =
+                                oldSelections.getOrDefault(e.getEmployeeId(), false);
+                        selectedById.put(e.getEmployeeId(),
+                                new SimpleBooleanProperty(wasSelected));
+                    }
+
+                    enforceSeatLimit();
+                    refreshHint();
+                    operatorsTable.refresh();
+                });
     }
 
     private void updateAvailableDrivers() {
@@ -272,28 +262,30 @@ public final class EditTripController {
         Vehicle currentVehicle = vehicleCombo.getValue();
 
         if (depDateTime == null || retDateTime == null || currentVehicle == null) {
+            driverLoader.cancel();
             return;
         }
 
-        List<Employee.Licence> allowedLicences =
-                vehicleManager.getAllowedLicences(currentVehicle);
-        List<Employee> availableDrivers = tripManager
-                .getQualifiedDriversToEdit(depDateTime, retDateTime, allowedLicences,
-                        tripToEdit);
-
-        Employee currentDriver = driverCombo.getValue();
+        driverLoader.load(() -> {
+            List<Employee.Licence> allowedLicences =
+                    vehicleManager.getAllowedLicences(currentVehicle);
+            return tripManager.getQualifiedDriversToEdit(depDateTime, retDateTime,
+                    allowedLicences, tripToEdit);
+        }, availableDrivers -> {
+            Employee currentDriver = driverCombo.getValue();
 
-        driverCombo.getItems().setAll(availableDrivers);
+            driverCombo.getItems().setAll(availableDrivers);
 
-        if (currentDriver != null && availableDrivers.contains(currentDriver)) {
-            driverCombo.setValue(currentDriver);
-        } else if (!availableDrivers.isEmpty()) {
-            driverCombo.setValue(availableDrivers.get(0));
-        }
+            if (currentDriver != null && availableDrivers.contains(currentDriver)) {
+                driverCombo.setValue(currentDriver);
+            } else if (!availableDrivers.isEmpty()) {
+                driverCombo.setValue(availableDrivers.get(0));
+            }
 
-        seatCapacity.set(getSeatCount(currentVehicle));
-        enforceSeatLimit();
-        refreshHint();
+            seatCapacity.set(getSeatCount(currentVehicle));
+            enforceSeatLimit();
+            refreshHint();
+        });
     }
 
     private BooleanProperty selectedPropertyFor(final Employee e) {
@@ -349,79 +341,97 @@ public final class EditTripController {
     }
 
     /**
-     * Handles the update action, validating input and saving the trip changes.
+     * Handles the update action, validating input and saving the trip changes in
+     * the background. Further clicks are ignored while the save is pending.
      *
      * @param event the action event from the update button
      */
     @FXML
     private void handleUpdateTrip(final ActionEvent event) {
-        try {
-            Optional<Trip> originalOpt = tripManager.getTripById(tripToEdit.getTripId());
-            if (originalOpt.isEmpty()) {
-                DialogUtils.showError("Error", "Trip not found.", AppContext.getOwner());
-                return;
-            }
-
-            Trip original = originalOpt.get();
+        if (saveLoader.isLoading()) {
+            return;
+        }
 
-            Vehicle selectedVehicle = vehicleCombo.getValue();
-            Employee selectedDriver = driverCombo.getValue();
+        Vehicle selectedVehicle = vehicleCombo.getValue();
+        Employee selectedDriver = driverCombo.getValue();
 
-            List<Employee> selectedOperators = operatorItems.stream()
-                    .filter(e -> selectedById.getOrDefault(e.getEmployeeId(),
-                            new SimpleBooleanProperty(false)).get())
-                    .toList();
+        List<Employee> selectedOperators = operatorItems.stream()
+                .filter(e -> selectedById.getOrDefault(e.getEmployeeId(),
+                        new SimpleBooleanProperty(false)).get())
+                .toList();
 
-            List<Employee> newOperatorsList = new ArrayList<>();
-            if (selectedDriver != null) {
-                newOperatorsList.add(selectedDriver);
-            }
-            newOperatorsList.addAll(selectedOperators);
-
-            int totalPeople = newOperatorsList.size();
-            int required = seatCapacity.get();
-            if (required > 0) {
-                if (totalPeople < required) {
-                    DialogUtils.showError("Validation error",
-                            "Not enough crew members selected (" + totalPeople + " / "
-                                    + required + ").",
-                            AppContext.getOwner());
-                    return;
-                }
-                if (totalPeople > required) {
-                    DialogUtils.showError("Validation error",
-                            "Too many people for this vehicle (" + totalPeople + " / "
-                                    + required + ").",
-                            AppContext.getOwner());
-                    return;
-                }
+        List<Employee> newOperatorsList = new ArrayList<>();
+        if (selectedDriver != null) {
+            newOperatorsList.add(selectedDriver);
+        }
+        newOperatorsList.addAll(selectedOperators);
+
+        int totalPeople = newOperatorsList.size();
+        int required = seatCapacity.get();
+        if (required > 0) {
+            if (totalPeople < required) {
+                DialogUtils.showError("Validation error",
+                        "Not enough crew members selected (" + totalPeople + " / "
+                                + required + ").",
+                        AppContext.getOwner());
+                return;
             }
-
-            boolean changed = !original.getAssignedVehicle().equals(selectedVehicle)
-                    || !original.getOperators().equals(newOperatorsList);
-
-            if (!changed) {
-                DialogUtils.showError("No changes", "No fields were modified.",
+            if (totalPeople > required) {
+                DialogUtils.showError("Validation error",
+                        "Too many people for this vehicle (" + totalPeople + " / "
+                                + required + ").",
                         AppContext.getOwner());
                 return;
             }
+        }
 
-            tripToEdit.setAssignedVehicle(selectedVehicle);
-            tripToEdit.setOperators(newOperatorsList);
+        saveLoader.load(() -> saveTrip(selectedVehicle, newOperatorsList), outcome -> {
+            switch (outcome) {
+                case NOT_FOUND -> DialogUtils.showError("Error", "Trip not found.",
+                        AppContext.getOwner());
+                case UNCHANGED -> DialogUtils.showError("No changes",
+                        "No fields were modified.", AppContext.getOwner());
+                default -> {
+                    if (tripController != null) {
+                        tripController.loadTrips();
+                    }
+                    DialogUtils.showSuccess("Trip updated successfully.",
+                            AppContext.getOwner());
+                    DialogUtils.closeModal(event);
+                }
+            }
+        });
+    }
 
-            tripManager.updateTrip(tripToEdit);
+    private SaveOutcome saveTrip(final Vehicle vehicle, final List<Employee> crew) {
+        Optional<Trip> originalOpt = tripManager.getTripById(tripToEdit.getTripId());
+        if (originalOpt.isEmpty()) {
+            return SaveOutcome.NOT_FOUND;
+        }
 
-            if (tripController != null) {
-                tripController.loadTrips();
-            }
+        Trip original = originalOpt.get();
+        boolean changed = !original.getAssignedVehicle().equals(vehicle)
+                || !original.getOperators().equals(crew);
+        if (!changed) {
+            return SaveOutcome.UNCHANGED;
+        }
 
-            DialogUtils.showSuccess("Trip updated successfully.", AppContext.getOwner());
-            DialogUtils.closeModal(event);
+        tripToEdit.setAssignedVehicle(vehicle);
+        tripToEdit.setOperators(crew);
+        tripManager.updateTrip(tripToEdit);
+        return SaveOutcome.UPDATED;
+    }
 
-        } catch (IllegalArgumentException e) {
-            DialogUtils.showError("Validation error", e.getMessage(),
+    private void showSaveFailure(final Throwable error) {
+        if (error instanceof IllegalArgumentException) {
+            DialogUtils.showError("Validation error", error.getMessage(),
                     AppContext.getOwner());
+            return;
         }
+        Logger.getLogger(EditTripController.class.getName())
+                .log(Level.SEVERE, "Could not update the trip", error);
+        DialogUtils.showError("Database error",
+                "Could not save trip: " + error.getMessage(), AppContext.getOwner());
     }
 
     /**
@@ -433,4 +443,10 @@ public final class EditTripController {
     private void handleAbortTripEdit(final ActionEvent event) {
         DialogUtils.closeModal(event);
     }
+
+    private enum SaveOutcome {
+        NOT_FOUND,
+        UNCHANGED,
+        UPDATED
+    }
 }
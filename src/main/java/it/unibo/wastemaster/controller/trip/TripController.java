@@ -5,22 +5,25 @@ import it.unibo.wastemaster.controller.collection.CollectionController;
 import it.unibo.wastemaster.controller.main.MainLayoutController;
 import it.unibo.wastemaster.controller.utils.AutoRefreshable;
 import it.unibo.wastemaster.controller.utils.DialogUtils;
-import it.unibo.wastemaster.domain.model.Collection;
+import it.unibo.wastemaster.controller.utils.PagedTableDataSource;
 import it.unibo.wastemaster.domain.model.Employee;
 import it.unibo.wastemaster.domain.model.Trip;
+import it.unibo.wastemaster.domain.model.Trip.TripStatus;
+import it.unibo.wastemaster.domain.repository.PageRequest;
 import it.unibo.wastemaster.domain.service.CollectionManager;
 import it.unibo.wastemaster.domain.service.NotificationService;
 import it.unibo.wastemaster.domain.service.TripManager;
 import it.unibo.wastemaster.domain.service.VehicleManager;
+import it.unibo.wastemaster.presentationdto.CollectionRow;
 import it.unibo.wastemaster.presentationdto.TripRow;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import javafx.animation.Animation;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -32,7 +35,6 @@ import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
 import javafx.scene.control.cell.PropertyValueFactory;
-import javafx.util.Duration;
 
 /**
  * Controller for managing the trips view, including search, filters, and CRUD operations.
@@ -50,8 +52,6 @@ public final class TripController implements AutoRefreshable {
     private static final String FIELD_RETURN = "returnTime";
     private static final String FIELD_STATUS = "status";
     private static final String NAVIGATION_ERROR = "Navigation error";
-    private static final int REFRESH_SECONDS = 30;
-    private final ObservableList<TripRow> allTrips = FXCollections.observableArrayList();
     private final ObservableList<String> activeFilters =
             FXCollections.observableArrayList(
                     FIELD_ID, FIELD_POSTAL_CODES, FIELD_VEHICLE_MODEL,
@@ -61,9 +61,10 @@ public final class TripController implements AutoRefreshable {
     private TripManager tripManager;
     private VehicleManager vehicleManager;
     private CollectionManager collectionManager;
-    private Timeline refreshTimeline;
+    private Runnable stopFollowingChanges;
     private ContextMenu filterMenu;
     private Employee currentUser;
+    private PagedTableDataSource<TripRow, TripRow> tripPages;
 
     @FXML
     private Button showRelatedCollections;
@@ -166,6 +167,25 @@ public final class TripController implements AutoRefreshable {
         returnColumn.setCellValueFactory(new PropertyValueFactory<>(FIELD_RETURN));
         statusColumn.setCellValueFactory(new PropertyValueFactory<>(FIELD_STATUS));
 
+        tripPages = new PagedTableDataSource<>(tripTable,
+                request -> tripManager.getTripPageForCurrentUser(currentUser, request,
+                        TripRow.PROJECTION),
+                Function.identity());
+        tripPages.bindSortColumn(postalCodeColumn, "postalCode");
+        tripPages.bindSortColumn(vehicleCapacityColumn,
+                "assignedVehicle.requiredOperators");
+        tripPages.bindSortColumn(departureColumn, "departureTime");
+        tripPages.bindSortColumn(returnColumn, "expectedReturnTime");
+        tripPages.bindSearchAttribute("tripId", TripRow::getIdAsInt);
+        tripPages.bindSearchAttribute("postalCode", TripRow::getPostalCodes);
+        tripPages.bindSearchAttribute("assignedVehicle.brand", TripRow::getBrand);
+        tripPages.bindSearchAttribute("assignedVehicle.model", TripRow::getModel);
+        tripPages.bindSearchAttribute("assignedVehicle.requiredOperators",
+                TripRow::getRequiredOperators);
+        tripPages.bindSearchAttribute("operators.name", TripRow::getOperatorNames);
+        tripPages.bindSearchAttribute("operators.surname", TripRow::getOperatorSurnames);
+        tripPages.bindSearchAttribute(FIELD_STATUS, TripRow::getTripStatus);
+
         showActiveCheckBox.setSelected(true);
         showCancelledCheckBox.setSelected(false);
         showCompletedCheckBox.setSelected(false);
@@ -227,47 +247,88 @@ public final class TripController implements AutoRefreshable {
      * Refreshes the trip table by applying the current search and filters.
      */
     public void refresh() {
-        handleSearch();
+        loadTrips();
     }
 
     /**
-     * Starts the automatic refresh of the trip table.
+     * Starts applying the changes published by the managers to the trip table,
+     * reloading only the rows that changed.
      */
     @Override
     public void startAutoRefresh() {
-        if (refreshTimeline != null || tripManager == null) {
+        if (stopFollowingChanges != null || tripManager == null) {
             return;
         }
-        refreshTimeline = new Timeline(new KeyFrame(
-                Duration.seconds(REFRESH_SECONDS),
-                event -> loadTrips()));
-        refreshTimeline.setCycleCount(Animation.INDEFINITE);
-        refreshTimeline.play();
+        stopFollowingChanges = tripPages.followChanges(
+                AppContext.getServiceFactory().getEventBus(), Trip.class,
+                "tripId", TripRow::getIdAsInt);
     }
 
     /**
-     * Stops the automatic refresh of the trip table.
+     * Stops applying the published changes to the trip table.
      */
     @Override
     public void stopAutoRefresh() {
-        if (refreshTimeline != null) {
-            refreshTimeline.stop();
-            refreshTimeline = null;
+        if (stopFollowingChanges != null) {
+            stopFollowingChanges.run();
+            stopFollowingChanges = null;
         }
     }
 
+    /**
+     * Shows only the given trip in the table and selects it, as when reaching it
+     * from the global search; resetting the search shows all the trips again.
+     *
+     * @param tripId the id of the trip to show
+     */
+    public void showTrip(final int tripId) {
+        tripPages.show("tripId", tripId);
+    }
+
     /**
      * Loads trips visible to the current user and updates the trip table.
      * Operators see only their assigned trips, while admins and office workers see all
      * trips.
      */
     public void loadTrips() {
-        List<Trip> trips = tripManager.getTripsForCurrentUser(currentUser);
-        allTrips.clear();
-        for (Trip trip : trips) {
-            allTrips.add(new TripRow(trip));
+        tripPages.load(buildPageRequest());
+    }
+
+    private PageRequest buildPageRequest() {
+        Set<TripStatus> statuses = EnumSet.noneOf(TripStatus.class);
+        if (showActiveCheckBox.isSelected()) {
+            statuses.add(TripStatus.ACTIVE);
+        }
+        if (showCancelledCheckBox.isSelected()) {
+            statuses.add(TripStatus.CANCELED);
+        }
+        if (showCompletedCheckBox.isSelected()) {
+            statuses.add(TripStatus.COMPLETED);
+        }
+
+        List<String> attributes = new ArrayList<>();
+        if (activeFilters.contains(FIELD_ID)) {
+            attributes.add("tripId");
+        }
+        if (activeFilters.contains(FIELD_POSTAL_CODES)) {
+            attributes.add("postalCode");
+        }
+        if (activeFilters.contains(FIELD_VEHICLE_MODEL)) {
+            attributes.addAll(List.of("assignedVehicle.brand", "assignedVehicle.model"));
+        }
+        if (activeFilters.contains(FIELD_VEHICLE_CAPACITY)) {
+            attributes.add("assignedVehicle.requiredOperators");
+        }
+        if (activeFilters.contains(FIELD_OPERATORS)) {
+            attributes.addAll(List.of("operators.name", "operators.surname"));
         }
-        handleSearch();
+        if (activeFilters.contains(FIELD_STATUS)) {
+            attributes.add(FIELD_STATUS);
+        }
+
+        return PageRequest.firstPage()
+                .where(FIELD_STATUS, statuses)
+                .search(searchField.getText(), attributes.toArray(new String[0]));
     }
 
     /**
@@ -460,61 +521,12 @@ public final class TripController implements AutoRefreshable {
     }
 
     /**
-     * Handles the search/filtering of trips based on the search field and active filters.
+     * Handles the search of trips based on the search field and active filters,
+     * from the loaded rows when possible.
      */
     @FXML
     private void handleSearch() {
-        String query = searchField.getText().toLowerCase().trim();
-
-        ObservableList<TripRow> base = FXCollections.observableArrayList(allTrips);
-        ObservableList<TripRow> byStatus = FXCollections.observableArrayList();
-        for (TripRow row : base) {
-            if (shouldShowByStatus(row.getStatus())) {
-                byStatus.add(row);
-            }
-        }
-        if (query.isEmpty()) {
-            tripTable.setItems(byStatus);
-            return;
-        }
-
-        ObservableList<TripRow> filtered = FXCollections.observableArrayList();
-        for (TripRow row : byStatus) {
-            if (matchesQuery(row, query)) {
-                filtered.add(row);
-            }
-        }
-        tripTable.setItems(filtered);
-    }
-
-    private boolean shouldShowByStatus(final String status) {
-        if (status == null) {
-            return false;
-        }
-        String s = status.toUpperCase();
-
-        boolean isActive = "ACTIVE".equals(s);
-        boolean isCancelled = "CANCELED".equals(s) || "CANCELLED".equals(s);
-        boolean isCompleted = "COMPLETED".equals(s);
-
-        return (isActive && showActiveCheckBox.isSelected())
-                || (isCancelled && showCancelledCheckBox.isSelected())
-                || (isCompleted && showCompletedCheckBox.isSelected());
-    }
-
-    private boolean matchesQuery(final TripRow row, final String query) {
-        return (activeFilters.contains(FIELD_ID)
-                && row.getId().toLowerCase().contains(query))
-                || (activeFilters.contains(FIELD_POSTAL_CODES)
-                && row.getPostalCodes().toLowerCase().contains(query))
-                || (activeFilters.contains(FIELD_VEHICLE_MODEL)
-                && row.getVehicleModel().toLowerCase().contains(query))
-                || (activeFilters.contains(FIELD_VEHICLE_CAPACITY)
-                && String.valueOf(row.getVehicleCapacity()).contains(query))
-                || (activeFilters.contains(FIELD_OPERATORS)
-                && row.getOperators().toLowerCase().contains(query))
-                || (activeFilters.contains(FIELD_STATUS)
-                && row.getStatus().toLowerCase().contains(query));
+        tripPages.search(buildPageRequest());
     }
 
     /**
@@ -634,7 +646,8 @@ public final class TripController implements AutoRefreshable {
         }
 
         Trip trip = tripOpt.get();
-        List<Collection> collections = tripManager.getCollectionsByTrip(trip);
+        List<CollectionRow> collections =
+                collectionManager.getCollectionRowsByTrip(trip, CollectionRow.PROJECTION);
 
         try {
             MainLayoutController.getInstance().setPageTitle("Trip Related Collections");
@@ -644,7 +657,7 @@ public final class TripController implements AutoRefreshable {
             controller.setTripManager(tripManager);
             controller.setVehicleManager(vehicleManager);
             controller.setCollectionManager(collectionManager);
-            controller.setCollections(collections);
+            controller.setCollectionRows(collections);
 
         } catch (Exception e) {
             DialogUtils.showError("Navigation error",
@@ -0,0 +1,188 @@
+package it.unibo.wastemaster.controller.utils;
+
+import it.unibo.wastemaster.application.context.AppContext;
+import it.unibo.wastemaster.infrastructure.utils.UnitOfWork;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+
+/**
+ * Runs the repository calls of a view off the JavaFX application thread, so a slow
+ * query never freezes the window.
+ * <p>
+ * The work of each request runs on a shared pool of daemon threads, inside its own
+ * unit of work so that lazy associations can still be read while it runs. Its
+ * result is then handed to the application thread. A loader only keeps the latest
+ * request of the view it serves: starting a new one cancels the previous one if
+ * it has not started yet, and discards its result otherwise, so stale data never
+ * overwrites fresh data. The {@link #loadingProperty()} tells whether a request is
+ * pending, to show a loading indicator.
+ * <p>
+ * Apart from {@link #supply(Supplier)}, all methods must be called on the JavaFX
+ * application thread.
+ */
+public final class AsyncLoader {
+
+    /**
+     * Number of threads running the requests of all views.
+     */
+    public static final int WORKERS = 4;
+
+    private static final Logger LOGGER = Logger.getLogger(AsyncLoader.class.getName());
+
+    private static final ExecutorService EXECUTOR =
+            Executors.newFixedThreadPool(WORKERS, newThreadFactory());
+
+    private final ReadOnlyBooleanWrapper loading = new ReadOnlyBooleanWrapper(false);
+    private final Consumer<Throwable> onFailure;
+    private final Executor worker;
+    private final Executor applicationThread;
+    private CompletableFuture<?> pending;
+    private long generation;
+
+    /**
+     * Creates a loader reporting failed requests with an error dialog.
+     */
+    public AsyncLoader() {
+        this(AsyncLoader::showFailure);
+    }
+
+    /**
+     * Creates a loader.
+     *
+     * @param onFailure notified on the application thread with the cause of each
+     * failed request that is still the latest
+     */
+    public AsyncLoader(final Consumer<Throwable> onFailure) {
+        this(onFailure, EXECUTOR, Platform::runLater);
+    }
+
+    /**
+     * Creates a loader running the work and delivering the results on the given
+     * executors, so that tests can run them in place.
+     *
+     * @param onFailure notified with the cause of each failed request that is
+     * still the latest
+     * @param worker runs the work of the requests
+     * @param applicationThread runs the handling of the results
+     */
+    AsyncLoader(final Consumer<Throwable> onFailure, final Executor worker,
+                final Executor applicationThread) {
+        this.onFailure = onFailure;
+        this.worker = worker;
+        this.applicationThread = applicationThread;
+    }
+
+    /**
+     * Runs the given work in the background, in its own unit of work, and
+     * completes the returned future with its result. The future completes on a
+     * background thread.
+     *
+     * @param work the work to run
+     * @param <T> the result type
+     * @return the future result of the work
+     */
+    public static <T> CompletableFuture<T> supply(final Supplier<T> work) {
+        return supply(work, EXECUTOR);
+    }
+
+    /**
+     * Stops the background threads, abandoning the pending requests. Called when
+     * the application exits.
+     */
+    public static void shutdown() {
+        EXECUTOR.shutdownNow();
+    }
+
+    /**
+     * Starts a request replacing the pending one, if any.
+     *
+     * @param work the work to run in the background
+     * @param onSuccess receives the result on the application thread, unless a
+     * newer request was started meanwhile
+     * @param <T> the result type
+     */
+    public <T> void load(final Supplier<T> work, final Consumer<T> onSuccess) {
+        cancel();
+        long request = generation;
+        CompletableFuture<T> future = supply(work, worker);
+        pending = future;
+        loading.set(true);
+        future.whenComplete((result, error) -> applicationThread.execute(() -> {
+            if (request != generation) {
+                return;
+            }
+            pending = null;
+            loading.set(false);
+            if (error == null) {
+                onSuccess.accept(result);
+            } else {
+                onFailure.accept(error instanceof CompletionException
+                        && error.getCause() != null ? error.getCause() : error);
+            }
+        }));
+    }
+
+    /**
+     * Cancels the pending request, if any. Its work is skipped if it has not
+     * started yet, and its result is discarded otherwise.
+     */
+    public void cancel() {
+        generation++;
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+        loading.set(false);
+    }
+
+    /**
+     * Checks whether a request is pending.
+     *
+     * @return true if a request is pending
+     */
+    public boolean isLoading() {
+        return loading.get();
+    }
+
+    /**
+     * Gets the property telling whether a request is pending.
+     *
+     * @return the loading property
+     */
+    public ReadOnlyBooleanProperty loadingProperty() {
+        return loading.getReadOnlyProperty();
+    }
+
+    private static <T> CompletableFuture<T> supply(final Supplier<T> work,
+                                                   final Executor executor) {
+        return CompletableFuture.supplyAsync(() -> UnitOfWork.call(work), executor);
+    }
+
+    private static void showFailure(final Throwable error) {
+        LOGGER.log(Level.WARNING, "Background request failed", error);
+        DialogUtils.showError("Loading error",
+                "Could not load the data:\n" + error.getMessage(),
+                AppContext.getOwner());
+    }
+
+    private static ThreadFactory newThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "ui-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
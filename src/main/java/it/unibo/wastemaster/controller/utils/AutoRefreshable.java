@@ -2,8 +2,8 @@ package it.unibo.wastemaster.controller.utils;
 
 /**
  * Interface for controllers that support automatic data refresh.
- * Implementing classes should provide logic to start and stop periodic refresh
- * operations.
+ * Implementing classes keep their data up to date while the view is shown, for
+ * example by applying the changes published by the managers.
  */
 public interface AutoRefreshable {
 
@@ -0,0 +1,445 @@
+package it.unibo.wastemaster.controller.utils;
+
+import it.unibo.wastemaster.domain.event.DomainEvent;
+import it.unibo.wastemaster.domain.event.DomainEventBus;
+import it.unibo.wastemaster.domain.repository.Page;
+import it.unibo.wastemaster.domain.repository.PageRequest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.util.Duration;
+
+/**
+ * Feeds a {@link TableView} with keyset-paginated rows.
+ * <p>
+ * The first page is loaded when a query is set; further pages are appended when the
+ * user scrolls close to the bottom of the table, so only the rows actually looked at
+ * are ever read from the database. Sorting by a column bound with
+ * {@link #bindSortColumn(TableColumn, String)} reloads the table sorted by the
+ * database; other columns only sort the rows already loaded.
+ * <p>
+ * Pages are read and mapped to rows in the background with an {@link AsyncLoader},
+ * and the rows shown are kept until the new ones arrive. Starting a load discards
+ * the one still pending, and an empty table shows a progress indicator meanwhile.
+ * <p>
+ * Once {@link #followChanges} is called, the changes published by the managers are
+ * applied row by row, so the table stays current without reloading it. Changes
+ * made by another instance of the application, whose entities are not known,
+ * reload the rows already shown instead.
+ * <p>
+ * A query typed by the user is applied through {@link #search(PageRequest)}. Once
+ * all the rows of a query are loaded, they are kept in a {@link SearchIndex} over
+ * the attributes bound with {@link #bindSearchAttribute(String, Function)}, so a
+ * search narrowing that query, such as one more character typed, filters them
+ * locally without reading the database. Other searches are only sent to the
+ * database when the user pauses typing.
+ *
+ * @param <E> the entity type read from the repository
+ * @param <R> the row type displayed by the table
+ */
+public final class PagedTableDataSource<E, R> {
+
+    /**
+     * Fraction of the scroll range after which the next page is loaded.
+     */
+    private static final double LOAD_THRESHOLD = 0.9;
+
+    /**
+     * Pause in typing after which a search that cannot be answered locally is sent
+     * to the database.
+     */
+    private static final Duration SEARCH_DELAY = Duration.millis(200);
+
+    private static final Logger LOGGER =
+            Logger.getLogger(PagedTableDataSource.class.getName());
+
+    private final TableView<R> table;
+    private final Function<PageRequest, Page<E>> pageLoader;
+    private final Function<E, R> rowMapper;
+    private final ObservableList<R> rows = FXCollections.observableArrayList();
+    private final Map<TableColumn<R, ?>, String> sortColumns = new HashMap<>();
+    private final AsyncLoader loader = new AsyncLoader();
+    private final AsyncLoader changeLoader = new AsyncLoader(error -> LOGGER.log(
+            Level.WARNING, "Could not read the changed rows", error));
+    private final Queue<Object> publishedIds = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final AtomicBoolean remoteChange = new AtomicBoolean();
+    private final Set<Object> changedIds = new LinkedHashSet<>();
+    private final SearchIndex<R> index = new SearchIndex<>();
+    private final PauseTransition searchDelay = new PauseTransition(SEARCH_DELAY);
+    private String idAttribute;
+    private Function<R, ?> rowId;
+    private PageRequest query = PageRequest.firstPage();
+    private PageRequest nextRequest;
+    private String sortAttribute;
+    private boolean ascending = true;
+    private PageRequest indexedQuery;
+    private List<R> indexedRows;
+
+    /**
+     * Creates a data source bound to the given table.
+     *
+     * @param table the table to fill
+     * @param pageLoader the function reading a page from the repository, called on
+     * a background thread
+     * @param rowMapper the function converting an entity into a table row, called
+     * on a background thread
+     */
+    public PagedTableDataSource(final TableView<R> table,
+                                final Function<PageRequest, Page<E>> pageLoader,
+                                final Function<E, R> rowMapper) {
+        this.table = table;
+        this.pageLoader = pageLoader;
+        this.rowMapper = rowMapper;
+        table.setItems(rows);
+        table.setSortPolicy(t -> applySort());
+        searchDelay.setOnFinished(event -> reload(query.getPageSize()));
+        Node placeholder = table.getPlaceholder();
+        ProgressIndicator progress = new ProgressIndicator();
+        loader.loadingProperty().addListener((obs, wasLoading, isLoading) ->
+                table.setPlaceholder(isLoading ? progress : placeholder));
+        if (table.getSkin() != null) {
+            attachScrollListener();
+        }
+        table.skinProperty().addListener((obs, oldSkin, newSkin) -> {
+            if (newSkin != null) {
+                attachScrollListener();
+            }
+        });
+    }
+
+    /**
+     * Binds a table column to the attribute path the database sorts by when the
+     * user sorts on that column.
+     *
+     * @param column the table column
+     * @param attribute the attribute path of the entity, must not be nullable
+     */
+    public void bindSortColumn(final TableColumn<R, ?> column, final String attribute) {
+        sortColumns.put(column, attribute);
+    }
+
+    /**
+     * Makes an attribute searchable without reading the database, once all the rows
+     * of a query are loaded.
+     *
+     * @param attribute the attribute path searched by the queries
+     * @param reader reads from a row the value the database searches, an enum,
+     * a collection of the values of a collection association, or a value compared
+     * by its string form
+     */
+    public void bindSearchAttribute(final String attribute,
+                                    final Function<R, ?> reader) {
+        index.bind(attribute, reader);
+        indexedQuery = null;
+    }
+
+    /**
+     * Replaces the current query and loads its first page. The sort selected on the
+     * table, if any, takes precedence over the sort of the query.
+     *
+     * @param request the filters, search and page size to apply
+     */
+    public void load(final PageRequest request) {
+        query = request;
+        reload(query.getPageSize());
+    }
+
+    /**
+     * Replaces the current query with one reading only the row of the given
+     * entity, and selects that row once loaded, for example to reveal the hit of a
+     * global search. Loading a query again shows the other rows.
+     *
+     * @param entityIdAttribute the id attribute of the entity
+     * @param id the id of the entity
+     */
+    public void show(final String entityIdAttribute, final Object id) {
+        query = PageRequest.firstPage().where(entityIdAttribute, id);
+        reload(query.getPageSize(), () -> table.getSelectionModel().selectFirst());
+    }
+
+    /**
+     * Replaces the current query with one typed by the user. If all the rows of the
+     * indexed query are loaded and the new one only narrows its search text, the
+     * rows are filtered immediately from the index; otherwise the query is loaded
+     * once the user pauses typing.
+     *
+     * @param request the filters, search and page size to apply
+     */
+    public void search(final PageRequest request) {
+        query = request;
+        if (narrowsIndexedQuery(effectiveQuery())) {
+            searchDelay.stop();
+            Set<R> matches = index.search(query.getSearchText(),
+                    query.getSearchAttributes());
+            if (indexedRows == null) {
+                indexedRows = new ArrayList<>(rows);
+            }
+            rows.setAll(indexedRows.stream().filter(matches::contains).toList());
+        } else {
+            searchDelay.playFromStart();
+        }
+    }
+
+    /**
+     * Reloads the current query, keeping at least as many rows as currently shown so
+     * a periodic refresh does not collapse the table back to its first page.
+     */
+    public void refresh() {
+        reload(Math.max(rows.size(), query.getPageSize()));
+    }
+
+    /**
+     * Appends the following page, if any, unless a load is already pending.
+     */
+    public void loadNextPage() {
+        if (nextRequest == null || loader.isLoading()) {
+            return;
+        }
+        PageRequest request = nextRequest;
+        int pageSize = query.getPageSize();
+        nextRequest = null;
+        loader.load(() -> fetch(request, pageSize), page -> {
+            rows.addAll(page.rows);
+            index.addAll(page.rows);
+            nextRequest = page.next;
+            if (nextRequest == null) {
+                indexedQuery = effectiveQuery();
+            }
+        });
+    }
+
+    /**
+     * Keeps the table current with the changes published on the bus for the given
+     * entity type, until the returned action is run.
+     * <p>
+     * Only the rows of the changed entities are read again, through the current
+     * query: a row still matching it is replaced, one no longer matching it is
+     * removed, and a new one is appended if all the pages are already loaded, since
+     * it would otherwise come with a later page. Changes published while rows are
+     * being read are merged and read together afterwards. A
+     * {@link DomainEvent.Type#CHANGED_REMOTELY} event refreshes the whole table.
+     *
+     * @param bus the bus the managers publish on
+     * @param entityType the class the entities of the table are published as
+     * @param entityIdAttribute the id attribute of the entity
+     * @param rowIdReader reads the id of the entity from a row
+     * @return the action stopping the updates
+     */
+    public Runnable followChanges(final DomainEventBus bus, final Class<?> entityType,
+                                  final String entityIdAttribute,
+                                  final Function<R, ?> rowIdReader) {
+        this.idAttribute = entityIdAttribute;
+        this.rowId = rowIdReader;
+        return bus.subscribe(entityType, event -> {
+            if (event.getEntityId() == null) {
+                remoteChange.set(true);
+            } else {
+                publishedIds.add(event.getEntityId());
+            }
+            if (drainScheduled.compareAndSet(false, true)) {
+                Platform.runLater(this::drainPublishedIds);
+            }
+        });
+    }
+
+    /**
+     * Gets the rows currently loaded in the table.
+     *
+     * @return the loaded rows
+     */
+    public ObservableList<R> getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the property telling whether a page is being loaded.
+     *
+     * @return the loading property
+     */
+    public ReadOnlyBooleanProperty loadingProperty() {
+        return loader.loadingProperty();
+    }
+
+    private void reload(final int size) {
+        reload(size, () -> { });
+    }
+
+    private void reload(final int size, final Runnable afterLoad) {
+        searchDelay.stop();
+        PageRequest effective = effectiveQuery();
+        PageRequest request = effective.withPageSize(size);
+        int pageSize = query.getPageSize();
+        nextRequest = null;
+        loader.load(() -> fetch(request, pageSize), page -> {
+            rows.setAll(page.rows);
+            nextRequest = page.next;
+            reindex(nextRequest == null ? effective : null);
+            afterLoad.run();
+        });
+    }
+
+    private void reindex(final PageRequest completeQuery) {
+        index.clear();
+        index.addAll(rows);
+        indexedRows = null;
+        indexedQuery = completeQuery;
+    }
+
+    private boolean narrowsIndexedQuery(final PageRequest request) {
+        if (indexedQuery == null || loader.isLoading()
+                || !index.covers(request.getSearchAttributes())
+                || !request.getSearchAttributes()
+                        .equals(indexedQuery.getSearchAttributes())
+                || !request.getFilters().equals(indexedQuery.getFilters())
+                || !Objects.equals(request.getSortAttribute(),
+                        indexedQuery.getSortAttribute())
+                || request.isAscending() != indexedQuery.isAscending()) {
+            return false;
+        }
+        String indexedText = indexedQuery.getSearchText();
+        return indexedText == null || request.getSearchText() != null
+                && request.getSearchText().toLowerCase(Locale.ROOT)
+                        .contains(indexedText.toLowerCase(Locale.ROOT));
+    }
+
+    private void drainPublishedIds() {
+        drainScheduled.set(false);
+        for (Object id = publishedIds.poll(); id != null; id = publishedIds.poll()) {
+            changedIds.add(id);
+        }
+        if (remoteChange.getAndSet(false)) {
+            changedIds.clear();
+            refresh();
+        } else {
+            loadChangedRows();
+        }
+    }
+
+    private void loadChangedRows() {
+        if (changedIds.isEmpty() || changeLoader.isLoading()) {
+            return;
+        }
+        Set<Object> ids = Set.copyOf(changedIds);
+        changedIds.clear();
+        PageRequest request = effectiveQuery().where(idAttribute, ids)
+                .withPageSize(ids.size());
+        changeLoader.load(() -> pageLoader.apply(request).getItems().stream()
+                .map(rowMapper).toList(), changed -> {
+                    applyChanges(ids, changed);
+                    loadChangedRows();
+                });
+    }
+
+    private void applyChanges(final Set<Object> ids, final List<R> changed) {
+        Map<Object, R> byId = new HashMap<>();
+        for (R row : changed) {
+            byId.put(rowId.apply(row), row);
+        }
+        for (int i = rows.size() - 1; i >= 0; i--) {
+            Object id = rowId.apply(rows.get(i));
+            if (ids.contains(id)) {
+                R row = byId.remove(id);
+                if (row == null) {
+                    index.remove(rows.remove(i));
+                } else {
+                    index.replace(rows.set(i, row), row);
+                }
+            }
+        }
+        boolean complete = nextRequest == null && !loader.isLoading();
+        if (complete) {
+            rows.addAll(byId.values());
+            index.addAll(byId.values());
+        }
+        if (indexedRows != null) {
+            // The rows were read through the narrowed query, so only the rows shown
+            // are known to be current: they become the indexed ones.
+            reindex(complete ? effectiveQuery() : null);
+        }
+    }
+
+    private LoadedPage<R> fetch(final PageRequest request, final int pageSize) {
+        Page<E> page = pageLoader.apply(request);
+        return new LoadedPage<>(page.getItems().stream().map(rowMapper).toList(),
+                page.nextPage().map(next -> next.withPageSize(pageSize))
+                        .orElse(null));
+    }
+
+    private PageRequest effectiveQuery() {
+        return sortAttribute == null ? query : query.sortBy(sortAttribute, ascending);
+    }
+
+    private boolean applySort() {
+        String attribute = null;
+        boolean ascendingOrder = true;
+        if (!table.getSortOrder().isEmpty()) {
+            TableColumn<R, ?> column = table.getSortOrder().get(0);
+            attribute = sortColumns.get(column);
+            ascendingOrder = column.getSortType() == TableColumn.SortType.ASCENDING;
+            if (attribute == null) {
+                return TableView.DEFAULT_SORT_POLICY.call(table);
+            }
+        }
+        boolean changed = !Objects.equals(attribute, sortAttribute)
+                || ascendingOrder != ascending;
+        if (changed) {
+            sortAttribute = attribute;
+            ascending = ascendingOrder;
+            reload(query.getPageSize());
+        }
+        return true;
+    }
+
+    private void attachScrollListener() {
+        for (Node node : table.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar bar
+                    && bar.getOrientation() == Orientation.VERTICAL) {
+                bar.valueProperty().addListener((obs, oldValue, newValue) -> {
+                    if (newValue.doubleValue() >= bar.getMax() * LOAD_THRESHOLD) {
+                        loadNextPage();
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * The rows of a page read in the background, and the request of the page
+     * following it.
+     *
+     * @param <R> the row type
+     */
+    private static final class LoadedPage<R> {
+
+        private final List<R> rows;
+        private final PageRequest next;
+
+        private LoadedPage(final List<R> rows, final PageRequest next) {
+            this.rows = rows;
+            this.next = next;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package it.unibo.wastemaster.controller.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * In-memory inverted index of the rows loaded in a table, answering a text search
+ * without scanning every row.
+ * <p>
+ * The text of each searchable attribute of a row is split into trigrams, the
+ * overlapping sequences of three characters, and every trigram points to the rows
+ * containing it. A search intersects the rows of the trigrams of the text, then
+ * checks each remaining row, so only rows sharing all the trigrams are ever
+ * compared. Rows are added, replaced and removed one by one as the table changes.
+ * <p>
+ * Matching follows the search of the repositories: a row matches if the text,
+ * ignoring case, is contained in the value of one of the searched attributes. An
+ * enum matches on its name with spaces for underscores and on its label, a
+ * collection on any of its elements, and any other value on its string form.
+ *
+ * @param <R> the row type, compared by identity
+ */
+public final class SearchIndex<R> {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<String, Function<R, ?>> readers = new LinkedHashMap<>();
+    private final Map<R, Integer> slots = new IdentityHashMap<>();
+    private final List<Map<String, List<String>>> texts = new ArrayList<>();
+    private final List<R> slotRows = new ArrayList<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final BitSet occupied = new BitSet();
+    private final Map<String, BitSet> postings = new HashMap<>();
+
+    /**
+     * Makes an attribute searchable. The rows already indexed are dropped, since
+     * their value for the attribute is not known.
+     *
+     * @param attribute the attribute path, as used in the search requests
+     * @param reader the function reading the value of the attribute from a row
+     */
+    public void bind(final String attribute, final Function<R, ?> reader) {
+        readers.put(attribute, reader);
+        clear();
+    }
+
+    /**
+     * Tells whether the index can search the given attributes.
+     *
+     * @param attributes the attribute paths
+     * @return true if all of them have a reader
+     */
+    public boolean covers(final Collection<String> attributes) {
+        return readers.keySet().containsAll(attributes);
+    }
+
+    /**
+     * Adds rows to the index.
+     *
+     * @param rows the rows to add
+     */
+    public void addAll(final Collection<? extends R> rows) {
+        rows.forEach(this::add);
+    }
+
+    /**
+     * Adds a row to the index. Does nothing if the row is already indexed.
+     *
+     * @param row the row to add
+     */
+    public void add(final R row) {
+        if (slots.containsKey(row)) {
+            return;
+        }
+        Integer free = freeSlots.poll();
+        int slot = free == null ? slotRows.size() : free;
+        Map<String, List<String>> values = readValues(row);
+        if (free == null) {
+            slotRows.add(row);
+            texts.add(values);
+        } else {
+            slotRows.set(slot, row);
+            texts.set(slot, values);
+        }
+        slots.put(row, slot);
+        occupied.set(slot);
+        for (String gram : grams(values)) {
+            postings.computeIfAbsent(gram, g -> new BitSet()).set(slot);
+        }
+    }
+
+    /**
+     * Removes a row from the index. Does nothing if the row is not indexed.
+     *
+     * @param row the row to remove
+     */
+    public void remove(final R row) {
+        Integer slot = slots.remove(row);
+        if (slot == null) {
+            return;
+        }
+        for (String gram : grams(texts.get(slot))) {
+            BitSet rows = postings.get(gram);
+            rows.clear(slot);
+            if (rows.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+        slotRows.set(slot, null);
+        texts.set(slot, null);
+        occupied.clear(slot);
+        freeSlots.push(slot);
+    }
+
+    /**
+     * Replaces a row with its new version.
+     *
+     * @param oldRow the row to remove
+     * @param newRow the row to add
+     */
+    public void replace(final R oldRow, final R newRow) {
+        remove(oldRow);
+        add(newRow);
+    }
+
+    /**
+     * Removes all the rows.
+     */
+    public void clear() {
+        slots.clear();
+        texts.clear();
+        slotRows.clear();
+        freeSlots.clear();
+        occupied.clear();
+        postings.clear();
+    }
+
+    /**
+     * Finds the indexed rows matching a text on any of the given attributes.
+     *
+     * @param text the text to search, all rows match if null
+     * @param attributes the attribute paths to search, all rows match if empty
+     * @return the matching rows
+     * @throws IllegalArgumentException if an attribute has no reader
+     */
+    public Set<R> search(final String text, final Collection<String> attributes) {
+        if (!covers(attributes)) {
+            throw new IllegalArgumentException("Attributes not indexed: " + attributes);
+        }
+        if (text == null || attributes.isEmpty()) {
+            return new HashSet<>(slots.keySet());
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        BitSet candidates = (BitSet) occupied.clone();
+        for (int i = 0; i + GRAM_LENGTH <= lower.length(); i++) {
+            BitSet rows = postings.get(lower.substring(i, i + GRAM_LENGTH));
+            if (rows == null) {
+                return new HashSet<>();
+            }
+            candidates.and(rows);
+        }
+        Set<R> matches = new HashSet<>();
+        for (int slot = candidates.nextSetBit(0); slot >= 0;
+                slot = candidates.nextSetBit(slot + 1)) {
+            if (matches(texts.get(slot), lower, attributes)) {
+                matches.add(slotRows.get(slot));
+            }
+        }
+        return matches;
+    }
+
+    private static boolean matches(final Map<String, List<String>> values,
+                                   final String text,
+                                   final Collection<String> attributes) {
+        for (String attribute : attributes) {
+            for (String value : values.get(attribute)) {
+                if (value.contains(text)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private Map<String, List<String>> readValues(final R row) {
+        Map<String, List<String>> values = new HashMap<>();
+        readers.forEach((attribute, reader) -> {
+            List<String> strings = new ArrayList<>();
+            Object value = reader.apply(row);
+            if (value instanceof Collection<?> elements) {
+                elements.forEach(element -> addText(strings, element));
+            } else {
+                addText(strings, value);
+            }
+            values.put(attribute, strings);
+        });
+        return values;
+    }
+
+    private static void addText(final List<String> strings, final Object value) {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof Enum<?> constant
+                ? constant.name().replace('_', ' ') + " " + constant
+                : String.valueOf(value);
+        strings.add(text.toLowerCase(Locale.ROOT));
+    }
+
+    private static Set<String> grams(final Map<String, List<String>> values) {
+        Set<String> grams = new HashSet<>();
+        for (List<String> strings : values.values()) {
+            for (String text : strings) {
+                for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+                    grams.add(text.substring(i, i + GRAM_LENGTH));
+                }
+            }
+        }
+        return grams;
+    }
+}
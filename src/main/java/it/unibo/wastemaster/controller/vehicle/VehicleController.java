@@ -4,16 +4,16 @@ import it.unibo.wastemaster.application.context.AppContext;
 import it.unibo.wastemaster.controller.main.MainLayoutController;
 import it.unibo.wastemaster.controller.utils.AutoRefreshable;
 import it.unibo.wastemaster.controller.utils.DialogUtils;
+import it.unibo.wastemaster.controller.utils.PagedTableDataSource;
 import it.unibo.wastemaster.domain.model.Vehicle;
+import it.unibo.wastemaster.domain.repository.PageRequest;
 import it.unibo.wastemaster.domain.service.VehicleManager;
 import it.unibo.wastemaster.presentationdto.VehicleRow;
 import java.io.IOException;
 import java.time.LocalDate;
-import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import javafx.animation.Animation;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import java.util.function.Function;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -29,7 +29,6 @@ import javafx.scene.control.TextField;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.input.MouseEvent;
 import javafx.stage.Stage;
-import javafx.util.Duration;
 
 /**
  * Controller for managing the vehicle view.
@@ -40,7 +39,6 @@ import javafx.util.Duration;
  */
 public final class VehicleController implements AutoRefreshable {
 
-    private static final int REFRESH_INTERVAL_SECONDS = 30;
     private static final String PLATE = "plate";
     private static final String BRAND = "brand";
     private static final String MODEL = "model";
@@ -51,14 +49,22 @@ public final class VehicleController implements AutoRefreshable {
     private static final String NEXT_MAINTENANCE_DATE = "nextMaintenanceDate";
     private static final String REGISTRATION_YEAR = "registrationYear";
     private static final String REQUIRED_OPERATORS = "requiredOperators";
-    private final ObservableList<VehicleRow> allVehicles =
-            FXCollections.observableArrayList();
+    private static final Map<String, String> SEARCH_ATTRIBUTES = Map.of(
+            PLATE, PLATE,
+            BRAND, BRAND,
+            MODEL, MODEL,
+            YEAR, REGISTRATION_YEAR,
+            LICENCE_TYPE, "requiredLicence",
+            VEHICLE_STATUS, VEHICLE_STATUS,
+            LAST_MAINTENANCE_DATE, LAST_MAINTENANCE_DATE,
+            NEXT_MAINTENANCE_DATE, NEXT_MAINTENANCE_DATE);
     private final ObservableList<String> activeFilters =
             FXCollections.observableArrayList(PLATE, BRAND, MODEL, YEAR, LICENCE_TYPE,
                     VEHICLE_STATUS, LAST_MAINTENANCE_DATE, NEXT_MAINTENANCE_DATE);
-    private Timeline refreshTimeline;
+    private Runnable stopFollowingChanges;
     private ContextMenu filterMenu;
     private VehicleManager vehicleManager;
+    private PagedTableDataSource<VehicleRow, VehicleRow> vehiclePages;
 
     @FXML
     private TextField searchField;
@@ -142,6 +148,26 @@ public final class VehicleController implements AutoRefreshable {
         setLastMaintenanceDateCellFactory();
         setNextMaintenanceDateCellFactory();
 
+        vehiclePages = new PagedTableDataSource<>(vehicleTable,
+                request -> vehicleManager.getVehiclePage(request, VehicleRow.PROJECTION),
+                Function.identity());
+        vehiclePages.bindSortColumn(plateColumn, PLATE);
+        vehiclePages.bindSortColumn(brandColumn, BRAND);
+        vehiclePages.bindSortColumn(modelColumn, MODEL);
+        vehiclePages.bindSortColumn(yearColumn, REGISTRATION_YEAR);
+        vehiclePages.bindSortColumn(requiredOperatorColumn, REQUIRED_OPERATORS);
+        vehiclePages.bindSearchAttribute(PLATE, VehicleRow::getPlate);
+        vehiclePages.bindSearchAttribute(BRAND, VehicleRow::getBrand);
+        vehiclePages.bindSearchAttribute(MODEL, VehicleRow::getModel);
+        vehiclePages.bindSearchAttribute(REGISTRATION_YEAR,
+                VehicleRow::getRegistrationYear);
+        vehiclePages.bindSearchAttribute("requiredLicence", VehicleRow::getLicenceType);
+        vehiclePages.bindSearchAttribute(VEHICLE_STATUS, VehicleRow::getVehicleStatus);
+        vehiclePages.bindSearchAttribute(LAST_MAINTENANCE_DATE,
+                VehicleRow::getLastMaintenanceDate);
+        vehiclePages.bindSearchAttribute(NEXT_MAINTENANCE_DATE,
+                VehicleRow::getNextMaintenanceDate);
+
         editVehicleButton.setDisable(true);
         deleteVehicleButton.setDisable(true);
 
@@ -274,47 +300,53 @@ public final class VehicleController implements AutoRefreshable {
     }
 
     /**
-     * Starts the automatic refresh of the vehicle table.
+     * Starts applying the changes published by the managers to the vehicle table,
+     * reloading only the rows that changed.
      */
     @Override
     public void startAutoRefresh() {
-        if (refreshTimeline != null || vehicleManager == null) {
+        if (stopFollowingChanges != null || vehicleManager == null) {
             return;
         }
-        refreshTimeline =
-                new Timeline(new KeyFrame(Duration.seconds(REFRESH_INTERVAL_SECONDS),
-                        event -> loadVehicles()));
-        refreshTimeline.setCycleCount(Animation.INDEFINITE);
-        refreshTimeline.play();
+        stopFollowingChanges = vehiclePages.followChanges(
+                AppContext.getServiceFactory().getEventBus(), Vehicle.class,
+                "vehicleId", VehicleRow::getVehicleId);
     }
 
     /**
-     * Stops the automatic refresh of the vehicle table.
+     * Stops applying the published changes to the vehicle table.
      */
     @Override
     public void stopAutoRefresh() {
-        if (refreshTimeline != null) {
-            refreshTimeline.stop();
-            refreshTimeline = null;
+        if (stopFollowingChanges != null) {
+            stopFollowingChanges.run();
+            stopFollowingChanges = null;
         }
     }
 
     /**
-     * Loads all vehicles from the manager and updates the table.
+     * Shows only the given vehicle in the table and selects it, as when reaching it
+     * from the global search; resetting the search shows all the vehicles again.
+     *
+     * @param vehicleId the id of the vehicle to show
      */
-    private void loadVehicles() {
-        List<Vehicle> vehicles = vehicleManager.findAllVehicle();
-        allVehicles.clear();
-
-        for (Vehicle vehicle : vehicles) {
-            allVehicles.add(new VehicleRow(vehicle));
-        }
+    public void showVehicle(final int vehicleId) {
+        vehiclePages.show("vehicleId", vehicleId);
+    }
 
-        vehicleTable.setItems(FXCollections.observableArrayList(allVehicles));
+    /**
+     * Loads the first page of vehicles matching the current search and updates the
+     * table; further pages are loaded while scrolling.
+     */
+    private void loadVehicles() {
+        vehiclePages.load(buildPageRequest());
+    }
 
-        if (!searchField.getText().isBlank()) {
-            handleSearch();
-        }
+    private PageRequest buildPageRequest() {
+        String[] attributes = activeFilters.stream()
+                .map(SEARCH_ATTRIBUTES::get)
+                .toArray(String[]::new);
+        return PageRequest.firstPage().search(searchField.getText(), attributes);
     }
 
     /**
@@ -502,41 +534,11 @@ public final class VehicleController implements AutoRefreshable {
 
     /**
      * Handles the search/filtering of vehicles based on the search field and active
-     * filters.
+     * filters, from the loaded rows when possible and from the database otherwise.
      */
     @FXML
     private void handleSearch() {
-        String query = searchField.getText().toLowerCase().trim();
-        if (query.isEmpty()) {
-            vehicleTable.setItems(FXCollections.observableArrayList(allVehicles));
-            return;
-        }
-        ObservableList<VehicleRow> filtered = FXCollections.observableArrayList();
-
-        for (VehicleRow row : allVehicles) {
-            if ((activeFilters.contains(PLATE)
-                    && row.getPlate().toLowerCase().contains(query))
-                    || (activeFilters.contains(BRAND)
-                    && row.getBrand().toLowerCase().contains(query))
-                    || (activeFilters.contains(MODEL)
-                    && row.getModel().toLowerCase().contains(query))
-                    || (activeFilters.contains(YEAR)
-                    && String.valueOf(row.getRegistrationYear()).contains(query))
-                    || (activeFilters.contains(LICENCE_TYPE)
-                    && row.getLicenceType().name().equalsIgnoreCase(query))
-                    || (activeFilters.contains(VEHICLE_STATUS)
-                    && formatEnum(row.getVehicleStatus()).toLowerCase()
-                    .contains(query))
-                    || (activeFilters.contains(LAST_MAINTENANCE_DATE)
-                    && row.getLastMaintenanceDate().toString().toLowerCase()
-                    .contains(query))
-                    || (activeFilters.contains(NEXT_MAINTENANCE_DATE)
-                    && row.getNextMaintenanceDate().toString().toLowerCase()
-                    .contains(query))) {
-                filtered.add(row);
-            }
-        }
-        vehicleTable.setItems(filtered);
+        vehiclePages.search(buildPageRequest());
     }
 
     /**
@@ -2,8 +2,10 @@ package it.unibo.wastemaster.controller.waste;
 
 import it.unibo.wastemaster.application.context.AppContext;
 import it.unibo.wastemaster.controller.main.MainLayoutController;
+import it.unibo.wastemaster.controller.utils.AsyncLoader;
 import it.unibo.wastemaster.controller.utils.AutoRefreshable;
 import it.unibo.wastemaster.controller.utils.DialogUtils;
+import it.unibo.wastemaster.domain.event.DomainEvent;
 import it.unibo.wastemaster.domain.model.Waste;
 import it.unibo.wastemaster.domain.model.WasteSchedule;
 import it.unibo.wastemaster.domain.service.WasteManager;
@@ -11,11 +13,17 @@ import it.unibo.wastemaster.domain.service.WasteScheduleManager;
 import it.unibo.wastemaster.presentationdto.WasteRow;
 import java.io.IOException;
 import java.time.DayOfWeek;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import javafx.animation.Animation;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -27,21 +35,25 @@ import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.Stage;
-import javafx.util.Duration;
 
 /**
  * Controller for managing the waste types and their collection schedules.
  * Handles loading, displaying, searching, filtering, adding, editing, and deleting
  * waste types and programs.
- * Supports periodic automatic refresh of the waste list and interaction with the
- * JavaFX UI.
+ * Reads again in the background the rows of the wastes whose data or program
+ * changes, and handles the interaction with the JavaFX UI.
  */
 public final class WasteController implements AutoRefreshable {
 
-    private static final int REFRESH_INTERVAL_SECONDS = 30;
     private static final String ERROR_TITLE = "Error";
     private final ObservableList<WasteRow> allWastes =
             FXCollections.observableArrayList();
+    private final Queue<Object> publishedIds = new ConcurrentLinkedQueue<>();
+    private final Set<Integer> changedIds = new HashSet<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final AtomicBoolean remoteChange = new AtomicBoolean();
+    private final AsyncLoader loader = new AsyncLoader();
+    private final AsyncLoader changeLoader = new AsyncLoader();
 
     @FXML
     private Button addWasteButton;
@@ -85,7 +97,7 @@ public final class WasteController implements AutoRefreshable {
     @FXML
     private TableColumn<WasteRow, DayOfWeek> dayOfWeekColumn;
 
-    private Timeline refreshTimeline;
+    private Runnable stopFollowingChanges;
     private WasteManager wasteManager;
     private WasteScheduleManager wasteScheduleManager;
 
@@ -171,56 +183,155 @@ public final class WasteController implements AutoRefreshable {
     }
 
     /**
-     * Starts the automatic refresh of the waste list every fixed interval.
+     * Starts following the changes of the wastes and their programs. Only the rows
+     * of the changed wastes are read again; the whole list is reloaded when the
+     * wastes were changed by another instance of the application.
      */
     @Override
     public void startAutoRefresh() {
-        if (refreshTimeline != null || wasteManager == null
+        if (stopFollowingChanges != null || wasteManager == null
                 || wasteScheduleManager == null) {
             return;
         }
-        refreshTimeline = new Timeline(
-                new KeyFrame(Duration.seconds(REFRESH_INTERVAL_SECONDS),
-                        event -> loadWastes()));
-        refreshTimeline.setCycleCount(Animation.INDEFINITE);
-        refreshTimeline.play();
+        stopFollowingChanges = AppContext.getServiceFactory().getEventBus()
+                .subscribe(Waste.class, event -> {
+                    if (event.getType() == DomainEvent.Type.CHANGED_REMOTELY
+                            || event.getEntityId() == null) {
+                        remoteChange.set(true);
+                    } else {
+                        publishedIds.add(event.getEntityId());
+                    }
+                    if (drainScheduled.compareAndSet(false, true)) {
+                        Platform.runLater(this::drainPublishedIds);
+                    }
+                });
     }
 
     /**
-     * Stops the automatic refresh if it is running.
+     * Stops following the changes of the wastes.
      */
     @Override
     public void stopAutoRefresh() {
-        if (refreshTimeline != null) {
-            refreshTimeline.stop();
-            refreshTimeline = null;
+        if (stopFollowingChanges != null) {
+            stopFollowingChanges.run();
+            stopFollowingChanges = null;
+        }
+    }
+
+    private void drainPublishedIds() {
+        drainScheduled.set(false);
+        for (Object id = publishedIds.poll(); id != null; id = publishedIds.poll()) {
+            if (id instanceof Integer wasteId) {
+                changedIds.add(wasteId);
+            }
+        }
+        if (stopFollowingChanges == null) {
+            changedIds.clear();
+            remoteChange.set(false);
+        } else if (remoteChange.getAndSet(false)) {
+            changedIds.clear();
+            loadWastes();
+        } else {
+            loadChangedRows();
         }
     }
 
     /**
-     * Loads all waste types and their schedules, updating the table.
+     * Reads again the rows of the changed wastes, one batch at a time: the changes
+     * published while a batch is being read are read together afterwards.
      */
-    private void loadWastes() {
-        List<Waste> wastes = wasteManager.getActiveWastes();
-        allWastes.clear();
-
-        for (Waste waste : wastes) {
-            WasteSchedule schedule = null;
-            try {
-                schedule = wasteScheduleManager.getWasteScheduleByWaste(waste);
-            } catch (IllegalStateException ignored) {
-                // It's acceptable if no schedule exists for this waste; skip it.
-            }
-            allWastes.add(new WasteRow(waste, schedule));
+    private void loadChangedRows() {
+        if (changedIds.isEmpty() || changeLoader.isLoading()) {
+            return;
         }
+        Set<Integer> ids = Set.copyOf(changedIds);
+        changedIds.clear();
+        changeLoader.load(() -> readWasteRows(ids), changed -> {
+            applyChanges(ids, changed);
+            loadChangedRows();
+        });
+    }
 
-        wasteTable.setItems(FXCollections.observableArrayList(allWastes));
+    /**
+     * Replaces the rows of the changed wastes still active, removes those of the
+     * deleted ones and appends those of the new ones.
+     *
+     * @param ids the ids of the changed wastes
+     * @param changed the rows read again for them
+     */
+    private void applyChanges(final Set<Integer> ids, final List<WasteRow> changed) {
+        Map<Integer, WasteRow> byId = new HashMap<>();
+        for (WasteRow row : changed) {
+            byId.put(row.getWaste().getWasteId(), row);
+        }
+        for (int i = allWastes.size() - 1; i >= 0; i--) {
+            Integer id = allWastes.get(i).getWaste().getWasteId();
+            if (ids.contains(id)) {
+                WasteRow row = byId.remove(id);
+                if (row == null) {
+                    allWastes.remove(i);
+                } else {
+                    allWastes.set(i, row);
+                }
+            }
+        }
+        allWastes.addAll(byId.values());
+        handleSearch();
+    }
 
-        if (!searchField.getText().isBlank()) {
-            handleSearch();
+    /**
+     * Reloads the whole list after a change made from this view, unless the list
+     * follows the changes and only reads again the changed row.
+     */
+    private void refreshAfterEdit() {
+        if (stopFollowingChanges == null) {
+            loadWastes();
         }
     }
 
+    private void loadWastes() {
+        loader.load(this::readWasteRows, rows -> {
+            allWastes.setAll(rows);
+            wasteTable.setItems(FXCollections.observableArrayList(allWastes));
+
+            if (!searchField.getText().isBlank()) {
+                handleSearch();
+            }
+        });
+    }
+
+    /**
+     * Reads the active wastes and their programs, with one query for all the
+     * programs. Wastes without a program get a row without a day.
+     *
+     * @return the rows of the table
+     */
+    private List<WasteRow> readWasteRows() {
+        return toRows(wasteManager.getActiveWastes());
+    }
+
+    /**
+     * Reads the given wastes, dropping the deleted ones, and their programs.
+     *
+     * @param ids the ids of the wastes
+     * @return the rows of the wastes still active
+     */
+    private List<WasteRow> readWasteRows(final Collection<Integer> ids) {
+        return toRows(ids.stream()
+                .map(wasteManager::getWasteById)
+                .flatMap(Optional::stream)
+                .filter(waste -> !waste.isDeleted())
+                .toList());
+    }
+
+    private List<WasteRow> toRows(final List<Waste> wastes) {
+        Map<Integer, WasteSchedule> schedules =
+                wasteScheduleManager.getWasteSchedulesByWastes(wastes);
+        return wastes.stream()
+                .map(waste -> new WasteRow(waste, schedules.get(waste.getWasteId())))
+                .toList();
+    }
+
     /**
      * Handles the action for adding a new waste type.
      */
@@ -240,7 +351,7 @@ public final class WasteController implements AutoRefreshable {
                             });
 
             if (controllerOpt.isPresent()) {
-                loadWastes();
+                refreshAfterEdit();
             }
         } catch (final IOException e) {
             DialogUtils.showError(
@@ -278,7 +389,7 @@ public final class WasteController implements AutoRefreshable {
                             });
 
             if (controllerOpt.isPresent()) {
-                loadWastes();
+                refreshAfterEdit();
             }
         } catch (final IOException e) {
             DialogUtils.showError(
@@ -327,7 +438,7 @@ public final class WasteController implements AutoRefreshable {
                 final DayOfWeek newDay = controllerOpt.get().getSelectedDay();
                 if (newDay != null && !newDay.equals(schedule.getDayOfWeek())) {
                     wasteScheduleManager.changeCollectionDay(schedule, newDay);
-                    loadWastes();
+                    refreshAfterEdit();
                 }
             }
         } catch (final IOException e) {
@@ -368,7 +479,7 @@ public final class WasteController implements AutoRefreshable {
                 wasteScheduleManager.deleteSchedule(schedule);
             }
             wasteManager.softDeleteWaste(selected.getWaste());
-            loadWastes();
+            refreshAfterEdit();
         } catch (Exception e) {
             DialogUtils.showError(
                     ERROR_TITLE, "Failed to delete waste or its schedule.",
@@ -403,7 +514,7 @@ public final class WasteController implements AutoRefreshable {
             WasteSchedule schedule =
                     wasteScheduleManager.getWasteScheduleByWaste(selected.getWaste());
             wasteScheduleManager.deleteSchedule(schedule);
-            loadWastes();
+            refreshAfterEdit();
         } catch (Exception e) {
             DialogUtils.showError(
                     ERROR_TITLE, "Failed to delete the program.",
@@ -0,0 +1,117 @@
+package it.unibo.wastemaster.database;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Snapshot of the hit, miss and put counts of one second-level cache region.
+ * <p>
+ * Counts are collected by Hibernate when {@code hibernate.generate_statistics} is
+ * enabled; the same figures are also published over JMX by the cache provider.
+ */
+public final class CacheStatistics {
+
+    private final String region;
+    private final long hitCount;
+    private final long missCount;
+    private final long putCount;
+    private final long elementCount;
+
+    private CacheStatistics(final String region, final CacheRegionStatistics stats) {
+        this.region = region;
+        this.hitCount = stats.getHitCount();
+        this.missCount = stats.getMissCount();
+        this.putCount = stats.getPutCount();
+        this.elementCount = stats.getElementCountInMemory();
+    }
+
+    /**
+     * Reads the current statistics of every second-level cache region of the given
+     * factory, sorted by region name.
+     *
+     * @param emf the entity manager factory whose cache is inspected
+     * @return one snapshot per region, empty if statistics are disabled
+     */
+    public static List<CacheStatistics> of(final EntityManagerFactory emf) {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        List<CacheStatistics> result = new ArrayList<>();
+        if (!statistics.isStatisticsEnabled()) {
+            return result;
+        }
+        String[] regions = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regions);
+        for (String region : regions) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats != null) {
+                result.add(new CacheStatistics(region, stats));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the name of the cache region.
+     *
+     * @return the region name
+     */
+    public String getRegion() {
+        return region;
+    }
+
+    /**
+     * Gets the number of lookups served by the region.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of lookups that had to go to the database.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets the number of entries stored in the region.
+     *
+     * @return the put count
+     */
+    public long getPutCount() {
+        return putCount;
+    }
+
+    /**
+     * Gets the number of entries currently held in memory, if known.
+     *
+     * @return the element count, or a negative value if not supported
+     */
+    public long getElementCount() {
+        return elementCount;
+    }
+
+    /**
+     * Gets the fraction of lookups served by the region.
+     *
+     * @return the hit ratio between 0 and 1, or 0 if no lookup was made
+     */
+    public double getHitRatio() {
+        long lookups = hitCount + missCount;
+        return lookups == 0 ? 0 : (double) hitCount / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: hits=%d, misses=%d, puts=%d, ratio=%.2f",
+                region, hitCount, missCount, putCount, getHitRatio());
+    }
+}
@@ -0,0 +1,272 @@
+package it.unibo.wastemaster.database;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import org.hibernate.Session;
+
+/**
+ * Applies the versioned SQL migrations stored under {@code db/migration} to the
+ * database of the application, replacing the schema updates previously performed by
+ * Hibernate.
+ * <p>
+ * Applied versions are recorded in the {@code schema_version} table, so each script
+ * runs exactly once and in version order. A database created before migrations were
+ * introduced is recognised by its existing tables and baselined at version 1 without
+ * running the baseline script.
+ * <p>
+ * Most migrations are SQL scripts. Those depending on the data already stored, such
+ * as the start of a sequence, are written in Java and listed alongside them.
+ */
+public final class SchemaMigrator {
+
+    private static final String MIGRATION_PATH = "/db/migration/";
+    private static final List<Migration> MIGRATIONS = List.of(
+            script("V1__baseline_schema.sql"),
+            script("V2__hot_query_indexes.sql"),
+            script("V3__recurring_schedule_horizon.sql"),
+            script("V4__route_sequencing.sql"),
+            script("V5__customer_balance.sql"),
+            script("V6__money_in_cents.sql"),
+            script("V7__tariffs.sql"),
+            script("V8__change_versions.sql"),
+            new Migration("V9__missing_id_sequences",
+                    SchemaMigrator::createMissingIdSequences),
+            script("V10__changed_rows.sql"));
+    private static final int BASELINE_VERSION = 1;
+    private static final String BASELINE_TABLE = "collections";
+
+    /**
+     * Allocation size of the id sequences, as declared by the entities using them.
+     */
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private SchemaMigrator() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Brings the database behind the given factory up to the latest migration.
+     *
+     * @param emf the entity manager factory of the application
+     */
+    public static void migrate(final EntityManagerFactory emf) {
+        migrate(emf, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Brings the database behind the given factory up to the given migration, so
+     * that tests can start from the schema of an older version.
+     *
+     * @param emf the entity manager factory of the application
+     * @param targetVersion the last version to apply
+     */
+    static void migrate(final EntityManagerFactory emf, final int targetVersion) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.unwrap(Session.class).doWork(
+                    connection -> applyMigrations(connection, targetVersion));
+        } finally {
+            em.close();
+        }
+    }
+
+    private static void applyMigrations(final Connection connection,
+                                        final int targetVersion)
+            throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(true);
+        try {
+            createHistoryTable(connection);
+            Set<Integer> applied = appliedVersions(connection);
+            if (applied.isEmpty() && tableExists(connection, BASELINE_TABLE)) {
+                record(connection, BASELINE_VERSION, "baseline of existing schema");
+                applied.add(BASELINE_VERSION);
+            }
+            for (Migration migration : MIGRATIONS) {
+                int version = versionOf(migration.name);
+                if (version > targetVersion) {
+                    break;
+                }
+                if (applied.contains(version)) {
+                    continue;
+                }
+                migration.step.apply(connection);
+                record(connection, version, descriptionOf(migration.name));
+            }
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static void createHistoryTable(final Connection connection)
+            throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS schema_version ("
+                    + "version INTEGER NOT NULL PRIMARY KEY, "
+                    + "description VARCHAR(200) NOT NULL, "
+                    + "installed_on DATETIME NOT NULL)");
+        }
+    }
+
+    private static Set<Integer> appliedVersions(final Connection connection)
+            throws SQLException {
+        Set<Integer> versions = new HashSet<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT version FROM schema_version")) {
+            while (rs.next()) {
+                versions.add(rs.getInt(1));
+            }
+        }
+        return versions;
+    }
+
+    private static boolean tableExists(final Connection connection, final String table)
+            throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        String name = table;
+        if (metaData.storesUpperCaseIdentifiers()) {
+            name = table.toUpperCase(Locale.ROOT);
+        } else if (metaData.storesLowerCaseIdentifiers()) {
+            name = table.toLowerCase(Locale.ROOT);
+        }
+        try (ResultSet rs = metaData.getTables(connection.getCatalog(), null, name,
+                new String[] {"TABLE"})) {
+            return rs.next();
+        }
+    }
+
+    /**
+     * Creates the id sequences of collections and invoices where the baseline script
+     * did not run, starting them above the ids already used.
+     */
+    private static void createMissingIdSequences(final Connection connection)
+            throws SQLException {
+        createSequenceAboveIds(connection, "collections_seq", "collections",
+                "collectionId");
+        createSequenceAboveIds(connection, "invoices_seq", "invoices", "invoiceId");
+    }
+
+    private static void createSequenceAboveIds(final Connection connection,
+                                               final String sequence,
+                                               final String table,
+                                               final String idColumn)
+            throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            long maxId;
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT COALESCE(MAX(" + idColumn + "), 0) FROM " + table)) {
+                rs.next();
+                maxId = rs.getLong(1);
+            }
+            // the pooled optimizer hands out the block of ids ending at the value
+            // read, so the sequence starts one block above the highest id
+            statement.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence
+                    + " START WITH " + (maxId + ID_ALLOCATION_SIZE + 1)
+                    + " INCREMENT BY " + ID_ALLOCATION_SIZE);
+        }
+    }
+
+    private static void record(final Connection connection, final int version,
+                               final String description) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO schema_version (version, description, installed_on) "
+                        + "VALUES (?, ?, ?)")) {
+            statement.setInt(1, version);
+            statement.setString(2, description);
+            statement.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
+            statement.executeUpdate();
+        }
+    }
+
+    private static int versionOf(final String name) {
+        return Integer.parseInt(name.substring(1, name.indexOf("__")));
+    }
+
+    private static String descriptionOf(final String name) {
+        int end = name.lastIndexOf('.');
+        return name.substring(name.indexOf("__") + 2, end < 0 ? name.length() : end)
+                .replace('_', ' ');
+    }
+
+    private static Migration script(final String script) {
+        return new Migration(script, connection -> {
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : readStatements(script)) {
+                    statement.execute(sql);
+                }
+            }
+        });
+    }
+
+    private static List<String> readStatements(final String script) {
+        InputStream in =
+                SchemaMigrator.class.getResourceAsStream(MIGRATION_PATH + script);
+        if (in == null) {
+            throw new IllegalStateException("Migration script not found: " + script);
+        }
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                    continue;
+                }
+                current.append(line).append('\n');
+                if (trimmed.endsWith(";")) {
+                    String sql = current.toString().trim();
+                    statements.add(sql.substring(0, sql.length() - 1));
+                    current.setLength(0);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read migration " + script, e);
+        }
+        return statements;
+    }
+
+    /**
+     * The work of a migration on the connection to the database.
+     */
+    @FunctionalInterface
+    private interface Step {
+
+        void apply(Connection connection) throws SQLException;
+    }
+
+    /**
+     * A migration, named as {@code V<version>__<description>}.
+     */
+    private static final class Migration {
+
+        private final String name;
+        private final Step step;
+
+        private Migration(final String name, final Step step) {
+            this.name = name;
+            this.step = step;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package it.unibo.wastemaster.domain.event;
+
+import java.util.Objects;
+
+/**
+ * Immutable notice that an entity was added, changed or removed by a manager.
+ * <p>
+ * An event only identifies the entity: subscribers read its current state if they
+ * need it, so an event is never stale and several events about the same entity
+ * can be merged into one. Changes made by another instance of the application are
+ * only known by entity type, and are published as {@link Type#CHANGED_REMOTELY}
+ * events without an id.
+ */
+public final class DomainEvent {
+
+    /**
+     * Kind of change made to the entity.
+     */
+    public enum Type {
+        /**
+         * The entity was created.
+         */
+        ADDED,
+        /**
+         * The entity was modified, including a change of status.
+         */
+        UPDATED,
+        /**
+         * The entity was deleted, or soft-deleted.
+         */
+        REMOVED,
+        /**
+         * Some entities of the type were written by another instance of the
+         * application; which ones is not known.
+         */
+        CHANGED_REMOTELY
+    }
+
+    private final Type type;
+    private final Class<?> entityType;
+    private final Object entityId;
+
+    /**
+     * Constructs an event.
+     *
+     * @param type the kind of change
+     * @param entityType the class the entity is published as
+     * @param entityId the id of the entity
+     */
+    public DomainEvent(final Type type, final Class<?> entityType,
+                       final Object entityId) {
+        this.type = Objects.requireNonNull(type);
+        this.entityType = Objects.requireNonNull(entityType);
+        this.entityId = Objects.requireNonNull(entityId);
+    }
+
+    /**
+     * Constructs a {@link Type#CHANGED_REMOTELY} event.
+     *
+     * @param entityType the class the entities are published as
+     */
+    public DomainEvent(final Class<?> entityType) {
+        this.type = Type.CHANGED_REMOTELY;
+        this.entityType = Objects.requireNonNull(entityType);
+        this.entityId = null;
+    }
+
+    /**
+     * Gets the kind of change.
+     *
+     * @return the type of the event
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the class the entity is published as, which is the root of its
+     * hierarchy for entities with subclasses.
+     *
+     * @return the entity class
+     */
+    public Class<?> getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * Gets the id of the entity.
+     *
+     * @return the entity id, or null for a {@link Type#CHANGED_REMOTELY} event
+     */
+    public Object getEntityId() {
+        return entityId;
+    }
+
+    @Override
+    public String toString() {
+        return entityId == null
+                ? String.format("DomainEvent {%s %s}", type, entityType.getSimpleName())
+                : String.format("DomainEvent {%s %s #%s}", type,
+                        entityType.getSimpleName(), entityId);
+    }
+}
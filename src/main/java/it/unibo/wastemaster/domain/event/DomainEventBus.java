@@ -0,0 +1,83 @@
+package it.unibo.wastemaster.domain.event;
+
+import it.unibo.wastemaster.infrastructure.utils.UnitOfWork;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * In-process publish/subscribe channel of the {@link DomainEvent}s raised by the
+ * managers, letting views update only what changed instead of reloading
+ * periodically.
+ * <p>
+ * Subscribers follow one entity type. An event published inside a unit of work is
+ * delivered once the unit of work has ended, so that subscribers reading the
+ * entity see what was written; otherwise it is delivered immediately. Delivery
+ * happens on the publishing thread, and a failing subscriber neither affects the
+ * others nor the publisher. All methods are thread-safe.
+ */
+public final class DomainEventBus {
+
+    private static final Logger LOGGER = Logger.getLogger(DomainEventBus.class.getName());
+
+    private final Map<Class<?>, List<Consumer<DomainEvent>>> subscribers =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Subscribes to the events about the given entity type.
+     *
+     * @param entityType the class the entities are published as
+     * @param subscriber receives each event, on the publishing thread
+     * @return the action cancelling the subscription
+     */
+    public Runnable subscribe(final Class<?> entityType,
+                              final Consumer<DomainEvent> subscriber) {
+        List<Consumer<DomainEvent>> list = subscribers.computeIfAbsent(entityType,
+                type -> new CopyOnWriteArrayList<>());
+        list.add(subscriber);
+        return () -> list.remove(subscriber);
+    }
+
+    /**
+     * Publishes an event about an entity. Does nothing if the entity has no id,
+     * since it was then never saved.
+     *
+     * @param type the kind of change
+     * @param entityType the class the entity is published as
+     * @param entityId the id of the entity, may be null
+     */
+    public void publish(final DomainEvent.Type type, final Class<?> entityType,
+                        final Object entityId) {
+        if (entityId != null) {
+            publish(new DomainEvent(type, entityType, entityId));
+        }
+    }
+
+    /**
+     * Publishes an event, once the current unit of work has ended if there is one.
+     *
+     * @param event the event to publish
+     */
+    public void publish(final DomainEvent event) {
+        List<Consumer<DomainEvent>> list = subscribers.get(event.getEntityType());
+        if (list == null || list.isEmpty()) {
+            return;
+        }
+        UnitOfWork.afterCompletion(() -> deliver(list, event));
+    }
+
+    private static void deliver(final List<Consumer<DomainEvent>> list,
+                                final DomainEvent event) {
+        for (Consumer<DomainEvent> subscriber : list) {
+            try {
+                subscriber.accept(event);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Subscriber failed on " + event, e);
+            }
+        }
+    }
+}
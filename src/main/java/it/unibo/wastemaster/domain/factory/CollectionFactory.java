@@ -3,6 +3,7 @@ package it.unibo.wastemaster.domain.factory;
 import it.unibo.wastemaster.domain.model.Collection;
 import it.unibo.wastemaster.domain.model.OneTimeSchedule;
 import it.unibo.wastemaster.domain.model.RecurringSchedule;
+import java.time.LocalDate;
 
 /**
  * Factory for creating Collection instances with different schedules.
@@ -17,6 +18,15 @@ public interface CollectionFactory {
      */
     Collection createRecurringCollection(RecurringSchedule schedule);
 
+    /**
+     * Creates a Collection for a given occurrence of a recurring schedule.
+     *
+     * @param schedule the recurring schedule
+     * @param date the date of the occurrence
+     * @return a Collection instance with the given recurring schedule and date
+     */
+    Collection createRecurringCollection(RecurringSchedule schedule, LocalDate date);
+
     /**
      * Creates a Collection with a one-time schedule.
      *
@@ -3,6 +3,7 @@ package it.unibo.wastemaster.domain.factory;
 import it.unibo.wastemaster.domain.model.Collection;
 import it.unibo.wastemaster.domain.model.OneTimeSchedule;
 import it.unibo.wastemaster.domain.model.RecurringSchedule;
+import java.time.LocalDate;
 
 /**
  * Factory implementation for creating Collection instances.
@@ -20,6 +21,21 @@ public class CollectionFactoryImpl implements CollectionFactory {
         return new Collection(schedule);
     }
 
+    /**
+     * Creates a Collection for a given occurrence of a recurring schedule.
+     *
+     * @param schedule the recurring schedule for the collection
+     * @param date the date of the occurrence
+     * @return a Collection instance with the given recurring schedule and date
+     */
+    @Override
+    public Collection createRecurringCollection(final RecurringSchedule schedule,
+                                                final LocalDate date) {
+        Collection collection = new Collection(schedule);
+        collection.setCollectionDate(date);
+        return collection;
+    }
+
     /**
      * Creates a Collection with a one-time schedule.
      *
@@ -0,0 +1,65 @@
+package it.unibo.wastemaster.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Entity counting the transactions that wrote the entities of one type.
+ * <p>
+ * The revision is incremented by the DAOs in the same transaction as the write,
+ * so an instance of the application learns that another one changed some
+ * entities of a type by reading this row alone, instead of reloading them.
+ */
+@Entity
+@Table(name = "change_version")
+public class ChangeVersion {
+
+    /**
+     * Name of the entity type, also the identifier of the version.
+     */
+    @Id
+    @Column(length = 64)
+    private String entityName;
+
+    /**
+     * Number of committed transactions that wrote entities of the type.
+     */
+    @Column(nullable = false)
+    private long revision;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public ChangeVersion() {
+    }
+
+    /**
+     * Constructs the version of an entity type written for the first time.
+     *
+     * @param entityName the name of the entity type
+     */
+    public ChangeVersion(final String entityName) {
+        this.entityName = entityName;
+        this.revision = 1;
+    }
+
+    /**
+     * Gets the name of the entity type.
+     *
+     * @return the entity name
+     */
+    public String getEntityName() {
+        return entityName;
+    }
+
+    /**
+     * Gets the number of transactions that wrote entities of the type.
+     *
+     * @return the revision
+     */
+    public long getRevision() {
+        return revision;
+    }
+}
@@ -0,0 +1,100 @@
+package it.unibo.wastemaster.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * Entity recording that one entity was written by a revision of the
+ * {@link ChangeVersion} of its type.
+ * <p>
+ * The rows are written by the DAOs in the same transaction as the write, so an
+ * instance of the application learning that a type changed can read again only
+ * the entities written since the revision it knows. A revision whose writes are
+ * not known entity by entity, such as a bulk statement, or writing many entities
+ * at once, records no row at all. Ids come from a pooled sequence, so the records
+ * are inserted in JDBC batches along with the entities.
+ */
+@Entity
+@Table(name = "changed_row", indexes = @Index(name = "idx_changed_row_revision",
+        columnList = "entityName, revision"))
+public class ChangedRow {
+
+    /**
+     * Unique identifier of the record.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "changed_row_seq")
+    @SequenceGenerator(name = "changed_row_seq", sequenceName = "changed_row_seq",
+            allocationSize = 50)
+    private Long changedRowId;
+
+    /**
+     * Name of the entity type, as in its change version.
+     */
+    @Column(nullable = false, length = 64)
+    private String entityName;
+
+    /**
+     * Revision of the change version of the type written by the transaction.
+     */
+    @Column(nullable = false)
+    private long revision;
+
+    /**
+     * Identifier of the entity written.
+     */
+    @Column(nullable = false)
+    private int entityId;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public ChangedRow() {
+    }
+
+    /**
+     * Constructs the record of an entity written by a revision.
+     *
+     * @param entityName the name of the entity type
+     * @param revision the revision written by the transaction
+     * @param entityId the identifier of the entity
+     */
+    public ChangedRow(final String entityName, final long revision, final int entityId) {
+        this.entityName = entityName;
+        this.revision = revision;
+        this.entityId = entityId;
+    }
+
+    /**
+     * Gets the name of the entity type.
+     *
+     * @return the entity name
+     */
+    public String getEntityName() {
+        return entityName;
+    }
+
+    /**
+     * Gets the revision that wrote the entity.
+     *
+     * @return the revision
+     */
+    public long getRevision() {
+        return revision;
+    }
+
+    /**
+     * Gets the identifier of the entity written.
+     *
+     * @return the entity id
+     */
+    public int getEntityId() {
+        return entityId;
+    }
+}
@@ -1,15 +1,20 @@
 package it.unibo.wastemaster.domain.model;
 
-import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.FutureOrPresent;
 import jakarta.validation.constraints.Min;
@@ -20,25 +25,47 @@ import java.time.LocalDate;
  * The type Collection.
  */
 @Entity
-@Table(name = "collections")
+@Table(name = "collections", indexes = {
+        @Index(name = "idx_collections_date_status",
+                columnList = "date, collectionStatus"),
+        @Index(name = "idx_collections_schedule_status",
+                columnList = "schedule_id, collectionStatus"),
+        @Index(name = "idx_collections_customer_billing",
+                columnList = "customer_id, collectionStatus, isBilled")
+})
+@NamedEntityGraph(name = Collection.GRAPH_FOR_BILLING, attributeNodes = {
+        @NamedAttributeNode(value = "customer", subgraph = "customer"),
+        @NamedAttributeNode("waste"),
+        @NamedAttributeNode("schedule")},
+        subgraphs = @NamedSubgraph(name = "customer",
+                attributeNodes = @NamedAttributeNode("location")))
 public final class Collection {
 
+    /**
+     * Name of the entity graph loading what is shown and priced when collections
+     * are billed: the customer with its location, the waste and the schedule.
+     */
+    public static final String GRAPH_FOR_BILLING = "collection-for-billing";
+
     /**
      * The constant CANCEL_LIMIT_DAYS.
      */
     public static final int CANCEL_LIMIT_DAYS = 2;
 
     /**
-     * Unique identifier of the collection.
+     * Unique identifier of the collection, drawn from a pooled sequence so that
+     * bulk inserts can be batched.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "collections_seq")
+    @SequenceGenerator(name = "collections_seq", sequenceName = "collections_seq",
+            allocationSize = 50)
     private int collectionId;
 
     /**
      * Customer associated with the collection.
      */
-    @ManyToOne(cascade = CascadeType.PERSIST)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", nullable = false)
     @NotNull(message = "The customer cannot be null")
     private Customer customer;
@@ -54,7 +81,7 @@ public final class Collection {
     /**
      * Type of waste to be collected.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @NotNull(message = "The waste type cannot be null")
     @JoinColumn(name = "waste_id", nullable = false)
     private Waste waste;
@@ -77,7 +104,7 @@ public final class Collection {
     /**
      * Schedule associated with the collection.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "schedule_id", nullable = false)
     @NotNull(message = "Schedule cannot be null")
     private Schedule schedule;
@@ -88,13 +115,33 @@ public final class Collection {
     @Column(nullable = false)
     private boolean isBilled = false;
 
+    /**
+     * Tariff applied when the collection was last billed, null if it was billed at
+     * the default fee.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tariff_id")
+    private Tariff tariff;
+
+    /**
+     * Price in cents billed for the collection when it was last billed.
+     */
+    @Column(nullable = false)
+    private long billedCents;
+
     /**
      * Trip associated with the collection (optional).
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "trip_id")
     private Trip trip;
 
+    /**
+     * Position of the collection in the visiting order of its trip, starting from 1,
+     * null if the trip has not been sequenced.
+     */
+    private Integer stopSequence;
+
     /**
      * Default no-argument constructor required by JPA.
      */
@@ -225,6 +272,42 @@ public final class Collection {
         this.isBilled = isBilled;
     }
 
+    /**
+     * Gets the tariff applied when the collection was billed.
+     *
+     * @return the applied tariff, or null if not billed or billed at the default fee
+     */
+    public Tariff getTariff() {
+        return tariff;
+    }
+
+    /**
+     * Sets the tariff applied when the collection is billed.
+     *
+     * @param tariff the applied tariff, or null for the default fee
+     */
+    public void setTariff(final Tariff tariff) {
+        this.tariff = tariff;
+    }
+
+    /**
+     * Gets the price billed for the collection.
+     *
+     * @return the billed price, in cents
+     */
+    public long getBilledCents() {
+        return billedCents;
+    }
+
+    /**
+     * Sets the price billed for the collection.
+     *
+     * @param billedCents the billed price, in cents
+     */
+    public void setBilledCents(final long billedCents) {
+        this.billedCents = billedCents;
+    }
+
     /**
      * Gets trip.
      *
@@ -243,6 +326,24 @@ public final class Collection {
         this.trip = trip;
     }
 
+    /**
+     * Gets the position of the collection in the visiting order of its trip.
+     *
+     * @return the stop sequence, starting from 1, or null if not sequenced
+     */
+    public Integer getStopSequence() {
+        return stopSequence;
+    }
+
+    /**
+     * Sets the position of the collection in the visiting order of its trip.
+     *
+     * @param stopSequence the stop sequence, starting from 1, or null
+     */
+    public void setStopSequence(final Integer stopSequence) {
+        this.stopSequence = stopSequence;
+    }
+
     /**
      * Gets schedule.
      *
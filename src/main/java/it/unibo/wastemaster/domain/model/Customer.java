@@ -1,10 +1,15 @@
 package it.unibo.wastemaster.domain.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 
 /**
@@ -12,8 +17,9 @@ import java.time.LocalDateTime;
  * Maps to the "customer" table in the database.
  */
 @Entity
-@Table(name = "customer")
-public final class Customer extends Person {
+@Table(name = "customer", indexes = @Index(name = "idx_customer_created_date",
+        columnList = "createdDate DESC"))
+public class Customer extends Person {
 
     /**
      * Unique identifier for the customer, auto-generated.
@@ -22,6 +28,15 @@ public final class Customer extends Person {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer customerId;
 
+    /**
+     * Category of the customer, used to choose the tariffs applied to its
+     * collections. Cannot be null.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @NotNull(message = "The customer category cannot be null")
+    private CustomerCategory category = CustomerCategory.RESIDENTIAL;
+
     /**
      * Constructs a new Customer with the specified details.
      *
@@ -51,6 +66,24 @@ public final class Customer extends Person {
         return customerId;
     }
 
+    /**
+     * Returns the category of this customer.
+     *
+     * @return the customer category
+     */
+    public CustomerCategory getCategory() {
+        return category;
+    }
+
+    /**
+     * Sets the category of this customer.
+     *
+     * @param category the customer category
+     */
+    public void setCategory(final CustomerCategory category) {
+        this.category = category;
+    }
+
     /**
      * Returns a string representation of the customer including name, surname and email.
      *
@@ -60,4 +93,19 @@ public final class Customer extends Person {
     public String toString() {
         return String.format("%s %s (%s)", getName(), getSurname(), getEmail());
     }
+
+    /**
+     * Categories of customers, priced by different tariffs.
+     */
+    public enum CustomerCategory {
+        /**
+         * Household customer.
+         */
+        RESIDENTIAL,
+
+        /**
+         * Business customer.
+         */
+        COMMERCIAL
+    }
 }
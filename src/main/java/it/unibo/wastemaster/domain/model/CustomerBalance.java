@@ -0,0 +1,151 @@
+package it.unibo.wastemaster.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Entity holding the running billing totals of a customer: the invoices issued and
+ * not deleted, the collections they bill, and the amounts billed and paid.
+ * <p>
+ * The totals are kept up to date by the invoice operations in the same transaction
+ * as the invoice itself, so the statistics of a customer are read from a single row
+ * instead of being summed over all its invoices.
+ */
+@Entity
+@Table(name = "customer_balance")
+public class CustomerBalance {
+
+    /**
+     * Identifier of the customer, also the identifier of the balance.
+     */
+    @Id
+    private Integer customerId;
+
+    /**
+     * Number of invoices issued and not deleted.
+     */
+    @Column(nullable = false)
+    private int invoiceCount;
+
+    /**
+     * Number of collections billed by those invoices.
+     */
+    @Column(nullable = false)
+    private int billedCollections;
+
+    /**
+     * Total amount of those invoices, in cents.
+     */
+    @Column(nullable = false)
+    private long billedCents;
+
+    /**
+     * Total amount of those invoices already paid, in cents.
+     */
+    @Column(nullable = false)
+    private long paidCents;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public CustomerBalance() {
+    }
+
+    /**
+     * Constructs the empty balance of a customer that has not been billed yet.
+     *
+     * @param customerId the id of the customer
+     */
+    public CustomerBalance(final int customerId) {
+        this.customerId = customerId;
+    }
+
+    /**
+     * Adds an issued invoice to the balance.
+     *
+     * @param collections the number of collections billed by the invoice
+     * @param cents the amount of the invoice, in cents
+     */
+    public void addInvoice(final int collections, final long cents) {
+        invoiceCount++;
+        billedCollections += collections;
+        billedCents = Money.add(billedCents, cents);
+    }
+
+    /**
+     * Removes a deleted, unpaid invoice from the balance.
+     *
+     * @param collections the number of collections billed by the invoice
+     * @param cents the amount of the invoice, in cents
+     */
+    public void removeInvoice(final int collections, final long cents) {
+        invoiceCount--;
+        billedCollections -= collections;
+        billedCents = Money.add(billedCents, -cents);
+    }
+
+    /**
+     * Adds the payment of an invoice to the balance.
+     *
+     * @param cents the amount of the paid invoice, in cents
+     */
+    public void addPayment(final long cents) {
+        paidCents = Money.add(paidCents, cents);
+    }
+
+    /**
+     * Gets the customer ID.
+     *
+     * @return the customer ID
+     */
+    public Integer getCustomerId() {
+        return customerId;
+    }
+
+    /**
+     * Gets the number of invoices issued and not deleted.
+     *
+     * @return the invoice count
+     */
+    public int getInvoiceCount() {
+        return invoiceCount;
+    }
+
+    /**
+     * Gets the number of collections billed.
+     *
+     * @return the billed collection count
+     */
+    public int getBilledCollections() {
+        return billedCollections;
+    }
+
+    /**
+     * Gets the total amount billed.
+     *
+     * @return the billed amount, in cents
+     */
+    public long getBilledCents() {
+        return billedCents;
+    }
+
+    /**
+     * Gets the total amount paid.
+     *
+     * @return the paid amount, in cents
+     */
+    public long getPaidCents() {
+        return paidCents;
+    }
+
+    /**
+     * Gets the total amount billed and not paid yet.
+     *
+     * @return the unpaid amount, in cents
+     */
+    public long getUnpaidCents() {
+        return billedCents - paidCents;
+    }
+}
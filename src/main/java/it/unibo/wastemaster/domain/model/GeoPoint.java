@@ -0,0 +1,89 @@
+package it.unibo.wastemaster.domain.model;
+
+import java.util.Objects;
+
+/**
+ * Immutable point on the Earth's surface, in decimal degrees (WGS84).
+ */
+public final class GeoPoint {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double MAX_LATITUDE = 90;
+    private static final double MAX_LONGITUDE = 180;
+
+    private final double latitude;
+    private final double longitude;
+
+    /**
+     * Constructs a point.
+     *
+     * @param latitude the latitude, between -90 and 90
+     * @param longitude the longitude, between -180 and 180
+     * @throws IllegalArgumentException if a coordinate is out of range
+     */
+    public GeoPoint(final double latitude, final double longitude) {
+        if (!(Math.abs(latitude) <= MAX_LATITUDE)
+                || !(Math.abs(longitude) <= MAX_LONGITUDE)) {
+            throw new IllegalArgumentException("Coordinates out of range");
+        }
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    /**
+     * Gets the latitude.
+     *
+     * @return the latitude in decimal degrees
+     */
+    public double getLatitude() {
+        return latitude;
+    }
+
+    /**
+     * Gets the longitude.
+     *
+     * @return the longitude in decimal degrees
+     */
+    public double getLongitude() {
+        return longitude;
+    }
+
+    /**
+     * Computes the great-circle distance to another point with the haversine
+     * formula.
+     *
+     * @param other the other point
+     * @return the distance in kilometres
+     */
+    public double distanceKm(final GeoPoint other) {
+        double dLat = Math.toRadians(other.latitude - latitude);
+        double dLon = Math.toRadians(other.longitude - longitude);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(latitude))
+                * Math.cos(Math.toRadians(other.latitude))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GeoPoint other)) {
+            return false;
+        }
+        return Double.compare(latitude, other.latitude) == 0
+                && Double.compare(longitude, other.longitude) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(latitude, longitude);
+    }
+
+    @Override
+    public String toString() {
+        return latitude + "," + longitude;
+    }
+}
@@ -4,12 +4,19 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedEntityGraphs;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
@@ -22,14 +29,60 @@ import java.util.List;
  * Maps to the "invoices" table in the database.
  */
 @Entity
-@Table(name = "invoices")
+@Table(name = "invoices", indexes = @Index(name = "idx_invoices_last_modified",
+        columnList = "lastModified DESC"))
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = Invoice.GRAPH_FOR_PDF, attributeNodes = {
+                @NamedAttributeNode(value = "customer", subgraph = "customer"),
+                @NamedAttributeNode(value = "collections", subgraph = "collection")},
+                subgraphs = {
+                        @NamedSubgraph(name = "customer",
+                                attributeNodes = @NamedAttributeNode("location")),
+                        @NamedSubgraph(name = "collection", attributeNodes = {
+                                @NamedAttributeNode("schedule"),
+                                @NamedAttributeNode("waste")})}),
+        @NamedEntityGraph(name = Invoice.GRAPH_WITH_CUSTOMER,
+                attributeNodes = @NamedAttributeNode("customer")),
+        @NamedEntityGraph(name = Invoice.GRAPH_WITH_COLLECTIONS,
+                attributeNodes = @NamedAttributeNode(value = "collections",
+                        subgraph = "collection"),
+                subgraphs = {
+                        @NamedSubgraph(name = "collection", attributeNodes = {
+                                @NamedAttributeNode(value = "customer",
+                                        subgraph = "customer"),
+                                @NamedAttributeNode("waste")}),
+                        @NamedSubgraph(name = "customer",
+                                attributeNodes = @NamedAttributeNode("location"))})
+})
 public class Invoice {
 
     /**
-     * Unique identifier for the invoice, auto-generated.
+     * Name of the entity graph loading everything printed on the PDF of the
+     * invoice: the customer with its location, and the billed collections with their
+     * schedule and waste.
+     */
+    public static final String GRAPH_FOR_PDF = "invoice-for-pdf";
+
+    /**
+     * Name of the entity graph loading only the customer, used by invoice lists
+     * that show the customer name.
+     */
+    public static final String GRAPH_WITH_CUSTOMER = "invoice-with-customer";
+
+    /**
+     * Name of the entity graph loading the billed collections with what the
+     * collection table shows: their waste and customer with its location.
+     */
+    public static final String GRAPH_WITH_COLLECTIONS = "invoice-with-collections";
+
+    /**
+     * Unique identifier for the invoice, drawn from a pooled sequence so that
+     * bulk inserts can be batched.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invoices_seq")
+    @SequenceGenerator(name = "invoices_seq", sequenceName = "invoices_seq",
+            allocationSize = 50)
     private Integer invoiceId;
 
     /**
@@ -42,7 +95,7 @@ public class Invoice {
     /**
      * Customer associated with this invoice. Cannot be null.
      */
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", nullable = false)
     @NotNull(message = "The customer cannot be null")
     private Customer customer;
@@ -76,22 +129,22 @@ public class Invoice {
     private LocalDateTime lastModified;
 
     /**
-     * Total amount of the invoice (sum of recurring and one-time totals).
+     * Total amount of the invoice in cents (sum of recurring and one-time totals).
      */
     @Column(nullable = false)
-    private double amount;
+    private long amountCents;
 
     /**
-     * Total amount from recurring collections included in this invoice.
+     * Total amount in cents from recurring collections included in this invoice.
      */
     @Column(nullable = false)
-    private double totalRecurring;
+    private long totalRecurringCents;
 
     /**
-     * Total amount from one-time collections included in this invoice.
+     * Total amount in cents from one-time collections included in this invoice.
      */
     @Column(nullable = false)
-    private double totalOnetime;
+    private long totalOnetimeCents;
 
     /**
      * Number of recurring collections included in this invoice.
@@ -123,25 +176,25 @@ public class Invoice {
      *
      * @param customer the customer
      * @param collections the collections
-     * @param totalRecurring the total recurring
-     * @param totalOnetime the total onetime
+     * @param totalRecurringCents the total recurring, in cents
+     * @param totalOnetimeCents the total onetime, in cents
      * @param recurringCount the recurring count
      * @param onetimeCount the onetime count
      * @param issueDate the issue date
      */
     public Invoice(final Customer customer, final List<Collection> collections,
-                   final double totalRecurring, final double totalOnetime,
+                   final long totalRecurringCents, final long totalOnetimeCents,
                    final int recurringCount, final int onetimeCount,
                    final LocalDateTime issueDate) {
         this.customer = customer;
         this.collections = new ArrayList<>(collections);
-        this.totalRecurring = totalRecurring;
-        this.totalOnetime = totalOnetime;
+        this.totalRecurringCents = totalRecurringCents;
+        this.totalOnetimeCents = totalOnetimeCents;
         this.recurringCount = recurringCount;
         this.onetimeCount = onetimeCount;
         this.issueDate = issueDate;
         this.paymentStatus = PaymentStatus.UNPAID;
-        this.amount = totalRecurring + totalOnetime;
+        this.amountCents = Money.add(totalRecurringCents, totalOnetimeCents);
         this.lastModified = issueDate;
     }
 
@@ -229,55 +282,55 @@ public class Invoice {
     /**
      * Gets amount.
      *
-     * @return the amount
+     * @return the amount, in cents
      */
-    public double getAmount() {
-        return amount;
+    public long getAmountCents() {
+        return amountCents;
     }
 
     /**
      * Sets amount.
      *
-     * @param amount the amount
+     * @param amountCents the amount, in cents
      */
-    public void setAmount(final double amount) {
-        this.amount = amount;
+    public void setAmountCents(final long amountCents) {
+        this.amountCents = amountCents;
     }
 
     /**
      * Gets total recurring.
      *
-     * @return the total recurring
+     * @return the total recurring, in cents
      */
-    public double getTotalRecurring() {
-        return totalRecurring;
+    public long getTotalRecurringCents() {
+        return totalRecurringCents;
     }
 
     /**
      * Sets total recurring.
      *
-     * @param totalRecurring the total recurring
+     * @param totalRecurringCents the total recurring, in cents
      */
-    public void setTotalRecurring(final double totalRecurring) {
-        this.totalRecurring = totalRecurring;
+    public void setTotalRecurringCents(final long totalRecurringCents) {
+        this.totalRecurringCents = totalRecurringCents;
     }
 
     /**
      * Gets total onetime.
      *
-     * @return the total onetime
+     * @return the total onetime, in cents
      */
-    public double getTotalOnetime() {
-        return totalOnetime;
+    public long getTotalOnetimeCents() {
+        return totalOnetimeCents;
     }
 
     /**
      * Sets total onetime.
      *
-     * @param totalOnetime the total onetime
+     * @param totalOnetimeCents the total onetime, in cents
      */
-    public void setTotalOnetime(final double totalOnetime) {
-        this.totalOnetime = totalOnetime;
+    public void setTotalOnetimeCents(final long totalOnetimeCents) {
+        this.totalOnetimeCents = totalOnetimeCents;
     }
 
     /**
@@ -383,7 +436,7 @@ public class Invoice {
     public String toString() {
         return "Invoice{id=" + invoiceId
                 + ", customer=" + (customer != null ? customer.getName() : "null")
-                + ", amount=" + String.format("%.2f", amount)
+                + ", amount=" + Money.format(amountCents)
                 + ", status=" + (paymentStatus != null ? paymentStatus.name() : "null")
                 + ", date=" + (issueDate != null ? issueDate.toString() : "null")
                 + ", collections=" + (collections != null ? collections.size() : 0)
@@ -1,5 +1,6 @@
 package it.unibo.wastemaster.domain.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -9,6 +10,8 @@ import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Represents a location entity with street address details. Maps to the "location" table
@@ -16,6 +19,8 @@ import jakarta.validation.constraints.Pattern;
  */
 @Entity
 @Table(name = "location")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 public class Location {
 
     /**
@@ -58,6 +63,16 @@ public class Location {
     @Column(nullable = false)
     private String postalCode;
 
+    /**
+     * Latitude in decimal degrees, null if the location has not been placed.
+     */
+    private Double latitude;
+
+    /**
+     * Longitude in decimal degrees, null if the location has not been placed.
+     */
+    private Double longitude;
+
     /**
      * Default no-argument constructor required by JPA.
      */
@@ -170,6 +185,28 @@ public class Location {
         this.postalCode = postalCode;
     }
 
+    /**
+     * Returns the coordinates of the location.
+     *
+     * @return the coordinates, or null if the location has not been placed
+     */
+    public GeoPoint getCoordinates() {
+        if (latitude == null || longitude == null) {
+            return null;
+        }
+        return new GeoPoint(latitude, longitude);
+    }
+
+    /**
+     * Sets the coordinates of the location.
+     *
+     * @param coordinates the new coordinates, or null to clear them
+     */
+    public void setCoordinates(final GeoPoint coordinates) {
+        this.latitude = coordinates == null ? null : coordinates.getLatitude();
+        this.longitude = coordinates == null ? null : coordinates.getLongitude();
+    }
+
     /**
      * Returns a string representation of the location in the format: "street civicNumber,
      * city, postalCode".
@@ -0,0 +1,82 @@
+package it.unibo.wastemaster.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Arithmetic and formatting of amounts of money in euros, held as a {@code long}
+ * number of cents.
+ * <p>
+ * Billing amounts are stored and summed as whole cents, so totals are exact however
+ * many collections and invoices are added up, and no object is allocated to hold
+ * or add them. Sums and products fail instead of silently overflowing.
+ */
+public final class Money {
+
+    /**
+     * Number of cents in one euro.
+     */
+    public static final long CENTS_PER_EURO = 100;
+
+    private static final int FRACTION_DIGITS = 2;
+
+    private Money() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Adds two amounts.
+     *
+     * @param cents the first amount, in cents
+     * @param otherCents the second amount, in cents
+     * @return the sum, in cents
+     * @throws ArithmeticException if the sum overflows
+     */
+    public static long add(final long cents, final long otherCents) {
+        return Math.addExact(cents, otherCents);
+    }
+
+    /**
+     * Multiplies an amount by a quantity, such as a fee by the number of collections
+     * it applies to.
+     *
+     * @param cents the amount, in cents
+     * @param quantity the quantity
+     * @return the product, in cents
+     * @throws ArithmeticException if the product overflows
+     */
+    public static long times(final long cents, final long quantity) {
+        return Math.multiplyExact(cents, quantity);
+    }
+
+    /**
+     * Converts an amount to an exact decimal number of euros, for currency
+     * formatting.
+     *
+     * @param cents the amount, in cents
+     * @return the amount in euros with two fraction digits
+     */
+    public static BigDecimal toEuros(final long cents) {
+        return BigDecimal.valueOf(cents, FRACTION_DIGITS);
+    }
+
+    /**
+     * Formats an amount as euros with two fraction digits and a dot as decimal
+     * separator, such as {@code 1234.50}, without going through floating point.
+     *
+     * @param cents the amount, in cents
+     * @return the formatted amount
+     */
+    public static String format(final long cents) {
+        long euros = Math.abs(cents / CENTS_PER_EURO);
+        long fraction = Math.abs(cents % CENTS_PER_EURO);
+        StringBuilder text = new StringBuilder(24);
+        if (cents < 0) {
+            text.append('-');
+        }
+        text.append(euros).append('.');
+        if (fraction < 10) {
+            text.append('0');
+        }
+        return text.append(fraction).toString();
+    }
+}
@@ -39,7 +39,7 @@ public abstract class Person {
      * The person's location. Cannot be null. Validated entity associated with the person.
      */
     @Valid
-    @ManyToOne(cascade = CascadeType.PERSIST)
+    @ManyToOne(cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     @NotNull(message = "address cannot be null")
     @JoinColumn(nullable = false)
     private Location location;
@@ -25,6 +25,7 @@ public class RecurringSchedule extends Schedule {
     @NotNull(message = "Start Date cannot be null")
     private LocalDate startDate;
     private LocalDate nextCollectionDate;
+    private LocalDate materializedUntil;
 
     /**
      * Default constructor for JPA.
@@ -73,6 +74,7 @@ public class RecurringSchedule extends Schedule {
      *
      * @return the frequency (WEEKLY or MONTHLY)
      */
+    @Override
     public Frequency getFrequency() {
         return frequency;
     }
@@ -104,6 +106,26 @@ public class RecurringSchedule extends Schedule {
         this.nextCollectionDate = nextCollectionDate;
     }
 
+    /**
+     * Returns the date of the last occurrence generated as a collection, from which
+     * the collection horizon is topped up.
+     *
+     * @return the last materialized occurrence, or null if none was generated yet
+     */
+    public LocalDate getMaterializedUntil() {
+        return materializedUntil;
+    }
+
+    /**
+     * Sets the date of the last occurrence generated as a collection.
+     *
+     * @param materializedUntil the last materialized occurrence, null to restart
+     * from the next collection date
+     */
+    public void setMaterializedUntil(final LocalDate materializedUntil) {
+        this.materializedUntil = materializedUntil;
+    }
+
     /**
      * Returns the date of the next collection.
      *
@@ -4,11 +4,15 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -22,15 +26,30 @@ import java.util.List;
  * <p>
  * Subclasses must implement {@link #getCollectionDate()} to define when the waste
  * collection occurs. This class uses single table inheritance with a discriminator
- * column "schedule_type".
+ * column "schedule_type"; the index on status and next collection date, a column of
+ * recurring schedules, serves the lookup of schedules due for rollover.
  */
 @Entity
 @jakarta.persistence.Inheritance(
         strategy = jakarta.persistence.InheritanceType.SINGLE_TABLE)
 @jakarta.persistence.DiscriminatorColumn(name = "schedule_type",
         discriminatorType = jakarta.persistence.DiscriminatorType.STRING)
+@jakarta.persistence.Table(indexes = @jakarta.persistence.Index(
+        name = "idx_schedule_status_next_date",
+        columnList = "status, nextCollectionDate"))
+@NamedEntityGraph(name = Schedule.GRAPH_WITH_CUSTOMER, attributeNodes = {
+        @NamedAttributeNode(value = "customer", subgraph = "customer"),
+        @NamedAttributeNode("waste")},
+        subgraphs = @NamedSubgraph(name = "customer",
+                attributeNodes = @NamedAttributeNode("location")))
 public abstract class Schedule {
 
+    /**
+     * Name of the entity graph loading the customer with its location and the
+     * waste of a schedule.
+     */
+    public static final String GRAPH_WITH_CUSTOMER = "schedule-with-customer";
+
     /**
      * Unique identifier for the schedule.
      */
@@ -41,7 +60,7 @@ public abstract class Schedule {
     /**
      * Customer associated with the schedule. Cannot be null.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", nullable = false)
     @NotNull(message = "Customer cannot be null")
     private Customer customer;
@@ -49,7 +68,7 @@ public abstract class Schedule {
     /**
      * Waste type to be collected. Cannot be null.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "waste_id", nullable = false)
     @NotNull(message = "WasteType cannot be null")
     private Waste waste;
@@ -220,6 +239,15 @@ public abstract class Schedule {
         return scheduleCategory;
     }
 
+    /**
+     * Gets the frequency of the collections of the schedule.
+     *
+     * @return the frequency, or null if the schedule does not recur
+     */
+    public RecurringSchedule.Frequency getFrequency() {
+        return null;
+    }
+
     /**
      * Sets the schedule category.
      *
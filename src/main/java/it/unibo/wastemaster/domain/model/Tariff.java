@@ -0,0 +1,212 @@
+package it.unibo.wastemaster.domain.model;
+
+import it.unibo.wastemaster.domain.model.Customer.CustomerCategory;
+import it.unibo.wastemaster.domain.model.RecurringSchedule.Frequency;
+import it.unibo.wastemaster.domain.model.Schedule.ScheduleCategory;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
+
+/**
+ * Entity representing the price of the collections of a schedule category, from a
+ * given date on.
+ * <p>
+ * A tariff may be restricted to a waste type, to a frequency of recurring
+ * schedules and to a customer category; a null restriction matches any value. A
+ * tariff is never changed once saved: a new price is set by adding a tariff that
+ * starts when the old one ends, so invoices keep referring to the tariff they
+ * applied.
+ */
+@Entity
+@Table(name = "tariff")
+public class Tariff {
+
+    /**
+     * Unique identifier for the tariff.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer tariffId;
+
+    /**
+     * Category of the schedules priced by the tariff. Cannot be null.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @NotNull(message = "The schedule category cannot be null")
+    private ScheduleCategory scheduleCategory;
+
+    /**
+     * Waste type priced by the tariff, null for any waste type.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "waste_id")
+    private Waste waste;
+
+    /**
+     * Frequency of the recurring schedules priced by the tariff, null for any
+     * frequency.
+     */
+    @Enumerated(EnumType.STRING)
+    private Frequency frequency;
+
+    /**
+     * Category of the customers priced by the tariff, null for any category.
+     */
+    @Enumerated(EnumType.STRING)
+    private CustomerCategory customerCategory;
+
+    /**
+     * First day on which the tariff applies. Cannot be null.
+     */
+    @Column(nullable = false)
+    @NotNull(message = "The start date cannot be null")
+    private LocalDate validFrom;
+
+    /**
+     * Day from which the tariff no longer applies, null if it has no end.
+     */
+    private LocalDate validTo;
+
+    /**
+     * Price in cents of each collection priced by the tariff.
+     */
+    @Column(nullable = false)
+    @Min(value = 0, message = "The price must be >= 0")
+    private long priceCents;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public Tariff() {
+    }
+
+    /**
+     * Constructs a tariff.
+     *
+     * @param scheduleCategory the category of the schedules priced
+     * @param waste the waste type priced, or null for any
+     * @param frequency the frequency of the recurring schedules priced, or null for
+     * any
+     * @param customerCategory the category of the customers priced, or null for any
+     * @param validFrom the first day on which the tariff applies
+     * @param validTo the day from which the tariff no longer applies, or null
+     * @param priceCents the price of each collection, in cents
+     */
+    public Tariff(final ScheduleCategory scheduleCategory, final Waste waste,
+                  final Frequency frequency, final CustomerCategory customerCategory,
+                  final LocalDate validFrom, final LocalDate validTo,
+                  final long priceCents) {
+        this.scheduleCategory = scheduleCategory;
+        this.waste = waste;
+        this.frequency = frequency;
+        this.customerCategory = customerCategory;
+        this.validFrom = validFrom;
+        this.validTo = validTo;
+        this.priceCents = priceCents;
+    }
+
+    /**
+     * Gets the tariff ID.
+     *
+     * @return the tariff ID
+     */
+    public Integer getTariffId() {
+        return tariffId;
+    }
+
+    /**
+     * Gets the category of the schedules priced.
+     *
+     * @return the schedule category
+     */
+    public ScheduleCategory getScheduleCategory() {
+        return scheduleCategory;
+    }
+
+    /**
+     * Gets the waste type priced.
+     *
+     * @return the waste, or null for any waste type
+     */
+    public Waste getWaste() {
+        return waste;
+    }
+
+    /**
+     * Gets the frequency of the recurring schedules priced.
+     *
+     * @return the frequency, or null for any frequency
+     */
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    /**
+     * Gets the category of the customers priced.
+     *
+     * @return the customer category, or null for any category
+     */
+    public CustomerCategory getCustomerCategory() {
+        return customerCategory;
+    }
+
+    /**
+     * Gets the first day on which the tariff applies.
+     *
+     * @return the start date
+     */
+    public LocalDate getValidFrom() {
+        return validFrom;
+    }
+
+    /**
+     * Gets the day from which the tariff no longer applies.
+     *
+     * @return the end date (exclusive), or null if the tariff has no end
+     */
+    public LocalDate getValidTo() {
+        return validTo;
+    }
+
+    /**
+     * Gets the price of each collection.
+     *
+     * @return the price, in cents
+     */
+    public long getPriceCents() {
+        return priceCents;
+    }
+
+    /**
+     * Checks whether the tariff applies on the given day.
+     *
+     * @param date the day
+     * @return true if the day is within the validity of the tariff
+     */
+    public boolean isValidOn(final LocalDate date) {
+        return !date.isBefore(validFrom) && (validTo == null || date.isBefore(validTo));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Tariff {ID: %s, %s, Waste: %s, Frequency: %s, "
+                        + "Customer: %s, From: %s, To: %s, Price: %s}",
+                tariffId, scheduleCategory,
+                waste != null ? waste.getWasteName() : "any",
+                frequency != null ? frequency : "any",
+                customerCategory != null ? customerCategory : "any",
+                validFrom, validTo != null ? validTo : "-", Money.format(priceCents));
+    }
+}
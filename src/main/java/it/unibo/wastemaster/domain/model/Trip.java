@@ -4,14 +4,21 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedEntityGraphs;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
@@ -22,11 +29,36 @@ import java.util.List;
  * Represents a trip assigned to a vehicle and a list of employees to perform waste
  * collections.
  * Maps to the "trip" table in the database.
- * This class is final to prevent inheritance and ensure consistent behavior.
+ * This class is not final so that Hibernate can load it as a lazy proxy.
  */
 @Entity
-@Table(name = "trip")
-public final class Trip {
+@Table(name = "trip", indexes = {
+        @Index(name = "idx_trip_status_window",
+                columnList = "status, departureTime, expectedReturnTime"),
+        @Index(name = "idx_trip_last_modified", columnList = "lastModified DESC")
+})
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = Trip.GRAPH_WITH_CREW, attributeNodes = {
+                @NamedAttributeNode("assignedVehicle"),
+                @NamedAttributeNode(value = "operators", subgraph = "operator")},
+                subgraphs = @NamedSubgraph(name = "operator",
+                        attributeNodes = @NamedAttributeNode("location"))),
+        @NamedEntityGraph(name = Trip.GRAPH_WITH_VEHICLE,
+                attributeNodes = @NamedAttributeNode("assignedVehicle"))
+})
+public class Trip {
+
+    /**
+     * Name of the entity graph loading the assigned vehicle and the operators with
+     * their location, used when a single trip is opened for editing or completion.
+     */
+    public static final String GRAPH_WITH_CREW = "trip-with-crew";
+
+    /**
+     * Name of the entity graph loading only the assigned vehicle, used by trip lists
+     * that show the plate.
+     */
+    public static final String GRAPH_WITH_VEHICLE = "trip-with-vehicle";
 
     /**
      * Unique identifier for the trip, auto-generated.
@@ -46,7 +78,7 @@ public final class Trip {
      * Vehicle assigned to this trip.
      * Cannot be null.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "vehicle_id", nullable = false)
     private Vehicle assignedVehicle;
 
@@ -96,11 +128,12 @@ public final class Trip {
     private TripStatus status;
 
     /**
-     * Collections associated with this trip.
+     * Collections associated with this trip, in visiting order once sequenced.
      * Cannot be null.
      */
     @NotNull(message = "collection cannot be null")
     @OneToMany(mappedBy = "trip")
+    @OrderBy("stopSequence ASC, collectionId ASC")
     private List<Collection> collections = new ArrayList<>();
 
     /**
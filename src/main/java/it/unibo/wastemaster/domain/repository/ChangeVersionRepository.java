@@ -0,0 +1,40 @@
+package it.unibo.wastemaster.domain.repository;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Repository interface for the change versions of the entity types, incremented by
+ * every transaction writing entities of the type.
+ */
+public interface ChangeVersionRepository {
+
+    /**
+     * Retrieves the revisions of the given entity types with a single query.
+     *
+     * @param entityNames the simple class names of the entity types
+     * @return the revision of each entity type written at least once
+     */
+    Map<String, Long> findRevisions(Set<String> entityNames);
+
+    /**
+     * Retrieves the ids of the entities of a type written after a revision, up to
+     * another one.
+     *
+     * @param entityName the simple class name of the entity type
+     * @param afterRevision the revision the entities are known at
+     * @param revision the last revision to include
+     * @return the ids of the entities written, or an empty optional if they are not
+     * known for every revision, in which case any entity may have changed
+     */
+    Optional<Set<Integer>> findChangedIds(String entityName, long afterRevision,
+                                          long revision);
+
+    /**
+     * Identifies the database the entities are read from.
+     *
+     * @return the JDBC URL of the database
+     */
+    String getDatabaseUrl();
+}
@@ -6,8 +6,11 @@ import it.unibo.wastemaster.domain.model.Customer;
 import it.unibo.wastemaster.domain.model.RecurringSchedule;
 import it.unibo.wastemaster.domain.model.Schedule;
 import java.time.LocalDate;
+import java.time.Month;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Repository interface for managing Collection entities.
@@ -33,13 +36,58 @@ public interface CollectionRepository {
     List<Collection> findByStatus(CollectionStatus status);
 
     /**
-     * Retrieves the currently active collection for the given recurring schedule, if any.
+     * Retrieves the earliest active collection for the given recurring schedule, if
+     * any.
      *
      * @param schedule the RecurringSchedule to find the active collection for
      * @return an Optional containing the active Collection if present, empty otherwise
      */
     Optional<Collection> findActiveByRecurringSchedule(RecurringSchedule schedule);
 
+    /**
+     * Retrieves the active collections of the given schedule taking place on or
+     * after the given day, ordered by date.
+     *
+     * @param schedule the Schedule entity to filter collections
+     * @param from the first day included
+     * @return a list of upcoming active Collection entities
+     */
+    List<Collection> findUpcomingActiveBySchedule(Schedule schedule, LocalDate from);
+
+    /**
+     * Retrieves the date of the earliest active collection on or after the given day
+     * for each of the given schedules.
+     *
+     * @param schedules the schedules to look up
+     * @param from the first day included
+     * @return the earliest active date by schedule ID; schedules without one are
+     * absent
+     */
+    Map<Integer, LocalDate> findNextActiveDates(List<? extends Schedule> schedules,
+                                                LocalDate from);
+
+    /**
+     * Retrieves the dates on or after the given day already taken by a collection
+     * that is not cancelled, for each of the given schedules.
+     *
+     * @param schedules the schedules to look up
+     * @param from the first day included
+     * @return the dates taken by schedule ID; schedules without one are absent
+     */
+    Map<Integer, Set<LocalDate>> findScheduledDates(List<? extends Schedule> schedules,
+                                                    LocalDate from);
+
+    /**
+     * Cancels the collections of the given schedules that are still active although
+     * their date is before the given day.
+     *
+     * @param schedules the schedules whose missed collections are cancelled
+     * @param date the day before which collections are considered missed
+     * @return the number of collections cancelled
+     */
+    int cancelActiveBySchedulesBefore(List<? extends Schedule> schedules,
+                                      LocalDate date);
+
     /**
      * Retrieves all collections for a specific postal code on a given date.
      *
@@ -50,6 +98,43 @@ public interface CollectionRepository {
     List<Collection> findCollectionsByPostalCodeAndDate(String postalCode,
                                                         LocalDate date);
 
+    /**
+     * Retrieves the active collections of a day not yet assigned to a trip, grouped
+     * by postal code.
+     *
+     * @param date the date to filter collections
+     * @return the unassigned collections by postal code, in postal code order
+     */
+    Map<String, List<Collection>> findUnassignedByPostalCode(LocalDate date);
+
+    /**
+     * Changes the status of the collections of a trip that currently have the given
+     * status, with a single statement.
+     *
+     * @param tripId the id of the trip
+     * @param from the status of the collections to change
+     * @param to the new status
+     * @return the number of collections changed
+     */
+    int updateStatusByTrip(int tripId, CollectionStatus from, CollectionStatus to);
+
+    /**
+     * Removes all the collections of a trip from it, with a single statement.
+     *
+     * @param tripId the id of the trip
+     * @return the number of collections removed from the trip
+     */
+    int detachFromTrip(int tripId);
+
+    /**
+     * Retrieves the address and coordinates of the customer of each of the given
+     * collections.
+     *
+     * @param collectionIds the ids of the collections
+     * @return the location of each collection found
+     */
+    List<StopLocation> findStopLocations(List<Integer> collectionIds);
+
     /**
      * Retrieves all completed collections for a customer that have not yet been billed.
      *
@@ -58,6 +143,26 @@ public interface CollectionRepository {
      */
     List<Collection> findCompletedNotBilledByCustomer(Customer customer);
 
+    /**
+     * Retrieves the ids of the customers that have completed collections not yet
+     * billed, in ascending order, starting after the given id.
+     *
+     * @param afterCustomerId the id after which the chunk starts, 0 for the first
+     * @param limit the maximum number of ids to return
+     * @return the ids of the customers to bill
+     */
+    List<Integer> findCustomerIdsToBill(int afterCustomerId, int limit);
+
+    /**
+     * Retrieves the completed collections not yet billed of the given customers,
+     * grouped by customer.
+     *
+     * @param customerIds the ids of the customers
+     * @return the collections to bill by customer, in customer id order
+     */
+    Map<Customer, List<Collection>> findCompletedNotBilledByCustomers(
+            List<Integer> customerIds);
+
     /**
      * Updates an existing collection.
      *
@@ -72,6 +177,22 @@ public interface CollectionRepository {
      */
     void save(Collection collection);
 
+    /**
+     * Persists all the given collections in a single transaction using JDBC
+     * batching.
+     *
+     * @param collections the Collection entities to save
+     */
+    void saveAll(List<Collection> collections);
+
+    /**
+     * Updates all the given collections in a single transaction using JDBC
+     * batching.
+     *
+     * @param collections the Collection entities to update
+     */
+    void updateAll(List<Collection> collections);
+
     /**
      * Deletes a collection.
      *
@@ -85,4 +206,41 @@ public interface CollectionRepository {
      * @return a list of all Collection entities
      */
     List<Collection> findAll();
+
+    /**
+     * Counts the collections with the specified status.
+     *
+     * @param status the CollectionStatus to count
+     * @return the number of collections with the given status
+     */
+    int countByStatus(CollectionStatus status);
+
+    /**
+     * Counts the collections of a customer, whatever their status.
+     *
+     * @param customerId the id of the customer
+     * @return the number of collections of the customer
+     */
+    int countByCustomer(int customerId);
+
+    /**
+     * Counts collections grouped by month of the collection date and by status,
+     * across all years.
+     *
+     * @return the number of collections per month and status; months or statuses
+     * without collections are absent
+     */
+    Map<Month, Map<CollectionStatus, Long>> countByMonthAndStatus();
+
+    /**
+     * Retrieves the read-only rows built from the collection attributes selected by
+     * the projection for all the collections matching the filters of the request,
+     * without loading Collection entities.
+     *
+     * @param request the filters, search and sort to apply
+     * @param projection the attributes to read and the row built from them
+     * @param <R> the type of the rows
+     * @return a list of rows
+     */
+    <R> List<R> findAll(PageRequest request, Projection<R> projection);
 }
@@ -0,0 +1,38 @@
+package it.unibo.wastemaster.domain.repository;
+
+import it.unibo.wastemaster.domain.model.CustomerBalance;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Repository interface for the billing balances of the customers.
+ */
+public interface CustomerBalanceRepository {
+
+    /**
+     * Retrieves the balance of a customer.
+     *
+     * @param customerId the id of the customer
+     * @return an Optional containing the balance, or empty if the customer has never
+     * been billed
+     */
+    Optional<CustomerBalance> findByCustomerId(int customerId);
+
+    /**
+     * Changes the balance of a customer in the current transaction, creating it if
+     * the customer has never been billed.
+     *
+     * @param customerId the id of the customer
+     * @param change the change to apply to the balance
+     */
+    void update(int customerId, Consumer<CustomerBalance> change);
+
+    /**
+     * Changes the balances of several customers in the current transaction,
+     * reading them with a single query.
+     *
+     * @param changes the change to apply to the balance of each customer id
+     */
+    void updateAll(Map<Integer, Consumer<CustomerBalance>> changes);
+}
@@ -41,6 +41,13 @@ public interface CustomerRepository {
      */
     List<Customer> findActive();
 
+    /**
+     * Retrieves the customers whose location has no coordinates yet.
+     *
+     * @return a list of Customer entities without coordinates
+     */
+    List<Customer> findWithoutCoordinates();
+
     /**
      * Persists a new customer.
      *
@@ -75,4 +82,31 @@ public interface CustomerRepository {
      * @return a list of the 5 most recently inserted Customer entities
      */
     List<Customer> findLast5Inserted();
+
+    /**
+     * Counts all active (not deleted) customers.
+     *
+     * @return the number of active customers
+     */
+    int countActive();
+
+    /**
+     * Retrieves one page of customers using keyset pagination, applying the filters,
+     * search and sort of the request in the database.
+     *
+     * @param request the page to retrieve
+     * @return the requested page of Customer entities
+     */
+    Page<Customer> findPage(PageRequest request);
+
+    /**
+     * Retrieves one page of read-only rows built from the customer attributes selected
+     * by the projection, without loading Customer entities.
+     *
+     * @param request the page to retrieve
+     * @param projection the attributes to read and the row built from them
+     * @param <R> the type of the rows
+     * @return the requested page of rows
+     */
+    <R> Page<R> findPage(PageRequest request, Projection<R> projection);
 }
@@ -61,4 +61,24 @@ public interface EmployeeRepository {
      * @return a list of active Employee entities
      */
     List<Employee> findAllActive();
+
+    /**
+     * Retrieves one page of employees using keyset pagination, applying the filters,
+     * search and sort of the request in the database.
+     *
+     * @param request the page to retrieve
+     * @return the requested page of Employee entities
+     */
+    Page<Employee> findPage(PageRequest request);
+
+    /**
+     * Retrieves one page of read-only rows built from the employee attributes selected
+     * by the projection, without loading Employee entities.
+     *
+     * @param request the page to retrieve
+     * @param projection the attributes to read and the row built from them
+     * @param <R> the type of the rows
+     * @return the requested page of rows
+     */
+    <R> Page<R> findPage(PageRequest request, Projection<R> projection);
 }
@@ -1,6 +1,7 @@
 package it.unibo.wastemaster.domain.repository;
 
 import it.unibo.wastemaster.domain.model.Invoice;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +18,13 @@ public interface InvoiceRepository {
      */
     void save(Invoice invoice);
 
+    /**
+     * Persists all the given invoices in a single transaction using JDBC batching.
+     *
+     * @param invoices the Invoice entities to save
+     */
+    void saveAll(List<Invoice> invoices);
+
     /**
      * Updates an existing invoice.
      *
@@ -32,13 +40,50 @@ public interface InvoiceRepository {
     void delete(Invoice invoice);
 
     /**
-     * Retrieves an invoice by its unique ID.
+     * Retrieves an invoice by its unique ID, together with its customer.
      *
      * @param id the unique identifier of the invoice
      * @return an Optional containing the Invoice if found, or empty if not found
      */
     Optional<Invoice> findById(int id);
 
+    /**
+     * Retrieves an invoice by its unique ID together with its billed collections,
+     * each with its waste and its customer with the customer location.
+     *
+     * @param id the unique identifier of the invoice
+     * @return an Optional containing the Invoice if found, or empty if not found
+     */
+    Optional<Invoice> findWithCollections(int id);
+
+    /**
+     * Retrieves an invoice by its unique ID together with its customer, the
+     * customer location and the billed collections with their schedules, as needed
+     * to print the invoice.
+     *
+     * @param id the unique identifier of the invoice
+     * @return an Optional containing the Invoice if found, or empty if not found
+     */
+    Optional<Invoice> findForPdf(int id);
+
+    /**
+     * Retrieves the given invoices, each with what is needed to print it as in
+     * {@link #findForPdf(int)}, with a single query.
+     *
+     * @param ids the unique identifiers of the invoices
+     * @return the invoices found, in id order
+     */
+    List<Invoice> findForPdf(List<Integer> ids);
+
+    /**
+     * Retrieves the ids of the invoices not deleted issued in the given period.
+     *
+     * @param from the start of the period, inclusive
+     * @param to the end of the period, exclusive
+     * @return the invoice ids, in ascending order
+     */
+    List<Integer> findIdsIssuedBetween(LocalDateTime from, LocalDateTime to);
+
     /**
      * Retrieves all invoices.
      *
@@ -60,4 +105,64 @@ public interface InvoiceRepository {
      * @return a list of the 5 most recent Invoice entities
      */
     List<Invoice> findLast5InvoicesEvent();
+
+    /**
+     * Counts the invoices with the specified payment status.
+     *
+     * @param status the PaymentStatus to count
+     * @return the number of invoices with the given payment status
+     */
+    int countByPaymentStatus(Invoice.PaymentStatus status);
+
+    /**
+     * Marks an invoice as paid, only if it is still unpaid and not deleted, with a
+     * single conditional update.
+     *
+     * @param invoiceId the id of the invoice
+     * @param paymentDate the date of the payment
+     * @return true if this call marked the invoice as paid, false otherwise
+     */
+    boolean markPaid(int invoiceId, LocalDateTime paymentDate);
+
+    /**
+     * Deletes an invoice (soft delete) and marks the collections it billed as not
+     * billed, only if the invoice is still unpaid and not deleted, with a single
+     * conditional update.
+     *
+     * @param invoiceId the id of the invoice
+     * @param collectionIds the ids of the collections billed by the invoice
+     * @param when the date of the deletion
+     * @return true if this call deleted the invoice, false otherwise
+     */
+    boolean markDeleted(int invoiceId, List<Integer> collectionIds, LocalDateTime when);
+
+    /**
+     * Marks the given collections as billed, only if none of them is billed yet,
+     * with a single conditional update.
+     *
+     * @param collectionIds the ids of the collections to bill
+     * @return true if this call marked every collection as billed, false if some of
+     * them were already billed
+     */
+    boolean markCollectionsBilled(List<Integer> collectionIds);
+
+    /**
+     * Retrieves one page of invoices using keyset pagination, applying the filters,
+     * search and sort of the request in the database.
+     *
+     * @param request the page to retrieve
+     * @return the requested page of Invoice entities
+     */
+    Page<Invoice> findPage(PageRequest request);
+
+    /**
+     * Retrieves one page of read-only rows built from the invoice attributes selected
+     * by the projection, without loading Invoice entities.
+     *
+     * @param request the page to retrieve
+     * @param projection the attributes to read and the row built from them
+     * @param <R> the type of the rows
+     * @return the requested page of rows
+     */
+    <R> Page<R> findPage(PageRequest request, Projection<R> projection);
 }
@@ -0,0 +1,54 @@
+package it.unibo.wastemaster.domain.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A page of results read with keyset pagination.
+ *
+ * @param <T> the type of the rows
+ */
+public final class Page<T> {
+
+    private final List<T> items;
+    private final PageRequest nextRequest;
+
+    /**
+     * Constructs a page.
+     *
+     * @param items the rows of the page
+     * @param nextRequest the request addressing the following page, or null if this
+     * is the last page
+     */
+    public Page(final List<T> items, final PageRequest nextRequest) {
+        this.items = List.copyOf(items);
+        this.nextRequest = nextRequest;
+    }
+
+    /**
+     * Gets the rows of this page.
+     *
+     * @return an unmodifiable list of rows
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Checks whether more rows follow this page.
+     *
+     * @return true if a following page exists, false otherwise
+     */
+    public boolean hasNext() {
+        return nextRequest != null;
+    }
+
+    /**
+     * Gets the request addressing the following page.
+     *
+     * @return an Optional containing the next page request, empty on the last page
+     */
+    public Optional<PageRequest> nextPage() {
+        return Optional.ofNullable(nextRequest);
+    }
+}
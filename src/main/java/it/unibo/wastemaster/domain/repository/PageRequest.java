@@ -0,0 +1,243 @@
+package it.unibo.wastemaster.domain.repository;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable description of a page to read with keyset pagination.
+ * <p>
+ * Rows are ordered by an optional sort attribute and then by identifier, so the
+ * order is always total. Instead of an offset, the following page is addressed by a
+ * cursor holding the sort value and identifier of the last row already read, which
+ * keeps every page as cheap as the first one regardless of the table size.
+ * <p>
+ * Attributes are JPA attribute paths relative to the queried entity, using dots to
+ * navigate associations (for example {@code "location.city"}). The sort attribute
+ * must not be nullable.
+ */
+public final class PageRequest {
+
+    /**
+     * Number of rows loaded per page when not specified otherwise.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    private final int pageSize;
+    private final String sortAttribute;
+    private final boolean ascending;
+    private final Map<String, Set<Object>> filters;
+    private final String searchText;
+    private final List<String> searchAttributes;
+    private final Object afterSortValue;
+    private final Object afterId;
+
+    private PageRequest(final int pageSize, final String sortAttribute,
+                        final boolean ascending, final Map<String, Set<Object>> filters,
+                        final String searchText, final List<String> searchAttributes,
+                        final Object afterSortValue, final Object afterId) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        this.pageSize = pageSize;
+        this.sortAttribute = sortAttribute;
+        this.ascending = ascending;
+        this.filters = Collections.unmodifiableMap(filters);
+        this.searchText = searchText;
+        this.searchAttributes = List.copyOf(searchAttributes);
+        this.afterSortValue = afterSortValue;
+        this.afterId = afterId;
+    }
+
+    /**
+     * Creates a request for the first page, ordered by identifier.
+     *
+     * @param pageSize the maximum number of rows of the page, must be positive
+     * @return the new page request
+     */
+    public static PageRequest of(final int pageSize) {
+        return new PageRequest(pageSize, null, true, new LinkedHashMap<>(), null,
+                List.of(), null, null);
+    }
+
+    /**
+     * Creates a request for the first page of {@link #DEFAULT_PAGE_SIZE} rows,
+     * ordered by identifier.
+     *
+     * @return the new page request
+     */
+    public static PageRequest firstPage() {
+        return of(DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Returns a copy of this request ordered by the given attribute, then by
+     * identifier. The cursor is reset to the first page.
+     *
+     * @param attribute the attribute path to sort by, or null to sort by identifier
+     * @param ascendingOrder true for ascending order, false for descending
+     * @return the new page request
+     */
+    public PageRequest sortBy(final String attribute, final boolean ascendingOrder) {
+        return new PageRequest(pageSize, attribute, ascendingOrder, filters, searchText,
+                searchAttributes, null, null);
+    }
+
+    /**
+     * Returns a copy of this request only matching rows whose attribute has one of
+     * the given values. For collection-valued attributes a row matches when any
+     * element of the collection is one of the values. The cursor is reset to the
+     * first page.
+     *
+     * @param attribute the attribute path to filter on
+     * @param values the accepted values; no value matches no row
+     * @return the new page request
+     */
+    public PageRequest where(final String attribute, final Collection<?> values) {
+        Map<String, Set<Object>> newFilters = new LinkedHashMap<>(filters);
+        newFilters.put(attribute, Collections.unmodifiableSet(
+                new LinkedHashSet<>(values)));
+        return new PageRequest(pageSize, sortAttribute, ascending, newFilters,
+                searchText, searchAttributes, null, null);
+    }
+
+    /**
+     * Returns a copy of this request only matching rows whose attribute has the
+     * given value.
+     *
+     * @param attribute the attribute path to filter on
+     * @param value the accepted value
+     * @return the new page request
+     */
+    public PageRequest where(final String attribute, final Object value) {
+        return where(attribute, Set.of(value));
+    }
+
+    /**
+     * Returns a copy of this request only matching rows where at least one of the
+     * given attributes contains the text, ignoring case. Enum attributes match on
+     * the constant name, with underscores read as spaces, or its string form. A
+     * blank text or no attributes disables the search. The cursor is reset to the
+     * first page.
+     *
+     * @param text the text to search for
+     * @param attributes the attribute paths to search in
+     * @return the new page request
+     */
+    public PageRequest search(final String text, final String... attributes) {
+        String normalized = text == null || text.isBlank() ? null : text.trim();
+        return new PageRequest(pageSize, sortAttribute, ascending, filters, normalized,
+                Arrays.asList(attributes), null, null);
+    }
+
+    /**
+     * Returns a copy of this request with a different page size, keeping the cursor.
+     *
+     * @param size the maximum number of rows of the page, must be positive
+     * @return the new page request
+     */
+    public PageRequest withPageSize(final int size) {
+        return new PageRequest(size, sortAttribute, ascending, filters, searchText,
+                searchAttributes, afterSortValue, afterId);
+    }
+
+    /**
+     * Returns a copy of this request addressing the rows that follow the row with
+     * the given sort value and identifier.
+     *
+     * @param sortValue the sort attribute value of the last row read, ignored when
+     * sorting by identifier
+     * @param id the identifier of the last row read
+     * @return the new page request
+     */
+    public PageRequest after(final Object sortValue, final Object id) {
+        return new PageRequest(pageSize, sortAttribute, ascending, filters, searchText,
+                searchAttributes, sortValue, id);
+    }
+
+    /**
+     * Gets the maximum number of rows of the page.
+     *
+     * @return the page size
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Gets the attribute path used for sorting.
+     *
+     * @return the sort attribute, or null when sorting by identifier only
+     */
+    public String getSortAttribute() {
+        return sortAttribute;
+    }
+
+    /**
+     * Checks whether rows are sorted in ascending order.
+     *
+     * @return true for ascending order, false for descending
+     */
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    /**
+     * Gets the value filters, keyed by attribute path.
+     *
+     * @return an unmodifiable map of accepted values per attribute
+     */
+    public Map<String, Set<Object>> getFilters() {
+        return filters;
+    }
+
+    /**
+     * Gets the text to search for.
+     *
+     * @return the trimmed search text, or null when no search is requested
+     */
+    public String getSearchText() {
+        return searchText;
+    }
+
+    /**
+     * Gets the attribute paths the search text is matched against.
+     *
+     * @return an unmodifiable list of attribute paths
+     */
+    public List<String> getSearchAttributes() {
+        return searchAttributes;
+    }
+
+    /**
+     * Checks whether this request addresses the first page.
+     *
+     * @return true if no cursor is set, false otherwise
+     */
+    public boolean isFirstPage() {
+        return afterId == null;
+    }
+
+    /**
+     * Gets the sort value of the last row of the previous page.
+     *
+     * @return the cursor sort value, or null on the first page
+     */
+    public Object getAfterSortValue() {
+        return afterSortValue;
+    }
+
+    /**
+     * Gets the identifier of the last row of the previous page.
+     *
+     * @return the cursor identifier, or null on the first page
+     */
+    public Object getAfterId() {
+        return afterId;
+    }
+}
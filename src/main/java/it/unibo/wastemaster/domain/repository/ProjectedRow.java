@@ -0,0 +1,66 @@
+package it.unibo.wastemaster.domain.repository;
+
+import jakarta.persistence.Tuple;
+import java.util.List;
+
+/**
+ * Values read by a {@link Projection} for one entity, addressed by the typed
+ * columns of the projection.
+ */
+public final class ProjectedRow {
+
+    private final Projection<?> projection;
+    private final Tuple values;
+    private final int offset;
+    private final List<Tuple> elements;
+
+    /**
+     * Constructs a row of projected values.
+     *
+     * @param projection the projection that selected the values
+     * @param values the result row holding the values read once per entity, in the
+     * order of the columns of the projection
+     * @param offset the position in the result row of the value of the first column
+     * @param elements one result row per element of the collection association, each
+     * holding the id of the entity followed by the values of the element columns
+     */
+    public ProjectedRow(final Projection<?> projection, final Tuple values,
+                        final int offset, final List<Tuple> elements) {
+        this.projection = projection;
+        this.values = values;
+        this.offset = offset;
+        this.elements = elements;
+    }
+
+    /**
+     * Gets the value read for the given column.
+     *
+     * @param column a column read once per entity by the projection
+     * @param <V> the type of the value
+     * @return the value, or null if the attribute or an association on its path is
+     * null
+     * @throws IllegalArgumentException if the column is not part of the projection,
+     * or the value read is not of its type
+     */
+    public <V> V get(final Projection.Column<V> column) {
+        projection.check(column, false);
+        return values.get(offset + column.getIndex(), column.getType());
+    }
+
+    /**
+     * Gets the values read for the given column, one per element of the collection
+     * association.
+     *
+     * @param column a column read through a collection by the projection
+     * @param <V> the type of the values
+     * @return an unmodifiable list of values, empty if the collection is empty
+     * @throws IllegalArgumentException if the column is not part of the projection,
+     * or a value read is not of its type
+     */
+    public <V> List<V> getAll(final Projection.Column<V> column) {
+        projection.check(column, true);
+        return elements.stream()
+                .map(element -> element.get(1 + column.getIndex(), column.getType()))
+                .toList();
+    }
+}
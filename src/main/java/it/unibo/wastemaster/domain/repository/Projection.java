@@ -0,0 +1,178 @@
+package it.unibo.wastemaster.domain.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Immutable description of the attributes to read for a read-only view of an
+ * entity, and of how the values read are turned into a row.
+ * <p>
+ * Only the declared attribute paths are selected, as plain values, so no entity is
+ * instantiated or registered in the persistence context. Paths use the same dotted
+ * syntax as {@link PageRequest}; associations along a path are joined with outer
+ * joins, so a missing association yields {@code null} values. Attributes reached
+ * through a collection association are declared separately with
+ * {@link Columns#addElement(String, Class)} and read by a second query, keeping one
+ * result row per entity.
+ * <p>
+ * Each attribute is declared as a typed {@link Column}, which the mapper then uses
+ * to read its value from the {@link ProjectedRow}: the value is taken by position
+ * and checked against the declared type, so a row never goes through a map or an
+ * unchecked cast.
+ *
+ * @param <R> the type of the rows built from the values read
+ */
+public final class Projection<R> {
+
+    private final Columns columns;
+    private final List<String> attributes;
+    private final List<String> collectionAttributes;
+    private final Function<ProjectedRow, R> mapper;
+
+    private Projection(final Columns columns, final Function<ProjectedRow, R> mapper) {
+        this.columns = columns;
+        this.attributes = List.copyOf(columns.attributes);
+        this.collectionAttributes = List.copyOf(columns.collectionAttributes);
+        this.mapper = Objects.requireNonNull(mapper);
+    }
+
+    /**
+     * Creates a projection from a definition that declares its columns and returns
+     * the function building a row from the values of these columns.
+     *
+     * @param definition declares the columns and returns the row mapper
+     * @param <R> the type of the rows
+     * @return the new projection
+     */
+    public static <R> Projection<R> of(
+            final Function<Columns, Function<ProjectedRow, R>> definition) {
+        Columns columns = new Columns();
+        return new Projection<>(columns, definition.apply(columns));
+    }
+
+    /**
+     * Gets the attribute paths read once per entity, in the order of their columns.
+     *
+     * @return an unmodifiable list of attribute paths
+     */
+    public List<String> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * Gets the attribute paths read through a collection association, in the order
+     * of their columns.
+     *
+     * @return an unmodifiable list of attribute paths
+     */
+    public List<String> getCollectionAttributes() {
+        return collectionAttributes;
+    }
+
+    /**
+     * Builds the row for the given values.
+     *
+     * @param values the values read for one entity
+     * @return the row
+     */
+    public R map(final ProjectedRow values) {
+        return mapper.apply(values);
+    }
+
+    /**
+     * Checks that the given column was declared by this projection.
+     */
+    void check(final Column<?> column, final boolean element) {
+        int declared = element ? collectionAttributes.size() : attributes.size();
+        if (column.owner != columns || column.element != element
+                || column.index >= declared) {
+            throw new IllegalArgumentException(
+                    "Column not projected: " + column.attribute);
+        }
+    }
+
+    /**
+     * Declares the columns of a projection being defined.
+     */
+    public static final class Columns {
+
+        private final List<String> attributes = new ArrayList<>();
+        private final List<String> collectionAttributes = new ArrayList<>();
+
+        private Columns() {
+        }
+
+        /**
+         * Declares an attribute read once per entity.
+         *
+         * @param attribute the attribute path, none of its associations a
+         * collection
+         * @param type the class of the values of the attribute
+         * @param <V> the type of the values
+         * @return the column reading the attribute
+         */
+        public <V> Column<V> add(final String attribute, final Class<V> type) {
+            attributes.add(attribute);
+            return new Column<>(this, attribute, type, attributes.size() - 1, false);
+        }
+
+        /**
+         * Declares an attribute reached through a collection association, read once
+         * per element. All element columns of a projection must go through the same
+         * association, so that their values line up element by element.
+         *
+         * @param attribute the attribute path, e.g. {@code "operators.name"}
+         * @param type the class of the values of the attribute
+         * @param <V> the type of the values
+         * @return the column reading the attribute
+         */
+        public <V> Column<V> addElement(final String attribute, final Class<V> type) {
+            collectionAttributes.add(attribute);
+            return new Column<>(this, attribute, type,
+                    collectionAttributes.size() - 1, true);
+        }
+    }
+
+    /**
+     * Typed handle on an attribute read by a projection.
+     *
+     * @param <V> the type of the values of the attribute
+     */
+    public static final class Column<V> {
+
+        private final Columns owner;
+        private final String attribute;
+        private final Class<V> type;
+        private final int index;
+        private final boolean element;
+
+        private Column(final Columns owner, final String attribute,
+                       final Class<V> type, final int index, final boolean element) {
+            this.owner = owner;
+            this.attribute = Objects.requireNonNull(attribute);
+            this.type = Objects.requireNonNull(type);
+            this.index = index;
+            this.element = element;
+        }
+
+        /**
+         * Gets the class of the values of the attribute.
+         *
+         * @return the value class
+         */
+        Class<V> getType() {
+            return type;
+        }
+
+        /**
+         * Gets the position of the column among those of its kind.
+         *
+         * @return the index of the column
+         */
+        int getIndex() {
+            return index;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package it.unibo.wastemaster.domain.repository;
 
 import it.unibo.wastemaster.domain.model.Customer;
 import it.unibo.wastemaster.domain.model.RecurringSchedule;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +28,13 @@ public interface RecurringScheduleRepository {
      */
     void update(RecurringSchedule schedule);
 
+    /**
+     * Updates all the given recurring schedules in a single batched transaction.
+     *
+     * @param schedules the RecurringSchedule entities to update
+     */
+    void updateAll(List<RecurringSchedule> schedules);
+
     /**
      * Retrieves a recurring schedule by its unique ID.
      *
@@ -49,6 +58,44 @@ public interface RecurringScheduleRepository {
      */
     List<RecurringSchedule> findActiveSchedulesWithNextDateBeforeToday();
 
+    /**
+     * Retrieves a chunk of active schedules whose next scheduled date is before the
+     * given day, ordered by ID, locked until the end of the current transaction.
+     *
+     * @param today the reference day
+     * @param afterId the ID after which the chunk starts, 0 for the first chunk
+     * @param limit the maximum number of schedules in the chunk
+     * @return the overdue RecurringSchedule entities of the chunk
+     */
+    List<RecurringSchedule> findOverdueSchedules(LocalDate today, int afterId,
+                                                 int limit);
+
+    /**
+     * Retrieves a chunk of active schedules whose collections do not cover one more
+     * occurrence before the end of the horizon, ordered by ID, locked until the end
+     * of the current transaction.
+     *
+     * @param weeklyBefore the last materialized day from which a weekly schedule
+     * needs topping up
+     * @param monthlyBefore the last materialized day from which a monthly schedule
+     * needs topping up
+     * @param afterId the ID after which the chunk starts, 0 for the first chunk
+     * @param limit the maximum number of schedules in the chunk
+     * @return the RecurringSchedule entities of the chunk
+     */
+    List<RecurringSchedule> findSchedulesToTopUp(LocalDate weeklyBefore,
+                                                 LocalDate monthlyBefore, int afterId,
+                                                 int limit);
+
+    /**
+     * Retrieves the recurring schedules with the given IDs, locked until the end of
+     * the current transaction.
+     *
+     * @param ids the unique identifiers of the schedules
+     * @return the RecurringSchedule entities found, ordered by ID
+     */
+    List<RecurringSchedule> findAllById(Collection<Integer> ids);
+
     /**
      * Retrieves all schedules associated with a specific customer.
      *
@@ -15,4 +15,24 @@ public interface ScheduleRepository {
      * @return a list of all Schedule entities
      */
     List<Schedule> findAll();
+
+    /**
+     * Retrieves one page of schedules using keyset pagination, applying the filters,
+     * search and sort of the request in the database.
+     *
+     * @param request the page to retrieve
+     * @return the requested page of Schedule entities
+     */
+    Page<Schedule> findPage(PageRequest request);
+
+    /**
+     * Retrieves one page of read-only rows built from the schedule attributes selected
+     * by the projection, without loading Schedule entities.
+     *
+     * @param request the page to retrieve
+     * @param projection the attributes to read and the row built from them
+     * @param <R> the type of the rows
+     * @return the requested page of rows
+     */
+    <R> Page<R> findPage(PageRequest request, Projection<R> projection);
 }
@@ -0,0 +1,67 @@
+package it.unibo.wastemaster.domain.repository;
+
+import it.unibo.wastemaster.domain.model.GeoPoint;
+
+/**
+ * Immutable read-only view of where a collection takes place: the address of its
+ * customer and, if already placed, its coordinates.
+ */
+public final class StopLocation {
+
+    private final int collectionId;
+    private final String postalCode;
+    private final String street;
+    private final GeoPoint coordinates;
+
+    /**
+     * Constructs a stop location.
+     *
+     * @param collectionId the id of the collection
+     * @param postalCode the postal code of the customer
+     * @param street the street of the customer
+     * @param coordinates the coordinates of the customer, null if not placed
+     */
+    public StopLocation(final int collectionId, final String postalCode,
+                        final String street, final GeoPoint coordinates) {
+        this.collectionId = collectionId;
+        this.postalCode = postalCode;
+        this.street = street;
+        this.coordinates = coordinates;
+    }
+
+    /**
+     * Gets the id of the collection.
+     *
+     * @return the collection id
+     */
+    public int getCollectionId() {
+        return collectionId;
+    }
+
+    /**
+     * Gets the postal code of the customer.
+     *
+     * @return the postal code
+     */
+    public String getPostalCode() {
+        return postalCode;
+    }
+
+    /**
+     * Gets the street of the customer.
+     *
+     * @return the street
+     */
+    public String getStreet() {
+        return street;
+    }
+
+    /**
+     * Gets the coordinates of the customer.
+     *
+     * @return the coordinates, or null if the location has not been placed
+     */
+    public GeoPoint getCoordinates() {
+        return coordinates;
+    }
+}
@@ -0,0 +1,24 @@
+package it.unibo.wastemaster.domain.repository;
+
+import it.unibo.wastemaster.domain.model.Tariff;
+import java.util.List;
+
+/**
+ * Repository interface for the tariffs pricing the collections.
+ */
+public interface TariffRepository {
+
+    /**
+     * Retrieves all tariffs with their waste, in insertion order.
+     *
+     * @return the list of all tariffs
+     */
+    List<Tariff> findAll();
+
+    /**
+     * Persists a new tariff.
+     *
+     * @param tariff the tariff to save
+     */
+    void save(Tariff tariff);
+}
@@ -23,6 +23,14 @@ public interface TripRepository {
      */
     void save(Trip trip);
 
+    /**
+     * Persists all the given trips and assigns each of them its collections, in a
+     * single transaction.
+     *
+     * @param trips the Trip entities to save, with their collections
+     */
+    void saveAllWithCollections(List<Trip> trips);
+
     /**
      * Updates an existing trip.
      *
@@ -31,7 +39,8 @@ public interface TripRepository {
     void update(Trip trip);
 
     /**
-     * Retrieves a trip by its unique ID.
+     * Retrieves a trip by its unique ID, with its vehicle, its operators and its
+     * collections loaded.
      *
      * @param tripId the unique identifier of the trip
      * @return an Optional containing the Trip if found, or empty if not found
@@ -120,6 +129,41 @@ public interface TripRepository {
                                                              Employee driver,
                                                              Trip tripToEdit);
 
+    /**
+     * Retrieves the vehicles that can be assigned to a trip ending on the given day,
+     * without checking whether they are busy with another trip.
+     *
+     * @param tripEndDate the day the trip ends
+     * @return a list of vehicles in service
+     */
+    List<Vehicle> findVehiclesInService(LocalDate tripEndDate);
+
+    /**
+     * Retrieves all operators, without checking whether they are busy with a trip.
+     *
+     * @return a list of operators
+     */
+    List<Employee> findOperators();
+
+    /**
+     * Retrieves the time window and the assigned resources of every active trip.
+     *
+     * @return a list of trip slots
+     */
+    List<TripSlot> findActiveTripSlots();
+
+    /**
+     * Tells whether the vehicles and operators of the given trips are free in the
+     * time window of their trip, according to the database rather than any cache.
+     * Locks them until the end of the current transaction, so that a concurrent
+     * writer cannot book them in the meantime.
+     *
+     * @param trips the trips about to be written
+     * @return true if no other active trip overlapping one of the trips uses its
+     * vehicle or one of its operators
+     */
+    boolean areCrewAndVehicleFree(List<Trip> trips);
+
     /**
      * Retrieves postal codes with available trips on the specified date.
      *
@@ -141,4 +185,24 @@ public interface TripRepository {
      * @return the total number of completed trips
      */
     int countCompleted();
+
+    /**
+     * Retrieves one page of trips using keyset pagination, applying the filters,
+     * search and sort of the request in the database.
+     *
+     * @param request the page to retrieve
+     * @return the requested page of Trip entities
+     */
+    Page<Trip> findPage(PageRequest request);
+
+    /**
+     * Retrieves one page of read-only rows built from the trip attributes selected
+     * by the projection, without loading Trip entities.
+     *
+     * @param request the page to retrieve
+     * @param projection the attributes to read and the row built from them
+     * @param <R> the type of the rows
+     * @return the requested page of rows
+     */
+    <R> Page<R> findPage(PageRequest request, Projection<R> projection);
 }
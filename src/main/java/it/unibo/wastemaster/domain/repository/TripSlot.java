@@ -0,0 +1,101 @@
+package it.unibo.wastemaster.domain.repository;
+
+import it.unibo.wastemaster.domain.model.Employee;
+import it.unibo.wastemaster.domain.model.Trip;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable read-only view of the time window of a trip and of the resources it
+ * occupies: its vehicle and its operators, by id.
+ */
+public final class TripSlot {
+
+    private final int tripId;
+    private final Integer vehicleId;
+    private final Set<Integer> operatorIds;
+    private final LocalDateTime departureTime;
+    private final LocalDateTime expectedReturnTime;
+
+    /**
+     * Constructs a trip slot.
+     *
+     * @param tripId the id of the trip
+     * @param vehicleId the id of the assigned vehicle, null if none
+     * @param operatorIds the ids of the assigned operators
+     * @param departureTime the departure time of the trip
+     * @param expectedReturnTime the expected return time of the trip
+     */
+    public TripSlot(final int tripId, final Integer vehicleId,
+                    final Set<Integer> operatorIds, final LocalDateTime departureTime,
+                    final LocalDateTime expectedReturnTime) {
+        this.tripId = tripId;
+        this.vehicleId = vehicleId;
+        this.operatorIds = Set.copyOf(operatorIds);
+        this.departureTime = departureTime;
+        this.expectedReturnTime = expectedReturnTime;
+    }
+
+    /**
+     * Creates the slot of the given trip, which must come with its vehicle and
+     * operators.
+     *
+     * @param trip the trip
+     * @return the slot of the trip
+     */
+    public static TripSlot of(final Trip trip) {
+        return new TripSlot(trip.getTripId(),
+                trip.getAssignedVehicle() == null
+                        ? null : trip.getAssignedVehicle().getVehicleId(),
+                trip.getOperators().stream()
+                        .map(Employee::getEmployeeId)
+                        .collect(Collectors.toSet()),
+                trip.getDepartureTime(), trip.getExpectedReturnTime());
+    }
+
+    /**
+     * Gets the id of the trip.
+     *
+     * @return the trip id
+     */
+    public int getTripId() {
+        return tripId;
+    }
+
+    /**
+     * Gets the id of the assigned vehicle.
+     *
+     * @return the vehicle id, or null if none is assigned
+     */
+    public Integer getVehicleId() {
+        return vehicleId;
+    }
+
+    /**
+     * Gets the ids of the assigned operators.
+     *
+     * @return an unmodifiable set of employee ids
+     */
+    public Set<Integer> getOperatorIds() {
+        return operatorIds;
+    }
+
+    /**
+     * Gets the departure time of the trip.
+     *
+     * @return the departure time
+     */
+    public LocalDateTime getDepartureTime() {
+        return departureTime;
+    }
+
+    /**
+     * Gets the expected return time of the trip.
+     *
+     * @return the expected return time
+     */
+    public LocalDateTime getExpectedReturnTime() {
+        return expectedReturnTime;
+    }
+}
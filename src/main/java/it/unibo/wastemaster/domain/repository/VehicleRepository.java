@@ -45,4 +45,24 @@ public interface VehicleRepository {
      * @return a list of all Vehicle entities
      */
     List<Vehicle> findAll();
+
+    /**
+     * Retrieves one page of vehicles using keyset pagination, applying the filters,
+     * search and sort of the request in the database.
+     *
+     * @param request the page to retrieve
+     * @return the requested page of Vehicle entities
+     */
+    Page<Vehicle> findPage(PageRequest request);
+
+    /**
+     * Retrieves one page of read-only rows built from the vehicle attributes selected
+     * by the projection, without loading Vehicle entities.
+     *
+     * @param request the page to retrieve
+     * @param projection the attributes to read and the row built from them
+     * @param <R> the type of the rows
+     * @return the requested page of rows
+     */
+    <R> Page<R> findPage(PageRequest request, Projection<R> projection);
 }
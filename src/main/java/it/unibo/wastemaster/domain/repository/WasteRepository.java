@@ -2,6 +2,7 @@ package it.unibo.wastemaster.domain.repository;
 
 import it.unibo.wastemaster.domain.model.Waste;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for managing Waste entities.
@@ -9,6 +10,14 @@ import java.util.List;
  */
 public interface WasteRepository {
 
+    /**
+     * Retrieves a waste type by its unique ID, deleted or not.
+     *
+     * @param id the unique identifier of the waste type
+     * @return an Optional containing the Waste if found, or empty if not found
+     */
+    Optional<Waste> findById(int id);
+
     /**
      * Retrieves all active (not deleted) waste types.
      *
@@ -2,6 +2,8 @@ package it.unibo.wastemaster.domain.repository;
 
 import it.unibo.wastemaster.domain.model.Waste;
 import it.unibo.wastemaster.domain.model.WasteSchedule;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Repository interface for managing WasteSchedule entities.
@@ -17,6 +19,14 @@ public interface WasteScheduleRepository {
      */
     WasteSchedule findScheduleByWaste(Waste waste);
 
+    /**
+     * Retrieves the schedules of the given waste types in a single query.
+     *
+     * @param wastes the wastes to get the schedules for
+     * @return the schedules found, at most one per waste
+     */
+    List<WasteSchedule> findSchedulesByWastes(Collection<Waste> wastes);
+
     /**
      * Persists a new waste schedule.
      *
@@ -0,0 +1,61 @@
+package it.unibo.wastemaster.domain.repository.impl;
+
+import it.unibo.wastemaster.domain.repository.ChangeVersionRepository;
+import it.unibo.wastemaster.infrastructure.dao.ChangeVersionDAO;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Implementation of {@link ChangeVersionRepository} that uses
+ * {@link ChangeVersionDAO} to read the change versions.
+ */
+public class ChangeVersionRepositoryImpl implements ChangeVersionRepository {
+
+    private final ChangeVersionDAO changeVersionDAO;
+
+    /**
+     * Constructs the repository with the specified DAO.
+     *
+     * @param changeVersionDAO the DAO used to read the change versions
+     */
+    public ChangeVersionRepositoryImpl(final ChangeVersionDAO changeVersionDAO) {
+        this.changeVersionDAO = changeVersionDAO;
+    }
+
+    /**
+     * Retrieves the revisions of the given entity types.
+     *
+     * @param entityNames the simple class names of the entity types
+     * @return the revision of each entity type written at least once
+     */
+    @Override
+    public Map<String, Long> findRevisions(final Set<String> entityNames) {
+        return changeVersionDAO.findRevisions(entityNames);
+    }
+
+    /**
+     * Retrieves the ids of the entities of a type written after a revision.
+     *
+     * @param entityName the simple class name of the entity type
+     * @param afterRevision the revision the entities are known at
+     * @param revision the last revision to include
+     * @return the ids of the entities written, or an empty optional if unknown
+     */
+    @Override
+    public Optional<Set<Integer>> findChangedIds(final String entityName,
+                                                 final long afterRevision,
+                                                 final long revision) {
+        return changeVersionDAO.findChangedIds(entityName, afterRevision, revision);
+    }
+
+    /**
+     * Identifies the database the entities are read from.
+     *
+     * @return the JDBC URL of the database
+     */
+    @Override
+    public String getDatabaseUrl() {
+        return changeVersionDAO.getDatabaseUrl();
+    }
+}
@@ -6,10 +6,16 @@ import it.unibo.wastemaster.domain.model.Customer;
 import it.unibo.wastemaster.domain.model.RecurringSchedule;
 import it.unibo.wastemaster.domain.model.Schedule;
 import it.unibo.wastemaster.domain.repository.CollectionRepository;
+import it.unibo.wastemaster.domain.repository.PageRequest;
+import it.unibo.wastemaster.domain.repository.Projection;
+import it.unibo.wastemaster.domain.repository.StopLocation;
 import it.unibo.wastemaster.infrastructure.dao.CollectionDAO;
 import java.time.LocalDate;
+import java.time.Month;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Implementation of {@link CollectionRepository} that uses {@link CollectionDAO}
@@ -63,6 +69,58 @@ public class CollectionRepositoryImpl implements CollectionRepository {
                 collectionDAO.findActiveCollectionByRecurringSchedule(schedule));
     }
 
+    /**
+     * Retrieves the upcoming active collections of a schedule.
+     *
+     * @param schedule the schedule to filter collections by
+     * @param from the first day included
+     * @return a list of upcoming active collections ordered by date
+     */
+    @Override
+    public List<Collection> findUpcomingActiveBySchedule(final Schedule schedule,
+                                                         final LocalDate from) {
+        return collectionDAO.findUpcomingActiveBySchedule(schedule, from);
+    }
+
+    /**
+     * Retrieves the earliest upcoming active date of each schedule.
+     *
+     * @param schedules the schedules to look up
+     * @param from the first day included
+     * @return the earliest active date by schedule ID
+     */
+    @Override
+    public Map<Integer, LocalDate> findNextActiveDates(
+            final List<? extends Schedule> schedules, final LocalDate from) {
+        return collectionDAO.findNextActiveDates(schedules, from);
+    }
+
+    /**
+     * Retrieves the dates already taken by the collections of each schedule.
+     *
+     * @param schedules the schedules to look up
+     * @param from the first day included
+     * @return the dates taken by schedule ID
+     */
+    @Override
+    public Map<Integer, Set<LocalDate>> findScheduledDates(
+            final List<? extends Schedule> schedules, final LocalDate from) {
+        return collectionDAO.findScheduledDates(schedules, from);
+    }
+
+    /**
+     * Cancels the collections of the given schedules still active before a day.
+     *
+     * @param schedules the schedules whose missed collections are cancelled
+     * @param date the day before which collections are considered missed
+     * @return the number of collections cancelled
+     */
+    @Override
+    public int cancelActiveBySchedulesBefore(final List<? extends Schedule> schedules,
+                                             final LocalDate date) {
+        return collectionDAO.cancelActiveBySchedulesBefore(schedules, date);
+    }
+
     /**
      * Retrieves collections for a specific postal code and date.
      *
@@ -76,6 +134,54 @@ public class CollectionRepositoryImpl implements CollectionRepository {
         return collectionDAO.findCollectionsByPostalCodeAndDate(postalCode, date);
     }
 
+    /**
+     * Retrieves the unassigned active collections of a day by postal code.
+     *
+     * @param date the date to filter collections
+     * @return the unassigned collections by postal code
+     */
+    @Override
+    public Map<String, List<Collection>> findUnassignedByPostalCode(
+            final LocalDate date) {
+        return collectionDAO.findUnassignedByPostalCode(date);
+    }
+
+    /**
+     * Changes the status of the collections of a trip with the given status.
+     *
+     * @param tripId the id of the trip
+     * @param from the status of the collections to change
+     * @param to the new status
+     * @return the number of collections changed
+     */
+    @Override
+    public int updateStatusByTrip(final int tripId, final CollectionStatus from,
+                                  final CollectionStatus to) {
+        return collectionDAO.updateStatusByTrip(tripId, from, to);
+    }
+
+    /**
+     * Removes all the collections of a trip from it.
+     *
+     * @param tripId the id of the trip
+     * @return the number of collections removed from the trip
+     */
+    @Override
+    public int detachFromTrip(final int tripId) {
+        return collectionDAO.detachFromTrip(tripId);
+    }
+
+    /**
+     * Retrieves the customer locations of the given collections.
+     *
+     * @param collectionIds the ids of the collections
+     * @return the location of each collection found
+     */
+    @Override
+    public List<StopLocation> findStopLocations(final List<Integer> collectionIds) {
+        return collectionDAO.findStopLocations(collectionIds);
+    }
+
     /**
      * Retrieves completed but not billed collections for a specific customer.
      *
@@ -87,6 +193,31 @@ public class CollectionRepositoryImpl implements CollectionRepository {
         return collectionDAO.findCompletedNotBilledByCustomer(customer);
     }
 
+    /**
+     * Retrieves the ids of the customers with completed, unbilled collections.
+     *
+     * @param afterCustomerId the id after which the chunk starts, 0 for the first
+     * @param limit the maximum number of ids to return
+     * @return the ids of the customers to bill
+     */
+    @Override
+    public List<Integer> findCustomerIdsToBill(final int afterCustomerId,
+                                               final int limit) {
+        return collectionDAO.findCustomerIdsToBill(afterCustomerId, limit);
+    }
+
+    /**
+     * Retrieves the completed, unbilled collections of the given customers.
+     *
+     * @param customerIds the ids of the customers
+     * @return the collections to bill by customer
+     */
+    @Override
+    public Map<Customer, List<Collection>> findCompletedNotBilledByCustomers(
+            final List<Integer> customerIds) {
+        return collectionDAO.findCompletedNotBilledByCustomers(customerIds);
+    }
+
     /**
      * Updates an existing collection.
      *
@@ -107,6 +238,26 @@ public class CollectionRepositoryImpl implements CollectionRepository {
         collectionDAO.insert(collection);
     }
 
+    /**
+     * Persists all the given collections in a single batched transaction.
+     *
+     * @param collections the collections to save
+     */
+    @Override
+    public void saveAll(final List<Collection> collections) {
+        collectionDAO.insertAll(collections);
+    }
+
+    /**
+     * Updates all the given collections in a single batched transaction.
+     *
+     * @param collections the collections to update
+     */
+    @Override
+    public void updateAll(final List<Collection> collections) {
+        collectionDAO.updateAll(collections);
+    }
+
     /**
      * Deletes an existing collection.
      *
@@ -126,4 +277,50 @@ public class CollectionRepositoryImpl implements CollectionRepository {
     public List<Collection> findAll() {
         return collectionDAO.findAll();
     }
+
+    /**
+     * Counts the collections with the specified status.
+     *
+     * @param status the status to count
+     * @return the number of collections with the given status
+     */
+    @Override
+    public int countByStatus(final CollectionStatus status) {
+        return collectionDAO.countByStatus(status);
+    }
+
+    /**
+     * Counts the collections of a customer.
+     *
+     * @param customerId the id of the customer
+     * @return the number of collections of the customer
+     */
+    @Override
+    public int countByCustomer(final int customerId) {
+        return collectionDAO.countByCustomer(customerId);
+    }
+
+    /**
+     * Counts collections grouped by month and status.
+     *
+     * @return the number of collections per month and status
+     */
+    @Override
+    public Map<Month, Map<CollectionStatus, Long>> countByMonthAndStatus() {
+        return collectionDAO.countByMonthAndStatus();
+    }
+
+    /**
+     * Retrieves the read-only collection rows built by the given projection.
+     *
+     * @param request the filters, search and sort to apply
+     * @param projection the attributes to read and the row built from them
+     * @param <R> the type of the rows
+     * @return a list of rows
+     */
+    @Override
+    public <R> List<R> findAll(final PageRequest request,
+                               final Projection<R> projection) {
+        return collectionDAO.findAll(request, projection);
+    }
 }
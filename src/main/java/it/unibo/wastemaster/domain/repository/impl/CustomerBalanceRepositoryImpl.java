@@ -0,0 +1,58 @@
+package it.unibo.wastemaster.domain.repository.impl;
+
+import it.unibo.wastemaster.domain.model.CustomerBalance;
+import it.unibo.wastemaster.domain.repository.CustomerBalanceRepository;
+import it.unibo.wastemaster.infrastructure.dao.CustomerBalanceDAO;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of {@link CustomerBalanceRepository} that uses
+ * {@link CustomerBalanceDAO} to read and change the balances.
+ */
+public class CustomerBalanceRepositoryImpl implements CustomerBalanceRepository {
+
+    private final CustomerBalanceDAO customerBalanceDAO;
+
+    /**
+     * Constructs the repository with the specified DAO.
+     *
+     * @param customerBalanceDAO the DAO used to access the balances
+     */
+    public CustomerBalanceRepositoryImpl(final CustomerBalanceDAO customerBalanceDAO) {
+        this.customerBalanceDAO = customerBalanceDAO;
+    }
+
+    /**
+     * Retrieves the balance of a customer.
+     *
+     * @param customerId the id of the customer
+     * @return the balance, or empty if the customer has never been billed
+     */
+    @Override
+    public Optional<CustomerBalance> findByCustomerId(final int customerId) {
+        return customerBalanceDAO.findById(customerId);
+    }
+
+    /**
+     * Changes the balance of a customer.
+     *
+     * @param customerId the id of the customer
+     * @param change the change to apply to the balance
+     */
+    @Override
+    public void update(final int customerId, final Consumer<CustomerBalance> change) {
+        customerBalanceDAO.applyChanges(Map.of(customerId, change));
+    }
+
+    /**
+     * Changes the balances of several customers.
+     *
+     * @param changes the change to apply to the balance of each customer id
+     */
+    @Override
+    public void updateAll(final Map<Integer, Consumer<CustomerBalance>> changes) {
+        customerBalanceDAO.applyChanges(changes);
+    }
+}
@@ -2,6 +2,9 @@ package it.unibo.wastemaster.domain.repository.impl;
 
 import it.unibo.wastemaster.domain.model.Customer;
 import it.unibo.wastemaster.domain.repository.CustomerRepository;
+import it.unibo.wastemaster.domain.repository.Page;
+import it.unibo.wastemaster.domain.repository.PageRequest;
+import it.unibo.wastemaster.domain.repository.Projection;
 import it.unibo.wastemaster.infrastructure.dao.CustomerDAO;
 import java.util.List;
 import java.util.Optional;
@@ -55,6 +58,16 @@ public class CustomerRepositoryImpl implements CustomerRepository {
         return customerDAO.findActive();
     }
 
+    /**
+     * Retrieves the customers whose location has no coordinates yet.
+     *
+     * @return a list of customers without coordinates
+     */
+    @Override
+    public List<Customer> findWithoutCoordinates() {
+        return customerDAO.findWithoutCoordinates();
+    }
+
     /**
      * Persists a new customer.
      *
@@ -115,4 +128,39 @@ public class CustomerRepositoryImpl implements CustomerRepository {
     public List<Customer> findLast5Inserted() {
         return customerDAO.findLast5Inserted();
     }
+
+    /**
+     * Counts all active (not deleted) customers.
+     *
+     * @return the number of active customers
+     */
+    @Override
+    public int countActive() {
+        return customerDAO.countActive();
+    }
+
+    /**
+     * Retrieves one page of customers using keyset pagination.
+     *
+     * @param request the page to retrieve
+     * @return the requested page of customers
+     */
+    @Override
+    public Page<Customer> findPage(final PageRequest request) {
+        return customerDAO.findPage(request);
+    }
+
+    /**
+     * Retrieves one page of read-only customer rows built by the given projection.
+     *
+     * @param request the page to retrieve
+     * @param projection the attributes to read and the row built from them
+     * @param <R> the type of the rows
+     * @return the requested page of rows
+     */
+    @Override
+    public <R> Page<R> findPage(final PageRequest request,
+                                final Projection<R> projection) {
+        return customerDAO.findPage(request, projection);
+    }
 }
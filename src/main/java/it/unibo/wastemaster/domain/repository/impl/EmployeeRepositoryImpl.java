@@ -2,6 +2,9 @@ package it.unibo.wastemaster.domain.repository.impl;
 
 import it.unibo.wastemaster.domain.model.Employee;
 import it.unibo.wastemaster.domain.repository.EmployeeRepository;
+import it.unibo.wastemaster.domain.repository.Page;
+import it.unibo.wastemaster.domain.repository.PageRequest;
+import it.unibo.wastemaster.domain.repository.Projection;
 import it.unibo.wastemaster.infrastructure.dao.EmployeeDAO;
 import java.util.List;
 import java.util.Optional;
@@ -95,4 +98,29 @@ public class EmployeeRepositoryImpl implements EmployeeRepository {
     public void delete(final Employee employee) {
         employeeDAO.delete(employee);
     }
+
+    /**
+     * Retrieves one page of employees using keyset pagination.
+     *
+     * @param request the page to retrieve
+     * @return the requested page of employees
+     */
+    @Override
+    public Page<Employee> findPage(final PageRequest request) {
+        return employeeDAO.findPage(request);
+    }
+
+    /**
+     * Retrieves one page of read-only employee rows built by the given projection.
+     *
+     * @param request the page to retrieve
+     * @param projection the attributes to read and the row built from them
+     * @param <R> the type of the rows
+     * @return the requested page of rows
+     */
+    @Override
+    public <R> Page<R> findPage(final PageRequest request,
+                                final Projection<R> projection) {
+        return employeeDAO.findPage(request, projection);
+    }
 }
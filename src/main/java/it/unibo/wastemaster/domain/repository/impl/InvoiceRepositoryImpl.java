@@ -3,7 +3,11 @@ package it.unibo.wastemaster.domain.repository.impl;
 import it.unibo.wastemaster.domain.model.Customer;
 import it.unibo.wastemaster.domain.model.Invoice;
 import it.unibo.wastemaster.domain.repository.InvoiceRepository;
+import it.unibo.wastemaster.domain.repository.Page;
+import it.unibo.wastemaster.domain.repository.PageRequest;
+import it.unibo.wastemaster.domain.repository.Projection;
 import it.unibo.wastemaster.infrastructure.dao.InvoiceDAO;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,6 +38,16 @@ public class InvoiceRepositoryImpl implements InvoiceRepository {
         invoiceDAO.insert(invoice);
     }
 
+    /**
+     * Persists all the given invoices in a single batched transaction.
+     *
+     * @param invoices the invoices to save
+     */
+    @Override
+    public void saveAll(final List<Invoice> invoices) {
+        invoiceDAO.insertAll(invoices);
+    }
+
     /**
      * Updates an existing invoice.
      *
@@ -55,14 +69,60 @@ public class InvoiceRepositoryImpl implements InvoiceRepository {
     }
 
     /**
-     * Retrieves an invoice by its ID.
+     * Retrieves an invoice by its ID, together with its customer.
      *
      * @param id the invoice ID
      * @return an Optional containing the Invoice if found, or empty
      */
     @Override
     public Optional<Invoice> findById(final int id) {
-        return invoiceDAO.findById(id);
+        return invoiceDAO.findById(id, Invoice.GRAPH_WITH_CUSTOMER);
+    }
+
+    /**
+     * Retrieves an invoice by its ID with its billed collections.
+     *
+     * @param id the invoice ID
+     * @return an Optional containing the Invoice if found, or empty
+     */
+    @Override
+    public Optional<Invoice> findWithCollections(final int id) {
+        return invoiceDAO.findById(id, Invoice.GRAPH_WITH_COLLECTIONS);
+    }
+
+    /**
+     * Retrieves an invoice by its ID with everything printed on its PDF.
+     *
+     * @param id the invoice ID
+     * @return an Optional containing the Invoice if found, or empty
+     */
+    @Override
+    public Optional<Invoice> findForPdf(final int id) {
+        return invoiceDAO.findById(id, Invoice.GRAPH_FOR_PDF);
+    }
+
+    /**
+     * Retrieves the given invoices ready to be printed.
+     *
+     * @param ids the ids of the invoices
+     * @return the invoices found, in id order
+     */
+    @Override
+    public List<Invoice> findForPdf(final List<Integer> ids) {
+        return invoiceDAO.findForPdf(ids);
+    }
+
+    /**
+     * Retrieves the ids of the invoices issued in the given period.
+     *
+     * @param from the start of the period, inclusive
+     * @param to the end of the period, exclusive
+     * @return the invoice ids, in ascending order
+     */
+    @Override
+    public List<Integer> findIdsIssuedBetween(final LocalDateTime from,
+                                              final LocalDateTime to) {
+        return invoiceDAO.findIdsIssuedBetween(from, to);
     }
 
     /**
@@ -95,4 +155,78 @@ public class InvoiceRepositoryImpl implements InvoiceRepository {
     public List<Invoice> findLast5InvoicesEvent() {
         return invoiceDAO.findLast5InvoicesEvent();
     }
+
+    /**
+     * Counts the invoices with the specified payment status.
+     *
+     * @param status the payment status to count
+     * @return the number of invoices with the given payment status
+     */
+    @Override
+    public int countByPaymentStatus(final Invoice.PaymentStatus status) {
+        return invoiceDAO.countByPaymentStatus(status);
+    }
+
+    /**
+     * Marks an invoice as paid if it is still unpaid and not deleted.
+     *
+     * @param invoiceId the id of the invoice
+     * @param paymentDate the date of the payment
+     * @return true if this call marked the invoice as paid, false otherwise
+     */
+    @Override
+    public boolean markPaid(final int invoiceId, final LocalDateTime paymentDate) {
+        return invoiceDAO.markPaid(invoiceId, paymentDate);
+    }
+
+    /**
+     * Deletes an invoice and unbills its collections if it is still unpaid and not
+     * deleted.
+     *
+     * @param invoiceId the id of the invoice
+     * @param collectionIds the ids of the collections billed by the invoice
+     * @param when the date of the deletion
+     * @return true if this call deleted the invoice, false otherwise
+     */
+    @Override
+    public boolean markDeleted(final int invoiceId, final List<Integer> collectionIds,
+                               final LocalDateTime when) {
+        return invoiceDAO.markDeleted(invoiceId, collectionIds, when);
+    }
+
+    /**
+     * Marks the given collections as billed if none of them is billed yet.
+     *
+     * @param collectionIds the ids of the collections to bill
+     * @return true if this call marked every collection as billed, false otherwise
+     */
+    @Override
+    public boolean markCollectionsBilled(final List<Integer> collectionIds) {
+        return invoiceDAO.markCollectionsBilled(collectionIds);
+    }
+
+    /**
+     * Retrieves one page of invoices using keyset pagination.
+     *
+     * @param request the page to retrieve
+     * @return the requested page of invoices
+     */
+    @Override
+    public Page<Invoice> findPage(final PageRequest request) {
+        return invoiceDAO.findPage(request);
+    }
+
+    /**
+     * Retrieves one page of read-only invoice rows built by the given projection.
+     *
+     * @param request the page to retrieve
+     * @param projection the attributes to read and the row built from them
+     * @param <R> the type of the rows
+     * @return the requested page of rows
+     */
+    @Override
+    public <R> Page<R> findPage(final PageRequest request,
+                                final Projection<R> projection) {
+        return invoiceDAO.findPage(request, projection);
+    }
 }
@@ -1,6 +1,7 @@
 package it.unibo.wastemaster.domain.repository.impl;
 
 import it.unibo.wastemaster.domain.model.OneTimeSchedule;
+import it.unibo.wastemaster.domain.model.Schedule;
 import it.unibo.wastemaster.domain.repository.OneTimeScheduleRepository;
 import it.unibo.wastemaster.infrastructure.dao.OneTimeScheduleDAO;
 import java.util.Optional;
@@ -44,13 +45,14 @@ public class OneTimeScheduleRepositoryImpl implements OneTimeScheduleRepository
     }
 
     /**
-     * Retrieves a one-time schedule by its ID.
+     * Retrieves a one-time schedule by its ID, together with its customer and
+     * waste.
      *
      * @param id the schedule ID
      * @return an Optional containing the schedule if found, or empty
      */
     @Override
     public Optional<OneTimeSchedule> findById(final Integer id) {
-        return oneTimeScheduleDAO.findById(id);
+        return oneTimeScheduleDAO.findById(id, Schedule.GRAPH_WITH_CUSTOMER);
     }
 }
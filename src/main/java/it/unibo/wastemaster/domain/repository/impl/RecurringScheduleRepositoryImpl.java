@@ -2,8 +2,11 @@ package it.unibo.wastemaster.domain.repository.impl;
 
 import it.unibo.wastemaster.domain.model.Customer;
 import it.unibo.wastemaster.domain.model.RecurringSchedule;
+import it.unibo.wastemaster.domain.model.Schedule;
 import it.unibo.wastemaster.domain.repository.RecurringScheduleRepository;
 import it.unibo.wastemaster.infrastructure.dao.RecurringScheduleDAO;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -47,14 +50,25 @@ public class RecurringScheduleRepositoryImpl implements RecurringScheduleReposit
     }
 
     /**
-     * Retrieves a recurring schedule by its ID.
+     * Updates all the given recurring schedules in a single batched transaction.
+     *
+     * @param schedules the schedules to update
+     */
+    @Override
+    public void updateAll(final List<RecurringSchedule> schedules) {
+        recurringScheduleDAO.updateAll(schedules);
+    }
+
+    /**
+     * Retrieves a recurring schedule by its ID, together with its customer and
+     * waste.
      *
      * @param id the schedule ID
      * @return an Optional containing the schedule if found, or empty
      */
     @Override
     public Optional<RecurringSchedule> findById(final Integer id) {
-        return recurringScheduleDAO.findById(id);
+        return recurringScheduleDAO.findById(id, Schedule.GRAPH_WITH_CUSTOMER);
     }
 
     /**
@@ -77,6 +91,52 @@ public class RecurringScheduleRepositoryImpl implements RecurringScheduleReposit
         return recurringScheduleDAO.findActiveSchedulesWithNextDateBeforeToday();
     }
 
+    /**
+     * Retrieves a chunk of overdue active schedules, ordered by ID.
+     *
+     * @param today the reference day
+     * @param afterId the ID after which the chunk starts
+     * @param limit the maximum number of schedules in the chunk
+     * @return list of overdue schedules
+     */
+    @Override
+    public List<RecurringSchedule> findOverdueSchedules(final LocalDate today,
+                                                        final int afterId,
+                                                        final int limit) {
+        return recurringScheduleDAO.findOverdueAfter(today, afterId, limit);
+    }
+
+    /**
+     * Retrieves a chunk of active schedules whose horizon needs topping up, ordered
+     * by ID.
+     *
+     * @param weeklyBefore the last materialized day topping up weekly schedules
+     * @param monthlyBefore the last materialized day topping up monthly schedules
+     * @param afterId the ID after which the chunk starts
+     * @param limit the maximum number of schedules in the chunk
+     * @return list of schedules to top up
+     */
+    @Override
+    public List<RecurringSchedule> findSchedulesToTopUp(final LocalDate weeklyBefore,
+                                                        final LocalDate monthlyBefore,
+                                                        final int afterId,
+                                                        final int limit) {
+        return recurringScheduleDAO.findToTopUpAfter(weeklyBefore, monthlyBefore,
+                afterId, limit);
+    }
+
+    /**
+     * Retrieves the schedules with the given IDs, together with their customer and
+     * waste.
+     *
+     * @param ids the schedule IDs
+     * @return list of schedules found
+     */
+    @Override
+    public List<RecurringSchedule> findAllById(final Collection<Integer> ids) {
+        return recurringScheduleDAO.findByIds(ids);
+    }
+
     /**
      * Retrieves schedules associated with a specific customer.
      *
@@ -1,6 +1,9 @@
 package it.unibo.wastemaster.domain.repository.impl;
 
 import it.unibo.wastemaster.domain.model.Schedule;
+import it.unibo.wastemaster.domain.repository.Page;
+import it.unibo.wastemaster.domain.repository.PageRequest;
+import it.unibo.wastemaster.domain.repository.Projection;
 import it.unibo.wastemaster.domain.repository.ScheduleRepository;
 import it.unibo.wastemaster.infrastructure.dao.ScheduleDAO;
 import java.util.List;
@@ -31,4 +34,29 @@ public class ScheduleRepositoryImpl implements ScheduleRepository {
     public List<Schedule> findAll() {
         return scheduleDAO.findAll();
     }
+
+    /**
+     * Retrieves one page of schedules using keyset pagination.
+     *
+     * @param request the page to retrieve
+     * @return the requested page of schedules
+     */
+    @Override
+    public Page<Schedule> findPage(final PageRequest request) {
+        return scheduleDAO.findPage(request);
+    }
+
+    /**
+     * Retrieves one page of read-only schedule rows built by the given projection.
+     *
+     * @param request the page to retrieve
+     * @param projection the attributes to read and the row built from them
+     * @param <R> the type of the rows
+     * @return the requested page of rows
+     */
+    @Override
+    public <R> Page<R> findPage(final PageRequest request,
+                                final Projection<R> projection) {
+        return scheduleDAO.findPage(request, projection);
+    }
 }
@@ -0,0 +1,44 @@
+package it.unibo.wastemaster.domain.repository.impl;
+
+import it.unibo.wastemaster.domain.model.Tariff;
+import it.unibo.wastemaster.domain.repository.TariffRepository;
+import it.unibo.wastemaster.infrastructure.dao.TariffDAO;
+import java.util.List;
+
+/**
+ * Implementation of {@link TariffRepository} that uses {@link TariffDAO} to read
+ * and save the tariffs.
+ */
+public class TariffRepositoryImpl implements TariffRepository {
+
+    private final TariffDAO tariffDAO;
+
+    /**
+     * Constructs the repository with the specified DAO.
+     *
+     * @param tariffDAO the DAO used to access the tariffs
+     */
+    public TariffRepositoryImpl(final TariffDAO tariffDAO) {
+        this.tariffDAO = tariffDAO;
+    }
+
+    /**
+     * Retrieves all tariffs with their waste.
+     *
+     * @return the list of all tariffs
+     */
+    @Override
+    public List<Tariff> findAll() {
+        return tariffDAO.findAllWithWaste();
+    }
+
+    /**
+     * Persists a new tariff.
+     *
+     * @param tariff the tariff to save
+     */
+    @Override
+    public void save(final Tariff tariff) {
+        tariffDAO.insert(tariff);
+    }
+}
@@ -4,7 +4,11 @@ import it.unibo.wastemaster.domain.model.Employee;
 import it.unibo.wastemaster.domain.model.Employee.Licence;
 import it.unibo.wastemaster.domain.model.Trip;
 import it.unibo.wastemaster.domain.model.Vehicle;
+import it.unibo.wastemaster.domain.repository.Page;
+import it.unibo.wastemaster.domain.repository.PageRequest;
+import it.unibo.wastemaster.domain.repository.Projection;
 import it.unibo.wastemaster.domain.repository.TripRepository;
+import it.unibo.wastemaster.domain.repository.TripSlot;
 import it.unibo.wastemaster.infrastructure.dao.TripDAO;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -38,6 +42,17 @@ public class TripRepositoryImpl implements TripRepository {
         tripDAO.insert(trip);
     }
 
+    /**
+     * Persists all the given trips together with the assignment of their
+     * collections.
+     *
+     * @param trips the trips to save
+     */
+    @Override
+    public void saveAllWithCollections(final List<Trip> trips) {
+        tripDAO.insertAllWithCollections(trips);
+    }
+
     /**
      * Updates an existing trip.
      *
@@ -49,14 +64,15 @@ public class TripRepositoryImpl implements TripRepository {
     }
 
     /**
-     * Retrieves a trip by its ID.
+     * Retrieves a trip by its ID, together with its vehicle, its operators and its
+     * collections.
      *
      * @param tripId the trip ID
      * @return an Optional containing the trip if found, or empty
      */
     @Override
     public Optional<Trip> findById(final int tripId) {
-        return tripDAO.findById(tripId);
+        return tripDAO.findWithCrewAndStops(tripId);
     }
 
     /**
@@ -181,6 +197,50 @@ public class TripRepositoryImpl implements TripRepository {
         return available;
     }
 
+    /**
+     * Retrieves vehicles in service and not due for maintenance by the given day.
+     *
+     * @param tripEndDate the day the trip ends
+     * @return a list of vehicles in service
+     */
+    @Override
+    public List<Vehicle> findVehiclesInService(final LocalDate tripEndDate) {
+        return tripDAO.findVehiclesInService(tripEndDate);
+    }
+
+    /**
+     * Retrieves all operators.
+     *
+     * @return a list of operators
+     */
+    @Override
+    public List<Employee> findOperators() {
+        return tripDAO.findOperators();
+    }
+
+    /**
+     * Retrieves the slots of all active trips.
+     *
+     * @return a list of trip slots
+     */
+    @Override
+    public List<TripSlot> findActiveTripSlots() {
+        return tripDAO.findActiveTripSlots();
+    }
+
+    /**
+     * Checks in the database, locking them, that the vehicles and operators of the
+     * trips are free.
+     *
+     * @param trips the trips about to be written
+     * @return true if none of their vehicles and operators is busy with another
+     * active trip
+     */
+    @Override
+    public boolean areCrewAndVehicleFree(final List<Trip> trips) {
+        return tripDAO.areCrewAndVehicleFree(trips);
+    }
+
     /**
      * Retrieves postal codes with available trips on a specific date.
      *
@@ -211,4 +271,29 @@ public class TripRepositoryImpl implements TripRepository {
     public int countCompleted() {
         return tripDAO.countCompleted();
     }
+
+    /**
+     * Retrieves one page of trips using keyset pagination.
+     *
+     * @param request the page to retrieve
+     * @return the requested page of trips
+     */
+    @Override
+    public Page<Trip> findPage(final PageRequest request) {
+        return tripDAO.findPage(request);
+    }
+
+    /**
+     * Retrieves one page of read-only trip rows built by the given projection.
+     *
+     * @param request the page to retrieve
+     * @param projection the attributes to read and the row built from them
+     * @param <R> the type of the rows
+     * @return the requested page of rows
+     */
+    @Override
+    public <R> Page<R> findPage(final PageRequest request,
+                                final Projection<R> projection) {
+        return tripDAO.findPage(request, projection);
+    }
 }
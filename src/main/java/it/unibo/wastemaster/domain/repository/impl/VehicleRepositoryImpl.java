@@ -1,6 +1,9 @@
 package it.unibo.wastemaster.domain.repository.impl;
 
 import it.unibo.wastemaster.domain.model.Vehicle;
+import it.unibo.wastemaster.domain.repository.Page;
+import it.unibo.wastemaster.domain.repository.PageRequest;
+import it.unibo.wastemaster.domain.repository.Projection;
 import it.unibo.wastemaster.domain.repository.VehicleRepository;
 import it.unibo.wastemaster.infrastructure.dao.VehicleDAO;
 import java.util.List;
@@ -71,6 +74,31 @@ public class VehicleRepositoryImpl implements VehicleRepository {
      */
     @Override
     public List<Vehicle> findAll() {
-        return vehicleDAO.findAll();
+        return vehicleDAO.getAllVehicles();
+    }
+
+    /**
+     * Retrieves one page of vehicles using keyset pagination.
+     *
+     * @param request the page to retrieve
+     * @return the requested page of vehicles
+     */
+    @Override
+    public Page<Vehicle> findPage(final PageRequest request) {
+        return vehicleDAO.findPage(request);
+    }
+
+    /**
+     * Retrieves one page of read-only vehicle rows built by the given projection.
+     *
+     * @param request the page to retrieve
+     * @param projection the attributes to read and the row built from them
+     * @param <R> the type of the rows
+     * @return the requested page of rows
+     */
+    @Override
+    public <R> Page<R> findPage(final PageRequest request,
+                                final Projection<R> projection) {
+        return vehicleDAO.findPage(request, projection);
     }
 }
@@ -4,6 +4,7 @@ import it.unibo.wastemaster.domain.model.Waste;
 import it.unibo.wastemaster.domain.repository.WasteRepository;
 import it.unibo.wastemaster.infrastructure.dao.WasteDAO;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Implementation of {@link WasteRepository} that uses {@link WasteDAO}
@@ -22,6 +23,17 @@ public class WasteRepositoryImpl implements WasteRepository {
         this.wasteDAO = wasteDAO;
     }
 
+    /**
+     * Retrieves a waste by its ID.
+     *
+     * @param id the waste ID
+     * @return an Optional containing the waste if found, or empty if not found
+     */
+    @Override
+    public Optional<Waste> findById(final int id) {
+        return wasteDAO.findById(id);
+    }
+
     /**
      * Retrieves all active wastes.
      *
@@ -4,6 +4,8 @@ import it.unibo.wastemaster.domain.model.Waste;
 import it.unibo.wastemaster.domain.model.WasteSchedule;
 import it.unibo.wastemaster.domain.repository.WasteScheduleRepository;
 import it.unibo.wastemaster.infrastructure.dao.WasteScheduleDAO;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -34,6 +36,17 @@ public class WasteScheduleRepositoryImpl implements WasteScheduleRepository {
         return wasteScheduleDAO.findSchedulebyWaste(waste);
     }
 
+    /**
+     * Retrieves the schedules of the given wastes in a single query.
+     *
+     * @param wastes the wastes to find the schedules for
+     * @return the schedules found
+     */
+    @Override
+    public List<WasteSchedule> findSchedulesByWastes(final Collection<Waste> wastes) {
+        return wasteScheduleDAO.findSchedulesByWastes(wastes);
+    }
+
     /**
      * Persists a new waste schedule.
      *
@@ -0,0 +1,218 @@
+package it.unibo.wastemaster.domain.service;
+
+import it.unibo.wastemaster.domain.model.Trip;
+import it.unibo.wastemaster.domain.model.Trip.TripStatus;
+import it.unibo.wastemaster.domain.repository.TripSlot;
+import it.unibo.wastemaster.infrastructure.utils.IntervalTree;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * In-memory index of the time windows in which vehicles and employees are busy with
+ * an active trip, used to tell which of them are free for a new or edited trip
+ * without querying every active trip.
+ * <p>
+ * The index keeps an interval tree of vehicle bookings and one of employee
+ * bookings, each booking covering the half-open window
+ * {@code [departure, expected return)} of a trip. It is loaded on first use and
+ * kept in sync by {@link TripManager} as it writes trips. Since other instances of
+ * the application may write trips too, it is discarded when they are reported to
+ * have done so, and reloaded anyway once it is older than its maximum age. It may
+ * therefore briefly miss a trip written elsewhere: it only narrows the choices
+ * offered, and the manager checks again in the database when saving a trip.
+ * <p>
+ * All methods are thread-safe.
+ */
+public final class AvailabilityIndex {
+
+    /**
+     * Default time after which the index is reloaded from the database.
+     */
+    public static final Duration DEFAULT_MAX_AGE = Duration.ofMinutes(1);
+
+    private final Supplier<List<TripSlot>> loader;
+    private final Duration maxAge;
+    private final Clock clock;
+    private final IntervalTree<LocalDateTime, Booking> vehicleBookings =
+            new IntervalTree<>();
+    private final IntervalTree<LocalDateTime, Booking> employeeBookings =
+            new IntervalTree<>();
+    private final Map<Integer, TripSlot> slots = new HashMap<>();
+    private Instant loadedAt;
+
+    /**
+     * Constructs an index reloaded every {@link #DEFAULT_MAX_AGE}.
+     *
+     * @param loader the supplier of the slots of all active trips
+     */
+    public AvailabilityIndex(final Supplier<List<TripSlot>> loader) {
+        this(loader, DEFAULT_MAX_AGE, Clock.systemUTC());
+    }
+
+    /**
+     * Constructs an index.
+     *
+     * @param loader the supplier of the slots of all active trips
+     * @param maxAge the time after which the index is reloaded
+     * @param clock the clock measuring the age of the index
+     */
+    public AvailabilityIndex(final Supplier<List<TripSlot>> loader,
+                             final Duration maxAge, final Clock clock) {
+        this.loader = loader;
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the ids of the vehicles assigned to an active trip overlapping the
+     * given window.
+     *
+     * @param start the start of the window (inclusive)
+     * @param end the end of the window (exclusive)
+     * @param excludedTripId the id of a trip to ignore, typically the one being
+     * edited, or null
+     * @return the ids of the busy vehicles
+     */
+    public synchronized Set<Integer> findBusyVehicles(final LocalDateTime start,
+                                                      final LocalDateTime end,
+                                                      final Integer excludedTripId) {
+        return findBusy(vehicleBookings, start, end, excludedTripId);
+    }
+
+    /**
+     * Returns the ids of the employees assigned to an active trip overlapping the
+     * given window.
+     *
+     * @param start the start of the window (inclusive)
+     * @param end the end of the window (exclusive)
+     * @param excludedTripId the id of a trip to ignore, typically the one being
+     * edited, or null
+     * @return the ids of the busy employees
+     */
+    public synchronized Set<Integer> findBusyEmployees(final LocalDateTime start,
+                                                       final LocalDateTime end,
+                                                       final Integer excludedTripId) {
+        return findBusy(employeeBookings, start, end, excludedTripId);
+    }
+
+    /**
+     * Records the current state of a trip just written: its bookings replace the
+     * previous ones, and are dropped if the trip is no longer active. The trip must
+     * come with its vehicle and operators.
+     *
+     * @param trip the trip written
+     */
+    public synchronized void put(final Trip trip) {
+        if (loadedAt == null) {
+            return;
+        }
+        remove(trip.getTripId());
+        if (trip.getStatus() == TripStatus.ACTIVE) {
+            add(TripSlot.of(trip));
+        }
+    }
+
+    /**
+     * Drops the bookings of a trip that is no longer active.
+     *
+     * @param tripId the id of the trip
+     */
+    public synchronized void remove(final int tripId) {
+        TripSlot slot = slots.remove(tripId);
+        if (slot == null) {
+            return;
+        }
+        if (slot.getVehicleId() != null) {
+            vehicleBookings.remove(slot.getDepartureTime(),
+                    slot.getExpectedReturnTime(),
+                    new Booking(tripId, slot.getVehicleId()));
+        }
+        for (Integer employeeId : slot.getOperatorIds()) {
+            employeeBookings.remove(slot.getDepartureTime(),
+                    slot.getExpectedReturnTime(), new Booking(tripId, employeeId));
+        }
+    }
+
+    /**
+     * Discards the index, so that it is reloaded on next use.
+     */
+    public synchronized void invalidate() {
+        loadedAt = null;
+        slots.clear();
+        vehicleBookings.clear();
+        employeeBookings.clear();
+    }
+
+    private Set<Integer> findBusy(final IntervalTree<LocalDateTime, Booking> bookings,
+                                  final LocalDateTime start, final LocalDateTime end,
+                                  final Integer excludedTripId) {
+        ensureLoaded();
+        Set<Integer> busy = new HashSet<>();
+        bookings.forEachOverlapping(start, end, booking -> {
+            if (excludedTripId == null || booking.tripId != excludedTripId) {
+                busy.add(booking.resourceId);
+            }
+        });
+        return busy;
+    }
+
+    private void ensureLoaded() {
+        Instant now = clock.instant();
+        if (loadedAt != null && loadedAt.plus(maxAge).isAfter(now)) {
+            return;
+        }
+        invalidate();
+        loader.get().forEach(this::add);
+        loadedAt = now;
+    }
+
+    private void add(final TripSlot slot) {
+        slots.put(slot.getTripId(), slot);
+        if (slot.getVehicleId() != null) {
+            vehicleBookings.add(slot.getDepartureTime(), slot.getExpectedReturnTime(),
+                    new Booking(slot.getTripId(), slot.getVehicleId()));
+        }
+        for (Integer employeeId : slot.getOperatorIds()) {
+            employeeBookings.add(slot.getDepartureTime(), slot.getExpectedReturnTime(),
+                    new Booking(slot.getTripId(), employeeId));
+        }
+    }
+
+    /**
+     * A resource, vehicle or employee, booked by a trip.
+     */
+    private static final class Booking {
+
+        private final int tripId;
+        private final Integer resourceId;
+
+        private Booking(final int tripId, final Integer resourceId) {
+            this.tripId = tripId;
+            this.resourceId = resourceId;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Booking other)) {
+                return false;
+            }
+            return tripId == other.tripId && resourceId.equals(other.resourceId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * tripId + resourceId.hashCode();
+        }
+    }
+}
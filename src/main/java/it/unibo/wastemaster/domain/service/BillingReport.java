@@ -0,0 +1,157 @@
+package it.unibo.wastemaster.domain.service;
+
+import it.unibo.wastemaster.domain.model.Invoice;
+import it.unibo.wastemaster.domain.model.Money;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Immutable outcome of a {@link BillingRun}, or of one of its chunks: how many
+ * invoices were issued, for how many collections and which amount, how many chunks
+ * failed, and how long it took.
+ */
+public final class BillingReport {
+
+    private static final double MILLIS_PER_SECOND = 1000.0;
+
+    private final int invoices;
+    private final int collections;
+    private final long amountCents;
+    private final int failedChunks;
+    private final Duration elapsed;
+
+    private BillingReport(final int invoices, final int collections,
+                          final long amountCents, final int failedChunks,
+                          final Duration elapsed) {
+        this.invoices = invoices;
+        this.collections = collections;
+        this.amountCents = amountCents;
+        this.failedChunks = failedChunks;
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * Creates the report of a run that has not billed anything yet.
+     *
+     * @return the empty report
+     */
+    public static BillingReport empty() {
+        return new BillingReport(0, 0, 0, 0, Duration.ZERO);
+    }
+
+    /**
+     * Creates the report of a chunk that issued the given invoices.
+     *
+     * @param issued the invoices issued by the chunk
+     * @return the report of the chunk
+     */
+    public static BillingReport of(final List<Invoice> issued) {
+        int billed = 0;
+        long total = 0;
+        for (Invoice invoice : issued) {
+            billed += invoice.getRecurringCount() + invoice.getOnetimeCount();
+            total = Money.add(total, invoice.getAmountCents());
+        }
+        return new BillingReport(issued.size(), billed, total, 0, Duration.ZERO);
+    }
+
+    /**
+     * Creates the report of a chunk that could not be billed.
+     *
+     * @return the report of the failed chunk
+     */
+    public static BillingReport failedChunk() {
+        return new BillingReport(0, 0, 0, 1, Duration.ZERO);
+    }
+
+    /**
+     * Returns the sum of this report and the given one, keeping the elapsed time
+     * of this report.
+     *
+     * @param other the report to add
+     * @return the combined report
+     */
+    public BillingReport plus(final BillingReport other) {
+        return new BillingReport(invoices + other.invoices,
+                collections + other.collections,
+                Money.add(amountCents, other.amountCents),
+                failedChunks + other.failedChunks, elapsed);
+    }
+
+    /**
+     * Returns this report with the given duration.
+     *
+     * @param duration the wall-clock time of the run
+     * @return the updated report
+     */
+    public BillingReport withElapsed(final Duration duration) {
+        return new BillingReport(invoices, collections, amountCents, failedChunks,
+                duration);
+    }
+
+    /**
+     * Gets the number of invoices issued, one per customer billed.
+     *
+     * @return the number of invoices
+     */
+    public int getInvoices() {
+        return invoices;
+    }
+
+    /**
+     * Gets the number of collections billed.
+     *
+     * @return the number of collections
+     */
+    public int getCollections() {
+        return collections;
+    }
+
+    /**
+     * Gets the total amount invoiced.
+     *
+     * @return the amount, in cents
+     */
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    /**
+     * Gets the number of chunks that failed; their customers stay unbilled and are
+     * picked up by the next run.
+     *
+     * @return the number of failed chunks
+     */
+    public int getFailedChunks() {
+        return failedChunks;
+    }
+
+    /**
+     * Gets the wall-clock time of the run.
+     *
+     * @return the elapsed time
+     */
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * Gets the throughput of the run.
+     *
+     * @return the invoices issued per second, 0 if no time was measured
+     */
+    public double getInvoicesPerSecond() {
+        long millis = elapsed.toMillis();
+        return millis == 0 ? 0 : invoices * MILLIS_PER_SECOND / millis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "invoices=%d, collections=%d, amount=%s, failed chunks=%d, "
+                        + "elapsed=%d ms, %.1f invoices/s",
+                invoices, collections, Money.format(amountCents), failedChunks,
+                elapsed.toMillis(),
+                getInvoicesPerSecond());
+    }
+}
@@ -0,0 +1,159 @@
+package it.unibo.wastemaster.domain.service;
+
+import it.unibo.wastemaster.domain.model.Collection;
+import it.unibo.wastemaster.domain.model.Customer;
+import it.unibo.wastemaster.infrastructure.utils.UnitOfWork;
+import it.unibo.wastemaster.infrastructure.utils.ValidateUtils;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * End-of-period billing run issuing an invoice to every customer with completed
+ * collections not yet billed, instead of billing them one at a time from the
+ * invoice dialog.
+ * <p>
+ * Customers are read in chunks with keyset pagination on their id. Each chunk is
+ * billed in its own unit of work: its collections are read with a single grouped
+ * query, the invoices are priced in parallel and then saved with their collections
+ * in one transaction with batched writes. Up to the given number of chunks are
+ * billed at the same time, each on its own thread and connection. The collections
+ * of a chunk are claimed with a conditional update when it is saved, so a chunk
+ * whose collections were billed meanwhile by another run or by hand fails instead
+ * of billing them twice. A billed customer no longer has unbilled collections, so a
+ * failed chunk is simply logged and its customers are billed by the next run.
+ */
+public final class BillingRun {
+
+    /**
+     * Default number of customers billed per chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    /**
+     * Default number of chunks billed at the same time, kept below the size of the
+     * connection pool so that the application stays responsive during a run.
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    private static final Logger LOGGER = Logger.getLogger(BillingRun.class.getName());
+
+    private final CollectionManager collectionManager;
+    private final InvoiceManager invoiceManager;
+    private final int chunkSize;
+    private final int parallelism;
+
+    /**
+     * Constructs a billing run with the default chunk size and parallelism.
+     *
+     * @param collectionManager the manager providing the collections to bill
+     * @param invoiceManager the manager creating the invoices
+     */
+    public BillingRun(final CollectionManager collectionManager,
+                      final InvoiceManager invoiceManager) {
+        this(collectionManager, invoiceManager, DEFAULT_CHUNK_SIZE,
+                DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Constructs a billing run.
+     *
+     * @param collectionManager the manager providing the collections to bill
+     * @param invoiceManager the manager creating the invoices
+     * @param chunkSize the number of customers billed per chunk, must be positive
+     * @param parallelism the number of chunks billed at the same time, must be
+     * positive; with 1 every chunk is billed on the calling thread
+     * @throws IllegalArgumentException if chunkSize or parallelism is not positive
+     */
+    public BillingRun(final CollectionManager collectionManager,
+                      final InvoiceManager invoiceManager, final int chunkSize,
+                      final int parallelism) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.collectionManager = collectionManager;
+        this.invoiceManager = invoiceManager;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Bills every customer with completed, unbilled collections and waits for the
+     * run to complete.
+     *
+     * @param issueDate the issue date of the invoices
+     * @return the number of invoices, collections and failed chunks of the run, with
+     * its duration and throughput
+     * @throws IllegalArgumentException if issueDate is null
+     */
+    public BillingReport run(final LocalDateTime issueDate) {
+        ValidateUtils.requireArgNotNull(issueDate, "Issue date cannot be null");
+        long start = System.nanoTime();
+        ExecutorService executor = parallelism == 1 ? null
+                : Executors.newFixedThreadPool(parallelism, newThreadFactory());
+        List<CompletableFuture<BillingReport>> chunks = new ArrayList<>();
+        try {
+            int afterId = 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                final int from = afterId;
+                List<Integer> customerIds = UnitOfWork.call(
+                        () -> collectionManager.getCustomerIdsToBill(from, chunkSize));
+                if (customerIds.isEmpty()) {
+                    break;
+                }
+                chunks.add(executor == null
+                        ? CompletableFuture.completedFuture(
+                                billChunk(customerIds, issueDate))
+                        : CompletableFuture.supplyAsync(
+                                () -> billChunk(customerIds, issueDate), executor));
+                afterId = customerIds.get(customerIds.size() - 1);
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+        BillingReport report = chunks.stream()
+                .map(CompletableFuture::join)
+                .reduce(BillingReport.empty(), BillingReport::plus)
+                .withElapsed(Duration.ofNanos(System.nanoTime() - start));
+        LOGGER.info(() -> "Billing run: " + report);
+        return report;
+    }
+
+    private BillingReport billChunk(final List<Integer> customerIds,
+                                    final LocalDateTime issueDate) {
+        try {
+            return UnitOfWork.call(() -> {
+                Map<Customer, List<Collection>> collections =
+                        collectionManager.getCompletedNotBilledCollections(customerIds);
+                return BillingReport.of(
+                        invoiceManager.createInvoices(collections, issueDate));
+            });
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Billing chunk failed", e);
+            return BillingReport.failedChunk();
+        }
+    }
+
+    private static ThreadFactory newThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "billing-run-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
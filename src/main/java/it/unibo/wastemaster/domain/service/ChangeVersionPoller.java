@@ -0,0 +1,150 @@
+package it.unibo.wastemaster.domain.service;
+
+import it.unibo.wastemaster.domain.event.DomainEvent;
+import it.unibo.wastemaster.domain.event.DomainEventBus;
+import it.unibo.wastemaster.domain.model.ChangeVersion;
+import it.unibo.wastemaster.domain.repository.ChangeVersionRepository;
+import it.unibo.wastemaster.infrastructure.utils.UnitOfWork;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Background job learning the changes made by the other instances of the
+ * application sharing the database.
+ * <p>
+ * Each run reads the {@link ChangeVersion} revisions of the watched entity types
+ * with a single small query, and publishes a
+ * {@link DomainEvent.Type#CHANGED_REMOTELY} event for each type whose revision
+ * moved since the previous run, so that views reload only when something changed.
+ * The first run of a type only records its revision. Since the writes of this
+ * instance move the revisions too, they are also published by the following run,
+ * which subscribers reading the current state can safely ignore.
+ * <p>
+ * When started, the job runs once immediately and then periodically on a daemon
+ * thread, never on the JavaFX application thread.
+ */
+public final class ChangeVersionPoller {
+
+    /**
+     * Default delay between the end of a run and the start of the next one.
+     */
+    public static final Duration DEFAULT_PERIOD = Duration.ofSeconds(10);
+
+    private static final long STOP_TIMEOUT_SECONDS = 5;
+
+    private static final Logger LOGGER =
+            Logger.getLogger(ChangeVersionPoller.class.getName());
+
+    private final ChangeVersionRepository changeVersionRepository;
+    private final DomainEventBus eventBus;
+    private final Map<String, Class<?>> watched = new ConcurrentHashMap<>();
+    private final Map<String, Long> revisions = new HashMap<>();
+    private final Object pollLock = new Object();
+    private ScheduledExecutorService executor;
+
+    /**
+     * Constructs a poller watching no entity type yet.
+     *
+     * @param changeVersionRepository the repository reading the revisions
+     * @param eventBus the bus on which the changed types are published
+     */
+    public ChangeVersionPoller(final ChangeVersionRepository changeVersionRepository,
+                               final DomainEventBus eventBus) {
+        this.changeVersionRepository = changeVersionRepository;
+        this.eventBus = eventBus;
+    }
+
+    /**
+     * Watches the changes of an entity type, published as the type itself.
+     *
+     * @param entityType the entity type to watch
+     */
+    public void watch(final Class<?> entityType) {
+        watch(entityType, entityType);
+    }
+
+    /**
+     * Watches the changes of an entity type, published as the given class, for
+     * example the root of its hierarchy or the entity whose rows show it.
+     *
+     * @param entityType the entity type to watch
+     * @param publishedAs the class the changes are published as
+     */
+    public void watch(final Class<?> entityType, final Class<?> publishedAs) {
+        watched.put(entityType.getSimpleName(), publishedAs);
+    }
+
+    /**
+     * Starts polling now and then with the given delay between runs. Does nothing
+     * if the poller is already started.
+     *
+     * @param period the delay between the end of a run and the start of the next
+     */
+    public synchronized void start(final Duration period) {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "change-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::pollSafely, 0, period.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops polling, waiting briefly for the current run to end.
+     */
+    public synchronized void stop() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+    }
+
+    /**
+     * Polls the revisions once on the calling thread and publishes the types
+     * changed since the previous run, waiting for a run in progress on another
+     * thread to complete first.
+     */
+    public void poll() {
+        synchronized (pollLock) {
+            Set<String> names = Set.copyOf(watched.keySet());
+            Map<String, Long> current = UnitOfWork.call(
+                    () -> changeVersionRepository.findRevisions(names));
+            Set<Class<?>> changed = new LinkedHashSet<>();
+            for (String name : names) {
+                Long revision = current.getOrDefault(name, 0L);
+                Long previous = revisions.put(name, revision);
+                if (previous != null && !previous.equals(revision)) {
+                    changed.add(watched.get(name));
+                }
+            }
+            changed.forEach(type -> eventBus.publish(new DomainEvent(type)));
+        }
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Change version poll failed", e);
+        }
+    }
+}
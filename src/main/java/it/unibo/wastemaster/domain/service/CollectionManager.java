@@ -7,11 +7,18 @@ import it.unibo.wastemaster.domain.model.Customer;
 import it.unibo.wastemaster.domain.model.OneTimeSchedule;
 import it.unibo.wastemaster.domain.model.RecurringSchedule;
 import it.unibo.wastemaster.domain.model.Schedule;
+import it.unibo.wastemaster.domain.model.Trip;
 import it.unibo.wastemaster.domain.repository.CollectionRepository;
+import it.unibo.wastemaster.domain.repository.PageRequest;
+import it.unibo.wastemaster.domain.repository.Projection;
 import it.unibo.wastemaster.infrastructure.utils.ValidateUtils;
 import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Manages the creation, retrieval, update, and cancellation of waste collections,
@@ -61,7 +68,7 @@ public class CollectionManager {
     }
 
     /**
-     * Retrieves the currently active collection associated with the given recurring
+     * Retrieves the earliest active collection associated with the given recurring
      * schedule, if present.
      *
      * @param schedule the recurring schedule
@@ -114,6 +121,84 @@ public class CollectionManager {
         }
     }
 
+    /**
+     * Generates the collections of the given occurrences of recurring schedules and
+     * saves them in a single batched transaction. Occurrences that are not in the
+     * future, or whose date already has a collection that is not cancelled, are
+     * skipped, so overlapping occurrences never produce duplicates.
+     *
+     * @param occurrences the dates to generate for each recurring schedule
+     * @return the number of collections generated
+     */
+    public int generateRecurringCollections(
+            final Map<RecurringSchedule, List<LocalDate>> occurrences) {
+        LocalDate today = LocalDate.now();
+        List<RecurringSchedule> schedules = occurrences.entrySet().stream()
+                .filter(e -> !e.getValue().isEmpty())
+                .map(Map.Entry::getKey)
+                .toList();
+        if (schedules.isEmpty()) {
+            return 0;
+        }
+        Map<Integer, Set<LocalDate>> taken =
+                collectionRepository.findScheduledDates(schedules, today);
+        List<Collection> collections = new ArrayList<>();
+        for (RecurringSchedule schedule : schedules) {
+            Set<LocalDate> scheduled =
+                    taken.getOrDefault(schedule.getScheduleId(), Set.of());
+            for (LocalDate date : occurrences.get(schedule)) {
+                if (date.isAfter(today) && !scheduled.contains(date)) {
+                    collections.add(
+                            collectionFactory.createRecurringCollection(schedule, date));
+                }
+            }
+        }
+        collectionRepository.saveAll(collections);
+        return collections.size();
+    }
+
+    /**
+     * Cancels the active collections of the given recurring schedule taking place
+     * from today on, with a single batched update.
+     *
+     * @param schedule the recurring schedule whose upcoming collections are cancelled
+     * @return the number of collections cancelled
+     */
+    public int cancelUpcomingCollections(final RecurringSchedule schedule) {
+        List<Collection> upcoming = collectionRepository
+                .findUpcomingActiveBySchedule(schedule, LocalDate.now());
+        upcoming.forEach(c -> c.setCollectionStatus(CollectionStatus.CANCELLED));
+        collectionRepository.updateAll(upcoming);
+        return upcoming.size();
+    }
+
+    /**
+     * Retrieves the date of the earliest active collection on or after the given day
+     * for each of the given schedules, with a single query.
+     *
+     * @param schedules the schedules to look up
+     * @param from the first day included
+     * @return the earliest active date by schedule ID; schedules without one are
+     * absent
+     */
+    public Map<Integer, LocalDate> getNextActiveCollectionDates(
+            final List<? extends Schedule> schedules, final LocalDate from) {
+        return collectionRepository.findNextActiveDates(schedules, from);
+    }
+
+    /**
+     * Cancels the collections of the given schedules that are still active although
+     * their date is before the given day.
+     *
+     * @param schedules the schedules whose missed collections are cancelled
+     * @param today the day before which active collections are considered missed
+     * @return the number of collections cancelled
+     */
+    public int cancelMissedCollections(final List<? extends Schedule> schedules,
+                                       final LocalDate today) {
+        return collectionRepository.cancelActiveBySchedulesBefore(schedules, today);
+    }
+
     /**
      * Attempts to cancel a collection, if not already cancelled.
      *
@@ -157,6 +242,33 @@ public class CollectionManager {
         return collectionRepository.findCompletedNotBilledByCustomer(customer);
     }
 
+    /**
+     * Retrieves, in ascending order, the ids of the customers that have completed
+     * collections not yet billed, one chunk at a time.
+     *
+     * @param afterCustomerId the id after which the chunk starts, 0 for the first
+     * @param limit the maximum number of ids to return
+     * @return the ids of the customers to bill, empty when none is left
+     */
+    public List<Integer> getCustomerIdsToBill(final int afterCustomerId,
+                                              final int limit) {
+        return collectionRepository.findCustomerIdsToBill(afterCustomerId, limit);
+    }
+
+    /**
+     * Retrieves with a single query the completed collections not yet billed of the
+     * given customers, grouped by customer.
+     *
+     * @param customerIds the ids of the customers
+     * @return the collections to bill by customer, in customer id order
+     * @throws IllegalArgumentException if customerIds is null
+     */
+    public Map<Customer, List<Collection>> getCompletedNotBilledCollections(
+            final List<Integer> customerIds) {
+        ValidateUtils.requireArgNotNull(customerIds, "Customer ids cannot be null");
+        return collectionRepository.findCompletedNotBilledByCustomers(customerIds);
+    }
+
     /**
      * Retrieves all collections for a specific postal code on a given date.
      *
@@ -171,6 +283,20 @@ public class CollectionManager {
         return collectionRepository.findCollectionsByPostalCodeAndDate(postalCode, date);
     }
 
+    /**
+     * Retrieves the active collections of a day not yet assigned to a trip, grouped
+     * by the postal code of their customer.
+     *
+     * @param date the date for which to retrieve collections
+     * @return the unassigned collections by postal code, in postal code order
+     * @throws IllegalArgumentException if the date is null
+     */
+    public Map<String, List<Collection>> getUnassignedCollectionsByPostalCode(
+            final LocalDate date) {
+        ValidateUtils.requireArgNotNull(date, "Date cannot be null");
+        return collectionRepository.findUnassignedByPostalCode(date);
+    }
+
     /**
      * Retrieves all collections present in the system.
      *
@@ -179,4 +305,71 @@ public class CollectionManager {
     public List<Collection> getAllCollections() {
         return collectionRepository.findAll();
     }
+
+    /**
+     * Counts the collections with a specific status.
+     *
+     * @param status the status to count
+     * @return the number of collections with the given status
+     */
+    public int countCollectionsByStatus(final CollectionStatus status) {
+        return collectionRepository.countByStatus(status);
+    }
+
+    /**
+     * Counts the collections of a customer, whatever their status.
+     *
+     * @param customer the customer
+     * @return the number of collections of the customer
+     * @throws IllegalArgumentException if customer is null
+     */
+    public int countCollectionsByCustomer(final Customer customer) {
+        ValidateUtils.requireArgNotNull(customer, "Customer cannot be null");
+        return collectionRepository.countByCustomer(customer.getCustomerId());
+    }
+
+    /**
+     * Returns the number of collections for each month of the year and status,
+     * aggregating all years together.
+     *
+     * @return the number of collections per month and status; months or statuses
+     * without collections are absent
+     */
+    public Map<Month, Map<CollectionStatus, Long>> getMonthlyCollectionCounts() {
+        return collectionRepository.countByMonthAndStatus();
+    }
+
+    /**
+     * Retrieves read-only rows for all the collections generated by the given
+     * schedule, reading only the attributes selected by the projection.
+     *
+     * @param schedule the schedule whose collections are read
+     * @param projection the attributes to read and the row built from them
+     * @param <R> the type of the rows
+     * @return a list of rows ordered by collection date
+     */
+    public <R> List<R> getCollectionRowsBySchedule(final Schedule schedule,
+                                                   final Projection<R> projection) {
+        ValidateUtils.requireArgNotNull(schedule, "Schedule cannot be null");
+        return collectionRepository.findAll(PageRequest.firstPage()
+                .where("schedule", schedule)
+                .sortBy("date", true), projection);
+    }
+
+    /**
+     * Retrieves read-only rows for all the collections assigned to the given trip,
+     * reading only the attributes selected by the projection.
+     *
+     * @param trip the trip whose collections are read
+     * @param projection the attributes to read and the row built from them
+     * @param <R> the type of the rows
+     * @return a list of rows ordered by collection date
+     */
+    public <R> List<R> getCollectionRowsByTrip(final Trip trip,
+                                               final Projection<R> projection) {
+        ValidateUtils.requireArgNotNull(trip, "Trip cannot be null");
+        return collectionRepository.findAll(PageRequest.firstPage()
+                .where("trip", trip)
+                .sortBy("date", true), projection);
+    }
 }
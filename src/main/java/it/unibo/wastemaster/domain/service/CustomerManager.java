@@ -1,18 +1,28 @@
 package it.unibo.wastemaster.domain.service;
 
+import it.unibo.wastemaster.domain.event.DomainEvent;
+import it.unibo.wastemaster.domain.event.DomainEventBus;
 import it.unibo.wastemaster.domain.model.Customer;
+import it.unibo.wastemaster.domain.model.Location;
 import it.unibo.wastemaster.domain.repository.CustomerRepository;
+import it.unibo.wastemaster.domain.repository.Page;
+import it.unibo.wastemaster.domain.repository.PageRequest;
+import it.unibo.wastemaster.domain.repository.Projection;
+import it.unibo.wastemaster.infrastructure.geo.CentroidTable;
 import it.unibo.wastemaster.infrastructure.utils.ValidateUtils;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Manages creation, update, retrieval, and soft deletion operations for Customer
- * entities.
+ * entities. Customer locations are placed at the centroid of their street or postal
+ * code when saved, so that their collections can be sequenced.
  */
 public class CustomerManager {
 
     private final CustomerRepository customerRepository;
+    private final CentroidTable centroids = CentroidTable.getDefault();
+    private DomainEventBus eventBus = new DomainEventBus();
 
     /**
      * Instantiates a new Customer manager.
@@ -23,6 +33,15 @@ public class CustomerManager {
         this.customerRepository = customerRepository;
     }
 
+    /**
+     * Sets the bus on which the changes made by this manager are published.
+     *
+     * @param eventBus the event bus
+     */
+    public void setEventBus(final DomainEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
     /**
      * Adds a new customer if the email is not already registered.
      *
@@ -36,7 +55,12 @@ public class CustomerManager {
                     "Cannot add customer: the email address '%s' is already in use.",
                     customer.getEmail()));
         }
+        if (customer.getLocation() != null) {
+            centroids.place(customer.getLocation());
+        }
         customerRepository.save(customer);
+        eventBus.publish(DomainEvent.Type.ADDED, Customer.class,
+                customer.getCustomerId());
         return customer;
     }
 
@@ -69,7 +93,33 @@ public class CustomerManager {
             throw new IllegalArgumentException(
                     "Email is already used by another customer.");
         }
+        // the address may have changed, so the location is placed again
+        Location location = toUpdateCustomer.getLocation();
+        location.setCoordinates(centroids
+                .locate(location.getPostalCode(), location.getStreet())
+                .orElse(null));
         customerRepository.update(toUpdateCustomer);
+        eventBus.publish(DomainEvent.Type.UPDATED, Customer.class,
+                toUpdateCustomer.getCustomerId());
+    }
+
+    /**
+     * Places at their centroid the locations of the customers saved without
+     * coordinates, such as those created before locations had any or loaded from
+     * the sample data. Locations whose address is not in the centroid table are
+     * left without coordinates.
+     *
+     * @return the number of customers placed
+     */
+    public int placeCustomersWithoutCoordinates() {
+        int placed = 0;
+        for (Customer customer : customerRepository.findWithoutCoordinates()) {
+            if (centroids.place(customer.getLocation())) {
+                customerRepository.update(customer);
+                placed++;
+            }
+        }
+        return placed;
     }
 
     /**
@@ -89,6 +139,8 @@ public class CustomerManager {
                     "Customer ID cannot be null");
             customer.delete();
             updateCustomer(customer);
+            eventBus.publish(DomainEvent.Type.REMOVED, Customer.class,
+                    customer.getCustomerId());
             return true;
         } catch (IllegalArgumentException e) {
             return false;
@@ -132,4 +184,37 @@ public class CustomerManager {
     public Optional<Customer> findCustomerByEmail(final String email) {
         return customerRepository.findByEmail(email);
     }
+
+    /**
+     * Counts the customers that are marked as active (not deleted).
+     *
+     * @return the number of active customers
+     */
+    public int countActiveCustomers() {
+        return customerRepository.countActive();
+    }
+
+    /**
+     * Retrieves one page of active (not deleted) customers.
+     *
+     * @param request the page to retrieve, with its search and sort
+     * @return the requested page of active customers
+     */
+    public Page<Customer> getActiveCustomerPage(final PageRequest request) {
+        return customerRepository.findPage(request.where("isDeleted", false));
+    }
+
+    /**
+     * Retrieves one page of read-only rows for active (not deleted) customers,
+     * reading only the attributes selected by the projection.
+     *
+     * @param request the page to retrieve, with its search and sort
+     * @param projection the attributes to read and the row built from them
+     * @param <R> the type of the rows
+     * @return the requested page of rows
+     */
+    public <R> Page<R> getActiveCustomerPage(final PageRequest request,
+                                             final Projection<R> projection) {
+        return customerRepository.findPage(request.where("isDeleted", false), projection);
+    }
 }
@@ -1,8 +1,13 @@
 package it.unibo.wastemaster.domain.service;
 
+import it.unibo.wastemaster.domain.event.DomainEvent;
+import it.unibo.wastemaster.domain.event.DomainEventBus;
 import it.unibo.wastemaster.domain.model.Employee;
 import it.unibo.wastemaster.domain.model.Vehicle;
 import it.unibo.wastemaster.domain.repository.EmployeeRepository;
+import it.unibo.wastemaster.domain.repository.Page;
+import it.unibo.wastemaster.domain.repository.PageRequest;
+import it.unibo.wastemaster.domain.repository.Projection;
 import it.unibo.wastemaster.infrastructure.utils.ValidateUtils;
 import java.util.List;
 import java.util.Optional;
@@ -17,6 +22,7 @@ public class EmployeeManager {
     private static final String EMPLOYEE_NULL_MSG = "Employee cannot be null";
     private final EmployeeRepository employeeRepository;
     private final AccountManager accountManager;
+    private DomainEventBus eventBus = new DomainEventBus();
 
     /**
      * Constructs an EmployeeManager with the given dependencies.
@@ -30,6 +36,15 @@ public class EmployeeManager {
         this.accountManager = accountManager;
     }
 
+    /**
+     * Sets the bus on which the changes made by this manager are published.
+     *
+     * @param eventBus the event bus
+     */
+    public void setEventBus(final DomainEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
     /**
      * Adds a new employee after validating inputs and ensuring email uniqueness.
      * <p>
@@ -68,6 +83,8 @@ public class EmployeeManager {
             throw new RuntimeException("Failed to create account, employee rolled back",
                     e);
         }
+        eventBus.publish(DomainEvent.Type.ADDED, Employee.class,
+                employee.getEmployeeId());
         return employee;
     }
 
@@ -105,6 +122,8 @@ public class EmployeeManager {
                     "Email is already used by another employee.");
         }
         employeeRepository.update(toUpdateEmployee);
+        eventBus.publish(DomainEvent.Type.UPDATED, Employee.class,
+                toUpdateEmployee.getEmployeeId());
     }
 
     /**
@@ -122,6 +141,8 @@ public class EmployeeManager {
                     "Employee ID cannot be null");
             employee.delete();
             updateEmployee(employee);
+            eventBus.publish(DomainEvent.Type.REMOVED, Employee.class,
+                    employee.getEmployeeId());
             return true;
         } catch (IllegalArgumentException e) {
             return false;
@@ -183,4 +204,28 @@ public class EmployeeManager {
     public List<Employee> getAllActiveEmployees() {
         return employeeRepository.findAllActive();
     }
+
+    /**
+     * Retrieves one page of active (not deleted) employees.
+     *
+     * @param request the page to retrieve, with its search and sort
+     * @return the requested page of active employees
+     */
+    public Page<Employee> getActiveEmployeePage(final PageRequest request) {
+        return employeeRepository.findPage(request.where("isDeleted", false));
+    }
+
+    /**
+     * Retrieves one page of read-only rows for active (not deleted) employees,
+     * reading only the attributes selected by the projection.
+     *
+     * @param request the page to retrieve, with its search and sort
+     * @param projection the attributes to read and the row built from them
+     * @param <R> the type of the rows
+     * @return the requested page of rows
+     */
+    public <R> Page<R> getActiveEmployeePage(final PageRequest request,
+                                             final Projection<R> projection) {
+        return employeeRepository.findPage(request.where("isDeleted", false), projection);
+    }
 }
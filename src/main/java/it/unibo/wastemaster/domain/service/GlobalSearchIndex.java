@@ -0,0 +1,318 @@
+package it.unibo.wastemaster.domain.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index of the {@link SearchDocument}s of several entity types, finding
+ * the entities matching a few words typed by the user without querying the
+ * database.
+ * <p>
+ * Titles and details are split into words, ignoring case and accents, and each
+ * word points to the documents containing it. A search returns the documents
+ * containing every word typed, or a word starting with it, ranked by relevance:
+ * rarer words count more, whole words more than prefixes, and words of the title
+ * more than words of the detail.
+ * <p>
+ * The index can be saved to a file and loaded back, together with the database
+ * it was read from and the revision of each entity type it was read at, so that
+ * only the entities changed meanwhile need to be read again. All methods are
+ * thread-safe.
+ */
+public final class GlobalSearchIndex {
+
+    private static final int FILE_MAGIC = 0x574D5349;
+    private static final int FILE_VERSION = 2;
+    private static final int IN_TITLE = 1;
+    private static final int IN_DETAIL = 2;
+    private static final double TITLE_WEIGHT = 2.0;
+    private static final double PREFIX_WEIGHT = 0.5;
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Map<Key, SearchDocument> documents = new HashMap<>();
+    private final NavigableMap<String, Map<Key, Integer>> postings = new TreeMap<>();
+
+    /**
+     * Adds the document of an entity, replacing its previous one if any.
+     *
+     * @param entityType the class of the entity
+     * @param document the document of the entity
+     */
+    public synchronized void put(final Class<?> entityType,
+                                 final SearchDocument document) {
+        Key key = new Key(entityType, document.getId());
+        removeKey(key);
+        documents.put(key, document);
+        for (Map.Entry<String, Integer> word : words(document).entrySet()) {
+            postings.computeIfAbsent(word.getKey(), w -> new HashMap<>())
+                    .put(key, word.getValue());
+        }
+    }
+
+    /**
+     * Removes the document of an entity. Does nothing if it is not indexed.
+     *
+     * @param entityType the class of the entity
+     * @param entityId the id of the entity
+     */
+    public synchronized void remove(final Class<?> entityType, final int entityId) {
+        removeKey(new Key(entityType, entityId));
+    }
+
+    /**
+     * Replaces all the documents of an entity type.
+     *
+     * @param entityType the class of the entities
+     * @param typeDocuments the new documents of the type
+     */
+    public synchronized void replaceAll(final Class<?> entityType,
+                                        final Collection<SearchDocument> typeDocuments) {
+        List<Key> keys = documents.keySet().stream()
+                .filter(key -> key.type.equals(entityType))
+                .toList();
+        keys.forEach(this::removeKey);
+        typeDocuments.forEach(document -> put(entityType, document));
+    }
+
+    /**
+     * Removes all the documents.
+     */
+    public synchronized void clear() {
+        documents.clear();
+        postings.clear();
+    }
+
+    /**
+     * Gets the number of documents indexed.
+     *
+     * @return the number of documents
+     */
+    public synchronized int size() {
+        return documents.size();
+    }
+
+    /**
+     * Finds the entities whose document contains every word of a text, or a word
+     * starting with it.
+     *
+     * @param text the words to search
+     * @param limit the maximum number of hits
+     * @return the hits, most relevant first, empty if the text has no word
+     */
+    public synchronized List<SearchHit> search(final String text, final int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(text));
+        Map<Key, Double> scores = null;
+        for (String term : terms) {
+            Map<Key, Double> termScores = new HashMap<>();
+            for (Map.Entry<String, Map<Key, Integer>> word : postings
+                    .subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+                double weight = Math.log(1.0 + (double) documents.size()
+                        / word.getValue().size());
+                if (word.getKey().length() > term.length()) {
+                    weight *= PREFIX_WEIGHT;
+                }
+                for (Map.Entry<Key, Integer> posting : word.getValue().entrySet()) {
+                    double score = (posting.getValue() & IN_TITLE) != 0
+                            ? weight * TITLE_WEIGHT : weight;
+                    termScores.merge(posting.getKey(), score, Math::max);
+                }
+            }
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((key, score) -> score + termScores.get(key));
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        if (scores == null) {
+            return List.of();
+        }
+        return scores.entrySet().stream()
+                .map(entry -> new SearchHit(entry.getKey().type,
+                        documents.get(entry.getKey()), entry.getValue()))
+                .sorted(Comparator.comparingDouble(SearchHit::getScore).reversed()
+                        .thenComparing(SearchHit::getTitle)
+                        .thenComparingInt(SearchHit::getEntityId))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Saves the documents to a file, replacing it atomically so that a crash never
+     * leaves a partial index behind.
+     *
+     * @param file the file to write
+     * @param databaseUrl the JDBC URL of the database the documents were read from
+     * @param revisions the revision each entity type was read at
+     * @throws IOException if the file cannot be written
+     */
+    public void save(final Path file, final String databaseUrl,
+                     final Map<Class<?>, Long> revisions) throws IOException {
+        Map<Key, SearchDocument> snapshot;
+        synchronized (this) {
+            snapshot = new HashMap<>(documents);
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FILE_VERSION);
+            out.writeUTF(databaseUrl);
+            out.writeInt(revisions.size());
+            for (Map.Entry<Class<?>, Long> revision : revisions.entrySet()) {
+                out.writeUTF(revision.getKey().getSimpleName());
+                out.writeLong(revision.getValue());
+            }
+            out.writeInt(snapshot.size());
+            for (Map.Entry<Key, SearchDocument> entry : snapshot.entrySet()) {
+                out.writeUTF(entry.getKey().type.getSimpleName());
+                out.writeInt(entry.getValue().getId());
+                out.writeUTF(entry.getValue().getTitle());
+                out.writeUTF(entry.getValue().getDetail());
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Replaces the documents with the ones saved to a file. Documents and
+     * revisions of types not listed are skipped, and none is loaded if the file
+     * was read from another database.
+     *
+     * @param file the file to read
+     * @param databaseUrl the JDBC URL of the database the documents are read from
+     * @param entityTypes the entity types to load
+     * @return the revision each loaded entity type was read at, empty if the file
+     * was read from another database
+     * @throws IOException if the file cannot be read or was not written by
+     * {@link #save(Path, String, Map)}
+     */
+    public Map<Class<?>, Long> load(final Path file, final String databaseUrl,
+                                    final Collection<Class<?>> entityTypes)
+            throws IOException {
+        Map<String, Class<?>> types = new HashMap<>();
+        entityTypes.forEach(type -> types.put(type.getSimpleName(), type));
+        Map<Class<?>, Long> revisions = new HashMap<>();
+        Map<Class<?>, List<SearchDocument>> loaded = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+                throw new IOException("Not a search index file: " + file);
+            }
+            if (!in.readUTF().equals(databaseUrl)) {
+                clear();
+                return revisions;
+            }
+            for (int i = in.readInt(); i > 0; i--) {
+                Class<?> type = types.get(in.readUTF());
+                long revision = in.readLong();
+                if (type != null) {
+                    revisions.put(type, revision);
+                }
+            }
+            for (int i = in.readInt(); i > 0; i--) {
+                Class<?> type = types.get(in.readUTF());
+                SearchDocument document =
+                        new SearchDocument(in.readInt(), in.readUTF(), in.readUTF());
+                if (type != null) {
+                    loaded.computeIfAbsent(type, t -> new ArrayList<>()).add(document);
+                }
+            }
+        }
+        synchronized (this) {
+            clear();
+            loaded.forEach(this::replaceAll);
+        }
+        return revisions;
+    }
+
+    private void removeKey(final Key key) {
+        SearchDocument document = documents.remove(key);
+        if (document == null) {
+            return;
+        }
+        for (String word : words(document).keySet()) {
+            Map<Key, Integer> keys = postings.get(word);
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                postings.remove(word);
+            }
+        }
+    }
+
+    private static Map<String, Integer> words(final SearchDocument document) {
+        Map<String, Integer> words = new HashMap<>();
+        tokenize(document.getTitle()).forEach(word -> words.merge(word, IN_TITLE,
+                (a, b) -> a | b));
+        tokenize(document.getDetail()).forEach(word -> words.merge(word, IN_DETAIL,
+                (a, b) -> a | b));
+        return words;
+    }
+
+    private static List<String> tokenize(final String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String plain = ACCENTS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("").toLowerCase(Locale.ROOT);
+        List<String> words = new ArrayList<>();
+        for (String word : SEPARATORS.split(plain)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Identity of an indexed entity.
+     */
+    private static final class Key {
+
+        private final Class<?> type;
+        private final int id;
+
+        private Key(final Class<?> type, final int id) {
+            this.type = type;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof Key key && key.type.equals(type) && key.id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, id);
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package it.unibo.wastemaster.domain.service;
+
+import it.unibo.wastemaster.domain.event.DomainEvent;
+import it.unibo.wastemaster.domain.event.DomainEventBus;
+import it.unibo.wastemaster.domain.repository.ChangeVersionRepository;
+import it.unibo.wastemaster.domain.repository.Page;
+import it.unibo.wastemaster.domain.repository.PageRequest;
+import it.unibo.wastemaster.infrastructure.utils.UnitOfWork;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Background job keeping a {@link GlobalSearchIndex} of the main entities current
+ * and saved on disk, so that searching across all of them never queries the
+ * database.
+ * <p>
+ * On start the index saved by the previous session is loaded, unless it was read
+ * from another database, and only the entities written since the
+ * {@link it.unibo.wastemaster.domain.model.ChangeVersion} revision it was saved at
+ * are read again. Afterwards the documents of the entities published on the
+ * {@link DomainEventBus} by the managers are read again one by one, while the
+ * entities changed by another instance of the application are read again by the
+ * next periodic run, which also saves the index if it changed. The entities
+ * written are found in the {@link it.unibo.wastemaster.domain.model.ChangedRow}s
+ * of the revisions; a type is read again in full only when some of its revisions
+ * did not record them. The index is saved once more when the job stops.
+ * <p>
+ * Reads and saves run on a single daemon thread, never on the JavaFX application
+ * thread; searching is thread-safe and only reads memory.
+ */
+public final class GlobalSearchService {
+
+    /**
+     * Default delay between two runs reading again the stale entity types.
+     */
+    public static final Duration DEFAULT_PERIOD = Duration.ofMinutes(1);
+
+    /**
+     * Number of documents read per query when reading a whole entity type or the
+     * entities changed since a revision.
+     */
+    public static final int BATCH_SIZE = 500;
+
+    private static final long STOP_TIMEOUT_SECONDS = 5;
+
+    private static final Logger LOGGER =
+            Logger.getLogger(GlobalSearchService.class.getName());
+
+    private final GlobalSearchIndex index = new GlobalSearchIndex();
+    private final ChangeVersionRepository changeVersionRepository;
+    private final DomainEventBus eventBus;
+    private final Path file;
+    private final Map<Class<?>, Source> sources = new LinkedHashMap<>();
+    private final Map<Class<?>, Long> revisions = new ConcurrentHashMap<>();
+    private final Set<Class<?>> staleTypes = ConcurrentHashMap.newKeySet();
+    private final List<Runnable> subscriptions = new ArrayList<>();
+    private volatile boolean changed;
+    private volatile String databaseUrl;
+    private ScheduledExecutorService executor;
+
+    /**
+     * Constructs a service indexing no entity type yet.
+     *
+     * @param changeVersionRepository the repository reading the revisions of the
+     * entity types
+     * @param eventBus the bus on which the managers publish their changes
+     * @param file the file the index is saved to
+     */
+    public GlobalSearchService(final ChangeVersionRepository changeVersionRepository,
+                               final DomainEventBus eventBus, final Path file) {
+        this.changeVersionRepository = changeVersionRepository;
+        this.eventBus = eventBus;
+        this.file = file;
+    }
+
+    /**
+     * Indexes an entity type. Must be called before the job is started.
+     *
+     * @param entityType the class the entities are published as, whose simple name
+     * is also the one of its change version
+     * @param idAttribute the id attribute of the entity
+     * @param loader reads a page of the documents of the entities to index,
+     * typically through a {@link SearchDocument} projection
+     */
+    public void register(final Class<?> entityType, final String idAttribute,
+                         final Function<PageRequest, Page<SearchDocument>> loader) {
+        sources.put(entityType, new Source(entityType, idAttribute, loader));
+    }
+
+    /**
+     * Finds the indexed entities matching the words typed by the user.
+     *
+     * @param text the words to search
+     * @param limit the maximum number of hits
+     * @return the hits, most relevant first
+     */
+    public List<SearchHit> search(final String text, final int limit) {
+        return index.search(text, limit);
+    }
+
+    /**
+     * Starts following the changes and loads the index in the background, then
+     * reads the stale entity types again with the given delay between runs. Does
+     * nothing if the job is already started.
+     *
+     * @param period the delay between the end of a run and the start of the next
+     */
+    public synchronized void start(final Duration period) {
+        if (executor != null) {
+            return;
+        }
+        ScheduledExecutorService running =
+                Executors.newSingleThreadScheduledExecutor(task -> {
+                    Thread thread = new Thread(task, "search-indexer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        for (Source source : sources.values()) {
+            subscriptions.add(eventBus.subscribe(source.entityType, event -> {
+                if (event.getType() == DomainEvent.Type.CHANGED_REMOTELY) {
+                    staleTypes.add(source.entityType);
+                } else {
+                    running.execute(() -> runSafely(
+                            () -> refresh(source.entityType, event.getEntityId())));
+                }
+            }));
+        }
+        running.execute(() -> runSafely(this::synchronize));
+        running.scheduleWithFixedDelay(() -> runSafely(this::reindexStale),
+                period.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+        executor = running;
+    }
+
+    /**
+     * Stops following the changes, waiting briefly for the current run to end, and
+     * saves the index.
+     */
+    public synchronized void stop() {
+        if (executor == null) {
+            return;
+        }
+        subscriptions.forEach(Runnable::run);
+        subscriptions.clear();
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+        runSafely(this::save);
+    }
+
+    /**
+     * Loads the saved index, if any, and reads again on the calling thread the
+     * entities written since it was saved, then saves it.
+     */
+    public void synchronize() {
+        databaseUrl = UnitOfWork.call(changeVersionRepository::getDatabaseUrl);
+        Map<Class<?>, Long> saved = Map.of();
+        if (Files.exists(file)) {
+            try {
+                saved = index.load(file, databaseUrl, sources.keySet());
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Search index unreadable, rebuilding it", e);
+                index.clear();
+            }
+        }
+        Map<Class<?>, Long> current = readRevisions();
+        for (Source source : sources.values()) {
+            Long revision = current.get(source.entityType);
+            if (revision.equals(saved.get(source.entityType))) {
+                revisions.put(source.entityType, revision);
+            } else {
+                update(source, saved.get(source.entityType), revision);
+            }
+        }
+        changed = true;
+        save();
+    }
+
+    /**
+     * Reads again on the calling thread the entities changed by another instance
+     * of the application since the previous run, then saves the index if it
+     * changed.
+     */
+    public void reindexStale() {
+        List<Class<?>> stale = List.copyOf(staleTypes);
+        Map<Class<?>, Long> current = stale.isEmpty() ? Map.of() : readRevisions();
+        for (Class<?> type : stale) {
+            staleTypes.remove(type);
+            update(sources.get(type), revisions.get(type), current.get(type));
+        }
+        save();
+    }
+
+    /**
+     * Reads again on the calling thread the document of one entity, removing it
+     * from the index if the entity is no longer indexed.
+     *
+     * @param entityType the class the entity is published as
+     * @param entityId the id of the entity
+     */
+    public void refresh(final Class<?> entityType, final Object entityId) {
+        reload(sources.get(entityType), Set.of(((Number) entityId).intValue()));
+    }
+
+    /**
+     * Reads again the entities of a type written after the revision they are known
+     * at, or all of them if these are not known.
+     */
+    private void update(final Source source, final Long knownRevision,
+                        final long revision) {
+        Optional<Set<Integer>> changedIds = knownRevision == null ? Optional.empty()
+                : UnitOfWork.call(() -> changeVersionRepository.findChangedIds(
+                        source.entityType.getSimpleName(), knownRevision, revision));
+        if (changedIds.isPresent()) {
+            reload(source, changedIds.get());
+        } else {
+            reindex(source);
+        }
+        revisions.put(source.entityType, revision);
+    }
+
+    /**
+     * Reads again the documents of the given entities, removing from the index
+     * those no longer indexed.
+     */
+    private void reload(final Source source, final Set<Integer> ids) {
+        List<Integer> pending = new ArrayList<>(ids);
+        for (int from = 0; from < pending.size(); from += BATCH_SIZE) {
+            List<Integer> batch =
+                    pending.subList(from, Math.min(from + BATCH_SIZE, pending.size()));
+            List<SearchDocument> documents = UnitOfWork.call(() -> source.loader.apply(
+                    PageRequest.of(BATCH_SIZE).where(source.idAttribute, batch))
+                    .getItems());
+            Set<Integer> missing = new HashSet<>(batch);
+            for (SearchDocument document : documents) {
+                index.put(source.entityType, document);
+                missing.remove(document.getId());
+            }
+            missing.forEach(id -> index.remove(source.entityType, id));
+        }
+        changed = true;
+    }
+
+    private void reindex(final Source source) {
+        List<SearchDocument> documents = new ArrayList<>();
+        PageRequest request = PageRequest.of(BATCH_SIZE);
+        while (request != null) {
+            PageRequest pageRequest = request;
+            Page<SearchDocument> page =
+                    UnitOfWork.call(() -> source.loader.apply(pageRequest));
+            documents.addAll(page.getItems());
+            request = page.nextPage().orElse(null);
+        }
+        index.replaceAll(source.entityType, documents);
+        changed = true;
+    }
+
+    private Map<Class<?>, Long> readRevisions() {
+        Map<String, Class<?>> types = sources.keySet().stream()
+                .collect(Collectors.toMap(Class::getSimpleName, type -> type));
+        Map<String, Long> byName = UnitOfWork.call(
+                () -> changeVersionRepository.findRevisions(types.keySet()));
+        Map<Class<?>, Long> current = new HashMap<>();
+        types.forEach((name, type) -> current.put(type, byName.getOrDefault(name, 0L)));
+        return current;
+    }
+
+    private void save() {
+        if (!changed) {
+            return;
+        }
+        changed = false;
+        try {
+            index.save(file, databaseUrl, Map.copyOf(revisions));
+        } catch (IOException e) {
+            changed = true;
+            LOGGER.log(Level.WARNING, "Could not save the search index", e);
+        }
+    }
+
+    private static void runSafely(final Runnable work) {
+        try {
+            work.run();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Search indexing failed", e);
+        }
+    }
+
+    /**
+     * An indexed entity type and the way its documents are read.
+     */
+    private static final class Source {
+
+        private final Class<?> entityType;
+        private final String idAttribute;
+        private final Function<PageRequest, Page<SearchDocument>> loader;
+
+        private Source(final Class<?> entityType, final String idAttribute,
+                       final Function<PageRequest, Page<SearchDocument>> loader) {
+            this.entityType = entityType;
+            this.idAttribute = idAttribute;
+            this.loader = loader;
+        }
+    }
+}
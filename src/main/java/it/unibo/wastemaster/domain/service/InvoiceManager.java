@@ -1,15 +1,31 @@
 package it.unibo.wastemaster.domain.service;
 
+import it.unibo.wastemaster.domain.event.DomainEvent;
+import it.unibo.wastemaster.domain.event.DomainEventBus;
 import it.unibo.wastemaster.domain.model.Collection;
 import it.unibo.wastemaster.domain.model.Customer;
+import it.unibo.wastemaster.domain.model.CustomerBalance;
 import it.unibo.wastemaster.domain.model.Invoice;
 import it.unibo.wastemaster.domain.model.Invoice.PaymentStatus;
-import it.unibo.wastemaster.domain.model.OneTimeSchedule;
-import it.unibo.wastemaster.domain.model.RecurringSchedule;
+import it.unibo.wastemaster.domain.model.Money;
+import it.unibo.wastemaster.domain.model.Schedule;
+import it.unibo.wastemaster.domain.model.Schedule.ScheduleCategory;
+import it.unibo.wastemaster.domain.model.Tariff;
+import it.unibo.wastemaster.domain.repository.CustomerBalanceRepository;
 import it.unibo.wastemaster.domain.repository.InvoiceRepository;
+import it.unibo.wastemaster.domain.repository.Page;
+import it.unibo.wastemaster.domain.repository.PageRequest;
+import it.unibo.wastemaster.domain.repository.Projection;
+import it.unibo.wastemaster.infrastructure.utils.TransactionHelper;
+import it.unibo.wastemaster.infrastructure.utils.UnitOfWork;
+import it.unibo.wastemaster.infrastructure.utils.ValidateUtils;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Service class responsible for managing Invoice entities, including creation,
@@ -17,49 +33,72 @@ import java.util.Optional;
  */
 public class InvoiceManager {
 
-    private static final double RECURRING_FEE = 0.25;
-    private static final double ONE_TIME_FEE = 0.40;
+    private static final long RECURRING_FEE_CENTS = 25;
+    private static final long ONE_TIME_FEE_CENTS = 40;
     private final InvoiceRepository invoiceRepository;
+    private final CustomerBalanceRepository balanceRepository;
+    private final TariffManager tariffManager;
+    private DomainEventBus eventBus = new DomainEventBus();
 
     /**
-     * Constructs an InvoiceManager with the given repository.
+     * Constructs an InvoiceManager with the given repositories.
      *
      * @param invoiceRepository the repository used for invoice persistence
+     * @param balanceRepository the repository of the customer balances kept up to
+     * date with the invoices
+     * @param tariffManager the manager of the tariffs pricing the collections
      */
-    public InvoiceManager(final InvoiceRepository invoiceRepository) {
+    public InvoiceManager(final InvoiceRepository invoiceRepository,
+                          final CustomerBalanceRepository balanceRepository,
+                          final TariffManager tariffManager) {
         this.invoiceRepository = invoiceRepository;
+        this.balanceRepository = balanceRepository;
+        this.tariffManager = tariffManager;
     }
 
     /**
-     * Returns the fee applied to recurring collections.
+     * Sets the bus on which the changes made by this manager are published.
      *
-     * @return the recurring collection fee
+     * @param eventBus the event bus
      */
-    public static double getRecurringFee() {
-        return RECURRING_FEE;
+    public void setEventBus(final DomainEventBus eventBus) {
+        this.eventBus = eventBus;
     }
 
     /**
-     * Returns the fee applied to one-time collections.
+     * Returns the fee applied to recurring collections that no tariff prices.
      *
-     * @return the one-time collection fee
+     * @return the recurring collection fee, in cents
      */
-    public static double getOneTimeFee() {
-        return ONE_TIME_FEE;
+    public static long getRecurringFeeCents() {
+        return RECURRING_FEE_CENTS;
+    }
+
+    /**
+     * Returns the fee applied to one-time collections that no tariff prices.
+     *
+     * @return the one-time collection fee, in cents
+     */
+    public static long getOneTimeFeeCents() {
+        return ONE_TIME_FEE_CENTS;
     }
 
     /**
      * Creates a new invoice for the given customer based on the provided
      * collections.
-     * Each recurring collection adds a fixed recurring fee, and each one-time
-     * collection
-     * adds a one-time fee. All included collections are marked as billed.
+     * Each collection is priced by the tariff applying to it, or by the default
+     * recurring or one-time fee if none applies, and the tariff and price are
+     * stored on the collection. All included collections are marked as billed, and the
+     * invoice is added to the balance of the customer in the same transaction. The
+     * collections are marked with a conditional update, so a collection billed
+     * meanwhile by another invoice or a billing run is never billed twice.
      *
      * @param customer the customer for whom the invoice is created
      * @param collectionsToBill the list of collections to include in the invoice
      * @return the newly created invoice
      * @throws IllegalArgumentException if the list is null or empty
-     * @throws IllegalStateException if a collection has an unknown schedule type
+     * @throws IllegalStateException if a collection has an unknown schedule type or
+     * has already been billed
      */
     public Invoice createInvoice(final Customer customer,
                                  final List<Collection> collectionsToBill) {
@@ -67,44 +106,132 @@ public class InvoiceManager {
             throw new IllegalArgumentException(
                     "No collections to bill for this customer.");
         }
+        Invoice invoice = buildInvoice(customer, collectionsToBill, LocalDateTime.now(),
+                tariffManager.getTariffTable());
+        TransactionHelper.executeTransaction(() -> {
+            claimCollections(List.of(invoice));
+            invoiceRepository.save(invoice);
+            balanceRepository.update(customer.getCustomerId(),
+                    balance -> balance.addInvoice(billedCollections(invoice),
+                            invoice.getAmountCents()));
+        });
+        eventBus.publish(DomainEvent.Type.ADDED, Invoice.class, invoice.getInvoiceId());
+        return invoice;
+    }
+
+    /**
+     * Creates the invoices of several customers at once, as done by a
+     * {@link BillingRun}. The invoices are priced in parallel with the same tariff
+     * table, as {@link #createInvoice(Customer, List)} does for one customer, then
+     * saved
+     * together with the billing flag of their collections and the balances of the
+     * customers in one transaction with batched inserts and updates. The collections
+     * are claimed first with a single conditional update: if any of them has been
+     * billed meanwhile, no invoice is created.
+     *
+     * @param collectionsByCustomer the collections to bill by customer, each list
+     * not empty and with the schedules loaded
+     * @param issueDate the issue date of all the invoices
+     * @return the invoices created, in the order of the customers
+     * @throws IllegalStateException if a collection has an unknown schedule type or
+     * has already been billed
+     */
+    public List<Invoice> createInvoices(
+            final Map<Customer, List<Collection>> collectionsByCustomer,
+            final LocalDateTime issueDate) {
+        TariffTable tariffs = tariffManager.getTariffTable();
+        List<Invoice> invoices = collectionsByCustomer.entrySet().parallelStream()
+                .map(e -> buildInvoice(e.getKey(), e.getValue(), issueDate, tariffs))
+                .toList();
+        Map<Integer, Consumer<CustomerBalance>> changes = new HashMap<>();
+        for (Invoice invoice : invoices) {
+            changes.merge(invoice.getCustomer().getCustomerId(),
+                    balance -> balance.addInvoice(billedCollections(invoice),
+                            invoice.getAmountCents()),
+                    Consumer::andThen);
+        }
+        TransactionHelper.executeTransaction(() -> {
+            claimCollections(invoices);
+            invoiceRepository.saveAll(invoices);
+            balanceRepository.updateAll(changes);
+        });
+        for (Invoice invoice : invoices) {
+            eventBus.publish(DomainEvent.Type.ADDED, Invoice.class,
+                    invoice.getInvoiceId());
+        }
+        return invoices;
+    }
+
+    /**
+     * Marks the collections of the given invoices as billed in the current
+     * transaction, failing it if another invoice billed any of them first.
+     */
+    private void claimCollections(final List<Invoice> invoices) {
+        List<Integer> collectionIds = invoices.stream()
+                .flatMap(invoice -> invoice.getCollections().stream())
+                .map(Collection::getCollectionId)
+                .toList();
+        if (!invoiceRepository.markCollectionsBilled(collectionIds)) {
+            throw new IllegalStateException(
+                    "Some of the collections have already been billed");
+        }
+    }
+
+    private static int billedCollections(final Invoice invoice) {
+        return invoice.getRecurringCount() + invoice.getOnetimeCount();
+    }
 
-        double totalRecurring = 0.0;
-        double totalOnetime = 0.0;
+    private static Invoice buildInvoice(final Customer customer,
+                                        final List<Collection> collectionsToBill,
+                                        final LocalDateTime issueDate,
+                                        final TariffTable tariffs) {
+        long totalRecurring = 0;
+        long totalOnetime = 0;
         int recurringCount = 0;
         int onetimeCount = 0;
 
         for (Collection collection : collectionsToBill) {
-            if (collection.getSchedule() instanceof RecurringSchedule) {
-                totalRecurring += RECURRING_FEE;
+            Schedule schedule = collection.getSchedule();
+            ScheduleCategory category = schedule.getScheduleCategory();
+            long defaultFee;
+            if (category == ScheduleCategory.RECURRING) {
+                defaultFee = RECURRING_FEE_CENTS;
                 recurringCount++;
-            } else if (collection.getSchedule() instanceof OneTimeSchedule) {
-                totalOnetime += ONE_TIME_FEE;
+            } else if (category == ScheduleCategory.ONE_TIME) {
+                defaultFee = ONE_TIME_FEE_CENTS;
                 onetimeCount++;
             } else {
                 throw new IllegalStateException(
                         "Unknown schedule type for collection ID "
                                 + collection.getCollectionId());
             }
+            Tariff tariff = tariffs.find(category, collection.getWaste().getWasteId(),
+                    customer.getCategory(), schedule.getFrequency(),
+                    collection.getCollectionDate());
+            long price = tariff != null ? tariff.getPriceCents() : defaultFee;
+            if (category == ScheduleCategory.RECURRING) {
+                totalRecurring = Money.add(totalRecurring, price);
+            } else {
+                totalOnetime = Money.add(totalOnetime, price);
+            }
 
+            collection.setTariff(tariff);
+            collection.setBilledCents(price);
             collection.setIsBilled(true);
         }
 
-        Invoice invoice = new Invoice(
+        return new Invoice(
                 customer,
                 collectionsToBill,
                 totalRecurring,
                 totalOnetime,
                 recurringCount,
                 onetimeCount,
-                LocalDateTime.now());
-
-        invoiceRepository.save(invoice);
-
-        return invoice;
+                issueDate);
     }
 
     /**
-     * Retrieves an invoice by its ID.
+     * Retrieves an invoice by its ID, with its customer loaded.
      *
      * @param id the ID of the invoice
      * @return an Optional containing the invoice if found, or empty if not found
@@ -113,6 +240,55 @@ public class InvoiceManager {
         return invoiceRepository.findById(id);
     }
 
+    /**
+     * Retrieves an invoice by its ID with its billed collections loaded, ready to
+     * be listed.
+     *
+     * @param id the ID of the invoice
+     * @return an Optional containing the invoice if found, or empty if not found
+     */
+    public Optional<Invoice> findInvoiceWithCollections(final int id) {
+        return invoiceRepository.findWithCollections(id);
+    }
+
+    /**
+     * Retrieves an invoice by its ID with its customer and billed collections
+     * loaded, ready to be printed.
+     *
+     * @param id the ID of the invoice
+     * @return an Optional containing the invoice if found, or empty if not found
+     */
+    public Optional<Invoice> findInvoiceForPdf(final int id) {
+        return invoiceRepository.findForPdf(id);
+    }
+
+    /**
+     * Retrieves the given invoices with their customers and billed collections
+     * loaded, ready to be printed, with a single query.
+     *
+     * @param ids the IDs of the invoices
+     * @return the invoices found, in ID order
+     * @throws IllegalArgumentException if ids is null
+     */
+    public List<Invoice> findInvoicesForPdf(final List<Integer> ids) {
+        ValidateUtils.requireArgNotNull(ids, "Invoice ids cannot be null");
+        return invoiceRepository.findForPdf(ids);
+    }
+
+    /**
+     * Retrieves the IDs of the invoices issued in the given month that have not been
+     * deleted, as exported at the end of the month.
+     *
+     * @param month the month of issue
+     * @return the invoice IDs, in ascending order
+     * @throws IllegalArgumentException if month is null
+     */
+    public List<Integer> getInvoiceIdsIssuedIn(final YearMonth month) {
+        ValidateUtils.requireArgNotNull(month, "Month cannot be null");
+        return invoiceRepository.findIdsIssuedBetween(month.atDay(1).atStartOfDay(),
+                month.plusMonths(1).atDay(1).atStartOfDay());
+    }
+
     /**
      * Retrieves all invoices in the system.
      *
@@ -123,81 +299,154 @@ public class InvoiceManager {
     }
 
     /**
-     * Marks the invoice with the given ID as PAID.
+     * Retrieves one page of invoices.
+     *
+     * @param request the page to retrieve, with its filters, search and sort
+     * @return the requested page of invoices
+     */
+    public Page<Invoice> getInvoicePage(final PageRequest request) {
+        return invoiceRepository.findPage(request);
+    }
+
+    /**
+     * Retrieves one page of read-only rows for invoices, reading only the
+     * attributes selected by the projection.
+     *
+     * @param request the page to retrieve, with its filters, search and sort
+     * @param projection the attributes to read and the row built from them
+     * @param <R> the type of the rows
+     * @return the requested page of rows
+     */
+    public <R> Page<R> getInvoicePage(final PageRequest request,
+                                      final Projection<R> projection) {
+        return invoiceRepository.findPage(request, projection);
+    }
+
+    /**
+     * Counts the invoices that have not been paid yet.
+     *
+     * @return the number of unpaid invoices
+     */
+    public int countUnpaidInvoices() {
+        return invoiceRepository.countByPaymentStatus(PaymentStatus.UNPAID);
+    }
+
+    /**
+     * Marks the invoice with the given ID as PAID. The first payment of the invoice
+     * is added to the balance of the customer in the same transaction. The invoice
+     * is changed by a conditional update, so when two payments of the same invoice
+     * race only one of them reaches the balance.
      *
      * @param invoiceId the ID of the invoice to mark as paid
-     * @return true if the invoice was found and updated, false otherwise
+     * @return true if the invoice was found and is paid, false otherwise
+     * @throws IllegalStateException if the invoice is deleted
      */
     public boolean markInvoiceAsPaid(final int invoiceId) {
         Optional<Invoice> invoiceOpt = invoiceRepository.findById(invoiceId);
-        if (invoiceOpt.isPresent()) {
-            Invoice invoice = invoiceOpt.get();
-            if (invoice.isDeleted()) {
-                throw new IllegalStateException("Cannot modify a deleted invoice.");
+        if (invoiceOpt.isEmpty()) {
+            return false;
+        }
+        Invoice invoice = invoiceOpt.get();
+        if (invoice.isDeleted()) {
+            throw new IllegalStateException("Cannot modify a deleted invoice.");
+        }
+        boolean alreadyPaid = invoice.getPaymentStatus() == PaymentStatus.PAID;
+        int customerId = invoice.getCustomer().getCustomerId();
+        long amountCents = invoice.getAmountCents();
+        boolean[] paid = new boolean[1];
+        TransactionHelper.executeTransaction(() -> {
+            paid[0] = invoiceRepository.markPaid(invoiceId, LocalDateTime.now());
+            if (paid[0]) {
+                balanceRepository.update(customerId,
+                        balance -> balance.addPayment(amountCents));
             }
-            invoice.setPaymentStatus(Invoice.PaymentStatus.PAID);
-            LocalDateTime now = LocalDateTime.now();
-            invoice.setPaymentDate(now);
-            invoice.setLastModified(now);
-            invoiceRepository.update(invoice);
-            return true;
+        });
+        if (paid[0]) {
+            eventBus.publish(DomainEvent.Type.UPDATED, Invoice.class, invoiceId);
         }
-        return false;
+        return paid[0] || alreadyPaid;
+    }
+
+    /**
+     * Retrieves the billing balance of a customer: the invoices issued and not
+     * deleted, the collections they bill and the amounts billed, paid and unpaid.
+     *
+     * @param customer the customer
+     * @return the balance of the customer, empty if it has never been billed
+     * @throws IllegalArgumentException if customer is null
+     */
+    public CustomerBalance getCustomerBalance(final Customer customer) {
+        ValidateUtils.requireArgNotNull(customer, "Customer cannot be null");
+        return balanceRepository.findByCustomerId(customer.getCustomerId())
+                .orElseGet(() -> new CustomerBalance(customer.getCustomerId()));
     }
 
     /**
-     * Calculates the total billed amount for a given customer across all invoices.
+     * Gets the total billed amount for a given customer across all invoices not
+     * deleted, read from the balance of the customer.
      *
      * @param customer the customer whose billed amount is to be calculated
-     * @return the total billed amount
+     * @return the total billed amount, in cents
      */
-    public double getTotalBilledAmountForCustomer(final Customer customer) {
-        double total = 0.0;
-        for (Invoice invoice : invoiceRepository.findByCustomer(customer)) {
-            total += invoice.getAmount();
-        }
-        return total;
+    public long getTotalBilledCentsForCustomer(final Customer customer) {
+        return getCustomerBalance(customer).getBilledCents();
     }
 
     /**
-     * Calculates the total amount already paid by a given customer.
+     * Gets the total amount already paid by a given customer, read from the balance
+     * of the customer.
      *
      * @param customer the customer whose paid amount is to be calculated
-     * @return the total paid amount
+     * @return the total paid amount, in cents
      */
-    public double getTotalPaidAmountForCustomer(final Customer customer) {
-        double total = 0.0;
-        for (Invoice invoice : invoiceRepository.findByCustomer(customer)) {
-            if (invoice.getPaymentStatus() == Invoice.PaymentStatus.PAID) {
-                total += invoice.getAmount();
-            }
-        }
-        return total;
+    public long getTotalPaidCentsForCustomer(final Customer customer) {
+        return getCustomerBalance(customer).getPaidCents();
     }
 
     /**
      * Deletes the invoice with the given ID (soft delete) if it is not already
      * paid.
-     * Marks the invoice as deleted and sets all its collections as not billed.
+     * Marks the invoice as deleted, sets all its collections as not billed and
+     * removes the invoice from the balance of the customer, in a single
+     * transaction. The invoice is changed by a conditional update, so when two
+     * deletions of the same invoice race only one of them reaches the balance.
      *
      * @param invoiceId the ID of the invoice to delete
      * @return true if the invoice was found and deleted, false if the invoice
      * was not found or is already marked as PAID
      */
     public boolean deleteInvoice(final int invoiceId) {
-        Optional<Invoice> invoiceOpt = invoiceRepository.findById(invoiceId);
-        if (invoiceOpt.isPresent()) {
+        return UnitOfWork.call(() -> {
+            Optional<Invoice> invoiceOpt = invoiceRepository.findById(invoiceId);
+            if (invoiceOpt.isEmpty()) {
+                return false;
+            }
             Invoice invoice = invoiceOpt.get();
             if (PaymentStatus.PAID == invoice.getPaymentStatus()) {
                 return false;
             }
-            invoice.setDeleted(true);
-            for (Collection collection : invoice.getCollections()) {
-                collection.setIsBilled(false);
+            if (invoice.isDeleted()) {
+                return true;
             }
-            invoiceRepository.update(invoice);
-            return true;
-        }
-        return false;
+            int customerId = invoice.getCustomer().getCustomerId();
+            int collections = billedCollections(invoice);
+            long amountCents = invoice.getAmountCents();
+            List<Integer> collectionIds = invoice.getCollections().stream()
+                    .map(Collection::getCollectionId)
+                    .toList();
+            boolean[] deleted = new boolean[1];
+            TransactionHelper.executeTransaction(() -> {
+                deleted[0] = invoiceRepository.markDeleted(invoiceId, collectionIds,
+                        LocalDateTime.now());
+                if (deleted[0]) {
+                    balanceRepository.update(customerId,
+                            balance -> balance.removeInvoice(collections, amountCents));
+                }
+            });
+            if (deleted[0]) {
+                eventBus.publish(DomainEvent.Type.REMOVED, Invoice.class, invoiceId);
+            }
+            return deleted[0];
+        });
     }
 }
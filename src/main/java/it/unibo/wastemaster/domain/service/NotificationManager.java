@@ -1,6 +1,7 @@
 package it.unibo.wastemaster.domain.service;
 
 import it.unibo.wastemaster.domain.model.Invoice;
+import it.unibo.wastemaster.domain.model.Money;
 import it.unibo.wastemaster.domain.model.Notification;
 import it.unibo.wastemaster.domain.repository.CustomerRepository;
 import it.unibo.wastemaster.domain.repository.InvoiceRepository;
@@ -39,15 +40,15 @@ public class NotificationManager {
     }
 
     /**
-     * Formats a numeric amount as a currency string in EUR using Italian locale.
+     * Formats an amount in cents as a currency string in EUR using Italian locale.
      *
-     * @param amount the amount to format
+     * @param cents the amount to format, in cents
      * @return the formatted currency string
      */
-    private static String formatEur(final double amount) {
+    private static String formatEur(final long cents) {
         NumberFormat nf = NumberFormat.getCurrencyInstance(Locale.ITALY);
         nf.setCurrency(Currency.getInstance("EUR"));
-        return nf.format(amount);
+        return nf.format(Money.toEuros(cents));
     }
 
     /**
@@ -87,7 +88,7 @@ public class NotificationManager {
                     events.add(new Notification(
                             String.format("Invoice #%d for %s - %s: %s",
                                     i.getInvoiceId(), customerName, statusText,
-                                    formatEur(i.getAmount())),
+                                    formatEur(i.getAmountCents())),
                             date));
                 });
 
@@ -1,9 +1,12 @@
 package it.unibo.wastemaster.domain.service;
 
+import it.unibo.wastemaster.domain.event.DomainEvent;
+import it.unibo.wastemaster.domain.event.DomainEventBus;
 import it.unibo.wastemaster.domain.model.Collection;
 import it.unibo.wastemaster.domain.model.Collection.CollectionStatus;
 import it.unibo.wastemaster.domain.model.Customer;
 import it.unibo.wastemaster.domain.model.OneTimeSchedule;
+import it.unibo.wastemaster.domain.model.Schedule;
 import it.unibo.wastemaster.domain.model.Schedule.ScheduleStatus;
 import it.unibo.wastemaster.domain.model.Waste;
 import it.unibo.wastemaster.domain.repository.OneTimeScheduleRepository;
@@ -18,6 +21,7 @@ public class OneTimeScheduleManager {
 
     private final OneTimeScheduleRepository oneTimeScheduleRepository;
     private final CollectionManager collectionManager;
+    private DomainEventBus eventBus = new DomainEventBus();
 
     /**
      * Constructs a OneTimeScheduleManager with required dependencies.
@@ -33,6 +37,15 @@ public class OneTimeScheduleManager {
         this.collectionManager = collectionManager;
     }
 
+    /**
+     * Sets the bus on which the changes made by this manager are published.
+     *
+     * @param eventBus the event bus
+     */
+    public void setEventBus(final DomainEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
     /**
      * Creates a new one-time waste pickup schedule if the date is valid.
      *
@@ -52,6 +65,8 @@ public class OneTimeScheduleManager {
         final OneTimeSchedule schedule = new OneTimeSchedule(customer, waste, pickupDate);
         oneTimeScheduleRepository.save(schedule);
         collectionManager.generateOneTimeCollection(schedule);
+        eventBus.publish(DomainEvent.Type.ADDED, Schedule.class,
+                schedule.getScheduleId());
         return schedule;
     }
 
@@ -102,6 +117,8 @@ public class OneTimeScheduleManager {
             oneTimeScheduleRepository.update(schedule);
             collection.setCollectionStatus(CollectionStatus.CANCELLED);
             collectionManager.updateCollection(collection);
+            eventBus.publish(DomainEvent.Type.UPDATED, Schedule.class,
+                    schedule.getScheduleId());
             return true;
         }
         return false;
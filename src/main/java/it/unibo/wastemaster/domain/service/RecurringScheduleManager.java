@@ -1,9 +1,13 @@
 package it.unibo.wastemaster.domain.service;
 
+import it.unibo.wastemaster.domain.event.DomainEvent;
+import it.unibo.wastemaster.domain.event.DomainEventBus;
 import it.unibo.wastemaster.domain.model.Collection;
 import it.unibo.wastemaster.domain.model.Customer;
 import it.unibo.wastemaster.domain.model.RecurringSchedule;
 import it.unibo.wastemaster.domain.model.RecurringSchedule.Frequency;
+import it.unibo.wastemaster.domain.model.Schedule;
+import it.unibo.wastemaster.domain.model.Schedule.ScheduleCategory;
 import it.unibo.wastemaster.domain.model.Schedule.ScheduleStatus;
 import it.unibo.wastemaster.domain.model.Waste;
 import it.unibo.wastemaster.domain.model.WasteSchedule;
@@ -11,11 +15,20 @@ import it.unibo.wastemaster.domain.repository.RecurringScheduleRepository;
 import it.unibo.wastemaster.domain.strategy.MonthlyCalculator;
 import it.unibo.wastemaster.domain.strategy.NextCollectionCalculator;
 import it.unibo.wastemaster.domain.strategy.WeeklyCalculator;
+import it.unibo.wastemaster.infrastructure.utils.TransactionHelper;
 import it.unibo.wastemaster.infrastructure.utils.ValidateUtils;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Manages recurring schedules: creation, update, and retrieval. Works with DAO,
@@ -23,11 +36,19 @@ import java.util.Optional;
  */
 public class RecurringScheduleManager {
 
+    /**
+     * Default number of weeks ahead of today whose occurrences are generated as
+     * collections.
+     */
+    public static final int DEFAULT_HORIZON_WEEKS = 8;
+
     private static final String SCHEDULE_NOT_NULL_MSG = "Schedule must not be null";
 
     private final RecurringScheduleRepository recurringScheduleRepository;
     private final WasteScheduleManager wasteScheduleManager;
     private CollectionManager collectionManager;
+    private Period horizon = Period.ofWeeks(DEFAULT_HORIZON_WEEKS);
+    private DomainEventBus eventBus = new DomainEventBus();
 
     /**
      * Constructor.
@@ -51,6 +72,40 @@ public class RecurringScheduleManager {
         this.collectionManager = collectionManager;
     }
 
+    /**
+     * Sets the bus on which the changes made by this manager are published.
+     *
+     * @param eventBus the event bus
+     */
+    public void setEventBus(final DomainEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    /**
+     * Sets how far ahead of today the occurrences of recurring schedules are
+     * generated as collections.
+     *
+     * @param horizon the collection horizon, must be positive
+     * @throws IllegalArgumentException if horizon is null, zero or negative
+     */
+    public void setHorizon(final Period horizon) {
+        ValidateUtils.requireArgNotNull(horizon, "Horizon must not be null");
+        if (horizon.isZero() || horizon.isNegative()) {
+            throw new IllegalArgumentException("Horizon must be positive");
+        }
+        this.horizon = horizon;
+    }
+
+    /**
+     * Gets how far ahead of today the occurrences of recurring schedules are
+     * generated as collections.
+     *
+     * @return the collection horizon
+     */
+    public Period getHorizon() {
+        return horizon;
+    }
+
     /**
      * Creates a new recurring schedule.
      *
@@ -71,27 +126,118 @@ public class RecurringScheduleManager {
         }
         RecurringSchedule schedule =
                 new RecurringSchedule(customer, waste, startDate, frequency);
-        LocalDate nextCollectionDate = calculateNextDate(schedule);
-        schedule.setNextCollectionDate(nextCollectionDate);
+        Map<Integer, WasteSchedule> wasteSchedules =
+                findWasteSchedules(List.of(schedule));
+        schedule.setNextCollectionDate(calculateNextDate(schedule, wasteSchedules));
+        Map<RecurringSchedule, List<LocalDate>> occurrences =
+                planOccurrences(List.of(schedule), wasteSchedules, LocalDate.now());
         recurringScheduleRepository.save(schedule);
-        collectionManager.generateRecurringCollection(schedule);
+        collectionManager.generateRecurringCollections(occurrences);
+        eventBus.publish(DomainEvent.Type.ADDED, Schedule.class,
+                schedule.getScheduleId());
         return schedule;
     }
 
     private LocalDate calculateNextDate(final RecurringSchedule schedule) {
+        return calculateNextDate(schedule, findWasteSchedules(List.of(schedule)));
+    }
+
+    private LocalDate calculateNextDate(
+            final RecurringSchedule schedule,
+            final Map<Integer, WasteSchedule> wasteSchedules) {
         ValidateUtils.requireArgNotNull(schedule, SCHEDULE_NOT_NULL_MSG);
         ValidateUtils.requireArgNotNull(schedule.getScheduleId(),
                 "Schedule ID must not be null");
 
-        WasteSchedule scheduleData =
-                wasteScheduleManager.getWasteScheduleByWaste(schedule.getWaste());
+        return calculatorFor(schedule).calculateNextDate(schedule,
+                wasteSchedules.get(schedule.getWaste().getWasteId()));
+    }
 
-        NextCollectionCalculator calculator = switch (schedule.getFrequency()) {
+    private static NextCollectionCalculator calculatorFor(
+            final RecurringSchedule schedule) {
+        return switch (schedule.getFrequency()) {
             case WEEKLY -> new WeeklyCalculator();
             case MONTHLY -> new MonthlyCalculator();
         };
+    }
+
+    /**
+     * Looks up the waste schedule of each waste type of the given schedules once.
+     *
+     * @param schedules the schedules whose waste schedules are needed
+     * @return the waste schedules by waste ID
+     */
+    private Map<Integer, WasteSchedule> findWasteSchedules(
+            final List<RecurringSchedule> schedules) {
+        Map<Integer, WasteSchedule> wasteSchedules = new HashMap<>();
+        for (RecurringSchedule schedule : schedules) {
+            wasteSchedules.computeIfAbsent(schedule.getWaste().getWasteId(),
+                    id -> wasteScheduleManager.getWasteScheduleByWaste(
+                            schedule.getWaste()));
+        }
+        return wasteSchedules;
+    }
 
-        return calculator.calculateNextDate(schedule, scheduleData);
+    /**
+     * Enumerates the occurrences of the given schedules up to the end of the
+     * horizon, continuing after the last materialized occurrence of each schedule or
+     * starting from its next collection date when nothing is materialized, and
+     * records the last occurrence reached on each schedule. Occurrences not after
+     * today are passed over.
+     *
+     * @param schedules the schedules to materialize
+     * @param wasteSchedules the waste schedules of the schedules by waste ID
+     * @param today the reference day
+     * @return the dates to generate for each schedule, in the order given
+     */
+    private Map<RecurringSchedule, List<LocalDate>> planOccurrences(
+            final List<RecurringSchedule> schedules,
+            final Map<Integer, WasteSchedule> wasteSchedules,
+            final LocalDate today) {
+        LocalDate end = today.plus(horizon);
+        Map<RecurringSchedule, List<LocalDate>> occurrences = new LinkedHashMap<>();
+        for (RecurringSchedule schedule : schedules) {
+            WasteSchedule wasteSchedule =
+                    wasteSchedules.get(schedule.getWaste().getWasteId());
+            NextCollectionCalculator calculator = calculatorFor(schedule);
+            LocalDate last = schedule.getMaterializedUntil();
+            LocalDate date = last == null
+                    ? schedule.getNextCollectionDate()
+                    : calculator.calculateDateAfter(last, wasteSchedule);
+            List<LocalDate> dates = new ArrayList<>();
+            while (date != null && !date.isAfter(end)) {
+                if (date.isAfter(today)) {
+                    dates.add(date);
+                }
+                last = date;
+                date = calculator.calculateDateAfter(date, wasteSchedule);
+            }
+            schedule.setMaterializedUntil(last);
+            occurrences.put(schedule, dates);
+        }
+        return occurrences;
+    }
+
+    /**
+     * Tops up the collections of the given schedules to the end of the horizon:
+     * the schedules are updated in one batch and the new collections inserted in
+     * another.
+     *
+     * @param schedules the schedules to top up
+     * @param wasteSchedules the waste schedules of the schedules by waste ID
+     * @param today the reference day
+     */
+    private void materialize(final List<RecurringSchedule> schedules,
+                             final Map<Integer, WasteSchedule> wasteSchedules,
+                             final LocalDate today) {
+        Map<RecurringSchedule, List<LocalDate>> occurrences =
+                planOccurrences(schedules, wasteSchedules, today);
+        recurringScheduleRepository.updateAll(schedules);
+        collectionManager.generateRecurringCollections(occurrences);
+        for (RecurringSchedule schedule : schedules) {
+            eventBus.publish(DomainEvent.Type.UPDATED, Schedule.class,
+                    schedule.getScheduleId());
+        }
     }
 
     /**
@@ -120,6 +266,97 @@ public class RecurringScheduleManager {
         return recurringScheduleRepository.findActiveSchedulesWithoutFutureCollections();
     }
 
+    /**
+     * Rolls over a chunk of active schedules whose next collection date is before
+     * the given day: their missed collections are cancelled, their next collection
+     * date is advanced to their earliest collection after the day, or calculated
+     * past the day if none is materialized, and their collections are topped up to
+     * the end of the horizon.
+     * <p>
+     * The chunk is processed in one transaction holding a lock on its schedules, so
+     * it is written as a whole or not at all, and a workstation rolling over at the
+     * same time waits for it and then skips the schedules it processed, which are
+     * no longer overdue.
+     *
+     * @param today the reference day
+     * @param afterId the id after which the chunk starts, 0 for the first chunk
+     * @param limit the maximum number of schedules to process
+     * @return the schedules processed, ordered by id, empty when none is left
+     */
+    public List<RecurringSchedule> rollOverOverdueSchedules(final LocalDate today,
+                                                            final int afterId,
+                                                            final int limit) {
+        List<RecurringSchedule> processed = new ArrayList<>();
+        TransactionHelper.executeTransaction(() -> {
+            List<RecurringSchedule> overdue = recurringScheduleRepository
+                    .findOverdueSchedules(today, afterId, limit);
+            processed.addAll(overdue);
+            if (overdue.isEmpty()) {
+                return;
+            }
+            collectionManager.cancelMissedCollections(overdue, today);
+            Map<Integer, WasteSchedule> wasteSchedules = findWasteSchedules(overdue);
+            advanceNextCollectionDates(overdue, wasteSchedules, today);
+            materialize(overdue, wasteSchedules, today);
+        });
+        return processed;
+    }
+
+    /**
+     * Tops up to the end of the horizon the collections of a chunk of active
+     * schedules whose materialized occurrences no longer reach it, in one
+     * transaction holding a lock on the schedules of the chunk.
+     *
+     * @param today the reference day
+     * @param afterId the id after which the chunk starts, 0 for the first chunk
+     * @param limit the maximum number of schedules to process
+     * @return the schedules processed, ordered by id, empty when none is left
+     */
+    public List<RecurringSchedule> topUpCollections(final LocalDate today,
+                                                    final int afterId,
+                                                    final int limit) {
+        LocalDate end = today.plus(horizon);
+        List<RecurringSchedule> processed = new ArrayList<>();
+        TransactionHelper.executeTransaction(() -> {
+            List<RecurringSchedule> schedules = recurringScheduleRepository
+                    .findSchedulesToTopUp(end.minusWeeks(1), end.minusMonths(1),
+                            afterId, limit);
+            processed.addAll(schedules);
+            if (!schedules.isEmpty()) {
+                materialize(schedules, findWasteSchedules(schedules), today);
+            }
+        });
+        return processed;
+    }
+
+    /**
+     * Sets the next collection date of each schedule to its earliest active
+     * collection after the given day, found for all schedules with one query, or
+     * calculates it past the day for schedules without one.
+     *
+     * @param schedules the schedules to advance
+     * @param wasteSchedules the waste schedules of the schedules by waste ID
+     * @param today the reference day
+     */
+    private void advanceNextCollectionDates(
+            final List<RecurringSchedule> schedules,
+            final Map<Integer, WasteSchedule> wasteSchedules,
+            final LocalDate today) {
+        Map<Integer, LocalDate> nextDates = collectionManager
+                .getNextActiveCollectionDates(schedules, today.plusDays(1));
+        for (RecurringSchedule schedule : schedules) {
+            LocalDate next = nextDates.get(schedule.getScheduleId());
+            if (next != null) {
+                schedule.setNextCollectionDate(next);
+                continue;
+            }
+            do {
+                schedule.setNextCollectionDate(
+                        calculateNextDate(schedule, wasteSchedules));
+            } while (!schedule.getNextCollectionDate().isAfter(today));
+        }
+    }
+
     /**
      * Returns a list of recurring schedules for the given customer.
      *
@@ -138,9 +375,9 @@ public class RecurringScheduleManager {
      * PAUSED → CANCELLED: updates the status and persists it.
      * PAUSED → ACTIVE: updates the status, calculates the next collection date if null
      * or in the past,
-     * and generates a new collection.
+     * and generates the collections up to the end of the horizon.
      * ACTIVE → PAUSED or ACTIVE → CANCELLED: updates the status and soft deletes the
-     * active collection.
+     * upcoming active collections.
      * Invalid transitions return false without modifying the schedule.
      *
      * @param schedule the recurring schedule to update (must not be null)
@@ -168,6 +405,8 @@ public class RecurringScheduleManager {
                 if (newStatus == ScheduleStatus.CANCELLED) {
                     schedule.setScheduleStatus(ScheduleStatus.CANCELLED);
                     recurringScheduleRepository.update(schedule);
+                    eventBus.publish(DomainEvent.Type.UPDATED, Schedule.class,
+                            schedule.getScheduleId());
                     return true;
                 }
 
@@ -182,9 +421,7 @@ public class RecurringScheduleManager {
 
                     schedule.setNextCollectionDate(nextDate);
                     schedule.setScheduleStatus(ScheduleStatus.ACTIVE);
-                    recurringScheduleRepository.update(schedule);
-
-                    collectionManager.generateRecurringCollection(schedule);
+                    restartMaterialization(schedule);
                     return true;
                 }
 
@@ -196,15 +433,16 @@ public class RecurringScheduleManager {
                 if (newStatus == ScheduleStatus.PAUSED
                         || newStatus == ScheduleStatus.CANCELLED) {
                     schedule.setScheduleStatus(newStatus);
+                    schedule.setMaterializedUntil(null);
                     recurringScheduleRepository.update(schedule);
 
-                    // Soft delete the active collection
-                    Collection activeCollection = collectionManager
-                            .getActiveCollectionByRecurringSchedule(schedule)
-                            .orElseThrow(() -> new IllegalStateException(
-                                    "Associated collection must not be null"));
-
-                    collectionManager.softDeleteCollection(activeCollection);
+                    // Soft delete the upcoming collections
+                    if (collectionManager.cancelUpcomingCollections(schedule) == 0) {
+                        throw new IllegalStateException(
+                                "Associated collection must not be null");
+                    }
+                    eventBus.publish(DomainEvent.Type.UPDATED, Schedule.class,
+                            schedule.getScheduleId());
                     return true;
                 }
 
@@ -223,7 +461,8 @@ public class RecurringScheduleManager {
      * <p>
      * If the schedule is not active or the frequency is unchanged, returns false.
      * Otherwise, sets the new frequency, recalculates the next collection date, updates
-     * the schedule, soft deletes any active collection, and generates a new collection.
+     * the schedule, soft deletes the upcoming active collections, and generates the
+     * collections of the new frequency up to the end of the horizon.
      *
      * @param schedule the recurring schedule to update (must not be null)
      * @param newFrequency the new frequency to set (must not be null)
@@ -255,18 +494,24 @@ public class RecurringScheduleManager {
             schedule.setNextCollectionDate(newNextDate);
         }
 
-        recurringScheduleRepository.update(schedule);
-
-        Optional<Collection> activeCollectionOpt =
-                collectionManager.getActiveCollectionByRecurringSchedule(schedule);
-        if (activeCollectionOpt.isPresent()) {
-            collectionManager.softDeleteCollection(activeCollectionOpt.get());
-        }
-        collectionManager.generateRecurringCollection(schedule);
-
+        restartMaterialization(schedule);
         return true;
     }
 
+    /**
+     * Cancels the upcoming collections of the schedule and generates its collections
+     * again from its next collection date to the end of the horizon, after a change
+     * invalidating the occurrences already generated.
+     *
+     * @param schedule the recurring schedule to restart
+     */
+    private void restartMaterialization(final RecurringSchedule schedule) {
+        collectionManager.cancelUpcomingCollections(schedule);
+        schedule.setMaterializedUntil(null);
+        materialize(List.of(schedule), findWasteSchedules(List.of(schedule)),
+                LocalDate.now());
+    }
+
     /**
      * Finds a recurring schedule by its unique identifier.
      *
@@ -281,16 +526,46 @@ public class RecurringScheduleManager {
     /**
      * Reschedules the next collection for the given collection if it is associated
      * with a recurring schedule.
-     * Updates the next collection date and generates a new collection.
      *
      * @param collection the collection whose recurring schedule should be rescheduled
+     * @see #rescheduleNextCollections(List)
      */
     public void rescheduleNextCollection(final Collection collection) {
-        if (collection.getSchedule() instanceof RecurringSchedule rs) {
-            LocalDate next = calculateNextDate(rs);
-            rs.setNextCollectionDate(next);
-            recurringScheduleRepository.update(rs);
-            collectionManager.generateRecurringCollection(rs);
+        rescheduleNextCollections(List.of(collection));
+    }
+
+    /**
+     * Reschedules the recurring schedules of the given collections, once they are
+     * completed or cancelled.
+     * <p>
+     * The next collection date of each schedule moves to its earliest active
+     * collection still to come, which is normally already generated within the
+     * horizon, and the collections are then topped up to the end of the horizon.
+     * The schedules are identified by their category and reloaded together as
+     * recurring schedules, since a lazily loaded schedule is only a proxy of the
+     * base class; the whole batch costs a fixed number of queries and batched
+     * writes whatever the number of collections. The schedules are locked until the
+     * end of the transaction, which joins the caller's if one is active.
+     *
+     * @param collections the collections whose recurring schedules should be
+     * rescheduled
+     */
+    public void rescheduleNextCollections(final List<Collection> collections) {
+        Set<Integer> ids = collections.stream()
+                .map(Collection::getSchedule)
+                .filter(s -> s.getScheduleCategory() == ScheduleCategory.RECURRING)
+                .map(Schedule::getScheduleId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (ids.isEmpty()) {
+            return;
         }
+        LocalDate today = LocalDate.now();
+        TransactionHelper.executeTransaction(() -> {
+            List<RecurringSchedule> schedules =
+                    recurringScheduleRepository.findAllById(ids);
+            Map<Integer, WasteSchedule> wasteSchedules = findWasteSchedules(schedules);
+            advanceNextCollectionDates(schedules, wasteSchedules, today);
+            materialize(schedules, wasteSchedules, today);
+        });
     }
 }
@@ -0,0 +1,110 @@
+package it.unibo.wastemaster.domain.service;
+
+/**
+ * Immutable snapshot of the progress of a run of the {@link ScheduleRolloverJob}.
+ */
+public final class RolloverProgress {
+
+    private final int rolledOver;
+    private final int toppedUp;
+    private final int failedChunks;
+    private final boolean done;
+
+    private RolloverProgress(final int rolledOver, final int toppedUp,
+                             final int failedChunks, final boolean done) {
+        this.rolledOver = rolledOver;
+        this.toppedUp = toppedUp;
+        this.failedChunks = failedChunks;
+        this.done = done;
+    }
+
+    /**
+     * Creates the progress of a run that has not processed anything yet.
+     *
+     * @return the initial progress
+     */
+    public static RolloverProgress started() {
+        return new RolloverProgress(0, 0, 0, false);
+    }
+
+    /**
+     * Returns this progress with the given number of overdue schedules rolled over.
+     *
+     * @param count the number of schedules rolled over by a chunk
+     * @return the updated progress
+     */
+    public RolloverProgress addRolledOver(final int count) {
+        return new RolloverProgress(rolledOver + count, toppedUp, failedChunks, done);
+    }
+
+    /**
+     * Returns this progress with the given number of schedules whose collections
+     * were topped up to the end of the horizon.
+     *
+     * @param count the number of schedules processed by a chunk
+     * @return the updated progress
+     */
+    public RolloverProgress addToppedUp(final int count) {
+        return new RolloverProgress(rolledOver, toppedUp + count, failedChunks, done);
+    }
+
+    /**
+     * Returns this progress with one more chunk that could not be processed.
+     *
+     * @return the updated progress
+     */
+    public RolloverProgress addFailedChunk() {
+        return new RolloverProgress(rolledOver, toppedUp, failedChunks + 1, done);
+    }
+
+    /**
+     * Returns this progress marked as complete.
+     *
+     * @return the final progress
+     */
+    public RolloverProgress finish() {
+        return new RolloverProgress(rolledOver, toppedUp, failedChunks, true);
+    }
+
+    /**
+     * Gets the number of overdue schedules rolled over.
+     *
+     * @return the number of schedules rolled over
+     */
+    public int getRolledOver() {
+        return rolledOver;
+    }
+
+    /**
+     * Gets the number of schedules whose collections were topped up.
+     *
+     * @return the number of schedules processed
+     */
+    public int getToppedUp() {
+        return toppedUp;
+    }
+
+    /**
+     * Gets the number of chunks that failed and are left to the next run.
+     *
+     * @return the number of failed chunks
+     */
+    public int getFailedChunks() {
+        return failedChunks;
+    }
+
+    /**
+     * Checks whether the run is complete.
+     *
+     * @return true if the run has finished, false while it is in progress
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("rolled over=%d, topped up=%d, failed chunks=%d%s",
+                rolledOver, toppedUp, failedChunks, done ? "" : " (running)");
+    }
+}
@@ -0,0 +1,77 @@
+package it.unibo.wastemaster.domain.service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Immutable visiting order of the stops of a trip computed by the
+ * {@link RouteSequencer}, with its estimated length and duration.
+ *
+ * @param <T> the type of the stops
+ */
+public final class RouteSequence<T> {
+
+    private final List<T> stops;
+    private final int unplacedStops;
+    private final double distanceKm;
+    private final Duration estimatedDuration;
+
+    /**
+     * Constructs a route sequence.
+     *
+     * @param stops the stops in visiting order
+     * @param unplacedStops the number of stops without coordinates, visited last
+     * @param distanceKm the estimated road distance between the first and last stop
+     * @param estimatedDuration the estimated driving and service time
+     */
+    public RouteSequence(final List<T> stops, final int unplacedStops,
+                         final double distanceKm, final Duration estimatedDuration) {
+        this.stops = List.copyOf(stops);
+        this.unplacedStops = unplacedStops;
+        this.distanceKm = distanceKm;
+        this.estimatedDuration = estimatedDuration;
+    }
+
+    /**
+     * Gets the stops in visiting order. Stops without coordinates come last, in
+     * their original order.
+     *
+     * @return an unmodifiable list of stops
+     */
+    public List<T> getStops() {
+        return stops;
+    }
+
+    /**
+     * Gets the number of stops that could not be placed and were not optimized.
+     *
+     * @return the number of stops without coordinates
+     */
+    public int getUnplacedStops() {
+        return unplacedStops;
+    }
+
+    /**
+     * Gets the estimated road distance of the route.
+     *
+     * @return the distance in kilometres
+     */
+    public double getDistanceKm() {
+        return distanceKm;
+    }
+
+    /**
+     * Gets the estimated time needed to drive the route and serve every stop.
+     *
+     * @return the estimated duration
+     */
+    public Duration getEstimatedDuration() {
+        return estimatedDuration;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d stops, %.1f km, %d min", stops.size(), distanceKm,
+                estimatedDuration.toMinutes());
+    }
+}
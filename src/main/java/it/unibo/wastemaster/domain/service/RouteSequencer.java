@@ -0,0 +1,375 @@
+package it.unibo.wastemaster.domain.service;
+
+import it.unibo.wastemaster.domain.model.GeoPoint;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Orders the stops of a trip so that the crew drives as little as possible, and
+ * estimates how long the trip takes.
+ * <p>
+ * The route is an open path through the stops with coordinates. It starts from
+ * the stop farthest from their centre and is first built by always driving to
+ * the nearest stop not yet visited. It is then improved with 2-opt moves, which
+ * reverse a part of the path, and or-opt moves, which move up to three consecutive
+ * stops elsewhere, until neither shortens it. Stops without coordinates are
+ * visited last in their original order.
+ * <p>
+ * Distances are great-circle distances stretched by a fixed road factor. The
+ * duration adds the driving time at an average urban speed and a fixed service
+ * time per stop. Sequencing is CPU-only, so routes of several trips are sequenced
+ * in parallel by {@link #sequenceAll(List, Function)}.
+ * <p>
+ * Instances are immutable and thread-safe.
+ */
+public final class RouteSequencer {
+
+    /**
+     * Default average driving speed between stops.
+     */
+    public static final double DEFAULT_SPEED_KMH = 25;
+
+    /**
+     * Default time spent at each stop.
+     */
+    public static final Duration DEFAULT_STOP_TIME = Duration.ofMinutes(3);
+
+    /**
+     * Ratio between road and great-circle distance assumed in urban areas.
+     */
+    public static final double ROAD_FACTOR = 1.3;
+
+    private static final int MAX_SEGMENT = 3;
+    private static final int NEIGHBOURS = 10;
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final int MAX_ROUNDS = 100;
+    private static final double EPSILON = 1e-9;
+    private static final double SECONDS_PER_HOUR = 3600;
+
+    private final double speedKmh;
+    private final Duration stopTime;
+
+    /**
+     * Constructs a sequencer with the default speed and stop time.
+     */
+    public RouteSequencer() {
+        this(DEFAULT_SPEED_KMH, DEFAULT_STOP_TIME);
+    }
+
+    /**
+     * Constructs a sequencer.
+     *
+     * @param speedKmh the average driving speed between stops, must be positive
+     * @param stopTime the time spent at each stop, must not be negative
+     * @throws IllegalArgumentException if a parameter is out of range
+     */
+    public RouteSequencer(final double speedKmh, final Duration stopTime) {
+        if (!(speedKmh > 0)) {
+            throw new IllegalArgumentException("Speed must be positive");
+        }
+        if (stopTime == null || stopTime.isNegative()) {
+            throw new IllegalArgumentException("Stop time must not be negative");
+        }
+        this.speedKmh = speedKmh;
+        this.stopTime = stopTime;
+    }
+
+    /**
+     * Orders the given stops.
+     *
+     * @param stops the stops to visit
+     * @param position the coordinates of a stop, or null if unknown
+     * @param <T> the type of the stops
+     * @return the stops in visiting order, with the estimated distance and duration
+     */
+    public <T> RouteSequence<T> sequence(final List<T> stops,
+                                         final Function<? super T, GeoPoint> position) {
+        List<T> placed = new ArrayList<>(stops.size());
+        List<GeoPoint> points = new ArrayList<>(stops.size());
+        List<T> unplaced = new ArrayList<>();
+        for (T stop : stops) {
+            GeoPoint point = position.apply(stop);
+            if (point == null) {
+                unplaced.add(stop);
+            } else {
+                placed.add(stop);
+                points.add(point);
+            }
+        }
+
+        double[][] distances = distanceMatrix(points);
+        int[][] neighbours = nearestNeighbours(distances);
+        int[] path = nearestNeighbour(points, distances);
+        for (int round = 0; round < MAX_ROUNDS; round++) {
+            boolean improved = twoOpt(path, distances);
+            if (!orOpt(path, distances, neighbours) && !improved) {
+                break;
+            }
+        }
+
+        List<T> ordered = new ArrayList<>(stops.size());
+        double distanceKm = 0;
+        for (int i = 0; i < path.length; i++) {
+            ordered.add(placed.get(path[i]));
+            if (i > 0) {
+                distanceKm += distances[path[i - 1]][path[i]];
+            }
+        }
+        ordered.addAll(unplaced);
+        distanceKm *= ROAD_FACTOR;
+        Duration duration = Duration.ofSeconds(
+                        Math.round(distanceKm / speedKmh * SECONDS_PER_HOUR))
+                .plus(stopTime.multipliedBy(stops.size()));
+        return new RouteSequence<>(ordered, unplaced.size(), distanceKm, duration);
+    }
+
+    /**
+     * Orders the stops of several routes in parallel.
+     *
+     * @param routes the stops of each route
+     * @param position the coordinates of a stop, or null if unknown
+     * @param <T> the type of the stops
+     * @return the sequence of each route, in the same order as the routes
+     */
+    public <T> List<RouteSequence<T>> sequenceAll(
+            final List<? extends List<T>> routes,
+            final Function<? super T, GeoPoint> position) {
+        return routes.parallelStream()
+                .map(route -> sequence(route, position))
+                .toList();
+    }
+
+    /**
+     * Computes the great-circle distances between all points from the chords
+     * between their unit vectors, which is equivalent to the haversine formula but
+     * needs no trigonometry per pair.
+     */
+    private static double[][] distanceMatrix(final List<GeoPoint> points) {
+        int n = points.size();
+        double[][] vectors = new double[n][];
+        for (int i = 0; i < n; i++) {
+            double lat = Math.toRadians(points.get(i).getLatitude());
+            double lon = Math.toRadians(points.get(i).getLongitude());
+            vectors[i] = new double[] {Math.cos(lat) * Math.cos(lon),
+                    Math.cos(lat) * Math.sin(lon), Math.sin(lat)};
+        }
+        double[][] distances = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double dx = vectors[i][0] - vectors[j][0];
+                double dy = vectors[i][1] - vectors[j][1];
+                double dz = vectors[i][2] - vectors[j][2];
+                double chord = Math.sqrt(dx * dx + dy * dy + dz * dz);
+                double d = 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, chord / 2));
+                distances[i][j] = d;
+                distances[j][i] = d;
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * Lists, for every point, the {@link #NEIGHBOURS} points closest to it.
+     */
+    private static int[][] nearestNeighbours(final double[][] distances) {
+        int n = distances.length;
+        int k = Math.max(0, Math.min(NEIGHBOURS, n - 1));
+        int[][] neighbours = new int[n][k];
+        for (int i = 0; i < n; i++) {
+            int[] nearest = neighbours[i];
+            int count = 0;
+            for (int j = 0; j < n; j++) {
+                if (j == i || count == k
+                        && distances[i][j] >= distances[i][nearest[k - 1]]) {
+                    continue;
+                }
+                int at = count < k ? count++ : k - 1;
+                while (at > 0 && distances[i][nearest[at - 1]] > distances[i][j]) {
+                    nearest[at] = nearest[at - 1];
+                    at--;
+                }
+                nearest[at] = j;
+            }
+        }
+        return neighbours;
+    }
+
+    private static int[] nearestNeighbour(final List<GeoPoint> points,
+                                          final double[][] distances) {
+        int n = points.size();
+        int[] path = new int[n];
+        if (n == 0) {
+            return path;
+        }
+        boolean[] visited = new boolean[n];
+        int current = farthestFromCentre(points);
+        for (int k = 0; k < n; k++) {
+            path[k] = current;
+            visited[current] = true;
+            int next = -1;
+            for (int j = 0; j < n; j++) {
+                if (!visited[j] && (next < 0
+                        || distances[current][j] < distances[current][next])) {
+                    next = j;
+                }
+            }
+            current = next;
+        }
+        return path;
+    }
+
+    private static int farthestFromCentre(final List<GeoPoint> points) {
+        double latitude = 0;
+        double longitude = 0;
+        for (GeoPoint point : points) {
+            latitude += point.getLatitude();
+            longitude += point.getLongitude();
+        }
+        GeoPoint centre = new GeoPoint(latitude / points.size(),
+                longitude / points.size());
+        int farthest = 0;
+        double max = -1;
+        for (int i = 0; i < points.size(); i++) {
+            double d = centre.distanceKm(points.get(i));
+            if (d > max) {
+                max = d;
+                farthest = i;
+            }
+        }
+        return farthest;
+    }
+
+    /**
+     * Reverses every part of the path whose reversal shortens it.
+     */
+    private static boolean twoOpt(final int[] path, final double[][] d) {
+        int n = path.length;
+        boolean improved = false;
+        for (int i = 0; i < n - 1; i++) {
+            for (int k = i + 1; k < n; k++) {
+                if (i == 0 && k == n - 1) {
+                    continue;
+                }
+                double delta = 0;
+                if (i > 0) {
+                    delta += d[path[i - 1]][path[k]] - d[path[i - 1]][path[i]];
+                }
+                if (k < n - 1) {
+                    delta += d[path[i]][path[k + 1]] - d[path[k]][path[k + 1]];
+                }
+                if (delta < -EPSILON) {
+                    reverse(path, i, k);
+                    improved = true;
+                }
+            }
+        }
+        return improved;
+    }
+
+    /**
+     * Moves every segment of up to {@link #MAX_SEGMENT} stops, possibly reversed,
+     * to the position next to one of the nearest neighbours of its ends where it
+     * shortens the path the most.
+     */
+    private static boolean orOpt(final int[] path, final double[][] d,
+                                 final int[][] neighbours) {
+        int n = path.length;
+        boolean improved = false;
+        int[] scratch = new int[n];
+        int[] position = new int[n];
+        indexPositions(path, position);
+        for (int len = 1; len <= MAX_SEGMENT && len < n; len++) {
+            for (int i = 0; i + len <= n; i++) {
+                int first = path[i];
+                int last = path[i + len - 1];
+                int prev = i > 0 ? path[i - 1] : -1;
+                int next = i + len < n ? path[i + len] : -1;
+                double removed = edge(d, prev, first) + edge(d, last, next)
+                        - edge(d, prev, next);
+                if (removed <= EPSILON) {
+                    continue;
+                }
+                double best = -EPSILON;
+                int bestAfter = 0;
+                boolean bestReversed = false;
+                for (int end : new int[] {first, last}) {
+                    for (int neighbour : neighbours[end]) {
+                        // insert the segment just after or just before the neighbour
+                        for (int after = position[neighbour] - 1;
+                             after <= position[neighbour]; after++) {
+                            if (after >= i - 1 && after < i + len) {
+                                continue;
+                            }
+                            int a = after >= 0 ? path[after] : -1;
+                            int b = after + 1 < n ? path[after + 1] : -1;
+                            double kept = edge(d, a, b);
+                            double forward = edge(d, a, first) + edge(d, last, b) - kept;
+                            double backward =
+                                    edge(d, a, last) + edge(d, first, b) - kept;
+                            double gain = Math.min(forward, backward) - removed;
+                            if (gain < best) {
+                                best = gain;
+                                bestAfter = after;
+                                bestReversed = backward < forward;
+                            }
+                        }
+                    }
+                }
+                if (best < -EPSILON) {
+                    relocate(path, scratch, i, len, bestAfter, bestReversed);
+                    indexPositions(path, position);
+                    improved = true;
+                }
+            }
+        }
+        return improved;
+    }
+
+    private static void indexPositions(final int[] path, final int[] position) {
+        for (int i = 0; i < path.length; i++) {
+            position[path[i]] = i;
+        }
+    }
+
+    private static double edge(final double[][] d, final int from, final int to) {
+        return from < 0 || to < 0 ? 0 : d[from][to];
+    }
+
+    private static void reverse(final int[] path, final int from, final int to) {
+        for (int i = from, j = to; i < j; i++, j--) {
+            int tmp = path[i];
+            path[i] = path[j];
+            path[j] = tmp;
+        }
+    }
+
+    private static void relocate(final int[] path, final int[] scratch, final int from,
+                                 final int len, final int after,
+                                 final boolean reversed) {
+        int k = 0;
+        if (after < 0) {
+            k = copySegment(path, scratch, k, from, len, reversed);
+        }
+        for (int i = 0; i < path.length; i++) {
+            if (i >= from && i < from + len) {
+                continue;
+            }
+            scratch[k++] = path[i];
+            if (i == after) {
+                k = copySegment(path, scratch, k, from, len, reversed);
+            }
+        }
+        System.arraycopy(scratch, 0, path, 0, path.length);
+    }
+
+    private static int copySegment(final int[] path, final int[] target, final int at,
+                                   final int from, final int len,
+                                   final boolean reversed) {
+        for (int j = 0; j < len; j++) {
+            target[at + j] = path[reversed ? from + len - 1 - j : from + j];
+        }
+        return at + len;
+    }
+}
@@ -1,6 +1,9 @@
 package it.unibo.wastemaster.domain.service;
 
 import it.unibo.wastemaster.domain.model.Schedule;
+import it.unibo.wastemaster.domain.repository.Page;
+import it.unibo.wastemaster.domain.repository.PageRequest;
+import it.unibo.wastemaster.domain.repository.Projection;
 import it.unibo.wastemaster.domain.repository.ScheduleRepository;
 import java.util.List;
 
@@ -28,4 +31,28 @@ public class ScheduleManager {
     public List<Schedule> findAllSchedule() {
         return scheduleRepository.findAll();
     }
+
+    /**
+     * Retrieves one page of schedules.
+     *
+     * @param request the page to retrieve, with its filters, search and sort
+     * @return the requested page of schedules
+     */
+    public Page<Schedule> getSchedulePage(final PageRequest request) {
+        return scheduleRepository.findPage(request);
+    }
+
+    /**
+     * Retrieves one page of read-only rows for schedules, reading only the
+     * attributes selected by the projection.
+     *
+     * @param request the page to retrieve, with its filters, search and sort
+     * @param projection the attributes to read and the row built from them
+     * @param <R> the type of the rows
+     * @return the requested page of rows
+     */
+    public <R> Page<R> getSchedulePage(final PageRequest request,
+                                       final Projection<R> projection) {
+        return scheduleRepository.findPage(request, projection);
+    }
 }
@@ -0,0 +1,206 @@
+package it.unibo.wastemaster.domain.service;
+
+import it.unibo.wastemaster.domain.model.RecurringSchedule;
+import it.unibo.wastemaster.infrastructure.utils.UnitOfWork;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Background job keeping recurring schedules current without anybody opening a
+ * screen.
+ * <p>
+ * Each run first rolls over the active schedules whose next collection date has
+ * passed, then tops up the collections of the schedules whose generated occurrences
+ * no longer reach the end of the collection horizon.
+ * Schedules are read in chunks with keyset pagination on their id, each chunk in
+ * its own transaction and written with batched updates and inserts. A processed
+ * schedule no longer matches either query, so an interrupted run is simply
+ * completed by the next one. A failing chunk is rolled back, stops its phase for
+ * the current run and is retried on the next.
+ * <p>
+ * Every workstation runs the job. The schedules of a chunk stay locked in the
+ * database until its transaction ends, so a workstation reaching them at the same
+ * time waits, then finds them processed and skips them instead of generating their
+ * collections twice.
+ * <p>
+ * When started, the job runs once immediately and then periodically on a daemon
+ * thread, never on the JavaFX application thread.
+ */
+public final class ScheduleRolloverJob {
+
+    /**
+     * Default number of schedules processed per chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 100;
+
+    /**
+     * Default delay between the end of a run and the start of the next one.
+     */
+    public static final Duration DEFAULT_PERIOD = Duration.ofHours(1);
+
+    private static final long STOP_TIMEOUT_SECONDS = 5;
+
+    private static final Logger LOGGER =
+            Logger.getLogger(ScheduleRolloverJob.class.getName());
+
+    private final RecurringScheduleManager recurringScheduleManager;
+    private final int chunkSize;
+    private final Consumer<RolloverProgress> listener;
+    private final Object runLock = new Object();
+    private ScheduledExecutorService executor;
+    private volatile RolloverProgress lastProgress = RolloverProgress.started();
+
+    /**
+     * Constructs a job processing {@link #DEFAULT_CHUNK_SIZE} schedules per chunk
+     * and logging the outcome of each run.
+     *
+     * @param recurringScheduleManager the manager rolling schedules over
+     */
+    public ScheduleRolloverJob(final RecurringScheduleManager recurringScheduleManager) {
+        this(recurringScheduleManager, DEFAULT_CHUNK_SIZE, ScheduleRolloverJob::log);
+    }
+
+    /**
+     * Constructs a job.
+     *
+     * @param recurringScheduleManager the manager rolling schedules over
+     * @param chunkSize the number of schedules processed per chunk, must be positive
+     * @param listener notified with the progress after every chunk and at the end of
+     * each run, on the thread running the job
+     * @throws IllegalArgumentException if chunkSize is not positive
+     */
+    public ScheduleRolloverJob(final RecurringScheduleManager recurringScheduleManager,
+                               final int chunkSize,
+                               final Consumer<RolloverProgress> listener) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.recurringScheduleManager = recurringScheduleManager;
+        this.chunkSize = chunkSize;
+        this.listener = listener;
+    }
+
+    /**
+     * Starts running the job now and then with the given delay between runs. Does
+     * nothing if the job is already started.
+     *
+     * @param period the delay between the end of a run and the start of the next
+     */
+    public synchronized void start(final Duration period) {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "schedule-rollover");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::runSafely, 0, period.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic runs, interrupting the current one after its chunk and
+     * waiting briefly for it to end. Chunks already written are kept; the rest is
+     * processed when the job is started again.
+     */
+    public synchronized void stop() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+    }
+
+    /**
+     * Runs the job once on the calling thread, waiting for a run in progress on
+     * another thread to complete first.
+     *
+     * @param today the reference day, schedules due before it are overdue
+     * @return the progress of the completed run
+     */
+    public RolloverProgress run(final LocalDate today) {
+        synchronized (runLock) {
+            RolloverProgress progress = RolloverProgress.started();
+            publish(progress);
+            progress = processInChunks(progress, afterId -> recurringScheduleManager
+                    .rollOverOverdueSchedules(today, afterId, chunkSize),
+                    RolloverProgress::addRolledOver);
+            progress = processInChunks(progress, afterId -> recurringScheduleManager
+                    .topUpCollections(today, afterId, chunkSize),
+                    RolloverProgress::addToppedUp);
+            progress = progress.finish();
+            publish(progress);
+            return progress;
+        }
+    }
+
+    /**
+     * Gets the progress of the current run, or of the last one if none is running.
+     *
+     * @return the latest progress
+     */
+    public RolloverProgress getLastProgress() {
+        return lastProgress;
+    }
+
+    private RolloverProgress processInChunks(
+            final RolloverProgress initial,
+            final IntFunction<List<RecurringSchedule>> chunk,
+            final BiFunction<RolloverProgress, Integer, RolloverProgress> count) {
+        RolloverProgress progress = initial;
+        int afterId = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            final int from = afterId;
+            List<RecurringSchedule> processed;
+            try {
+                processed = UnitOfWork.call(() -> chunk.apply(from));
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Schedule rollover chunk failed", e);
+                progress = progress.addFailedChunk();
+                publish(progress);
+                return progress;
+            }
+            if (processed.isEmpty()) {
+                return progress;
+            }
+            progress = count.apply(progress, processed.size());
+            publish(progress);
+            afterId = processed.get(processed.size() - 1).getScheduleId();
+        }
+        return progress;
+    }
+
+    private void runSafely() {
+        try {
+            run(LocalDate.now());
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Schedule rollover failed", e);
+        }
+    }
+
+    private void publish(final RolloverProgress progress) {
+        lastProgress = progress;
+        listener.accept(progress);
+    }
+
+    private static void log(final RolloverProgress progress) {
+        if (progress.isDone()) {
+            LOGGER.info(() -> "Schedule rollover: " + progress);
+        }
+    }
+}
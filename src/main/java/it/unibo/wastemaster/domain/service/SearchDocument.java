@@ -0,0 +1,201 @@
+package it.unibo.wastemaster.domain.service;
+
+import it.unibo.wastemaster.domain.model.Employee.Role;
+import it.unibo.wastemaster.domain.model.Invoice.PaymentStatus;
+import it.unibo.wastemaster.domain.model.Money;
+import it.unibo.wastemaster.domain.model.Trip.TripStatus;
+import it.unibo.wastemaster.domain.model.Vehicle.VehicleStatus;
+import it.unibo.wastemaster.domain.repository.ProjectedRow;
+import it.unibo.wastemaster.domain.repository.Projection;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Searchable text of one entity in the {@link GlobalSearchIndex}: a title naming
+ * it, such as the name of a customer or the plate of a vehicle, and a detail line
+ * with the other fields worth finding it by, such as its address.
+ * <p>
+ * The projections of this class read the documents of the entities searched
+ * across the application, the address of customers and employees included.
+ */
+public final class SearchDocument {
+
+    /**
+     * Projection reading the document of a customer.
+     */
+    public static final Projection<SearchDocument> CUSTOMER = Projection.of(columns -> {
+        var id = columns.add("customerId", Integer.class);
+        var name = columns.add("name", String.class);
+        var surname = columns.add("surname", String.class);
+        var email = columns.add("email", String.class);
+        var phone = columns.add("phone", String.class);
+        var address = new Address(columns, "location.");
+        return values -> new SearchDocument(values.get(id),
+                values.get(name) + " " + values.get(surname),
+                join(values.get(email), values.get(phone), address.format(values)));
+    });
+
+    /**
+     * Projection reading the document of an employee.
+     */
+    public static final Projection<SearchDocument> EMPLOYEE = Projection.of(columns -> {
+        var id = columns.add("employeeId", Integer.class);
+        var name = columns.add("name", String.class);
+        var surname = columns.add("surname", String.class);
+        var role = columns.add("role", Role.class);
+        var email = columns.add("email", String.class);
+        var phone = columns.add("phone", String.class);
+        var address = new Address(columns, "location.");
+        return values -> new SearchDocument(values.get(id),
+                values.get(name) + " " + values.get(surname),
+                join(values.get(role), values.get(email), values.get(phone),
+                        address.format(values)));
+    });
+
+    /**
+     * Projection reading the document of a vehicle.
+     */
+    public static final Projection<SearchDocument> VEHICLE = Projection.of(columns -> {
+        var id = columns.add("vehicleId", Integer.class);
+        var plate = columns.add("plate", String.class);
+        var brand = columns.add("brand", String.class);
+        var model = columns.add("model", String.class);
+        var status = columns.add("vehicleStatus", VehicleStatus.class);
+        return values -> new SearchDocument(values.get(id), values.get(plate),
+                join(values.get(brand), values.get(model), values.get(status)));
+    });
+
+    /**
+     * Projection reading the document of a trip.
+     */
+    public static final Projection<SearchDocument> TRIP = Projection.of(columns -> {
+        var id = columns.add("tripId", Integer.class);
+        var postalCode = columns.add("postalCode", String.class);
+        var plate = columns.add("assignedVehicle.plate", String.class);
+        var departureTime = columns.add("departureTime", LocalDateTime.class);
+        var status = columns.add("status", TripStatus.class);
+        var operatorNames = columns.addElement("operators.name", String.class);
+        var operatorSurnames = columns.addElement("operators.surname", String.class);
+        return values -> new SearchDocument(values.get(id), "Trip " + values.get(id),
+                join(values.get(postalCode), values.get(plate),
+                        formatTime(values.get(departureTime)),
+                        operators(values.getAll(operatorNames),
+                                values.getAll(operatorSurnames)),
+                        values.get(status)));
+    });
+
+    /**
+     * Projection reading the document of an invoice.
+     */
+    public static final Projection<SearchDocument> INVOICE = Projection.of(columns -> {
+        var id = columns.add("invoiceId", Integer.class);
+        var customerName = columns.add("customer.name", String.class);
+        var customerSurname = columns.add("customer.surname", String.class);
+        var amountCents = columns.add("amountCents", Long.class);
+        var status = columns.add("paymentStatus", PaymentStatus.class);
+        return values -> new SearchDocument(values.get(id),
+                "Invoice " + values.get(id),
+                join(values.get(customerName), values.get(customerSurname),
+                        Money.format(values.get(amountCents)), values.get(status)));
+    });
+
+    private static final String SEPARATOR = " · ";
+
+    private final int id;
+    private final String title;
+    private final String detail;
+
+    /**
+     * Constructs a document.
+     *
+     * @param id the id of the entity
+     * @param title the text naming the entity
+     * @param detail the other searchable text of the entity, may be empty
+     */
+    public SearchDocument(final int id, final String title, final String detail) {
+        this.id = id;
+        this.title = Objects.requireNonNull(title);
+        this.detail = Objects.requireNonNull(detail);
+    }
+
+    /**
+     * Gets the id of the entity.
+     *
+     * @return the entity id
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the text naming the entity.
+     *
+     * @return the title
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Gets the other searchable text of the entity.
+     *
+     * @return the detail, possibly empty
+     */
+    public String getDetail() {
+        return detail;
+    }
+
+    private static String join(final Object... parts) {
+        List<String> texts = new ArrayList<>();
+        for (Object part : parts) {
+            if (part != null && !part.toString().isBlank()) {
+                texts.add(part.toString());
+            }
+        }
+        return String.join(SEPARATOR, texts);
+    }
+
+    private static String operators(final List<String> names,
+                                    final List<String> surnames) {
+        List<String> operators = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            operators.add(names.get(i) + " " + surnames.get(i));
+        }
+        return String.join(", ", operators);
+    }
+
+    private static String formatTime(final LocalDateTime time) {
+        return time == null ? null
+                : time.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
+    }
+
+    /**
+     * Columns of an embedded location, formatted as a single address.
+     */
+    private static final class Address {
+
+        private final Projection.Column<String> street;
+        private final Projection.Column<String> civicNumber;
+        private final Projection.Column<String> city;
+        private final Projection.Column<String> postalCode;
+
+        private Address(final Projection.Columns columns, final String prefix) {
+            this.street = columns.add(prefix + "street", String.class);
+            this.civicNumber = columns.add(prefix + "civicNumber", String.class);
+            this.city = columns.add(prefix + "city", String.class);
+            this.postalCode = columns.add(prefix + "postalCode", String.class);
+        }
+
+        String format(final ProjectedRow values) {
+            String streetValue = values.get(street);
+            if (streetValue == null) {
+                return null;
+            }
+            return streetValue + " " + values.get(civicNumber) + ", "
+                    + values.get(city) + " " + values.get(postalCode);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package it.unibo.wastemaster.domain.service;
+
+/**
+ * Entity found by a search of the {@link GlobalSearchIndex}, with the text shown
+ * to the user to pick it.
+ */
+public final class SearchHit {
+
+    private final Class<?> entityType;
+    private final int entityId;
+    private final String title;
+    private final String detail;
+    private final double score;
+
+    /**
+     * Constructs a hit.
+     *
+     * @param entityType the class of the entity found
+     * @param document the document of the entity
+     * @param score the relevance of the entity to the search, higher first
+     */
+    public SearchHit(final Class<?> entityType, final SearchDocument document,
+                     final double score) {
+        this.entityType = entityType;
+        this.entityId = document.getId();
+        this.title = document.getTitle();
+        this.detail = document.getDetail();
+        this.score = score;
+    }
+
+    /**
+     * Gets the class of the entity found.
+     *
+     * @return the entity class
+     */
+    public Class<?> getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * Gets the id of the entity found.
+     *
+     * @return the entity id
+     */
+    public int getEntityId() {
+        return entityId;
+    }
+
+    /**
+     * Gets the text naming the entity.
+     *
+     * @return the title
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Gets the other searchable text of the entity.
+     *
+     * @return the detail, possibly empty
+     */
+    public String getDetail() {
+        return detail;
+    }
+
+    /**
+     * Gets the relevance of the entity to the search.
+     *
+     * @return the score, higher for better matches
+     */
+    public double getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SearchHit {%s #%d %s}", entityType.getSimpleName(),
+                entityId, title);
+    }
+}
@@ -0,0 +1,117 @@
+package it.unibo.wastemaster.domain.service;
+
+import it.unibo.wastemaster.domain.model.Schedule.ScheduleCategory;
+import it.unibo.wastemaster.domain.model.Tariff;
+import it.unibo.wastemaster.domain.repository.TariffRepository;
+import it.unibo.wastemaster.infrastructure.utils.ValidateUtils;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Manages the tariffs pricing the collections, and the {@link TariffTable}
+ * compiled from them that invoices are priced with.
+ * <p>
+ * The table is compiled on first use and recompiled after a tariff is added.
+ * Since other instances of the application may add tariffs too, it is also
+ * recompiled once it is older than its maximum age. All methods are thread-safe.
+ */
+public final class TariffManager {
+
+    /**
+     * Default time after which the table is recompiled from the database.
+     */
+    public static final Duration DEFAULT_MAX_AGE = Duration.ofMinutes(1);
+
+    private final TariffRepository tariffRepository;
+    private final Duration maxAge;
+    private final Clock clock;
+    private TariffTable table;
+    private Instant loadedAt;
+
+    /**
+     * Constructs a TariffManager recompiling its table every
+     * {@link #DEFAULT_MAX_AGE}.
+     *
+     * @param tariffRepository the repository used for tariff persistence
+     */
+    public TariffManager(final TariffRepository tariffRepository) {
+        this(tariffRepository, DEFAULT_MAX_AGE, Clock.systemUTC());
+    }
+
+    /**
+     * Constructs a TariffManager.
+     *
+     * @param tariffRepository the repository used for tariff persistence
+     * @param maxAge the time after which the table is recompiled
+     * @param clock the clock measuring the age of the table
+     */
+    public TariffManager(final TariffRepository tariffRepository,
+                         final Duration maxAge, final Clock clock) {
+        this.tariffRepository = tariffRepository;
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    /**
+     * Adds a new tariff after validation. It applies to the collections billed
+     * from now on, including those billed by other instances once their table is
+     * recompiled.
+     *
+     * @param tariff the tariff to add
+     * @return the saved tariff
+     * @throws IllegalArgumentException if the tariff is null or invalid, sets a
+     * frequency for one-time schedules, or ends before it starts
+     */
+    public Tariff addTariff(final Tariff tariff) {
+        ValidateUtils.requireArgNotNull(tariff, "Tariff cannot be null");
+        ValidateUtils.validateEntity(tariff);
+        if (tariff.getFrequency() != null
+                && tariff.getScheduleCategory() != ScheduleCategory.RECURRING) {
+            throw new IllegalArgumentException(
+                    "Only tariffs of recurring schedules can set a frequency");
+        }
+        if (tariff.getValidTo() != null
+                && !tariff.getValidTo().isAfter(tariff.getValidFrom())) {
+            throw new IllegalArgumentException(
+                    "The end date of the tariff must follow its start date");
+        }
+        tariffRepository.save(tariff);
+        invalidate();
+        return tariff;
+    }
+
+    /**
+     * Retrieves all tariffs.
+     *
+     * @return the list of all tariffs, in insertion order
+     */
+    public List<Tariff> getTariffs() {
+        return tariffRepository.findAll();
+    }
+
+    /**
+     * Returns the table compiled from all the tariffs, compiling it if it is
+     * missing or too old. The table does not change afterwards, so the invoices of
+     * a billing run can all be priced with the same one.
+     *
+     * @return the current tariff table
+     */
+    public synchronized TariffTable getTariffTable() {
+        Instant now = clock.instant();
+        if (table == null || !loadedAt.plus(maxAge).isAfter(now)) {
+            table = TariffTable.compile(tariffRepository.findAll());
+            loadedAt = now;
+        }
+        return table;
+    }
+
+    /**
+     * Discards the table, so that it is recompiled on next use.
+     */
+    public synchronized void invalidate() {
+        table = null;
+        loadedAt = null;
+    }
+}
@@ -0,0 +1,171 @@
+package it.unibo.wastemaster.domain.service;
+
+import it.unibo.wastemaster.domain.model.Customer.CustomerCategory;
+import it.unibo.wastemaster.domain.model.RecurringSchedule.Frequency;
+import it.unibo.wastemaster.domain.model.Schedule.ScheduleCategory;
+import it.unibo.wastemaster.domain.model.Tariff;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Immutable lookup of the tariff applying to a collection, compiled from all the
+ * tariffs so that pricing an invoice does not query the database.
+ * <p>
+ * Tariffs are grouped by the restrictions they set, and each group is indexed by
+ * start date. A collection is priced by the most specific group that has a tariff
+ * valid on its date: a tariff for the waste type wins over one for the customer
+ * category, which wins over one for the frequency, and any restriction wins over
+ * none. Within a group the tariff started last among those valid on the date
+ * applies, so once a tariff limited in time, such as a promotion, is over, the
+ * open-ended tariff it overlapped applies again.
+ * <p>
+ * A table is never changed once compiled, so it can be read by any number of
+ * threads.
+ */
+public final class TariffTable {
+
+    private static final int WASTE = 4;
+    private static final int CUSTOMER = 2;
+    private static final int FREQUENCY = 1;
+
+    private static final TariffTable EMPTY = new TariffTable(Map.of(), new int[0]);
+
+    private final Map<Key, NavigableMap<LocalDate, Tariff>> tariffs;
+    private final int[] masks;
+
+    private TariffTable(final Map<Key, NavigableMap<LocalDate, Tariff>> tariffs,
+                        final int[] masks) {
+        this.tariffs = tariffs;
+        this.masks = masks;
+    }
+
+    /**
+     * Returns a table without tariffs.
+     *
+     * @return the empty table
+     */
+    public static TariffTable empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Compiles a table from the given tariffs. Of two tariffs with the same
+     * restrictions and start date, the later in the list is kept.
+     *
+     * @param tariffs the tariffs, with their waste loaded
+     * @return the compiled table
+     */
+    public static TariffTable compile(final List<Tariff> tariffs) {
+        if (tariffs.isEmpty()) {
+            return EMPTY;
+        }
+        Map<Key, NavigableMap<LocalDate, Tariff>> byKey = new HashMap<>();
+        boolean[] used = new boolean[WASTE + CUSTOMER + FREQUENCY + 1];
+        for (Tariff tariff : tariffs) {
+            Integer wasteId = tariff.getWaste() != null
+                    ? tariff.getWaste().getWasteId() : null;
+            Key key = new Key(tariff.getScheduleCategory(), wasteId,
+                    tariff.getCustomerCategory(), tariff.getFrequency());
+            byKey.computeIfAbsent(key, k -> new TreeMap<>())
+                    .put(tariff.getValidFrom(), tariff);
+            used[(wasteId != null ? WASTE : 0)
+                    | (tariff.getCustomerCategory() != null ? CUSTOMER : 0)
+                    | (tariff.getFrequency() != null ? FREQUENCY : 0)] = true;
+        }
+        List<Integer> masks = new ArrayList<>();
+        for (int mask = used.length - 1; mask >= 0; mask--) {
+            if (used[mask]) {
+                masks.add(mask);
+            }
+        }
+        byKey.replaceAll((key, byDate) -> Collections.unmodifiableNavigableMap(byDate));
+        return new TariffTable(Map.copyOf(byKey),
+                masks.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Finds the tariff applying to a collection.
+     *
+     * @param scheduleCategory the category of the schedule of the collection
+     * @param wasteId the id of the waste collected
+     * @param customerCategory the category of the customer
+     * @param frequency the frequency of the schedule, or null if it does not recur
+     * @param date the date of the collection
+     * @return the tariff, or null if no tariff applies
+     */
+    public Tariff find(final ScheduleCategory scheduleCategory, final Integer wasteId,
+                       final CustomerCategory customerCategory,
+                       final Frequency frequency, final LocalDate date) {
+        for (int mask : masks) {
+            NavigableMap<LocalDate, Tariff> byDate = tariffs.get(new Key(
+                    scheduleCategory,
+                    (mask & WASTE) != 0 ? wasteId : null,
+                    (mask & CUSTOMER) != 0 ? customerCategory : null,
+                    (mask & FREQUENCY) != 0 ? frequency : null));
+            if (byDate == null) {
+                continue;
+            }
+            for (Tariff tariff : byDate.headMap(date, true).descendingMap().values()) {
+                if (tariff.isValidOn(date)) {
+                    return tariff;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the number of tariffs in the table.
+     *
+     * @return the number of tariffs
+     */
+    public int size() {
+        return tariffs.values().stream().mapToInt(Map::size).sum();
+    }
+
+    /**
+     * The restrictions set by a group of tariffs.
+     */
+    private static final class Key {
+
+        private final ScheduleCategory scheduleCategory;
+        private final Integer wasteId;
+        private final CustomerCategory customerCategory;
+        private final Frequency frequency;
+
+        private Key(final ScheduleCategory scheduleCategory, final Integer wasteId,
+                    final CustomerCategory customerCategory,
+                    final Frequency frequency) {
+            this.scheduleCategory = scheduleCategory;
+            this.wasteId = wasteId;
+            this.customerCategory = customerCategory;
+            this.frequency = frequency;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return scheduleCategory == other.scheduleCategory
+                    && Objects.equals(wasteId, other.wasteId)
+                    && customerCategory == other.customerCategory
+                    && frequency == other.frequency;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(scheduleCategory, wasteId, customerCategory, frequency);
+        }
+    }
+}
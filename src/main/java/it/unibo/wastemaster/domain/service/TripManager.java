@@ -3,22 +3,35 @@ package it.unibo.wastemaster.domain.service;
 import static it.unibo.wastemaster.domain.model.Employee.Role.ADMINISTRATOR;
 import static it.unibo.wastemaster.domain.model.Employee.Role.OFFICE_WORKER;
 
+import it.unibo.wastemaster.domain.event.DomainEvent;
+import it.unibo.wastemaster.domain.event.DomainEventBus;
 import it.unibo.wastemaster.domain.model.Collection;
+import it.unibo.wastemaster.domain.model.Collection.CollectionStatus;
 import it.unibo.wastemaster.domain.model.Customer;
 import it.unibo.wastemaster.domain.model.Employee;
 import it.unibo.wastemaster.domain.model.Employee.Licence;
+import it.unibo.wastemaster.domain.model.GeoPoint;
 import it.unibo.wastemaster.domain.model.Trip;
 import it.unibo.wastemaster.domain.model.Trip.TripStatus;
 import it.unibo.wastemaster.domain.model.Vehicle;
 import it.unibo.wastemaster.domain.repository.CollectionRepository;
+import it.unibo.wastemaster.domain.repository.Page;
+import it.unibo.wastemaster.domain.repository.PageRequest;
+import it.unibo.wastemaster.domain.repository.Projection;
+import it.unibo.wastemaster.domain.repository.StopLocation;
 import it.unibo.wastemaster.domain.repository.TripRepository;
+import it.unibo.wastemaster.infrastructure.geo.CentroidTable;
+import it.unibo.wastemaster.infrastructure.utils.TransactionHelper;
 import it.unibo.wastemaster.infrastructure.utils.ValidateUtils;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Manages the creation, update, retrieval, and deletion of trips.
@@ -28,7 +41,12 @@ public final class TripManager {
     private final TripRepository tripRepository;
     private final CollectionRepository collectionRepository;
     private final RecurringScheduleManager recurringScheduleManager;
+    private final AvailabilityIndex availabilityIndex;
+    private final RouteSequencer routeSequencer = new RouteSequencer();
+    private final CentroidTable centroids = CentroidTable.getDefault();
     private NotificationService notificationService;
+    private DomainEventBus eventBus = new DomainEventBus();
+    private Runnable remoteChangesSubscription = () -> { };
 
     /**
      * Constructs a TripManager with the given repositories and managers.
@@ -43,10 +61,32 @@ public final class TripManager {
         this.tripRepository = tripRepository;
         this.collectionRepository = collectionRepository;
         this.recurringScheduleManager = recurringScheduleManager;
+        this.availabilityIndex =
+                new AvailabilityIndex(tripRepository::findActiveTripSlots);
+    }
+
+    /**
+     * Sets the bus on which the changes made by this manager are published. The
+     * availability index is discarded whenever the bus reports trips written by
+     * another instance of the application.
+     *
+     * @param eventBus the event bus
+     */
+    public void setEventBus(final DomainEventBus eventBus) {
+        remoteChangesSubscription.run();
+        this.eventBus = eventBus;
+        remoteChangesSubscription = eventBus.subscribe(Trip.class, event -> {
+            if (event.getType() == DomainEvent.Type.CHANGED_REMOTELY) {
+                availabilityIndex.invalidate();
+            }
+        });
     }
 
     /**
      * Creates a new trip with the specified parameters and associates collections to it.
+     * The collections are assigned their stop sequence by the {@link RouteSequencer}.
+     * The trip and its collections are saved in one transaction, after checking in
+     * the database that the vehicle and operators are still free.
      *
      * @param postalCode the postal code for the trip
      * @param assignedVehicle the vehicle assigned to the trip
@@ -54,6 +94,8 @@ public final class TripManager {
      * @param departureTime the departure time of the trip
      * @param expectedReturnTime the expected return time of the trip
      * @param collections the collections to associate with the trip
+     * @throws IllegalArgumentException if the vehicle or an operator is busy with
+     * another active trip in the meantime
      */
     public void createTrip(final String postalCode, final Vehicle assignedVehicle,
                            final List<Employee> operators,
@@ -64,17 +106,51 @@ public final class TripManager {
         Trip trip = new Trip(postalCode, assignedVehicle, operators, departureTime,
                 expectedReturnTime,
                 new ArrayList<>());
-        tripRepository.save(trip);
+        List<Collection> ordered = sequenceStops(List.of(collections)).get(0).getStops();
+        saveBooked(List.of(trip), () -> {
+            tripRepository.save(trip);
+            for (Collection collection : ordered) {
+                collection.setTrip(trip);
+                collectionRepository.save(collection);
+            }
+        });
+        trip.getCollections().addAll(ordered);
+        availabilityIndex.put(trip);
+        eventBus.publish(DomainEvent.Type.ADDED, Trip.class, trip.getTripId());
+    }
 
-        for (Collection collection : collections) {
-            collection.setTrip(trip);
-            collectionRepository.save(collection);
-            trip.getCollections().add(collection);
+    /**
+     * Creates all the given trips, typically the ones of a {@link TripPlan}, and
+     * assigns them their collections in a single transaction. Every trip must come
+     * with its vehicle, operators and collections; the collections of all trips are
+     * sequenced in parallel before saving. Nothing is saved if the vehicle or an
+     * operator of some trip turns out in the database to be busy with another trip.
+     *
+     * @param trips the trips to create
+     * @throws IllegalArgumentException if trips is null, or if a vehicle or an
+     * operator is busy with another active trip in the meantime
+     */
+    public void createTrips(final List<Trip> trips) {
+        ValidateUtils.requireArgNotNull(trips, "Trips cannot be null");
+        if (trips.isEmpty()) {
+            return;
+        }
+        List<RouteSequence<Collection>> routes = sequenceStops(
+                trips.stream().map(Trip::getCollections).toList());
+        for (int i = 0; i < trips.size(); i++) {
+            trips.get(i).setCollections(new ArrayList<>(routes.get(i).getStops()));
+        }
+        saveBooked(trips, () -> tripRepository.saveAllWithCollections(trips));
+        for (Trip trip : trips) {
+            availabilityIndex.put(trip);
+            eventBus.publish(DomainEvent.Type.ADDED, Trip.class, trip.getTripId());
         }
     }
 
     /**
      * Retrieves the list of vehicles available between the specified start and end times.
+     * Vehicles busy with another active trip are filtered out through the
+     * availability index instead of a query per call.
      *
      * @param start the start time
      * @param end the end time
@@ -82,7 +158,10 @@ public final class TripManager {
      */
     public List<Vehicle> getAvailableVehicles(final LocalDateTime start,
                                               final LocalDateTime end) {
-        return tripRepository.findAvailableVehicles(start, end);
+        Set<Integer> busy = availabilityIndex.findBusyVehicles(start, end, null);
+        return tripRepository.findVehiclesInService(end.toLocalDate()).stream()
+                .filter(v -> !busy.contains(v.getVehicleId()))
+                .toList();
     }
 
     /**
@@ -97,7 +176,10 @@ public final class TripManager {
     public List<Employee> getAvailableOperatorsExcludeDriver(final LocalDateTime start,
                                                              final LocalDateTime end,
                                                              final Employee driver) {
-        return tripRepository.findAvailableOperatorsExcludeDriver(start, end, driver);
+        return findFreeOperators(start, end, null).stream()
+                .filter(e -> driver == null
+                        || !e.getEmployeeId().equals(driver.getEmployeeId()))
+                .toList();
     }
 
     /**
@@ -112,11 +194,14 @@ public final class TripManager {
     public List<Employee> getQualifiedDrivers(final LocalDateTime start,
                                               final LocalDateTime end,
                                               final List<Licence> allowedLicences) {
-        return tripRepository.findQualifiedDrivers(start, end, allowedLicences);
+        return findFreeOperators(start, end, null).stream()
+                .filter(e -> allowedLicences.contains(e.getLicence()))
+                .toList();
     }
 
     /**
-     * Retrieves a trip by its unique identifier.
+     * Retrieves a trip by its unique identifier, with its vehicle, operators and
+     * collections loaded, as needed by the other trip actions.
      *
      * @param tripId the unique identifier of the trip
      * @return an Optional containing the trip if found, or empty if not found
@@ -136,12 +221,35 @@ public final class TripManager {
 
     /**
      * Soft deletes (cancels) the specified trip if it is ACTIVE.
-     * Sets the trip status to CANCELED and updates related collections.
+     * Sets the trip status to CANCELED and removes its collections from it, in a
+     * single transaction.
      *
      * @param trip the trip to cancel
      * @return true if the trip was successfully canceled, false otherwise
      */
     public boolean softDeleteTrip(final Trip trip) {
+        return cancelTrip(trip, false);
+    }
+
+    /**
+     * Soft deletes the trip, cancels its collections and reschedules, in one batch,
+     * the next collection of their recurring schedules. Everything is written in a
+     * single transaction.
+     *
+     * @param trip the trip to cancel and reschedule
+     * @return true if the trip was canceled and rescheduling succeeded, false otherwise
+     */
+    public boolean softDeleteAndRescheduleNextCollection(final Trip trip) {
+        return cancelTrip(trip, true);
+    }
+
+    /**
+     * Cancels the trip with a bulk update of its collections, optionally cancelling
+     * them too, so that the cost does not grow with the number of stops. The
+     * collections of the trip in memory are updated only once the transaction has
+     * committed.
+     */
+    private boolean cancelTrip(final Trip trip, final boolean cancelCollections) {
         try {
             ValidateUtils.requireArgNotNull(trip, "Trip cannot be null");
             ValidateUtils.requireArgNotNull(trip.getTripId(), "Trip ID cannot be null");
@@ -149,37 +257,54 @@ public final class TripManager {
             if (trip.getStatus() != TripStatus.ACTIVE) {
                 throw new IllegalArgumentException("Only ACTIVE trips can be canceled");
             }
-            trip.setStatus(TripStatus.CANCELED);
-            trip.setLastModified(LocalDateTime.now());
-            tripRepository.update(trip);
-            for (Collection c : trip.getCollections()) {
-                c.setTrip(null);
-                collectionRepository.update(c);
-            }
-            return true;
+            transition(trip, TripStatus.CANCELED, () -> {
+                if (cancelCollections) {
+                    collectionRepository.updateStatusByTrip(trip.getTripId(),
+                            CollectionStatus.ACTIVE, CollectionStatus.CANCELLED);
+                }
+                collectionRepository.detachFromTrip(trip.getTripId());
+                if (cancelCollections) {
+                    recurringScheduleManager.rescheduleNextCollections(
+                            trip.getCollections());
+                }
+            });
         } catch (IllegalArgumentException e) {
             return false;
         }
+        availabilityIndex.remove(trip.getTripId());
+        for (Collection c : trip.getCollections()) {
+            if (cancelCollections
+                    && c.getCollectionStatus() == CollectionStatus.ACTIVE) {
+                c.setCollectionStatus(CollectionStatus.CANCELLED);
+            }
+            c.setTrip(null);
+            c.setStopSequence(null);
+        }
+        eventBus.publish(DomainEvent.Type.UPDATED, Trip.class, trip.getTripId());
+        return true;
     }
 
     /**
-     * Soft deletes the trip and reschedules the next collection for each associated
-     * collection.
-     *
-     * @param trip the trip to cancel and reschedule
-     * @return true if the trip was canceled and rescheduling succeeded, false otherwise
+     * Runs the given writes on the collections of the trip and saves the new status
+     * of the trip, all in one transaction. The trip keeps its previous status if the
+     * transaction fails.
      */
-    public boolean softDeleteAndRescheduleNextCollection(final Trip trip) {
-        boolean deleted = softDeleteTrip(trip);
-        if (!deleted) {
-            return false;
-        }
-        for (Collection collection : trip.getCollections()) {
-            collection.setCollectionStatus(Collection.CollectionStatus.CANCELLED);
-            collectionRepository.update(collection);
-            recurringScheduleManager.rescheduleNextCollection(collection);
+    private void transition(final Trip trip, final TripStatus status,
+                            final Runnable collectionWrites) {
+        TripStatus previous = trip.getStatus();
+        LocalDateTime previousModified = trip.getLastModified();
+        try {
+            TransactionHelper.executeTransaction(() -> {
+                collectionWrites.run();
+                trip.setStatus(status);
+                trip.setLastModified(LocalDateTime.now());
+                tripRepository.update(trip);
+            });
+        } catch (RuntimeException e) {
+            trip.setStatus(previous);
+            trip.setLastModified(previousModified);
+            throw e;
         }
-        return true;
     }
 
     /**
@@ -196,8 +321,11 @@ public final class TripManager {
             final LocalDateTime depDateTime, final LocalDateTime retDateTime,
             final Employee selectedDriver,
             final Trip tripToEdit) {
-        return tripRepository.findAvailableOperatorsExcludeDriverToEdit(depDateTime,
-                retDateTime, selectedDriver, tripToEdit);
+        return findFreeOperators(depDateTime, retDateTime, tripToEdit.getTripId())
+                .stream()
+                .filter(e -> selectedDriver == null
+                        || !e.getEmployeeId().equals(selectedDriver.getEmployeeId()))
+                .toList();
     }
 
     /**
@@ -213,8 +341,10 @@ public final class TripManager {
                                                     final LocalDateTime retDateTime,
                                                     final List<Licence> allowedLicences,
                                                     final Trip tripToEdit) {
-        return tripRepository.findQualifiedDriversToEdit(depDateTime, retDateTime,
-                allowedLicences, tripToEdit);
+        return findFreeOperators(depDateTime, retDateTime, tripToEdit.getTripId())
+                .stream()
+                .filter(e -> allowedLicences.contains(e.getLicence()))
+                .toList();
     }
 
     /**
@@ -273,7 +403,10 @@ public final class TripManager {
 
     /**
      * Marks the specified trip as COMPLETED if all associated collections are ACTIVE.
-     * Sets all collections as COMPLETED and reschedules next collections if needed.
+     * Sets all collections as COMPLETED with a bulk update and reschedules, in one
+     * batch, the next collections of their recurring schedules. Everything is
+     * written in a single transaction, which is rolled back if some collection of
+     * the trip is no longer active in the database.
      *
      * @param trip the trip to mark as completed
      * @return true if the trip was successfully completed, false otherwise
@@ -288,24 +421,30 @@ public final class TripManager {
                         "Only ACTIVE trips can be set as COMPLETED");
             }
 
-            for (Collection c : trip.getCollections()) {
-                if (c.getCollectionStatus() != Collection.CollectionStatus.ACTIVE) {
+            List<Collection> collections = trip.getCollections();
+            if (collections.stream()
+                    .anyMatch(c -> c.getCollectionStatus() != CollectionStatus.ACTIVE)) {
+                throw new IllegalArgumentException(
+                        "All collections must be ACTIVE to complete the trip");
+            }
+            transition(trip, TripStatus.COMPLETED, () -> {
+                int completed = collectionRepository.updateStatusByTrip(
+                        trip.getTripId(), CollectionStatus.ACTIVE,
+                        CollectionStatus.COMPLETED);
+                if (completed != collections.size()) {
                     throw new IllegalArgumentException(
                             "All collections must be ACTIVE to complete the trip");
                 }
-                c.setCollectionStatus(Collection.CollectionStatus.COMPLETED);
-                collectionRepository.update(c);
-                recurringScheduleManager.rescheduleNextCollection(c);
-            }
-
-            trip.setStatus(TripStatus.COMPLETED);
-            trip.setLastModified(LocalDateTime.now());
-            tripRepository.update(trip);
-
-            return true;
+                recurringScheduleManager.rescheduleNextCollections(collections);
+            });
         } catch (IllegalArgumentException e) {
             return false;
         }
+        availabilityIndex.remove(trip.getTripId());
+        trip.getCollections().forEach(
+                c -> c.setCollectionStatus(CollectionStatus.COMPLETED));
+        eventBus.publish(DomainEvent.Type.UPDATED, Trip.class, trip.getTripId());
+        return true;
     }
 
     /**
@@ -313,7 +452,8 @@ public final class TripManager {
      *
      * @param tripId the ID of the trip to update
      * @param newVehicle the new vehicle to assign
-     * @throws IllegalArgumentException if the trip is not found or the vehicle is null
+     * @throws IllegalArgumentException if the trip is not found, the vehicle is null
+     * or busy with another active trip
      */
     public void updateVehicle(final int tripId, final Vehicle newVehicle) {
         Optional<Trip> tripOpt = getTripById(tripId);
@@ -325,7 +465,9 @@ public final class TripManager {
 
         Trip trip = tripOpt.get();
         trip.setAssignedVehicle(newVehicle);
-        tripRepository.update(trip);
+        saveBooked(List.of(trip), () -> tripRepository.update(trip));
+        availabilityIndex.put(trip);
+        eventBus.publish(DomainEvent.Type.UPDATED, Trip.class, trip.getTripId());
     }
 
     /**
@@ -333,8 +475,8 @@ public final class TripManager {
      *
      * @param tripId the ID of the trip to update
      * @param newOperators the new list of operators to assign
-     * @throws IllegalArgumentException if the trip is not found or the operators list
-     * is invalid
+     * @throws IllegalArgumentException if the trip is not found, the operators list
+     * is invalid or one of the operators is busy with another active trip
      */
     public void updateOperators(final int tripId, final List<Employee> newOperators) {
         Optional<Trip> tripOpt = getTripById(tripId);
@@ -348,7 +490,9 @@ public final class TripManager {
 
         Trip trip = tripOpt.get();
         trip.setOperators(newOperators);
-        tripRepository.update(trip);
+        saveBooked(List.of(trip), () -> tripRepository.update(trip));
+        availabilityIndex.put(trip);
+        eventBus.publish(DomainEvent.Type.UPDATED, Trip.class, trip.getTripId());
     }
 
     /**
@@ -367,6 +511,44 @@ public final class TripManager {
         }
     }
 
+    /**
+     * Retrieves one page of the trips visible to the given user. Administrators and
+     * office workers see all trips, operators only the trips they are assigned to.
+     *
+     * @param currentUser the currently logged-in user
+     * @param request the page to retrieve, with its filters, search and sort
+     * @return the requested page of trips
+     */
+    public Page<Trip> getTripPageForCurrentUser(final Employee currentUser,
+                                                final PageRequest request) {
+        return tripRepository.findPage(visibleTo(currentUser, request));
+    }
+
+    /**
+     * Retrieves one page of read-only rows for the trips visible to the given user,
+     * reading only the attributes selected by the projection.
+     *
+     * @param currentUser the currently logged-in user
+     * @param request the page to retrieve, with its filters, search and sort
+     * @param projection the attributes to read and the row built from them
+     * @param <R> the type of the rows
+     * @return the requested page of rows
+     */
+    public <R> Page<R> getTripPageForCurrentUser(final Employee currentUser,
+                                                 final PageRequest request,
+                                                 final Projection<R> projection) {
+        return tripRepository.findPage(visibleTo(currentUser, request), projection);
+    }
+
+    private PageRequest visibleTo(final Employee currentUser,
+                                  final PageRequest request) {
+        if (currentUser.getRole() == ADMINISTRATOR
+                || currentUser.getRole() == OFFICE_WORKER) {
+            return request;
+        }
+        return request.where("operators", currentUser);
+    }
+
     /**
      * Retrieves the list of available postal codes for the specified date.
      *
@@ -388,12 +570,85 @@ public final class TripManager {
     }
 
     /**
-     * Updates the specified trip in the repository.
+     * Orders again the collections of the trip, for instance after some of them were
+     * added or their customers moved, and saves their new stop sequence.
+     *
+     * @param trip the trip to sequence, with its collections
+     * @return the collections in visiting order, with the estimated distance and
+     * duration of the trip
+     * @throws IllegalArgumentException if trip is null
+     */
+    public RouteSequence<Collection> sequenceTrip(final Trip trip) {
+        ValidateUtils.requireArgNotNull(trip, "Trip cannot be null");
+        RouteSequence<Collection> route =
+                sequenceStops(List.of(trip.getCollections())).get(0);
+        collectionRepository.updateAll(route.getStops());
+        trip.setCollections(new ArrayList<>(route.getStops()));
+        return route;
+    }
+
+    /**
+     * Updates the specified trip in the repository. The trip must come with its
+     * vehicle and operators.
      *
      * @param trip the trip to update
+     * @throws IllegalArgumentException if the trip is active and its vehicle or an
+     * operator is busy with another active trip
      */
     public void updateTrip(final Trip trip) {
-        tripRepository.update(trip);
+        saveBooked(List.of(trip), () -> tripRepository.update(trip));
+        availabilityIndex.put(trip);
+        eventBus.publish(DomainEvent.Type.UPDATED, Trip.class, trip.getTripId());
+    }
+
+    /**
+     * Runs the given write of trips in one transaction, which first checks in the
+     * database that the vehicles and operators of the active ones are free: the
+     * availability index may not have seen yet the trips written by another
+     * instance. The check locks them until the transaction ends.
+     */
+    private void saveBooked(final List<Trip> trips, final Runnable write) {
+        List<Trip> active = trips.stream()
+                .filter(t -> t.getStatus() == TripStatus.ACTIVE)
+                .toList();
+        TransactionHelper.executeTransaction(() -> {
+            if (!active.isEmpty() && !tripRepository.areCrewAndVehicleFree(active)) {
+                throw new IllegalArgumentException(
+                        "The vehicle or an operator is already busy with another trip");
+            }
+            write.run();
+        });
+    }
+
+    /**
+     * Orders the collections of each route and sets their stop sequence. Customers
+     * without coordinates are placed at the centroid of their street or postal code;
+     * those still unknown are visited last.
+     */
+    private List<RouteSequence<Collection>> sequenceStops(
+            final List<List<Collection>> routes) {
+        List<Integer> ids = routes.stream()
+                .flatMap(List::stream)
+                .map(Collection::getCollectionId)
+                .toList();
+        Map<Integer, GeoPoint> positions = new HashMap<>();
+        for (StopLocation stop : collectionRepository.findStopLocations(ids)) {
+            GeoPoint point = stop.getCoordinates() != null ? stop.getCoordinates()
+                    : centroids.locate(stop.getPostalCode(), stop.getStreet())
+                            .orElse(null);
+            if (point != null) {
+                positions.put(stop.getCollectionId(), point);
+            }
+        }
+        List<RouteSequence<Collection>> sequences = routeSequencer.sequenceAll(routes,
+                collection -> positions.get(collection.getCollectionId()));
+        for (RouteSequence<Collection> sequence : sequences) {
+            List<Collection> stops = sequence.getStops();
+            for (int i = 0; i < stops.size(); i++) {
+                stops.get(i).setStopSequence(i + 1);
+            }
+        }
+        return sequences;
     }
 
     /**
@@ -405,6 +660,16 @@ public final class TripManager {
         return tripRepository.countCompleted();
     }
 
+    private List<Employee> findFreeOperators(final LocalDateTime start,
+                                             final LocalDateTime end,
+                                             final Integer excludedTripId) {
+        Set<Integer> busy =
+                availabilityIndex.findBusyEmployees(start, end, excludedTripId);
+        return tripRepository.findOperators().stream()
+                .filter(e -> !busy.contains(e.getEmployeeId()))
+                .toList();
+    }
+
     /**
      * Represents the possible results of a trip cancellation and notification attempt.
      */
@@ -0,0 +1,73 @@
+package it.unibo.wastemaster.domain.service;
+
+import it.unibo.wastemaster.domain.model.Trip;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Immutable outcome of a run of the {@link TripPlanner}: the trips proposed for a
+ * day, not yet saved, and the postal codes left without a trip because no vehicle
+ * or crew was free for them.
+ */
+public final class TripPlan {
+
+    private final LocalDate date;
+    private final List<Trip> trips;
+    private final List<String> unplannedPostalCodes;
+
+    /**
+     * Constructs a plan.
+     *
+     * @param date the day planned
+     * @param trips the proposed trips, with their vehicle, crew and collections
+     * @param unplannedPostalCodes the postal codes that could not be served
+     */
+    public TripPlan(final LocalDate date, final List<Trip> trips,
+                    final List<String> unplannedPostalCodes) {
+        this.date = date;
+        this.trips = List.copyOf(trips);
+        this.unplannedPostalCodes = List.copyOf(unplannedPostalCodes);
+    }
+
+    /**
+     * Gets the day planned.
+     *
+     * @return the date of the plan
+     */
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * Gets the proposed trips, one per served postal code.
+     *
+     * @return an unmodifiable list of unsaved trips
+     */
+    public List<Trip> getTrips() {
+        return trips;
+    }
+
+    /**
+     * Gets the postal codes with unassigned collections that no trip serves.
+     *
+     * @return an unmodifiable list of postal codes
+     */
+    public List<String> getUnplannedPostalCodes() {
+        return unplannedPostalCodes;
+    }
+
+    /**
+     * Checks whether every postal code with unassigned collections is served.
+     *
+     * @return true if no postal code was left out
+     */
+    public boolean isComplete() {
+        return unplannedPostalCodes.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "TripPlan{date=" + date + ", trips=" + trips.size()
+                + ", unplanned=" + unplannedPostalCodes + '}';
+    }
+}
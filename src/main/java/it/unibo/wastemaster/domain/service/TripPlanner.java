@@ -0,0 +1,190 @@
+package it.unibo.wastemaster.domain.service;
+
+import it.unibo.wastemaster.domain.model.Collection;
+import it.unibo.wastemaster.domain.model.Employee;
+import it.unibo.wastemaster.domain.model.Employee.Licence;
+import it.unibo.wastemaster.domain.model.Trip;
+import it.unibo.wastemaster.domain.model.Vehicle;
+import it.unibo.wastemaster.infrastructure.utils.ValidateUtils;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plans the trips of a whole day in one go, instead of building them one postal
+ * code at a time.
+ * <p>
+ * All the active collections of the day not yet assigned to a trip are grouped by
+ * postal code, and every postal code gets one trip in the given time window. Only
+ * vehicles and operators free in that window are used: vehicles must be in service
+ * and not due for maintenance, each trip carries exactly
+ * {@link Vehicle#getRequiredOperators()} people and its driver holds one of the
+ * licences allowed by {@link VehicleManager#getAllowedLicences(Vehicle)}.
+ * <p>
+ * The assignment is greedy. Postal codes with more collections are served first,
+ * vehicles needing fewer people and lower licences are used first, and the driver
+ * and crew picked are those with the lowest licences that fit, so that higher
+ * licences stay available for the vehicles that need them. Planning reads the
+ * collections, vehicles and operators with three queries and answers the rest in
+ * memory; {@link #commit(TripPlan)} writes the plan in one batch.
+ */
+public final class TripPlanner {
+
+    /**
+     * Default departure time of planned trips.
+     */
+    public static final LocalTime DEFAULT_DEPARTURE = LocalTime.of(6, 0);
+
+    /**
+     * Default expected duration of planned trips.
+     */
+    public static final Duration DEFAULT_DURATION = Duration.ofHours(8);
+
+    private static final Comparator<Vehicle> VEHICLE_ORDER =
+            Comparator.comparingInt(Vehicle::getRequiredOperators)
+                    .thenComparing(Vehicle::getRequiredLicence)
+                    .thenComparingInt(Vehicle::getVehicleId);
+
+    private static final Comparator<Employee> CREW_ORDER =
+            Comparator.comparing(Employee::getLicence)
+                    .thenComparing(Employee::getEmployeeId);
+
+    private final TripManager tripManager;
+    private final CollectionManager collectionManager;
+    private final VehicleManager vehicleManager;
+
+    /**
+     * Constructs a TripPlanner.
+     *
+     * @param tripManager the manager providing free resources and creating trips
+     * @param collectionManager the manager providing the collections to assign
+     * @param vehicleManager the manager telling the licences allowed per vehicle
+     */
+    public TripPlanner(final TripManager tripManager,
+                       final CollectionManager collectionManager,
+                       final VehicleManager vehicleManager) {
+        this.tripManager = tripManager;
+        this.collectionManager = collectionManager;
+        this.vehicleManager = vehicleManager;
+    }
+
+    /**
+     * Plans the trips of the given day, departing at {@link #DEFAULT_DEPARTURE} and
+     * lasting {@link #DEFAULT_DURATION}.
+     *
+     * @param date the day to plan
+     * @return the proposed plan, not yet saved
+     * @throws IllegalArgumentException if date is null
+     */
+    public TripPlan plan(final LocalDate date) {
+        ValidateUtils.requireArgNotNull(date, "Date cannot be null");
+        LocalDateTime departure = date.atTime(DEFAULT_DEPARTURE);
+        return plan(departure, departure.plus(DEFAULT_DURATION));
+    }
+
+    /**
+     * Plans the trips serving the unassigned collections of the day of departure, all
+     * in the given time window.
+     *
+     * @param departure the departure time of the trips
+     * @param expectedReturn the expected return time of the trips
+     * @return the proposed plan, not yet saved
+     * @throws IllegalArgumentException if a time is null or the return is not after
+     * the departure
+     */
+    public TripPlan plan(final LocalDateTime departure,
+                         final LocalDateTime expectedReturn) {
+        ValidateUtils.requireArgNotNull(departure, "Departure cannot be null");
+        ValidateUtils.requireArgNotNull(expectedReturn, "Return cannot be null");
+        if (!expectedReturn.isAfter(departure)) {
+            throw new IllegalArgumentException("Return must be after departure");
+        }
+        LocalDate date = departure.toLocalDate();
+        Map<String, List<Collection>> byPostalCode =
+                collectionManager.getUnassignedCollectionsByPostalCode(date);
+        List<Vehicle> vehicles = new ArrayList<>(
+                tripManager.getAvailableVehicles(departure, expectedReturn));
+        vehicles.sort(VEHICLE_ORDER);
+        List<Employee> pool = new ArrayList<>(tripManager
+                .getAvailableOperatorsExcludeDriver(departure, expectedReturn, null));
+        pool.sort(CREW_ORDER);
+
+        List<Trip> trips = new ArrayList<>();
+        List<String> unplanned = new ArrayList<>();
+        byPostalCode.entrySet().stream()
+                .sorted(Map.Entry.<String, List<Collection>>comparingByValue(
+                                Comparator.comparingInt(List::size)).reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> {
+                    Trip trip = assign(entry.getKey(), entry.getValue(), vehicles,
+                            pool, departure, expectedReturn);
+                    if (trip == null) {
+                        unplanned.add(entry.getKey());
+                    } else {
+                        trips.add(trip);
+                    }
+                });
+        return new TripPlan(date, trips, unplanned);
+    }
+
+    /**
+     * Saves all the trips of the plan and assigns them their collections, in one
+     * batch.
+     *
+     * @param plan the plan to save
+     * @throws IllegalArgumentException if plan is null
+     */
+    public void commit(final TripPlan plan) {
+        ValidateUtils.requireArgNotNull(plan, "Plan cannot be null");
+        tripManager.createTrips(new ArrayList<>(plan.getTrips()));
+    }
+
+    private Trip assign(final String postalCode, final List<Collection> collections,
+                        final List<Vehicle> vehicles, final List<Employee> pool,
+                        final LocalDateTime departure,
+                        final LocalDateTime expectedReturn) {
+        for (Iterator<Vehicle> it = vehicles.iterator(); it.hasNext();) {
+            Vehicle vehicle = it.next();
+            List<Employee> crew = pickCrew(vehicle, pool);
+            if (crew != null) {
+                it.remove();
+                pool.removeAll(crew);
+                return new Trip(postalCode, vehicle, crew, departure, expectedReturn,
+                        new ArrayList<>(collections));
+            }
+        }
+        return null;
+    }
+
+    private List<Employee> pickCrew(final Vehicle vehicle, final List<Employee> pool) {
+        int size = vehicle.getRequiredOperators();
+        if (size <= 0 || size > pool.size()) {
+            return null;
+        }
+        List<Licence> allowed = vehicleManager.getAllowedLicences(vehicle);
+        Employee driver = pool.stream()
+                .filter(e -> allowed.contains(e.getLicence()))
+                .findFirst()
+                .orElse(null);
+        if (driver == null) {
+            return null;
+        }
+        List<Employee> crew = new ArrayList<>(size);
+        crew.add(driver);
+        for (Employee employee : pool) {
+            if (crew.size() == size) {
+                break;
+            }
+            if (employee != driver) {
+                crew.add(employee);
+            }
+        }
+        return crew;
+    }
+}
@@ -1,7 +1,12 @@
 package it.unibo.wastemaster.domain.service;
 
+import it.unibo.wastemaster.domain.event.DomainEvent;
+import it.unibo.wastemaster.domain.event.DomainEventBus;
 import it.unibo.wastemaster.domain.model.Employee.Licence;
 import it.unibo.wastemaster.domain.model.Vehicle;
+import it.unibo.wastemaster.domain.repository.Page;
+import it.unibo.wastemaster.domain.repository.PageRequest;
+import it.unibo.wastemaster.domain.repository.Projection;
 import it.unibo.wastemaster.domain.repository.VehicleRepository;
 import it.unibo.wastemaster.infrastructure.utils.ValidateUtils;
 import java.time.LocalDate;
@@ -14,6 +19,7 @@ import java.util.Optional;
 public final class VehicleManager {
 
     private final VehicleRepository vehicleRepository;
+    private DomainEventBus eventBus = new DomainEventBus();
 
     /**
      * Constructs a new VehicleManager.
@@ -24,6 +30,15 @@ public final class VehicleManager {
         this.vehicleRepository = vehicleRepository;
     }
 
+    /**
+     * Sets the bus on which the changes made by this manager are published.
+     *
+     * @param eventBus the event bus
+     */
+    public void setEventBus(final DomainEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
     /**
      * Adds a new vehicle after validation.
      *
@@ -41,6 +56,7 @@ public final class VehicleManager {
         }
 
         vehicleRepository.save(vehicle);
+        eventBus.publish(DomainEvent.Type.ADDED, Vehicle.class, vehicle.getVehicleId());
         return vehicle;
     }
 
@@ -86,6 +102,7 @@ public final class VehicleManager {
 
         vehicle.setPlate(normalizedPlate);
         vehicleRepository.update(vehicle);
+        eventBus.publish(DomainEvent.Type.UPDATED, Vehicle.class, vehicle.getVehicleId());
     }
 
     /**
@@ -159,6 +176,8 @@ public final class VehicleManager {
             ValidateUtils.requireArgNotNull(vehicle.getPlate(),
                     "Vehicle plate cannot be null");
             vehicleRepository.delete(vehicle);
+            eventBus.publish(DomainEvent.Type.REMOVED, Vehicle.class,
+                    vehicle.getVehicleId());
             return true;
         } catch (IllegalArgumentException e) {
             return false;
@@ -189,4 +208,28 @@ public final class VehicleManager {
     public List<Vehicle> findAllVehicle() {
         return vehicleRepository.findAll();
     }
+
+    /**
+     * Retrieves one page of vehicles.
+     *
+     * @param request the page to retrieve, with its filters, search and sort
+     * @return the requested page of vehicles
+     */
+    public Page<Vehicle> getVehiclePage(final PageRequest request) {
+        return vehicleRepository.findPage(request);
+    }
+
+    /**
+     * Retrieves one page of read-only rows for vehicles, reading only the
+     * attributes selected by the projection.
+     *
+     * @param request the page to retrieve, with its filters, search and sort
+     * @param projection the attributes to read and the row built from them
+     * @param <R> the type of the rows
+     * @return the requested page of rows
+     */
+    public <R> Page<R> getVehiclePage(final PageRequest request,
+                                      final Projection<R> projection) {
+        return vehicleRepository.findPage(request, projection);
+    }
 }
@@ -1,9 +1,12 @@
 package it.unibo.wastemaster.domain.service;
 
+import it.unibo.wastemaster.domain.event.DomainEvent;
+import it.unibo.wastemaster.domain.event.DomainEventBus;
 import it.unibo.wastemaster.domain.model.Waste;
 import it.unibo.wastemaster.domain.repository.WasteRepository;
 import it.unibo.wastemaster.infrastructure.utils.ValidateUtils;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Manages operations related to Waste entities, including validation, insertion and soft
@@ -12,6 +15,7 @@ import java.util.List;
 public final class WasteManager {
 
     private final WasteRepository wasteRepository;
+    private DomainEventBus eventBus = new DomainEventBus();
 
     /**
      * Constructs a WasteManager with the specified DAO.
@@ -22,6 +26,15 @@ public final class WasteManager {
         this.wasteRepository = wasteRepository;
     }
 
+    /**
+     * Sets the bus on which the changes made by this manager are published.
+     *
+     * @param eventBus the event bus
+     */
+    public void setEventBus(final DomainEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
     /**
      * Retrieves all active (non-deleted) wastes.
      *
@@ -31,6 +44,16 @@ public final class WasteManager {
         return wasteRepository.findActive();
     }
 
+    /**
+     * Retrieves a waste by its ID, deleted or not.
+     *
+     * @param wasteId the ID of the waste
+     * @return an Optional containing the waste if found, or empty if not found
+     */
+    public Optional<Waste> getWasteById(final int wasteId) {
+        return wasteRepository.findById(wasteId);
+    }
+
     /**
      * Adds a new Waste entity after validation.
      *
@@ -48,6 +71,7 @@ public final class WasteManager {
         }
 
         wasteRepository.save(waste);
+        eventBus.publish(DomainEvent.Type.ADDED, Waste.class, waste.getWasteId());
         return waste;
     }
 
@@ -74,6 +98,7 @@ public final class WasteManager {
                     "Waste ID cannot be null");
             waste.delete();
             wasteRepository.update(waste);
+            eventBus.publish(DomainEvent.Type.REMOVED, Waste.class, waste.getWasteId());
             return true;
         } catch (IllegalArgumentException e) {
             return false;
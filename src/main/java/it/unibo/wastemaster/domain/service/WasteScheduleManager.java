@@ -1,10 +1,15 @@
 package it.unibo.wastemaster.domain.service;
 
+import it.unibo.wastemaster.domain.event.DomainEvent;
+import it.unibo.wastemaster.domain.event.DomainEventBus;
 import it.unibo.wastemaster.domain.model.Waste;
 import it.unibo.wastemaster.domain.model.WasteSchedule;
 import it.unibo.wastemaster.domain.repository.WasteScheduleRepository;
 import it.unibo.wastemaster.infrastructure.utils.ValidateUtils;
 import java.time.DayOfWeek;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Manages the scheduling of waste collections.
@@ -12,6 +17,7 @@ import java.time.DayOfWeek;
 public final class WasteScheduleManager {
 
     private final WasteScheduleRepository wasteScheduleRepository;
+    private DomainEventBus eventBus = new DomainEventBus();
 
     /**
      * Constructs a WasteScheduleManager with the specified DAO.
@@ -22,6 +28,15 @@ public final class WasteScheduleManager {
         this.wasteScheduleRepository = wasteScheduleRepository;
     }
 
+    /**
+     * Sets the bus on which the changes made by this manager are published.
+     *
+     * @param eventBus the event bus
+     */
+    public void setEventBus(final DomainEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
     /**
      * Sets up a new collection routine for a specific waste type.
      *
@@ -33,6 +48,7 @@ public final class WasteScheduleManager {
                                                 final DayOfWeek dayOfWeek) {
         WasteSchedule wasteSchedule = new WasteSchedule(waste, dayOfWeek);
         wasteScheduleRepository.save(wasteSchedule);
+        publishWasteChanged(waste);
         return wasteSchedule;
     }
 
@@ -47,6 +63,7 @@ public final class WasteScheduleManager {
                                              final DayOfWeek newDayOfWeek) {
         wasteSchedule.setDayOfWeek(newDayOfWeek);
         wasteScheduleRepository.update(wasteSchedule);
+        publishWasteChanged(wasteSchedule.getWaste());
         return wasteSchedule;
     }
 
@@ -65,6 +82,24 @@ public final class WasteScheduleManager {
         return schedule;
     }
 
+    /**
+     * Retrieves the collection schedules of the given waste types with a single
+     * query, instead of one lookup per waste.
+     *
+     * @param wastes the waste types
+     * @return the schedules by waste id; wastes without a schedule are absent
+     */
+    public Map<Integer, WasteSchedule> getWasteSchedulesByWastes(
+            final Collection<Waste> wastes) {
+        ValidateUtils.requireArgNotNull(wastes, "Wastes cannot be null");
+        Map<Integer, WasteSchedule> schedules = new HashMap<>();
+        for (WasteSchedule schedule
+                : wasteScheduleRepository.findSchedulesByWastes(wastes)) {
+            schedules.putIfAbsent(schedule.getWaste().getWasteId(), schedule);
+        }
+        return schedules;
+    }
+
     /**
      * Deletes the specified waste schedule.
      *
@@ -72,5 +107,17 @@ public final class WasteScheduleManager {
      */
     public void deleteSchedule(final WasteSchedule wasteSchedule) {
         wasteScheduleRepository.delete(wasteSchedule);
+        publishWasteChanged(wasteSchedule.getWaste());
+    }
+
+    /**
+     * Publishes a change of the waste, since its collection day is shown with it.
+     *
+     * @param waste the waste whose schedule changed
+     */
+    private void publishWasteChanged(final Waste waste) {
+        if (waste != null) {
+            eventBus.publish(DomainEvent.Type.UPDATED, Waste.class, waste.getWasteId());
+        }
     }
 }
@@ -19,4 +19,14 @@ public interface NextCollectionCalculator {
      * @return the next collection date
      */
     LocalDate calculateNextDate(RecurringSchedule schedule, WasteSchedule wasteSchedule);
+
+    /**
+     * Calculates the occurrence following the given one, so that the occurrences of
+     * a schedule can be enumerated without modifying it.
+     *
+     * @param previous the previous occurrence
+     * @param wasteSchedule the associated waste schedule
+     * @return the following occurrence
+     */
+    LocalDate calculateDateAfter(LocalDate previous, WasteSchedule wasteSchedule);
 }
@@ -24,13 +24,23 @@ public class WeeklyCalculator implements NextCollectionCalculator {
     @Override
     public LocalDate calculateNextDate(final RecurringSchedule schedule,
                                        final WasteSchedule wasteSchedule) {
-        LocalDate date;
         if (schedule.getNextCollectionDate() == null) {
-            date = schedule.getStartDate().plusDays(2);
-        } else {
-            date = schedule.getNextCollectionDate().plusWeeks(1);
+            return alignToScheduledDay(schedule.getStartDate().plusDays(2),
+                    wasteSchedule.getDayOfWeek());
         }
+        return calculateDateAfter(schedule.getNextCollectionDate(), wasteSchedule);
+    }
 
-        return alignToScheduledDay(date, wasteSchedule.getDayOfWeek());
+    /**
+     * Returns the occurrence one week after the given one.
+     *
+     * @param previous the previous occurrence, must not be null
+     * @param wasteSchedule the associated waste schedule, must not be null
+     * @return the following occurrence, aligned to the scheduled day of the week
+     */
+    @Override
+    public LocalDate calculateDateAfter(final LocalDate previous,
+                                        final WasteSchedule wasteSchedule) {
+        return alignToScheduledDay(previous.plusWeeks(1), wasteSchedule.getDayOfWeek());
     }
 }
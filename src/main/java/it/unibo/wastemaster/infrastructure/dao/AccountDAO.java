@@ -4,6 +4,7 @@ import it.unibo.wastemaster.domain.model.Account;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * DAO for {@link Account} entity operations.
@@ -19,6 +20,16 @@ public class AccountDAO extends GenericDAO<Account> {
         super(entityManager, Account.class);
     }
 
+    /**
+     * Constructs a AccountDAO whose entity manager is resolved through the given
+     * supplier, typically the current unit of work.
+     *
+     * @param entityManagerSupplier the supplier of the current entity manager
+     */
+    public AccountDAO(final Supplier<EntityManager> entityManagerSupplier) {
+        super(entityManagerSupplier, Account.class);
+    }
+
     /**
      * Finds an Account associated with the Employee who has the specified email.
      *
@@ -26,16 +37,18 @@ public class AccountDAO extends GenericDAO<Account> {
      * @return an Optional containing the Account if found, or empty if no result
      */
     public Optional<Account> findAccountByEmployeeEmail(final String email) {
-        try {
-            Account account = getEntityManager().createQuery(
-                            "SELECT a FROM Account a JOIN a.employee e WHERE e.email = "
-                                    + ":email",
-                            Account.class)
-                    .setParameter("email", email)
-                    .getSingleResult();
-            return Optional.of(account);
-        } catch (NoResultException e) {
-            return Optional.empty();
-        }
+        return withEntityManager(em -> {
+            try {
+                Account account = em.createQuery(
+                                "SELECT a FROM Account a JOIN a.employee e "
+                                        + "WHERE e.email = :email",
+                                Account.class)
+                        .setParameter("email", email)
+                        .getSingleResult();
+                return Optional.of(account);
+            } catch (NoResultException e) {
+                return Optional.empty();
+            }
+        });
     }
 }
@@ -0,0 +1,110 @@
+package it.unibo.wastemaster.infrastructure.dao;
+
+import it.unibo.wastemaster.domain.model.ChangeVersion;
+import it.unibo.wastemaster.domain.model.ChangedRow;
+import jakarta.persistence.EntityManager;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * DAO reading the {@link ChangeVersion} rows incremented by the other DAOs, and
+ * the {@link ChangedRow}s they record.
+ */
+public final class ChangeVersionDAO extends GenericDAO<ChangeVersion> {
+
+    private static final String JDBC_URL_PROPERTY = "jakarta.persistence.jdbc.url";
+
+    /**
+     * Constructs a ChangeVersionDAO with the given entity manager.
+     *
+     * @param entityManager the EntityManager to use
+     */
+    public ChangeVersionDAO(final EntityManager entityManager) {
+        super(entityManager, ChangeVersion.class);
+    }
+
+    /**
+     * Constructs a ChangeVersionDAO whose entity manager is resolved through the
+     * given supplier, typically the current unit of work.
+     *
+     * @param entityManagerSupplier the supplier of the current entity manager
+     */
+    public ChangeVersionDAO(final Supplier<EntityManager> entityManagerSupplier) {
+        super(entityManagerSupplier, ChangeVersion.class);
+    }
+
+    /**
+     * Reads the revisions of the given entity types with a single query.
+     *
+     * @param entityNames the names of the entity types
+     * @return the revision of each entity type written at least once
+     */
+    public Map<String, Long> findRevisions(final Set<String> entityNames) {
+        Map<String, Long> revisions = new HashMap<>();
+        if (entityNames.isEmpty()) {
+            return revisions;
+        }
+        withEntityManager(em -> em.createQuery("""
+                        SELECT v.entityName, v.revision FROM ChangeVersion v
+                        WHERE v.entityName IN :entityNames
+                        """, Object[].class)
+                .setParameter("entityNames", entityNames)
+                .getResultList())
+                .forEach(row -> revisions.put((String) row[0], (Long) row[1]));
+        return revisions;
+    }
+
+    /**
+     * Reads the ids of the entities of a type written after a revision, up to
+     * another one, from the {@link ChangedRow}s recorded by the DAOs.
+     *
+     * @param entityName the name of the entity type
+     * @param afterRevision the revision the entities are known at
+     * @param revision the last revision to include
+     * @return the ids of the entities written, or an empty optional if some of the
+     * revisions did not record the entities they wrote or were already pruned
+     */
+    public Optional<Set<Integer>> findChangedIds(final String entityName,
+                                                 final long afterRevision,
+                                                 final long revision) {
+        long revisionCount = revision - afterRevision;
+        if (revisionCount < 0 || revisionCount > CHANGED_ROWS_RETENTION) {
+            return Optional.empty();
+        }
+        Set<Long> revisions = new HashSet<>();
+        Set<Integer> ids = new LinkedHashSet<>();
+        if (revisionCount == 0) {
+            return Optional.of(ids);
+        }
+        withEntityManager(em -> em.createQuery("""
+                        SELECT r.revision, r.entityId FROM ChangedRow r
+                        WHERE r.entityName = :entityName
+                          AND r.revision > :afterRevision
+                          AND r.revision <= :revision
+                        """, Object[].class)
+                .setParameter("entityName", entityName)
+                .setParameter("afterRevision", afterRevision)
+                .setParameter("revision", revision)
+                .getResultList())
+                .forEach(row -> {
+                    revisions.add((Long) row[0]);
+                    ids.add((Integer) row[1]);
+                });
+        return revisions.size() == revisionCount ? Optional.of(ids) : Optional.empty();
+    }
+
+    /**
+     * Gets the JDBC URL of the database the entities are read from.
+     *
+     * @return the URL, or an empty string if it is not configured
+     */
+    public String getDatabaseUrl() {
+        return withEntityManager(em -> String.valueOf(em.getEntityManagerFactory()
+                .getProperties().getOrDefault(JDBC_URL_PROPERTY, "")));
+    }
+}
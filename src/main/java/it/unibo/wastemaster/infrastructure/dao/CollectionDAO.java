@@ -2,12 +2,22 @@ package it.unibo.wastemaster.infrastructure.dao;
 
 import it.unibo.wastemaster.domain.model.Collection;
 import it.unibo.wastemaster.domain.model.Customer;
+import it.unibo.wastemaster.domain.model.GeoPoint;
 import it.unibo.wastemaster.domain.model.RecurringSchedule;
 import it.unibo.wastemaster.domain.model.Schedule;
+import it.unibo.wastemaster.domain.repository.StopLocation;
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.NoResultException;
 import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * DAO for {@link Collection} entity operations.
@@ -23,6 +33,16 @@ public final class CollectionDAO extends GenericDAO<Collection> {
         super(entityManager, Collection.class);
     }
 
+    /**
+     * Constructs a CollectionDAO whose entity manager is resolved through the given
+     * supplier, typically the current unit of work.
+     *
+     * @param entityManagerSupplier the supplier of the current entity manager
+     */
+    public CollectionDAO(final Supplier<EntityManager> entityManagerSupplier) {
+        super(entityManagerSupplier, Collection.class);
+    }
+
     /**
      * Retrieves all collections associated with the given {@link Schedule}.
      *
@@ -36,10 +56,83 @@ public final class CollectionDAO extends GenericDAO<Collection> {
                 WHERE c.schedule = :schedule
                 """;
 
-        return getEntityManager()
+        return withEntityManager(em -> em
                 .createQuery(jpql, Collection.class)
                 .setParameter("schedule", schedule)
-                .getResultList();
+                .getResultList());
+    }
+
+    /**
+     * Cancels, with a single bulk update, the collections of the given schedules
+     * that are still {@link Collection.CollectionStatus#ACTIVE} although their date
+     * is before the given day. A bulk update is used because such collections no
+     * longer pass the date validation of the entity.
+     *
+     * @param schedules the schedules whose missed collections are cancelled
+     * @param date the day before which collections are considered missed
+     * @return the number of collections cancelled
+     */
+    public int cancelActiveBySchedulesBefore(final List<? extends Schedule> schedules,
+                                             final LocalDate date) {
+        if (schedules.isEmpty()) {
+            return 0;
+        }
+        final String jpql = """
+                UPDATE Collection c
+                SET c.collectionStatus = :cancelled
+                WHERE c.schedule IN :schedules
+                  AND c.collectionStatus = :active
+                  AND c.date < :date
+                """;
+
+        return executeBulk(em -> em.createQuery(jpql)
+                .setParameter("cancelled", Collection.CollectionStatus.CANCELLED)
+                .setParameter("schedules", schedules)
+                .setParameter("active", Collection.CollectionStatus.ACTIVE)
+                .setParameter("date", date));
+    }
+
+    /**
+     * Changes, with a single bulk update, the status of the collections of a trip
+     * that currently have the given status.
+     *
+     * @param tripId the id of the trip
+     * @param from the status of the collections to change
+     * @param to the new status
+     * @return the number of collections changed
+     */
+    public int updateStatusByTrip(final int tripId,
+                                  final Collection.CollectionStatus from,
+                                  final Collection.CollectionStatus to) {
+        final String jpql = """
+                UPDATE Collection c
+                SET c.collectionStatus = :to
+                WHERE c.trip.tripId = :tripId
+                  AND c.collectionStatus = :from
+                """;
+
+        return executeBulk(em -> em.createQuery(jpql)
+                .setParameter("to", to)
+                .setParameter("tripId", tripId)
+                .setParameter("from", from));
+    }
+
+    /**
+     * Removes, with a single bulk update, all the collections of a trip from it,
+     * clearing their stop sequence.
+     *
+     * @param tripId the id of the trip
+     * @return the number of collections removed from the trip
+     */
+    public int detachFromTrip(final int tripId) {
+        final String jpql = """
+                UPDATE Collection c
+                SET c.trip = NULL, c.stopSequence = NULL
+                WHERE c.trip.tripId = :tripId
+                """;
+
+        return executeBulk(em -> em.createQuery(jpql)
+                .setParameter("tripId", tripId));
     }
 
     /**
@@ -51,7 +144,7 @@ public final class CollectionDAO extends GenericDAO<Collection> {
      */
     public List<Collection> findCollectionByStatus(
             final Collection.CollectionStatus status) {
-        return getEntityManager()
+        return withEntityManager(em -> em
                 .createQuery(
                         """
                                 SELECT c FROM Collection c
@@ -59,35 +152,134 @@ public final class CollectionDAO extends GenericDAO<Collection> {
                                 """,
                         Collection.class)
                 .setParameter("status", status)
-                .getResultList();
+                .getResultList());
     }
 
     /**
-     * Finds an active {@link Collection} linked to the given
-     * {@link RecurringSchedule}. An active collection is one whose
-     * status is not CANCELLED.
+     * Finds the earliest {@link Collection.CollectionStatus#ACTIVE} {@link Collection}
+     * linked to the given {@link RecurringSchedule}. A schedule has one active
+     * collection for each occurrence within the collection horizon, the earliest
+     * being the next one to be collected.
      *
      * @param schedule the recurring schedule to search collections for
-     * @return the active collection if found, otherwise null
+     * @return the earliest active collection if found, otherwise null
      */
     public Collection findActiveCollectionByRecurringSchedule(
             final RecurringSchedule schedule) {
-        try {
-            String jpql = """
-                    SELECT c FROM Collection c
-                    WHERE c.schedule = :schedule
-                    AND c.collectionStatus != :cancelledStatus
-                    """;
-            return getEntityManager()
-                    .createQuery(jpql, Collection.class)
-                    .setParameter("schedule", schedule)
-                    .setParameter(
-                            "cancelledStatus",
-                            Collection.CollectionStatus.CANCELLED)
-                    .getSingleResult();
-        } catch (NoResultException e) {
-            return null;
+        String jpql = """
+                SELECT c FROM Collection c
+                WHERE c.schedule = :schedule
+                AND c.collectionStatus = :activeStatus
+                ORDER BY c.date, c.collectionId
+                """;
+        return withEntityManager(em -> em
+                .createQuery(jpql, Collection.class)
+                .setParameter("schedule", schedule)
+                .setParameter("activeStatus", Collection.CollectionStatus.ACTIVE)
+                .setMaxResults(1)
+                .getResultStream()
+                .findFirst()
+                .orElse(null));
+    }
+
+    /**
+     * Retrieves the {@link Collection.CollectionStatus#ACTIVE} collections of the
+     * given schedule taking place on or after the given day, ordered by date.
+     *
+     * @param schedule the schedule to filter collections by
+     * @param from the first day included
+     * @return list of upcoming active collections
+     */
+    public List<Collection> findUpcomingActiveBySchedule(final Schedule schedule,
+                                                         final LocalDate from) {
+        final String jpql = """
+                SELECT c
+                FROM Collection c
+                WHERE c.schedule = :schedule
+                  AND c.collectionStatus = :active
+                  AND c.date >= :from
+                ORDER BY c.date
+                """;
+
+        return withEntityManager(em -> em
+                .createQuery(jpql, Collection.class)
+                .setParameter("schedule", schedule)
+                .setParameter("active", Collection.CollectionStatus.ACTIVE)
+                .setParameter("from", from)
+                .getResultList());
+    }
+
+    /**
+     * Finds, with a single grouped query, the date of the earliest
+     * {@link Collection.CollectionStatus#ACTIVE} collection on or after the given
+     * day for each of the given schedules.
+     *
+     * @param schedules the schedules to look up
+     * @param from the first day included
+     * @return the earliest active date by schedule id; schedules without an
+     * upcoming active collection are absent
+     */
+    public Map<Integer, LocalDate> findNextActiveDates(
+            final List<? extends Schedule> schedules, final LocalDate from) {
+        if (schedules.isEmpty()) {
+            return Map.of();
+        }
+        final String jpql = """
+                SELECT c.schedule.id, MIN(c.date)
+                FROM Collection c
+                WHERE c.schedule IN :schedules
+                  AND c.collectionStatus = :active
+                  AND c.date >= :from
+                GROUP BY c.schedule.id
+                """;
+        List<Object[]> rows = withEntityManager(em -> em
+                .createQuery(jpql, Object[].class)
+                .setParameter("schedules", schedules)
+                .setParameter("active", Collection.CollectionStatus.ACTIVE)
+                .setParameter("from", from)
+                .getResultList());
+
+        Map<Integer, LocalDate> dates = new HashMap<>();
+        for (Object[] row : rows) {
+            dates.put((Integer) row[0], (LocalDate) row[1]);
+        }
+        return dates;
+    }
+
+    /**
+     * Finds, with a single query, the dates on or after the given day already
+     * taken by a collection that is not cancelled, for each of the given schedules.
+     *
+     * @param schedules the schedules to look up
+     * @param from the first day included
+     * @return the dates taken by schedule id; schedules without such collections
+     * are absent
+     */
+    public Map<Integer, Set<LocalDate>> findScheduledDates(
+            final List<? extends Schedule> schedules, final LocalDate from) {
+        if (schedules.isEmpty()) {
+            return Map.of();
         }
+        final String jpql = """
+                SELECT c.schedule.id, c.date
+                FROM Collection c
+                WHERE c.schedule IN :schedules
+                  AND c.collectionStatus <> :cancelled
+                  AND c.date >= :from
+                """;
+        List<Object[]> rows = withEntityManager(em -> em
+                .createQuery(jpql, Object[].class)
+                .setParameter("schedules", schedules)
+                .setParameter("cancelled", Collection.CollectionStatus.CANCELLED)
+                .setParameter("from", from)
+                .getResultList());
+
+        Map<Integer, Set<LocalDate>> dates = new HashMap<>();
+        for (Object[] row : rows) {
+            dates.computeIfAbsent((Integer) row[0], id -> new HashSet<>())
+                    .add((LocalDate) row[1]);
+        }
+        return dates;
     }
 
     /**
@@ -118,14 +310,83 @@ public final class CollectionDAO extends GenericDAO<Collection> {
                   AND c.collectionStatus = :status
                 """;
 
-        return getEntityManager()
+        return withEntityManager(em -> em
                 .createQuery(jpql, Collection.class)
                 .setParameter("postal", postalCode)
                 .setParameter("date", date)
                 .setParameter(
                         "status",
                         Collection.CollectionStatus.ACTIVE)
-                .getResultList();
+                .getResultList());
+    }
+
+    /**
+     * Finds the {@link Collection.CollectionStatus#ACTIVE} collections of the given
+     * day not yet assigned to a trip, grouped by the postal code of the customer,
+     * with a single query.
+     *
+     * @param date the collection date to match
+     * @return the unassigned collections by postal code, in postal code order
+     */
+    public Map<String, List<Collection>> findUnassignedByPostalCode(
+            final LocalDate date) {
+        final String jpql = """
+                SELECT c, loc.postalCode
+                FROM Collection c
+                JOIN c.schedule s
+                JOIN s.customer cust
+                JOIN cust.location loc
+                WHERE c.date = :date
+                  AND c.trip IS NULL
+                  AND c.collectionStatus = :status
+                ORDER BY loc.postalCode, c.collectionId
+                """;
+
+        return withEntityManager(em -> {
+            Map<String, List<Collection>> byPostalCode = new LinkedHashMap<>();
+            em.createQuery(jpql, Object[].class)
+                    .setParameter("date", date)
+                    .setParameter("status", Collection.CollectionStatus.ACTIVE)
+                    .getResultList()
+                    .forEach(row -> byPostalCode.computeIfAbsent((String) row[1],
+                            k -> new ArrayList<>()).add((Collection) row[0]));
+            return byPostalCode;
+        });
+    }
+
+    /**
+     * Finds, with a single query, the address and coordinates of the customer of
+     * each of the given collections.
+     *
+     * @param collectionIds the ids of the collections
+     * @return the location of each collection found, in no particular order
+     */
+    public List<StopLocation> findStopLocations(final List<Integer> collectionIds) {
+        if (collectionIds.isEmpty()) {
+            return List.of();
+        }
+        final String jpql = """
+                SELECT c.collectionId, loc.postalCode, loc.street,
+                       loc.latitude, loc.longitude
+                FROM Collection c
+                JOIN c.schedule s
+                JOIN s.customer cust
+                JOIN cust.location loc
+                WHERE c.collectionId IN :ids
+                """;
+        List<Object[]> rows = withEntityManager(em -> em
+                .createQuery(jpql, Object[].class)
+                .setParameter("ids", collectionIds)
+                .getResultList());
+
+        List<StopLocation> stops = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            GeoPoint coordinates = row[3] == null || row[4] == null
+                    ? null : new GeoPoint((Double) row[3], (Double) row[4]);
+            stops.add(new StopLocation((Integer) row[0], (String) row[1],
+                    (String) row[2], coordinates));
+        }
+        return stops;
     }
 
     /**
@@ -146,14 +407,139 @@ public final class CollectionDAO extends GenericDAO<Collection> {
                   AND c.isBilled = false
                 """;
 
-        List<Collection> collections = getEntityManager()
-                .createQuery(jpql, Collection.class)
+        return withEntityManager(em -> withGraph(em,
+                        em.createQuery(jpql, Collection.class),
+                        Collection.GRAPH_FOR_BILLING)
                 .setParameter("customerId", customer.getCustomerId())
                 .setParameter(
                         "completedStatus",
                         Collection.CollectionStatus.COMPLETED)
-                .getResultList();
+                .getResultList());
+    }
+
+    /**
+     * Finds, in customer id order, the ids of the customers that have completed
+     * collections not yet billed, for keyset pagination.
+     *
+     * @param afterCustomerId the id after which the chunk starts, 0 for the first
+     * @param limit the maximum number of ids to return
+     * @return the ids of the customers to bill, in ascending order
+     */
+    public List<Integer> findCustomerIdsToBill(final int afterCustomerId,
+                                               final int limit) {
+        final String jpql = """
+                SELECT DISTINCT c.customer.customerId
+                FROM Collection c
+                WHERE c.customer.customerId > :afterId
+                  AND c.collectionStatus = :completedStatus
+                  AND c.isBilled = false
+                ORDER BY c.customer.customerId
+                """;
 
-        return collections;
+        return withEntityManager(em -> em.createQuery(jpql, Integer.class)
+                .setParameter("afterId", afterCustomerId)
+                .setParameter("completedStatus", Collection.CollectionStatus.COMPLETED)
+                .setMaxResults(limit)
+                .getResultList());
+    }
+
+    /**
+     * Retrieves, with a single query, the completed collections not yet billed of
+     * all the given customers, grouped by customer. The customers and schedules are
+     * fetched with the collections, as needed to bill them.
+     *
+     * @param customerIds the ids of the customers
+     * @return the collections to bill by customer, in customer id order
+     */
+    public Map<Customer, List<Collection>> findCompletedNotBilledByCustomers(
+            final List<Integer> customerIds) {
+        if (customerIds.isEmpty()) {
+            return Map.of();
+        }
+        final String jpql = """
+                SELECT c
+                FROM Collection c
+                WHERE c.customer.customerId IN :customerIds
+                  AND c.collectionStatus = :completedStatus
+                  AND c.isBilled = false
+                ORDER BY c.customer.customerId, c.collectionId
+                """;
+
+        return withEntityManager(em -> {
+            Map<Customer, List<Collection>> byCustomer = new LinkedHashMap<>();
+            withGraph(em, em.createQuery(jpql, Collection.class),
+                    Collection.GRAPH_FOR_BILLING)
+                    .setParameter("customerIds", customerIds)
+                    .setParameter("completedStatus",
+                            Collection.CollectionStatus.COMPLETED)
+                    .getResultList()
+                    .forEach(c -> byCustomer.computeIfAbsent(c.getCustomer(),
+                            k -> new ArrayList<>()).add(c));
+            return byCustomer;
+        });
+    }
+
+    /**
+     * Counts collections with the specified {@link Collection.CollectionStatus}.
+     *
+     * @param status the collection status to count
+     * @return the number of collections with the given status
+     */
+    public int countByStatus(final Collection.CollectionStatus status) {
+        final String jpql = """
+                SELECT COUNT(c)
+                FROM Collection c
+                WHERE c.collectionStatus = :status
+                """;
+        return withEntityManager(em -> em.createQuery(jpql, Long.class)
+                .setParameter("status", status)
+                .getSingleResult()
+                .intValue());
+    }
+
+    /**
+     * Counts the collections of a customer, whatever their status, using the index
+     * on the customer of the collections.
+     *
+     * @param customerId the id of the customer
+     * @return the number of collections of the customer
+     */
+    public int countByCustomer(final int customerId) {
+        return withEntityManager(em -> em.createQuery(
+                        "SELECT COUNT(c) FROM Collection c "
+                                + "WHERE c.customer.customerId = :customerId",
+                        Long.class)
+                .setParameter("customerId", customerId)
+                .getSingleResult()
+                .intValue());
+    }
+
+    /**
+     * Counts collections grouped by calendar month of their date and by status,
+     * aggregating all years together. The grouping is performed by the database,
+     * so a single query is issued regardless of the number of collections.
+     * Months or statuses without collections are absent from the result.
+     *
+     * @return the number of collections per month and status
+     */
+    public Map<Month, Map<Collection.CollectionStatus, Long>> countByMonthAndStatus() {
+        final String jpql = """
+                SELECT EXTRACT(MONTH FROM c.date), c.collectionStatus, COUNT(c)
+                FROM Collection c
+                GROUP BY EXTRACT(MONTH FROM c.date), c.collectionStatus
+                """;
+        List<Object[]> rows = withEntityManager(em -> em
+                .createQuery(jpql, Object[].class)
+                .getResultList());
+
+        Map<Month, Map<Collection.CollectionStatus, Long>> counts =
+                new EnumMap<>(Month.class);
+        for (Object[] row : rows) {
+            Month month = Month.of(((Number) row[0]).intValue());
+            counts.computeIfAbsent(month,
+                            m -> new EnumMap<>(Collection.CollectionStatus.class))
+                    .put((Collection.CollectionStatus) row[1], (Long) row[2]);
+        }
+        return counts;
     }
 }
@@ -0,0 +1,71 @@
+package it.unibo.wastemaster.infrastructure.dao;
+
+import it.unibo.wastemaster.domain.model.CustomerBalance;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * DAO for the {@link CustomerBalance} rows kept up to date by the invoice
+ * operations.
+ */
+public final class CustomerBalanceDAO extends GenericDAO<CustomerBalance> {
+
+    /**
+     * Constructs a CustomerBalanceDAO with the given entity manager.
+     *
+     * @param entityManager the EntityManager to use
+     */
+    public CustomerBalanceDAO(final EntityManager entityManager) {
+        super(entityManager, CustomerBalance.class);
+    }
+
+    /**
+     * Constructs a CustomerBalanceDAO whose entity manager is resolved through the
+     * given supplier, typically the current unit of work.
+     *
+     * @param entityManagerSupplier the supplier of the current entity manager
+     */
+    public CustomerBalanceDAO(final Supplier<EntityManager> entityManagerSupplier) {
+        super(entityManagerSupplier, CustomerBalance.class);
+    }
+
+    /**
+     * Applies the given changes to the balances of their customers in the current
+     * transaction. The existing balances are read and locked with one query, in
+     * customer id order so that concurrent runs cannot deadlock, and the missing
+     * ones are created empty before being changed. The changes are flushed before
+     * returning.
+     *
+     * @param changes the change to apply to the balance of each customer id
+     */
+    public void applyChanges(final Map<Integer, Consumer<CustomerBalance>> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        inTransaction(em -> {
+            Map<Integer, CustomerBalance> balances = new HashMap<>();
+            em.createQuery("""
+                            SELECT b FROM CustomerBalance b
+                            WHERE b.customerId IN :customerIds
+                            ORDER BY b.customerId
+                            """, CustomerBalance.class)
+                    .setParameter("customerIds", changes.keySet())
+                    .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                    .getResultList()
+                    .forEach(balance -> balances.put(balance.getCustomerId(), balance));
+            changes.forEach((customerId, change) -> {
+                CustomerBalance balance = balances.get(customerId);
+                if (balance == null) {
+                    balance = new CustomerBalance(customerId);
+                    em.persist(balance);
+                }
+                change.accept(balance);
+            });
+            em.flush();
+        });
+    }
+}
@@ -3,6 +3,7 @@ package it.unibo.wastemaster.infrastructure.dao;
 import it.unibo.wastemaster.domain.model.Customer;
 import jakarta.persistence.EntityManager;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * DAO for managing Customer entities.
@@ -23,6 +24,16 @@ public final class CustomerDAO extends GenericDAO<Customer> {
         super(entityManager, Customer.class);
     }
 
+    /**
+     * Constructs a CustomerDAO whose entity manager is resolved through the given
+     * supplier, typically the current unit of work.
+     *
+     * @param entityManagerSupplier the supplier of the current entity manager
+     */
+    public CustomerDAO(final Supplier<EntityManager> entityManagerSupplier) {
+        super(entityManagerSupplier, Customer.class);
+    }
+
     /**
      * Checks whether a customer exists with the given email.
      *
@@ -30,10 +41,10 @@ public final class CustomerDAO extends GenericDAO<Customer> {
      * @return true if a customer exists with the email, false otherwise
      */
     public boolean existsByEmail(final String email) {
-        Long count = getEntityManager()
+        Long count = withEntityManager(em -> em
                 .createQuery("SELECT COUNT(c) FROM Customer c WHERE c.email = :email",
                         Long.class)
-                .setParameter("email", email).getSingleResult();
+                .setParameter("email", email).getSingleResult());
         return count > 0;
     }
 
@@ -44,10 +55,11 @@ public final class CustomerDAO extends GenericDAO<Customer> {
      * @return the Customer if found, or null otherwise
      */
     public Customer findByEmail(final String email) {
-        return getEntityManager()
+        return withEntityManager(em -> em
                 .createQuery("SELECT c FROM Customer c WHERE c.email = :email",
                         Customer.class)
-                .setParameter("email", email).getResultStream().findFirst().orElse(null);
+                .setParameter("email", email).getResultStream().findFirst()
+                .orElse(null));
     }
 
     /**
@@ -56,10 +68,10 @@ public final class CustomerDAO extends GenericDAO<Customer> {
      * @return list of active customers
      */
     public List<Customer> findActive() {
-        return getEntityManager().createQuery("""
+        return withEntityManager(em -> em.createQuery("""
                     SELECT c FROM Customer c
                     WHERE c.isDeleted = false
-                """, Customer.class).getResultList();
+                """, Customer.class).getResultList());
     }
 
     /**
@@ -69,10 +81,36 @@ public final class CustomerDAO extends GenericDAO<Customer> {
      * @return a list of the last 5 inserted customers
      */
     public List<Customer> findLast5Inserted() {
-        return getEntityManager()
+        return withEntityManager(em -> em
                 .createQuery("SELECT c FROM Customer c ORDER BY c.createdDate DESC",
                         Customer.class)
                 .setMaxResults(LAST_INSERTED_LIMIT)
-                .getResultList();
+                .getResultList());
+    }
+
+    /**
+     * Retrieves the customers whose location has no coordinates yet, together with
+     * their location.
+     *
+     * @return list of customers without coordinates
+     */
+    public List<Customer> findWithoutCoordinates() {
+        return withEntityManager(em -> em.createQuery("""
+                    SELECT c FROM Customer c JOIN FETCH c.location l
+                    WHERE l.latitude IS NULL OR l.longitude IS NULL
+                """, Customer.class).getResultList());
+    }
+
+    /**
+     * Counts all non-deleted customers.
+     *
+     * @return the number of active customers
+     */
+    public int countActive() {
+        return withEntityManager(em -> em.createQuery(
+                        "SELECT COUNT(c) FROM Customer c WHERE c.isDeleted = false",
+                        Long.class)
+                .getSingleResult()
+                .intValue());
     }
 }
@@ -4,6 +4,7 @@ import it.unibo.wastemaster.domain.model.Employee;
 import jakarta.persistence.EntityManager;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * DAO for managing Employee entities.
@@ -19,6 +20,16 @@ public final class EmployeeDAO extends GenericDAO<Employee> {
         super(entityManager, Employee.class);
     }
 
+    /**
+     * Constructs a EmployeeDAO whose entity manager is resolved through the given
+     * supplier, typically the current unit of work.
+     *
+     * @param entityManagerSupplier the supplier of the current entity manager
+     */
+    public EmployeeDAO(final Supplier<EntityManager> entityManagerSupplier) {
+        super(entityManagerSupplier, Employee.class);
+    }
+
     /**
      * Checks whether an employee exists with the given email.
      *
@@ -26,10 +37,10 @@ public final class EmployeeDAO extends GenericDAO<Employee> {
      * @return true if an employee exists with the email, false otherwise
      */
     public boolean existsByEmail(final String email) {
-        Long count = getEntityManager()
+        Long count = withEntityManager(em -> em
                 .createQuery("SELECT COUNT(e) FROM Employee e WHERE e.email = :email",
                         Long.class)
-                .setParameter("email", email).getSingleResult();
+                .setParameter("email", email).getSingleResult());
         return count > 0;
     }
 
@@ -40,12 +51,12 @@ public final class EmployeeDAO extends GenericDAO<Employee> {
      * @return An Optional containing the employee if found.
      */
     public Optional<Employee> findByEmail(final String email) {
-        return getEntityManager()
+        return withEntityManager(em -> em
                 .createQuery("SELECT e FROM Employee e WHERE e.email = :email",
                         Employee.class)
                 .setParameter("email", email)
                 .getResultStream()
-                .findFirst();
+                .findFirst());
     }
 
     /**
@@ -54,9 +65,9 @@ public final class EmployeeDAO extends GenericDAO<Employee> {
      * @return list of active employees
      */
     public List<Employee> findActiveEmployees() {
-        return getEntityManager().createQuery("""
+        return withEntityManager(em -> em.createQuery("""
                     SELECT e FROM Employee e
                     WHERE e.isDeleted = false
-                """, Employee.class).getResultList();
+                """, Employee.class).getResultList());
     }
 }
@@ -1,28 +1,115 @@
 package it.unibo.wastemaster.infrastructure.dao;
 
+import it.unibo.wastemaster.domain.model.ChangeVersion;
+import it.unibo.wastemaster.domain.model.ChangedRow;
+import it.unibo.wastemaster.domain.repository.Page;
+import it.unibo.wastemaster.domain.repository.PageRequest;
+import it.unibo.wastemaster.domain.repository.ProjectedRow;
+import it.unibo.wastemaster.domain.repository.Projection;
 import it.unibo.wastemaster.infrastructure.utils.TransactionHelper;
+import it.unibo.wastemaster.infrastructure.utils.UnitOfWork;
+import jakarta.persistence.Cache;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.Metamodel;
+import jakarta.persistence.metamodel.PluralAttribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.hibernate.jpa.SpecHints;
 
 /**
  * GenericDAO class for managing entities.
+ * <p>
+ * The entity manager is resolved on every operation through a supplier, so DAOs
+ * wired with {@link UnitOfWork#currentEntityManager()} always work against the
+ * persistence context of the current unit of work. Operations invoked outside a unit
+ * of work run in their own short-lived one.
+ * <p>
+ * Every transaction writing entities through a DAO also increments the
+ * {@link ChangeVersion} of their type, so other instances of the application can
+ * tell which types changed by polling the versions. When the entities written are
+ * known one by one, their ids are recorded as {@link ChangedRow}s of the new
+ * revision, so that only those entities need to be read again.
  *
  * @param <T> the entity type
  */
 public class GenericDAO<T> {
 
-    private final EntityManager entityManager;
+    /**
+     * Default number of entities flushed per chunk by the batch write operations.
+     * Matches {@code hibernate.jdbc.batch_size} so each chunk becomes one JDBC batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 50;
+
+    /**
+     * Number of the latest revisions of each entity type whose {@link ChangedRow}s
+     * are kept. Older ones are deleted periodically, see
+     * {@link #CHANGED_ROWS_PRUNE_INTERVAL}.
+     */
+    public static final int CHANGED_ROWS_RETENTION = 1000;
+
+    /**
+     * Number of revisions logging {@link ChangedRow}s written by this instance
+     * between two deletions of the records older than
+     * {@link #CHANGED_ROWS_RETENTION}, so most write transactions delete nothing.
+     */
+    public static final int CHANGED_ROWS_PRUNE_INTERVAL = 100;
+
+    private static final String CHANGE_VERSION_KEY = "change-version:";
+    private static final AtomicInteger LOGGED_REVISIONS = new AtomicInteger();
+    private static final int SORT_SELECTION = 0;
+    private static final int ID_SELECTION = 1;
+    private static final int FIRST_SELECTION = 2;
+
+    private final Supplier<EntityManager> entityManagerSupplier;
     private final Class<T> entityClass;
 
     /**
-     * Constructs a GenericDAO.
+     * Constructs a GenericDAO bound to a fixed entity manager.
      *
      * @param entityManager the entity manager (final)
      * @param entityClass the entity class (final)
      */
     public GenericDAO(final EntityManager entityManager, final Class<T> entityClass) {
-        this.entityManager = entityManager;
+        this(() -> entityManager, entityClass);
+    }
+
+    /**
+     * Constructs a GenericDAO that obtains its entity manager from the given supplier.
+     *
+     * @param entityManagerSupplier the supplier of the current entity manager (final)
+     * @param entityClass the entity class (final)
+     */
+    public GenericDAO(final Supplier<EntityManager> entityManagerSupplier,
+                      final Class<T> entityClass) {
+        this.entityManagerSupplier = entityManagerSupplier;
         this.entityClass = entityClass;
     }
 
@@ -32,7 +119,7 @@ public class GenericDAO<T> {
      * @return the entity manager
      */
     protected EntityManager getEntityManager() {
-        return entityManager;
+        return entityManagerSupplier.get();
     }
 
     /**
@@ -44,14 +131,264 @@ public class GenericDAO<T> {
         return entityClass;
     }
 
+    /**
+     * Runs a read operation inside the current unit of work, opening one if needed.
+     *
+     * @param work the operation to run with the current entity manager
+     * @param <R> the result type
+     * @return the result of the operation
+     */
+    protected <R> R withEntityManager(final Function<EntityManager, R> work) {
+        return UnitOfWork.call(() -> work.apply(getEntityManager()));
+    }
+
+    /**
+     * Evicts the entities of this type from the second-level cache, together with
+     * every cached query result. The caches only learn about the writes made through
+     * this application, so they are evicted when another instance sharing the
+     * database changes the entities.
+     */
+    public void evictCache() {
+        withEntityManager(em -> {
+            Cache cache = em.getEntityManagerFactory().getCache();
+            cache.evict(entityClass);
+            cache.unwrap(org.hibernate.Cache.class).evictQueryRegions();
+            return null;
+        });
+    }
+
+    /**
+     * Runs a write operation in a transaction inside the current unit of work,
+     * opening one if needed, and marks the entity type as changed by the
+     * transaction.
+     *
+     * @param work the operation to run with the current entity manager
+     */
+    protected void inTransaction(final Consumer<EntityManager> work) {
+        UnitOfWork.run(() -> {
+            EntityManager em = getEntityManager();
+            TransactionHelper.executeTransaction(em, () -> {
+                work.accept(em);
+                markChanged(em, entityClass);
+            });
+        });
+    }
+
+    /**
+     * Runs a write operation in a transaction inside the current unit of work,
+     * opening one if needed, and marks the entities it wrote as changed by the
+     * transaction. Operations that may write other entities of the type must use
+     * {@link #inTransaction(Consumer)} instead.
+     *
+     * @param work the operation to run with the current entity manager, returning
+     * the ids of every entity of the type it wrote
+     */
+    protected void writeInTransaction(
+            final Function<EntityManager, ? extends Collection<?>> work) {
+        UnitOfWork.run(() -> {
+            EntityManager em = getEntityManager();
+            TransactionHelper.executeTransaction(em,
+                    () -> markChanged(em, entityClass, work.apply(em)));
+        });
+    }
+
+    /**
+     * Marks the given entity type as changed by the current transaction. Its
+     * {@link ChangeVersion} is incremented once per transaction, just before the
+     * commit so that its row stays locked as briefly as possible, or immediately
+     * when the transaction was not started by {@link TransactionHelper}. No
+     * {@link ChangedRow} is recorded for the revision, as the entities written are
+     * not known.
+     *
+     * @param em the entity manager of the current transaction
+     * @param type the entity type written by the transaction
+     */
+    protected static void markChanged(final EntityManager em, final Class<?> type) {
+        markChanged(em, type, null);
+    }
+
+    /**
+     * Marks the given entities as changed by the current transaction, like
+     * {@link #markChanged(EntityManager, Class)}, also recording their ids as
+     * {@link ChangedRow}s of the new revision unless the transaction writes
+     * entities of the type that are not known.
+     *
+     * @param em the entity manager of the current transaction
+     * @param type the entity type written by the transaction
+     * @param ids the ids of the entities written, or null if they are not known
+     */
+    protected static void markChanged(final EntityManager em, final Class<?> type,
+                                      final Collection<?> ids) {
+        String name = type.getSimpleName();
+        VersionIncrement increment = new VersionIncrement(em, name);
+        increment.record(ids);
+        Runnable registered =
+                TransactionHelper.beforeCommit(CHANGE_VERSION_KEY + name, increment);
+        if (registered != increment) {
+            ((VersionIncrement) registered).record(ids);
+        }
+    }
+
+    /**
+     * Gets the identifier of the given entity.
+     *
+     * @param em the entity manager used to read the identifier
+     * @param entity the entity
+     * @return the identifier, or null if none was assigned yet
+     */
+    protected Object idOf(final EntityManager em, final T entity) {
+        return em.getEntityManagerFactory().getPersistenceUnitUtil()
+                .getIdentifier(entity);
+    }
+
+    /**
+     * Runs a bulk update or delete statement in a transaction inside the current
+     * unit of work, opening one if needed. The statement is executed directly in
+     * the database: entities already loaded keep their previous state, and no
+     * lifecycle callback or bean validation is applied.
+     *
+     * @param statement creates the statement with the current entity manager
+     * @return the number of rows affected
+     */
+    protected int executeBulk(final Function<EntityManager, Query> statement) {
+        int[] affected = new int[1];
+        inTransaction(em -> affected[0] = statement.apply(em).executeUpdate());
+        return affected[0];
+    }
+
+    /**
+     * Reloads from the database the given entity if the entity manager holds it, so
+     * that it reflects a bulk statement just executed. Entities not loaded yet are
+     * left alone, as they will be read with the new state anyway.
+     *
+     * @param em the entity manager of the current transaction
+     * @param type the class of the entity
+     * @param id the id of the entity
+     * @param <E> the type of the entity
+     */
+    protected static <E> void refreshIfLoaded(final EntityManager em,
+                                              final Class<E> type, final Object id) {
+        E reference = em.getReference(type, id);
+        if (em.getEntityManagerFactory().getPersistenceUnitUtil().isLoaded(reference)) {
+            em.refresh(reference);
+        }
+    }
+
+    /**
+     * Checks whether the given entity has not been assigned an identifier yet.
+     *
+     * @param em the entity manager used to read the identifier
+     * @param entity the entity to check
+     * @return true if the entity has never been persisted, false otherwise
+     */
+    protected boolean isNew(final EntityManager em, final T entity) {
+        Object id = idOf(em, entity);
+        return id == null || id instanceof Number number && number.longValue() == 0;
+    }
+
+    /**
+     * Makes the given entity persistent in the given entity manager. Entities that
+     * already have an identifier, e.g. loaded in a previous unit of work, are merged
+     * instead.
+     *
+     * @param em the entity manager of the current transaction
+     * @param entity the entity to persist
+     * @return the managed instance
+     */
+    protected T persistEntity(final EntityManager em, final T entity) {
+        if (em.contains(entity) || isNew(em, entity)) {
+            em.persist(entity);
+            return entity;
+        }
+        return em.merge(entity);
+    }
+
     /**
      * Inserts the given entity within a transaction.
      *
      * @param entity the entity to insert (final)
      */
     public void insert(final T entity) {
-        TransactionHelper.executeTransaction(entityManager,
-                () -> entityManager.persist(entity));
+        writeInTransaction(em -> List.of(idOf(em, persistEntity(em, entity))));
+    }
+
+    /**
+     * Inserts all the given entities in a single transaction, flushing every
+     * {@link #DEFAULT_BATCH_SIZE} entities.
+     *
+     * @param entities the entities to insert (final)
+     */
+    public void insertAll(final List<T> entities) {
+        insertAll(entities, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Inserts all the given entities in a single transaction. Every
+     * {@code batchSize} entities the persistence context is flushed, so the pending
+     * inserts are sent as one JDBC batch, and the written entities are detached to
+     * keep memory flat.
+     *
+     * @param entities the entities to insert (final)
+     * @param batchSize the number of entities per flushed chunk, must be positive
+     * @throws IllegalArgumentException if batchSize is not positive
+     */
+    public void insertAll(final List<T> entities, final int batchSize) {
+        writeInChunks(entities, batchSize, this::persistEntity);
+    }
+
+    /**
+     * Updates all the given entities in a single transaction, flushing every
+     * {@link #DEFAULT_BATCH_SIZE} entities.
+     *
+     * @param entities the entities to update (final)
+     */
+    public void updateAll(final List<T> entities) {
+        updateAll(entities, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Updates all the given entities in a single transaction, flushing and
+     * detaching them every {@code batchSize} entities.
+     *
+     * @param entities the entities to update (final)
+     * @param batchSize the number of entities per flushed chunk, must be positive
+     * @throws IllegalArgumentException if batchSize is not positive
+     */
+    public void updateAll(final List<T> entities, final int batchSize) {
+        writeInChunks(entities, batchSize, EntityManager::merge);
+    }
+
+    private void writeInChunks(final List<T> entities, final int batchSize,
+                               final BiFunction<EntityManager, T, T> write) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        if (entities == null || entities.isEmpty()) {
+            return;
+        }
+        writeInTransaction(em -> {
+            List<Object> ids = new ArrayList<>(entities.size());
+            List<T> chunk = new ArrayList<>(Math.min(batchSize, entities.size()));
+            for (T entity : entities) {
+                T written = write.apply(em, entity);
+                ids.add(idOf(em, written));
+                chunk.add(written);
+                if (chunk.size() == batchSize) {
+                    flushAndDetach(em, chunk);
+                }
+            }
+            flushAndDetach(em, chunk);
+            return ids;
+        });
+    }
+
+    private void flushAndDetach(final EntityManager em, final List<T> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        em.flush();
+        chunk.forEach(em::detach);
+        chunk.clear();
     }
 
     /**
@@ -60,8 +397,7 @@ public class GenericDAO<T> {
      * @param entity the entity to update (final)
      */
     public void update(final T entity) {
-        TransactionHelper.executeTransaction(entityManager,
-                () -> entityManager.merge(entity));
+        writeInTransaction(em -> List.of(idOf(em, em.merge(entity))));
     }
 
     /**
@@ -70,10 +406,10 @@ public class GenericDAO<T> {
      * @param entity the entity to delete (final)
      */
     public void delete(final T entity) {
-        TransactionHelper.executeTransaction(entityManager, () -> {
-            T attached =
-                    entityManager.contains(entity) ? entity : entityManager.merge(entity);
-            entityManager.remove(attached);
+        writeInTransaction(em -> {
+            T attached = em.contains(entity) ? entity : em.merge(entity);
+            em.remove(attached);
+            return List.of(idOf(em, attached));
         });
     }
 
@@ -84,8 +420,38 @@ public class GenericDAO<T> {
      * @return the found entity or null
      */
     public Optional<T> findById(final int id) {
-        T entity = entityManager.find(entityClass, id);
-        return Optional.ofNullable(entity);
+        return withEntityManager(em -> Optional.ofNullable(em.find(entityClass, id)));
+    }
+
+    /**
+     * Finds an entity by its id, loading the associations of the given named entity
+     * graph in the same statement. Associations outside the graph keep their
+     * mapped fetch type.
+     *
+     * @param id the entity id (final)
+     * @param graphName the name of an entity graph declared on the entity (final)
+     * @return the found entity, or an empty optional if none exists
+     */
+    public Optional<T> findById(final int id, final String graphName) {
+        return withEntityManager(em -> Optional.ofNullable(em.find(entityClass, id,
+                Map.of(SpecHints.HINT_SPEC_LOAD_GRAPH, em.getEntityGraph(graphName)))));
+    }
+
+    /**
+     * Applies the given named entity graph to a query as a load graph, so the
+     * associations it lists are fetched together with the results.
+     *
+     * @param em the entity manager that created the query
+     * @param query the query to configure
+     * @param graphName the name of an entity graph declared on the result entity
+     * @param <R> the result type of the query
+     * @return the same query, for chaining
+     */
+    protected <R> TypedQuery<R> withGraph(final EntityManager em,
+                                          final TypedQuery<R> query,
+                                          final String graphName) {
+        return query.setHint(SpecHints.HINT_SPEC_LOAD_GRAPH,
+                em.getEntityGraph(graphName));
     }
 
     /**
@@ -94,7 +460,439 @@ public class GenericDAO<T> {
      * @return list of all entities
      */
     public List<T> findAll() {
-        return entityManager.createQuery("FROM " + entityClass.getName(), entityClass)
-                .getResultList();
+        return withEntityManager(em -> em.createQuery("FROM " + entityClass.getName(),
+                entityClass).getResultList());
+    }
+
+    /**
+     * Reads one page of entities with keyset pagination.
+     * <p>
+     * Filters, search and sort are translated into a single criteria query ordered
+     * by the sort attribute and the identifier; rows following the cursor of the
+     * request are selected with a range predicate, so no offset is ever scanned. One
+     * row more than the page size is fetched to detect whether a following page
+     * exists.
+     *
+     * @param request the page to read (final)
+     * @return the page of entities, with the request addressing the following one
+     */
+    public Page<T> findPage(final PageRequest request) {
+        return withEntityManager(em -> {
+            List<Tuple> rows = selectRows(em, request, resolver -> List.of(
+                    resolver.root()), request.getPageSize() + 1);
+            return toPage(request, rows, pageRows -> pageRows.stream()
+                    .map(row -> entityClass.cast(row.get(FIRST_SELECTION)))
+                    .toList());
+        });
+    }
+
+    /**
+     * Reads one page of read-only rows with keyset pagination, selecting only the
+     * attributes of the given projection.
+     * <p>
+     * Paging, filters, search and sort behave as in {@link #findPage(PageRequest)},
+     * but the query returns plain values instead of entities, so nothing is added to
+     * the persistence context and no eager association is loaded. Attributes reached
+     * through a collection are read by one additional query for the whole page.
+     *
+     * @param request the page to read (final)
+     * @param projection the attributes to read and the row built from them (final)
+     * @param <R> the type of the rows
+     * @return the page of rows, with the request addressing the following one
+     */
+    public <R> Page<R> findPage(final PageRequest request,
+                                final Projection<R> projection) {
+        return withEntityManager(em -> {
+            List<Tuple> rows = selectRows(em, request,
+                    resolver -> resolveAll(resolver, projection.getAttributes()),
+                    request.getPageSize() + 1);
+            return toPage(request, rows, pageRows -> project(em, pageRows, projection));
+        });
+    }
+
+    /**
+     * Reads all the read-only rows matching the filters and search of the given
+     * request, in its sort order, selecting only the attributes of the given
+     * projection. The page size of the request is ignored.
+     *
+     * @param request the filters, search and sort to apply (final)
+     * @param projection the attributes to read and the row built from them (final)
+     * @param <R> the type of the rows
+     * @return the list of rows
+     */
+    public <R> List<R> findAll(final PageRequest request,
+                               final Projection<R> projection) {
+        return withEntityManager(em -> project(em, selectRows(em, request,
+                resolver -> resolveAll(resolver, projection.getAttributes()), 0),
+                projection));
+    }
+
+    /**
+     * Selects the sort value, the identifier and the given selections of the rows
+     * matching the request, following its cursor.
+     *
+     * @param maxResults the maximum number of rows, or 0 for no limit
+     */
+    private List<Tuple> selectRows(final EntityManager em, final PageRequest request,
+            final Function<PathResolver, List<? extends Selection<?>>> selections,
+            final int maxResults) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityClass);
+        PathResolver resolver = new PathResolver(cb, em.getMetamodel(), root);
+
+        Expression<?> id = root.get(idAttributeName(em));
+        Expression<?> sort = request.getSortAttribute() == null
+                ? id : resolver.resolve(request.getSortAttribute());
+
+        List<Predicate> predicates = new ArrayList<>();
+        request.getFilters().forEach((attribute, values) -> predicates.add(
+                values.isEmpty() ? cb.disjunction()
+                        : resolver.resolve(attribute).in(values)));
+        if (request.getSearchText() != null
+                && !request.getSearchAttributes().isEmpty()) {
+            predicates.add(searchPredicate(cb, resolver, request));
+        }
+        if (!request.isFirstPage()) {
+            predicates.add(afterCursor(cb, sort, id, request));
+        }
+
+        List<Selection<?>> selected = new ArrayList<>(List.of(sort, id));
+        selected.addAll(selections.apply(resolver));
+        query.multiselect(selected)
+                .where(predicates.toArray(new Predicate[0]))
+                .distinct(resolver.hasPluralJoin())
+                .orderBy(request.isAscending()
+                        ? List.of(cb.asc(sort), cb.asc(id))
+                        : List.of(cb.desc(sort), cb.desc(id)));
+
+        TypedQuery<Tuple> typed = em.createQuery(query);
+        if (maxResults > 0) {
+            typed.setMaxResults(maxResults);
+        }
+        return typed.getResultList();
+    }
+
+    private <R> Page<R> toPage(final PageRequest request, final List<Tuple> rows,
+                               final Function<List<Tuple>, List<R>> mapper) {
+        boolean hasNext = rows.size() > request.getPageSize();
+        List<Tuple> pageRows = hasNext ? rows.subList(0, request.getPageSize()) : rows;
+        PageRequest next = null;
+        if (hasNext) {
+            Tuple last = pageRows.get(pageRows.size() - 1);
+            next = request.after(last.get(SORT_SELECTION), last.get(ID_SELECTION));
+        }
+        return new Page<>(mapper.apply(pageRows), next);
+    }
+
+    private static List<Expression<?>> resolveAll(final PathResolver resolver,
+                                                  final List<String> attributes) {
+        return attributes.stream().<Expression<?>>map(resolver::resolve).toList();
+    }
+
+    private <R> List<R> project(final EntityManager em, final List<Tuple> rows,
+                                final Projection<R> projection) {
+        List<String> collectionAttributes = projection.getCollectionAttributes();
+        Map<Object, List<Tuple>> collections = collectionAttributes.isEmpty()
+                ? Map.of() : readCollections(em, rows, collectionAttributes);
+
+        List<R> items = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            List<Tuple> elements =
+                    collections.getOrDefault(row.get(ID_SELECTION), List.of());
+            items.add(projection.map(
+                    new ProjectedRow(projection, row, FIRST_SELECTION, elements)));
+        }
+        return items;
+    }
+
+    /**
+     * Reads the collection attributes of the given rows with a single query, grouped
+     * by identifier. Each element row holds the identifier followed by the
+     * attributes. Rows produced by the outer join for an empty collection are
+     * skipped.
+     */
+    private Map<Object, List<Tuple>> readCollections(final EntityManager em,
+                                                     final List<Tuple> rows,
+                                                     final List<String> attributes) {
+        Map<Object, List<Tuple>> result = new HashMap<>();
+        if (rows.isEmpty()) {
+            return result;
+        }
+        List<Object> ids = rows.stream().map(row -> row.get(ID_SELECTION)).toList();
+
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityClass);
+        PathResolver resolver = new PathResolver(cb, em.getMetamodel(), root);
+        Expression<?> id = root.get(idAttributeName(em));
+        List<Selection<?>> selected = new ArrayList<>(List.of(id));
+        selected.addAll(resolveAll(resolver, attributes));
+        query.multiselect(selected).where(id.in(ids));
+
+        for (Tuple row : em.createQuery(query).getResultList()) {
+            boolean empty = true;
+            for (int i = 0; i < attributes.size(); i++) {
+                empty &= row.get(i + 1) == null;
+            }
+            if (!empty) {
+                result.computeIfAbsent(row.get(0), key -> new ArrayList<>()).add(row);
+            }
+        }
+        return result;
+    }
+
+    private String idAttributeName(final EntityManager em) {
+        return em.getMetamodel().entity(entityClass).getSingularAttributes().stream()
+                .filter(SingularAttribute::isId)
+                .map(Attribute::getName)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException(
+                        "No identifier attribute for " + entityClass.getName()));
+    }
+
+    private Predicate searchPredicate(final CriteriaBuilder cb,
+                                      final PathResolver resolver,
+                                      final PageRequest request) {
+        String text = request.getSearchText().toLowerCase(Locale.ROOT);
+        String pattern = "%" + text.replace("\\", "\\\\").replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        List<Predicate> matches = new ArrayList<>();
+        for (String attribute : request.getSearchAttributes()) {
+            Expression<?> path = resolver.resolve(attribute);
+            Class<?> type = path.getJavaType();
+            if (type != null && type.isEnum()) {
+                List<Object> constants = Arrays.stream(type.getEnumConstants())
+                        .filter(c -> enumLabel(c).contains(text))
+                        .map(Object.class::cast)
+                        .toList();
+                if (!constants.isEmpty()) {
+                    matches.add(path.in(constants));
+                }
+            } else {
+                matches.add(cb.like(cb.lower(searchableText(cb, attribute, path)),
+                        pattern, '\\'));
+            }
+        }
+        return matches.isEmpty() ? cb.disjunction()
+                : cb.or(matches.toArray(new Predicate[0]));
+    }
+
+    /**
+     * Gives the text of an attribute matched by the search of a page request, by
+     * default its string form. Subclasses override it for attributes shown to the
+     * user in another format, so that the search finds what the user sees.
+     *
+     * @param cb the criteria builder of the query
+     * @param attribute the searched attribute path
+     * @param path the expression of the attribute
+     * @return the text to search in
+     */
+    protected Expression<String> searchableText(final CriteriaBuilder cb,
+                                                final String attribute,
+                                                final Expression<?> path) {
+        return path.as(String.class);
+    }
+
+    private static String enumLabel(final Object constant) {
+        String name = ((Enum<?>) constant).name().replace('_', ' ');
+        return (name + " " + constant).toLowerCase(Locale.ROOT);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate afterCursor(final CriteriaBuilder cb, final Expression<?> sort,
+                                  final Expression<?> id, final PageRequest request) {
+        Expression<Comparable> sortKey = (Expression<Comparable>) sort;
+        Expression<Comparable> idKey = (Expression<Comparable>) id;
+        Comparable lastSort = (Comparable) request.getAfterSortValue();
+        Comparable lastId = (Comparable) request.getAfterId();
+
+        Predicate idBeyond = request.isAscending()
+                ? cb.greaterThan(idKey, lastId) : cb.lessThan(idKey, lastId);
+        if (sort == id) {
+            return idBeyond;
+        }
+        Predicate sortBeyond = request.isAscending()
+                ? cb.greaterThan(sortKey, lastSort) : cb.lessThan(sortKey, lastSort);
+        return cb.or(sortBeyond, cb.and(cb.equal(sortKey, lastSort), idBeyond));
+    }
+
+    /**
+     * Resolves dotted attribute paths against the query root, reusing one left join
+     * per association so that filters, search and sort share the same joins.
+     * Attributes declared by a subclass of the root entity are resolved on the root
+     * treated as that subclass.
+     */
+    private static final class PathResolver {
+
+        private final CriteriaBuilder cb;
+        private final Metamodel metamodel;
+        private final Root<?> root;
+        private final Map<String, From<?, ?>> joins = new HashMap<>();
+        private boolean pluralJoin;
+
+        PathResolver(final CriteriaBuilder cb, final Metamodel metamodel,
+                     final Root<?> root) {
+            this.cb = cb;
+            this.metamodel = metamodel;
+            this.root = root;
+        }
+
+        Root<?> root() {
+            return root;
+        }
+
+        Expression<?> resolve(final String attributePath) {
+            String[] segments = attributePath.split("\\.");
+            From<?, ?> from = root;
+            ManagedType<?> type = root.getModel();
+            StringBuilder prefix = new StringBuilder();
+            for (int i = 0; i < segments.length; i++) {
+                if (i == 0 && !hasAttribute(type, segments[0])) {
+                    EntityType<?> subtype = subtypeDeclaring(segments[0]);
+                    from = treatRoot(subtype);
+                    type = subtype;
+                }
+                Attribute<?, ?> attribute = type.getAttribute(segments[i]);
+                if (i == segments.length - 1 && !attribute.isCollection()) {
+                    return from.get(segments[i]);
+                }
+                prefix.append('.').append(segments[i]);
+                From<?, ?> parent = from;
+                String segment = segments[i];
+                from = joins.computeIfAbsent(prefix.toString(),
+                        p -> parent.join(segment, JoinType.LEFT));
+                if (attribute.isCollection()) {
+                    pluralJoin = true;
+                    type = (ManagedType<?>) ((PluralAttribute<?, ?, ?>) attribute)
+                            .getElementType();
+                } else {
+                    type = (ManagedType<?>) ((SingularAttribute<?, ?>) attribute)
+                            .getType();
+                }
+            }
+            return from;
+        }
+
+        boolean hasPluralJoin() {
+            return pluralJoin;
+        }
+
+        private static boolean hasAttribute(final ManagedType<?> type,
+                                            final String name) {
+            return type.getAttributes().stream().anyMatch(a -> a.getName().equals(name));
+        }
+
+        private EntityType<?> subtypeDeclaring(final String name) {
+            Class<?> rootClass = root.getJavaType();
+            return metamodel.getEntities().stream()
+                    .filter(e -> e.getJavaType() != rootClass
+                            && rootClass.isAssignableFrom(e.getJavaType())
+                            && hasAttribute(e, name))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            "Unknown attribute " + name + " for "
+                                    + rootClass.getName()));
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private From<?, ?> treatRoot(final EntityType<?> subtype) {
+            return joins.computeIfAbsent("#" + subtype.getName(),
+                    k -> cb.treat((Root) root, subtype.getJavaType()));
+        }
+    }
+
+    /**
+     * Increments the change version of an entity type before the commit of a
+     * transaction, recording the entities it wrote when all of them are known.
+     * Transactions writing more than {@link #DEFAULT_BATCH_SIZE} entities record
+     * none, so clients read the whole type again instead.
+     */
+    private static final class VersionIncrement implements Runnable {
+
+        private final EntityManager em;
+        private final String name;
+        private final Set<Integer> ids = new LinkedHashSet<>();
+        private boolean unknownWrites;
+
+        private VersionIncrement(final EntityManager em, final String name) {
+            this.em = em;
+            this.name = name;
+        }
+
+        void record(final Collection<?> written) {
+            if (unknownWrites) {
+                return;
+            }
+            if (written == null) {
+                forgetIds();
+                return;
+            }
+            for (Object id : written) {
+                if (!(id instanceof Integer entityId)) {
+                    forgetIds();
+                    return;
+                }
+                ids.add(entityId);
+            }
+            if (ids.size() > DEFAULT_BATCH_SIZE) {
+                forgetIds();
+            }
+        }
+
+        private void forgetIds() {
+            unknownWrites = true;
+            ids.clear();
+        }
+
+        @Override
+        public void run() {
+            boolean logged = !unknownWrites && !ids.isEmpty();
+            Long created = incrementVersion();
+            if (!logged) {
+                return;
+            }
+            long revision = created != null ? created : readRevision();
+            ids.forEach(id -> em.persist(new ChangedRow(name, revision, id)));
+            if (LOGGED_REVISIONS.incrementAndGet() % CHANGED_ROWS_PRUNE_INTERVAL == 0) {
+                em.createQuery("""
+                                DELETE FROM ChangedRow r
+                                WHERE r.entityName = :entityName AND r.revision <= :oldest
+                                """)
+                        .setParameter("entityName", name)
+                        .setParameter("oldest", revision - CHANGED_ROWS_RETENTION)
+                        .executeUpdate();
+            }
+        }
+
+        /**
+         * Increments the revision of the type.
+         *
+         * @return the revision of a version created by this call, or null if an
+         *         existing version was incremented
+         */
+        private Long incrementVersion() {
+            int updated = em.createQuery("""
+                            UPDATE ChangeVersion v SET v.revision = v.revision + 1
+                            WHERE v.entityName = :entityName
+                            """)
+                    .setParameter("entityName", name)
+                    .executeUpdate();
+            if (updated == 0) {
+                ChangeVersion version = new ChangeVersion(name);
+                em.persist(version);
+                return version.getRevision();
+            }
+            return null;
+        }
+
+        private long readRevision() {
+            return em.createQuery("""
+                            SELECT v.revision FROM ChangeVersion v
+                            WHERE v.entityName = :entityName
+                            """, Long.class)
+                    .setParameter("entityName", name)
+                    .getSingleResult();
+        }
     }
 }
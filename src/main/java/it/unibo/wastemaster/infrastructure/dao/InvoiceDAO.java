@@ -1,9 +1,15 @@
 package it.unibo.wastemaster.infrastructure.dao;
 
+import it.unibo.wastemaster.domain.model.Collection;
 import it.unibo.wastemaster.domain.model.Customer;
 import it.unibo.wastemaster.domain.model.Invoice;
+import it.unibo.wastemaster.domain.model.Money;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * DAO class for managing {@link Invoice} entities.
@@ -28,6 +34,151 @@ public final class InvoiceDAO extends GenericDAO<Invoice> {
         super(entityManager, Invoice.class);
     }
 
+    /**
+     * Constructs a InvoiceDAO whose entity manager is resolved through the given
+     * supplier, typically the current unit of work.
+     *
+     * @param entityManagerSupplier the supplier of the current entity manager
+     */
+    public InvoiceDAO(final Supplier<EntityManager> entityManagerSupplier) {
+        super(entityManagerSupplier, Invoice.class);
+    }
+
+    /**
+     * Persists the given invoice. The billed collections are merged into the same
+     * persistence context first, so their billing flag is written together with the
+     * invoice even when they were loaded in a previous unit of work.
+     *
+     * @param em the entity manager of the current transaction
+     * @param invoice the invoice to persist
+     * @return the managed invoice
+     */
+    @Override
+    protected Invoice persistEntity(final EntityManager em, final Invoice invoice) {
+        invoice.getCollections().forEach(em::merge);
+        return super.persistEntity(em, invoice);
+    }
+
+    /**
+     * Searches the amount of an invoice as shown to the user, in euros with two
+     * fraction digits, rather than as its number of cents.
+     *
+     * @param cb the criteria builder of the query
+     * @param attribute the searched attribute path
+     * @param path the expression of the attribute
+     * @return the text to search in
+     */
+    @Override
+    protected Expression<String> searchableText(final CriteriaBuilder cb,
+                                                final String attribute,
+                                                final Expression<?> path) {
+        if ("amountCents".equals(attribute)) {
+            return formatCents(cb, path.as(Long.class));
+        }
+        return super.searchableText(cb, attribute, path);
+    }
+
+    /**
+     * Marks an invoice as paid, only if it is still unpaid and not deleted. The
+     * check and the change are a single conditional update, so two concurrent
+     * payments of the same invoice cannot both succeed.
+     *
+     * @param invoiceId the id of the invoice
+     * @param paymentDate the date of the payment
+     * @return true if this call marked the invoice as paid, false otherwise
+     */
+    public boolean markPaid(final int invoiceId, final LocalDateTime paymentDate) {
+        boolean[] paid = new boolean[1];
+        writeInTransaction(em -> {
+            paid[0] = em.createQuery("""
+                            UPDATE Invoice i
+                            SET i.paymentStatus = :paid, i.paymentDate = :paymentDate,
+                                i.lastModified = :paymentDate
+                            WHERE i.invoiceId = :invoiceId
+                              AND i.paymentStatus = :unpaid
+                              AND i.isDeleted = false
+                            """)
+                    .setParameter("paid", Invoice.PaymentStatus.PAID)
+                    .setParameter("unpaid", Invoice.PaymentStatus.UNPAID)
+                    .setParameter("paymentDate", paymentDate)
+                    .setParameter("invoiceId", invoiceId)
+                    .executeUpdate() == 1;
+            refreshIfLoaded(em, Invoice.class, invoiceId);
+            return List.of(invoiceId);
+        });
+        return paid[0];
+    }
+
+    /**
+     * Deletes an unpaid invoice (soft delete) and marks the given collections it
+     * billed as not billed, only if the invoice is still unpaid and not deleted.
+     * The check and the change are a single conditional update, so two concurrent
+     * deletions of the same invoice cannot both succeed.
+     *
+     * @param invoiceId the id of the invoice
+     * @param collectionIds the ids of the collections billed by the invoice
+     * @param when the date of the deletion
+     * @return true if this call deleted the invoice, false otherwise
+     */
+    public boolean markDeleted(final int invoiceId, final List<Integer> collectionIds,
+                               final LocalDateTime when) {
+        boolean[] deleted = new boolean[1];
+        writeInTransaction(em -> {
+            deleted[0] = em.createQuery("""
+                            UPDATE Invoice i
+                            SET i.isDeleted = true, i.lastModified = :when
+                            WHERE i.invoiceId = :invoiceId
+                              AND i.paymentStatus = :unpaid
+                              AND i.isDeleted = false
+                            """)
+                    .setParameter("unpaid", Invoice.PaymentStatus.UNPAID)
+                    .setParameter("when", when)
+                    .setParameter("invoiceId", invoiceId)
+                    .executeUpdate() == 1;
+            if (deleted[0] && !collectionIds.isEmpty()) {
+                em.createQuery("""
+                                UPDATE Collection c SET c.isBilled = false
+                                WHERE c.collectionId IN :ids
+                                """)
+                        .setParameter("ids", collectionIds)
+                        .executeUpdate();
+                markChanged(em, Collection.class);
+                collectionIds.forEach(id -> refreshIfLoaded(em, Collection.class, id));
+            }
+            refreshIfLoaded(em, Invoice.class, invoiceId);
+            return List.of(invoiceId);
+        });
+        return deleted[0];
+    }
+
+    /**
+     * Marks the given collections as billed, only if none of them is billed yet. The
+     * check and the change are a single conditional update, so two invoices created
+     * at the same time cannot bill the same collection: the second one finds fewer
+     * collections to mark and its transaction must be rolled back.
+     *
+     * @param collectionIds the ids of the collections to bill
+     * @return true if this call marked every collection as billed, false if some of
+     * them were already billed
+     */
+    public boolean markCollectionsBilled(final List<Integer> collectionIds) {
+        if (collectionIds.isEmpty()) {
+            return true;
+        }
+        boolean[] billed = new boolean[1];
+        inTransaction(em -> {
+            billed[0] = em.createQuery("""
+                            UPDATE Collection c SET c.isBilled = true
+                            WHERE c.collectionId IN :ids
+                              AND c.isBilled = false
+                            """)
+                    .setParameter("ids", collectionIds)
+                    .executeUpdate() == collectionIds.size();
+            markChanged(em, Collection.class);
+        });
+        return billed[0];
+    }
+
     /**
      * Finds invoices belonging to a given customer.
      *
@@ -35,25 +186,103 @@ public final class InvoiceDAO extends GenericDAO<Invoice> {
      * @return list of invoices for the specified customer
      */
     public List<Invoice> findByCustomer(final Customer customer) {
-        return getEntityManager().createQuery(
+        return withEntityManager(em -> em.createQuery(
                         "SELECT i FROM Invoice i WHERE i.customer = :customer",
                         Invoice.class)
                 .setParameter("customer", customer)
-                .getResultList();
+                .getResultList());
     }
 
     /**
      * Retrieves the most recently modified invoices, ordered by last modification
-     * date descending.
+     * date descending, together with their customers.
      *
      * @return up to {@link #LAST_INVOICES_LIMIT} invoices sorted by last modified
      * date
      */
     public List<Invoice> findLast5InvoicesEvent() {
-        return getEntityManager().createQuery(
+        return withEntityManager(em -> withGraph(em, em.createQuery(
                         "SELECT i FROM Invoice i ORDER BY i.lastModified DESC",
-                        Invoice.class)
+                        Invoice.class), Invoice.GRAPH_WITH_CUSTOMER)
                 .setMaxResults(LAST_INVOICES_LIMIT)
-                .getResultList();
+                .getResultList());
+    }
+
+    /**
+     * Counts invoices with the given payment status.
+     *
+     * @param status the payment status to count
+     * @return the number of invoices with the given payment status
+     */
+    public int countByPaymentStatus(final Invoice.PaymentStatus status) {
+        return withEntityManager(em -> em.createQuery(
+                        "SELECT COUNT(i) FROM Invoice i WHERE i.paymentStatus = :status",
+                        Long.class)
+                .setParameter("status", status)
+                .getSingleResult()
+                .intValue());
+    }
+
+    /**
+     * Finds, in id order, the ids of the invoices not deleted issued in the given
+     * period, as needed to export them in bulk.
+     *
+     * @param from the start of the period, inclusive
+     * @param to the end of the period, exclusive
+     * @return the ids of the invoices issued in the period, in ascending order
+     */
+    public List<Integer> findIdsIssuedBetween(final LocalDateTime from,
+                                              final LocalDateTime to) {
+        final String jpql = """
+                SELECT i.invoiceId
+                FROM Invoice i
+                WHERE i.issueDate >= :from
+                  AND i.issueDate < :to
+                  AND i.isDeleted = false
+                ORDER BY i.invoiceId
+                """;
+
+        return withEntityManager(em -> em.createQuery(jpql, Integer.class)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList());
+    }
+
+    /**
+     * Retrieves, with a single query, the given invoices together with what is
+     * needed to print them.
+     *
+     * @param invoiceIds the ids of the invoices
+     * @return the invoices found, in id order
+     */
+    public List<Invoice> findForPdf(final List<Integer> invoiceIds) {
+        if (invoiceIds.isEmpty()) {
+            return List.of();
+        }
+        return withEntityManager(em -> withGraph(em, em.createQuery(
+                        "SELECT i FROM Invoice i WHERE i.invoiceId IN :ids "
+                                + "ORDER BY i.invoiceId", Invoice.class),
+                Invoice.GRAPH_FOR_PDF)
+                .setParameter("ids", invoiceIds)
+                .getResultList());
+    }
+
+    /**
+     * Formats a non-negative amount of cents the way {@link Money#format(long)}
+     * does, such as {@code 1250} as {@code 12.50}, within the query.
+     *
+     * @param cb the criteria builder of the query
+     * @param cents the expression of the amount, in cents
+     * @return the expression of the formatted amount
+     */
+    private static Expression<String> formatCents(final CriteriaBuilder cb,
+                                                  final Expression<Long> cents) {
+        Expression<Long> centsPart = cb.function("mod", Long.class, cents,
+                cb.literal(Money.CENTS_PER_EURO));
+        Expression<String> euros = cb.quot(cb.diff(cents, centsPart),
+                Money.CENTS_PER_EURO).as(Long.class).as(String.class);
+        Expression<String> fraction = cb.substring(
+                cb.sum(centsPart, Money.CENTS_PER_EURO).as(String.class), 2);
+        return cb.concat(cb.concat(euros, "."), fraction);
     }
 }
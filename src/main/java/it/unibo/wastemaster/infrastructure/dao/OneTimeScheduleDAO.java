@@ -2,6 +2,7 @@ package it.unibo.wastemaster.infrastructure.dao;
 
 import it.unibo.wastemaster.domain.model.OneTimeSchedule;
 import jakarta.persistence.EntityManager;
+import java.util.function.Supplier;
 
 /**
  * DAO for {@link OneTimeSchedule} entity operations.
@@ -16,4 +17,14 @@ public class OneTimeScheduleDAO extends GenericDAO<OneTimeSchedule> {
     public OneTimeScheduleDAO(final EntityManager entityManager) {
         super(entityManager, OneTimeSchedule.class);
     }
+
+    /**
+     * Constructs a OneTimeScheduleDAO whose entity manager is resolved through the given
+     * supplier, typically the current unit of work.
+     *
+     * @param entityManagerSupplier the supplier of the current entity manager
+     */
+    public OneTimeScheduleDAO(final Supplier<EntityManager> entityManagerSupplier) {
+        super(entityManagerSupplier, OneTimeSchedule.class);
+    }
 }
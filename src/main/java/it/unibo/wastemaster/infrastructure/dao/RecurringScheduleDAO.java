@@ -2,10 +2,14 @@ package it.unibo.wastemaster.infrastructure.dao;
 
 import it.unibo.wastemaster.domain.model.Customer;
 import it.unibo.wastemaster.domain.model.RecurringSchedule;
+import it.unibo.wastemaster.domain.model.Schedule;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.TypedQuery;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * DAO for {@link RecurringSchedule} entities.
@@ -21,6 +25,16 @@ public final class RecurringScheduleDAO extends GenericDAO<RecurringSchedule> {
         super(entityManager, RecurringSchedule.class);
     }
 
+    /**
+     * Constructs a RecurringScheduleDAO whose entity manager is resolved through
+     * the given supplier, typically the current unit of work.
+     *
+     * @param entityManagerSupplier the supplier of the current entity manager
+     */
+    public RecurringScheduleDAO(final Supplier<EntityManager> entityManagerSupplier) {
+        super(entityManagerSupplier, RecurringSchedule.class);
+    }
+
     /**
      * Finds active schedules that have no future collections.
      *
@@ -35,8 +49,8 @@ public final class RecurringScheduleDAO extends GenericDAO<RecurringSchedule> {
                     SELECT 1 FROM Collection c
                     WHERE c.schedule = rs AND c.date > :currentDate )
                 """;
-        return getEntityManager().createQuery(jpql, RecurringSchedule.class)
-                .setParameter("currentDate", currentDate).getResultList();
+        return withEntityManager(em -> em.createQuery(jpql, RecurringSchedule.class)
+                .setParameter("currentDate", currentDate).getResultList());
     }
 
     /**
@@ -51,8 +65,127 @@ public final class RecurringScheduleDAO extends GenericDAO<RecurringSchedule> {
                 WHERE rs.status = 'ACTIVE'
                 AND rs.nextCollectionDate < :currentDate
                 """;
-        return getEntityManager().createQuery(jpql, RecurringSchedule.class)
-                .setParameter("currentDate", currentDate).getResultList();
+        return withEntityManager(em -> em.createQuery(jpql, RecurringSchedule.class)
+                .setParameter("currentDate", currentDate).getResultList());
+    }
+
+    /**
+     * Finds a chunk of active schedules whose next collection date is before the
+     * given day, ordered by id and starting after the given id, with their customer
+     * and waste. The schedules stay locked until the end of the current
+     * transaction, so two workstations never roll the same schedule over.
+     *
+     * @param today the reference day
+     * @param afterId the id after which the chunk starts, 0 for the first chunk
+     * @param limit the maximum number of schedules to return
+     * @return the schedules of the chunk
+     */
+    public List<RecurringSchedule> findOverdueAfter(final LocalDate today,
+                                                    final int afterId,
+                                                    final int limit) {
+        String jpql = """
+                SELECT rs FROM RecurringSchedule rs
+                WHERE rs.status = :active
+                AND rs.nextCollectionDate < :today
+                AND rs.id > :afterId
+                ORDER BY rs.id
+                """;
+        return withEntityManager(em -> lockAndLoad(em,
+                em.createQuery(jpql, RecurringSchedule.class)
+                        .setParameter("active", Schedule.ScheduleStatus.ACTIVE)
+                        .setParameter("today", today)
+                        .setParameter("afterId", afterId)
+                        .setMaxResults(limit)));
+    }
+
+    /**
+     * Finds a chunk of active schedules whose collections are not materialized far
+     * enough to cover one more occurrence before the end of the horizon, ordered by
+     * id and starting after the given id, with their customer and waste. Schedules
+     * never materialized are always included. The schedules stay locked until the
+     * end of the current transaction, so two workstations never top up the same
+     * schedule.
+     *
+     * @param weeklyBefore the last materialized day from which a weekly schedule
+     * needs topping up
+     * @param monthlyBefore the last materialized day from which a monthly schedule
+     * needs topping up
+     * @param afterId the id after which the chunk starts, 0 for the first chunk
+     * @param limit the maximum number of schedules to return
+     * @return the schedules of the chunk
+     */
+    public List<RecurringSchedule> findToTopUpAfter(final LocalDate weeklyBefore,
+                                                    final LocalDate monthlyBefore,
+                                                    final int afterId,
+                                                    final int limit) {
+        String jpql = """
+                SELECT rs FROM RecurringSchedule rs
+                WHERE rs.status = :active
+                AND rs.nextCollectionDate IS NOT NULL
+                AND rs.id > :afterId
+                AND (rs.materializedUntil IS NULL
+                    OR (rs.frequency = :weekly AND rs.materializedUntil <= :weeklyBefore)
+                    OR (rs.frequency = :monthly
+                        AND rs.materializedUntil <= :monthlyBefore))
+                ORDER BY rs.id
+                """;
+        return withEntityManager(em -> lockAndLoad(em,
+                em.createQuery(jpql, RecurringSchedule.class)
+                        .setParameter("active", Schedule.ScheduleStatus.ACTIVE)
+                        .setParameter("afterId", afterId)
+                        .setParameter("weekly", RecurringSchedule.Frequency.WEEKLY)
+                        .setParameter("weeklyBefore", weeklyBefore)
+                        .setParameter("monthly", RecurringSchedule.Frequency.MONTHLY)
+                        .setParameter("monthlyBefore", monthlyBefore)
+                        .setMaxResults(limit)));
+    }
+
+    /**
+     * Finds the schedules with the given ids, with their customer and waste, and
+     * locks them until the end of the current transaction.
+     *
+     * @param ids the ids of the schedules
+     * @return the schedules found, ordered by id
+     */
+    public List<RecurringSchedule> findByIds(final Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String jpql = """
+                SELECT rs FROM RecurringSchedule rs
+                WHERE rs.id IN :ids
+                ORDER BY rs.id
+                """;
+        return withEntityManager(em -> lockAndLoad(em,
+                em.createQuery(jpql, RecurringSchedule.class)
+                        .setParameter("ids", ids)));
+    }
+
+    /**
+     * Locks the schedules selected by the given query, ordered by id, until the end
+     * of the current transaction, then loads their customer and waste with a second
+     * query. The lock is taken on the schedule rows alone, so customers and wastes
+     * stay writable; a caller waiting for it reads the schedules as committed by the
+     * transaction that held it, and skips those that no longer match.
+     */
+    private List<RecurringSchedule> lockAndLoad(
+            final EntityManager em, final TypedQuery<RecurringSchedule> query) {
+        List<Integer> ids = query.setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList().stream()
+                .map(RecurringSchedule::getScheduleId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String jpql = """
+                SELECT rs FROM RecurringSchedule rs
+                WHERE rs.id IN :ids
+                ORDER BY rs.id
+                """;
+        return withGraph(em, em.createQuery(jpql, RecurringSchedule.class),
+                Schedule.GRAPH_WITH_CUSTOMER)
+                .setParameter("ids", ids)
+                .getResultList();
     }
 
     /**
@@ -63,9 +196,12 @@ public final class RecurringScheduleDAO extends GenericDAO<RecurringSchedule> {
      */
     public List<RecurringSchedule> findSchedulesByCustomer(final Customer customer) {
         String jpql = "SELECT s FROM Schedule s WHERE s.customer = :customer";
-        TypedQuery<RecurringSchedule> query =
-                getEntityManager().createQuery(jpql, RecurringSchedule.class);
-        query.setParameter("customer", customer);
-        return query.getResultList();
+        return withEntityManager(em -> {
+            TypedQuery<RecurringSchedule> query = withGraph(em,
+                    em.createQuery(jpql, RecurringSchedule.class),
+                    Schedule.GRAPH_WITH_CUSTOMER);
+            query.setParameter("customer", customer);
+            return query.getResultList();
+        });
     }
 }
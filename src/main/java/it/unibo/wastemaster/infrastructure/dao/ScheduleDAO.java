@@ -2,6 +2,7 @@ package it.unibo.wastemaster.infrastructure.dao;
 
 import it.unibo.wastemaster.domain.model.Schedule;
 import jakarta.persistence.EntityManager;
+import java.util.function.Supplier;
 
 /**
  * DAO class for managing Schedule entities.
@@ -16,4 +17,14 @@ public class ScheduleDAO extends GenericDAO<Schedule> {
     public ScheduleDAO(final EntityManager entityManager) {
         super(entityManager, Schedule.class);
     }
+
+    /**
+     * Constructs a ScheduleDAO whose entity manager is resolved through the given
+     * supplier, typically the current unit of work.
+     *
+     * @param entityManagerSupplier the supplier of the current entity manager
+     */
+    public ScheduleDAO(final Supplier<EntityManager> entityManagerSupplier) {
+        super(entityManagerSupplier, Schedule.class);
+    }
 }
@@ -0,0 +1,45 @@
+package it.unibo.wastemaster.infrastructure.dao;
+
+import it.unibo.wastemaster.domain.model.Tariff;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * DAO for managing Tariff entities.
+ */
+public final class TariffDAO extends GenericDAO<Tariff> {
+
+    /**
+     * Constructs a TariffDAO with the given entity manager.
+     *
+     * @param entityManager the EntityManager to use
+     */
+    public TariffDAO(final EntityManager entityManager) {
+        super(entityManager, Tariff.class);
+    }
+
+    /**
+     * Constructs a TariffDAO whose entity manager is resolved through the given
+     * supplier, typically the current unit of work.
+     *
+     * @param entityManagerSupplier the supplier of the current entity manager
+     */
+    public TariffDAO(final Supplier<EntityManager> entityManagerSupplier) {
+        super(entityManagerSupplier, Tariff.class);
+    }
+
+    /**
+     * Retrieves all tariffs with their waste, in insertion order.
+     *
+     * @return the list of all tariffs
+     */
+    public List<Tariff> findAllWithWaste() {
+        return withEntityManager(em -> em.createQuery("""
+                    SELECT t FROM Tariff t
+                    LEFT JOIN FETCH t.waste
+                    ORDER BY t.tariffId
+                """, Tariff.class)
+                .getResultList());
+    }
+}
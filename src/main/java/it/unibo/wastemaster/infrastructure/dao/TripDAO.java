@@ -1,13 +1,26 @@
 package it.unibo.wastemaster.infrastructure.dao;
 
+import it.unibo.wastemaster.domain.model.Collection;
 import it.unibo.wastemaster.domain.model.Collection.CollectionStatus;
 import it.unibo.wastemaster.domain.model.Employee;
 import it.unibo.wastemaster.domain.model.Trip;
 import it.unibo.wastemaster.domain.model.Vehicle;
+import it.unibo.wastemaster.domain.repository.TripSlot;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import org.hibernate.jpa.HibernateHints;
 
 /**
  * DAO class for managing {@link Trip} entities.
@@ -32,6 +45,46 @@ public final class TripDAO extends GenericDAO<Trip> {
         super(entityManager, Trip.class);
     }
 
+    /**
+     * Constructs a TripDAO whose entity manager is resolved through the given
+     * supplier, typically the current unit of work.
+     *
+     * @param entityManagerSupplier the supplier of the current entity manager
+     */
+    public TripDAO(final Supplier<EntityManager> entityManagerSupplier) {
+        super(entityManagerSupplier, Trip.class);
+    }
+
+    /**
+     * Finds a trip with everything the trip actions work on: its vehicle, its
+     * operators with their location, and its collections with their customer,
+     * schedule and waste. The operators and the collections are both lists, which
+     * cannot be fetched by the same query, so the collections are fetched by a
+     * second query in the same unit of work, filling the trip already loaded.
+     *
+     * @param tripId the id of the trip
+     * @return the trip, or empty if not found
+     */
+    public Optional<Trip> findWithCrewAndStops(final int tripId) {
+        final String jpql = """
+                SELECT t FROM Trip t
+                LEFT JOIN FETCH t.collections c
+                LEFT JOIN FETCH c.customer cu
+                LEFT JOIN FETCH cu.location
+                LEFT JOIN FETCH c.schedule
+                LEFT JOIN FETCH c.waste
+                WHERE t.tripId = :tripId
+                """;
+
+        return withEntityManager(em -> {
+            Optional<Trip> trip = findById(tripId, Trip.GRAPH_WITH_CREW);
+            trip.ifPresent(t -> em.createQuery(jpql, Trip.class)
+                    .setParameter("tripId", tripId)
+                    .getResultList());
+            return trip;
+        });
+    }
+
     /**
      * Finds vehicles available for a prospective trip time window.
      * A vehicle is available if it is in service, not due for maintenance
@@ -55,13 +108,198 @@ public final class TripDAO extends GenericDAO<Trip> {
                 + "      AND t.expectedReturnTime > :tripStart "
                 + ")";
 
-        return getEntityManager().createQuery(jpql, Vehicle.class)
+        return withEntityManager(em -> em.createQuery(jpql, Vehicle.class)
                 .setParameter("inService", Vehicle.VehicleStatus.IN_SERVICE)
                 .setParameter("active", Trip.TripStatus.ACTIVE)
                 .setParameter("tripStart", start)
                 .setParameter("tripEnd", end)
                 .setParameter("tripEndDate", end.toLocalDate())
-                .getResultList();
+                .getResultList());
+    }
+
+    /**
+     * Finds the vehicles that can be assigned to a trip ending on the given day:
+     * those in service and not due for maintenance by then. Whether they are busy
+     * with another trip is not checked. The result is served from the query cache.
+     *
+     * @param tripEndDate the day the trip ends
+     * @return list of vehicles in service
+     */
+    public List<Vehicle> findVehiclesInService(final LocalDate tripEndDate) {
+        final String jpql = """
+                SELECT v FROM Vehicle v
+                WHERE v.vehicleStatus = :inService
+                  AND (v.nextMaintenanceDate IS NULL
+                      OR v.nextMaintenanceDate > :tripEndDate)
+                """;
+
+        return withEntityManager(em -> em.createQuery(jpql, Vehicle.class)
+                .setParameter("inService", Vehicle.VehicleStatus.IN_SERVICE)
+                .setParameter("tripEndDate", tripEndDate)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .getResultList());
+    }
+
+    /**
+     * Finds all employees with role {@link Employee.Role#OPERATOR}, whether they
+     * are busy with a trip or not.
+     *
+     * @return list of operators
+     */
+    public List<Employee> findOperators() {
+        final String jpql = "SELECT e FROM Employee e WHERE e.role = :operatorRole";
+        return withEntityManager(em -> em.createQuery(jpql, Employee.class)
+                .setParameter("operatorRole", Employee.Role.OPERATOR)
+                .getResultList());
+    }
+
+    /**
+     * Reads the time window, vehicle and operators of every
+     * {@link Trip.TripStatus#ACTIVE} trip as plain values, with one query for the
+     * trips and one for their operators, without loading any entity.
+     *
+     * @return the slots of the active trips
+     */
+    public List<TripSlot> findActiveTripSlots() {
+        final String tripsJpql = """
+                SELECT t.tripId, v.vehicleId, t.departureTime, t.expectedReturnTime
+                FROM Trip t LEFT JOIN t.assignedVehicle v
+                WHERE t.status = :active
+                """;
+        final String operatorsJpql = """
+                SELECT t.tripId, o.employeeId
+                FROM Trip t JOIN t.operators o
+                WHERE t.status = :active
+                """;
+
+        return withEntityManager(em -> {
+            Map<Integer, Set<Integer>> operators = new HashMap<>();
+            em.createQuery(operatorsJpql, Object[].class)
+                    .setParameter("active", Trip.TripStatus.ACTIVE)
+                    .getResultList()
+                    .forEach(row -> operators.computeIfAbsent((Integer) row[0],
+                            id -> new HashSet<>()).add((Integer) row[1]));
+            return em.createQuery(tripsJpql, Object[].class)
+                    .setParameter("active", Trip.TripStatus.ACTIVE)
+                    .getResultList().stream()
+                    .map(row -> new TripSlot((Integer) row[0], (Integer) row[1],
+                            operators.getOrDefault((Integer) row[0], Set.of()),
+                            (LocalDateTime) row[2], (LocalDateTime) row[3]))
+                    .toList();
+        });
+    }
+
+    /**
+     * Tells whether the vehicles and operators of the given trips are free in the
+     * time window of their trip, reading the active trips from the database. The
+     * vehicles and then the operators are locked first, in id order, and the
+     * overlapping trips are read with a lock as well: transactions booking the same
+     * vehicle or operator run one after the other, and each sees the trips written
+     * by the previous one. Must be called inside a transaction, which holds the
+     * locks until it ends.
+     *
+     * @param trips the trips about to be written; the saved ones are not checked
+     * against themselves
+     * @return true if no other active trip overlapping one of the trips uses its
+     * vehicle or one of its operators
+     */
+    public boolean areCrewAndVehicleFree(final List<Trip> trips) {
+        final String overlapping = """
+                SELECT t FROM Trip t
+                WHERE t.status = :active
+                  AND t.departureTime < :tripEnd
+                  AND t.expectedReturnTime > :tripStart
+                  AND t.tripId <> :tripId
+                """;
+        final String byVehicle = overlapping + " AND t.assignedVehicle.vehicleId IN :ids";
+        final String byOperators = overlapping + """
+                 AND EXISTS (
+                      SELECT 1 FROM Trip o JOIN o.operators e
+                      WHERE o = t AND e.employeeId IN :ids
+                  )
+                """;
+
+        return withEntityManager(em -> {
+            Set<Integer> vehicleIds = new TreeSet<>();
+            Set<Integer> employeeIds = new TreeSet<>();
+            for (Trip trip : trips) {
+                if (trip.getAssignedVehicle() != null) {
+                    vehicleIds.add(trip.getAssignedVehicle().getVehicleId());
+                }
+                employeeIds.addAll(operatorIds(trip));
+            }
+            lock(em, "SELECT v FROM Vehicle v WHERE v.vehicleId IN :ids "
+                    + "ORDER BY v.vehicleId", Vehicle.class, vehicleIds);
+            lock(em, "SELECT e FROM Employee e WHERE e.employeeId IN :ids "
+                    + "ORDER BY e.employeeId", Employee.class, employeeIds);
+            for (Trip trip : trips) {
+                if (trip.getAssignedVehicle() != null && overlaps(em, byVehicle, trip,
+                        Set.of(trip.getAssignedVehicle().getVehicleId()))) {
+                    return false;
+                }
+                Set<Integer> ids = operatorIds(trip);
+                if (!ids.isEmpty() && overlaps(em, byOperators, trip, ids)) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+
+    private static Set<Integer> operatorIds(final Trip trip) {
+        Set<Integer> ids = new TreeSet<>();
+        if (trip.getOperators() != null) {
+            trip.getOperators().forEach(e -> ids.add(e.getEmployeeId()));
+        }
+        return ids;
+    }
+
+    private static boolean overlaps(final EntityManager em, final String jpql,
+                                    final Trip trip, final Set<Integer> ids) {
+        return !em.createQuery(jpql, Trip.class)
+                .setParameter("ids", ids)
+                .setParameter("active", Trip.TripStatus.ACTIVE)
+                .setParameter("tripStart", trip.getDepartureTime())
+                .setParameter("tripEnd", trip.getExpectedReturnTime())
+                .setParameter("tripId", Objects.requireNonNullElse(trip.getTripId(), 0))
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList().isEmpty();
+    }
+
+    private static <E> void lock(final EntityManager em, final String jpql,
+                                 final Class<E> type, final Set<Integer> ids) {
+        if (!ids.isEmpty()) {
+            em.createQuery(jpql, type)
+                    .setParameter("ids", ids)
+                    .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                    .getResultList();
+        }
+    }
+
+    /**
+     * Inserts all the given trips and links each of them to its collections in a
+     * single transaction, so that a planned day is saved entirely or not at all.
+     * The collection updates are flushed together, as one JDBC batch.
+     *
+     * @param trips the trips to insert, with their collections
+     */
+    public void insertAllWithCollections(final List<Trip> trips) {
+        if (trips == null || trips.isEmpty()) {
+            return;
+        }
+        writeInTransaction(em -> {
+            List<Object> ids = new ArrayList<>(trips.size());
+            for (Trip trip : trips) {
+                ids.add(idOf(em, persistEntity(em, trip)));
+                for (Collection collection : trip.getCollections()) {
+                    collection.setTrip(trip);
+                    em.merge(collection);
+                }
+            }
+            markChanged(em, Collection.class);
+            em.flush();
+            return ids;
+        });
     }
 
     /**
@@ -72,9 +310,9 @@ public final class TripDAO extends GenericDAO<Trip> {
      */
     public List<Trip> findByOperator(final Employee operator) {
         final String jpql = "SELECT t FROM Trip t JOIN t.operators o WHERE o = :operator";
-        return getEntityManager().createQuery(jpql, Trip.class)
+        return withEntityManager(em -> em.createQuery(jpql, Trip.class)
                 .setParameter("operator", operator)
-                .getResultList();
+                .getResultList());
     }
 
     /**
@@ -99,12 +337,12 @@ public final class TripDAO extends GenericDAO<Trip> {
                   )
                 """;
 
-        return getEntityManager().createQuery(jpql, Employee.class)
+        return withEntityManager(em -> em.createQuery(jpql, Employee.class)
                 .setParameter("active", Trip.TripStatus.ACTIVE)
                 .setParameter("tripStart", start)
                 .setParameter("tripEnd", end)
                 .setParameter("operatorRole", Employee.Role.OPERATOR)
-                .getResultList();
+                .getResultList());
     }
 
     /**
@@ -134,13 +372,13 @@ public final class TripDAO extends GenericDAO<Trip> {
                   )
                 """;
 
-        return getEntityManager().createQuery(jpql, Employee.class)
+        return withEntityManager(em -> em.createQuery(jpql, Employee.class)
                 .setParameter("active", Trip.TripStatus.ACTIVE)
                 .setParameter("tripStart", start)
                 .setParameter("tripEnd", end)
                 .setParameter("operatorRole", Employee.Role.OPERATOR)
                 .setParameter("currentTripId", tripToEdit.getTripId())
-                .getResultList();
+                .getResultList());
     }
 
     /**
@@ -163,23 +401,24 @@ public final class TripDAO extends GenericDAO<Trip> {
                   AND c.collectionStatus = :toBeScheduled
                 """;
 
-        return getEntityManager().createQuery(jpql, String.class)
+        return withEntityManager(em -> em.createQuery(jpql, String.class)
                 .setParameter("date", date)
                 .setParameter("toBeScheduled", CollectionStatus.ACTIVE)
-                .getResultList();
+                .getResultList());
     }
 
     /**
      * Fetches the most recently modified trips, ordered by {@code lastModified}
-     * descending.
+     * descending, together with their assigned vehicles.
      *
      * @return up to {@link #LAST_MODIFIED_LIMIT} most recently modified trips
      */
     public List<Trip> findLast5Modified() {
-        return getEntityManager().createQuery(
-                        "SELECT t FROM Trip t ORDER BY t.lastModified DESC", Trip.class)
+        return withEntityManager(em -> withGraph(em, em.createQuery(
+                        "SELECT t FROM Trip t ORDER BY t.lastModified DESC", Trip.class),
+                Trip.GRAPH_WITH_VEHICLE)
                 .setMaxResults(LAST_MODIFIED_LIMIT)
-                .getResultList();
+                .getResultList());
     }
 
     /**
@@ -189,9 +428,9 @@ public final class TripDAO extends GenericDAO<Trip> {
      */
     public int countCompleted() {
         final String jpql = "SELECT COUNT(t) FROM Trip t WHERE t.status = :status";
-        return getEntityManager().createQuery(jpql, Long.class)
+        return withEntityManager(em -> em.createQuery(jpql, Long.class)
                 .setParameter("status", Trip.TripStatus.COMPLETED)
                 .getSingleResult()
-                .intValue();
+                .intValue());
     }
 }
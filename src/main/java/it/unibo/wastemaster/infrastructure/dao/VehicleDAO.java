@@ -5,6 +5,8 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
+import org.hibernate.jpa.HibernateHints;
 
 /**
  * DAO for managing Vehicle entities.
@@ -20,6 +22,16 @@ public final class VehicleDAO extends GenericDAO<Vehicle> {
         super(entityManager, Vehicle.class);
     }
 
+    /**
+     * Constructs a VehicleDAO whose entity manager is resolved through the given
+     * supplier, typically the current unit of work.
+     *
+     * @param entityManagerSupplier the supplier of the current entity manager
+     */
+    public VehicleDAO(final Supplier<EntityManager> entityManagerSupplier) {
+        super(entityManagerSupplier, Vehicle.class);
+    }
+
     /**
      * Finds a vehicle by its plate.
      *
@@ -27,16 +39,19 @@ public final class VehicleDAO extends GenericDAO<Vehicle> {
      * @return an Optional containing the Vehicle if found, or an empty Optional otherwise
      */
     public Optional<Vehicle> findByPlate(final String plate) {
-        try {
-            Vehicle vehicle = getEntityManager()
-                    .createQuery("SELECT v FROM Vehicle v WHERE v.plate = :plate",
-                            Vehicle.class)
-                    .setParameter("plate", plate)
-                    .getSingleResult();
-            return Optional.of(vehicle);
-        } catch (NoResultException e) {
-            return Optional.empty();
-        }
+        return withEntityManager(em -> {
+            try {
+                Vehicle vehicle = em
+                        .createQuery("SELECT v FROM Vehicle v WHERE v.plate = :plate",
+                                Vehicle.class)
+                        .setParameter("plate", plate)
+                        .setHint(HibernateHints.HINT_CACHEABLE, true)
+                        .getSingleResult();
+                return Optional.of(vehicle);
+            } catch (NoResultException e) {
+                return Optional.empty();
+            }
+        });
     }
 
     /**
@@ -46,10 +61,12 @@ public final class VehicleDAO extends GenericDAO<Vehicle> {
      * @return list of vehicles matching the status
      */
     public List<Vehicle> findByStatus(final Vehicle.VehicleStatus status) {
-        return getEntityManager()
+        return withEntityManager(em -> em
                 .createQuery("SELECT v FROM Vehicle v WHERE v.vehicleStatus = :status",
                         Vehicle.class)
-                .setParameter("status", status).getResultList();
+                .setParameter("status", status)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .getResultList());
     }
 
     /**
@@ -58,8 +75,10 @@ public final class VehicleDAO extends GenericDAO<Vehicle> {
      * @return list of all vehicles
      */
     public List<Vehicle> getAllVehicles() {
-        return getEntityManager().createQuery("SELECT v FROM Vehicle v", Vehicle.class)
-                .getResultList();
+        return withEntityManager(em -> em
+                .createQuery("SELECT v FROM Vehicle v", Vehicle.class)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .getResultList());
     }
 
     /**
@@ -68,7 +87,9 @@ public final class VehicleDAO extends GenericDAO<Vehicle> {
      * @return list of all vehicles with full details
      */
     public List<Vehicle> findVehicleDetails() {
-        return getEntityManager().createQuery("SELECT v FROM Vehicle v", Vehicle.class)
-                .getResultList();
+        return withEntityManager(em -> em
+                .createQuery("SELECT v FROM Vehicle v", Vehicle.class)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .getResultList());
     }
 }
@@ -3,6 +3,8 @@ package it.unibo.wastemaster.infrastructure.dao;
 import it.unibo.wastemaster.domain.model.Waste;
 import jakarta.persistence.EntityManager;
 import java.util.List;
+import java.util.function.Supplier;
+import org.hibernate.jpa.HibernateHints;
 
 /**
  * DAO for managing Waste entities.
@@ -18,6 +20,16 @@ public final class WasteDAO extends GenericDAO<Waste> {
         super(entityManager, Waste.class);
     }
 
+    /**
+     * Constructs a WasteDAO whose entity manager is resolved through the given
+     * supplier, typically the current unit of work.
+     *
+     * @param entityManagerSupplier the supplier of the current entity manager
+     */
+    public WasteDAO(final Supplier<EntityManager> entityManagerSupplier) {
+        super(entityManagerSupplier, Waste.class);
+    }
+
     /**
      * Checks whether a non-deleted waste with the given name exists.
      *
@@ -25,9 +37,12 @@ public final class WasteDAO extends GenericDAO<Waste> {
      * @return true if a non-deleted waste with that name exists, false otherwise
      */
     public boolean existsByName(final String name) {
-        return getEntityManager().createQuery(
+        return withEntityManager(em -> em.createQuery(
                 "SELECT COUNT(w) FROM Waste w WHERE w.name = :name AND w.deleted = false",
-                Long.class).setParameter("name", name).getSingleResult() > 0;
+                Long.class)
+                .setParameter("name", name)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .getSingleResult()) > 0;
     }
 
     /**
@@ -36,9 +51,11 @@ public final class WasteDAO extends GenericDAO<Waste> {
      * @return list of active (non-deleted) wastes
      */
     public List<Waste> findActiveWastes() {
-        return getEntityManager().createQuery("""
+        return withEntityManager(em -> em.createQuery("""
                     SELECT w FROM Waste w
                     WHERE w.deleted = false
-                """, Waste.class).getResultList();
+                """, Waste.class)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .getResultList());
     }
 }
@@ -4,7 +4,10 @@ import it.unibo.wastemaster.domain.model.Waste;
 import it.unibo.wastemaster.domain.model.WasteSchedule;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Supplier;
+import org.hibernate.jpa.HibernateHints;
 
 /**
  * DAO for managing WasteSchedule entities.
@@ -20,6 +23,16 @@ public final class WasteScheduleDAO extends GenericDAO<WasteSchedule> {
         super(entityManager, WasteSchedule.class);
     }
 
+    /**
+     * Constructs a WasteScheduleDAO whose entity manager is resolved through the given
+     * supplier, typically the current unit of work.
+     *
+     * @param entityManagerSupplier the supplier of the current entity manager
+     */
+    public WasteScheduleDAO(final Supplier<EntityManager> entityManagerSupplier) {
+        super(entityManagerSupplier, WasteSchedule.class);
+    }
+
     /**
      * Finds the schedule associated with the given waste.
      *
@@ -27,16 +40,36 @@ public final class WasteScheduleDAO extends GenericDAO<WasteSchedule> {
      * @return the WasteSchedule if found, or null otherwise
      */
     public WasteSchedule findSchedulebyWaste(final Waste waste) {
-        TypedQuery<WasteSchedule> query = getEntityManager().createQuery(
-                "SELECT ws FROM WasteSchedule ws WHERE ws.waste.name = :wasteName",
-                WasteSchedule.class);
-        query.setParameter("wasteName", waste.getWasteName());
-
-        List<WasteSchedule> result = query.setMaxResults(1).getResultList();
+        List<WasteSchedule> result = withEntityManager(em -> {
+            TypedQuery<WasteSchedule> query = em.createQuery(
+                    "SELECT ws FROM WasteSchedule ws WHERE ws.waste.name = :wasteName",
+                    WasteSchedule.class);
+            query.setParameter("wasteName", waste.getWasteName());
+            query.setHint(HibernateHints.HINT_CACHEABLE, true);
+            return query.setMaxResults(1).getResultList();
+        });
         if (result.isEmpty()) {
             return null;
         } else {
             return result.get(0);
         }
     }
+
+    /**
+     * Finds the schedules of the given wastes, with their waste, in one query.
+     *
+     * @param wastes the wastes to look up
+     * @return the schedules found, at most one per waste
+     */
+    public List<WasteSchedule> findSchedulesByWastes(final Collection<Waste> wastes) {
+        if (wastes.isEmpty()) {
+            return List.of();
+        }
+        return withEntityManager(em -> em.createQuery("""
+                        SELECT ws FROM WasteSchedule ws JOIN FETCH ws.waste w
+                        WHERE w IN :wastes
+                        """, WasteSchedule.class)
+                .setParameter("wastes", wastes)
+                .getResultList());
+    }
 }
@@ -1,24 +1,43 @@
 package it.unibo.wastemaster.infrastructure.di;
 
+import it.unibo.wastemaster.domain.event.DomainEvent;
+import it.unibo.wastemaster.domain.event.DomainEventBus;
 import it.unibo.wastemaster.domain.factory.CollectionFactory;
 import it.unibo.wastemaster.domain.factory.CollectionFactoryImpl;
+import it.unibo.wastemaster.domain.model.Customer;
+import it.unibo.wastemaster.domain.model.Employee;
+import it.unibo.wastemaster.domain.model.Invoice;
 import it.unibo.wastemaster.domain.model.Location;
+import it.unibo.wastemaster.domain.model.OneTimeSchedule;
+import it.unibo.wastemaster.domain.model.RecurringSchedule;
+import it.unibo.wastemaster.domain.model.Schedule;
+import it.unibo.wastemaster.domain.model.Tariff;
+import it.unibo.wastemaster.domain.model.Trip;
+import it.unibo.wastemaster.domain.model.Vehicle;
+import it.unibo.wastemaster.domain.model.Waste;
+import it.unibo.wastemaster.domain.model.WasteSchedule;
 import it.unibo.wastemaster.domain.repository.impl.AccountRepositoryImpl;
+import it.unibo.wastemaster.domain.repository.impl.ChangeVersionRepositoryImpl;
 import it.unibo.wastemaster.domain.repository.impl.CollectionRepositoryImpl;
+import it.unibo.wastemaster.domain.repository.impl.CustomerBalanceRepositoryImpl;
 import it.unibo.wastemaster.domain.repository.impl.CustomerRepositoryImpl;
 import it.unibo.wastemaster.domain.repository.impl.EmployeeRepositoryImpl;
 import it.unibo.wastemaster.domain.repository.impl.InvoiceRepositoryImpl;
 import it.unibo.wastemaster.domain.repository.impl.OneTimeScheduleRepositoryImpl;
 import it.unibo.wastemaster.domain.repository.impl.RecurringScheduleRepositoryImpl;
 import it.unibo.wastemaster.domain.repository.impl.ScheduleRepositoryImpl;
+import it.unibo.wastemaster.domain.repository.impl.TariffRepositoryImpl;
 import it.unibo.wastemaster.domain.repository.impl.TripRepositoryImpl;
 import it.unibo.wastemaster.domain.repository.impl.VehicleRepositoryImpl;
 import it.unibo.wastemaster.domain.repository.impl.WasteRepositoryImpl;
 import it.unibo.wastemaster.domain.repository.impl.WasteScheduleRepositoryImpl;
 import it.unibo.wastemaster.domain.service.AccountManager;
+import it.unibo.wastemaster.domain.service.BillingRun;
+import it.unibo.wastemaster.domain.service.ChangeVersionPoller;
 import it.unibo.wastemaster.domain.service.CollectionManager;
 import it.unibo.wastemaster.domain.service.CustomerManager;
 import it.unibo.wastemaster.domain.service.EmployeeManager;
+import it.unibo.wastemaster.domain.service.GlobalSearchService;
 import it.unibo.wastemaster.domain.service.InvoiceManager;
 import it.unibo.wastemaster.domain.service.LoginManager;
 import it.unibo.wastemaster.domain.service.NotificationManager;
@@ -26,12 +45,18 @@ import it.unibo.wastemaster.domain.service.NotificationService;
 import it.unibo.wastemaster.domain.service.OneTimeScheduleManager;
 import it.unibo.wastemaster.domain.service.RecurringScheduleManager;
 import it.unibo.wastemaster.domain.service.ScheduleManager;
+import it.unibo.wastemaster.domain.service.ScheduleRolloverJob;
+import it.unibo.wastemaster.domain.service.SearchDocument;
+import it.unibo.wastemaster.domain.service.TariffManager;
 import it.unibo.wastemaster.domain.service.TripManager;
+import it.unibo.wastemaster.domain.service.TripPlanner;
 import it.unibo.wastemaster.domain.service.VehicleManager;
 import it.unibo.wastemaster.domain.service.WasteManager;
 import it.unibo.wastemaster.domain.service.WasteScheduleManager;
 import it.unibo.wastemaster.infrastructure.dao.AccountDAO;
+import it.unibo.wastemaster.infrastructure.dao.ChangeVersionDAO;
 import it.unibo.wastemaster.infrastructure.dao.CollectionDAO;
+import it.unibo.wastemaster.infrastructure.dao.CustomerBalanceDAO;
 import it.unibo.wastemaster.infrastructure.dao.CustomerDAO;
 import it.unibo.wastemaster.infrastructure.dao.EmployeeDAO;
 import it.unibo.wastemaster.infrastructure.dao.GenericDAO;
@@ -39,12 +64,17 @@ import it.unibo.wastemaster.infrastructure.dao.InvoiceDAO;
 import it.unibo.wastemaster.infrastructure.dao.OneTimeScheduleDAO;
 import it.unibo.wastemaster.infrastructure.dao.RecurringScheduleDAO;
 import it.unibo.wastemaster.infrastructure.dao.ScheduleDAO;
+import it.unibo.wastemaster.infrastructure.dao.TariffDAO;
 import it.unibo.wastemaster.infrastructure.dao.TripDAO;
 import it.unibo.wastemaster.infrastructure.dao.VehicleDAO;
 import it.unibo.wastemaster.infrastructure.dao.WasteDAO;
 import it.unibo.wastemaster.infrastructure.dao.WasteScheduleDAO;
 import it.unibo.wastemaster.infrastructure.notification.FakeNotificationService;
+import it.unibo.wastemaster.infrastructure.pdf.InvoicePdfExporter;
+import it.unibo.wastemaster.infrastructure.pdf.InvoicePdfService;
 import jakarta.persistence.EntityManager;
+import java.nio.file.Path;
+import java.util.function.Supplier;
 
 /**
  * Factory class responsible for creating and providing all domain services
@@ -53,6 +83,12 @@ import jakarta.persistence.EntityManager;
  */
 public class ServiceFactory {
 
+    /**
+     * File the global search index is saved to between sessions.
+     */
+    private static final Path SEARCH_INDEX_FILE =
+            Path.of(System.getProperty("user.home"), ".wastemaster", "search-index.bin");
+
     private final AccountManager accountManager;
     private final EmployeeManager employeeManager;
     private final WasteManager wasteManager;
@@ -63,19 +99,29 @@ public class ServiceFactory {
     private final OneTimeScheduleManager oneTimeScheduleManager;
     private final VehicleManager vehicleManager;
     private final TripManager tripManager;
+    private final TripPlanner tripPlanner;
+    private final TariffManager tariffManager;
     private final InvoiceManager invoiceManager;
+    private final BillingRun billingRun;
+    private final InvoicePdfExporter invoicePdfExporter;
     private final ScheduleManager scheduleManager;
     private final LoginManager loginManager;
     private final NotificationManager notificationManager;
     private final NotificationService notificationService;
     private final CollectionFactory collectionFactory;
+    private final ScheduleRolloverJob scheduleRolloverJob;
+    private final ChangeVersionPoller changeVersionPoller;
+    private final GlobalSearchService globalSearchService;
+    private final DomainEventBus eventBus = new DomainEventBus();
 
     /**
-     * Constructs all services and their dependencies using the provided EntityManager.
+     * Constructs all services and their dependencies. DAOs resolve their
+     * EntityManager through the given supplier on every operation.
      *
-     * @param em the EntityManager used to instantiate DAOs
+     * @param em the supplier of the EntityManager used by DAOs, typically the
+     * current unit of work
      */
-    public ServiceFactory(final EntityManager em) {
+    public ServiceFactory(final Supplier<EntityManager> em) {
 
         var locationDao = new GenericDAO<>(em, Location.class);
         var accountDao = new AccountDAO(em);
@@ -89,7 +135,10 @@ public class ServiceFactory {
         var vehicleDao = new VehicleDAO(em);
         var tripDao = new TripDAO(em);
         var invoiceDao = new InvoiceDAO(em);
+        var customerBalanceDao = new CustomerBalanceDAO(em);
+        var tariffDao = new TariffDAO(em);
         var scheduleDao = new ScheduleDAO(em);
+        var changeVersionDao = new ChangeVersionDAO(em);
 
         var accountRepository = new AccountRepositoryImpl(accountDao);
         var employeeRepository = new EmployeeRepositoryImpl(employeeDao);
@@ -104,7 +153,11 @@ public class ServiceFactory {
         var vehicleRepository = new VehicleRepositoryImpl(vehicleDao);
         var tripRepository = new TripRepositoryImpl(tripDao);
         var invoiceRepository = new InvoiceRepositoryImpl(invoiceDao);
+        var customerBalanceRepository =
+                new CustomerBalanceRepositoryImpl(customerBalanceDao);
+        var tariffRepository = new TariffRepositoryImpl(tariffDao);
         var scheduleRepository = new ScheduleRepositoryImpl(scheduleDao);
+        var changeVersionRepository = new ChangeVersionRepositoryImpl(changeVersionDao);
 
         this.collectionFactory = new CollectionFactoryImpl();
         this.accountManager = new AccountManager(accountRepository);
@@ -124,14 +177,82 @@ public class ServiceFactory {
         this.vehicleManager = new VehicleManager(vehicleRepository);
         this.tripManager = new TripManager(tripRepository, collectionRepository,
                 recurringScheduleManager);
-        this.invoiceManager = new InvoiceManager(invoiceRepository);
+        this.tripPlanner = new TripPlanner(tripManager, collectionManager,
+                vehicleManager);
+        this.tariffManager = new TariffManager(tariffRepository);
+        this.invoiceManager = new InvoiceManager(invoiceRepository,
+                customerBalanceRepository, tariffManager);
+        this.billingRun = new BillingRun(collectionManager, invoiceManager);
+        this.invoicePdfExporter =
+                new InvoicePdfExporter(invoiceManager, new InvoicePdfService());
         this.employeeManager = new EmployeeManager(employeeRepository, accountManager);
         this.scheduleManager = new ScheduleManager(scheduleRepository);
         this.notificationManager =
                 new NotificationManager(tripRepository, invoiceRepository,
                         customerRepository);
         this.notificationService = new FakeNotificationService();
+        this.scheduleRolloverJob = new ScheduleRolloverJob(recurringScheduleManager);
+
+        // subscribed first, so that views reloading on a remote change read it
+        onRemoteChange(Customer.class, locationDao::evictCache);
+        onRemoteChange(Vehicle.class, vehicleDao::evictCache);
+        onRemoteChange(Waste.class, () -> {
+            wasteDao.evictCache();
+            wasteScheduleDao.evictCache();
+        });
+        onRemoteChange(Tariff.class, tariffManager::invalidate);
+
+        customerManager.setEventBus(eventBus);
+        employeeManager.setEventBus(eventBus);
+        vehicleManager.setEventBus(eventBus);
+        wasteManager.setEventBus(eventBus);
+        wasteScheduleManager.setEventBus(eventBus);
+        tripManager.setEventBus(eventBus);
+        invoiceManager.setEventBus(eventBus);
+        oneTimeScheduleManager.setEventBus(eventBus);
+        recurringScheduleManager.setEventBus(eventBus);
+
+        this.changeVersionPoller =
+                new ChangeVersionPoller(changeVersionRepository, eventBus);
+        changeVersionPoller.watch(Customer.class);
+        changeVersionPoller.watch(Employee.class);
+        changeVersionPoller.watch(Vehicle.class);
+        changeVersionPoller.watch(Waste.class);
+        changeVersionPoller.watch(WasteSchedule.class, Waste.class);
+        changeVersionPoller.watch(Trip.class);
+        changeVersionPoller.watch(Invoice.class);
+        changeVersionPoller.watch(Schedule.class);
+        changeVersionPoller.watch(OneTimeSchedule.class, Schedule.class);
+        changeVersionPoller.watch(RecurringSchedule.class, Schedule.class);
+        changeVersionPoller.watch(Tariff.class);
 
+        this.globalSearchService = new GlobalSearchService(changeVersionRepository,
+                eventBus, SEARCH_INDEX_FILE);
+        globalSearchService.register(Customer.class, "customerId",
+                request -> customerRepository.findPage(request.where("isDeleted", false),
+                        SearchDocument.CUSTOMER));
+        globalSearchService.register(Employee.class, "employeeId",
+                request -> employeeRepository.findPage(request.where("isDeleted", false),
+                        SearchDocument.EMPLOYEE));
+        globalSearchService.register(Vehicle.class, "vehicleId",
+                request -> vehicleRepository.findPage(request, SearchDocument.VEHICLE));
+        globalSearchService.register(Trip.class, "tripId",
+                request -> tripRepository.findPage(request, SearchDocument.TRIP));
+        globalSearchService.register(Invoice.class, "invoiceId",
+                request -> invoiceRepository.findPage(request.where("isDeleted", false),
+                        SearchDocument.INVOICE));
+    }
+
+    /**
+     * Runs the given action whenever another instance of the application changes
+     * the entities published as the given type.
+     */
+    private void onRemoteChange(final Class<?> type, final Runnable action) {
+        eventBus.subscribe(type, event -> {
+            if (event.getType() == DomainEvent.Type.CHANGED_REMOTELY) {
+                action.run();
+            }
+        });
     }
 
     /**
@@ -211,6 +332,20 @@ public class ServiceFactory {
         return tripManager;
     }
 
+    /**
+     * @return the trip planner
+     */
+    public TripPlanner getTripPlanner() {
+        return tripPlanner;
+    }
+
+    /**
+     * @return the tariff manager
+     */
+    public TariffManager getTariffManager() {
+        return tariffManager;
+    }
+
     /**
      * @return the invoice manager
      */
@@ -218,6 +353,20 @@ public class ServiceFactory {
         return invoiceManager;
     }
 
+    /**
+     * @return the billing run
+     */
+    public BillingRun getBillingRun() {
+        return billingRun;
+    }
+
+    /**
+     * @return the bulk invoice PDF exporter
+     */
+    public InvoicePdfExporter getInvoicePdfExporter() {
+        return invoicePdfExporter;
+    }
+
     /**
      * @return the schedule manager
      */
@@ -238,4 +387,32 @@ public class ServiceFactory {
     public NotificationService getNotificationService() {
         return notificationService;
     }
+
+    /**
+     * @return the bus on which the managers publish their changes
+     */
+    public DomainEventBus getEventBus() {
+        return eventBus;
+    }
+
+    /**
+     * @return the background job rolling recurring schedules over
+     */
+    public ScheduleRolloverJob getScheduleRolloverJob() {
+        return scheduleRolloverJob;
+    }
+
+    /**
+     * @return the background job publishing the changes made by other instances
+     */
+    public ChangeVersionPoller getChangeVersionPoller() {
+        return changeVersionPoller;
+    }
+
+    /**
+     * @return the background job maintaining the index searched across entities
+     */
+    public GlobalSearchService getGlobalSearchService() {
+        return globalSearchService;
+    }
 }
@@ -0,0 +1,154 @@
+package it.unibo.wastemaster.infrastructure.geo;
+
+import it.unibo.wastemaster.domain.model.GeoPoint;
+import it.unibo.wastemaster.domain.model.Location;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Offline lookup of approximate coordinates for addresses, read from a table of
+ * street and postal-code centroids shipped with the application. No online
+ * geocoding service is involved.
+ * <p>
+ * Each line of the table holds {@code postalCode;street;latitude;longitude}. A line
+ * with an empty street gives the centroid of the whole postal code. Blank lines and
+ * lines starting with {@code #} are ignored. An address is placed at the centroid of
+ * its street within its postal code if known, otherwise at the centroid of its
+ * postal code.
+ */
+public final class CentroidTable {
+
+    /**
+     * Classpath location of the default table.
+     */
+    public static final String DEFAULT_RESOURCE = "/geo/centroids.csv";
+
+    private static final int FIELDS = 4;
+
+    private final Map<String, GeoPoint> postalCodes = new HashMap<>();
+    private final Map<String, GeoPoint> streets = new HashMap<>();
+
+    private CentroidTable() {
+    }
+
+    /**
+     * Returns the table read from {@link #DEFAULT_RESOURCE}, loaded once.
+     *
+     * @return the default table
+     */
+    public static CentroidTable getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Reads a table from the classpath.
+     *
+     * @param resource the classpath location of the table
+     * @return the table, empty if the resource does not exist
+     * @throws IllegalArgumentException if a line is malformed
+     */
+    public static CentroidTable load(final String resource) {
+        CentroidTable table = new CentroidTable();
+        InputStream in = CentroidTable.class.getResourceAsStream(resource);
+        if (in == null) {
+            return table;
+        }
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            int number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                String trimmed = line.trim();
+                if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                    table.addLine(trimmed, number);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read centroids " + resource, e);
+        }
+        return table;
+    }
+
+    /**
+     * Finds the approximate coordinates of an address.
+     *
+     * @param postalCode the postal code of the address
+     * @param street the street of the address, may be null
+     * @return the centroid of the street, or of the postal code, if known
+     */
+    public Optional<GeoPoint> locate(final String postalCode, final String street) {
+        if (postalCode == null) {
+            return Optional.empty();
+        }
+        String code = postalCode.trim();
+        if (street != null) {
+            GeoPoint point = streets.get(streetKey(code, street));
+            if (point != null) {
+                return Optional.of(point);
+            }
+        }
+        return Optional.ofNullable(postalCodes.get(code));
+    }
+
+    /**
+     * Sets the coordinates of a location that has none, if its address is known.
+     *
+     * @param location the location to place
+     * @return true if the location has coordinates afterwards
+     */
+    public boolean place(final Location location) {
+        if (location.getCoordinates() != null) {
+            return true;
+        }
+        Optional<GeoPoint> point = locate(location.getPostalCode(), location.getStreet());
+        point.ifPresent(location::setCoordinates);
+        return point.isPresent();
+    }
+
+    /**
+     * Gets the number of centroids in the table.
+     *
+     * @return the number of street and postal-code centroids
+     */
+    public int size() {
+        return postalCodes.size() + streets.size();
+    }
+
+    private void addLine(final String line, final int number) {
+        String[] fields = line.split(";", -1);
+        if (fields.length != FIELDS) {
+            throw new IllegalArgumentException("Malformed centroid at line " + number);
+        }
+        GeoPoint point;
+        try {
+            point = new GeoPoint(Double.parseDouble(fields[2].trim()),
+                    Double.parseDouble(fields[3].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed centroid at line " + number, e);
+        }
+        String code = fields[0].trim();
+        if (fields[1].isBlank()) {
+            postalCodes.put(code, point);
+        } else {
+            streets.put(streetKey(code, fields[1]), point);
+        }
+    }
+
+    private static String streetKey(final String postalCode, final String street) {
+        return postalCode + '|' + street.trim().replaceAll("\\s+", " ")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private static final class DefaultHolder {
+        private static final CentroidTable INSTANCE = load(DEFAULT_RESOURCE);
+    }
+}
@@ -0,0 +1,207 @@
+package it.unibo.wastemaster.infrastructure.pdf;
+
+import it.unibo.wastemaster.domain.model.Invoice;
+import it.unibo.wastemaster.domain.service.InvoiceManager;
+import it.unibo.wastemaster.infrastructure.utils.UnitOfWork;
+import it.unibo.wastemaster.infrastructure.utils.ValidateUtils;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Exports many invoices at once as a single ZIP archive holding one PDF per
+ * invoice, as needed at the end of the month.
+ * <p>
+ * The invoices are read and rendered in batches on a bounded pool of workers,
+ * each batch with one query in its own unit of work. The calling thread writes the
+ * rendered batches to the archive in invoice order while the workers render the
+ * next ones. At most two batches per worker are rendered ahead of the writer, so
+ * the memory used stays the same however many invoices are exported. PDFs are
+ * already compressed, so they are stored in the archive without compressing them
+ * again.
+ */
+public final class InvoicePdfExporter {
+
+    /**
+     * Default number of invoices read and rendered together.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 50;
+
+    /**
+     * Default number of workers, kept below the size of the connection pool.
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    private static final int BATCHES_AHEAD_PER_WORKER = 2;
+    private static final int INITIAL_PDF_SIZE = 8 * 1024;
+
+    private final InvoiceManager invoiceManager;
+    private final InvoicePdfService pdfService;
+    private final int batchSize;
+    private final int parallelism;
+
+    /**
+     * Constructs an exporter with the default batch size and parallelism.
+     *
+     * @param invoiceManager the manager providing the invoices to export
+     * @param pdfService the service rendering each invoice
+     */
+    public InvoicePdfExporter(final InvoiceManager invoiceManager,
+                              final InvoicePdfService pdfService) {
+        this(invoiceManager, pdfService, DEFAULT_BATCH_SIZE, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Constructs an exporter.
+     *
+     * @param invoiceManager the manager providing the invoices to export
+     * @param pdfService the service rendering each invoice
+     * @param batchSize the number of invoices read and rendered together, must be
+     * positive
+     * @param parallelism the number of workers, must be positive; with 1 every batch
+     * is rendered on the calling thread
+     * @throws IllegalArgumentException if batchSize or parallelism is not positive
+     */
+    public InvoicePdfExporter(final InvoiceManager invoiceManager,
+                              final InvoicePdfService pdfService, final int batchSize,
+                              final int parallelism) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.invoiceManager = invoiceManager;
+        this.pdfService = pdfService;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Writes the given invoices to the output stream as a ZIP archive with one
+     * entry per invoice, named as when a single invoice is exported. The stream is
+     * not closed. Invoices that no longer exist are skipped.
+     *
+     * @param invoiceIds the ids of the invoices to export, in archive order
+     * @param out the stream to write the archive to
+     * @return the number of invoices written
+     * @throws IOException if an invoice cannot be rendered or the archive cannot be
+     * written; the archive is incomplete in that case
+     * @throws IllegalArgumentException if invoiceIds or out is null
+     */
+    public int exportZip(final List<Integer> invoiceIds, final OutputStream out)
+            throws IOException {
+        ValidateUtils.requireArgNotNull(invoiceIds, "Invoice ids cannot be null");
+        ValidateUtils.requireArgNotNull(out, "Output stream cannot be null");
+        ExecutorService pool = parallelism == 1 ? null
+                : Executors.newFixedThreadPool(parallelism, newThreadFactory());
+        Executor executor = pool == null ? Runnable::run : pool;
+        int maxAhead = parallelism * BATCHES_AHEAD_PER_WORKER;
+        Deque<CompletableFuture<List<RenderedPdf>>> pending = new ArrayDeque<>();
+        ZipOutputStream zip = new ZipOutputStream(out);
+        int written = 0;
+        try {
+            for (int from = 0; from < invoiceIds.size(); from += batchSize) {
+                if (pending.size() == maxAhead) {
+                    written += write(zip, pending.poll());
+                }
+                List<Integer> batch = List.copyOf(invoiceIds.subList(from,
+                        Math.min(from + batchSize, invoiceIds.size())));
+                pending.add(CompletableFuture.supplyAsync(() -> render(batch),
+                        executor));
+            }
+            while (!pending.isEmpty()) {
+                written += write(zip, pending.poll());
+            }
+            zip.finish();
+        } finally {
+            pending.forEach(batch -> batch.cancel(true));
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+        }
+        return written;
+    }
+
+    private List<RenderedPdf> render(final List<Integer> invoiceIds) {
+        return UnitOfWork.call(() -> invoiceManager.findInvoicesForPdf(invoiceIds)
+                .stream()
+                .map(this::render)
+                .toList());
+    }
+
+    private RenderedPdf render(final Invoice invoice) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(INITIAL_PDF_SIZE);
+        try {
+            pdfService.generateInvoicePdf(invoice, buffer);
+        } catch (Exception e) {
+            throw new UncheckedIOException(new IOException(
+                    "Could not render invoice " + invoice.getInvoiceId(), e));
+        }
+        return new RenderedPdf(invoice.getInvoiceId(), buffer.toByteArray());
+    }
+
+    private static int write(final ZipOutputStream zip,
+                             final CompletableFuture<List<RenderedPdf>> batch)
+            throws IOException {
+        List<RenderedPdf> pdfs;
+        try {
+            pdfs = batch.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException failure) {
+                throw failure.getCause();
+            }
+            throw e;
+        }
+        for (RenderedPdf pdf : pdfs) {
+            CRC32 crc = new CRC32();
+            crc.update(pdf.content);
+            ZipEntry entry = new ZipEntry("invoice-" + pdf.invoiceId + ".pdf");
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(pdf.content.length);
+            entry.setCompressedSize(pdf.content.length);
+            entry.setCrc(crc.getValue());
+            zip.putNextEntry(entry);
+            zip.write(pdf.content);
+            zip.closeEntry();
+        }
+        return pdfs.size();
+    }
+
+    private static ThreadFactory newThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "pdf-export-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * A rendered invoice waiting to be written to the archive.
+     */
+    private static final class RenderedPdf {
+
+        private final int invoiceId;
+        private final byte[] content;
+
+        RenderedPdf(final int invoiceId, final byte[] content) {
+            this.invoiceId = invoiceId;
+            this.content = content;
+        }
+    }
+}
@@ -13,11 +13,14 @@ import com.lowagie.text.pdf.PdfPTable;
 import com.lowagie.text.pdf.PdfWriter;
 import it.unibo.wastemaster.domain.model.Collection;
 import it.unibo.wastemaster.domain.model.Invoice;
-import it.unibo.wastemaster.domain.model.RecurringSchedule;
-import it.unibo.wastemaster.domain.service.InvoiceManager;
+import it.unibo.wastemaster.domain.model.Money;
+import it.unibo.wastemaster.domain.model.Schedule.ScheduleCategory;
 import java.awt.Color;
 import java.io.OutputStream;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Service to generate invoice PDFs.
@@ -28,6 +31,9 @@ public class InvoicePdfService {
     private static final Font HEADER_FONT = new Font(Font.HELVETICA, 12, Font.BOLD);
     private static final Font NORMAL_FONT = new Font(Font.HELVETICA, 12, Font.NORMAL);
     private static final float PAGE_MARGIN = 36f;
+    private static final int FLUSH_ROWS = 100;
+    private static final DateTimeFormatter MONTH_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM");
 
     /**
      * Generates a PDF for the given invoice and writes it to the provided OutputStream.
@@ -45,6 +51,7 @@ public class InvoicePdfService {
         document.open();
 
         addInvoiceHeader(document, invoice);
+        addSummary(document, invoice);
         addCollectionsTable(document, invoice);
         addTotals(document, invoice);
 
@@ -89,8 +96,57 @@ public class InvoicePdfService {
         document.add(Chunk.NEWLINE);
     }
 
+    /**
+     * Adds a summary of the collections in the invoice, with their number and
+     * amount for each month and waste type.
+     *
+     * @param document the PDF document
+     * @param invoice the invoice containing collections
+     * @throws DocumentException if an error occurs while adding the summary
+     */
+    private void addSummary(final Document document, final Invoice invoice)
+            throws DocumentException {
+        Map<YearMonth, Map<String, SummaryLine>> summary = new TreeMap<>();
+        for (Collection c : invoice.getCollections()) {
+            summary.computeIfAbsent(YearMonth.from(c.getCollectionDate()),
+                            month -> new TreeMap<>())
+                    .computeIfAbsent(c.getWaste().getWasteName(),
+                            waste -> new SummaryLine())
+                    .add(c.getBilledCents());
+        }
+
+        PdfPTable table = new PdfPTable(4);
+        table.setWidthPercentage(100);
+        table.setWidths(new float[] {2, 3, 2, 2});
+        table.setHeaderRows(1);
+
+        addTableHeader(table, "Month");
+        addTableHeader(table, "Waste");
+        addTableHeader(table, "Collections");
+        addTableHeader(table, "Amount (€)");
+
+        for (Map.Entry<YearMonth, Map<String, SummaryLine>> month
+                : summary.entrySet()) {
+            for (Map.Entry<String, SummaryLine> waste : month.getValue().entrySet()) {
+                addCell(table, month.getKey().format(MONTH_FORMAT));
+                addCell(table, waste.getKey());
+                addCell(table, String.valueOf(waste.getValue().count));
+                addCell(table, Money.format(waste.getValue().cents));
+            }
+        }
+
+        document.add(table);
+        document.add(Chunk.NEWLINE);
+    }
+
     /**
      * Adds a table listing all collections in the invoice.
+     * <p>
+     * The table is added to the document every {@link #FLUSH_ROWS} rows: the rows
+     * that fit are laid out and dropped from the table, and each completed page is
+     * written to the output stream, so only the rows of the current page are kept
+     * in memory however many collections the invoice has. The header row is
+     * repeated at the top of every page.
      *
      * @param document the PDF document
      * @param invoice the invoice containing collections
@@ -101,30 +157,26 @@ public class InvoicePdfService {
         PdfPTable table = new PdfPTable(4);
         table.setWidthPercentage(100);
         table.setWidths(new float[] {2, 3, 3, 2});
+        table.setHeaderRows(1);
+        table.setComplete(false);
 
         addTableHeader(table, "ID");
         addTableHeader(table, "Date");
         addTableHeader(table, "Type");
         addTableHeader(table, "Price (€)");
 
-        double recurringFee = InvoiceManager.getRecurringFee();
-        double oneTimeFee = InvoiceManager.getOneTimeFee();
-
+        int rows = 0;
         for (Collection c : invoice.getCollections()) {
-            table.addCell(new PdfPCell(
-                    new Phrase(String.valueOf(c.getCollectionId()), NORMAL_FONT)));
-            table.addCell(new PdfPCell(
-                    new Phrase(c.getCollectionDate().format(DateTimeFormatter.ISO_DATE),
-                            NORMAL_FONT)));
-            String type = c.getSchedule() instanceof RecurringSchedule ? "Recurring"
-                    : "One-time";
-            table.addCell(new PdfPCell(new Phrase(type, NORMAL_FONT)));
-            double price = c.getSchedule() instanceof RecurringSchedule ? recurringFee
-                    : oneTimeFee;
-            table.addCell(
-                    new PdfPCell(new Phrase(String.format("%.2f", price), NORMAL_FONT)));
+            addCell(table, String.valueOf(c.getCollectionId()));
+            addCell(table, c.getCollectionDate().format(DateTimeFormatter.ISO_DATE));
+            addCell(table, isRecurring(c) ? "Recurring" : "One-time");
+            addCell(table, Money.format(c.getBilledCents()));
+            if (++rows % FLUSH_ROWS == 0) {
+                document.add(table);
+            }
         }
 
+        table.setComplete(true);
         document.add(table);
         document.add(Chunk.NEWLINE);
     }
@@ -139,16 +191,37 @@ public class InvoicePdfService {
     private void addTotals(final Document document, final Invoice invoice)
             throws DocumentException {
         Paragraph totals = new Paragraph(
-                "Total Recurring: € " + String.format("%.2f", invoice.getTotalRecurring())
+                "Total Recurring: € " + Money.format(invoice.getTotalRecurringCents())
                         + "\n"
-                        + "Total One-time: € " + String.format("%.2f",
-                        invoice.getTotalOnetime()) + "\n"
-                        + "Total Amount: € " + String.format("%.2f", invoice.getAmount()),
+                        + "Total One-time: € "
+                        + Money.format(invoice.getTotalOnetimeCents()) + "\n"
+                        + "Total Amount: € " + Money.format(invoice.getAmountCents()),
                 HEADER_FONT);
         totals.setAlignment(Element.ALIGN_RIGHT);
         document.add(totals);
     }
 
+    /**
+     * Adds a cell with the given text to a PDF table.
+     *
+     * @param table the table to add the cell to
+     * @param text the text of the cell
+     */
+    private void addCell(final PdfPTable table, final String text) {
+        table.addCell(new PdfPCell(new Phrase(text, NORMAL_FONT)));
+    }
+
+    /**
+     * Checks whether a collection comes from a recurring schedule.
+     *
+     * @param collection the billed collection
+     * @return true if the collection is recurring, false if it is one-time
+     */
+    private static boolean isRecurring(final Collection collection) {
+        return collection.getSchedule().getScheduleCategory()
+                == ScheduleCategory.RECURRING;
+    }
+
     /**
      * Adds a header cell to a PDF table with gray background and centered text.
      *
@@ -162,4 +235,18 @@ public class InvoicePdfService {
         header.setHorizontalAlignment(Element.ALIGN_CENTER);
         table.addCell(header);
     }
+
+    /**
+     * Number and amount of the collections of one month and waste type.
+     */
+    private static final class SummaryLine {
+
+        private int count;
+        private long cents;
+
+        private void add(final long price) {
+            count++;
+            cents = Money.add(cents, price);
+        }
+    }
 }
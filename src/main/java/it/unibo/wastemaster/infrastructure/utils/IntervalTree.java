@@ -0,0 +1,259 @@
+package it.unibo.wastemaster.infrastructure.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Balanced tree of half-open intervals {@code [start, end)}, each carrying a value,
+ * answering which intervals overlap a given one.
+ * <p>
+ * The tree is an AVL tree ordered by interval start, where every node also records
+ * the greatest end of its subtree, so that subtrees ending before the queried
+ * interval are skipped. Insertion and removal take O(log n) and an overlap query
+ * O(log n + k), k being the number of intervals reported. Equal intervals, even
+ * with equal values, may be stored more than once.
+ * <p>
+ * The tree is not thread-safe.
+ *
+ * @param <K> the type of the interval bounds
+ * @param <V> the type of the values
+ */
+public final class IntervalTree<K extends Comparable<? super K>, V> {
+
+    private Node<K, V> root;
+    private int size;
+    private boolean removed;
+
+    /**
+     * Adds an interval.
+     *
+     * @param start the start of the interval (inclusive)
+     * @param end the end of the interval (exclusive), must not be before start
+     * @param value the value carried by the interval
+     * @throws IllegalArgumentException if a bound is null or end is before start
+     */
+    public void add(final K start, final K end, final V value) {
+        ValidateUtils.requireArgNotNull(start, "Start must not be null");
+        ValidateUtils.requireArgNotNull(end, "End must not be null");
+        if (end.compareTo(start) < 0) {
+            throw new IllegalArgumentException("End must not be before start");
+        }
+        root = insert(root, new Node<>(start, end, value));
+        size++;
+    }
+
+    /**
+     * Removes one occurrence of the given interval with the given value.
+     *
+     * @param start the start of the interval
+     * @param end the end of the interval
+     * @param value the value carried by the interval
+     * @return true if the interval was found and removed, false otherwise
+     */
+    public boolean remove(final K start, final K end, final V value) {
+        removed = false;
+        root = delete(root, start, end, value);
+        if (removed) {
+            size--;
+        }
+        return removed;
+    }
+
+    /**
+     * Passes the value of every interval overlapping {@code [start, end)} to the
+     * given action. Intervals sharing only a bound with it do not overlap.
+     *
+     * @param start the start of the queried interval (inclusive)
+     * @param end the end of the queried interval (exclusive)
+     * @param action the action receiving the values
+     */
+    public void forEachOverlapping(final K start, final K end,
+                                   final Consumer<? super V> action) {
+        visitOverlapping(root, start, end, action);
+    }
+
+    /**
+     * Returns the values of the intervals overlapping {@code [start, end)}.
+     *
+     * @param start the start of the queried interval (inclusive)
+     * @param end the end of the queried interval (exclusive)
+     * @return the values found, ordered by interval start
+     */
+    public List<V> findOverlapping(final K start, final K end) {
+        List<V> values = new ArrayList<>();
+        forEachOverlapping(start, end, values::add);
+        return values;
+    }
+
+    /**
+     * Gets the number of intervals stored.
+     *
+     * @return the number of intervals
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the tree stores no interval.
+     *
+     * @return true if the tree is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every interval.
+     */
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    private void visitOverlapping(final Node<K, V> node, final K start, final K end,
+                                  final Consumer<? super V> action) {
+        if (node == null || node.maxEnd.compareTo(start) <= 0) {
+            return;
+        }
+        visitOverlapping(node.left, start, end, action);
+        if (node.start.compareTo(end) >= 0) {
+            return;
+        }
+        if (node.end.compareTo(start) > 0) {
+            action.accept(node.value);
+        }
+        visitOverlapping(node.right, start, end, action);
+    }
+
+    private Node<K, V> insert(final Node<K, V> node, final Node<K, V> added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.start.compareTo(node.start) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return rebalance(node);
+    }
+
+    private Node<K, V> delete(final Node<K, V> node, final K start, final K end,
+                              final V value) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = start.compareTo(node.start);
+        if (cmp < 0) {
+            node.left = delete(node.left, start, end, value);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, start, end, value);
+        } else if (node.end.compareTo(end) == 0 && Objects.equals(node.value, value)) {
+            removed = true;
+            return unlink(node);
+        } else {
+            // equal starts may end up on both sides after rotations
+            node.left = delete(node.left, start, end, value);
+            if (!removed) {
+                node.right = delete(node.right, start, end, value);
+            }
+        }
+        return rebalance(node);
+    }
+
+    private Node<K, V> unlink(final Node<K, V> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        Node<K, V> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        successor.right = deleteMin(node.right);
+        successor.left = node.left;
+        return rebalance(successor);
+    }
+
+    private Node<K, V> deleteMin(final Node<K, V> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = deleteMin(node.left);
+        return rebalance(node);
+    }
+
+    private Node<K, V> rebalance(final Node<K, V> node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node<K, V> rotateRight(final Node<K, V> node) {
+        Node<K, V> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node<K, V> rotateLeft(final Node<K, V> node) {
+        Node<K, V> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private void update(final Node<K, V> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        K maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd.compareTo(maxEnd) > 0) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.compareTo(maxEnd) > 0) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(final Node<?, ?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static final class Node<K, V> {
+
+        private final K start;
+        private final K end;
+        private final V value;
+        private K maxEnd;
+        private int height = 1;
+        private Node<K, V> left;
+        private Node<K, V> right;
+
+        private Node(final K start, final K end, final V value) {
+            this.start = start;
+            this.end = end;
+            this.value = value;
+            this.maxEnd = end;
+        }
+    }
+}
@@ -1,16 +1,48 @@
 package it.unibo.wastemaster.infrastructure.utils;
 
 import jakarta.persistence.EntityManager;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Utility class to execute JPA transactions safely.
+ * <p>
+ * Work registered with {@link #beforeCommit(String, Runnable)} runs at the end of
+ * the transaction started by this class, just before it is committed. When that
+ * transaction is rolled back, the {@link UnitOfWork#afterCompletion(Runnable)}
+ * callbacks registered during it are dropped, even if the caller catches the
+ * exception and the unit of work goes on.
  */
 public final class TransactionHelper {
 
+    private static final ThreadLocal<Map<String, Runnable>> BEFORE_COMMIT =
+            new ThreadLocal<>();
+
     private TransactionHelper() {
         // Prevent instantiation
     }
 
+    /**
+     * Executes a transactional operation using the {@link EntityManager} of the
+     * current {@link UnitOfWork}, opening one if none is active. Every DAO write
+     * made by the operation joins the same transaction, so the operation either
+     * commits as a whole or not at all.
+     * <p>
+     * When the unit of work is not configured, DAOs run against their own entity
+     * manager and the operation is simply executed in place.
+     *
+     * @param operation the operation to execute
+     */
+    public static void executeTransaction(final Runnable operation) {
+        UnitOfWork.run(() -> {
+            if (UnitOfWork.isActive()) {
+                executeTransaction(UnitOfWork.currentEntityManager(), operation);
+            } else {
+                operation.run();
+            }
+        });
+    }
+
     /**
      * Executes a transactional operation using the given EntityManager.
      *
@@ -20,23 +52,62 @@ public final class TransactionHelper {
     public static void executeTransaction(final EntityManager entityManager,
                                           final Runnable operation) {
         boolean startedHere = false;
+        int callbackMark = UnitOfWork.pendingCallbacks();
+        Map<String, Runnable> outerCallbacks = BEFORE_COMMIT.get();
 
         try {
             if (!entityManager.getTransaction().isActive()) {
                 entityManager.getTransaction().begin();
+                BEFORE_COMMIT.set(new TreeMap<>());
                 startedHere = true;
             }
 
             operation.run();
 
             if (startedHere) {
+                runBeforeCommit();
                 entityManager.getTransaction().commit();
             }
         } catch (Exception e) {
             if (entityManager.getTransaction().isActive()) {
                 entityManager.getTransaction().rollback();
             }
+            if (startedHere) {
+                UnitOfWork.discardCallbacks(callbackMark);
+            }
             throw e;
+        } finally {
+            if (startedHere) {
+                BEFORE_COMMIT.set(outerCallbacks);
+            }
+        }
+    }
+
+    /**
+     * Registers work to run just before the transaction started by this class on
+     * the calling thread is committed, or runs it immediately if there is none.
+     * Work registered again with the same key in the same transaction is ignored.
+     * The work of a transaction runs in the order of its keys, so transactions
+     * locking rows this way always lock them in the same order and cannot
+     * deadlock on them. The work is dropped if the transaction is rolled back.
+     *
+     * @param key identifies the work within the transaction
+     * @param work the work to run, inside the transaction
+     * @return the work that will run for the key, the given one unless other work
+     * was registered with the same key before in the transaction
+     */
+    public static Runnable beforeCommit(final String key, final Runnable work) {
+        Map<String, Runnable> callbacks = BEFORE_COMMIT.get();
+        if (callbacks == null) {
+            work.run();
+            return work;
         }
+        return callbacks.computeIfAbsent(key, k -> work);
+    }
+
+    private static void runBeforeCommit() {
+        Map<String, Runnable> callbacks = BEFORE_COMMIT.get();
+        BEFORE_COMMIT.set(null);
+        callbacks.values().forEach(Runnable::run);
     }
 }
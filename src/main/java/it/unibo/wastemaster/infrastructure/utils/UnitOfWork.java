@@ -0,0 +1,162 @@
+package it.unibo.wastemaster.infrastructure.utils;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound unit of work backed by an {@link EntityManagerFactory}.
+ * <p>
+ * Each outermost call to {@link #run(Runnable)} or {@link #call(Supplier)} opens a
+ * fresh {@link EntityManager}, binds it to the calling thread and closes it when the
+ * work completes, so the persistence context only lives as long as a single UI action
+ * or service call. Nested calls join the enclosing unit and share its
+ * {@link EntityManager}.
+ * <p>
+ * Callbacks registered with {@link #afterCompletion(Runnable)} run once the
+ * outermost unit has ended without throwing. The callbacks registered during a
+ * transaction that is rolled back are dropped, even when the unit goes on.
+ * <p>
+ * When no factory has been configured (for example in tests that wire DAOs with their
+ * own {@link EntityManager}) the work is simply executed in place.
+ */
+public final class UnitOfWork {
+
+    private static final ThreadLocal<EntityManager> CURRENT = new ThreadLocal<>();
+
+    private static final ThreadLocal<List<Runnable>> AFTER_COMPLETION =
+            new ThreadLocal<>();
+
+    private static volatile EntityManagerFactory entityManagerFactory;
+
+    private UnitOfWork() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Configures the factory used to open the entity manager of each unit of work.
+     *
+     * @param factory the entity manager factory, or {@code null} to disable scoping
+     */
+    public static void init(final EntityManagerFactory factory) {
+        entityManagerFactory = factory;
+    }
+
+    /**
+     * Executes the given work inside a unit of work, joining the current one if
+     * present.
+     *
+     * @param work the work to execute
+     */
+    public static void run(final Runnable work) {
+        call(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Executes the given work inside a unit of work, joining the current one if
+     * present, and returns its result.
+     *
+     * @param work the work to execute
+     * @param <R> the result type
+     * @return the value produced by the work
+     */
+    public static <R> R call(final Supplier<R> work) {
+        EntityManagerFactory factory = entityManagerFactory;
+        if (factory == null || CURRENT.get() != null) {
+            return work.get();
+        }
+
+        EntityManager entityManager = factory.createEntityManager();
+        List<Runnable> callbacks = new ArrayList<>();
+        CURRENT.set(entityManager);
+        AFTER_COMPLETION.set(callbacks);
+        R result;
+        boolean rolledBack = false;
+        try {
+            result = work.get();
+        } finally {
+            CURRENT.remove();
+            AFTER_COMPLETION.remove();
+            if (entityManager.getTransaction().isActive()) {
+                entityManager.getTransaction().rollback();
+                rolledBack = true;
+            }
+            entityManager.close();
+        }
+        if (!rolledBack) {
+            callbacks.forEach(Runnable::run);
+        }
+        return result;
+    }
+
+    /**
+     * Runs the given callback once the unit of work open on the calling thread has
+     * ended, or immediately if none is open. The callback is dropped if the unit
+     * of work throws, or if the transaction it was registered in is rolled back.
+     *
+     * @param callback the callback to run
+     */
+    public static void afterCompletion(final Runnable callback) {
+        List<Runnable> callbacks = AFTER_COMPLETION.get();
+        if (callbacks == null) {
+            callback.run();
+        } else {
+            callbacks.add(callback);
+        }
+    }
+
+    /**
+     * Returns how many callbacks the unit of work open on the calling thread holds,
+     * to drop the ones registered after with {@link #discardCallbacks(int)}.
+     *
+     * @return the number of pending callbacks, 0 if no unit of work is open
+     */
+    static int pendingCallbacks() {
+        List<Runnable> callbacks = AFTER_COMPLETION.get();
+        return callbacks == null ? 0 : callbacks.size();
+    }
+
+    /**
+     * Drops the callbacks registered in the unit of work open on the calling thread
+     * since it held the given number of them, because the transaction they belong
+     * to has been rolled back.
+     *
+     * @param mark the number of callbacks to keep
+     */
+    static void discardCallbacks(final int mark) {
+        List<Runnable> callbacks = AFTER_COMPLETION.get();
+        if (callbacks != null && callbacks.size() > mark) {
+            callbacks.subList(mark, callbacks.size()).clear();
+        }
+    }
+
+    /**
+     * Checks whether a unit of work is open on the calling thread.
+     *
+     * @return true if a unit of work is active, false otherwise
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Returns the {@link EntityManager} of the unit of work bound to the calling
+     * thread.
+     *
+     * @return the current entity manager
+     * @throws IllegalStateException if no unit of work is active on this thread
+     */
+    public static EntityManager currentEntityManager() {
+        EntityManager entityManager = CURRENT.get();
+        if (entityManager == null) {
+            throw new IllegalStateException(
+                    "No unit of work is active on the current thread");
+        }
+        return entityManager;
+    }
+}
@@ -1,6 +1,7 @@
 package it.unibo.wastemaster.main;
 
 import it.unibo.wastemaster.application.context.AppContext;
+import it.unibo.wastemaster.controller.utils.AsyncLoader;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
@@ -64,4 +65,14 @@ public final class JavaFXApp extends Application {
             Platform.exit();
         }
     }
+
+    /**
+     * Stops the background jobs and requests and releases the persistence resources
+     * when the application exits.
+     */
+    @Override
+    public void stop() {
+        AsyncLoader.shutdown();
+        AppContext.shutdown();
+    }
 }
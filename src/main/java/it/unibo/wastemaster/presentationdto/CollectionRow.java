@@ -2,6 +2,7 @@ package it.unibo.wastemaster.presentationdto;
 
 import it.unibo.wastemaster.domain.model.Collection;
 import it.unibo.wastemaster.domain.model.Collection.CollectionStatus;
+import it.unibo.wastemaster.domain.repository.Projection;
 import java.time.LocalDate;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
@@ -13,6 +14,23 @@ import javafx.beans.property.SimpleBooleanProperty;
  */
 public final class CollectionRow {
 
+    /**
+     * Projection reading only the collection, waste and customer columns shown in
+     * the row.
+     */
+    public static final Projection<CollectionRow> PROJECTION = Projection.of(columns -> {
+        var id = columns.add("collectionId", Integer.class);
+        var wasteName = columns.add("waste.name", String.class);
+        var date = columns.add("date", LocalDate.class);
+        var zone = columns.add("customer.location.postalCode", String.class);
+        var status = columns.add("collectionStatus", CollectionStatus.class);
+        var customerName = columns.add("customer.name", String.class);
+        var customerSurname = columns.add("customer.surname", String.class);
+        return values -> new CollectionRow(values.get(id), values.get(wasteName),
+                values.get(date), values.get(zone), values.get(status),
+                values.get(customerName) + " " + values.get(customerSurname));
+    });
+
     private final int id;
     private final String wasteName;
     private final LocalDate collectionDate;
@@ -38,6 +56,22 @@ public final class CollectionRow {
                 + collection.getCustomer().getSurname();
     }
 
+    /**
+     * Constructs a read-only CollectionRow from the values read by
+     * {@link #PROJECTION}, without a backing entity.
+     */
+    private CollectionRow(final int id, final String wasteName,
+                          final LocalDate collectionDate, final String zone,
+                          final CollectionStatus status, final String customerName) {
+        this.collection = null;
+        this.id = id;
+        this.wasteName = wasteName;
+        this.collectionDate = collectionDate;
+        this.zone = zone;
+        this.status = status;
+        this.customerName = customerName;
+    }
+
     /**
      * @return the JavaFX boolean property backing the selection state
      */
@@ -118,7 +152,8 @@ public final class CollectionRow {
     /**
      * Returns the underlying collection domain entity.
      *
-     * @return the {@link Collection} entity
+     * @return the {@link Collection} entity, or null if the row was built from
+     * projected values
      */
     public Collection getCollection() {
         return collection;
@@ -1,6 +1,7 @@
 package it.unibo.wastemaster.presentationdto;
 
-import it.unibo.wastemaster.domain.model.Customer;
+import it.unibo.wastemaster.domain.repository.Projection;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 /**
@@ -10,6 +11,26 @@ import java.time.format.DateTimeFormatter;
  */
 public final class CustomerRow {
 
+    /**
+     * Projection reading only the customer and location columns shown in the row.
+     */
+    public static final Projection<CustomerRow> PROJECTION = Projection.of(columns -> {
+        var customerId = columns.add("customerId", Integer.class);
+        var name = columns.add("name", String.class);
+        var surname = columns.add("surname", String.class);
+        var email = columns.add("email", String.class);
+        var street = columns.add("location.street", String.class);
+        var civic = columns.add("location.civicNumber", String.class);
+        var city = columns.add("location.city", String.class);
+        var postalCode = columns.add("location.postalCode", String.class);
+        var createdDate = columns.add("createdDate", LocalDateTime.class);
+        return values -> new CustomerRow(values.get(customerId), values.get(name),
+                values.get(surname), values.get(email), values.get(street),
+                values.get(civic), values.get(city), values.get(postalCode),
+                values.get(createdDate));
+    });
+
+    private final int customerId;
     private final String name;
     private final String surname;
     private final String email;
@@ -20,20 +41,31 @@ public final class CustomerRow {
     private final String creationDate;
 
     /**
-     * Constructs a CustomerRow instance using a given customer entity.
+     * Constructs a CustomerRow instance from the values read by {@link #PROJECTION}.
+     */
+    private CustomerRow(final int customerId, final String name, final String surname,
+                        final String email, final String street, final String civic,
+                        final String city, final String postalCode,
+                        final LocalDateTime createdDate) {
+        this.customerId = customerId;
+        this.name = name;
+        this.surname = surname;
+        this.email = email;
+        this.street = street;
+        this.civic = civic;
+        this.city = city;
+        this.postalCode = postalCode;
+        this.creationDate =
+                createdDate.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"));
+    }
+
+    /**
+     * Gets the customer's ID.
      *
-     * @param customer the customer entity
+     * @return the customer ID
      */
-    public CustomerRow(final Customer customer) {
-        this.name = customer.getName();
-        this.surname = customer.getSurname();
-        this.email = customer.getEmail();
-        this.street = customer.getLocation().getStreet();
-        this.civic = customer.getLocation().getCivicNumber();
-        this.city = customer.getLocation().getCity();
-        this.postalCode = customer.getLocation().getPostalCode();
-        this.creationDate = customer.getCreatedDate()
-                .format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"));
+    public int getCustomerId() {
+        return customerId;
     }
 
     /**
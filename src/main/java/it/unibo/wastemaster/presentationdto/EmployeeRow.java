@@ -1,9 +1,9 @@
 package it.unibo.wastemaster.presentationdto;
 
-import it.unibo.wastemaster.domain.model.Employee;
 import it.unibo.wastemaster.domain.model.Employee.Licence;
 import it.unibo.wastemaster.domain.model.Employee.Role;
-import it.unibo.wastemaster.domain.model.Location;
+import it.unibo.wastemaster.domain.repository.Projection;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 /**
@@ -12,28 +12,70 @@ import java.time.format.DateTimeFormatter;
  */
 public final class EmployeeRow {
 
+    /**
+     * Projection reading only the employee and location columns shown in the row.
+     */
+    public static final Projection<EmployeeRow> PROJECTION = Projection.of(columns -> {
+        var employeeId = columns.add("employeeId", Integer.class);
+        var name = columns.add("name", String.class);
+        var surname = columns.add("surname", String.class);
+        var email = columns.add("email", String.class);
+        var role = columns.add("role", Role.class);
+        var licence = columns.add("licence", Licence.class);
+        var street = columns.add("location.street", String.class);
+        var civic = columns.add("location.civicNumber", String.class);
+        var city = columns.add("location.city", String.class);
+        var postalCode = columns.add("location.postalCode", String.class);
+        var createdDate = columns.add("createdDate", LocalDateTime.class);
+        return values -> new EmployeeRow(values.get(employeeId), values.get(name),
+                values.get(surname), values.get(email), values.get(role),
+                values.get(licence), values.get(street), values.get(civic),
+                values.get(city), values.get(postalCode), values.get(createdDate));
+    });
+
+    private final int employeeId;
     private final String name;
     private final String surname;
     private final String email;
     private final Role role;
     private final Licence licence;
-    private final Employee employee;
+    private final String street;
+    private final String civic;
+    private final String city;
+    private final String postalCode;
+    private final String fullLocation;
     private final String creationDate;
 
     /**
-     * Constructs an EmployeeRow instance using a given employee entity.
+     * Constructs an EmployeeRow instance from the values read by
+     * {@link #PROJECTION}.
+     */
+    private EmployeeRow(final int employeeId, final String name, final String surname,
+                        final String email, final Role role, final Licence licence,
+                        final String street, final String civic, final String city,
+                        final String postalCode, final LocalDateTime createdDate) {
+        this.employeeId = employeeId;
+        this.name = name;
+        this.surname = surname;
+        this.email = email;
+        this.role = role;
+        this.licence = licence;
+        this.street = street;
+        this.civic = civic;
+        this.city = city;
+        this.postalCode = postalCode;
+        this.fullLocation = street + " " + civic + ", " + city + " (" + postalCode + ")";
+        this.creationDate =
+                createdDate.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"));
+    }
+
+    /**
+     * Gets the employee's ID.
      *
-     * @param employee the employee entity
+     * @return the employee ID
      */
-    public EmployeeRow(final Employee employee) {
-        this.employee = employee;
-        this.name = employee.getName();
-        this.surname = employee.getSurname();
-        this.email = employee.getEmail();
-        this.role = employee.getRole();
-        this.licence = employee.getLicence();
-        this.creationDate = employee.getCreatedDate()
-                .format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"));
+    public int getEmployeeId() {
+        return employeeId;
     }
 
     /**
@@ -81,15 +123,49 @@ public final class EmployeeRow {
         return licence;
     }
 
+    /**
+     * Gets the street of the employee's location.
+     *
+     * @return the street
+     */
+    public String getStreet() {
+        return street;
+    }
+
+    /**
+     * Gets the civic number of the employee's location.
+     *
+     * @return the civic number
+     */
+    public String getCivic() {
+        return civic;
+    }
+
+    /**
+     * Gets the city of the employee's location.
+     *
+     * @return the city
+     */
+    public String getCity() {
+        return city;
+    }
+
+    /**
+     * Gets the postal code of the employee's location.
+     *
+     * @return the postal code
+     */
+    public String getPostalCode() {
+        return postalCode;
+    }
+
     /**
      * Gets the full location as a formatted string.
      *
      * @return the full location string
      */
     public String getFullLocation() {
-        Location loc = employee.getLocation();
-        return loc.getStreet() + " " + loc.getCivicNumber() + ", "
-                + loc.getCity() + " (" + loc.getPostalCode() + ")";
+        return fullLocation;
     }
 
     /**
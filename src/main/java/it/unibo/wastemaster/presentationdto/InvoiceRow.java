@@ -1,6 +1,8 @@
 package it.unibo.wastemaster.presentationdto;
 
-import it.unibo.wastemaster.domain.model.Invoice;
+import it.unibo.wastemaster.domain.model.Invoice.PaymentStatus;
+import it.unibo.wastemaster.domain.model.Money;
+import it.unibo.wastemaster.domain.repository.Projection;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -10,7 +12,31 @@ import java.time.format.DateTimeFormatter;
  */
 public final class InvoiceRow {
 
-    private final Invoice invoice;
+    /**
+     * Projection reading only the invoice and customer columns shown in the row.
+     */
+    public static final Projection<InvoiceRow> PROJECTION = Projection.of(columns -> {
+        var invoiceId = columns.add("invoiceId", Integer.class);
+        var customerName = columns.add("customer.name", String.class);
+        var customerSurname = columns.add("customer.surname", String.class);
+        var amountCents = columns.add("amountCents", Long.class);
+        var paymentStatus = columns.add("paymentStatus", PaymentStatus.class);
+        var issueDate = columns.add("issueDate", LocalDateTime.class);
+        var paymentDate = columns.add("paymentDate", LocalDateTime.class);
+        var recurringCount = columns.add("recurringCount", Integer.class);
+        var onetimeCount = columns.add("onetimeCount", Integer.class);
+        var totalRecurring = columns.add("totalRecurringCents", Long.class);
+        var totalOnetime = columns.add("totalOnetimeCents", Long.class);
+        var isDeleted = columns.add("isDeleted", Boolean.class);
+        return values -> new InvoiceRow(values.get(invoiceId), values.get(customerName),
+                values.get(customerSurname), values.get(amountCents),
+                values.get(paymentStatus), values.get(issueDate),
+                values.get(paymentDate), values.get(recurringCount),
+                values.get(onetimeCount), values.get(totalRecurring),
+                values.get(totalOnetime), values.get(isDeleted));
+    });
+
+    private final int invoiceId;
     private final String id;
     private final String customer;
     private final String amount;
@@ -20,34 +46,39 @@ public final class InvoiceRow {
     private final String serviceCounts;
     private final String totalAmounts;
     private final String isCancelled;
+    private final String customerName;
+    private final String customerSurname;
+    private final long amountCents;
+    private final PaymentStatus paymentStatus;
 
     /**
-     * Constructs an InvoiceRow from a given {@link Invoice} object.
+     * Constructs an InvoiceRow from the values read by {@link #PROJECTION}.
      * Formats invoice fields into human-readable string representations.
-     *
-     * @param invoice the {@link Invoice} to be represented in this row
-     */
-    public InvoiceRow(final Invoice invoice) {
-        this.invoice = invoice;
-        this.id = String.valueOf(invoice.getInvoiceId());
-        this.customer = invoice.getCustomer() != null
-                ? invoice.getCustomer().getName() + " " + invoice.getCustomer()
-                .getSurname() : "";
-        this.amount = String.format("%.2f", invoice.getAmount());
-        this.status = invoice.getPaymentStatus() != null
-                ? invoice.getPaymentStatus().toString() : "";
-        this.issueDate =
-                invoice.getIssueDate() != null ? invoice.getIssueDate().toString() : "";
+     */
+    private InvoiceRow(final int invoiceId, final String customerName,
+                       final String customerSurname, final long amountCents,
+                       final PaymentStatus paymentStatus, final LocalDateTime issued,
+                       final LocalDateTime paid, final int recurringCount,
+                       final int onetimeCount, final long totalRecurringCents,
+                       final long totalOnetimeCents, final boolean deleted) {
+        this.invoiceId = invoiceId;
+        this.id = String.valueOf(invoiceId);
+        this.customerName = customerName;
+        this.customerSurname = customerSurname;
+        this.customer = customerName != null
+                ? customerName + " " + customerSurname : "";
+        this.amountCents = amountCents;
+        this.amount = Money.format(amountCents);
+        this.paymentStatus = paymentStatus;
+        this.status = paymentStatus != null ? paymentStatus.toString() : "";
+        this.issueDate = issued != null ? issued.toString() : "";
         DateTimeFormatter fmt = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        LocalDateTime paid = invoice.getPaymentDate();
         this.paymentDate = paid != null ? paid.format(fmt) : "";
-        this.serviceCounts = "Recurring: " + invoice.getRecurringCount()
-                + ", One-time: " + invoice.getOnetimeCount();
-        this.totalAmounts =
-                "Recurring: " + String.format("%.2f", invoice.getTotalRecurring())
-                        + ", One-time: " + String.format("%.2f",
-                        invoice.getTotalOnetime());
-        this.isCancelled = invoice.isDeleted() ? "Yes" : "No";
+        this.serviceCounts = "Recurring: " + recurringCount
+                + ", One-time: " + onetimeCount;
+        this.totalAmounts = "Recurring: " + Money.format(totalRecurringCents)
+                + ", One-time: " + Money.format(totalOnetimeCents);
+        this.isCancelled = deleted ? "Yes" : "No";
     }
 
     /**
@@ -132,11 +163,47 @@ public final class InvoiceRow {
     }
 
     /**
-     * Returns the underlying {@link Invoice} object.
+     * Returns the identifier of the invoice shown in this row.
+     *
+     * @return invoice ID
+     */
+    public int getInvoiceId() {
+        return invoiceId;
+    }
+
+    /**
+     * Returns the name of the invoiced customer.
+     *
+     * @return the customer name, or null if the customer is missing
+     */
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    /**
+     * Returns the surname of the invoiced customer.
+     *
+     * @return the customer surname, or null if the customer is missing
+     */
+    public String getCustomerSurname() {
+        return customerSurname;
+    }
+
+    /**
+     * Returns the invoice amount in cents.
+     *
+     * @return the amount in cents
+     */
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    /**
+     * Returns the payment status.
      *
-     * @return original invoice
+     * @return the payment status, or null if not set
      */
-    public Invoice getInvoice() {
-        return invoice;
+    public PaymentStatus getPaymentStatus() {
+        return paymentStatus;
     }
 }
@@ -1,8 +1,8 @@
 package it.unibo.wastemaster.presentationdto;
 
-import it.unibo.wastemaster.domain.model.OneTimeSchedule;
 import it.unibo.wastemaster.domain.model.RecurringSchedule;
 import it.unibo.wastemaster.domain.model.Schedule;
+import it.unibo.wastemaster.domain.repository.Projection;
 import java.time.LocalDate;
 
 /**
@@ -12,6 +12,32 @@ import java.time.LocalDate;
  */
 public final class ScheduleRow {
 
+    /**
+     * Projection reading only the schedule, waste and customer columns shown in the
+     * row. Attributes of one kind of schedule are null for the other kind.
+     */
+    public static final Projection<ScheduleRow> PROJECTION = Projection.of(columns -> {
+        var id = columns.add("id", Integer.class);
+        var wasteName = columns.add("waste.name", String.class);
+        var category = columns.add("scheduleCategory", Schedule.ScheduleCategory.class);
+        var frequency = columns.add("frequency", RecurringSchedule.Frequency.class);
+        var pickupDate = columns.add("pickupDate", LocalDate.class);
+        var nextCollectionDate = columns.add("nextCollectionDate", LocalDate.class);
+        var startDate = columns.add("startDate", LocalDate.class);
+        var status = columns.add("status", Schedule.ScheduleStatus.class);
+        var customerName = columns.add("customer.name", String.class);
+        var customerSurname = columns.add("customer.surname", String.class);
+        return values -> {
+            boolean recurring =
+                    values.get(category) == Schedule.ScheduleCategory.RECURRING;
+            return new ScheduleRow(values.get(id), values.get(wasteName),
+                    values.get(category), recurring ? values.get(frequency) : null,
+                    recurring ? values.get(nextCollectionDate) : values.get(pickupDate),
+                    recurring ? values.get(startDate) : null, values.get(status),
+                    values.get(customerName) + " " + values.get(customerSurname));
+        };
+    });
+
     private final int id;
     private final String wasteName;
     private final Schedule.ScheduleCategory scheduleCategory;
@@ -22,37 +48,23 @@ public final class ScheduleRow {
     private final String customer;
 
     /**
-     * Creates a row from a one-time schedule.
-     *
-     * @param schedule the one-time schedule
-     */
-    public ScheduleRow(final OneTimeSchedule schedule) {
-        this.id = schedule.getScheduleId();
-        this.wasteName = schedule.getWaste().getWasteName();
-        this.scheduleCategory = Schedule.ScheduleCategory.ONE_TIME;
-        this.frequency = null;
-        this.executionDate = schedule.getPickupDate();
-        this.startDate = null;
-        this.status = schedule.getScheduleStatus();
-        this.customer = schedule.getCustomer().getName() + " "
-                + schedule.getCustomer().getSurname();
-    }
-
-    /**
-     * Creates a row from a recurring schedule.
-     *
-     * @param schedule the recurring schedule
+     * Creates a row from the values read by {@link #PROJECTION}. The execution date
+     * is the pickup date of a one-time schedule, or the next collection date of a
+     * recurring one.
      */
-    public ScheduleRow(final RecurringSchedule schedule) {
-        this.id = schedule.getScheduleId();
-        this.wasteName = schedule.getWaste().getWasteName();
-        this.scheduleCategory = Schedule.ScheduleCategory.RECURRING;
-        this.frequency = schedule.getFrequency();
-        this.executionDate = schedule.getNextCollectionDate();
-        this.startDate = schedule.getStartDate();
-        this.status = schedule.getScheduleStatus();
-        this.customer = schedule.getCustomer().getName() + " "
-                + schedule.getCustomer().getSurname();
+    private ScheduleRow(final int id, final String wasteName,
+                        final Schedule.ScheduleCategory scheduleCategory,
+                        final RecurringSchedule.Frequency frequency,
+                        final LocalDate executionDate, final LocalDate startDate,
+                        final Schedule.ScheduleStatus status, final String customer) {
+        this.id = id;
+        this.wasteName = wasteName;
+        this.scheduleCategory = scheduleCategory;
+        this.frequency = frequency;
+        this.executionDate = executionDate;
+        this.startDate = startDate;
+        this.status = status;
+        this.customer = customer;
     }
 
     /**
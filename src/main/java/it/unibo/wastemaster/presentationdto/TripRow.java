@@ -1,57 +1,89 @@
 package it.unibo.wastemaster.presentationdto;
 
-import it.unibo.wastemaster.domain.model.Trip;
+import it.unibo.wastemaster.domain.model.Trip.TripStatus;
+import it.unibo.wastemaster.domain.repository.Projection;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Presentation DTO class that represents a trip for the table view.
  */
 public final class TripRow {
 
-    private final Trip trip;
+    /**
+     * Projection reading only the trip, vehicle and operator columns shown in the
+     * row.
+     */
+    public static final Projection<TripRow> PROJECTION = Projection.of(columns -> {
+        var tripId = columns.add("tripId", Integer.class);
+        var postalCode = columns.add("postalCode", String.class);
+        var plate = columns.add("assignedVehicle.plate", String.class);
+        var brand = columns.add("assignedVehicle.brand", String.class);
+        var model = columns.add("assignedVehicle.model", String.class);
+        var requiredOperators =
+                columns.add("assignedVehicle.requiredOperators", Integer.class);
+        var departureTime = columns.add("departureTime", LocalDateTime.class);
+        var expectedReturn = columns.add("expectedReturnTime", LocalDateTime.class);
+        var status = columns.add("status", TripStatus.class);
+        var operatorNames = columns.addElement("operators.name", String.class);
+        var operatorSurnames = columns.addElement("operators.surname", String.class);
+        return values -> new TripRow(values.get(tripId), values.get(postalCode),
+                values.get(plate), values.get(brand), values.get(model),
+                values.get(requiredOperators), values.get(departureTime),
+                values.get(expectedReturn), values.get(status),
+                values.getAll(operatorNames), values.getAll(operatorSurnames));
+    });
+
+    private final int tripId;
     private final String id;
     private final String postalCodes;
     private final String vehicle;
+    private final String vehicleModel;
+    private final int vehicleCapacity;
     private final String operators;
     private final String departure;
     private final String returnTime;
     private final String status;
+    private final String brand;
+    private final String model;
+    private final Integer requiredOperators;
+    private final List<String> operatorNames;
+    private final List<String> operatorSurnames;
+    private final TripStatus tripStatus;
 
     /**
-     * Constructs a TripRow from a given {@link Trip} object.
+     * Constructs a TripRow from the values read by {@link #PROJECTION}.
      * Formats trip fields into human-readable string representations.
-     *
-     * @param trip the {@link Trip} to be represented in this row
-     */
-    public TripRow(final Trip trip) {
-        this.trip = trip;
-        this.id = String.valueOf(trip.getTripId());
-        this.postalCodes = trip.getPostalCode() != null ? trip.getPostalCode() : "";
-        this.vehicle =
-                trip.getAssignedVehicle() != null ? trip.getAssignedVehicle().getPlate()
-                        : "";
-        this.operators = trip.getOperators() != null
-                ? trip.getOperators().stream()
-                .map(op -> op.getName() + " " + op.getSurname())
-                .collect(Collectors.joining(", "))
-                : "";
-        DateTimeFormatter fmt = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-        this.departure =
-                trip.getDepartureTime() != null ? trip.getDepartureTime().format(fmt)
-                        : "";
-        this.returnTime = trip.getExpectedReturnTime() != null
-                ? trip.getExpectedReturnTime().format(fmt) : "";
-        this.status = trip.getStatus() != null ? trip.getStatus().toString() : "";
-    }
-
-    /**
-     * Returns the underlying {@link Trip} object.
-     *
-     * @return original trip
      */
-    public Trip getTrip() {
-        return trip;
+    private TripRow(final int tripId, final String postalCode, final String plate,
+                    final String brand, final String model,
+                    final Integer requiredOperators, final LocalDateTime departureTime,
+                    final LocalDateTime expectedReturn, final TripStatus tripStatus,
+                    final List<String> operatorNames,
+                    final List<String> operatorSurnames) {
+        this.tripId = tripId;
+        this.id = String.valueOf(tripId);
+        this.postalCodes = postalCode != null ? postalCode : "";
+        this.vehicle = plate != null ? plate : "";
+        this.brand = brand;
+        this.model = model;
+        this.vehicleModel = ((brand != null ? brand : "") + " "
+                + (model != null ? model : "")).trim();
+        this.requiredOperators = requiredOperators;
+        this.vehicleCapacity = requiredOperators != null ? requiredOperators : 0;
+        this.operatorNames = operatorNames;
+        this.operatorSurnames = operatorSurnames;
+        this.operators = IntStream.range(0, operatorNames.size())
+                .mapToObj(i -> operatorNames.get(i) + " " + operatorSurnames.get(i))
+                .collect(Collectors.joining(", "));
+        DateTimeFormatter fmt = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+        this.departure = departureTime != null ? departureTime.format(fmt) : "";
+        this.returnTime = expectedReturn != null ? expectedReturn.format(fmt) : "";
+        this.tripStatus = tripStatus;
+        this.status = tripStatus != null ? tripStatus.toString() : "";
     }
 
     /**
@@ -69,7 +101,7 @@ public final class TripRow {
      * @return trip ID
      */
     public int getIdAsInt() {
-        return trip.getTripId();
+        return tripId;
     }
 
     /**
@@ -96,13 +128,7 @@ public final class TripRow {
      * @return formatted vehicle brand and model, or empty string if not available
      */
     public String getVehicleModel() {
-        var v = trip.getAssignedVehicle();
-        if (v == null) {
-            return "";
-        }
-        String brand = v.getBrand() != null ? v.getBrand() : "";
-        String model = v.getModel() != null ? v.getModel() : "";
-        return (brand + " " + model).trim();
+        return vehicleModel;
     }
 
     /**
@@ -111,8 +137,7 @@ public final class TripRow {
      * @return number of required operators, or 0 if no vehicle assigned
      */
     public int getVehicleCapacity() {
-        var v = trip.getAssignedVehicle();
-        return v != null ? v.getRequiredOperators() : 0;
+        return vehicleCapacity;
     }
 
     /**
@@ -150,4 +175,58 @@ public final class TripRow {
     public String getStatus() {
         return status;
     }
+
+    /**
+     * Returns the brand of the assigned vehicle.
+     *
+     * @return the vehicle brand, or null if no vehicle is assigned
+     */
+    public String getBrand() {
+        return brand;
+    }
+
+    /**
+     * Returns the model of the assigned vehicle.
+     *
+     * @return the vehicle model, or null if no vehicle is assigned
+     */
+    public String getModel() {
+        return model;
+    }
+
+    /**
+     * Returns the number of operators required by the assigned vehicle.
+     *
+     * @return the required operators, or null if no vehicle is assigned
+     */
+    public Integer getRequiredOperators() {
+        return requiredOperators;
+    }
+
+    /**
+     * Returns the names of the assigned operators.
+     *
+     * @return the operator names
+     */
+    public List<String> getOperatorNames() {
+        return operatorNames;
+    }
+
+    /**
+     * Returns the surnames of the assigned operators, in the order of their names.
+     *
+     * @return the operator surnames
+     */
+    public List<String> getOperatorSurnames() {
+        return operatorSurnames;
+    }
+
+    /**
+     * Returns the trip status.
+     *
+     * @return the status, or null if not set
+     */
+    public TripStatus getTripStatus() {
+        return tripStatus;
+    }
 }
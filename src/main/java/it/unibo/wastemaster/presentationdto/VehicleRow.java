@@ -1,8 +1,8 @@
 package it.unibo.wastemaster.presentationdto;
 
-import it.unibo.wastemaster.domain.model.Vehicle;
 import it.unibo.wastemaster.domain.model.Vehicle.RequiredLicence;
 import it.unibo.wastemaster.domain.model.Vehicle.VehicleStatus;
+import it.unibo.wastemaster.domain.repository.Projection;
 import java.time.LocalDate;
 
 /**
@@ -10,6 +10,28 @@ import java.time.LocalDate;
  */
 public final class VehicleRow {
 
+    /**
+     * Projection reading only the vehicle columns shown in the row.
+     */
+    public static final Projection<VehicleRow> PROJECTION = Projection.of(columns -> {
+        var vehicleId = columns.add("vehicleId", Integer.class);
+        var plate = columns.add("plate", String.class);
+        var brand = columns.add("brand", String.class);
+        var model = columns.add("model", String.class);
+        var registrationYear = columns.add("registrationYear", Integer.class);
+        var requiredOperators = columns.add("requiredOperators", Integer.class);
+        var requiredLicence = columns.add("requiredLicence", RequiredLicence.class);
+        var vehicleStatus = columns.add("vehicleStatus", VehicleStatus.class);
+        var lastMaintenance = columns.add("lastMaintenanceDate", LocalDate.class);
+        var nextMaintenance = columns.add("nextMaintenanceDate", LocalDate.class);
+        return values -> new VehicleRow(values.get(vehicleId), values.get(plate),
+                values.get(brand), values.get(model), values.get(registrationYear),
+                values.get(requiredOperators), values.get(requiredLicence),
+                values.get(vehicleStatus), values.get(lastMaintenance),
+                values.get(nextMaintenance));
+    });
+
+    private final int vehicleId;
     private final String plate;
     private final String brand;
     private final String model;
@@ -21,20 +43,33 @@ public final class VehicleRow {
     private final LocalDate nextMaintenanceDate;
 
     /**
-     * Constructs a VehicleRow from a Vehicle entity.
+     * Constructs a VehicleRow from the values read by {@link #PROJECTION}.
+     */
+    private VehicleRow(final int vehicleId, final String plate, final String brand,
+                       final String model, final int registrationYear,
+                       final int requiredOperators, final RequiredLicence licenceType,
+                       final VehicleStatus vehicleStatus,
+                       final LocalDate lastMaintenanceDate,
+                       final LocalDate nextMaintenanceDate) {
+        this.vehicleId = vehicleId;
+        this.plate = plate;
+        this.brand = brand;
+        this.model = model;
+        this.registrationYear = registrationYear;
+        this.requiredOperators = requiredOperators;
+        this.licenceType = licenceType;
+        this.vehicleStatus = vehicleStatus;
+        this.lastMaintenanceDate = lastMaintenanceDate;
+        this.nextMaintenanceDate = nextMaintenanceDate;
+    }
+
+    /**
+     * Gets the vehicle ID.
      *
-     * @param vehicle the vehicle to represent
+     * @return the vehicle ID
      */
-    public VehicleRow(final Vehicle vehicle) {
-        this.plate = vehicle.getPlate();
-        this.brand = vehicle.getBrand();
-        this.model = vehicle.getModel();
-        this.registrationYear = vehicle.getRegistrationYear();
-        this.requiredOperators = vehicle.getRequiredOperators();
-        this.licenceType = vehicle.getRequiredLicence();
-        this.vehicleStatus = vehicle.getVehicleStatus();
-        this.lastMaintenanceDate = vehicle.getLastMaintenanceDate();
-        this.nextMaintenanceDate = vehicle.getNextMaintenanceDate();
+    public int getVehicleId() {
+        return vehicleId;
     }
 
     /**
@@ -0,0 +1,17 @@
+-- Ids of the entities written by each revision of change_version, so clients
+-- following a type read again only the rows a revision changed. Revisions not
+-- known row by row log no id, and the DAOs prune the oldest revisions. Ids come
+-- from a pooled sequence, so the rows are inserted in JDBC batches.
+
+CREATE SEQUENCE IF NOT EXISTS changed_row_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS changed_row (
+    changedRowId BIGINT NOT NULL,
+    entityName VARCHAR(64) NOT NULL,
+    revision BIGINT NOT NULL,
+    entityId INTEGER NOT NULL,
+    PRIMARY KEY (changedRowId)
+) ENGINE = InnoDB;
+
+CREATE INDEX IF NOT EXISTS idx_changed_row_revision
+    ON changed_row (entityName, revision);
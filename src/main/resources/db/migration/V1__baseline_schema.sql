@@ -0,0 +1,164 @@
+-- Baseline schema, matching the tables previously generated by Hibernate.
+-- Databases created before migrations were introduced are baselined at this
+-- version without running this script.
+
+CREATE SEQUENCE collections_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE invoices_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE location (
+    id INTEGER NOT NULL AUTO_INCREMENT,
+    city VARCHAR(255) NOT NULL,
+    civicNumber VARCHAR(255) NOT NULL,
+    postalCode VARCHAR(255) NOT NULL,
+    street VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE customer (
+    customerId INTEGER NOT NULL AUTO_INCREMENT,
+    createdDate DATETIME(6) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    isDeleted BIT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    phone VARCHAR(255) NOT NULL,
+    surname VARCHAR(255) NOT NULL,
+    location_id INTEGER NOT NULL,
+    PRIMARY KEY (customerId),
+    CONSTRAINT fk_customer_location FOREIGN KEY (location_id) REFERENCES location (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE employee (
+    employeeId INTEGER NOT NULL AUTO_INCREMENT,
+    createdDate DATETIME(6) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    isDeleted BIT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    phone VARCHAR(255) NOT NULL,
+    surname VARCHAR(255) NOT NULL,
+    licence VARCHAR(255) NOT NULL,
+    role VARCHAR(255) NOT NULL,
+    location_id INTEGER NOT NULL,
+    PRIMARY KEY (employeeId),
+    CONSTRAINT fk_employee_location FOREIGN KEY (location_id) REFERENCES location (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE account (
+    id INTEGER NOT NULL AUTO_INCREMENT,
+    passwordHash VARCHAR(255) NOT NULL,
+    employee_id INTEGER NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_account_employee UNIQUE (employee_id),
+    CONSTRAINT fk_account_employee FOREIGN KEY (employee_id)
+        REFERENCES employee (employeeId)
+) ENGINE = InnoDB;
+
+CREATE TABLE Waste (
+    wasteId INTEGER NOT NULL AUTO_INCREMENT,
+    deleted BIT NOT NULL,
+    isDangerous BIT NOT NULL,
+    isRecyclable BIT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (wasteId)
+) ENGINE = InnoDB;
+
+CREATE TABLE WasteSchedule (
+    scheduleId INTEGER NOT NULL AUTO_INCREMENT,
+    dayOfWeek VARCHAR(255) NOT NULL,
+    waste_id INTEGER NOT NULL,
+    PRIMARY KEY (scheduleId),
+    CONSTRAINT fk_wasteschedule_waste FOREIGN KEY (waste_id) REFERENCES Waste (wasteId)
+) ENGINE = InnoDB;
+
+CREATE TABLE Schedule (
+    schedule_type VARCHAR(31) NOT NULL,
+    id INTEGER NOT NULL AUTO_INCREMENT,
+    creationDate DATE NOT NULL,
+    scheduleCategory VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    pickupDate DATE,
+    frequency VARCHAR(255),
+    nextCollectionDate DATE,
+    startDate DATE,
+    customer_id INTEGER NOT NULL,
+    waste_id INTEGER NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_schedule_customer FOREIGN KEY (customer_id)
+        REFERENCES customer (customerId),
+    CONSTRAINT fk_schedule_waste FOREIGN KEY (waste_id) REFERENCES Waste (wasteId)
+) ENGINE = InnoDB;
+
+CREATE TABLE Vehicle (
+    vehicleId INTEGER NOT NULL AUTO_INCREMENT,
+    brand VARCHAR(255) NOT NULL,
+    lastMaintenanceDate DATE NOT NULL,
+    model VARCHAR(255) NOT NULL,
+    nextMaintenanceDate DATE NOT NULL,
+    plate VARCHAR(10) NOT NULL,
+    registrationYear INTEGER NOT NULL,
+    requiredLicence VARCHAR(255) NOT NULL,
+    requiredOperators INTEGER NOT NULL,
+    vehicleStatus VARCHAR(255) NOT NULL,
+    PRIMARY KEY (vehicleId),
+    CONSTRAINT uk_vehicle_plate UNIQUE (plate)
+) ENGINE = InnoDB;
+
+CREATE TABLE trip (
+    tripId INTEGER NOT NULL AUTO_INCREMENT,
+    departureTime DATETIME(6) NOT NULL,
+    expectedReturnTime DATETIME(6) NOT NULL,
+    lastModified DATETIME(6) NOT NULL,
+    postal_code VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    vehicle_id INTEGER NOT NULL,
+    PRIMARY KEY (tripId),
+    CONSTRAINT fk_trip_vehicle FOREIGN KEY (vehicle_id) REFERENCES Vehicle (vehicleId)
+) ENGINE = InnoDB;
+
+CREATE TABLE trip_operators (
+    trip_id INTEGER NOT NULL,
+    employee_id INTEGER NOT NULL,
+    CONSTRAINT fk_trip_operators_trip FOREIGN KEY (trip_id) REFERENCES trip (tripId),
+    CONSTRAINT fk_trip_operators_employee FOREIGN KEY (employee_id)
+        REFERENCES employee (employeeId)
+) ENGINE = InnoDB;
+
+CREATE TABLE invoices (
+    invoiceId INTEGER NOT NULL,
+    amount DOUBLE NOT NULL,
+    isDeleted BIT NOT NULL,
+    issueDate DATETIME(6) NOT NULL,
+    lastModified DATETIME(6) NOT NULL,
+    onetimeCount INTEGER NOT NULL,
+    paymentDate DATETIME(6),
+    paymentStatus VARCHAR(255) NOT NULL,
+    recurringCount INTEGER NOT NULL,
+    totalOnetime DOUBLE NOT NULL,
+    totalRecurring DOUBLE NOT NULL,
+    customer_id INTEGER NOT NULL,
+    PRIMARY KEY (invoiceId),
+    CONSTRAINT fk_invoices_customer FOREIGN KEY (customer_id)
+        REFERENCES customer (customerId)
+) ENGINE = InnoDB;
+
+CREATE TABLE collections (
+    collectionId INTEGER NOT NULL,
+    cancelLimitDays INTEGER NOT NULL,
+    collectionStatus VARCHAR(255) NOT NULL,
+    date DATE NOT NULL,
+    isBilled BIT NOT NULL,
+    customer_id INTEGER NOT NULL,
+    invoice_id INTEGER,
+    schedule_id INTEGER NOT NULL,
+    trip_id INTEGER,
+    waste_id INTEGER NOT NULL,
+    PRIMARY KEY (collectionId),
+    CONSTRAINT fk_collections_customer FOREIGN KEY (customer_id)
+        REFERENCES customer (customerId),
+    CONSTRAINT fk_collections_invoice FOREIGN KEY (invoice_id)
+        REFERENCES invoices (invoiceId),
+    CONSTRAINT fk_collections_schedule FOREIGN KEY (schedule_id)
+        REFERENCES Schedule (id),
+    CONSTRAINT fk_collections_trip FOREIGN KEY (trip_id) REFERENCES trip (tripId),
+    CONSTRAINT fk_collections_waste FOREIGN KEY (waste_id) REFERENCES Waste (wasteId)
+) ENGINE = InnoDB;
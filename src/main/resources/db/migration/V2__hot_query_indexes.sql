@@ -0,0 +1,26 @@
+-- Indexes for the predicates and orderings of the most frequent DAO queries.
+-- Keep in sync with the @Index declarations of the entities.
+
+CREATE INDEX IF NOT EXISTS idx_collections_date_status
+    ON collections (date, collectionStatus);
+
+CREATE INDEX IF NOT EXISTS idx_collections_schedule_status
+    ON collections (schedule_id, collectionStatus);
+
+CREATE INDEX IF NOT EXISTS idx_collections_customer_billing
+    ON collections (customer_id, collectionStatus, isBilled);
+
+CREATE INDEX IF NOT EXISTS idx_trip_status_window
+    ON trip (status, departureTime, expectedReturnTime);
+
+CREATE INDEX IF NOT EXISTS idx_trip_last_modified
+    ON trip (lastModified DESC);
+
+CREATE INDEX IF NOT EXISTS idx_schedule_status_next_date
+    ON Schedule (status, nextCollectionDate);
+
+CREATE INDEX IF NOT EXISTS idx_customer_created_date
+    ON customer (createdDate DESC);
+
+CREATE INDEX IF NOT EXISTS idx_invoices_last_modified
+    ON invoices (lastModified DESC);
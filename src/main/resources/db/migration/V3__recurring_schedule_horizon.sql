@@ -0,0 +1,4 @@
+-- Last occurrence materialized as a collection for each recurring schedule, so that
+-- the collection horizon is topped up from where the previous run stopped.
+
+ALTER TABLE Schedule ADD COLUMN IF NOT EXISTS materializedUntil DATE;
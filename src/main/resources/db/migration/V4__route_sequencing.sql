@@ -0,0 +1,6 @@
+-- Coordinates of locations, placed from the local centroid table, and visiting
+-- order of the collections of a trip.
+
+ALTER TABLE location ADD COLUMN IF NOT EXISTS latitude DOUBLE;
+ALTER TABLE location ADD COLUMN IF NOT EXISTS longitude DOUBLE;
+ALTER TABLE collections ADD COLUMN IF NOT EXISTS stopSequence INTEGER;
@@ -0,0 +1,21 @@
+-- Running billing totals of each customer, kept up to date by the invoice
+-- operations, initialised from the invoices not deleted.
+
+CREATE TABLE IF NOT EXISTS customer_balance (
+    customerId INTEGER NOT NULL,
+    invoiceCount INTEGER NOT NULL,
+    billedCollections INTEGER NOT NULL,
+    billedAmount DOUBLE NOT NULL,
+    paidAmount DOUBLE NOT NULL,
+    PRIMARY KEY (customerId),
+    CONSTRAINT fk_customer_balance_customer FOREIGN KEY (customerId)
+        REFERENCES customer (customerId)
+) ENGINE = InnoDB;
+
+INSERT INTO customer_balance
+    (customerId, invoiceCount, billedCollections, billedAmount, paidAmount)
+SELECT customer_id, COUNT(*), SUM(recurringCount + onetimeCount), SUM(amount),
+       SUM(CASE WHEN paymentStatus = 'PAID' THEN amount ELSE 0 END)
+FROM invoices
+WHERE isDeleted = FALSE
+GROUP BY customer_id;
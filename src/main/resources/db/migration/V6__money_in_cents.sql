@@ -0,0 +1,29 @@
+-- Billing amounts stored as whole cents instead of floating-point euros, so that
+-- totals are exact. Existing amounts are rounded to the nearest cent.
+
+ALTER TABLE invoices ADD COLUMN IF NOT EXISTS amountCents BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE invoices
+    ADD COLUMN IF NOT EXISTS totalRecurringCents BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE invoices
+    ADD COLUMN IF NOT EXISTS totalOnetimeCents BIGINT NOT NULL DEFAULT 0;
+
+UPDATE invoices
+SET amountCents = ROUND(amount * 100),
+    totalRecurringCents = ROUND(totalRecurring * 100),
+    totalOnetimeCents = ROUND(totalOnetime * 100);
+
+ALTER TABLE invoices DROP COLUMN IF EXISTS amount;
+ALTER TABLE invoices DROP COLUMN IF EXISTS totalRecurring;
+ALTER TABLE invoices DROP COLUMN IF EXISTS totalOnetime;
+
+ALTER TABLE customer_balance
+    ADD COLUMN IF NOT EXISTS billedCents BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE customer_balance
+    ADD COLUMN IF NOT EXISTS paidCents BIGINT NOT NULL DEFAULT 0;
+
+UPDATE customer_balance
+SET billedCents = ROUND(billedAmount * 100),
+    paidCents = ROUND(paidAmount * 100);
+
+ALTER TABLE customer_balance DROP COLUMN IF EXISTS billedAmount;
+ALTER TABLE customer_balance DROP COLUMN IF EXISTS paidAmount;
@@ -0,0 +1,41 @@
+-- Tariffs pricing the collections by schedule category, waste type, frequency
+-- and customer category, and the tariff and price stored on each billed
+-- collection. The former fixed fees become the default tariffs, and the
+-- collections already billed are given the price they were billed at.
+
+CREATE TABLE IF NOT EXISTS tariff (
+    tariffId INTEGER NOT NULL AUTO_INCREMENT,
+    scheduleCategory VARCHAR(255) NOT NULL,
+    waste_id INTEGER,
+    frequency VARCHAR(255),
+    customerCategory VARCHAR(255),
+    validFrom DATE NOT NULL,
+    validTo DATE,
+    priceCents BIGINT NOT NULL,
+    PRIMARY KEY (tariffId),
+    CONSTRAINT fk_tariff_waste FOREIGN KEY (waste_id) REFERENCES Waste (wasteId)
+) ENGINE = InnoDB;
+
+INSERT INTO tariff (scheduleCategory, validFrom, priceCents)
+VALUES ('RECURRING', '2000-01-01', 25),
+       ('ONE_TIME', '2000-01-01', 40);
+
+ALTER TABLE customer
+    ADD COLUMN IF NOT EXISTS category VARCHAR(255) NOT NULL DEFAULT 'RESIDENTIAL';
+
+ALTER TABLE collections ADD COLUMN IF NOT EXISTS tariff_id INTEGER;
+ALTER TABLE collections
+    ADD COLUMN IF NOT EXISTS billedCents BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE collections ADD CONSTRAINT fk_collections_tariff
+    FOREIGN KEY (tariff_id) REFERENCES tariff (tariffId);
+
+UPDATE collections
+SET tariff_id = (SELECT t.tariffId
+                 FROM tariff t JOIN Schedule s ON t.scheduleCategory = s.scheduleCategory
+                 WHERE s.id = collections.schedule_id AND t.waste_id IS NULL),
+    billedCents = COALESCE((SELECT t.priceCents
+                            FROM tariff t
+                            JOIN Schedule s ON t.scheduleCategory = s.scheduleCategory
+                            WHERE s.id = collections.schedule_id
+                              AND t.waste_id IS NULL), 0)
+WHERE isBilled = TRUE;
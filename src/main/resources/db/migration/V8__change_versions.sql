@@ -0,0 +1,26 @@
+-- Number of transactions that wrote each entity type, incremented by the DAOs
+-- and polled by the clients to reload a table only when it changed. Every type
+-- gets its row up front, so concurrent first writes never race to insert it.
+
+CREATE TABLE IF NOT EXISTS change_version (
+    entityName VARCHAR(64) NOT NULL,
+    revision BIGINT NOT NULL,
+    PRIMARY KEY (entityName)
+) ENGINE = InnoDB;
+
+INSERT IGNORE INTO change_version (entityName, revision)
+VALUES ('Account', 0),
+       ('Collection', 0),
+       ('Customer', 0),
+       ('CustomerBalance', 0),
+       ('Employee', 0),
+       ('Invoice', 0),
+       ('Location', 0),
+       ('OneTimeSchedule', 0),
+       ('RecurringSchedule', 0),
+       ('Schedule', 0),
+       ('Tariff', 0),
+       ('Trip', 0),
+       ('Vehicle', 0),
+       ('Waste', 0),
+       ('WasteSchedule', 0);
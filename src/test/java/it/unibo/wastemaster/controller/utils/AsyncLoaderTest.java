@@ -0,0 +1,115 @@
+package it.unibo.wastemaster.controller.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AsyncLoaderTest {
+
+    private static final Executor DIRECT = Runnable::run;
+
+    private final Deque<Runnable> queued = new ArrayDeque<>();
+    private final List<String> results = new ArrayList<>();
+    private final List<Throwable> failures = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        queued.clear();
+        results.clear();
+        failures.clear();
+    }
+
+    @Test
+    void testResultIsDelivered() {
+        AsyncLoader loader = new AsyncLoader(failures::add, DIRECT, DIRECT);
+        loader.load(() -> "first", results::add);
+
+        assertEquals(List.of("first"), results);
+        assertTrue(failures.isEmpty());
+        assertFalse(loader.isLoading());
+    }
+
+    @Test
+    void testFailureIsReportedUnwrapped() {
+        AsyncLoader loader = new AsyncLoader(failures::add, DIRECT, DIRECT);
+        IllegalStateException error = new IllegalStateException("boom");
+        loader.load(() -> {
+            throw error;
+        }, results::add);
+
+        assertEquals(1, failures.size());
+        assertSame(error, failures.get(0));
+        assertTrue(results.isEmpty());
+        assertFalse(loader.isLoading());
+    }
+
+    /**
+     * Tests that a newer request skips the work of a pending one not yet started.
+     */
+    @Test
+    void testNewerRequestSkipsPendingWork() {
+        AsyncLoader loader = new AsyncLoader(failures::add, queued::add, DIRECT);
+        boolean[] firstRan = new boolean[1];
+        loader.load(() -> {
+            firstRan[0] = true;
+            return "first";
+        }, results::add);
+        loader.load(() -> "second", results::add);
+        assertTrue(loader.isLoading());
+
+        drain();
+
+        assertFalse(firstRan[0]);
+        assertEquals(List.of("second"), results);
+        assertFalse(loader.isLoading());
+    }
+
+    /**
+     * Tests that the result or failure of a request already run is discarded when a
+     * newer request was started before it reached the application thread.
+     */
+    @Test
+    void testStaleOutcomeIsDiscarded() {
+        AsyncLoader loader = new AsyncLoader(failures::add, DIRECT, queued::add);
+        loader.load(() -> "first", results::add);
+        loader.load(() -> {
+            throw new IllegalStateException("stale");
+        }, results::add);
+        loader.load(() -> "third", results::add);
+
+        drain();
+
+        assertEquals(List.of("third"), results);
+        assertTrue(failures.isEmpty());
+        assertFalse(loader.isLoading());
+    }
+
+    @Test
+    void testCancelDiscardsResult() {
+        AsyncLoader loader = new AsyncLoader(failures::add, DIRECT, queued::add);
+        loader.load(() -> "first", results::add);
+        assertTrue(loader.isLoading());
+
+        loader.cancel();
+        assertFalse(loader.isLoading());
+        drain();
+
+        assertTrue(results.isEmpty());
+        assertTrue(failures.isEmpty());
+    }
+
+    private void drain() {
+        while (!queued.isEmpty()) {
+            queued.poll().run();
+        }
+    }
+}
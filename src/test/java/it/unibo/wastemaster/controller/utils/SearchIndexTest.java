@@ -0,0 +1,127 @@
+package it.unibo.wastemaster.controller.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SearchIndexTest {
+
+    private static final List<String> NAME = List.of("name");
+    private static final List<String> ALL = List.of("name", "status", "tags");
+
+    private SearchIndex<Row> index;
+    private Row mario;
+    private Row anna;
+
+    @BeforeEach
+    void setUp() {
+        index = new SearchIndex<>();
+        index.bind("name", Row::name);
+        index.bind("status", Row::status);
+        index.bind("tags", Row::tags);
+        mario = new Row("Mario Rossi", Status.IN_SERVICE, List.of("Plastica", "Vetro"));
+        anna = new Row("Anna Roma", Status.OUT_OF_SERVICE, List.of());
+        index.addAll(List.of(mario, anna));
+    }
+
+    @Test
+    void testAddReplaceAndRemove() {
+        assertEquals(Set.of(mario), index.search("ROSSI", NAME));
+        assertEquals(Set.of(anna), index.search("rom", ALL));
+
+        Row renamed = new Row("Mario Bianchi", Status.IN_SERVICE, List.of());
+        index.replace(mario, renamed);
+        assertTrue(index.search("rossi", NAME).isEmpty());
+        assertEquals(Set.of(renamed), index.search("bianchi", NAME));
+
+        index.add(renamed);
+        index.remove(renamed);
+        assertTrue(index.search("bianchi", NAME).isEmpty());
+        assertEquals(Set.of(anna), index.search(null, NAME));
+
+        index.remove(renamed);
+        assertEquals(Set.of(anna), index.search("anna", NAME));
+    }
+
+    /**
+     * Tests that a row added after a removal takes the freed slot without
+     * inheriting the trigrams of the row that held it.
+     */
+    @Test
+    void testFreedSlotIsReused() {
+        index.remove(mario);
+        Row luca = new Row("Luca Verdi", Status.IN_SERVICE, List.of("Carta"));
+        index.add(luca);
+
+        assertTrue(index.search("rossi", NAME).isEmpty());
+        assertTrue(index.search("vetro", ALL).isEmpty());
+        assertEquals(Set.of(luca), index.search("verdi", NAME));
+        assertEquals(Set.of(anna, luca), index.search(null, ALL));
+        assertEquals(Set.of(anna, luca), index.search("", NAME));
+    }
+
+    /**
+     * Tests that a text shorter than a trigram is checked against every row.
+     */
+    @Test
+    void testShortTextMatchesAnyRowContainingIt() {
+        assertEquals(Set.of(mario, anna), index.search("ro", NAME));
+        assertEquals(Set.of(mario), index.search("ss", NAME));
+        assertEquals(Set.of(anna), index.search("A R", NAME));
+        assertTrue(index.search("z", NAME).isEmpty());
+    }
+
+    @Test
+    void testEnumMatchesNameAndLabel() {
+        List<String> status = List.of("status");
+        assertEquals(Set.of(anna), index.search("out of", status));
+        assertEquals(Set.of(anna), index.search("unavailable", status));
+        assertEquals(Set.of(mario), index.search("in service", status));
+        assertEquals(Set.of(mario, anna), index.search("service", status));
+        assertTrue(index.search("out_of", status).isEmpty());
+    }
+
+    @Test
+    void testCollectionMatchesAnyElement() {
+        List<String> tags = List.of("tags");
+        assertEquals(Set.of(mario), index.search("vetro", tags));
+        assertEquals(Set.of(mario), index.search("plast", tags));
+        assertTrue(index.search("plastica vetro", tags).isEmpty());
+        assertTrue(index.search("carta", tags).isEmpty());
+    }
+
+    @Test
+    void testOnlyBoundAttributesAreSearched() {
+        assertTrue(index.covers(ALL));
+        assertThrows(IllegalArgumentException.class,
+                () -> index.search("rossi", List.of("email")));
+        assertEquals(Set.of(mario, anna), index.search("rossi", List.of()));
+
+        index.bind("email", row -> null);
+        assertTrue(index.search(null, NAME).isEmpty());
+    }
+
+    private enum Status {
+        IN_SERVICE("Available"),
+        OUT_OF_SERVICE("Unavailable");
+
+        private final String label;
+
+        Status(final String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private record Row(String name, Status status, List<String> tags) {
+    }
+}
@@ -0,0 +1,134 @@
+package it.unibo.wastemaster.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the migrations on an empty H2 database in MariaDB mode, and on one shaped
+ * like a database created before migrations were introduced.
+ */
+class SchemaMigratorTest {
+
+    private static final String URL =
+            "jdbc:h2:mem:migrations;MODE=MariaDB;DB_CLOSE_DELAY=-1";
+    private static final int LATEST_VERSION = 10;
+    private static final int ALLOCATION_SIZE = 50;
+
+    private EntityManagerFactory emf;
+
+    @BeforeEach
+    void setUp() {
+        emf = Persistence.createEntityManagerFactory("test-pu",
+                Map.of("jakarta.persistence.jdbc.url", URL));
+    }
+
+    @AfterEach
+    void tearDown() {
+        execute("DROP ALL OBJECTS");
+        emf.close();
+    }
+
+    @Test
+    void testEmptyDatabaseGetsEveryMigration() {
+        SchemaMigrator.migrate(emf);
+        List<Long> expected = IntStream.rangeClosed(1, LATEST_VERSION)
+                .mapToObj(Long::valueOf).toList();
+        assertEquals(expected, queryLongs("SELECT version FROM schema_version "
+                + "ORDER BY version"));
+
+        SchemaMigrator.migrate(emf);
+        assertEquals(expected, queryLongs("SELECT version FROM schema_version "
+                + "ORDER BY version"));
+    }
+
+    @Test
+    void testExistingDatabaseGetsSequencesAboveItsIds() {
+        SchemaMigrator.migrate(emf, 1);
+        execute("DROP TABLE schema_version");
+        execute("DROP SEQUENCE collections_seq");
+        execute("DROP SEQUENCE invoices_seq");
+        execute("INSERT INTO location (id, city, civicNumber, postalCode, street) "
+                + "VALUES (1, 'Bologna', '10', '40100', 'Via Roma')");
+        execute("INSERT INTO customer (customerId, createdDate, email, isDeleted, "
+                + "name, phone, surname, location_id) VALUES (1, CURRENT_TIMESTAMP, "
+                + "'mario.rossi@example.com', FALSE, 'Mario', '1234567890', 'Rossi', 1)");
+        execute("INSERT INTO Waste (wasteId, deleted, isDangerous, isRecyclable, name) "
+                + "VALUES (1, FALSE, FALSE, TRUE, 'Plastica')");
+        execute("INSERT INTO Schedule (schedule_type, id, creationDate, "
+                + "scheduleCategory, status, pickupDate, customer_id, waste_id) "
+                + "VALUES ('ONE_TIME', 1, CURRENT_DATE, 'ONE_TIME', 'COMPLETED', "
+                + "CURRENT_DATE, 1, 1)");
+        execute("INSERT INTO invoices (invoiceId, amount, isDeleted, issueDate, "
+                + "lastModified, onetimeCount, paymentStatus, recurringCount, "
+                + "totalOnetime, totalRecurring, customer_id) VALUES (120, 0.4, FALSE, "
+                + "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 1, 'UNPAID', 0, 0.4, 0, 1)");
+        execute("INSERT INTO collections (collectionId, cancelLimitDays, "
+                + "collectionStatus, date, isBilled, customer_id, invoice_id, "
+                + "schedule_id, waste_id) VALUES (70, 2, 'COMPLETED', CURRENT_DATE, "
+                + "TRUE, 1, 120, 1, 1)");
+
+        SchemaMigrator.migrate(emf);
+
+        assertEquals(LATEST_VERSION, queryLongs("SELECT version FROM schema_version")
+                .size());
+        assertTrue(firstIdAllocated("collections_seq") > 70);
+        assertTrue(firstIdAllocated("invoices_seq") > 120);
+        assertEquals(List.of(40L),
+                queryLongs("SELECT amountCents FROM invoices WHERE invoiceId = 120"));
+        assertEquals(List.of(40L), queryLongs(
+                "SELECT billedCents FROM collections WHERE collectionId = 70"));
+        assertEquals(List.of(40L), queryLongs(
+                "SELECT billedCents FROM customer_balance WHERE customerId = 1"));
+    }
+
+    private long firstIdAllocated(final String sequence) {
+        return queryLongs("SELECT NEXT VALUE FOR " + sequence).get(0)
+                - ALLOCATION_SIZE + 1;
+    }
+
+    private void execute(final String sql) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.unwrap(Session.class).doWork(connection -> {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(sql);
+                }
+            });
+        } finally {
+            em.close();
+        }
+    }
+
+    private List<Long> queryLongs(final String sql) {
+        List<Long> values = new ArrayList<>();
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.unwrap(Session.class).doWork(connection -> {
+                try (Statement statement = connection.createStatement();
+                     ResultSet rs = statement.executeQuery(sql)) {
+                    while (rs.next()) {
+                        values.add(rs.getLong(1));
+                    }
+                }
+            });
+        } finally {
+            em.close();
+        }
+        return values;
+    }
+}
@@ -16,9 +16,9 @@ import org.junit.jupiter.api.Test;
 
 class InvoiceTest extends AbstractDatabaseTest {
 
-    private static final double TEST_AMOUNT = 200.0;
-    private static final double TOTAL_RECURRING = 50.0;
-    private static final double TOTAL_ONETIME = 150.0;
+    private static final long TEST_AMOUNT = 20_000;
+    private static final long TOTAL_RECURRING = 5_000;
+    private static final long TOTAL_ONETIME = 15_000;
 
     private Invoice invoice;
     private Collection collection;
@@ -51,26 +51,26 @@ class InvoiceTest extends AbstractDatabaseTest {
         invoice =
                 new Invoice(customer, List.of(collection), TOTAL_RECURRING, TOTAL_ONETIME,
                         2, 3, now);
-        invoice.setAmount(100.0);
+        invoice.setAmountCents(10_000);
         invoice.setPaymentStatus(Invoice.PaymentStatus.PAID);
     }
 
     @Test
     void testGetterSetter() {
-        invoice.setAmount(TEST_AMOUNT);
+        invoice.setAmountCents(TEST_AMOUNT);
         invoice.setPaymentStatus(Invoice.PaymentStatus.UNPAID);
-        invoice.setTotalRecurring(TOTAL_RECURRING);
-        invoice.setTotalOnetime(TOTAL_ONETIME);
+        invoice.setTotalRecurringCents(TOTAL_RECURRING);
+        invoice.setTotalOnetimeCents(TOTAL_ONETIME);
         invoice.setRecurringCount(2);
         invoice.setOnetimeCount(3);
         LocalDateTime now = LocalDateTime.now();
         invoice.setLastModified(now);
         invoice.setPaymentDate(now.plusDays(1));
 
-        assertEquals(TEST_AMOUNT, invoice.getAmount());
+        assertEquals(TEST_AMOUNT, invoice.getAmountCents());
         assertEquals(Invoice.PaymentStatus.UNPAID, invoice.getPaymentStatus());
-        assertEquals(TOTAL_RECURRING, invoice.getTotalRecurring());
-        assertEquals(TOTAL_ONETIME, invoice.getTotalOnetime());
+        assertEquals(TOTAL_RECURRING, invoice.getTotalRecurringCents());
+        assertEquals(TOTAL_ONETIME, invoice.getTotalOnetimeCents());
         assertEquals(2, invoice.getRecurringCount());
         assertEquals(3, invoice.getOnetimeCount());
         assertEquals(now, invoice.getLastModified());
@@ -83,7 +83,7 @@ class InvoiceTest extends AbstractDatabaseTest {
         String output = invoice.toString();
         assertNotNull(output);
         assertTrue(output.contains("Invoice"));
-        assertTrue(output.contains(String.format("%.2f", invoice.getAmount())));
+        assertTrue(output.contains("amount=100.00"));
         assertTrue(output.contains(invoice.getPaymentStatus().name()));
     }
 
@@ -94,9 +94,10 @@ class InvoiceTest extends AbstractDatabaseTest {
         assertTrue(foundOpt.isPresent());
 
         Invoice found = foundOpt.get();
-        assertEquals(invoice.getAmount(), found.getAmount());
-        assertEquals(invoice.getTotalRecurring(), found.getTotalRecurring());
-        assertEquals(invoice.getTotalOnetime(), found.getTotalOnetime());
+        assertEquals(invoice.getAmountCents(), found.getAmountCents());
+        assertEquals(invoice.getTotalRecurringCents(),
+                found.getTotalRecurringCents());
+        assertEquals(invoice.getTotalOnetimeCents(), found.getTotalOnetimeCents());
         assertEquals(invoice.getRecurringCount(), found.getRecurringCount());
         assertEquals(invoice.getOnetimeCount(), found.getOnetimeCount());
         assertEquals(invoice.getLastModified(), found.getLastModified());
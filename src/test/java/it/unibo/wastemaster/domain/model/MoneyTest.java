@@ -0,0 +1,43 @@
+package it.unibo.wastemaster.domain.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+class MoneyTest {
+
+    private static final int COLLECTIONS = 1_000_000;
+    private static final long FEE = 25;
+
+    @Test
+    void testFormat() {
+        assertEquals("0.00", Money.format(0));
+        assertEquals("0.05", Money.format(5));
+        assertEquals("12.40", Money.format(1240));
+        assertEquals("-0.40", Money.format(-40));
+        assertEquals("-1234.56", Money.format(-123_456));
+        assertEquals(new BigDecimal("12.40"), Money.toEuros(1240));
+    }
+
+    /**
+     * Tests that summing many fees gives the same total as multiplying the fee,
+     * which does not hold for floating-point euros.
+     */
+    @Test
+    void testAggregationIsExact() {
+        long total = 0;
+        for (int i = 0; i < COLLECTIONS; i++) {
+            total = Money.add(total, FEE);
+        }
+        assertEquals(Money.times(FEE, COLLECTIONS), total);
+        assertEquals("250000.00", Money.format(total));
+    }
+
+    @Test
+    void testOverflowFails() {
+        assertThrows(ArithmeticException.class, () -> Money.add(Long.MAX_VALUE, 1));
+        assertThrows(ArithmeticException.class, () -> Money.times(Long.MAX_VALUE, 2));
+    }
+}
@@ -0,0 +1,125 @@
+package it.unibo.wastemaster.domain.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unibo.wastemaster.domain.model.Collection;
+import it.unibo.wastemaster.domain.model.Customer;
+import it.unibo.wastemaster.domain.model.Invoice;
+import it.unibo.wastemaster.domain.model.Location;
+import it.unibo.wastemaster.domain.model.OneTimeSchedule;
+import it.unibo.wastemaster.domain.model.Waste;
+import it.unibo.wastemaster.infrastructure.AbstractDatabaseTest;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BillingRunTest extends AbstractDatabaseTest {
+
+    private static final int CHUNK_SIZE = 2;
+
+    private final LocalDate day = LocalDate.now().plusDays(1);
+    private Waste waste;
+    private int customers;
+
+    @Override
+    @BeforeEach
+    public void setUp() {
+        super.setUp();
+        waste = new Waste("Organico", true, false);
+        getWasteDAO().insert(waste);
+    }
+
+    @Test
+    void testRunBillsEveryCustomerOnce() {
+        Customer first = insertCustomer();
+        insertCollection(first, Collection.CollectionStatus.COMPLETED);
+        insertCollection(first, Collection.CollectionStatus.COMPLETED);
+        insertCollection(first, Collection.CollectionStatus.ACTIVE);
+        for (int i = 0; i < 2; i++) {
+            insertCollection(insertCustomer(), Collection.CollectionStatus.COMPLETED);
+        }
+        Collection billed = insertCollection(insertCustomer(),
+                Collection.CollectionStatus.COMPLETED);
+        billed.setIsBilled(true);
+        getCollectionDAO().update(billed);
+        LocalDateTime issueDate = LocalDateTime.now().withNano(0);
+
+        BillingReport report = newRun().run(issueDate);
+
+        assertEquals(3, report.getInvoices());
+        assertEquals(4, report.getCollections());
+        assertEquals(4 * InvoiceManager.getOneTimeFeeCents(), report.getAmountCents());
+        assertEquals(0, report.getFailedChunks());
+        getEntityManager().clear();
+        List<Invoice> invoices = getInvoiceDAO().findAll();
+        assertEquals(3, invoices.size());
+        assertTrue(invoices.stream().allMatch(i -> issueDate.equals(i.getIssueDate())));
+        assertEquals(2, getInvoiceDAO().findByCustomer(first).get(0).getOnetimeCount());
+        assertTrue(getCollectionDAO().findAll().stream()
+                .filter(c -> c.getCollectionStatus()
+                        == Collection.CollectionStatus.COMPLETED)
+                .allMatch(Collection::getIsBilled));
+
+        BillingReport again = newRun().run(issueDate);
+        assertEquals(0, again.getInvoices());
+        assertEquals(3, getInvoiceDAO().findAll().size());
+    }
+
+    @Test
+    void testCollectionsByCustomerChunk() {
+        Customer first = insertCustomer();
+        Customer second = insertCustomer();
+        insertCollection(second, Collection.CollectionStatus.COMPLETED);
+        insertCollection(first, Collection.CollectionStatus.COMPLETED);
+        insertCollection(first, Collection.CollectionStatus.COMPLETED);
+
+        List<Integer> ids = getCollectionManager().getCustomerIdsToBill(0, CHUNK_SIZE);
+        assertEquals(List.of(first.getCustomerId(), second.getCustomerId()), ids);
+        assertTrue(getCollectionManager()
+                .getCustomerIdsToBill(second.getCustomerId(), CHUNK_SIZE).isEmpty());
+        List<List<Collection>> grouped = List.copyOf(getCollectionManager()
+                .getCompletedNotBilledCollections(ids).values());
+        assertEquals(2, grouped.get(0).size());
+        assertEquals(1, grouped.get(1).size());
+        assertFalse(grouped.get(0).get(0).getIsBilled());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> newRun().run(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BillingRun(getCollectionManager(), getInvoiceManager(), 0, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BillingRun(getCollectionManager(), getInvoiceManager(), 1, 0));
+    }
+
+    private BillingRun newRun() {
+        return new BillingRun(getCollectionManager(), getInvoiceManager(), CHUNK_SIZE,
+                1);
+    }
+
+    private Customer insertCustomer() {
+        customers++;
+        Customer customer = new Customer("Cliente", "Numero" + customers,
+                new Location("Via Verdi", String.valueOf(customers), "Bologna",
+                        "40100"),
+                "cliente" + customers + "@example.com", "+3912345678" + customers);
+        getCustomerDAO().insert(customer);
+        return customer;
+    }
+
+    private Collection insertCollection(final Customer customer,
+                                        final Collection.CollectionStatus status) {
+        OneTimeSchedule schedule = new OneTimeSchedule(customer, waste, day);
+        getOneTimeScheduleDAO().insert(schedule);
+        Collection collection = new Collection(schedule);
+        collection.setCollectionStatus(status);
+        getCollectionDAO().insert(collection);
+        return collection;
+    }
+}
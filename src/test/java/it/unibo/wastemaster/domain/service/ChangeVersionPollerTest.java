@@ -0,0 +1,94 @@
+package it.unibo.wastemaster.domain.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unibo.wastemaster.domain.event.DomainEvent;
+import it.unibo.wastemaster.domain.event.DomainEventBus;
+import it.unibo.wastemaster.domain.model.Customer;
+import it.unibo.wastemaster.domain.model.Location;
+import it.unibo.wastemaster.domain.model.OneTimeSchedule;
+import it.unibo.wastemaster.domain.model.Schedule;
+import it.unibo.wastemaster.domain.model.Waste;
+import it.unibo.wastemaster.domain.repository.impl.ChangeVersionRepositoryImpl;
+import it.unibo.wastemaster.infrastructure.AbstractDatabaseTest;
+import it.unibo.wastemaster.infrastructure.dao.ChangeVersionDAO;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ChangeVersionPollerTest extends AbstractDatabaseTest {
+
+    private final List<DomainEvent> events = new ArrayList<>();
+    private ChangeVersionDAO changeVersionDAO;
+    private ChangeVersionPoller poller;
+    private Customer customer;
+
+    @Override
+    @BeforeEach
+    public void setUp() {
+        super.setUp();
+        DomainEventBus bus = new DomainEventBus();
+        bus.subscribe(Customer.class, events::add);
+        bus.subscribe(Schedule.class, events::add);
+        changeVersionDAO = new ChangeVersionDAO(getEntityManager());
+        poller = new ChangeVersionPoller(
+                new ChangeVersionRepositoryImpl(changeVersionDAO), bus);
+        poller.watch(Customer.class);
+        poller.watch(OneTimeSchedule.class, Schedule.class);
+        customer = new Customer("Mario", "Rossi",
+                new Location("Via Roma", "10", "Bologna", "40100"),
+                "mario.rossi@example.com", "1234567890");
+    }
+
+    @Test
+    void testWritesIncrementRevision() {
+        assertTrue(changeVersionDAO.findRevisions(Set.of("Customer")).isEmpty());
+
+        getCustomerDAO().insert(customer);
+        customer.setPhone("5555555555");
+        getCustomerDAO().update(customer);
+
+        assertEquals(Map.of("Customer", 2L),
+                changeVersionDAO.findRevisions(Set.of("Customer", "Invoice")));
+    }
+
+    @Test
+    void testOnlyChangedTypesArePublished() {
+        poller.poll();
+        poller.poll();
+        assertTrue(events.isEmpty());
+
+        getCustomerDAO().insert(customer);
+        poller.poll();
+
+        assertEquals(1, events.size());
+        DomainEvent event = events.get(0);
+        assertEquals(DomainEvent.Type.CHANGED_REMOTELY, event.getType());
+        assertEquals(Customer.class, event.getEntityType());
+        assertNull(event.getEntityId());
+
+        poller.poll();
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    void testSubtypeIsPublishedAsWatchedClass() {
+        Waste waste = new Waste("Carta", true, false);
+        getWasteDAO().insert(waste);
+        getCustomerDAO().insert(customer);
+        poller.poll();
+
+        getOneTimeScheduleDAO().insert(new OneTimeSchedule(customer, waste,
+                LocalDate.now().plusDays(1)));
+        poller.poll();
+
+        assertEquals(1, events.size());
+        assertEquals(Schedule.class, events.get(0).getEntityType());
+    }
+}
@@ -4,13 +4,18 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import it.unibo.wastemaster.domain.event.DomainEvent;
+import it.unibo.wastemaster.domain.event.DomainEventBus;
 import it.unibo.wastemaster.domain.model.Customer;
+import it.unibo.wastemaster.domain.model.GeoPoint;
 import it.unibo.wastemaster.domain.model.Location;
 import it.unibo.wastemaster.infrastructure.AbstractDatabaseTest;
 import jakarta.validation.ConstraintViolationException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -87,6 +92,42 @@ class CustomerManagerTest extends AbstractDatabaseTest {
         assertEquals(newName, updatedCustomer.getName());
     }
 
+    @Test
+    void testCustomerLocationPlaced() {
+        Customer saved = getCustomerManager().addCustomer(customer);
+        assertEquals(new GeoPoint(44.4938, 11.3430),
+                saved.getLocation().getCoordinates());
+
+        saved.getLocation().setStreet("Via Zamboni");
+        saved.getLocation().setPostalCode("40126");
+        getCustomerManager().updateCustomer(saved);
+        assertEquals(new GeoPoint(44.4968, 11.3510),
+                saved.getLocation().getCoordinates());
+
+        saved.getLocation().setPostalCode("99999");
+        getCustomerManager().updateCustomer(saved);
+        assertNull(getCustomerManager().getCustomerById(saved.getCustomerId())
+                .orElseThrow().getLocation().getCoordinates());
+    }
+
+    @Test
+    void testCustomersWithoutCoordinatesPlaced() {
+        getCustomerDAO().insert(customer);
+        Customer unknown = new Customer("Anna", "Bianchi",
+                new Location("Via Nuova", "1", "Altrove", "99999"),
+                "anna@test.it", "0987654321");
+        getCustomerDAO().insert(unknown);
+        assertNull(customer.getLocation().getCoordinates());
+
+        assertEquals(1, getCustomerManager().placeCustomersWithoutCoordinates());
+        assertEquals(new GeoPoint(44.4938, 11.3430), getCustomerManager()
+                .getCustomerById(customer.getCustomerId())
+                .orElseThrow().getLocation().getCoordinates());
+        assertNull(getCustomerManager().getCustomerById(unknown.getCustomerId())
+                .orElseThrow().getLocation().getCoordinates());
+        assertEquals(0, getCustomerManager().placeCustomersWithoutCoordinates());
+    }
+
     @Test
     void testSoftDeleteCustomer() {
         Customer saved = getCustomerManager().addCustomer(customer);
@@ -236,4 +277,23 @@ class CustomerManagerTest extends AbstractDatabaseTest {
         assertTrue(emails.contains(customer.getEmail()));
         assertTrue(emails.contains(secondCustomer.getEmail()));
     }
+
+    @Test
+    void testChangesArePublished() {
+        DomainEventBus bus = new DomainEventBus();
+        List<DomainEvent> events = new ArrayList<>();
+        bus.subscribe(Customer.class, events::add);
+        getCustomerManager().setEventBus(bus);
+
+        Customer saved = getCustomerManager().addCustomer(customer);
+        saved.setPhone("5555555555");
+        getCustomerManager().updateCustomer(saved);
+        getCustomerManager().softDeleteCustomer(saved);
+
+        assertEquals(List.of(DomainEvent.Type.ADDED, DomainEvent.Type.UPDATED,
+                DomainEvent.Type.REMOVED),
+                events.stream().map(DomainEvent::getType).toList());
+        assertTrue(events.stream()
+                .allMatch(e -> e.getEntityId().equals(saved.getCustomerId())));
+    }
 }
@@ -0,0 +1,154 @@
+package it.unibo.wastemaster.domain.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unibo.wastemaster.domain.event.DomainEventBus;
+import it.unibo.wastemaster.domain.model.Customer;
+import it.unibo.wastemaster.domain.model.Location;
+import it.unibo.wastemaster.domain.repository.ChangeVersionRepository;
+import it.unibo.wastemaster.domain.repository.Page;
+import it.unibo.wastemaster.domain.repository.impl.ChangeVersionRepositoryImpl;
+import it.unibo.wastemaster.infrastructure.AbstractDatabaseTest;
+import it.unibo.wastemaster.infrastructure.dao.ChangeVersionDAO;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GlobalSearchServiceTest extends AbstractDatabaseTest {
+
+    private static final int LIMIT = 10;
+
+    @TempDir
+    private Path directory;
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicInteger documentsRead = new AtomicInteger();
+    private Customer customer;
+
+    @Override
+    @BeforeEach
+    public void setUp() {
+        super.setUp();
+        customer = new Customer("Mario", "Rossi",
+                new Location("Via Roma", "12", "Bologna", "40100"),
+                "mario.rossi@example.com", "1234567890");
+        getCustomerDAO().insert(customer);
+        getCustomerDAO().insert(new Customer("Anna", "Roma",
+                new Location("Via Verdi", "3", "Forlì", "47121"),
+                "anna.roma@example.com", "0987654321"));
+    }
+
+    private GlobalSearchService newService() {
+        return newService(new ChangeVersionRepositoryImpl(changeVersionDAO()));
+    }
+
+    private ChangeVersionDAO changeVersionDAO() {
+        return new ChangeVersionDAO(getEntityManager());
+    }
+
+    private GlobalSearchService newService(final ChangeVersionRepository repository) {
+        GlobalSearchService service = new GlobalSearchService(repository,
+                new DomainEventBus(), directory.resolve("search-index.bin"));
+        service.register(Customer.class, "customerId", request -> {
+            loads.incrementAndGet();
+            Page<SearchDocument> page = getCustomerRepository().findPage(
+                    request.where("isDeleted", false), SearchDocument.CUSTOMER);
+            documentsRead.addAndGet(page.getItems().size());
+            return page;
+        });
+        return service;
+    }
+
+    @Test
+    void testSearchRanksEntitiesMatchingAllWords() {
+        GlobalSearchService service = newService();
+        service.synchronize();
+
+        List<SearchHit> hits = service.search("via roma 12", LIMIT);
+        assertEquals(1, hits.size());
+        assertEquals(Customer.class, hits.get(0).getEntityType());
+        assertEquals(customer.getCustomerId().intValue(), hits.get(0).getEntityId());
+        assertEquals("Mario Rossi", hits.get(0).getTitle());
+
+        hits = service.search("ROM", LIMIT);
+        assertEquals(2, hits.size());
+        assertEquals("Anna Roma", hits.get(0).getTitle());
+        assertEquals(1, service.search("forli", LIMIT).size());
+        assertTrue(service.search("via roma 13", LIMIT).isEmpty());
+    }
+
+    @Test
+    void testRefreshFollowsChanges() {
+        GlobalSearchService service = newService();
+        service.synchronize();
+
+        customer.setEmail("m.rossi@example.org");
+        getCustomerDAO().update(customer);
+        service.refresh(Customer.class, customer.getCustomerId());
+        assertEquals(1, service.search("example org", LIMIT).size());
+
+        customer.delete();
+        getCustomerDAO().update(customer);
+        service.refresh(Customer.class, customer.getCustomerId());
+        assertTrue(service.search("rossi", LIMIT).isEmpty());
+    }
+
+    @Test
+    void testSavedIndexIsReusedUntilTypeChanges() {
+        newService().synchronize();
+        loads.set(0);
+
+        GlobalSearchService restarted = newService();
+        restarted.synchronize();
+        assertEquals(0, loads.get());
+        assertEquals(1, restarted.search("rossi", LIMIT).size());
+
+        getCustomerDAO().insert(new Customer("Luca", "Rossi",
+                new Location("Via Roma", "14", "Bologna", "40100"),
+                "luca.rossi@example.com", "1112223334"));
+        GlobalSearchService changed = newService();
+        changed.synchronize();
+        assertTrue(loads.get() > 0);
+        assertEquals(2, changed.search("rossi", LIMIT).size());
+    }
+
+    @Test
+    void testOnlyChangedEntitiesAreReadAgain() {
+        newService().synchronize();
+        documentsRead.set(0);
+
+        customer.setEmail("m.rossi@example.org");
+        getCustomerDAO().update(customer);
+        getCustomerDAO().insert(new Customer("Luca", "Rossi",
+                new Location("Via Roma", "14", "Bologna", "40100"),
+                "luca.rossi@example.com", "1112223334"));
+        GlobalSearchService restarted = newService();
+        restarted.synchronize();
+
+        assertEquals(2, documentsRead.get());
+        assertEquals(2, restarted.search("rossi", LIMIT).size());
+        assertEquals(1, restarted.search("example org", LIMIT).size());
+        assertEquals(1, restarted.search("anna", LIMIT).size());
+    }
+
+    @Test
+    void testIndexOfAnotherDatabaseIsReadAgain() {
+        newService().synchronize();
+        loads.set(0);
+
+        GlobalSearchService other = newService(
+                new ChangeVersionRepositoryImpl(changeVersionDAO()) {
+                    @Override
+                    public String getDatabaseUrl() {
+                        return "jdbc:h2:mem:other";
+                    }
+                });
+        other.synchronize();
+        assertTrue(loads.get() > 0);
+        assertEquals(2, other.search("example com", LIMIT).size());
+    }
+}
@@ -7,24 +7,24 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import it.unibo.wastemaster.domain.model.Collection;
 import it.unibo.wastemaster.domain.model.Customer;
+import it.unibo.wastemaster.domain.model.CustomerBalance;
 import it.unibo.wastemaster.domain.model.Invoice;
-import it.unibo.wastemaster.domain.model.Invoice.PaymentStatus;
 import it.unibo.wastemaster.domain.model.Location;
+import it.unibo.wastemaster.domain.model.Money;
 import it.unibo.wastemaster.domain.model.OneTimeSchedule;
 import it.unibo.wastemaster.domain.model.Waste;
+import it.unibo.wastemaster.domain.repository.PageRequest;
 import it.unibo.wastemaster.infrastructure.AbstractDatabaseTest;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 class InvoiceManagerTest extends AbstractDatabaseTest {
 
-    private static final double INVOICE_AMOUNT_1 = 50.0;
-    private static final double INVOICE_AMOUNT_TOTAL = 150.0;
-    private static final double DELTA = 0.001;
-
     private Customer customer;
     private Waste waste;
 
@@ -58,45 +58,107 @@ class InvoiceManagerTest extends AbstractDatabaseTest {
     }
 
     @Test
-    void testGetTotalBilledAmountForCustomer() {
+    void testGetTotalBilledCentsForCustomer() {
         Collection c1 = insertCompletedCollection(LocalDate.now());
         Collection c2 = insertCompletedCollection(LocalDate.now().plusDays(1));
 
-        Invoice invoice1 =
-                getInvoiceManager().createInvoice(customer, new ArrayList<>(List.of(c1)));
-        invoice1.setAmount(INVOICE_AMOUNT_1);
-        invoice1.setPaymentStatus(PaymentStatus.UNPAID);
-        getInvoiceDAO().update(invoice1);
-
+        getInvoiceManager().createInvoice(customer, new ArrayList<>(List.of(c1)));
         Invoice invoice2 =
                 getInvoiceManager().createInvoice(customer, new ArrayList<>(List.of(c2)));
-        invoice2.setAmount(100.0);
-        invoice2.setPaymentStatus(PaymentStatus.PAID);
-        getInvoiceDAO().update(invoice2);
+        getInvoiceManager().markInvoiceAsPaid(invoice2.getInvoiceId());
 
-        double total = getInvoiceManager().getTotalBilledAmountForCustomer(customer);
-        assertEquals(INVOICE_AMOUNT_TOTAL, total, DELTA);
+        long total = getInvoiceManager().getTotalBilledCentsForCustomer(customer);
+        assertEquals(2 * InvoiceManager.getOneTimeFeeCents(), total);
     }
 
     @Test
-    void testGetTotalPaidAmountForCustomer() {
+    void testGetTotalPaidCentsForCustomer() {
         Collection c1 = insertCompletedCollection(LocalDate.now());
         Collection c2 = insertCompletedCollection(LocalDate.now().plusDays(1));
 
-        Invoice invoice1 =
-                getInvoiceManager().createInvoice(customer, new ArrayList<>(List.of(c1)));
-        invoice1.setAmount(INVOICE_AMOUNT_1);
-        invoice1.setPaymentStatus(PaymentStatus.UNPAID);
-        getInvoiceDAO().update(invoice1);
-
+        getInvoiceManager().createInvoice(customer, new ArrayList<>(List.of(c1)));
         Invoice invoice2 =
                 getInvoiceManager().createInvoice(customer, new ArrayList<>(List.of(c2)));
-        invoice2.setAmount(100.0);
-        invoice2.setPaymentStatus(PaymentStatus.PAID);
-        getInvoiceDAO().update(invoice2);
+        getInvoiceManager().markInvoiceAsPaid(invoice2.getInvoiceId());
+        getInvoiceManager().markInvoiceAsPaid(invoice2.getInvoiceId());
+
+        long totalPaid = getInvoiceManager().getTotalPaidCentsForCustomer(customer);
+        assertEquals(InvoiceManager.getOneTimeFeeCents(), totalPaid);
+    }
+
+    @Test
+    void testAmountSearchMatchesDisplayedEuros() {
+        Invoice single = getInvoiceManager().createInvoice(customer,
+                new ArrayList<>(List.of(insertCompletedCollection(LocalDate.now()))));
+        Invoice pair = getInvoiceManager().createInvoice(customer, new ArrayList<>(
+                List.of(insertCompletedCollection(LocalDate.now().plusDays(1)),
+                        insertCompletedCollection(LocalDate.now().plusDays(2)))));
+
+        List<Invoice> found = getInvoiceDAO().findPage(PageRequest.firstPage()
+                .search(Money.format(pair.getAmountCents()), "amountCents")).getItems();
+        assertEquals(List.of(pair.getInvoiceId()),
+                found.stream().map(Invoice::getInvoiceId).toList());
+
+        found = getInvoiceDAO().findPage(PageRequest.firstPage()
+                .search("0.", "amountCents")).getItems();
+        assertEquals(List.of(single.getInvoiceId(), pair.getInvoiceId()),
+                found.stream().map(Invoice::getInvoiceId).toList());
+    }
+
+    @Test
+    void testCustomerBalanceFollowsInvoices() {
+        assertEquals(0, getInvoiceManager().getCustomerBalance(customer)
+                .getInvoiceCount());
+        Collection c1 = insertCompletedCollection(LocalDate.now());
+        Collection c2 = insertCompletedCollection(LocalDate.now().plusDays(1));
+        Collection c3 = insertCompletedCollection(LocalDate.now().plusDays(2));
+        Invoice paid = getInvoiceManager().createInvoice(customer,
+                new ArrayList<>(List.of(c1, c2)));
+        Invoice deleted = getInvoiceManager().createInvoice(customer,
+                new ArrayList<>(List.of(c3)));
+        getInvoiceManager().markInvoiceAsPaid(paid.getInvoiceId());
+        getInvoiceManager().deleteInvoice(deleted.getInvoiceId());
+        getEntityManager().clear();
+
+        CustomerBalance balance = getInvoiceManager().getCustomerBalance(customer);
+        assertEquals(1, balance.getInvoiceCount());
+        assertEquals(2, balance.getBilledCollections());
+        assertEquals(paid.getAmountCents(), balance.getBilledCents());
+        assertEquals(paid.getAmountCents(), balance.getPaidCents());
+        assertEquals(0, balance.getUnpaidCents());
+        assertEquals(3, getCollectionManager().countCollectionsByCustomer(customer));
+    }
+
+    @Test
+    void testPaymentAndDeletionApplyOnce() {
+        Invoice invoice = getInvoiceManager().createInvoice(customer, new ArrayList<>(
+                List.of(insertCompletedCollection(LocalDate.now()))));
+        int invoiceId = invoice.getInvoiceId();
+        LocalDateTime now = LocalDateTime.now();
+
+        assertTrue(getInvoiceRepository().markPaid(invoiceId, now));
+        assertFalse(getInvoiceRepository().markPaid(invoiceId, now));
+        assertFalse(getInvoiceRepository().markDeleted(invoiceId, List.of(), now));
+
+        // paid behind the manager's back, so the payment never reaches the balance
+        assertTrue(getInvoiceManager().markInvoiceAsPaid(invoiceId));
+        assertEquals(0, getInvoiceManager().getTotalPaidCentsForCustomer(customer));
+        assertFalse(getInvoiceManager().deleteInvoice(invoiceId));
+    }
+
+    @Test
+    void testCollectionIsBilledOnce() {
+        Collection c1 = insertCompletedCollection(LocalDate.now());
+        Invoice invoice =
+                getInvoiceManager().createInvoice(customer, new ArrayList<>(List.of(c1)));
 
-        double totalPaid = getInvoiceManager().getTotalPaidAmountForCustomer(customer);
-        assertEquals(100.0, totalPaid, DELTA);
+        assertThrows(IllegalStateException.class, () -> getInvoiceManager()
+                .createInvoice(customer, new ArrayList<>(List.of(c1))));
+        assertThrows(IllegalStateException.class, () -> getInvoiceManager()
+                .createInvoices(Map.of(customer, List.of(c1)), LocalDateTime.now()));
+        assertEquals(List.of(invoice.getInvoiceId()),
+                getInvoiceDAO().findByCustomer(customer).stream()
+                        .map(Invoice::getInvoiceId).toList());
     }
 
     @Test
@@ -77,6 +77,14 @@ class NotificationManagerTest extends AbstractDatabaseTest {
 
     @Test
     void testFindLast5InsertedTrips() {
+        Vehicle otherVehicle = new Vehicle("EF456GH", "Iveco", "Daily", VEHICLE_YEAR,
+                Vehicle.RequiredLicence.C1, Vehicle.VehicleStatus.IN_SERVICE, 3);
+        getVehicleDAO().insert(otherVehicle);
+        Employee otherOperator = new Employee("Jane", "Roe", location,
+                "jane.roe@example.com", "+391234567891",
+                Employee.Role.OPERATOR, Employee.Licence.C1);
+        getEmployeeDAO().insert(otherOperator);
+
         for (int i = 1; i <= TOTAL_ITEMS; i++) {
             Customer customer = new Customer("Name" + i, "Surname" + i, location,
                     "mail" + i + "@mail.com", "3912345678" + i);
@@ -92,10 +100,12 @@ class NotificationManagerTest extends AbstractDatabaseTest {
             LocalDateTime departureTime = LocalDateTime.now().plusHours(i);
             LocalDateTime expectedReturnTime = departureTime.plusHours(2);
 
+            // consecutive trips overlap, so they alternate between two crews
+            boolean even = i % 2 == 0;
             getTripManager().createTrip(
                     "40100",
-                    vehicle,
-                    new ArrayList<>(List.of(operator)),
+                    even ? vehicle : otherVehicle,
+                    new ArrayList<>(List.of(even ? operator : otherOperator)),
                     departureTime,
                     expectedReturnTime,
                     new ArrayList<>(List.of(collection))
@@ -130,7 +140,7 @@ class NotificationManagerTest extends AbstractDatabaseTest {
             Invoice invoice = new Invoice();
             invoice.setCustomer(customer);
             invoice.setCollections(List.of(collection));
-            invoice.setAmount(100.0 + i);
+            invoice.setAmountCents(10_000 + i);
             invoice.setPaymentStatus(Invoice.PaymentStatus.PAID);
             invoice.setIssueDate(LocalDate.now().plusDays(i).atStartOfDay());
             invoice.setPaymentDate(LocalDateTime.now().plusDays(i));
@@ -19,6 +19,8 @@ import it.unibo.wastemaster.domain.model.WasteSchedule;
 import it.unibo.wastemaster.infrastructure.AbstractDatabaseTest;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -281,6 +283,68 @@ class RecurringScheduleManagerTest extends AbstractDatabaseTest {
         assertEquals(oldNext.plusWeeks(1), persisted.getNextCollectionDate());
 
         int afterCollections = getCollectionDAO().findAll().size();
-        assertEquals(beforeCollections + 1, afterCollections);
+        assertEquals(beforeCollections + weeklyOccurrences(oldNext.plusWeeks(1)).size(),
+                afterCollections);
+    }
+
+    @Test
+    void testCreateRecurringScheduleMaterializesHorizon() {
+        RecurringSchedule schedule = getRecurringScheduleManager()
+                .createRecurringSchedule(customer, waste, LocalDate.now(),
+                        Frequency.WEEKLY);
+
+        List<LocalDate> expected = weeklyOccurrences(schedule.getNextCollectionDate());
+        List<LocalDate> dates = getCollectionManager()
+                .getAllCollectionBySchedule(schedule).stream()
+                .map(Collection::getCollectionDate)
+                .sorted()
+                .toList();
+        assertEquals(expected, dates);
+        assertEquals(expected.get(expected.size() - 1), schedule.getMaterializedUntil());
+    }
+
+    @Test
+    void testRescheduleMovesToNextMaterializedCollection() {
+        RecurringSchedule schedule = getRecurringScheduleManager()
+                .createRecurringSchedule(customer, waste, LocalDate.now(),
+                        Frequency.WEEKLY);
+        Collection first = getCollectionManager()
+                .getActiveCollectionByRecurringSchedule(schedule).orElseThrow();
+        first.setCollectionStatus(CollectionStatus.COMPLETED);
+        getCollectionManager().updateCollection(first);
+        int beforeCollections = getCollectionDAO().findAll().size();
+
+        getRecurringScheduleManager().rescheduleNextCollections(List.of(first));
+
+        RecurringSchedule persisted = getRecurringScheduleDAO()
+                .findById(schedule.getScheduleId()).orElseThrow();
+        assertEquals(first.getCollectionDate().plusWeeks(1),
+                persisted.getNextCollectionDate());
+        assertEquals(beforeCollections, getCollectionDAO().findAll().size());
+    }
+
+    @Test
+    void testSetHorizon() {
+        RecurringScheduleManager manager = getRecurringScheduleManager();
+        assertThrows(IllegalArgumentException.class,
+                () -> manager.setHorizon(Period.ZERO));
+        assertThrows(IllegalArgumentException.class,
+                () -> manager.setHorizon(Period.ofWeeks(-1)));
+
+        manager.setHorizon(Period.ofWeeks(2));
+        RecurringSchedule schedule = manager.createRecurringSchedule(customer, waste,
+                LocalDate.now(), Frequency.WEEKLY);
+
+        assertEquals(weeklyOccurrences(schedule.getNextCollectionDate()).size(),
+                getCollectionManager().getAllCollectionBySchedule(schedule).size());
+    }
+
+    private List<LocalDate> weeklyOccurrences(final LocalDate first) {
+        LocalDate end = LocalDate.now().plus(getRecurringScheduleManager().getHorizon());
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate date = first; !date.isAfter(end); date = date.plusWeeks(1)) {
+            dates.add(date);
+        }
+        return dates;
     }
 }
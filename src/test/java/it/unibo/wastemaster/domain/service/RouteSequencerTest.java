@@ -0,0 +1,182 @@
+package it.unibo.wastemaster.domain.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unibo.wastemaster.domain.model.GeoPoint;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class RouteSequencerTest {
+
+    private static final double TOLERANCE = 1e-6;
+    private static final double LATITUDE = 44.49;
+    private static final double LONGITUDE = 11.34;
+    private static final double SPREAD = 0.05;
+    private static final int STOPS = 200;
+    private static final int LINE_STOPS = 20;
+    private static final long SEED = 42;
+
+    private final RouteSequencer sequencer = new RouteSequencer();
+
+    @Test
+    void testNoStops() {
+        RouteSequence<Stop> route = sequencer.sequence(List.of(), Stop::point);
+
+        assertTrue(route.getStops().isEmpty());
+        assertEquals(0.0, route.getDistanceKm());
+        assertEquals(Duration.ZERO, route.getEstimatedDuration());
+    }
+
+    @Test
+    void testOneStop() {
+        Stop stop = new Stop(0, new GeoPoint(LATITUDE, LONGITUDE));
+        RouteSequence<Stop> route = sequencer.sequence(List.of(stop), Stop::point);
+
+        assertEquals(List.of(stop), route.getStops());
+        assertEquals(0.0, route.getDistanceKm());
+        assertEquals(RouteSequencer.DEFAULT_STOP_TIME, route.getEstimatedDuration());
+    }
+
+    @Test
+    void testTwoStops() {
+        Stop a = new Stop(0, new GeoPoint(LATITUDE, LONGITUDE));
+        Stop b = new Stop(1, new GeoPoint(LATITUDE + SPREAD, LONGITUDE));
+        RouteSequence<Stop> route = sequencer.sequence(List.of(a, b), Stop::point);
+
+        assertEquals(Set.of(a, b), new HashSet<>(route.getStops()));
+        assertEquals(a.point().distanceKm(b.point()) * RouteSequencer.ROAD_FACTOR,
+                route.getDistanceKm(), TOLERANCE);
+        assertTrue(route.getEstimatedDuration()
+                .compareTo(RouteSequencer.DEFAULT_STOP_TIME.multipliedBy(2)) > 0);
+    }
+
+    @Test
+    void testResultIsPermutationOfStops() {
+        List<Stop> stops = randomStops(STOPS);
+        RouteSequence<Stop> route = sequencer.sequence(stops, Stop::point);
+
+        assertEquals(stops.size(), route.getStops().size());
+        assertEquals(new HashSet<>(stops), new HashSet<>(route.getStops()));
+        assertEquals(0, route.getUnplacedStops());
+    }
+
+    /**
+     * Tests that the improvements never lengthen the nearest-neighbour path the
+     * route starts from.
+     */
+    @Test
+    void testNeverLongerThanNearestNeighbour() {
+        for (int n : new int[] {3, 10, 50, STOPS}) {
+            List<Stop> stops = randomStops(n);
+            RouteSequence<Stop> route = sequencer.sequence(stops, Stop::point);
+
+            assertTrue(route.getDistanceKm()
+                    <= nearestNeighbourKm(stops) * RouteSequencer.ROAD_FACTOR
+                    + TOLERANCE, "stops: " + n);
+            assertEquals(pathKm(route.getStops()) * RouteSequencer.ROAD_FACTOR,
+                    route.getDistanceKm(), TOLERANCE);
+        }
+    }
+
+    /**
+     * Tests that stops along a line are visited from one end to the other.
+     */
+    @Test
+    void testCollinearStopsAreVisitedInOrder() {
+        List<Stop> stops = new ArrayList<>();
+        for (int i = 0; i < LINE_STOPS; i++) {
+            stops.add(new Stop(i,
+                    new GeoPoint(LATITUDE + i * SPREAD / LINE_STOPS, LONGITUDE)));
+        }
+        List<Stop> shuffled = new ArrayList<>(stops);
+        Collections.shuffle(shuffled, new Random(SEED));
+
+        List<Stop> ordered =
+                new ArrayList<>(sequencer.sequence(shuffled, Stop::point).getStops());
+        if (ordered.get(0) != stops.get(0)) {
+            Collections.reverse(ordered);
+        }
+        assertEquals(stops, ordered);
+    }
+
+    @Test
+    void testUnplacedStopsComeLast() {
+        List<Stop> stops = new ArrayList<>(randomStops(10));
+        Stop first = new Stop(100, null);
+        Stop second = new Stop(101, null);
+        stops.add(3, first);
+        stops.add(7, second);
+
+        RouteSequence<Stop> route = sequencer.sequence(stops, Stop::point);
+        List<Stop> ordered = route.getStops();
+
+        assertEquals(2, route.getUnplacedStops());
+        assertEquals(stops.size(), ordered.size());
+        assertEquals(List.of(first, second), ordered.subList(10, 12));
+        assertEquals(pathKm(ordered.subList(0, 10)) * RouteSequencer.ROAD_FACTOR,
+                route.getDistanceKm(), TOLERANCE);
+    }
+
+    private static List<Stop> randomStops(final int n) {
+        Random random = new Random(SEED + n);
+        List<Stop> stops = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            stops.add(new Stop(i, new GeoPoint(
+                    LATITUDE + (random.nextDouble() - 0.5) * SPREAD,
+                    LONGITUDE + (random.nextDouble() - 0.5) * SPREAD)));
+        }
+        return stops;
+    }
+
+    private static double pathKm(final List<Stop> path) {
+        double km = 0;
+        for (int i = 1; i < path.size(); i++) {
+            km += path.get(i - 1).point().distanceKm(path.get(i).point());
+        }
+        return km;
+    }
+
+    /**
+     * Length of the path built the way the sequencer starts: from the stop
+     * farthest from the centre, always driving to the nearest stop not yet visited.
+     */
+    private static double nearestNeighbourKm(final List<Stop> stops) {
+        double latitude = 0;
+        double longitude = 0;
+        for (Stop stop : stops) {
+            latitude += stop.point().getLatitude();
+            longitude += stop.point().getLongitude();
+        }
+        GeoPoint centre = new GeoPoint(latitude / stops.size(),
+                longitude / stops.size());
+        List<Stop> left = new ArrayList<>(stops);
+        Stop current = left.get(0);
+        for (Stop stop : left) {
+            if (centre.distanceKm(stop.point()) > centre.distanceKm(current.point())) {
+                current = stop;
+            }
+        }
+        List<Stop> path = new ArrayList<>();
+        while (true) {
+            path.add(current);
+            left.remove(current);
+            if (left.isEmpty()) {
+                return pathKm(path);
+            }
+            Stop from = current;
+            current = Collections.min(left, (x, y) -> Double.compare(
+                    from.point().distanceKm(x.point()),
+                    from.point().distanceKm(y.point())));
+        }
+    }
+
+    private record Stop(int id, GeoPoint point) {
+    }
+}
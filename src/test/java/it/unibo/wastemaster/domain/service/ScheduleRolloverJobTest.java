@@ -0,0 +1,187 @@
+package it.unibo.wastemaster.domain.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unibo.wastemaster.domain.model.Collection;
+import it.unibo.wastemaster.domain.model.Collection.CollectionStatus;
+import it.unibo.wastemaster.domain.model.Customer;
+import it.unibo.wastemaster.domain.model.Location;
+import it.unibo.wastemaster.domain.model.RecurringSchedule;
+import it.unibo.wastemaster.domain.model.RecurringSchedule.Frequency;
+import it.unibo.wastemaster.domain.model.Schedule.ScheduleStatus;
+import it.unibo.wastemaster.domain.model.Waste;
+import it.unibo.wastemaster.domain.model.WasteSchedule;
+import it.unibo.wastemaster.infrastructure.AbstractDatabaseTest;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ScheduleRolloverJobTest extends AbstractDatabaseTest {
+
+    private static final int DAYS_OVERDUE = 17;
+    private static final int DAYS_AHEAD = 5;
+
+    private final List<RolloverProgress> published = new ArrayList<>();
+    private final LocalDate today = LocalDate.now();
+    private Customer customer;
+    private Waste waste;
+    private ScheduleRolloverJob job;
+
+    @Override
+    @BeforeEach
+    public void setUp() {
+        super.setUp();
+        Location location = new Location("Via Roma", "10", "Bologna", "40100");
+        customer = new Customer("Mario", "Rossi", location, "mario.rossi@example.com",
+                "1234567890");
+        getCustomerDAO().insert(customer);
+        waste = new Waste("glass", true, false);
+        getWasteDAO().insert(waste);
+        getWasteScheduleDAO().insert(new WasteSchedule(waste, DayOfWeek.MONDAY));
+        job = new ScheduleRolloverJob(getRecurringScheduleManager(), 1, published::add);
+    }
+
+    @Test
+    void testOverdueScheduleRolledOver() {
+        RecurringSchedule schedule = insertSchedule(today.minusDays(DAYS_OVERDUE));
+        insertMissedCollection(schedule);
+
+        RolloverProgress progress = job.run(today);
+        getEntityManager().clear();
+
+        assertEquals(1, progress.getRolledOver());
+        assertEquals(0, progress.getFailedChunks());
+        assertTrue(progress.isDone());
+        RecurringSchedule reloaded = getRecurringScheduleDAO()
+                .findById(schedule.getScheduleId()).orElseThrow();
+        assertTrue(reloaded.getNextCollectionDate().isAfter(today));
+        assertEquals(DayOfWeek.MONDAY, reloaded.getNextCollectionDate().getDayOfWeek());
+
+        List<Collection> collections =
+                getCollectionManager().getAllCollectionBySchedule(schedule);
+        assertEquals(1, collections.stream()
+                .filter(c -> c.getCollectionStatus() == CollectionStatus.CANCELLED
+                        && c.getCollectionDate().isBefore(today))
+                .count());
+        assertEquals(occurrences(reloaded.getNextCollectionDate()), collections.stream()
+                .filter(c -> c.getCollectionStatus() == CollectionStatus.ACTIVE)
+                .map(Collection::getCollectionDate)
+                .sorted()
+                .toList());
+        assertEquals(reloaded.getNextCollectionDate().plusWeeks(
+                        occurrences(reloaded.getNextCollectionDate()).size() - 1L),
+                reloaded.getMaterializedUntil());
+    }
+
+    @Test
+    void testHorizonToppedUp() {
+        RecurringSchedule schedule = insertSchedule(today.plusDays(DAYS_AHEAD));
+
+        RolloverProgress progress = job.run(today);
+
+        assertEquals(0, progress.getRolledOver());
+        assertEquals(1, progress.getToppedUp());
+        List<LocalDate> dates = getCollectionManager()
+                .getAllCollectionBySchedule(schedule).stream()
+                .map(Collection::getCollectionDate)
+                .sorted()
+                .toList();
+        assertEquals(today.plusDays(DAYS_AHEAD), dates.get(0));
+        assertEquals(occurrences(dates.get(1)), dates.subList(1, dates.size()));
+    }
+
+    @Test
+    void testHorizonToppedUpWhenDaysPass() {
+        RecurringSchedule schedule = insertSchedule(today.plusWeeks(1).plusDays(1));
+        job.run(today);
+        int before = getCollectionManager().getAllCollectionBySchedule(schedule).size();
+
+        RolloverProgress progress = job.run(today.plusWeeks(1));
+
+        assertEquals(0, progress.getRolledOver());
+        assertEquals(1, progress.getToppedUp());
+        assertEquals(before + 1,
+                getCollectionManager().getAllCollectionBySchedule(schedule).size());
+    }
+
+    @Test
+    void testRunIsIdempotent() {
+        insertSchedule(today.minusDays(DAYS_OVERDUE));
+        insertSchedule(today.minusDays(1));
+        insertSchedule(today.plusDays(DAYS_AHEAD));
+
+        RolloverProgress first = job.run(today);
+        RolloverProgress second = job.run(today);
+
+        assertEquals(2, first.getRolledOver());
+        assertEquals(1, first.getToppedUp());
+        assertEquals(0, second.getRolledOver());
+        assertEquals(0, second.getToppedUp());
+        assertEquals(second, job.getLastProgress());
+    }
+
+    @Test
+    void testProgressPublishedPerChunk() {
+        insertSchedule(today.minusDays(DAYS_OVERDUE));
+        insertSchedule(today.minusDays(1));
+
+        job.run(today);
+
+        assertEquals(List.of(0, 1, 2, 2), published.stream()
+                .map(RolloverProgress::getRolledOver).toList());
+        assertTrue(published.get(published.size() - 1).isDone());
+    }
+
+    @Test
+    void testInactiveScheduleIgnored() {
+        RecurringSchedule schedule = insertSchedule(today.minusDays(DAYS_OVERDUE));
+        schedule.setScheduleStatus(ScheduleStatus.PAUSED);
+        getRecurringScheduleDAO().update(schedule);
+
+        assertEquals(0, job.run(today).getRolledOver());
+        assertEquals(today.minusDays(DAYS_OVERDUE), getRecurringScheduleDAO()
+                .findById(schedule.getScheduleId()).orElseThrow()
+                .getNextCollectionDate());
+    }
+
+    @Test
+    void testInvalidChunkSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ScheduleRolloverJob(getRecurringScheduleManager(), 0,
+                        p -> { }));
+    }
+
+    private RecurringSchedule insertSchedule(final LocalDate nextCollectionDate) {
+        RecurringSchedule schedule = new RecurringSchedule(customer, waste,
+                nextCollectionDate.minusWeeks(1), Frequency.WEEKLY);
+        schedule.setNextCollectionDate(nextCollectionDate);
+        getRecurringScheduleDAO().insert(schedule);
+        return schedule;
+    }
+
+    private List<LocalDate> occurrences(final LocalDate first) {
+        LocalDate end = today.plus(getRecurringScheduleManager().getHorizon());
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate date = first; !date.isAfter(end); date = date.plusWeeks(1)) {
+            dates.add(date);
+        }
+        return dates;
+    }
+
+    private void insertMissedCollection(final RecurringSchedule schedule) {
+        Collection collection = new Collection(schedule);
+        collection.setCollectionDate(today.plusDays(1));
+        getCollectionDAO().insert(collection);
+        // a collection cannot be stored in the past, so time passing is simulated
+        getEntityManager().createQuery("UPDATE Collection c SET c.date = :date "
+                        + "WHERE c.collectionId = :id")
+                .setParameter("date", schedule.getNextCollectionDate())
+                .setParameter("id", collection.getCollectionId())
+                .executeUpdate();
+    }
+}
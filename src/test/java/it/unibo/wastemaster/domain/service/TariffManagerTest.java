@@ -0,0 +1,190 @@
+package it.unibo.wastemaster.domain.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import it.unibo.wastemaster.domain.model.Collection;
+import it.unibo.wastemaster.domain.model.Customer;
+import it.unibo.wastemaster.domain.model.Customer.CustomerCategory;
+import it.unibo.wastemaster.domain.model.Invoice;
+import it.unibo.wastemaster.domain.model.Location;
+import it.unibo.wastemaster.domain.model.OneTimeSchedule;
+import it.unibo.wastemaster.domain.model.RecurringSchedule.Frequency;
+import it.unibo.wastemaster.domain.model.Schedule.ScheduleCategory;
+import it.unibo.wastemaster.domain.model.Tariff;
+import it.unibo.wastemaster.domain.model.Waste;
+import it.unibo.wastemaster.infrastructure.AbstractDatabaseTest;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TariffManagerTest extends AbstractDatabaseTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate CHANGE = LocalDate.of(2025, 7, 1);
+
+    private Waste glass;
+    private Waste paper;
+
+    @Override
+    @BeforeEach
+    public void setUp() {
+        super.setUp();
+        glass = new Waste("Vetro", true, false);
+        paper = new Waste("Carta", true, false);
+        getWasteDAO().insert(glass);
+        getWasteDAO().insert(paper);
+    }
+
+    @Test
+    void testMostSpecificTariffApplies() {
+        Tariff base = add(ScheduleCategory.RECURRING, null, null, null, 25);
+        Tariff monthly = add(ScheduleCategory.RECURRING, null, Frequency.MONTHLY,
+                null, 20);
+        Tariff business = add(ScheduleCategory.RECURRING, null, null,
+                CustomerCategory.COMMERCIAL, 30);
+        Tariff glassTariff = add(ScheduleCategory.RECURRING, glass, null, null, 50);
+
+        TariffTable table = getTariffManager().getTariffTable();
+
+        assertEquals(4, table.size());
+        assertSame(base, find(table, paper, CustomerCategory.RESIDENTIAL,
+                Frequency.WEEKLY, START));
+        assertSame(monthly, find(table, paper, CustomerCategory.RESIDENTIAL,
+                Frequency.MONTHLY, START));
+        assertSame(business, find(table, paper, CustomerCategory.COMMERCIAL,
+                Frequency.MONTHLY, START));
+        assertSame(glassTariff, find(table, glass, CustomerCategory.COMMERCIAL,
+                Frequency.MONTHLY, START));
+        assertNull(table.find(ScheduleCategory.ONE_TIME, paper.getWasteId(),
+                CustomerCategory.RESIDENTIAL, null, START));
+    }
+
+    @Test
+    void testTariffAppliesWithinItsDates() {
+        Tariff base = add(ScheduleCategory.ONE_TIME, null, null, null, 40);
+        Tariff old = getTariffManager().addTariff(new Tariff(ScheduleCategory.ONE_TIME,
+                glass, null, null, START, CHANGE, 45));
+        Tariff current = getTariffManager().addTariff(new Tariff(
+                ScheduleCategory.ONE_TIME, glass, null, null, CHANGE, null, 55));
+
+        TariffTable table = getTariffManager().getTariffTable();
+
+        assertSame(base, find(table, glass, ScheduleCategory.ONE_TIME,
+                START.minusDays(1)));
+        assertSame(old, find(table, glass, ScheduleCategory.ONE_TIME, START));
+        assertSame(old, find(table, glass, ScheduleCategory.ONE_TIME,
+                CHANGE.minusDays(1)));
+        assertSame(current, find(table, glass, ScheduleCategory.ONE_TIME, CHANGE));
+    }
+
+    @Test
+    void testEndedTariffFallsBackToOverlappedOne() {
+        add(ScheduleCategory.ONE_TIME, null, null, null, 40);
+        Tariff standing = add(ScheduleCategory.ONE_TIME, glass, null, null, 45);
+        Tariff promo = getTariffManager().addTariff(new Tariff(ScheduleCategory.ONE_TIME,
+                glass, null, null, START, START.plusMonths(3), 30));
+
+        TariffTable table = getTariffManager().getTariffTable();
+
+        assertSame(standing, find(table, glass, ScheduleCategory.ONE_TIME,
+                START.minusDays(1)));
+        assertSame(promo, find(table, glass, ScheduleCategory.ONE_TIME, START));
+        assertSame(standing, find(table, glass, ScheduleCategory.ONE_TIME,
+                START.plusMonths(3)));
+        assertSame(standing, find(table, glass, ScheduleCategory.ONE_TIME, CHANGE));
+    }
+
+    @Test
+    void testInvoiceStoresAppliedTariff() {
+        Customer customer = new Customer("Mario", "Rossi",
+                new Location("Via Roma", "10", "Bologna", "40100"),
+                "mario.rossi@example.com", "1234567890");
+        customer.setCategory(CustomerCategory.COMMERCIAL);
+        getCustomerDAO().insert(customer);
+        Tariff business = add(ScheduleCategory.ONE_TIME, null, null,
+                CustomerCategory.COMMERCIAL, 60);
+        Tariff glassTariff = add(ScheduleCategory.ONE_TIME, glass, null, null, 90);
+        Collection glassCollection = insertCollection(customer, glass);
+        Collection paperCollection = insertCollection(customer, paper);
+
+        Invoice invoice = getInvoiceManager().createInvoice(customer,
+                new ArrayList<>(List.of(glassCollection, paperCollection)));
+
+        assertEquals(150, invoice.getAmountCents());
+        assertEquals(150, invoice.getTotalOnetimeCents());
+        assertSame(glassTariff, glassCollection.getTariff());
+        assertEquals(90, glassCollection.getBilledCents());
+        assertSame(business, paperCollection.getTariff());
+        assertEquals(60, paperCollection.getBilledCents());
+    }
+
+    @Test
+    void testBillingRunUsesDefaultFeeWithoutTariffs() {
+        Customer customer = new Customer("Luigi", "Verdi",
+                new Location("Via Verdi", "1", "Bologna", "40100"),
+                "luigi.verdi@example.com", "0987654321");
+        getCustomerDAO().insert(customer);
+        Collection collection = insertCollection(customer, paper);
+
+        List<Invoice> invoices = getInvoiceManager().createInvoices(
+                Map.of(customer, List.of(collection)), LocalDateTime.now());
+
+        assertEquals(InvoiceManager.getOneTimeFeeCents(),
+                invoices.get(0).getAmountCents());
+        assertNull(collection.getTariff());
+        assertEquals(InvoiceManager.getOneTimeFeeCents(), collection.getBilledCents());
+    }
+
+    @Test
+    void testInvalidTariffs() {
+        assertThrows(IllegalArgumentException.class,
+                () -> getTariffManager().addTariff(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> getTariffManager().addTariff(new Tariff(ScheduleCategory.ONE_TIME,
+                        null, Frequency.WEEKLY, null, START, null, 10)));
+        assertThrows(IllegalArgumentException.class,
+                () -> getTariffManager().addTariff(new Tariff(
+                        ScheduleCategory.RECURRING, null, null, null, START, START, 10)));
+        assertThrows(IllegalArgumentException.class,
+                () -> getTariffManager().addTariff(new Tariff(
+                        ScheduleCategory.RECURRING, null, null, null, START, null, -1)));
+        assertEquals(0, getTariffManager().getTariffTable().size());
+    }
+
+    private Tariff add(final ScheduleCategory category, final Waste waste,
+                       final Frequency frequency,
+                       final CustomerCategory customerCategory, final long cents) {
+        return getTariffManager().addTariff(new Tariff(category, waste, frequency,
+                customerCategory, START.minusYears(1), null, cents));
+    }
+
+    private static Tariff find(final TariffTable table, final Waste waste,
+                               final CustomerCategory customerCategory,
+                               final Frequency frequency, final LocalDate date) {
+        return table.find(ScheduleCategory.RECURRING, waste.getWasteId(),
+                customerCategory, frequency, date);
+    }
+
+    private static Tariff find(final TariffTable table, final Waste waste,
+                               final ScheduleCategory category, final LocalDate date) {
+        return table.find(category, waste.getWasteId(), CustomerCategory.RESIDENTIAL,
+                null, date);
+    }
+
+    private Collection insertCollection(final Customer customer, final Waste waste) {
+        OneTimeSchedule schedule = new OneTimeSchedule(customer, waste,
+                LocalDate.now().plusDays(1));
+        getOneTimeScheduleDAO().insert(schedule);
+        Collection collection = new Collection(schedule);
+        collection.setCollectionStatus(Collection.CollectionStatus.COMPLETED);
+        getCollectionDAO().insert(collection);
+        return collection;
+    }
+}
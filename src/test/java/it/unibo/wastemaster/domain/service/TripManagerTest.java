@@ -3,9 +3,12 @@ package it.unibo.wastemaster.domain.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import it.unibo.wastemaster.domain.event.DomainEvent;
+import it.unibo.wastemaster.domain.event.DomainEventBus;
 import it.unibo.wastemaster.domain.model.Collection;
 import it.unibo.wastemaster.domain.model.Customer;
 import it.unibo.wastemaster.domain.model.Employee;
@@ -286,6 +289,60 @@ class TripManagerTest extends AbstractDatabaseTest {
                 .noneMatch(e -> e.getEmail().equals(operator2.getEmail())));
     }
 
+    @Test
+    void testAvailabilityFollowsTripWrites() {
+        getTripManager().createTrip(
+                "40100", vehicle1, new ArrayList<>(List.of(operator1)),
+                departureTime, expectedReturnTime,
+                new ArrayList<>(createCollections()));
+        Trip trip = getTripDAO().findAll().get(0);
+
+        assertFalse(getTripManager().getAvailableVehicles(departureTime,
+                expectedReturnTime).contains(vehicle1));
+        assertTrue(getTripManager().getAvailableVehicles(expectedReturnTime,
+                expectedReturnTime.plusHours(1)).contains(vehicle1));
+        assertTrue(getTripManager().getQualifiedDriversToEdit(departureTime,
+                expectedReturnTime, List.of(Licence.C1), trip).contains(operator1));
+
+        getTripManager().updateOperators(trip.getTripId(),
+                new ArrayList<>(List.of(operator2)));
+        List<Employee> free = getTripManager().getAvailableOperatorsExcludeDriver(
+                departureTime, expectedReturnTime, null);
+        assertTrue(free.contains(operator1));
+        assertFalse(free.contains(operator2));
+
+        assertTrue(getTripManager().softDeleteTrip(
+                getTripManager().getTripById(trip.getTripId()).orElseThrow()));
+        assertTrue(getTripManager().getAvailableVehicles(departureTime,
+                expectedReturnTime).contains(vehicle1));
+        assertTrue(getTripManager().getAvailableOperatorsExcludeDriver(
+                departureTime, expectedReturnTime, null).contains(operator2));
+    }
+
+    @Test
+    void testTripWrittenElsewhereIsSeen() {
+        DomainEventBus bus = new DomainEventBus();
+        getTripManager().setEventBus(bus);
+        assertTrue(getTripManager().getAvailableVehicles(departureTime,
+                expectedReturnTime).contains(vehicle1));
+
+        getTripDAO().insert(new Trip("40100", vehicle1,
+                new ArrayList<>(List.of(operator1)), departureTime, expectedReturnTime,
+                new ArrayList<>()));
+        assertThrows(IllegalArgumentException.class, () -> getTripManager().createTrip(
+                "20100", vehicle1, new ArrayList<>(List.of(operator2)),
+                departureTime.plusHours(1), expectedReturnTime.plusHours(1),
+                new ArrayList<>()));
+        assertThrows(IllegalArgumentException.class, () -> getTripManager().createTrip(
+                "20100", vehicle2(), new ArrayList<>(List.of(operator1)),
+                departureTime, expectedReturnTime, new ArrayList<>()));
+        assertEquals(1, getTripDAO().findAll().size());
+
+        bus.publish(new DomainEvent(Trip.class));
+        assertFalse(getTripManager().getAvailableVehicles(departureTime,
+                expectedReturnTime).contains(vehicle1));
+    }
+
     @Test
     void testGetAvailablePostalCodes() {
         LocalDate day = LocalDate.now().plusDays(1);
@@ -465,4 +522,97 @@ class TripManagerTest extends AbstractDatabaseTest {
                 after.getNextCollectionDate(),
                 "NextCollectionDate should be moved forward by the frequency");
     }
+
+    @Test
+    void testTransitionsWriteCollectionsInBulk() {
+        List<Collection> collections = createCollections();
+        getTripManager().createTrip("40100", vehicle1,
+                new ArrayList<>(List.of(operator1, operator2)), departureTime,
+                expectedReturnTime, new ArrayList<>(collections));
+        Trip trip = getTripDAO().findAll().get(0);
+
+        assertTrue(getTripManager().softDeleteTrip(trip));
+        getEntityManager().clear();
+        for (Collection collection : collections) {
+            Collection stored = getCollectionDAO()
+                    .findById(collection.getCollectionId()).orElseThrow();
+            assertNull(stored.getTrip());
+            assertNull(stored.getStopSequence());
+            assertEquals(Collection.CollectionStatus.ACTIVE,
+                    stored.getCollectionStatus());
+        }
+
+        List<Collection> reloaded = collections.stream()
+                .map(c -> getCollectionDAO().findById(c.getCollectionId())
+                        .orElseThrow())
+                .toList();
+        getTripManager().createTrip("40100", vehicle1,
+                new ArrayList<>(List.of(operator1, operator2)), departureTime,
+                expectedReturnTime, new ArrayList<>(reloaded));
+        Trip second = getTripDAO().findAll().stream()
+                .filter(t -> t.getStatus() == Trip.TripStatus.ACTIVE)
+                .findFirst().orElseThrow();
+        assertTrue(getTripManager().setTripAsCompleted(second));
+        getEntityManager().clear();
+        for (Collection collection : collections) {
+            assertEquals(Collection.CollectionStatus.COMPLETED,
+                    getCollectionDAO().findById(collection.getCollectionId())
+                            .orElseThrow().getCollectionStatus());
+        }
+        assertEquals(Trip.TripStatus.COMPLETED,
+                getTripDAO().findById(second.getTripId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testCreateTripSequencesStops() {
+        Waste waste = new Waste("Vetro", true, false);
+        getWasteDAO().insert(waste);
+        List<Collection> collections = new ArrayList<>(List.of(
+                insertCollectionAt(waste, "40126"), insertCollectionAt(waste, "99999"),
+                insertCollectionAt(waste, "40121"), insertCollectionAt(waste, "40138")));
+
+        getTripManager().createTrip("40126", vehicle1,
+                new ArrayList<>(List.of(operator1)), departureTime, expectedReturnTime,
+                collections);
+        getEntityManager().clear();
+
+        Trip trip = getTripDAO().findAll().get(0);
+        List<Collection> stops = getTripManager().getCollectionsByTrip(trip);
+        assertEquals(List.of("40138", "40126", "40121", "99999"), stops.stream()
+                .map(c -> c.getCustomer().getLocation().getPostalCode())
+                .toList());
+        for (int i = 0; i < stops.size(); i++) {
+            assertEquals(i + 1, stops.get(i).getStopSequence());
+        }
+
+        RouteSequence<Collection> route = getTripManager().sequenceTrip(trip);
+        assertEquals(List.copyOf(stops), route.getStops());
+        assertEquals(1, route.getUnplacedStops());
+        assertTrue(route.getDistanceKm() > 0);
+        assertTrue(route.getEstimatedDuration().compareTo(
+                RouteSequencer.DEFAULT_STOP_TIME.multipliedBy(stops.size())) > 0);
+    }
+
+    private Vehicle vehicle2() {
+        Vehicle vehicle = new Vehicle("ZZ999YY", "Fiat", "Ducato", VEHICLE_TEST_YEAR,
+                Vehicle.RequiredLicence.C1, Vehicle.VehicleStatus.IN_SERVICE, 3);
+        getVehicleDAO().insert(vehicle);
+        return vehicle;
+    }
+
+    private Collection insertCollectionAt(final Waste waste, final String postalCode) {
+        int n = getCustomerDAO().findAll().size();
+        Location address = new Location("Via Verdi", String.valueOf(n + 1), "Bologna",
+                postalCode);
+        getLocationDAO().insert(address);
+        Customer customer = new Customer("Cliente", "Numero" + n, address,
+                "cliente" + n + "@example.com", "+3912345678" + n);
+        getCustomerDAO().insert(customer);
+        OneTimeSchedule schedule =
+                new OneTimeSchedule(customer, waste, LocalDate.now().plusDays(1));
+        getOneTimeScheduleDAO().insert(schedule);
+        Collection collection = new Collection(schedule);
+        getCollectionDAO().insert(collection);
+        return collection;
+    }
 }
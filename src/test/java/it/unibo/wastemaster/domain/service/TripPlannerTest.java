@@ -0,0 +1,162 @@
+package it.unibo.wastemaster.domain.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unibo.wastemaster.domain.model.Collection;
+import it.unibo.wastemaster.domain.model.Customer;
+import it.unibo.wastemaster.domain.model.Employee;
+import it.unibo.wastemaster.domain.model.Employee.Licence;
+import it.unibo.wastemaster.domain.model.Location;
+import it.unibo.wastemaster.domain.model.OneTimeSchedule;
+import it.unibo.wastemaster.domain.model.Trip;
+import it.unibo.wastemaster.domain.model.Vehicle;
+import it.unibo.wastemaster.domain.model.Waste;
+import it.unibo.wastemaster.infrastructure.AbstractDatabaseTest;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TripPlannerTest extends AbstractDatabaseTest {
+
+    private static final int DAYS_AHEAD = 3;
+    private static final int VEHICLE_TEST_YEAR = 2020;
+
+    private final LocalDate day = LocalDate.now().plusDays(DAYS_AHEAD);
+    private Waste waste;
+    private Location location;
+    private Vehicle van;
+    private Vehicle truck;
+    private Employee driverB;
+    private Employee driverC1;
+    private Employee helper;
+    private int customers;
+
+    @Override
+    @BeforeEach
+    public void setUp() {
+        super.setUp();
+        waste = new Waste("Plastica", true, false);
+        getWasteDAO().insert(waste);
+        location = new Location("Via Roma", "10", "Bologna", "40100");
+        getLocationDAO().insert(location);
+
+        van = new Vehicle("VA111AA", "Fiat", "Ducato", VEHICLE_TEST_YEAR,
+                Vehicle.RequiredLicence.B, Vehicle.VehicleStatus.IN_SERVICE, 1);
+        truck = new Vehicle("TR222BB", "Iveco", "Eurocargo", VEHICLE_TEST_YEAR,
+                Vehicle.RequiredLicence.C1, Vehicle.VehicleStatus.IN_SERVICE, 2);
+        getVehicleDAO().insert(van);
+        getVehicleDAO().insert(truck);
+
+        driverB = insertOperator("driver.b@example.com", Licence.B);
+        driverC1 = insertOperator("driver.c1@example.com", Licence.C1);
+        helper = insertOperator("helper@example.com", Licence.NONE);
+    }
+
+    @Test
+    void testPlanAssignsVehiclesAndCrews() {
+        insertCollection("40100");
+        insertCollection("40100");
+        insertCollection("20100");
+
+        TripPlan plan = getTripPlanner().plan(day);
+
+        assertTrue(plan.isComplete());
+        assertEquals(2, plan.getTrips().size());
+        Trip first = plan.getTrips().get(0);
+        assertEquals("40100", first.getPostalCode());
+        assertEquals(van, first.getAssignedVehicle());
+        assertEquals(List.of(driverB), first.getOperators());
+        assertEquals(2, first.getCollections().size());
+        Trip second = plan.getTrips().get(1);
+        assertEquals("20100", second.getPostalCode());
+        assertEquals(truck, second.getAssignedVehicle());
+        assertEquals(List.of(driverC1, helper), second.getOperators());
+        assertEquals(day.atTime(TripPlanner.DEFAULT_DEPARTURE),
+                second.getDepartureTime());
+    }
+
+    @Test
+    void testCommitSavesTripsWithCollections() {
+        insertCollection("40100");
+        insertCollection("20100");
+
+        getTripPlanner().commit(getTripPlanner().plan(day));
+        getEntityManager().clear();
+
+        List<Trip> trips = getTripDAO().findAll();
+        assertEquals(2, trips.size());
+        for (Trip trip : trips) {
+            assertEquals(1, getTripManager().getCollectionsByTrip(trip).size());
+        }
+        assertTrue(getCollectionManager().getUnassignedCollectionsByPostalCode(day)
+                .isEmpty());
+        assertTrue(getTripPlanner().plan(day).getTrips().isEmpty());
+    }
+
+    @Test
+    void testBusyAndUnfitResourcesLeftOut() {
+        insertCollection("40100");
+        insertCollection("20100");
+        LocalDateTime departure = day.atTime(TripPlanner.DEFAULT_DEPARTURE);
+        getTripManager().createTrip("30100", van, new ArrayList<>(List.of(driverB)),
+                departure, departure.plus(TripPlanner.DEFAULT_DURATION),
+                new ArrayList<>());
+
+        TripPlan plan = getTripPlanner().plan(day);
+
+        assertEquals(1, plan.getTrips().size());
+        assertEquals(truck, plan.getTrips().get(0).getAssignedVehicle());
+        assertEquals(1, plan.getUnplannedPostalCodes().size());
+        assertFalse(plan.isComplete());
+    }
+
+    @Test
+    void testNoDriverWithSuitableLicence() {
+        insertCollection("40100");
+        van.setVehicleStatus(Vehicle.VehicleStatus.IN_MAINTENANCE);
+        getVehicleDAO().update(van);
+        driverC1.setLicence(Licence.B);
+        getEmployeeDAO().update(driverC1);
+
+        TripPlan plan = getTripPlanner().plan(day);
+
+        assertTrue(plan.getTrips().isEmpty());
+        assertEquals(List.of("40100"), plan.getUnplannedPostalCodes());
+    }
+
+    @Test
+    void testInvalidWindow() {
+        LocalDateTime departure = day.atTime(TripPlanner.DEFAULT_DEPARTURE);
+        assertThrows(IllegalArgumentException.class,
+                () -> getTripPlanner().plan(departure, departure));
+        assertThrows(IllegalArgumentException.class,
+                () -> getTripPlanner().plan(null));
+    }
+
+    private Employee insertOperator(final String email, final Licence licence) {
+        Employee employee = new Employee("Op", "Erator", location, email,
+                "+39333000000" + getEmployeeDAO().findAll().size(),
+                Employee.Role.OPERATOR, licence);
+        getEmployeeDAO().insert(employee);
+        return employee;
+    }
+
+    private void insertCollection(final String postalCode) {
+        customers++;
+        Location address = new Location("Via Verdi", String.valueOf(customers),
+                "Bologna", postalCode);
+        getLocationDAO().insert(address);
+        Customer customer = new Customer("Cliente", "Numero" + customers, address,
+                "cliente" + customers + "@example.com", "+3912345678" + customers);
+        getCustomerDAO().insert(customer);
+        OneTimeSchedule schedule = new OneTimeSchedule(customer, waste, day);
+        getOneTimeScheduleDAO().insert(schedule);
+        getCollectionDAO().insert(new Collection(schedule));
+    }
+}
@@ -56,6 +56,19 @@ class WasteManagerTest extends AbstractDatabaseTest {
         assertTrue(names.contains("Paper"));
     }
 
+    @Test
+    void testGetWasteById() {
+        Waste saved = getWasteManager().addWaste(waste);
+
+        assertEquals(saved, getWasteManager().getWasteById(saved.getWasteId())
+                .orElseThrow());
+        assertTrue(getWasteManager().getWasteById(saved.getWasteId() + 1).isEmpty());
+
+        getWasteManager().softDeleteWaste(saved);
+        assertTrue(getWasteManager().getWasteById(saved.getWasteId()).orElseThrow()
+                .isDeleted());
+    }
+
     @Test
     void testSoftDeleteWaste() {
         Waste saved = getWasteManager().addWaste(waste);
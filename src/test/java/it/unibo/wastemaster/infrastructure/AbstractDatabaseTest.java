@@ -1,26 +1,31 @@
 package it.unibo.wastemaster.infrastructure;
 
+import it.unibo.wastemaster.database.SchemaMigrator;
 import it.unibo.wastemaster.domain.factory.CollectionFactory;
 import it.unibo.wastemaster.domain.factory.CollectionFactoryImpl;
 import it.unibo.wastemaster.domain.model.Location;
 import it.unibo.wastemaster.domain.repository.AccountRepository;
 import it.unibo.wastemaster.domain.repository.CollectionRepository;
+import it.unibo.wastemaster.domain.repository.CustomerBalanceRepository;
 import it.unibo.wastemaster.domain.repository.CustomerRepository;
 import it.unibo.wastemaster.domain.repository.EmployeeRepository;
 import it.unibo.wastemaster.domain.repository.InvoiceRepository;
 import it.unibo.wastemaster.domain.repository.OneTimeScheduleRepository;
 import it.unibo.wastemaster.domain.repository.RecurringScheduleRepository;
+import it.unibo.wastemaster.domain.repository.TariffRepository;
 import it.unibo.wastemaster.domain.repository.TripRepository;
 import it.unibo.wastemaster.domain.repository.VehicleRepository;
 import it.unibo.wastemaster.domain.repository.WasteRepository;
 import it.unibo.wastemaster.domain.repository.WasteScheduleRepository;
 import it.unibo.wastemaster.domain.repository.impl.AccountRepositoryImpl;
 import it.unibo.wastemaster.domain.repository.impl.CollectionRepositoryImpl;
+import it.unibo.wastemaster.domain.repository.impl.CustomerBalanceRepositoryImpl;
 import it.unibo.wastemaster.domain.repository.impl.CustomerRepositoryImpl;
 import it.unibo.wastemaster.domain.repository.impl.EmployeeRepositoryImpl;
 import it.unibo.wastemaster.domain.repository.impl.InvoiceRepositoryImpl;
 import it.unibo.wastemaster.domain.repository.impl.OneTimeScheduleRepositoryImpl;
 import it.unibo.wastemaster.domain.repository.impl.RecurringScheduleRepositoryImpl;
+import it.unibo.wastemaster.domain.repository.impl.TariffRepositoryImpl;
 import it.unibo.wastemaster.domain.repository.impl.TripRepositoryImpl;
 import it.unibo.wastemaster.domain.repository.impl.VehicleRepositoryImpl;
 import it.unibo.wastemaster.domain.repository.impl.WasteRepositoryImpl;
@@ -32,18 +37,22 @@ import it.unibo.wastemaster.domain.service.EmployeeManager;
 import it.unibo.wastemaster.domain.service.InvoiceManager;
 import it.unibo.wastemaster.domain.service.OneTimeScheduleManager;
 import it.unibo.wastemaster.domain.service.RecurringScheduleManager;
+import it.unibo.wastemaster.domain.service.TariffManager;
 import it.unibo.wastemaster.domain.service.TripManager;
+import it.unibo.wastemaster.domain.service.TripPlanner;
 import it.unibo.wastemaster.domain.service.VehicleManager;
 import it.unibo.wastemaster.domain.service.WasteManager;
 import it.unibo.wastemaster.domain.service.WasteScheduleManager;
 import it.unibo.wastemaster.infrastructure.dao.AccountDAO;
 import it.unibo.wastemaster.infrastructure.dao.CollectionDAO;
+import it.unibo.wastemaster.infrastructure.dao.CustomerBalanceDAO;
 import it.unibo.wastemaster.infrastructure.dao.CustomerDAO;
 import it.unibo.wastemaster.infrastructure.dao.EmployeeDAO;
 import it.unibo.wastemaster.infrastructure.dao.GenericDAO;
 import it.unibo.wastemaster.infrastructure.dao.InvoiceDAO;
 import it.unibo.wastemaster.infrastructure.dao.OneTimeScheduleDAO;
 import it.unibo.wastemaster.infrastructure.dao.RecurringScheduleDAO;
+import it.unibo.wastemaster.infrastructure.dao.TariffDAO;
 import it.unibo.wastemaster.infrastructure.dao.TripDAO;
 import it.unibo.wastemaster.infrastructure.dao.VehicleDAO;
 import it.unibo.wastemaster.infrastructure.dao.WasteDAO;
@@ -86,6 +95,8 @@ public abstract class AbstractDatabaseTest {
     private VehicleDAO vehicleDAO;
     private TripDAO tripDAO;
     private InvoiceDAO invoiceDAO;
+    private CustomerBalanceDAO customerBalanceDAO;
+    private TariffDAO tariffDAO;
 
     // Repository instances for data access abstraction
     private AccountRepository accountRepository;
@@ -99,6 +110,8 @@ public abstract class AbstractDatabaseTest {
     private VehicleRepository vehicleRepository;
     private TripRepository tripRepository;
     private InvoiceRepository invoiceRepository;
+    private CustomerBalanceRepository customerBalanceRepository;
+    private TariffRepository tariffRepository;
 
     // Service managers for business logic
     private AccountManager accountManager;
@@ -111,11 +124,15 @@ public abstract class AbstractDatabaseTest {
     private CollectionManager collectionManager;
     private VehicleManager vehicleManager;
     private TripManager tripManager;
+    private TripPlanner tripPlanner;
+    private TariffManager tariffManager;
     private InvoiceManager invoiceManager;
     private CollectionFactory collectionFactory;
 
     /**
-     * Initializes the EntityManagerFactory before any test runs.
+     * Initializes the EntityManagerFactory before any test runs and creates the
+     * schema with the migrations of the application. The default tariffs seeded by
+     * the migrations are removed, so that each test defines its own.
      */
     @BeforeAll
     public static void init() {
@@ -123,18 +140,33 @@ public abstract class AbstractDatabaseTest {
         if (emf == null) {
             throw new IllegalStateException("Failed to create EntityManagerFactory.");
         }
+        SchemaMigrator.migrate(emf);
+        executeStatement("DELETE FROM tariff");
     }
 
     /**
-     * Closes the EntityManagerFactory after all tests are completed.
+     * Drops the schema and closes the EntityManagerFactory after all tests are
+     * completed.
      */
     @AfterAll
     public static void cleanUp() {
         if (emf != null) {
+            executeStatement("DROP ALL OBJECTS");
             emf.close();
         }
     }
 
+    private static void executeStatement(final String sql) {
+        EntityManager entityManager = emf.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            entityManager.createNativeQuery(sql).executeUpdate();
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+    }
+
     /**
      * Returns the shared EntityManagerFactory for all tests.
      *
@@ -168,6 +200,8 @@ public abstract class AbstractDatabaseTest {
         vehicleDAO = new VehicleDAO(em);
         tripDAO = new TripDAO(em);
         invoiceDAO = new InvoiceDAO(em);
+        customerBalanceDAO = new CustomerBalanceDAO(em);
+        tariffDAO = new TariffDAO(em);
 
         // Repository init con implementazioni concrete
         accountRepository = new AccountRepositoryImpl(accountDAO);
@@ -182,6 +216,8 @@ public abstract class AbstractDatabaseTest {
         vehicleRepository = new VehicleRepositoryImpl(vehicleDAO);
         tripRepository = new TripRepositoryImpl(tripDAO);
         invoiceRepository = new InvoiceRepositoryImpl(invoiceDAO);
+        customerBalanceRepository = new CustomerBalanceRepositoryImpl(customerBalanceDAO);
+        tariffRepository = new TariffRepositoryImpl(tariffDAO);
 
         // Managers init (pass repositories)
         accountManager = new AccountManager(accountRepository);
@@ -201,7 +237,10 @@ public abstract class AbstractDatabaseTest {
         vehicleManager = new VehicleManager(vehicleRepository);
         tripManager = new TripManager(tripRepository, collectionRepository,
                 recurringScheduleManager);
-        invoiceManager = new InvoiceManager(invoiceRepository);
+        tripPlanner = new TripPlanner(tripManager, collectionManager, vehicleManager);
+        tariffManager = new TariffManager(tariffRepository);
+        invoiceManager = new InvoiceManager(invoiceRepository, customerBalanceRepository,
+                tariffManager);
     }
 
     /**
@@ -325,6 +364,24 @@ public abstract class AbstractDatabaseTest {
         return invoiceDAO;
     }
 
+    /**
+     * Returns the DAO for CustomerBalance entities.
+     *
+     * @return the CustomerBalanceDAO instance
+     */
+    protected CustomerBalanceDAO getCustomerBalanceDAO() {
+        return customerBalanceDAO;
+    }
+
+    /**
+     * Returns the DAO for Tariff entities.
+     *
+     * @return the TariffDAO instance
+     */
+    protected TariffDAO getTariffDAO() {
+        return tariffDAO;
+    }
+
     /**
      * Returns the manager for Employee-related operations.
      *
@@ -406,6 +463,24 @@ public abstract class AbstractDatabaseTest {
         return tripManager;
     }
 
+    /**
+     * Returns the planner of daily trips.
+     *
+     * @return the TripPlanner instance
+     */
+    protected TripPlanner getTripPlanner() {
+        return tripPlanner;
+    }
+
+    /**
+     * Returns the manager for Tariff-related operations.
+     *
+     * @return the TariffManager instance
+     */
+    protected TariffManager getTariffManager() {
+        return tariffManager;
+    }
+
     /**
      * Returns the DaoManager instance.
      *
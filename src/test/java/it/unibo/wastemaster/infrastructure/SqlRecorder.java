@@ -0,0 +1,42 @@
+package it.unibo.wastemaster.infrastructure;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Records the SQL statements prepared by Hibernate in the tests, so that the
+ * statements of the real DAO queries can be checked, for example with EXPLAIN.
+ */
+public final class SqlRecorder implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new ArrayList<>();
+
+    @Override
+    public String inspect(final String sql) {
+        synchronized (STATEMENTS) {
+            STATEMENTS.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Forgets the statements recorded so far.
+     */
+    public static void clear() {
+        synchronized (STATEMENTS) {
+            STATEMENTS.clear();
+        }
+    }
+
+    /**
+     * Gets the statements recorded since the last {@link #clear()}.
+     *
+     * @return the statements, in the order they were prepared
+     */
+    public static List<String> getStatements() {
+        synchronized (STATEMENTS) {
+            return List.copyOf(STATEMENTS);
+        }
+    }
+}
@@ -13,10 +13,16 @@ import it.unibo.wastemaster.domain.model.OneTimeSchedule;
 import it.unibo.wastemaster.domain.model.RecurringSchedule;
 import it.unibo.wastemaster.domain.model.RecurringSchedule.Frequency;
 import it.unibo.wastemaster.domain.model.Waste;
+import it.unibo.wastemaster.domain.service.RecurringScheduleManager;
 import it.unibo.wastemaster.infrastructure.AbstractDatabaseTest;
+import it.unibo.wastemaster.infrastructure.SqlRecorder;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -153,17 +159,28 @@ class CollectionDAOTest extends AbstractDatabaseTest {
 
         List<Collection> collections =
                 getCollectionDAO().findAllCollectionsBySchedule(schedule);
-        assertEquals(2, collections.size());
+
+        List<LocalDate> expectedDates = new ArrayList<>();
+        LocalDate end = LocalDate.now().plus(getRecurringScheduleManager().getHorizon());
+        for (LocalDate occurrence = RecurringScheduleManager.alignToScheduledDay(
+                newDate.plusDays(2), DayOfWeek.MONDAY); !occurrence.isAfter(end);
+                occurrence = occurrence.plusWeeks(1)) {
+            expectedDates.add(occurrence);
+        }
+        assertEquals(2 * expectedDates.size(), collections.size());
 
         long cancelledCount = collections.stream()
                 .filter(c -> c.getCollectionStatus()
                         == Collection.CollectionStatus.CANCELLED).count();
-        long activeCount = collections.stream()
+        List<LocalDate> activeDates = collections.stream()
                 .filter(c -> c.getCollectionStatus()
-                        != Collection.CollectionStatus.CANCELLED).count();
+                        != Collection.CollectionStatus.CANCELLED)
+                .map(Collection::getCollectionDate)
+                .sorted()
+                .toList();
 
-        assertEquals(1, cancelledCount);
-        assertEquals(1, activeCount);
+        assertEquals(expectedDates.size(), cancelledCount);
+        assertEquals(expectedDates, activeDates);
         assertTrue(collections.stream().allMatch(c -> c.getSchedule().equals(schedule)));
     }
 
@@ -195,4 +212,98 @@ class CollectionDAOTest extends AbstractDatabaseTest {
                         recurringSchedule);
         assertNull(nullResult);
     }
+
+    /**
+     * Tests inserting and updating collections in chunked batches.
+     */
+    @Test
+    void testInsertAllAndUpdateAll() {
+        List<Collection> collections = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            Collection collection = new Collection(recurringSchedule);
+            collection.setCollectionDate(date.plusDays(i));
+            collections.add(collection);
+        }
+        getCollectionDAO().insertAll(collections, 3);
+
+        assertTrue(collections.stream().allMatch(c -> c.getCollectionId() > 0));
+        assertEquals(7, getCollectionDAO().findCollectionByStatus(toBeScheduled).size());
+
+        collections.forEach(c -> c.setCollectionStatus(completed));
+        getCollectionDAO().updateAll(collections, 3);
+
+        assertEquals(0, getCollectionDAO().findCollectionByStatus(toBeScheduled).size());
+        assertEquals(7, getCollectionDAO().findCollectionByStatus(completed).size());
+    }
+
+    /**
+     * Tests that a large insertAll still runs as JDBC batches, logging no changed
+     * rows, while a single insert logs its id.
+     */
+    @Test
+    void testInsertAllRunsAsBatches() {
+        int count = 500;
+        List<Collection> collections = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Collection collection = new Collection(recurringSchedule);
+            collection.setCollectionDate(date.plusDays(i));
+            collections.add(collection);
+        }
+        getEntityManager().flush();
+        SqlRecorder.clear();
+        getCollectionDAO().insertAll(collections);
+        getEntityManager().flush();
+
+        long batches = countInserts("collections");
+        assertTrue(batches > 0);
+        assertTrue(batches <= count / GenericDAO.DEFAULT_BATCH_SIZE + 1);
+        assertEquals(0, countInserts("changed_row"));
+
+        Collection single = new Collection(recurringSchedule);
+        single.setCollectionDate(date.plusDays(count));
+        SqlRecorder.clear();
+        getCollectionDAO().insert(single);
+        getEntityManager().flush();
+
+        assertEquals(1, countInserts("changed_row"));
+    }
+
+    private static long countInserts(final String table) {
+        return SqlRecorder.getStatements().stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .filter(sql -> sql.startsWith("insert into " + table + " "))
+                .count();
+    }
+
+    /**
+     * Tests counting collections by status and grouping them by month and status.
+     */
+    @Test
+    void testCountByMonthAndStatus() {
+        LocalDate january = LocalDate.of(2024, Month.JANUARY, 15);
+        LocalDate nextJanuary = january.plusYears(1);
+        LocalDate march = LocalDate.of(2024, Month.MARCH, 4);
+
+        Collection c1 = new Collection(recurringSchedule);
+        c1.setCollectionDate(january);
+        Collection c2 = new Collection(recurringSchedule);
+        c2.setCollectionDate(nextJanuary);
+        Collection c3 = new Collection(recurringSchedule);
+        c3.setCollectionDate(january);
+        c3.setCollectionStatus(cancelled);
+        Collection c4 = new Collection(recurringSchedule);
+        c4.setCollectionDate(march);
+        c4.setCollectionStatus(completed);
+        getCollectionDAO().insertAll(List.of(c1, c2, c3, c4));
+
+        assertEquals(2, getCollectionDAO().countByStatus(toBeScheduled));
+        assertEquals(1, getCollectionDAO().countByStatus(completed));
+
+        Map<Month, Map<CollectionStatus, Long>> counts =
+                getCollectionDAO().countByMonthAndStatus();
+        assertEquals(2L, counts.get(Month.JANUARY).get(toBeScheduled));
+        assertEquals(1L, counts.get(Month.JANUARY).get(cancelled));
+        assertEquals(1L, counts.get(Month.MARCH).get(completed));
+        assertNull(counts.get(Month.FEBRUARY));
+    }
 }
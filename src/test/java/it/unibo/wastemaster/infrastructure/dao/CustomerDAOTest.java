@@ -8,7 +8,10 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import it.unibo.wastemaster.domain.model.Customer;
 import it.unibo.wastemaster.domain.model.Location;
+import it.unibo.wastemaster.domain.repository.Page;
+import it.unibo.wastemaster.domain.repository.PageRequest;
 import it.unibo.wastemaster.infrastructure.AbstractDatabaseTest;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -108,4 +111,58 @@ class CustomerDAOTest extends AbstractDatabaseTest {
                         .anyMatch(c -> c.getEmail().equals("laura@example.com")),
                 "Laura (deleted) should not be present");
     }
+
+    /**
+     * Tests that only non-deleted customers are counted as active.
+     */
+    @Test
+    void testCountActive() {
+        Customer active = new Customer("Marco", "Verdi", location,
+                "marco@example.com", "1111111111");
+        Customer deletedCustomer = new Customer("Laura", "Rossi", location,
+                "laura@example.com", "3333333333");
+
+        getCustomerDAO().insert(active);
+        getCustomerDAO().insert(deletedCustomer);
+        deletedCustomer.delete();
+        getCustomerDAO().update(deletedCustomer);
+
+        assertEquals(1, getCustomerDAO().countActive());
+    }
+
+    /**
+     * Tests keyset pagination of customers with sorting, filtering and search.
+     */
+    @Test
+    void testFindPage() {
+        getCustomerDAO().insert(new Customer("Marco", "Verdi", location,
+                "marco@example.com", "1111111111"));
+        getCustomerDAO().insert(new Customer("Luca", "Bianchi", location,
+                "luca@example.com", "2222222222"));
+        getCustomerDAO().insert(new Customer("Anna", "Neri", location,
+                "anna@example.com", "4444444444"));
+        Customer deletedCustomer = new Customer("Laura", "Rossi", location,
+                "laura@example.com", "3333333333");
+        getCustomerDAO().insert(deletedCustomer);
+        deletedCustomer.delete();
+        getCustomerDAO().update(deletedCustomer);
+
+        PageRequest request = PageRequest.of(2)
+                .where("isDeleted", false)
+                .sortBy("surname", true);
+        Page<Customer> first = getCustomerDAO().findPage(request);
+        assertEquals(List.of("Bianchi", "Neri"),
+                first.getItems().stream().map(Customer::getSurname).toList());
+        assertTrue(first.hasNext());
+
+        Page<Customer> second = getCustomerDAO().findPage(first.nextPage().get());
+        assertEquals(List.of("Verdi"),
+                second.getItems().stream().map(Customer::getSurname).toList());
+        assertFalse(second.hasNext());
+
+        Page<Customer> searched = getCustomerDAO().findPage(
+                request.search("LUCA", "name", "surname", "location.city"));
+        assertEquals(1, searched.getItems().size());
+        assertEquals("luca@example.com", searched.getItems().get(0).getEmail());
+    }
 }
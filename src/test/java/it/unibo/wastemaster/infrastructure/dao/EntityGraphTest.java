@@ -0,0 +1,208 @@
+package it.unibo.wastemaster.infrastructure.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unibo.wastemaster.domain.model.Collection;
+import it.unibo.wastemaster.domain.model.Collection.CollectionStatus;
+import it.unibo.wastemaster.domain.model.Customer;
+import it.unibo.wastemaster.domain.model.Employee;
+import it.unibo.wastemaster.domain.model.Employee.Licence;
+import it.unibo.wastemaster.domain.model.Employee.Role;
+import it.unibo.wastemaster.domain.model.Invoice;
+import it.unibo.wastemaster.domain.model.Location;
+import it.unibo.wastemaster.domain.model.OneTimeSchedule;
+import it.unibo.wastemaster.domain.model.Trip;
+import it.unibo.wastemaster.domain.model.Vehicle;
+import it.unibo.wastemaster.domain.model.Vehicle.RequiredLicence;
+import it.unibo.wastemaster.domain.model.Vehicle.VehicleStatus;
+import it.unibo.wastemaster.domain.model.Waste;
+import it.unibo.wastemaster.infrastructure.AbstractDatabaseTest;
+import it.unibo.wastemaster.infrastructure.pdf.InvoicePdfService;
+import jakarta.persistence.PersistenceUnitUtil;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the named entity graphs load what each use case reads in a single
+ * statement, while plain lookups leave lazy associations unloaded.
+ */
+class EntityGraphTest extends AbstractDatabaseTest {
+
+    private static final int DAYS_AGO = 3;
+
+    private Statistics statistics;
+    private PersistenceUnitUtil unitUtil;
+    private Customer customer;
+    private OneTimeSchedule schedule;
+    private Trip trip;
+    private Invoice invoice;
+
+    /**
+     * Stores a customer with a schedule, a trip with its crew and a stop and an
+     * invoice, then empties every cache so that only the statements of the test are
+     * counted.
+     */
+    @Override
+    @BeforeEach
+    public void setUp() {
+        super.setUp();
+        Location location = new Location("Via Roma", "1", "Bologna", "40100");
+        getLocationDAO().insert(location);
+        customer = new Customer("Mario", "Rossi", location, "mario.rossi@example.com",
+                "3330000001");
+        getCustomerDAO().insert(customer);
+        Waste waste = new Waste("Glass", true, false);
+        getWasteDAO().insert(waste);
+
+        schedule = new OneTimeSchedule(customer, waste,
+                LocalDate.now().minusDays(DAYS_AGO));
+        getOneTimeScheduleDAO().insert(schedule);
+        Collection billed = completedCollection();
+        billed.setIsBilled(true);
+        completedCollection();
+
+        Vehicle vehicle = new Vehicle("AA111AA", "Iveco", "Daily",
+                LocalDate.now().getYear(), RequiredLicence.C, VehicleStatus.IN_SERVICE,
+                2);
+        getVehicleDAO().insert(vehicle);
+        Employee first = new Employee("Luigi", "Bianchi", location,
+                "luigi.bianchi@example.com", "3332222222", Role.OPERATOR, Licence.C);
+        Employee second = new Employee("Anna", "Verdi", location,
+                "anna.verdi@example.com", "3333333333", Role.OPERATOR, Licence.C);
+        getEmployeeDAO().insert(first);
+        getEmployeeDAO().insert(second);
+        LocalDateTime departure = LocalDateTime.now().plusDays(1);
+        trip = new Trip("40100", vehicle, List.of(first, second), departure,
+                departure.plusHours(4), Collections.emptyList());
+        getTripDAO().insert(trip);
+        Collection stop = new Collection(schedule);
+        stop.setTrip(trip);
+        getCollectionDAO().insert(stop);
+
+        invoice = new Invoice(customer, List.of(billed), 0, 10, 0, 1,
+                LocalDateTime.now());
+        getInvoiceDAO().insert(invoice);
+
+        getEntityManager().flush();
+        getEntityManager().clear();
+        getEntityManagerFactory().getCache().evictAll();
+        unitUtil = getEntityManagerFactory().getPersistenceUnitUtil();
+        statistics = getEntityManagerFactory().unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Tests that a trip opened by the trip actions comes with its vehicle, its
+     * operators and their locations in one statement, and with its collections and
+     * what they show in a second one.
+     */
+    @Test
+    void testTripWithCrewAndStopsLoadedInTwoStatements() {
+        Trip loaded = getTripManager().getTripById(trip.getTripId()).orElseThrow();
+
+        assertEquals("AA111AA", loaded.getAssignedVehicle().getPlate());
+        assertEquals(2, loaded.getOperators().size());
+        loaded.getOperators().forEach(o -> assertEquals("Bologna",
+                o.getLocation().getCity()));
+        assertEquals(1, loaded.getCollections().size());
+        Collection stop = loaded.getCollections().get(0);
+        assertEquals("mario.rossi@example.com", stop.getCustomer().getEmail());
+        assertEquals(schedule.getScheduleCategory(),
+                stop.getSchedule().getScheduleCategory());
+        assertEquals("Glass", stop.getWaste().getWasteName());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Tests that the collections of an invoice come with what the collection table
+     * shows in one statement.
+     */
+    @Test
+    void testInvoiceWithCollectionsLoadedInOneStatement() {
+        Invoice loaded = getInvoiceManager()
+                .findInvoiceWithCollections(invoice.getInvoiceId()).orElseThrow();
+
+        assertEquals(1, loaded.getCollections().size());
+        Collection collection = loaded.getCollections().get(0);
+        assertEquals("Bologna", collection.getCustomer().getLocation().getCity());
+        assertEquals("Glass", collection.getWaste().getWasteName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Tests that an invoice is printed from a single statement.
+     *
+     * @throws Exception if the PDF cannot be generated
+     */
+    @Test
+    void testInvoiceForPdfLoadedInOneStatement() throws Exception {
+        Invoice loaded = getInvoiceManager().findInvoiceForPdf(invoice.getInvoiceId())
+                .orElseThrow();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new InvoicePdfService().generateInvoicePdf(loaded, out);
+
+        assertTrue(out.size() > 0);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Tests that a schedule comes with its customer and waste in one statement.
+     */
+    @Test
+    void testScheduleWithCustomerLoadedInOneStatement() {
+        OneTimeSchedule loaded = getOneTimeScheduleManager()
+                .findOneTimeScheduleById(schedule.getScheduleId()).orElseThrow();
+
+        assertEquals("Rossi", loaded.getCustomer().getSurname());
+        assertEquals("Bologna", loaded.getCustomer().getLocation().getCity());
+        assertEquals("Glass", loaded.getWaste().getWasteName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Tests that the collections to bill come with what billing reads in one
+     * statement.
+     */
+    @Test
+    void testCollectionsToBillLoadedInOneStatement() {
+        List<Collection> toBill =
+                getCollectionManager().getCompletedNotBilledCollections(customer);
+
+        assertEquals(1, toBill.size());
+        Collection collection = toBill.get(0);
+        assertEquals("Bologna", collection.getCustomer().getLocation().getCity());
+        assertEquals("Glass", collection.getWaste().getWasteName());
+        assertEquals(schedule.getScheduleCategory(),
+                collection.getSchedule().getScheduleCategory());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Tests that a plain lookup does not load the lazy associations.
+     */
+    @Test
+    void testPlainLookupLeavesAssociationsUnloaded() {
+        Trip loaded = getTripDAO().findById(trip.getTripId()).orElseThrow();
+
+        assertFalse(unitUtil.isLoaded(loaded, "assignedVehicle"));
+        assertFalse(unitUtil.isLoaded(loaded, "operators"));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private Collection completedCollection() {
+        Collection collection = new Collection(schedule);
+        collection.setCollectionStatus(CollectionStatus.COMPLETED);
+        getCollectionDAO().insert(collection);
+        return collection;
+    }
+}
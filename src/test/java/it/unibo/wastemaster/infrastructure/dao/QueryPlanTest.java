@@ -0,0 +1,138 @@
+package it.unibo.wastemaster.infrastructure.dao;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import it.unibo.wastemaster.domain.model.Customer;
+import it.unibo.wastemaster.domain.model.Location;
+import it.unibo.wastemaster.domain.model.RecurringSchedule;
+import it.unibo.wastemaster.domain.model.RecurringSchedule.Frequency;
+import it.unibo.wastemaster.domain.model.Waste;
+import it.unibo.wastemaster.infrastructure.AbstractDatabaseTest;
+import it.unibo.wastemaster.infrastructure.SqlRecorder;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import org.hibernate.Cache;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks with EXPLAIN on H2 that the SQL generated by Hibernate for the most
+ * frequent DAO queries reads the queried table through an index instead of a full
+ * table scan, on the schema created by the migrations.
+ */
+class QueryPlanTest extends AbstractDatabaseTest {
+
+    private static final String TABLE_SCAN = ".tableScan";
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 1);
+    private static final int LIMIT = 10;
+
+    private Customer customer;
+    private RecurringSchedule schedule;
+
+    @Override
+    @BeforeEach
+    public void setUp() {
+        super.setUp();
+        Waste waste = new Waste("Plastica", true, false);
+        getWasteDAO().insert(waste);
+        customer = new Customer("Mario", "Rossi",
+                new Location("Via Roma", "10", "Bologna", "40100"),
+                "mario.rossi@example.com", "1234567890");
+        getCustomerDAO().insert(customer);
+        schedule = new RecurringSchedule(customer, waste, LocalDate.now(),
+                Frequency.WEEKLY);
+        getRecurringScheduleDAO().insert(schedule);
+    }
+
+    /**
+     * Collections of a day and status, as read when planning trips.
+     */
+    @Test
+    void testCollectionsByDateAndStatusUseIndex() {
+        assertUsesIndex("collections",
+                () -> getCollectionDAO().findUnassignedByPostalCode(DATE));
+    }
+
+    /**
+     * Upcoming active collections of a schedule.
+     */
+    @Test
+    void testCollectionsByScheduleUseIndex() {
+        assertUsesIndex("collections",
+                () -> getCollectionDAO().findUpcomingActiveBySchedule(schedule, DATE));
+    }
+
+    /**
+     * Completed collections of a customer not yet billed.
+     */
+    @Test
+    void testBillableCollectionsUseIndex() {
+        assertUsesIndex("collections",
+                () -> getCollectionDAO().findCompletedNotBilledByCustomer(customer));
+    }
+
+    /**
+     * Time windows of the active trips, as read when checking availability.
+     */
+    @Test
+    void testActiveTripsUseIndex() {
+        assertUsesIndex("trip", () -> getTripDAO().findActiveTripSlots());
+    }
+
+    /**
+     * Active recurring schedules whose next collection date has passed.
+     */
+    @Test
+    void testOverdueRecurringSchedulesUseIndex() {
+        assertUsesIndex("Schedule",
+                () -> getRecurringScheduleDAO().findOverdueAfter(DATE, 0, LIMIT));
+    }
+
+    /**
+     * Latest customers, trips and invoices shown on the dashboard.
+     */
+    @Test
+    void testLatestRowsUseIndex() {
+        assertUsesIndex("customer", () -> getCustomerDAO().findLast5Inserted());
+        assertUsesIndex("trip", () -> getTripDAO().findLast5Modified());
+        assertUsesIndex("invoices", () -> getInvoiceDAO().findLast5InvoicesEvent());
+    }
+
+    private void assertUsesIndex(final String table, final Runnable query) {
+        getEntityManagerFactory().getCache().unwrap(Cache.class).evictAllRegions();
+        SqlRecorder.clear();
+        query.run();
+        Pattern fromTable = Pattern.compile("\\bfrom\\s+" + table + "\\s",
+                Pattern.CASE_INSENSITIVE);
+        List<String> statements = SqlRecorder.getStatements().stream()
+                .filter(sql -> fromTable.matcher(sql).find())
+                .toList();
+        assertFalse(statements.isEmpty(), () -> "No query read " + table);
+        String scan = "." + table.toUpperCase(Locale.ROOT) + TABLE_SCAN;
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertFalse(plan.contains(scan),
+                    () -> "Full scan of " + table + " in plan:\n" + plan);
+        }
+    }
+
+    private String explain(final String sql) {
+        StringBuilder plan = new StringBuilder();
+        getEntityManager().unwrap(Session.class).doWork(connection -> {
+            // H2 explains a statement without its parameters being bound
+            try (PreparedStatement statement =
+                         connection.prepareStatement("EXPLAIN " + sql);
+                 ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+        });
+        return plan.toString();
+    }
+}
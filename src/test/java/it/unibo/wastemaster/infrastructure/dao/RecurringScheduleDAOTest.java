@@ -11,8 +11,10 @@ import it.unibo.wastemaster.domain.model.Location;
 import it.unibo.wastemaster.domain.model.RecurringSchedule;
 import it.unibo.wastemaster.domain.model.Waste;
 import it.unibo.wastemaster.infrastructure.AbstractDatabaseTest;
+import it.unibo.wastemaster.infrastructure.SqlRecorder;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -124,6 +126,17 @@ class RecurringScheduleDAOTest extends AbstractDatabaseTest {
         assertFalse(result.contains(recurringSchedule3));
     }
 
+    @Test
+    void testOverdueChunkIsLocked() {
+        SqlRecorder.clear();
+        List<RecurringSchedule> result =
+                getRecurringScheduleDAO().findOverdueAfter(date, 0, 10);
+
+        assertEquals(List.of(recurringSchedule2, recurringSchedule4), result);
+        assertTrue(SqlRecorder.getStatements().stream()
+                .anyMatch(sql -> sql.toLowerCase(Locale.ROOT).contains("for update")));
+    }
+
     @Test
     void testFindScheduleByCustomer() {
         List<RecurringSchedule> result1 =
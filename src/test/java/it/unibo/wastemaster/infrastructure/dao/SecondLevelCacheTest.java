@@ -0,0 +1,123 @@
+package it.unibo.wastemaster.infrastructure.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unibo.wastemaster.domain.model.Waste;
+import it.unibo.wastemaster.domain.model.WasteSchedule;
+import it.unibo.wastemaster.infrastructure.AbstractDatabaseTest;
+import jakarta.persistence.Cache;
+import java.time.DayOfWeek;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the second-level cache of the reference entities: repeated reads are
+ * served from the cache, and writes made through the managers are visible on the
+ * next read.
+ */
+class SecondLevelCacheTest extends AbstractDatabaseTest {
+
+    private Statistics statistics;
+
+    /**
+     * Resets the cache statistics before each test.
+     */
+    @Override
+    @BeforeEach
+    public void setUp() {
+        super.setUp();
+        statistics = getEntityManagerFactory().unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Tests that a waste read twice is loaded from the database only once.
+     */
+    @Test
+    void testWasteServedFromCache() {
+        Waste waste = new Waste("Glass", true, false);
+        getWasteDAO().insert(waste);
+        commit();
+
+        getWasteDAO().findById(waste.getWasteId());
+        getEntityManager().clear();
+        getWasteDAO().findById(waste.getWasteId());
+
+        EntityStatistics stats = statistics.getEntityStatistics(Waste.class.getName());
+        assertEquals(1, stats.getLoadCount());
+        assertEquals(1, stats.getCacheHitCount());
+    }
+
+    /**
+     * Tests that a cached waste schedule reflects a change of collection day.
+     */
+    @Test
+    void testWasteScheduleRefreshedAfterUpdate() {
+        Waste waste = new Waste("Paper", true, false);
+        getWasteDAO().insert(waste);
+        WasteSchedule schedule =
+                getWasteScheduleManager().setupCollectionRoutine(waste, DayOfWeek.MONDAY);
+        commit();
+
+        getWasteScheduleManager().getWasteScheduleByWaste(waste);
+        getWasteScheduleManager().changeCollectionDay(schedule, DayOfWeek.FRIDAY);
+        getEntityManager().clear();
+
+        assertEquals(DayOfWeek.FRIDAY,
+                getWasteScheduleManager().getWasteScheduleByWaste(waste).getDayOfWeek());
+    }
+
+    /**
+     * Tests that the cached list of active wastes drops a soft-deleted waste.
+     */
+    @Test
+    void testActiveWastesRefreshedAfterSoftDelete() {
+        Waste waste = new Waste("Plastic", true, false);
+        getWasteDAO().insert(waste);
+        commit();
+
+        assertTrue(containsWaste(waste));
+        assertTrue(getWasteManager().softDeleteWaste(waste));
+        getEntityManager().clear();
+
+        assertFalse(containsWaste(waste));
+    }
+
+    /**
+     * Tests that a waste evicted after a change made by another instance is read
+     * again from the database.
+     */
+    @Test
+    void testWasteReloadedAfterEviction() {
+        Waste waste = new Waste("Metal", true, false);
+        getWasteDAO().insert(waste);
+        commit();
+
+        getWasteDAO().findById(waste.getWasteId());
+        Cache cache = getEntityManagerFactory().getCache();
+        assertTrue(cache.contains(Waste.class, waste.getWasteId()));
+        getWasteDAO().evictCache();
+        assertFalse(cache.contains(Waste.class, waste.getWasteId()));
+        getEntityManager().clear();
+        getWasteDAO().findById(waste.getWasteId());
+
+        EntityStatistics stats = statistics.getEntityStatistics(Waste.class.getName());
+        assertEquals(2, stats.getLoadCount());
+    }
+
+    private boolean containsWaste(final Waste waste) {
+        return getWasteManager().getActiveWastes().stream()
+                .anyMatch(w -> w.getWasteId().equals(waste.getWasteId()));
+    }
+
+    private void commit() {
+        getEntityManager().getTransaction().commit();
+        getEntityManager().clear();
+    }
+}
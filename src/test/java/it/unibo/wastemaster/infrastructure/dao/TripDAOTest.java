@@ -2,6 +2,7 @@ package it.unibo.wastemaster.infrastructure.dao;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import it.unibo.wastemaster.domain.model.Collection;
@@ -19,11 +20,15 @@ import it.unibo.wastemaster.domain.model.Vehicle;
 import it.unibo.wastemaster.domain.model.Vehicle.RequiredLicence;
 import it.unibo.wastemaster.domain.model.Vehicle.VehicleStatus;
 import it.unibo.wastemaster.domain.model.Waste;
+import it.unibo.wastemaster.domain.repository.Page;
+import it.unibo.wastemaster.domain.repository.PageRequest;
+import it.unibo.wastemaster.domain.repository.Projection;
 import it.unibo.wastemaster.infrastructure.AbstractDatabaseTest;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -164,4 +169,70 @@ class TripDAOTest extends AbstractDatabaseTest {
         assertTrue(postalCodes.contains("40100"));
         assertTrue(postalCodes.contains("40121"));
     }
+
+    @Test
+    void testFindPageWithProjection() {
+        Location addr = new Location("Via Lavoro", "10", "Bologna", "40100");
+        getLocationDAO().insert(addr);
+        Employee e1 = new Employee("Mario", "Verdi", addr, "mario.verdi@example.com",
+                "3331111111", Role.OPERATOR, Licence.C);
+        Employee e2 = new Employee("Luigi", "Bianchi", addr, "luigi.bianchi@example.com",
+                "3332222222", Role.OPERATOR, Licence.C);
+        getEmployeeDAO().insert(e1);
+        getEmployeeDAO().insert(e2);
+        Vehicle v = new Vehicle("FF666FF", "Iveco", "Daily",
+                LocalDate.now().getYear(), RequiredLicence.C, VehicleStatus.IN_SERVICE,
+                2);
+        getVehicleDAO().insert(v);
+        getTripDAO().insert(new Trip("40100", v, List.of(e1, e2), tripStart, tripEnd,
+                Collections.emptyList()));
+        getTripDAO().insert(new Trip("40121", v, Collections.emptyList(), tripStart,
+                tripEnd, Collections.emptyList()));
+        getEntityManager().clear();
+
+        Projection<String> projection = Projection.of(columns -> {
+            var postalCode = columns.add("postalCode", String.class);
+            var plate = columns.add("assignedVehicle.plate", String.class);
+            var surnames = columns.addElement("operators.surname", String.class);
+            return row -> row.get(postalCode) + " " + row.get(plate) + " "
+                    + row.getAll(surnames).stream().sorted().toList();
+        });
+        Page<String> page = getTripDAO().findPage(
+                PageRequest.firstPage().sortBy("postalCode", true), projection);
+
+        assertEquals(List.of("40100 FF666FF [Bianchi, Verdi]", "40121 FF666FF []"),
+                page.getItems());
+        assertFalse(page.hasNext());
+        assertEquals(0, getEntityManager().unwrap(Session.class).getStatistics()
+                .getEntityCount());
+    }
+
+    @Test
+    void testProjectionRejectsColumnsItDoesNotRead() {
+        Vehicle v = new Vehicle("GG777GG", "Iveco", "Daily",
+                LocalDate.now().getYear(), RequiredLicence.C, VehicleStatus.IN_SERVICE,
+                2);
+        getVehicleDAO().insert(v);
+        getTripDAO().insert(new Trip("40100", v, Collections.emptyList(), tripStart,
+                tripEnd, Collections.emptyList()));
+        Projection.Column<?>[] other = new Projection.Column<?>[1];
+        Projection.of(columns -> {
+            other[0] = columns.add("postalCode", String.class);
+            return row -> row;
+        });
+        Projection<Object> projection = Projection.of(columns -> {
+            var postalCode = columns.add("postalCode", String.class);
+            return row -> row.getAll(postalCode);
+        });
+        Projection<Object> foreign = Projection.of(columns -> {
+            columns.add("postalCode", String.class);
+            return row -> row.get(other[0]);
+        });
+        PageRequest request = PageRequest.firstPage();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> getTripDAO().findPage(request, projection));
+        assertThrows(IllegalArgumentException.class,
+                () -> getTripDAO().findPage(request, foreign));
+    }
 }
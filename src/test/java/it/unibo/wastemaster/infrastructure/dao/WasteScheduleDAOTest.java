@@ -2,11 +2,15 @@ package it.unibo.wastemaster.infrastructure.dao;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import it.unibo.wastemaster.domain.model.Waste;
 import it.unibo.wastemaster.domain.model.WasteSchedule;
 import it.unibo.wastemaster.infrastructure.AbstractDatabaseTest;
 import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -51,4 +55,19 @@ class WasteScheduleDAOTest extends AbstractDatabaseTest {
         assertEquals(paperSchedule.getScheduleId(), resultPaper.getScheduleId());
         assertEquals(paper, resultPaper.getWaste());
     }
+
+    @Test
+    void testFindSchedulesByWastes() {
+        Waste glass = new Waste("glass", true, false);
+        getWasteDAO().insert(glass);
+
+        List<WasteSchedule> result =
+                getWasteScheduleDAO().findSchedulesByWastes(List.of(plastic, glass));
+        assertEquals(Set.of(plasticSchedule.getScheduleId()), result.stream()
+                .map(WasteSchedule::getScheduleId)
+                .collect(Collectors.toSet()));
+        assertEquals(plastic, result.get(0).getWaste());
+
+        assertTrue(getWasteScheduleDAO().findSchedulesByWastes(List.of()).isEmpty());
+    }
 }
@@ -0,0 +1,75 @@
+package it.unibo.wastemaster.infrastructure.geo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unibo.wastemaster.domain.model.GeoPoint;
+import it.unibo.wastemaster.domain.model.Location;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CentroidTableTest {
+
+    private static final GeoPoint POSTAL_CODE = new GeoPoint(44.4938, 11.3430);
+    private static final GeoPoint VIA_ROMA = new GeoPoint(44.4950, 11.3440);
+    private static final GeoPoint INDIPENDENZA = new GeoPoint(44.5000, 11.3420);
+
+    private CentroidTable table;
+
+    @BeforeEach
+    void setUp() {
+        table = CentroidTable.load("/geo/test-centroids.csv");
+    }
+
+    @Test
+    void testStreetHit() {
+        assertEquals(3, table.size());
+        assertEquals(Optional.of(VIA_ROMA), table.locate("40100", "Via Roma"));
+        assertEquals(Optional.of(VIA_ROMA), table.locate(" 40100 ", "  via   ROMA "));
+        assertEquals(Optional.of(INDIPENDENZA),
+                table.locate("40121", "Via dell'Indipendenza"));
+    }
+
+    /**
+     * Tests that an unknown street, or none, falls back to its postal code.
+     */
+    @Test
+    void testPostalCodeFallback() {
+        assertEquals(Optional.of(POSTAL_CODE), table.locate("40100", "Via Zamboni"));
+        assertEquals(Optional.of(POSTAL_CODE), table.locate("40100", null));
+    }
+
+    @Test
+    void testMiss() {
+        assertTrue(table.locate("40121", "Via Roma").isEmpty());
+        assertTrue(table.locate("20100", "Via Roma").isEmpty());
+        assertTrue(table.locate(null, "Via Roma").isEmpty());
+    }
+
+    @Test
+    void testPlaceOnlyLocationsWithoutCoordinates() {
+        Location known = new Location("Via Roma", "10", "Bologna", "40100");
+        assertTrue(table.place(known));
+        assertEquals(VIA_ROMA, known.getCoordinates());
+
+        Location placed = new Location("Via Roma", "10", "Bologna", "40100");
+        placed.setCoordinates(INDIPENDENZA);
+        assertTrue(table.place(placed));
+        assertEquals(INDIPENDENZA, placed.getCoordinates());
+
+        Location unknown = new Location("Via Roma", "10", "Milano", "20100");
+        assertFalse(table.place(unknown));
+        assertNull(unknown.getCoordinates());
+    }
+
+    @Test
+    void testMissingAndMalformedTables() {
+        assertEquals(0, CentroidTable.load("/geo/missing.csv").size());
+        assertThrows(IllegalArgumentException.class,
+                () -> CentroidTable.load("/geo/malformed-centroids.csv"));
+    }
+}
@@ -0,0 +1,112 @@
+package it.unibo.wastemaster.infrastructure.pdf;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unibo.wastemaster.domain.model.Collection;
+import it.unibo.wastemaster.domain.model.Customer;
+import it.unibo.wastemaster.domain.model.Invoice;
+import it.unibo.wastemaster.domain.model.Location;
+import it.unibo.wastemaster.domain.model.OneTimeSchedule;
+import it.unibo.wastemaster.domain.model.Waste;
+import it.unibo.wastemaster.infrastructure.AbstractDatabaseTest;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InvoicePdfExporterTest extends AbstractDatabaseTest {
+
+    private static final int INVOICES = 5;
+    private static final int BATCH_SIZE = 2;
+    private static final byte[] PDF_HEADER = "%PDF".getBytes(StandardCharsets.US_ASCII);
+
+    private final List<Integer> invoiceIds = new ArrayList<>();
+
+    @Override
+    @BeforeEach
+    public void setUp() {
+        super.setUp();
+        Waste waste = new Waste("Vetro", true, false);
+        getWasteDAO().insert(waste);
+        for (int i = 0; i < INVOICES; i++) {
+            Customer customer = new Customer("Cliente", "Numero" + i,
+                    new Location("Via Verdi", String.valueOf(i + 1), "Bologna", "40100"),
+                    "cliente" + i + "@example.com", "+3912345678" + i);
+            getCustomerDAO().insert(customer);
+            OneTimeSchedule schedule = new OneTimeSchedule(customer, waste,
+                    LocalDate.now().plusDays(1));
+            getOneTimeScheduleDAO().insert(schedule);
+            Collection collection = new Collection(schedule);
+            collection.setCollectionStatus(Collection.CollectionStatus.COMPLETED);
+            getCollectionDAO().insert(collection);
+            Invoice invoice = getInvoiceManager().createInvoice(customer,
+                    new ArrayList<>(List.of(collection)));
+            invoiceIds.add(invoice.getInvoiceId());
+        }
+        getEntityManager().clear();
+    }
+
+    @Test
+    void testExportZipWritesOnePdfPerInvoiceInOrder() throws IOException {
+        List<Integer> ids = getInvoiceManager().getInvoiceIdsIssuedIn(YearMonth.now());
+        assertEquals(invoiceIds, ids);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int written = newExporter().exportZip(ids, out);
+
+        assertEquals(INVOICES, written);
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip =
+                     new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                names.add(entry.getName());
+                assertEquals(ZipEntry.STORED, entry.getMethod());
+                byte[] content = zip.readAllBytes();
+                assertTrue(content.length > PDF_HEADER.length);
+                byte[] header = new byte[PDF_HEADER.length];
+                System.arraycopy(content, 0, header, 0, header.length);
+                assertArrayEquals(PDF_HEADER, header);
+            }
+        }
+        assertEquals(invoiceIds.stream().map(id -> "invoice-" + id + ".pdf").toList(),
+                names);
+    }
+
+    @Test
+    void testExportZipSkipsMissingInvoices() throws IOException {
+        List<Integer> ids = List.of(invoiceIds.get(0), Integer.MAX_VALUE);
+
+        assertEquals(1, newExporter().exportZip(ids, new ByteArrayOutputStream()));
+        assertEquals(0, newExporter().exportZip(List.of(), new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        InvoicePdfService pdfService = new InvoicePdfService();
+        assertThrows(IllegalArgumentException.class,
+                () -> newExporter().exportZip(null, new ByteArrayOutputStream()));
+        assertThrows(IllegalArgumentException.class,
+                () -> newExporter().exportZip(invoiceIds, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new InvoicePdfExporter(getInvoiceManager(), pdfService, 0, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new InvoicePdfExporter(getInvoiceManager(), pdfService, 1, 0));
+    }
+
+    private InvoicePdfExporter newExporter() {
+        return new InvoicePdfExporter(getInvoiceManager(), new InvoicePdfService(),
+                BATCH_SIZE, 1);
+    }
+}
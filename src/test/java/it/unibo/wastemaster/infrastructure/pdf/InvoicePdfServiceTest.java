@@ -0,0 +1,68 @@
+package it.unibo.wastemaster.infrastructure.pdf;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.lowagie.text.pdf.PdfReader;
+import com.lowagie.text.pdf.parser.PdfTextExtractor;
+import it.unibo.wastemaster.domain.model.Collection;
+import it.unibo.wastemaster.domain.model.Customer;
+import it.unibo.wastemaster.domain.model.Invoice;
+import it.unibo.wastemaster.domain.model.Location;
+import it.unibo.wastemaster.domain.model.OneTimeSchedule;
+import it.unibo.wastemaster.domain.model.Waste;
+import it.unibo.wastemaster.domain.service.InvoiceManager;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class InvoicePdfServiceTest {
+
+    private static final int ROWS = 1500;
+    private static final int MIN_PAGES = 20;
+
+    /**
+     * Tests that a large collections table spans many pages, each starting with
+     * the header row, after the summary by month and waste type.
+     *
+     * @throws Exception if the PDF cannot be generated or read
+     */
+    @Test
+    void testLargeTableRepeatsHeaderOnEveryPage() throws Exception {
+        Customer customer = new Customer("Mario", "Rossi",
+                new Location("Via Roma", "10", "Bologna", "40100"),
+                "mario.rossi@example.com", "1234567890");
+        LocalDate day = LocalDate.of(2025, 1, 15);
+        OneTimeSchedule glass = new OneTimeSchedule(customer,
+                new Waste("Vetro", true, false), day);
+        OneTimeSchedule paper = new OneTimeSchedule(customer,
+                new Waste("Carta", true, false), day);
+        List<Collection> collections = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Collection collection = new Collection(i % 2 == 0 ? glass : paper);
+            collection.setCollectionDate(day.plusMonths(i % 3));
+            collection.setBilledCents(InvoiceManager.getOneTimeFeeCents());
+            collections.add(collection);
+        }
+        Invoice invoice = new Invoice(customer, collections, 0,
+                ROWS * InvoiceManager.getOneTimeFeeCents(), 0, ROWS, LocalDateTime.now());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new InvoicePdfService().generateInvoicePdf(invoice, out);
+
+        PdfReader reader = new PdfReader(out.toByteArray());
+        PdfTextExtractor extractor = new PdfTextExtractor(reader);
+        int pages = reader.getNumberOfPages();
+        assertTrue(pages >= MIN_PAGES);
+        String first = extractor.getTextFromPage(1);
+        assertTrue(first.contains("2025-03"));
+        assertTrue(first.contains("Vetro"));
+        for (int page = 2; page < pages; page++) {
+            assertTrue(extractor.getTextFromPage(page).contains("One-time"));
+            assertTrue(extractor.getTextFromPage(page).contains("Type"));
+        }
+        reader.close();
+    }
+}
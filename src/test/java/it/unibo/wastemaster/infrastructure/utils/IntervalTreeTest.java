@@ -0,0 +1,130 @@
+package it.unibo.wastemaster.infrastructure.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class IntervalTreeTest {
+
+    private static final int INTERVALS = 100;
+    private static final int LONG_END = 1000;
+    private static final int OPERATIONS = 2000;
+    private static final int RANGE = 200;
+    private static final int MAX_LENGTH = 30;
+    private static final long SEED = 7;
+
+    private IntervalTree<Integer, String> tree;
+
+    @BeforeEach
+    void setUp() {
+        tree = new IntervalTree<>();
+    }
+
+    /**
+     * Tests that intervals sharing only a bound do not overlap.
+     */
+    @Test
+    void testTouchingBoundsDoNotOverlap() {
+        tree.add(10, 20, "a");
+
+        assertTrue(tree.findOverlapping(20, 30).isEmpty());
+        assertTrue(tree.findOverlapping(0, 10).isEmpty());
+        assertEquals(List.of("a"), tree.findOverlapping(19, 20));
+        assertEquals(List.of("a"), tree.findOverlapping(0, 11));
+        assertEquals(List.of("a"), tree.findOverlapping(12, 13));
+    }
+
+    @Test
+    void testSameStart() {
+        tree.add(5, 6, "short");
+        tree.add(5, 10, "long");
+        tree.add(5, 7, "medium");
+        tree.add(5, 10, "long");
+
+        assertEquals(List.of("long", "long"), tree.findOverlapping(8, 9));
+        assertEquals(4, tree.findOverlapping(5, 6).size());
+
+        assertTrue(tree.remove(5, 10, "long"));
+        assertEquals(List.of("long"), tree.findOverlapping(8, 9));
+        assertTrue(tree.remove(5, 10, "long"));
+        assertFalse(tree.remove(5, 10, "long"));
+        assertTrue(tree.findOverlapping(8, 9).isEmpty());
+        assertEquals(List.of("medium"), tree.findOverlapping(6, 7));
+        assertEquals(2, tree.size());
+    }
+
+    /**
+     * Tests that removing intervals after many rotations keeps the greatest end of
+     * every subtree right, so later queries neither miss nor invent intervals.
+     */
+    @Test
+    void testRemoveAfterRotationsKeepsMaxEnd() {
+        tree.add(0, LONG_END, "long");
+        for (int i = 0; i < INTERVALS; i++) {
+            tree.add(i, i + 1, "i" + i);
+        }
+        assertEquals(List.of("long", "i50"), tree.findOverlapping(50, 51));
+
+        assertTrue(tree.remove(0, LONG_END, "long"));
+        assertEquals(List.of("i50"), tree.findOverlapping(50, 51));
+        assertTrue(tree.findOverlapping(INTERVALS, LONG_END).isEmpty());
+
+        for (int i = 0; i < INTERVALS; i += 2) {
+            assertTrue(tree.remove(i, i + 1, "i" + i));
+        }
+        assertTrue(tree.findOverlapping(50, 51).isEmpty());
+        assertEquals(List.of("i51"), tree.findOverlapping(51, 52));
+        assertEquals(INTERVALS / 2, tree.size());
+    }
+
+    @Test
+    void testInvalidIntervals() {
+        assertThrows(IllegalArgumentException.class, () -> tree.add(2, 1, "a"));
+        assertThrows(IllegalArgumentException.class, () -> tree.add(null, 1, "a"));
+        assertThrows(IllegalArgumentException.class, () -> tree.add(1, null, "a"));
+        assertTrue(tree.isEmpty());
+        assertFalse(tree.remove(1, 2, "a"));
+    }
+
+    /**
+     * Compares the tree with a plain list under random additions and removals.
+     */
+    @Test
+    void testMatchesBruteForce() {
+        Random random = new Random(SEED);
+        List<int[]> intervals = new ArrayList<>();
+        int next = 0;
+        for (int op = 0; op < OPERATIONS; op++) {
+            if (intervals.isEmpty() || random.nextInt(3) > 0) {
+                int start = random.nextInt(RANGE);
+                int[] interval = {start, start + random.nextInt(MAX_LENGTH), next++};
+                intervals.add(interval);
+                tree.add(interval[0], interval[1], "v" + interval[2]);
+            } else {
+                int[] interval = intervals.remove(random.nextInt(intervals.size()));
+                assertTrue(tree.remove(interval[0], interval[1], "v" + interval[2]));
+            }
+            assertEquals(intervals.size(), tree.size());
+
+            int start = random.nextInt(RANGE);
+            int end = start + 1 + random.nextInt(MAX_LENGTH);
+            List<String> expected = new ArrayList<>();
+            for (int[] interval : intervals) {
+                if (interval[0] < end && interval[1] > start) {
+                    expected.add("v" + interval[2]);
+                }
+            }
+            List<String> actual = new ArrayList<>(tree.findOverlapping(start, end));
+            expected.sort(null);
+            actual.sort(null);
+            assertEquals(expected, actual, "query [" + start + ", " + end + ")");
+        }
+    }
+}
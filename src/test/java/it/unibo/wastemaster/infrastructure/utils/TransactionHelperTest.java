@@ -0,0 +1,138 @@
+package it.unibo.wastemaster.infrastructure.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TransactionHelperTest {
+
+    private static EntityManagerFactory emf;
+
+    private final List<String> completed = new ArrayList<>();
+
+    @BeforeAll
+    static void createFactory() {
+        emf = Persistence.createEntityManagerFactory("test-pu");
+    }
+
+    @AfterAll
+    static void closeFactory() {
+        emf.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        completed.clear();
+        UnitOfWork.init(emf);
+    }
+
+    @AfterEach
+    void tearDown() {
+        UnitOfWork.init(null);
+    }
+
+    @Test
+    void testCommittedTransactionKeepsCallbacks() {
+        TransactionHelper.executeTransaction(() -> {
+            assertTrue(UnitOfWork.currentEntityManager().getTransaction().isActive());
+            UnitOfWork.afterCompletion(() -> completed.add("committed"));
+        });
+
+        assertEquals(List.of("committed"), completed);
+        assertFalse(UnitOfWork.isActive());
+    }
+
+    /**
+     * Tests that the callbacks of a rolled-back transaction are dropped even when
+     * the exception is caught and the unit of work goes on, while those of the
+     * transactions committed before and after it still run.
+     */
+    @Test
+    void testCallbacksSkippedAfterCaughtRollback() {
+        UnitOfWork.run(() -> {
+            TransactionHelper.executeTransaction(
+                    () -> UnitOfWork.afterCompletion(() -> completed.add("before")));
+            try {
+                TransactionHelper.executeTransaction(() -> {
+                    UnitOfWork.afterCompletion(() -> completed.add("rolled back"));
+                    throw new IllegalStateException("boom");
+                });
+            } catch (IllegalStateException e) {
+                assertFalse(UnitOfWork.currentEntityManager().getTransaction()
+                        .isActive());
+            }
+            TransactionHelper.executeTransaction(
+                    () -> UnitOfWork.afterCompletion(() -> completed.add("after")));
+        });
+
+        assertEquals(List.of("before", "after"), completed);
+    }
+
+    /**
+     * Tests that a nested transaction failing drops the callbacks of the whole
+     * enclosing transaction, which is rolled back with it.
+     */
+    @Test
+    void testNestedRollbackDropsEnclosingCallbacks() {
+        UnitOfWork.run(() -> {
+            try {
+                TransactionHelper.executeTransaction(() -> {
+                    UnitOfWork.afterCompletion(() -> completed.add("outer"));
+                    TransactionHelper.executeTransaction(() -> {
+                        throw new IllegalStateException("boom");
+                    });
+                });
+            } catch (IllegalStateException e) {
+                // the whole transaction is rolled back
+            }
+        });
+
+        assertTrue(completed.isEmpty());
+    }
+
+    /**
+     * Tests that work registered before commit runs once per key, in key order.
+     */
+    @Test
+    void testBeforeCommitRunsOncePerKeyInOrder() {
+        TransactionHelper.executeTransaction(() -> {
+            TransactionHelper.beforeCommit("b", () -> completed.add("b"));
+            TransactionHelper.beforeCommit("a", () -> completed.add("a"));
+            TransactionHelper.beforeCommit("b", () -> completed.add("b again"));
+            assertTrue(completed.isEmpty());
+        });
+
+        assertEquals(List.of("a", "b"), completed);
+    }
+
+    @Test
+    void testBeforeCommitDroppedOnRollback() {
+        EntityManager entityManager = emf.createEntityManager();
+        try {
+            assertThrows(IllegalStateException.class,
+                    () -> TransactionHelper.executeTransaction(entityManager, () -> {
+                        TransactionHelper.beforeCommit("a", () -> completed.add("a"));
+                        throw new IllegalStateException("boom");
+                    }));
+            assertFalse(entityManager.getTransaction().isActive());
+        } finally {
+            entityManager.close();
+        }
+
+        assertTrue(completed.isEmpty());
+        TransactionHelper.beforeCommit("now", () -> completed.add("now"));
+        assertEquals(List.of("now"), completed);
+    }
+}
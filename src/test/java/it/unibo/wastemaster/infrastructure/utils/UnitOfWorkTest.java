@@ -0,0 +1,130 @@
+package it.unibo.wastemaster.infrastructure.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UnitOfWorkTest {
+
+    private static EntityManagerFactory emf;
+
+    private final List<String> completed = new ArrayList<>();
+
+    @BeforeAll
+    static void createFactory() {
+        emf = Persistence.createEntityManagerFactory("test-pu");
+    }
+
+    @AfterAll
+    static void closeFactory() {
+        emf.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        completed.clear();
+        UnitOfWork.init(emf);
+    }
+
+    @AfterEach
+    void tearDown() {
+        UnitOfWork.init(null);
+    }
+
+    @Test
+    void testNestedUnitsShareEntityManager() {
+        List<EntityManager> seen = new ArrayList<>();
+        UnitOfWork.run(() -> {
+            seen.add(UnitOfWork.currentEntityManager());
+            UnitOfWork.run(() -> seen.add(UnitOfWork.currentEntityManager()));
+            seen.add(UnitOfWork.call(UnitOfWork::currentEntityManager));
+        });
+
+        assertEquals(3, seen.size());
+        assertSame(seen.get(0), seen.get(1));
+        assertSame(seen.get(0), seen.get(2));
+    }
+
+    /**
+     * Tests that the entity manager is closed, and no longer bound to the thread,
+     * once the outermost unit ends, whether it returns or throws.
+     */
+    @Test
+    void testEntityManagerClosedOnExit() {
+        EntityManager returned = UnitOfWork.call(UnitOfWork::currentEntityManager);
+        assertFalse(returned.isOpen());
+        assertFalse(UnitOfWork.isActive());
+        assertThrows(IllegalStateException.class, UnitOfWork::currentEntityManager);
+
+        List<EntityManager> seen = new ArrayList<>();
+        assertThrows(IllegalStateException.class, () -> UnitOfWork.run(() -> {
+            seen.add(UnitOfWork.currentEntityManager());
+            throw new IllegalStateException("boom");
+        }));
+        assertFalse(seen.get(0).isOpen());
+        assertFalse(UnitOfWork.isActive());
+    }
+
+    /**
+     * Tests that callbacks wait for the outermost unit and run in registration order.
+     */
+    @Test
+    void testCallbacksRunAfterOutermostUnit() {
+        UnitOfWork.run(() -> {
+            UnitOfWork.afterCompletion(() -> completed.add("outer"));
+            UnitOfWork.run(() -> UnitOfWork.afterCompletion(
+                    () -> completed.add("inner")));
+            assertTrue(completed.isEmpty());
+        });
+
+        assertEquals(List.of("outer", "inner"), completed);
+    }
+
+    @Test
+    void testCallbackRunsImmediatelyWithoutUnit() {
+        UnitOfWork.afterCompletion(() -> completed.add("now"));
+
+        assertEquals(List.of("now"), completed);
+    }
+
+    @Test
+    void testCallbacksSkippedWhenWorkThrows() {
+        assertThrows(IllegalStateException.class, () -> UnitOfWork.run(() -> {
+            UnitOfWork.afterCompletion(() -> completed.add("dropped"));
+            throw new IllegalStateException("boom");
+        }));
+
+        assertTrue(completed.isEmpty());
+    }
+
+    /**
+     * Tests that a transaction left open by the work is rolled back and its
+     * callbacks dropped.
+     */
+    @Test
+    void testCallbacksSkippedWhenTransactionLeftOpen() {
+        List<EntityManager> seen = new ArrayList<>();
+        UnitOfWork.run(() -> {
+            EntityManager entityManager = UnitOfWork.currentEntityManager();
+            seen.add(entityManager);
+            entityManager.getTransaction().begin();
+            UnitOfWork.afterCompletion(() -> completed.add("dropped"));
+        });
+
+        assertTrue(completed.isEmpty());
+        assertFalse(seen.get(0).isOpen());
+    }
+}